@@ -130,7 +130,11 @@ public abstract class Expr implements JsonSerializable, Cloneable {
         String value = CommonGsonHelper.getOrDie(jsonObject, "Value").getAsString();
         JsonElement valueTypeElem = jsonObject.get("ValueType");
         if (valueTypeElem != null) {
-          return new LiteralValue(value, LiteralType.valueOf(valueTypeElem.getAsString()));
+          LiteralType valueType = LiteralType.valueOf(valueTypeElem.getAsString());
+          if (valueType == LiteralType.Boolean) {
+            return new BooleanLiteral(value.equals(BooleanLiteral.TRUE));
+          }
+          return new LiteralValue(value, valueType);
         } else {
           return new LiteralValue(value, LiteralValue.getLiteralType(value));
         }
@@ -152,6 +152,10 @@ public class WindowSpec implements Cloneable {
       this.endBound = endBound;
     }
 
+    public WindowFrameUnit getUnit() {
+      return unit;
+    }
+
     public WindowStartBound getStartBound() {
       return startBound;
     }
@@ -169,7 +173,9 @@ public class WindowSpec implements Cloneable {
       WindowFrame frame = (WindowFrame) super.clone();
       frame.unit = unit;
       frame.startBound = (WindowStartBound) startBound.clone();
-      frame.endBound = (WindowEndBound) endBound.clone();
+      if (endBound != null) {
+        frame.endBound = (WindowEndBound) endBound.clone();
+      }
       return frame;
     }
   }
@@ -202,7 +208,9 @@ public class WindowSpec implements Cloneable {
     public Object clone() throws CloneNotSupportedException {
       WindowStartBound start = (WindowStartBound) super.clone();
       start.boundType = boundType;
-      start.number = (Expr) number.clone();
+      if (number != null) {
+        start.number = (Expr) number.clone();
+      }
       return start;
     }
   }
@@ -235,7 +243,9 @@ public class WindowSpec implements Cloneable {
     public Object clone() throws CloneNotSupportedException {
       WindowEndBound end = (WindowEndBound) super.clone();
       end.boundType = boundType;
-      end.number = (Expr) number.clone();
+      if (number != null) {
+        end.number = (Expr) number.clone();
+      }
       return end;
     }
   }
@@ -26,6 +26,7 @@ import org.apache.tajo.catalog.CatalogProtocol.CatalogProtocolService;
 import org.apache.tajo.catalog.exception.NoSuchFunctionException;
 import org.apache.tajo.catalog.partition.PartitionMethodDesc;
 import org.apache.tajo.catalog.proto.CatalogProtos.*;
+import org.apache.tajo.catalog.statistics.TableStats;
 import org.apache.tajo.common.TajoDataTypes.DataType;
 import org.apache.tajo.conf.TajoConf;
 import org.apache.tajo.rpc.NettyClientBase;
@@ -37,12 +38,16 @@ import org.apache.tajo.util.HAServiceUtil;
 import org.apache.tajo.util.ProtoUtil;
 
 import java.net.InetSocketAddress;
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * CatalogClient provides a client API to access the catalog server.
+ *
+ * A remote client caches table descriptions and functions. The cached metadata are valid as of a catalog version
+ * which the catalog server increases on every DDL statement. A new catalog version is delivered by
+ * {@link #syncCatalogVersion(long)}, and then the client asks the catalog server which objects have been changed
+ * since its version and invalidates them. Until the first version is delivered, nothing is cached.
  */
 public abstract class AbstractCatalogClient implements CatalogService {
   private final Log LOG = LogFactory.getLog(AbstractCatalogClient.class);
@@ -51,12 +56,136 @@ public abstract class AbstractCatalogClient implements CatalogService {
   protected InetSocketAddress catalogServerAddr;
   protected TajoConf conf;
 
+  private final boolean cacheEnabled;
+  private final Map<String, TableDescProto> tableCache = new ConcurrentHashMap<String, TableDescProto>();
+  private final Map<List<Object>, FunctionDescProto> functionCache =
+      new ConcurrentHashMap<List<Object>, FunctionDescProto>();
+  private final Object cacheLock = new Object();
+  /** the catalog version which the cached metadata are valid as of, or -1 if not synchronized yet */
+  private long cachedVersion = -1;
+  /** It is increased whenever cached metadata are invalidated. */
+  private long invalidationCount = 0;
+
   abstract CatalogProtocolService.BlockingInterface getStub(NettyClientBase client);
 
   public AbstractCatalogClient(TajoConf conf, InetSocketAddress catalogServerAddr) {
     this.pool = RpcConnectionPool.getPool(conf);
     this.catalogServerAddr = catalogServerAddr;
     this.conf = conf;
+    // a local client does not need its own cache because the catalog server has a cache.
+    this.cacheEnabled = catalogServerAddr != null && conf.getBoolVar(TajoConf.ConfVars.CATALOG_CLIENT_CACHE_ENABLED);
+  }
+
+  /**
+   * Invalidates the cached metadata changed after the current catalog version if a given version is newer.
+   *
+   * @param version the latest catalog version known by the caller
+   */
+  public void syncCatalogVersion(final long version) {
+    final long since;
+    synchronized (cacheLock) {
+      if (!cacheEnabled || version <= cachedVersion) {
+        return;
+      }
+      since = cachedVersion;
+    }
+
+    if (since < 0) { // nothing has been cached yet.
+      synchronized (cacheLock) {
+        cachedVersion = Math.max(cachedVersion, version);
+      }
+      return;
+    }
+
+    CatalogChangesProto changes = null;
+    try {
+      changes = new ServerCallable<CatalogChangesProto>(pool, getCatalogServerAddr(), CatalogProtocol.class, false) {
+        public CatalogChangesProto call(NettyClientBase client) throws ServiceException {
+          CatalogProtocolService.BlockingInterface stub = getStub(client);
+          return stub.getCatalogChanges(null, PrimitiveProtos.LongProto.newBuilder().setValue(since).build());
+        }
+      }.withRetries();
+    } catch (ServiceException e) {
+      LOG.error(e.getMessage(), e);
+    }
+
+    synchronized (cacheLock) {
+      invalidationCount++;
+      if (changes == null || cachedVersion != since) {
+        // the changes are unknown, so it drops all cached metadata.
+        tableCache.clear();
+        functionCache.clear();
+        cachedVersion = changes == null ? -1 : cachedVersion;
+        return;
+      }
+
+      for (String tableName : changes.getChangedTablesList()) {
+        tableCache.remove(tableName);
+      }
+      for (String databaseName : changes.getChangedDatabasesList()) {
+        removeCachedTables(databaseName);
+      }
+      if (changes.getFunctionsChanged()) {
+        functionCache.clear();
+      }
+      cachedVersion = Math.max(version, changes.getVersion());
+    }
+  }
+
+  /**
+   * @return a stamp which should be given to {@link #putToCache} after metadata are retrieved from the server,
+   * or -1 if metadata cannot be cached.
+   */
+  private long getCacheStamp() {
+    synchronized (cacheLock) {
+      return cacheEnabled && cachedVersion >= 0 ? invalidationCount : -1;
+    }
+  }
+
+  /**
+   * Caches a value only if no metadata has been invalidated since a given stamp was taken.
+   */
+  private <K, V> void putToCache(Map<K, V> cache, K key, V value, long stamp) {
+    if (stamp < 0 || value == null) {
+      return;
+    }
+    synchronized (cacheLock) {
+      if (invalidationCount == stamp) {
+        cache.put(key, value);
+      }
+    }
+  }
+
+  private void invalidateTable(String qualifiedName) {
+    synchronized (cacheLock) {
+      invalidationCount++;
+      tableCache.remove(qualifiedName);
+    }
+  }
+
+  private void removeCachedTables(String databaseName) {
+    String prefix = databaseName + CatalogConstants.IDENTIFIER_DELIMITER;
+    Iterator<String> it = tableCache.keySet().iterator();
+    while (it.hasNext()) {
+      if (it.next().startsWith(prefix)) {
+        it.remove();
+      }
+    }
+  }
+
+  private void invalidateFunctions() {
+    synchronized (cacheLock) {
+      invalidationCount++;
+      functionCache.clear();
+    }
+  }
+
+  private static List<Object> getFunctionKey(String signature, FunctionType funcType, DataType... paramTypes) {
+    List<Object> key = new ArrayList<Object>(paramTypes.length + 2);
+    key.add(signature);
+    key.add(funcType);
+    Collections.addAll(key, paramTypes);
+    return key;
   }
 
   private InetSocketAddress getCatalogServerAddr() {
@@ -203,6 +332,11 @@ public abstract class AbstractCatalogClient implements CatalogService {
     } catch (ServiceException e) {
       LOG.error(e.getMessage(), e);
       return Boolean.FALSE;
+    } finally {
+      synchronized (cacheLock) {
+        invalidationCount++;
+        removeCachedTables(databaseName);
+      }
     }
   }
 
@@ -239,17 +373,27 @@ public abstract class AbstractCatalogClient implements CatalogService {
 
   @Override
   public final TableDesc getTableDesc(final String databaseName, final String tableName) {
+    String qualifiedName = CatalogUtil.buildFQName(databaseName, tableName);
+    TableDescProto cached = tableCache.get(qualifiedName);
+    if (cached != null) {
+      return CatalogUtil.newTableDesc(cached);
+    }
+
+    long stamp = getCacheStamp();
     try {
-      return new ServerCallable<TableDesc>(this.pool, getCatalogServerAddr(), CatalogProtocol.class, false) {
-        public TableDesc call(NettyClientBase client) throws ServiceException {
+      TableDescProto proto = new ServerCallable<TableDescProto>(this.pool, getCatalogServerAddr(),
+          CatalogProtocol.class, false) {
+        public TableDescProto call(NettyClientBase client) throws ServiceException {
           TableIdentifierProto.Builder builder = TableIdentifierProto.newBuilder();
           builder.setDatabaseName(databaseName);
           builder.setTableName(tableName);
 
           CatalogProtocolService.BlockingInterface stub = getStub(client);
-          return CatalogUtil.newTableDesc(stub.getTableDesc(null, builder.build()));
+          return stub.getTableDesc(null, builder.build());
         }
       }.withRetries();
+      putToCache(tableCache, qualifiedName, proto, stamp);
+      return CatalogUtil.newTableDesc(proto);
     } catch (ServiceException e) {
       LOG.error(e.getMessage(), e);
       return null;
@@ -262,6 +406,54 @@ public abstract class AbstractCatalogClient implements CatalogService {
     return getTableDesc(splitted[0], splitted[1]);
   }
 
+  @Override
+  public final List<TableDesc> getTableDescs(final String databaseName, Collection<String> tableNames) {
+    Map<String, TableDescProto> found = new HashMap<String, TableDescProto>();
+    final List<String> uncached = new ArrayList<String>();
+    for (String tableName : tableNames) {
+      TableDescProto cached = tableCache.get(CatalogUtil.buildFQName(databaseName, tableName));
+      if (cached != null) {
+        found.put(tableName, cached);
+      } else {
+        uncached.add(tableName);
+      }
+    }
+
+    if (!uncached.isEmpty()) {
+      long stamp = getCacheStamp();
+      try {
+        GetTableDescsResponse response = new ServerCallable<GetTableDescsResponse>(this.pool,
+            getCatalogServerAddr(), CatalogProtocol.class, false) {
+          public GetTableDescsResponse call(NettyClientBase client) throws ServiceException {
+            GetTableDescsRequest.Builder builder = GetTableDescsRequest.newBuilder();
+            builder.setDatabaseName(databaseName);
+            builder.addAllTableName(uncached);
+
+            CatalogProtocolService.BlockingInterface stub = getStub(client);
+            return stub.getTableDescs(null, builder.build());
+          }
+        }.withRetries();
+
+        for (TableDescProto proto : response.getTableDescList()) {
+          putToCache(tableCache, proto.getTableName(), proto, stamp);
+          found.put(CatalogUtil.extractSimpleName(proto.getTableName()), proto);
+        }
+      } catch (ServiceException e) {
+        LOG.error(e.getMessage(), e);
+        return null;
+      }
+    }
+
+    List<TableDesc> descs = new ArrayList<TableDesc>(found.size());
+    for (String tableName : tableNames) {
+      TableDescProto proto = found.remove(tableName);
+      if (proto != null) {
+        descs.add(CatalogUtil.newTableDesc(proto));
+      }
+    }
+    return descs;
+  }
+
   @Override
   public final PartitionMethodDesc getPartitionMethod(final String databaseName, final String tableName) {
     try {
@@ -302,6 +494,50 @@ public abstract class AbstractCatalogClient implements CatalogService {
     }
   }
 
+  @Override
+  public final boolean addPartitions(final PartitionsProto partitions) {
+    try {
+      return new ServerCallable<Boolean>(this.pool, getCatalogServerAddr(), CatalogProtocol.class, false) {
+        public Boolean call(NettyClientBase client) throws ServiceException {
+          CatalogProtocolService.BlockingInterface stub = getStub(client);
+          return stub.addPartitions(null, partitions).getValue();
+        }
+      }.withRetries();
+    } catch (ServiceException e) {
+      LOG.error(e.getMessage(), e);
+      return false;
+    } finally {
+      invalidateTable(CatalogUtil.buildFQName(partitions.getTableIdentifier().getDatabaseName(),
+          partitions.getTableIdentifier().getTableName()));
+    }
+  }
+
+  @Override
+  public final boolean updateTableStats(final Map<String, TableStats> tableStats) {
+    try {
+      return new ServerCallable<Boolean>(this.pool, getCatalogServerAddr(), CatalogProtocol.class, false) {
+        public Boolean call(NettyClientBase client) throws ServiceException {
+          UpdateTableStatsRequest.Builder builder = UpdateTableStatsRequest.newBuilder();
+          for (Map.Entry<String, TableStats> entry : tableStats.entrySet()) {
+            builder.addTableStats(UpdateTableStatsProto.newBuilder()
+                .setTableName(entry.getKey())
+                .setStats(entry.getValue().getProto()));
+          }
+
+          CatalogProtocolService.BlockingInterface stub = getStub(client);
+          return stub.updateTableStats(null, builder.build()).getValue();
+        }
+      }.withRetries();
+    } catch (ServiceException e) {
+      LOG.error(e.getMessage(), e);
+      return false;
+    } finally {
+      for (String qualifiedName : tableStats.keySet()) {
+        invalidateTable(qualifiedName);
+      }
+    }
+  }
+
   @Override
   public final Collection<String> getAllTableNames(final String databaseName) {
     try {
@@ -357,6 +593,8 @@ public abstract class AbstractCatalogClient implements CatalogService {
     } catch (ServiceException e) {
       LOG.error(e.getMessage(), e);
       return false;
+    } finally {
+      invalidateTable(desc.getName());
     }
   }
 
@@ -381,6 +619,8 @@ public abstract class AbstractCatalogClient implements CatalogService {
     } catch (ServiceException e) {
       LOG.error(e.getMessage(), e);
       return false;
+    } finally {
+      invalidateTable(CatalogUtil.buildFQName(databaseName, simpleName));
     }
   }
 
@@ -390,6 +630,9 @@ public abstract class AbstractCatalogClient implements CatalogService {
       throw new IllegalArgumentException(
           "tableName cannot be composed of multiple parts, but it is \"" + tableName + "\"");
     }
+    if (tableCache.containsKey(CatalogUtil.buildFQName(databaseName, tableName))) {
+      return true;
+    }
     try {
       return new ServerCallable<Boolean>(this.pool, getCatalogServerAddr(), CatalogProtocol.class, false) {
         public Boolean call(NettyClientBase client) throws ServiceException {
@@ -542,6 +785,8 @@ public abstract class AbstractCatalogClient implements CatalogService {
     } catch (ServiceException e) {
       LOG.error(e.getMessage(), e);
       return false;
+    } finally {
+      invalidateFunctions();
     }
   }
 
@@ -560,6 +805,8 @@ public abstract class AbstractCatalogClient implements CatalogService {
     } catch (ServiceException e) {
       LOG.error(e.getMessage(), e);
       return false;
+    } finally {
+      invalidateFunctions();
     }
   }
 
@@ -570,6 +817,18 @@ public abstract class AbstractCatalogClient implements CatalogService {
 
   @Override
   public final FunctionDesc getFunction(final String signature, FunctionType funcType, DataType... paramTypes) {
+    List<Object> cacheKey = getFunctionKey(signature, funcType, paramTypes);
+    FunctionDescProto cached = functionCache.get(cacheKey);
+    if (cached != null) {
+      try {
+        return new FunctionDesc(cached);
+      } catch (ClassNotFoundException e) {
+        LOG.error(e);
+        throw new NoSuchFunctionException(signature, paramTypes);
+      }
+    }
+
+    long stamp = getCacheStamp();
     final GetFunctionMetaRequest.Builder builder = GetFunctionMetaRequest.newBuilder();
     builder.setSignature(signature);
     if (funcType != null) {
@@ -604,6 +863,7 @@ public abstract class AbstractCatalogClient implements CatalogService {
     if (descProto == null) {
       throw new NoSuchFunctionException(signature, paramTypes);
     }
+    putToCache(functionCache, cacheKey, descProto, stamp);
 
     try {
       return new FunctionDesc(descProto);
@@ -620,6 +880,10 @@ public abstract class AbstractCatalogClient implements CatalogService {
 
   @Override
   public final boolean containFunction(final String signature, FunctionType funcType, DataType... paramTypes) {
+    if (functionCache.containsKey(getFunctionKey(signature, funcType, paramTypes))) {
+      return true;
+    }
+
     final ContainFunctionRequest.Builder builder =
         ContainFunctionRequest.newBuilder();
     if (funcType != null) {
@@ -655,6 +919,12 @@ public abstract class AbstractCatalogClient implements CatalogService {
     } catch (ServiceException e) {
       LOG.error(e.getMessage(), e);
       return false;
+    } finally {
+      invalidateTable(desc.getTableName());
+      if (desc.getNewTableName() != null) {
+        invalidateTable(CatalogUtil.buildFQName(CatalogUtil.extractQualifier(desc.getTableName()),
+            CatalogUtil.extractSimpleName(desc.getNewTableName())));
+      }
     }
   }
 
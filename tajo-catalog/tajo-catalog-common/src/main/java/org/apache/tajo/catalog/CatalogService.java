@@ -20,9 +20,12 @@ package org.apache.tajo.catalog;
 
 import org.apache.tajo.catalog.partition.PartitionMethodDesc;
 import org.apache.tajo.catalog.proto.CatalogProtos;
+import org.apache.tajo.catalog.statistics.TableStats;
 import org.apache.tajo.common.TajoDataTypes.DataType;
 
 import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 
 import static org.apache.tajo.catalog.proto.CatalogProtos.AlterTablespaceProto;
 import static org.apache.tajo.catalog.proto.CatalogProtos.FunctionType;
@@ -115,6 +118,14 @@ public interface CatalogService {
    */
   TableDesc getTableDesc(String qualifiedName);
 
+  /**
+   * Get descriptions of many tables in a database with a single request
+   * @param databaseName database name
+   * @param tableNames table names
+   * @return descriptions of existing tables in the order of given table names
+   */
+  List<TableDesc> getTableDescs(String databaseName, Collection<String> tableNames);
+
   /**
    *
    * @return All table names which belong to a given database.
@@ -151,6 +162,19 @@ public interface CatalogService {
 
   boolean existPartitionMethod(String databaseName, String tableName);
 
+  /**
+   * Add many partitions of a table with a single request
+   * @return True if all partitions are added successfully.
+   */
+  boolean addPartitions(CatalogProtos.PartitionsProto partitions);
+
+  /**
+   * Replace the statistics of many tables with a single request
+   * @param tableStats a map from qualified table names to their new statistics
+   * @return True if the statistics of all tables are updated successfully.
+   */
+  boolean updateTableStats(Map<String, TableStats> tableStats);
+
   boolean createIndex(IndexDesc index);
 
   boolean existIndexByName(String databaseName, String indexName);
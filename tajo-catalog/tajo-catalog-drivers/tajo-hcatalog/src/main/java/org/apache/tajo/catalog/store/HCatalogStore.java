@@ -275,6 +275,40 @@ public class HCatalogStore extends CatalogConstants implements CatalogStore {
     return tableDesc.getProto();
   }
 
+  @Override
+  public List<CatalogProtos.TableDescProto> getTables(String databaseName, Collection<String> tableNames)
+      throws CatalogException {
+    List<CatalogProtos.TableDescProto> tables = new ArrayList<CatalogProtos.TableDescProto>();
+    for (String tableName : new LinkedHashSet<String>(tableNames)) {
+      if (existTable(databaseName, tableName)) {
+        tables.add(getTable(databaseName, tableName));
+      }
+    }
+    return tables;
+  }
+
+  @Override
+  public void updateTableStats(List<CatalogProtos.UpdateTableStatsProto> tableStats) throws CatalogException {
+    HCatalogStoreClientPool.HCatalogStoreClient client = null;
+
+    try {
+      client = clientPool.getClient();
+      for (CatalogProtos.UpdateTableStatsProto entry : tableStats) {
+        String [] splitted = CatalogUtil.splitFQTableName(entry.getTableName());
+        Table table = client.getHiveClient().getTable(splitted[0], splitted[1]);
+        table.putToParameters("totalSize", String.valueOf(entry.getStats().getNumBytes()));
+        table.putToParameters("numRows", String.valueOf(entry.getStats().getNumRows()));
+        client.getHiveClient().alter_table(splitted[0], splitted[1], table);
+      }
+    } catch (Exception e) {
+      throw new CatalogException(e);
+    } finally {
+      if (client != null) {
+        client.release();
+      }
+    }
+  }
+
 
   private TajoDataTypes.Type getDataType(final String typeStr) {
     try {
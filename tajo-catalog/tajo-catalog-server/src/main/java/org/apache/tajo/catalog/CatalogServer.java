@@ -40,6 +40,7 @@ import org.apache.tajo.conf.TajoConf;
 import org.apache.tajo.conf.TajoConf.ConfVars;
 import org.apache.tajo.rpc.BlockingRpcServer;
 import org.apache.tajo.rpc.protocolrecords.PrimitiveProtos.BoolProto;
+import org.apache.tajo.rpc.protocolrecords.PrimitiveProtos.LongProto;
 import org.apache.tajo.rpc.protocolrecords.PrimitiveProtos.NullProto;
 import org.apache.tajo.rpc.protocolrecords.PrimitiveProtos.StringProto;
 import org.apache.tajo.util.NetUtils;
@@ -79,6 +80,18 @@ public class CatalogServer extends AbstractService {
   private Map<String, List<FunctionDescProto>> functions = new ConcurrentHashMap<String,
       List<FunctionDescProto>>();
 
+  // A read-through cache of table descriptions in front of the store. It is only updated while holding rlock, and
+  // it is invalidated by DDL statements while holding wlock.
+  private boolean cacheEnabled;
+  private final Map<String, TableDescProto> tableCache = new ConcurrentHashMap<String, TableDescProto>();
+
+  // Each DDL statement increases the catalog version, and it stamps changed objects with the new version.
+  // Catalog clients use them to invalidate their cached metadata.
+  private long catalogVersion = 0;
+  private final Map<String, Long> tableVersions = new HashMap<String, Long>();
+  private final Map<String, Long> databaseVersions = new HashMap<String, Long>();
+  private long functionVersion = 0;
+
   // RPC variables
   private BlockingRpcServer rpcServer;
   private InetSocketAddress bindAddress;
@@ -131,6 +144,7 @@ public class CatalogServer extends AbstractService {
           getConstructor(new Class [] {Configuration.class});
 
       this.store = (CatalogStore) cons.newInstance(this.conf);
+      this.cacheEnabled = this.conf.getBoolVar(ConfVars.CATALOG_SERVER_CACHE_ENABLED);
 
       initBuiltinFunctions(builtingFuncs);
     } catch (Throwable t) {
@@ -212,6 +226,51 @@ public class CatalogServer extends AbstractService {
     return this.handler;
   }
 
+  /**
+   * @return the catalog version which is increased whenever the catalog is changed
+   */
+  public synchronized long getCatalogVersion() {
+    return catalogVersion;
+  }
+
+  private synchronized void tableChanged(String databaseName, String tableName) {
+    String qualifiedName = CatalogUtil.buildFQName(databaseName, tableName);
+    tableVersions.put(qualifiedName, ++catalogVersion);
+    tableCache.remove(qualifiedName);
+  }
+
+  private synchronized void databaseChanged(String databaseName) {
+    databaseVersions.put(databaseName, ++catalogVersion);
+    String prefix = databaseName + CatalogConstants.IDENTIFIER_DELIMITER;
+    Iterator<String> it = tableCache.keySet().iterator();
+    while (it.hasNext()) {
+      if (it.next().startsWith(prefix)) {
+        it.remove();
+      }
+    }
+  }
+
+  private synchronized void functionsChanged() {
+    functionVersion = ++catalogVersion;
+  }
+
+  private synchronized CatalogChangesProto getChanges(long since) {
+    CatalogChangesProto.Builder builder = CatalogChangesProto.newBuilder();
+    builder.setVersion(catalogVersion);
+    for (Map.Entry<String, Long> entry : tableVersions.entrySet()) {
+      if (entry.getValue() > since) {
+        builder.addChangedTables(entry.getKey());
+      }
+    }
+    for (Map.Entry<String, Long> entry : databaseVersions.entrySet()) {
+      if (entry.getValue() > since) {
+        builder.addChangedDatabases(entry.getKey());
+      }
+    }
+    builder.setFunctionsChanged(functionVersion > since);
+    return builder.build();
+  }
+
   public InetSocketAddress getBindAddress() {
     return this.bindAddress;
   }
@@ -355,6 +414,7 @@ public class CatalogServer extends AbstractService {
         }
 
         store.createDatabase(databaseName, tablespaceName);
+        databaseChanged(databaseName);
         LOG.info(String.format("database \"%s\" is created", databaseName));
         return ProtoUtil.TRUE;
       } catch (Exception e) {
@@ -374,6 +434,11 @@ public class CatalogServer extends AbstractService {
           throw new NoSuchTableException(proto.getTableName());
         }
         store.alterTable(proto);
+        tableChanged(split[0], split[1]);
+        if (proto.hasNewTableName()) {
+          tableChanged(split[0], CatalogUtil.isFQTableName(proto.getNewTableName()) ?
+              CatalogUtil.splitFQTableName(proto.getNewTableName())[1] : proto.getNewTableName());
+        }
       } catch (Exception e) {
         LOG.error(e.getMessage(), e);
         return BOOL_FALSE;
@@ -396,6 +461,7 @@ public class CatalogServer extends AbstractService {
         }
 
         store.dropDatabase(databaseName);
+        databaseChanged(databaseName);
         return ProtoUtil.TRUE;
 
       } catch (Exception e) {
@@ -446,6 +512,12 @@ public class CatalogServer extends AbstractService {
 
       rlock.lock();
       try {
+        String qualifiedName = CatalogUtil.buildFQName(databaseName, tableName);
+        TableDescProto cached = tableCache.get(qualifiedName);
+        if (cached != null) {
+          return cached;
+        }
+
         boolean contain;
 
         contain = store.existDatabase(databaseName);
@@ -453,7 +525,11 @@ public class CatalogServer extends AbstractService {
         if (contain) {
           contain = store.existTable(databaseName, tableName);
           if (contain) {
-            return store.getTable(databaseName, tableName);
+            TableDescProto desc = store.getTable(databaseName, tableName);
+            if (cacheEnabled) {
+              tableCache.put(qualifiedName, desc);
+            }
+            return desc;
           } else {
             throw new NoSuchTableException(tableName);
           }
@@ -489,6 +565,75 @@ public class CatalogServer extends AbstractService {
       }
     }
 
+    @Override
+    public GetTableDescsResponse getTableDescs(RpcController controller, GetTableDescsRequest request)
+        throws ServiceException {
+      String databaseName = request.getDatabaseName();
+
+      rlock.lock();
+      try {
+        if (!store.existDatabase(databaseName)) {
+          throw new NoSuchDatabaseException(databaseName);
+        }
+
+        Map<String, TableDescProto> found = new HashMap<String, TableDescProto>();
+        List<String> uncached = new ArrayList<String>();
+        for (String tableName : request.getTableNameList()) {
+          TableDescProto cached = tableCache.get(CatalogUtil.buildFQName(databaseName, tableName));
+          if (cached != null) {
+            found.put(tableName, cached);
+          } else {
+            uncached.add(tableName);
+          }
+        }
+
+        if (!uncached.isEmpty()) {
+          for (TableDescProto desc : store.getTables(databaseName, uncached)) {
+            if (cacheEnabled) {
+              tableCache.put(desc.getTableName(), desc);
+            }
+            found.put(CatalogUtil.extractSimpleName(desc.getTableName()), desc);
+          }
+        }
+
+        GetTableDescsResponse.Builder builder = GetTableDescsResponse.newBuilder();
+        for (String tableName : request.getTableNameList()) {
+          TableDescProto desc = found.remove(tableName);
+          if (desc != null) {
+            builder.addTableDesc(desc);
+          }
+        }
+        return builder.build();
+      } catch (Exception e) {
+        LOG.error(e);
+        throw new ServiceException(e);
+      } finally {
+        rlock.unlock();
+      }
+    }
+
+    @Override
+    public BoolProto updateTableStats(RpcController controller, UpdateTableStatsRequest request)
+        throws ServiceException {
+      wlock.lock();
+      try {
+        store.updateTableStats(request.getTableStatsList());
+        for (UpdateTableStatsProto entry : request.getTableStatsList()) {
+          String [] splitted = CatalogUtil.splitFQTableName(entry.getTableName());
+          tableChanged(splitted[0], splitted[1]);
+        }
+        LOG.info(String.format("statistics of %d relations are updated in the catalog (%s)",
+            request.getTableStatsCount(), bindAddressStr));
+      } catch (Exception e) {
+        LOG.error(e.getMessage(), e);
+        return BOOL_FALSE;
+      } finally {
+        wlock.unlock();
+      }
+
+      return BOOL_TRUE;
+    }
+
     @Override
     public GetFunctionsResponse getFunctions(RpcController controller,
                                              NullProto request)
@@ -521,6 +666,7 @@ public class CatalogServer extends AbstractService {
           }
 
           store.createTable(request);
+          tableChanged(databaseName, tableName);
           LOG.info(String.format("relation \"%s\" is added to the catalog (%s)",
               CatalogUtil.getCanonicalTableName(databaseName, tableName), bindAddressStr));
         } else {
@@ -552,6 +698,7 @@ public class CatalogServer extends AbstractService {
           }
 
           store.dropTable(databaseName, tableName);
+          tableChanged(databaseName, tableName);
           LOG.info(String.format("relation \"%s\" is deleted from the catalog (%s)",
               CatalogUtil.getCanonicalTableName(databaseName, tableName), bindAddressStr));
         } else {
@@ -575,6 +722,9 @@ public class CatalogServer extends AbstractService {
 
       rlock.lock();
       try {
+        if (tableCache.containsKey(CatalogUtil.buildFQName(databaseName, tableName))) {
+          return BOOL_TRUE;
+        }
 
         boolean contain = store.existDatabase(databaseName);
 
@@ -673,7 +823,31 @@ public class CatalogServer extends AbstractService {
 
     @Override
     public BoolProto addPartitions(RpcController controller, PartitionsProto request) throws ServiceException {
-      return ProtoUtil.TRUE;
+      String databaseName = request.getTableIdentifier().getDatabaseName();
+      String tableName = request.getTableIdentifier().getTableName();
+
+      wlock.lock();
+      try {
+        if (!store.existDatabase(databaseName)) {
+          throw new NoSuchDatabaseException(databaseName);
+        }
+        if (!store.existTable(databaseName, tableName)) {
+          throw new NoSuchTableException(databaseName, tableName);
+        }
+
+        store.addPartitions(request);
+        tableChanged(databaseName, tableName);
+        LOG.info(String.format("%d partitions of relation \"%s\" are added to the catalog (%s)",
+            request.getPartitionCount(), CatalogUtil.getCanonicalTableName(databaseName, tableName),
+            bindAddressStr));
+      } catch (Exception e) {
+        LOG.error(e.getMessage(), e);
+        return BOOL_FALSE;
+      } finally {
+        wlock.unlock();
+      }
+
+      return BOOL_TRUE;
     }
 
     @Override
@@ -966,6 +1140,7 @@ public class CatalogServer extends AbstractService {
       }
 
       TUtil.putToNestedList(functions, funcDesc.getSignature().getName(), funcDesc);
+      functionsChanged();
       if (LOG.isDebugEnabled()) {
         LOG.info("Function " + signature + " is registered.");
       }
@@ -982,6 +1157,7 @@ public class CatalogServer extends AbstractService {
       }
 
       functions.remove(request.getSignature());
+      functionsChanged();
       LOG.info(request.getSignature() + " is dropped.");
 
       return BOOL_TRUE;
@@ -1018,6 +1194,12 @@ public class CatalogServer extends AbstractService {
       }
       return BoolProto.newBuilder().setValue(returnValue).build();
     }
+
+    @Override
+    public CatalogChangesProto getCatalogChanges(RpcController controller, LongProto request)
+        throws ServiceException {
+      return getChanges(request.getValue());
+    }
   }
 
   private static class FunctionSignature {
@@ -51,6 +51,11 @@ import static org.apache.tajo.rpc.protocolrecords.PrimitiveProtos.KeyValueProto;
 import static org.apache.tajo.rpc.protocolrecords.PrimitiveProtos.KeyValueSetProto;
 
 public abstract class AbstractDBStore extends CatalogConstants implements CatalogStore {
+  /** the maximum number of statements sent to a database in a single JDBC batch */
+  protected static final int BATCH_SIZE = 1000;
+  /** the maximum number of values in a single IN list */
+  protected static final int MAX_IN_LIST_SIZE = 500;
+
   protected final Log LOG = LogFactory.getLog(getClass());
   protected final Configuration conf;
   protected final String connectionId;
@@ -1383,6 +1388,351 @@ public abstract class AbstractDBStore extends CatalogConstants implements Catalo
     return tables;
   }
 
+  /**
+   * Returns a parenthesized list of <code>num</code> parameter markers for an IN predicate.
+   */
+  private static String inList(int num) {
+    StringBuilder sb = new StringBuilder("(");
+    for (int i = 0; i < num; i++) {
+      if (i > 0) {
+        sb.append(", ");
+      }
+      sb.append("?");
+    }
+    return sb.append(")").toString();
+  }
+
+  @Override
+  public List<CatalogProtos.TableDescProto> getTables(String databaseName, Collection<String> tableNames)
+      throws CatalogException {
+    Map<String, CatalogProtos.TableDescProto> tables = new HashMap<String, CatalogProtos.TableDescProto>();
+
+    try {
+      Pair<Integer, String> databaseIdAndUri = getDatabaseIdAndUri(databaseName);
+
+      List<String> names = new ArrayList<String>(new LinkedHashSet<String>(tableNames));
+      for (int start = 0; start < names.size(); start += MAX_IN_LIST_SIZE) {
+        List<String> chunk = names.subList(start, Math.min(start + MAX_IN_LIST_SIZE, names.size()));
+        for (CatalogProtos.TableDescProto table : getTablesInternal(databaseName, databaseIdAndUri, chunk)) {
+          tables.put(CatalogUtil.extractSimpleName(table.getTableName()), table);
+        }
+      }
+    } catch (InvalidProtocolBufferException e) {
+      throw new CatalogException(e);
+    } catch (SQLException se) {
+      throw new CatalogException(se);
+    }
+
+    List<CatalogProtos.TableDescProto> result = new ArrayList<CatalogProtos.TableDescProto>(tables.size());
+    for (String tableName : tableNames) {
+      CatalogProtos.TableDescProto table = tables.remove(tableName);
+      if (table != null) {
+        result.add(table);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Reads descriptions of tables with a fixed number of queries, each of which fetches the rows of all given
+   * tables from a catalog table.
+   */
+  private List<CatalogProtos.TableDescProto> getTablesInternal(String databaseName,
+                                                               Pair<Integer, String> databaseIdAndUri,
+                                                               List<String> tableNames)
+      throws SQLException, InvalidProtocolBufferException {
+    Connection conn;
+    PreparedStatement pstmt = null;
+    ResultSet res = null;
+
+    Map<Integer, CatalogProtos.TableDescProto.Builder> tableBuilders =
+        new LinkedHashMap<Integer, CatalogProtos.TableDescProto.Builder>();
+    Map<Integer, String> names = new HashMap<Integer, String>();
+    Map<Integer, StoreType> storeTypes = new HashMap<Integer, StoreType>();
+    Map<Integer, CatalogProtos.SchemaProto.Builder> schemaBuilders =
+        new HashMap<Integer, CatalogProtos.SchemaProto.Builder>();
+    Map<Integer, KeyValueSetProto.Builder> optionBuilders = new HashMap<Integer, KeyValueSetProto.Builder>();
+
+    try {
+      //////////////////////////////////////////
+      // Geting Table Descriptions
+      //////////////////////////////////////////
+      String sql =
+          "SELECT TID, " + COL_TABLES_NAME + ", TABLE_TYPE, PATH, STORE_TYPE FROM " + TB_TABLES +
+              " WHERE DB_ID = ? AND " + COL_TABLES_NAME + " IN " + inList(tableNames.size());
+
+      if (LOG.isDebugEnabled()) {
+        LOG.debug(sql);
+      }
+
+      conn = getConnection();
+      pstmt = conn.prepareStatement(sql);
+      pstmt.setInt(1, databaseIdAndUri.getFirst());
+      for (int i = 0; i < tableNames.size(); i++) {
+        pstmt.setString(i + 2, tableNames.get(i));
+      }
+      res = pstmt.executeQuery();
+
+      while (res.next()) {
+        int tableId = res.getInt(1);
+        String tableName = res.getString(2).trim();
+        CatalogProtos.TableDescProto.Builder tableBuilder = CatalogProtos.TableDescProto.newBuilder();
+        tableBuilder.setTableName(CatalogUtil.buildFQName(databaseName, tableName));
+        TableType tableType = TableType.valueOf(res.getString(3));
+        if (tableType == TableType.EXTERNAL_TABLE) {
+          tableBuilder.setIsExternal(true);
+          tableBuilder.setPath(res.getString(4).trim());
+        } else {
+          tableBuilder.setPath(databaseIdAndUri.getSecond() + "/" + tableName);
+        }
+        tableBuilders.put(tableId, tableBuilder);
+        names.put(tableId, tableName);
+        storeTypes.put(tableId, CatalogUtil.getStoreType(res.getString(5).trim()));
+      }
+      res.close();
+      pstmt.close();
+
+      if (tableBuilders.isEmpty()) {
+        return new ArrayList<CatalogProtos.TableDescProto>();
+      }
+      String tids = inList(tableBuilders.size());
+
+      //////////////////////////////////////////
+      // Geting Column Descriptions
+      //////////////////////////////////////////
+      for (int tableId : tableBuilders.keySet()) {
+        schemaBuilders.put(tableId, CatalogProtos.SchemaProto.newBuilder());
+      }
+      sql = "SELECT " + COL_TABLES_PK + ", COLUMN_NAME, DATA_TYPE, TYPE_LENGTH from " + TB_COLUMNS +
+          " WHERE " + COL_TABLES_PK + " IN " + tids + " ORDER BY " + COL_TABLES_PK + ", ORDINAL_POSITION ASC";
+
+      if (LOG.isDebugEnabled()) {
+        LOG.debug(sql);
+      }
+
+      pstmt = conn.prepareStatement(sql);
+      setTableIds(pstmt, tableBuilders.keySet());
+      res = pstmt.executeQuery();
+      while (res.next()) {
+        schemaBuilders.get(res.getInt(1)).addFields(resultToColumnProto(res));
+      }
+      res.close();
+      pstmt.close();
+
+      //////////////////////////////////////////
+      // Geting Table Properties
+      //////////////////////////////////////////
+      for (int tableId : tableBuilders.keySet()) {
+        optionBuilders.put(tableId, KeyValueSetProto.newBuilder());
+      }
+      sql = "SELECT " + COL_TABLES_PK + ", key_, value_ FROM " + TB_OPTIONS + " WHERE " + COL_TABLES_PK + " IN " + tids;
+
+      if (LOG.isDebugEnabled()) {
+        LOG.debug(sql);
+      }
+
+      pstmt = conn.prepareStatement(sql);
+      setTableIds(pstmt, tableBuilders.keySet());
+      res = pstmt.executeQuery();
+      while (res.next()) {
+        optionBuilders.get(res.getInt(1)).addKeyval(
+            KeyValueProto.newBuilder().setKey(res.getString("key_")).setValue(res.getString("value_")));
+      }
+      res.close();
+      pstmt.close();
+
+      //////////////////////////////////////////
+      // Geting Table Stats
+      //////////////////////////////////////////
+      sql = "SELECT " + COL_TABLES_PK + ", num_rows, num_bytes FROM " + TB_STATISTICS +
+          " WHERE " + COL_TABLES_PK + " IN " + tids;
+
+      if (LOG.isDebugEnabled()) {
+        LOG.debug(sql);
+      }
+
+      pstmt = conn.prepareStatement(sql);
+      setTableIds(pstmt, tableBuilders.keySet());
+      res = pstmt.executeQuery();
+      while (res.next()) {
+        TableStatsProto.Builder statBuilder = TableStatsProto.newBuilder();
+        statBuilder.setNumRows(res.getLong("num_rows"));
+        statBuilder.setNumBytes(res.getLong("num_bytes"));
+        tableBuilders.get(res.getInt(1)).setStats(statBuilder);
+      }
+      res.close();
+      pstmt.close();
+
+      //////////////////////////////////////////
+      // Getting Table Partition Methods
+      //////////////////////////////////////////
+      sql = " SELECT " + COL_TABLES_PK + ", partition_type, expression, expression_schema FROM " +
+          TB_PARTITION_METHODS + " WHERE " + COL_TABLES_PK + " IN " + tids;
+
+      if (LOG.isDebugEnabled()) {
+        LOG.debug(sql);
+      }
+
+      pstmt = conn.prepareStatement(sql);
+      setTableIds(pstmt, tableBuilders.keySet());
+      res = pstmt.executeQuery();
+      while (res.next()) {
+        int tableId = res.getInt(1);
+        tableBuilders.get(tableId).setPartition(resultToPartitionMethodProto(databaseName, names.get(tableId), res));
+      }
+    } finally {
+      CatalogUtil.closeQuietly(pstmt, res);
+    }
+
+    List<CatalogProtos.TableDescProto> tables = new ArrayList<CatalogProtos.TableDescProto>(tableBuilders.size());
+    for (Map.Entry<Integer, CatalogProtos.TableDescProto.Builder> entry : tableBuilders.entrySet()) {
+      int tableId = entry.getKey();
+      CatalogProtos.TableDescProto.Builder tableBuilder = entry.getValue();
+      tableBuilder.setSchema(CatalogUtil.getQualfiedSchema(databaseName + "." + names.get(tableId),
+          schemaBuilders.get(tableId).build()));
+
+      CatalogProtos.TableProto.Builder metaBuilder = CatalogProtos.TableProto.newBuilder();
+      metaBuilder.setStoreType(storeTypes.get(tableId));
+      metaBuilder.setParams(optionBuilders.get(tableId));
+      tableBuilder.setMeta(metaBuilder);
+
+      tables.add(tableBuilder.build());
+    }
+    return tables;
+  }
+
+  private static void setTableIds(PreparedStatement pstmt, Collection<Integer> tableIds) throws SQLException {
+    int i = 1;
+    for (int tableId : tableIds) {
+      pstmt.setInt(i++, tableId);
+    }
+  }
+
+  @Override
+  public void updateTableStats(List<CatalogProtos.UpdateTableStatsProto> tableStats) throws CatalogException {
+    Connection conn = null;
+    PreparedStatement pstmt = null;
+
+    // qualified table name -> table id
+    Map<String, Integer> tableIds = new HashMap<String, Integer>();
+    Map<String, List<String>> tablesByDatabase = new HashMap<String, List<String>>();
+    for (CatalogProtos.UpdateTableStatsProto entry : tableStats) {
+      String [] splitted = CatalogUtil.splitFQTableName(entry.getTableName());
+      if (!tablesByDatabase.containsKey(splitted[0])) {
+        tablesByDatabase.put(splitted[0], new ArrayList<String>());
+      }
+      tablesByDatabase.get(splitted[0]).add(splitted[1]);
+    }
+
+    try {
+      for (Map.Entry<String, List<String>> entry : tablesByDatabase.entrySet()) {
+        getTableIds(entry.getKey(), entry.getValue(), tableIds);
+      }
+
+      conn = getConnection();
+      conn.setAutoCommit(false);
+
+      // The existing rows are deleted first because an upsert statement is not portable across databases.
+      String sql = "DELETE FROM " + TB_STATISTICS + " WHERE " + COL_TABLES_PK + " = ?";
+
+      if (LOG.isDebugEnabled()) {
+        LOG.debug(sql);
+      }
+
+      pstmt = conn.prepareStatement(sql);
+      int batched = 0;
+      for (CatalogProtos.UpdateTableStatsProto entry : tableStats) {
+        pstmt.setInt(1, tableIds.get(entry.getTableName()));
+        pstmt.addBatch();
+        pstmt.clearParameters();
+        if (++batched % BATCH_SIZE == 0) {
+          pstmt.executeBatch();
+        }
+      }
+      pstmt.executeBatch();
+      pstmt.close();
+
+      sql = "INSERT INTO " + TB_STATISTICS + " (TID, NUM_ROWS, NUM_BYTES) VALUES(?, ?, ?)";
+
+      if (LOG.isDebugEnabled()) {
+        LOG.debug(sql);
+      }
+
+      pstmt = conn.prepareStatement(sql);
+      batched = 0;
+      for (CatalogProtos.UpdateTableStatsProto entry : tableStats) {
+        pstmt.setInt(1, tableIds.get(entry.getTableName()));
+        pstmt.setLong(2, entry.getStats().getNumRows());
+        pstmt.setLong(3, entry.getStats().getNumBytes());
+        pstmt.addBatch();
+        pstmt.clearParameters();
+        if (++batched % BATCH_SIZE == 0) {
+          pstmt.executeBatch();
+        }
+      }
+      pstmt.executeBatch();
+
+      // If there is no error, commit the changes.
+      conn.commit();
+    } catch (SQLException se) {
+      if (conn != null) {
+        try {
+          conn.rollback();
+        } catch (SQLException e) {
+          LOG.error(e);
+        }
+      }
+      throw new CatalogException(se);
+    } finally {
+      CatalogUtil.closeQuietly(pstmt);
+    }
+  }
+
+  /**
+   * Finds the ids of tables in a database with multi-row selects, and puts them into <code>tableIds</code>
+   * with their qualified names.
+   */
+  private void getTableIds(String databaseName, List<String> tableNames, Map<String, Integer> tableIds)
+      throws SQLException {
+    int databaseId = getDatabaseId(databaseName);
+    Connection conn;
+    PreparedStatement pstmt = null;
+    ResultSet res = null;
+
+    try {
+      conn = getConnection();
+      for (int start = 0; start < tableNames.size(); start += MAX_IN_LIST_SIZE) {
+        List<String> chunk = tableNames.subList(start, Math.min(start + MAX_IN_LIST_SIZE, tableNames.size()));
+        String sql = "SELECT " + COL_TABLES_PK + ", " + COL_TABLES_NAME + " FROM " + TB_TABLES +
+            " WHERE " + COL_DATABASES_PK + " = ? AND " + COL_TABLES_NAME + " IN " + inList(chunk.size());
+
+        if (LOG.isDebugEnabled()) {
+          LOG.debug(sql);
+        }
+
+        pstmt = conn.prepareStatement(sql);
+        pstmt.setInt(1, databaseId);
+        for (int i = 0; i < chunk.size(); i++) {
+          pstmt.setString(i + 2, chunk.get(i));
+        }
+        res = pstmt.executeQuery();
+        while (res.next()) {
+          tableIds.put(CatalogUtil.buildFQName(databaseName, res.getString(2).trim()), res.getInt(1));
+        }
+        res.close();
+        pstmt.close();
+      }
+    } finally {
+      CatalogUtil.closeQuietly(pstmt, res);
+    }
+
+    for (String tableName : tableNames) {
+      if (!tableIds.containsKey(CatalogUtil.buildFQName(databaseName, tableName))) {
+        throw new NoSuchTableException(databaseName, tableName);
+      }
+    }
+  }
+
   private static final String ADD_PARTITION_SQL =
       "INSERT INTO " + TB_PARTTIONS + " (TID, PARTITION_NAME, ORDINAL_POSITION, PATH) VALUES (?,?,?,?)";
 
@@ -1404,10 +1754,15 @@ public abstract class AbstractDBStore extends CatalogConstants implements Catalo
       int tableId = getTableId(databaseId, databaseName, tableName);
 
       conn = getConnection();
+      conn.setAutoCommit(false);
       pstmt = conn.prepareStatement(ADD_PARTITION_SQL);
 
+      int batched = 0;
       for (CatalogProtos.PartitionDescProto partition : partitionsProto.getPartitionList()) {
         addPartitionInternal(pstmt, tableId, partition);
+        if (++batched % BATCH_SIZE == 0) {
+          pstmt.executeBatch();
+        }
       }
       pstmt.executeBatch();
       conn.commit();
@@ -1570,7 +1925,7 @@ public abstract class AbstractDBStore extends CatalogConstants implements Catalo
       conn = getConnection();
       pstmt = conn.prepareStatement(ADD_PARTITION_SQL);
       addPartitionInternal(pstmt, tableId, partition);
-      pstmt.executeUpdate();
+      pstmt.executeBatch();
     } catch (SQLException se) {
       throw new CatalogException(se);
     } finally {
@@ -29,6 +29,7 @@ import org.apache.tajo.exception.InternalException;
 import java.sql.*;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Properties;
 
 public abstract class AbstractMySQLMariaDBStore extends AbstractDBStore  {
   protected String getCatalogDriverName(){
@@ -45,8 +46,16 @@ public abstract class AbstractMySQLMariaDBStore extends AbstractDBStore  {
   }
 
   protected Connection createConnection(Configuration conf) throws SQLException {
-    Connection con = DriverManager.getConnection(getCatalogUri(), this.connectionId,
-        this.connectionPassword);
+    Properties props = new Properties();
+    if (this.connectionId != null) {
+      props.setProperty("user", this.connectionId);
+    }
+    if (this.connectionPassword != null) {
+      props.setProperty("password", this.connectionPassword);
+    }
+    // send a JDBC batch of inserts as multi-row INSERT statements instead of one statement per row
+    props.setProperty("rewriteBatchedStatements", "true");
+    Connection con = DriverManager.getConnection(getCatalogUri(), props);
     //TODO con.setAutoCommit(false);
     return con;
   }
@@ -63,7 +63,24 @@ public interface CatalogStore extends Closeable {
   void dropTable(String databaseName, String tableName) throws CatalogException;
   
   CatalogProtos.TableDescProto getTable(String databaseName, String tableName) throws CatalogException;
-  
+
+  /**
+   * Get descriptions of many tables in a database at once.
+   * @param databaseName the database name
+   * @param tableNames the table names
+   * @return descriptions of existing tables in the order of given table names. Non-existing tables are skipped.
+   * @throws CatalogException
+   */
+  List<CatalogProtos.TableDescProto> getTables(String databaseName, Collection<String> tableNames)
+      throws CatalogException;
+
+  /**
+   * Replace the statistics of many tables at once.
+   * @param tableStats a list of qualified table names and their new statistics
+   * @throws CatalogException
+   */
+  void updateTableStats(List<CatalogProtos.UpdateTableStatsProto> tableStats) throws CatalogException;
+
   List<String> getAllTableNames(String databaseName) throws CatalogException;
 
   void alterTable(CatalogProtos.AlterTableDescProto alterTableDescProto) throws CatalogException;
@@ -278,6 +278,37 @@ public class MemStore implements CatalogStore {
     }
   }
 
+  @Override
+  public List<CatalogProtos.TableDescProto> getTables(String databaseName, Collection<String> tableNames)
+      throws CatalogException {
+    Map<String, CatalogProtos.TableDescProto> database = checkAndGetDatabaseNS(databases, databaseName);
+
+    List<CatalogProtos.TableDescProto> tables = new ArrayList<CatalogProtos.TableDescProto>();
+    for (String tableName : new LinkedHashSet<String>(tableNames)) {
+      if (database.containsKey(tableName)) {
+        tables.add(getTable(databaseName, tableName));
+      }
+    }
+    return tables;
+  }
+
+  @Override
+  public void updateTableStats(List<CatalogProtos.UpdateTableStatsProto> tableStats) throws CatalogException {
+    for (CatalogProtos.UpdateTableStatsProto entry : tableStats) {
+      String[] split = CatalogUtil.splitFQTableName(entry.getTableName());
+      Map<String, CatalogProtos.TableDescProto> database = checkAndGetDatabaseNS(databases, split[0]);
+      if (!database.containsKey(split[1])) {
+        throw new NoSuchTableException(split[0], split[1]);
+      }
+    }
+
+    for (CatalogProtos.UpdateTableStatsProto entry : tableStats) {
+      String[] split = CatalogUtil.splitFQTableName(entry.getTableName());
+      Map<String, CatalogProtos.TableDescProto> database = databases.get(split[0]);
+      database.put(split[1], database.get(split[1]).toBuilder().setStats(entry.getStats()).build());
+    }
+  }
+
   /* (non-Javadoc)
    * @see CatalogStore#getAllTableNames()
    */
@@ -21,6 +21,7 @@ package org.apache.tajo.catalog.store;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.util.Properties;
 
 import org.apache.hadoop.conf.Configuration;
 import org.apache.tajo.catalog.exception.CatalogException;
@@ -46,7 +47,16 @@ public class PostgreSQLStore extends AbstractDBStore {
 
   @Override
   protected Connection createConnection(Configuration conf) throws SQLException {
-    return DriverManager.getConnection(getCatalogUri(), this.connectionId, this.connectionPassword);
+    Properties props = new Properties();
+    if (this.connectionId != null) {
+      props.setProperty("user", this.connectionId);
+    }
+    if (this.connectionPassword != null) {
+      props.setProperty("password", this.connectionPassword);
+    }
+    // send a JDBC batch of inserts as multi-row INSERT statements instead of one statement per row
+    props.setProperty("reWriteBatchedInserts", "true");
+    return DriverManager.getConnection(getCatalogUri(), props);
   }
   
   @Override
@@ -30,6 +30,7 @@ import org.apache.tajo.catalog.proto.CatalogProtos;
 import org.apache.tajo.catalog.proto.CatalogProtos.FunctionType;
 import org.apache.tajo.catalog.proto.CatalogProtos.IndexMethod;
 import org.apache.tajo.catalog.proto.CatalogProtos.StoreType;
+import org.apache.tajo.catalog.statistics.TableStats;
 import org.apache.tajo.catalog.store.DerbyStore;
 import org.apache.tajo.catalog.store.MySQLStore;
 import org.apache.tajo.catalog.store.MariaDBStore;
@@ -283,6 +284,79 @@ public class TestCatalog {
     assertFalse(catalog.existDatabase("tmpdb2"));
   }
 
+  @Test
+  public void testCatalogClientCache() throws Exception {
+    CatalogClient client = new CatalogClient(server.getConf());
+    TableDesc table = createMockupTable(DEFAULT_DATABASE_NAME, "cached_table");
+    assertTrue(catalog.createTable(table));
+
+    client.syncCatalogVersion(server.getCatalogVersion());
+    assertEquals(3, client.getTableDesc(table.getName()).getSchema().size());
+
+    // a change made by another client becomes visible after the catalog version is synchronized.
+    assertTrue(catalog.alterTable(CatalogUtil.addNewColumn(table.getName(), new Column("f4", Type.TEXT),
+        AlterTableType.ADD_COLUMN)));
+    assertEquals(4, catalog.getTableDesc(table.getName()).getSchema().size());
+    client.syncCatalogVersion(server.getCatalogVersion());
+    assertEquals(4, client.getTableDesc(table.getName()).getSchema().size());
+
+    assertTrue(catalog.dropTable(table.getName()));
+    client.syncCatalogVersion(server.getCatalogVersion());
+    assertFalse(client.existsTable(table.getName()));
+
+    // a change made by the client itself is immediately visible.
+    assertTrue(client.createTable(table));
+    assertEquals(3, client.getTableDesc(table.getName()).getSchema().size());
+    assertTrue(client.dropTable(table.getName()));
+    assertFalse(client.existsTable(table.getName()));
+  }
+
+  @Test
+  public void testGetTableDescsAndUpdateTableStats() throws Exception {
+    List<String> tableNames = new ArrayList<String>();
+    Map<String, TableStats> statsMap = new HashMap<String, TableStats>();
+    for (int i = 0; i < 5; i++) {
+      TableDesc table = createMockupTable(DEFAULT_DATABASE_NAME, "bulk_table_" + i);
+      assertTrue(catalog.createTable(table));
+      tableNames.add("bulk_table_" + i);
+
+      TableStats stats = new TableStats();
+      stats.setNumRows(i * 10);
+      stats.setNumBytes(i * 1000);
+      statsMap.put(table.getName(), stats);
+    }
+    assertTrue(catalog.updateTableStats(statsMap));
+
+    List<String> requested = new ArrayList<String>(tableNames);
+    Collections.reverse(requested);
+    requested.add("no_such_table");
+    List<TableDesc> descs = catalog.getTableDescs(DEFAULT_DATABASE_NAME, requested);
+    assertEquals(tableNames.size(), descs.size());
+    for (int i = 0; i < descs.size(); i++) {
+      TableDesc desc = descs.get(i);
+      assertEquals(CatalogUtil.buildFQName(DEFAULT_DATABASE_NAME, requested.get(i)), desc.getName());
+      assertEquals(3, desc.getSchema().size());
+      assertEquals(statsMap.get(desc.getName()).getNumRows(), desc.getStats().getNumRows());
+      assertEquals(statsMap.get(desc.getName()).getNumBytes(), desc.getStats().getNumBytes());
+      assertEquals(catalog.getTableDesc(desc.getName()).getStats().getNumRows(), desc.getStats().getNumRows());
+    }
+
+    // the statistics are replaced
+    TableStats stats = new TableStats();
+    stats.setNumRows(7);
+    stats.setNumBytes(700);
+    String qualifiedName = CatalogUtil.buildFQName(DEFAULT_DATABASE_NAME, tableNames.get(0));
+    assertTrue(catalog.updateTableStats(Collections.singletonMap(qualifiedName, stats)));
+    assertEquals(7, catalog.getTableDesc(qualifiedName).getStats().getNumRows().longValue());
+
+    assertFalse(catalog.updateTableStats(Collections.singletonMap(
+        CatalogUtil.buildFQName(DEFAULT_DATABASE_NAME, "no_such_table"), stats)));
+
+    for (String tableName : tableNames) {
+      assertTrue(catalog.dropTable(CatalogUtil.buildFQName(DEFAULT_DATABASE_NAME, tableName)));
+    }
+  }
+
   static String dbPrefix = "db_";
   static String tablePrefix = "tb_";
   static final int DB_NUM = 5;
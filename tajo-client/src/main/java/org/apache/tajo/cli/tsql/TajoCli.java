@@ -32,6 +32,7 @@ import org.apache.tajo.client.*;
 import org.apache.tajo.conf.TajoConf;
 import org.apache.tajo.conf.TajoConf.ConfVars;
 import org.apache.tajo.ipc.ClientProtos;
+import org.apache.tajo.jdbc.TajoStreamingResultSet;
 import org.apache.tajo.util.FileUtil;
 
 import java.io.*;
@@ -587,6 +588,8 @@ public class TajoCli {
     // query execute
     ResultSet res = null;
     QueryStatus status = null;
+    ClientProtos.GetQueryResultFilesResponse streamingResponse = null;
+    boolean streaming = conf.getBoolVar(ConfVars.CLIENT_RESULT_STREAMING_ENABLED);
     try {
 
       int initRetries = 0;
@@ -604,6 +607,17 @@ public class TajoCli {
           displayFormatter.printProgress(sout, status);
         }
 
+        if (streaming && TajoClientUtil.isQueryRunning(status.getState())) {
+          // prints rows as soon as the first result files are written
+          ClientProtos.GetQueryResultFilesResponse response = client.getQueryResultFiles(queryId, 0);
+          if (!response.getStreamable()) {
+            streaming = false;
+          } else if (response.hasTableDesc() && response.getFilesCount() > 0) {
+            streamingResponse = response;
+            break;
+          }
+        }
+
         if (TajoClientUtil.isQueryComplete(status.getState()) && status.getState() != QueryState.QUERY_KILL_WAIT) {
           break;
         } else {
@@ -612,7 +626,12 @@ public class TajoCli {
         }
       }
 
-      if (status.getState() == QueryState.QUERY_ERROR || status.getState() == QueryState.QUERY_FAILED) {
+      if (streamingResponse != null) {
+        float responseTime = ((float)(System.currentTimeMillis() - status.getSubmitTime()) / 1000.0f);
+        res = new TajoStreamingResultSet(client, queryId, conf, streamingResponse);
+        TableDesc desc = new TableDesc(streamingResponse.getTableDesc());
+        displayFormatter.printResult(sout, sin, desc, responseTime, res);
+      } else if (status.getState() == QueryState.QUERY_ERROR || status.getState() == QueryState.QUERY_FAILED) {
         displayFormatter.printErrorMessage(sout, status);
         wasError = true;
       } else if (status.getState() == QueryState.QUERY_KILLED) {
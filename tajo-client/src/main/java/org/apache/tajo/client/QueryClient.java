@@ -31,6 +31,7 @@ import java.io.IOException;
 import java.sql.ResultSet;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Future;
 
 import static org.apache.tajo.TajoIdProtos.SessionIdProto;
 
@@ -92,6 +93,48 @@ public interface QueryClient extends Closeable {
 
   public ResultSet executeJsonQueryAndGetResult(final String json) throws ServiceException, IOException;
 
+  /**
+   * It submits a query statement without blocking the caller. For a query whose result can be streamed,
+   * the future is completed as soon as the result schema is known, and the result set returns rows written by
+   * each final-stage task as soon as the task finishes. Otherwise, the future is completed when the query finishes.
+   */
+  public Future<ResultSet> executeQueryAsync(final String sql);
+
+  /**
+   * It waits until the result of a running query can be read, and returns a result set streaming it.
+   * If the result cannot be streamed, it waits for the finish of the query.
+   */
+  public ResultSet getStreamingQueryResult(QueryId queryId) throws ServiceException, IOException;
+
+  /**
+   * It gets result files which have been completely written by the query.
+   * @param offset the number of files which are already received
+   */
+  public ClientProtos.GetQueryResultFilesResponse getQueryResultFiles(QueryId queryId, int offset)
+      throws ServiceException;
+
+  /**
+   * It prepares a query statement having '?' parameter markers in the current session.
+   * The response contains a statement id and the number of parameters.
+   */
+  public ClientProtos.PrepareStatementResponse prepareStatement(final String sql) throws ServiceException;
+
+  /**
+   * It executes a prepared statement with given parameter values, and gets a response immediately.
+   */
+  public ClientProtos.SubmitQueryResponse executePreparedStatement(final int statementId,
+                                                                  final List<ClientProtos.PreparedParameter> parameters)
+      throws ServiceException;
+
+  /**
+   * It executes a prepared statement with given parameter values, and waits for the finish of the query.
+   */
+  public ResultSet executePreparedStatementAndGetResult(final int statementId,
+                                                        final List<ClientProtos.PreparedParameter> parameters)
+      throws ServiceException, IOException;
+
+  public boolean closePreparedStatement(final int statementId) throws ServiceException;
+
   public QueryStatus getQueryStatus(QueryId queryId) throws ServiceException;
 
   public ResultSet getQueryResult(QueryId queryId) throws ServiceException, IOException;
@@ -102,6 +145,13 @@ public interface QueryClient extends Closeable {
 
   public TajoMemoryResultSet fetchNextQueryResult(final QueryId queryId, final int fetchRowNum) throws ServiceException;
 
+  /**
+   * Fetches the next rows as a compressed columnar block of at most about <code>fetchBlockSize</code> bytes.
+   * If <code>fetchBlockSize</code> is not positive, it fetches row-encoded tuples.
+   */
+  public TajoMemoryResultSet fetchNextQueryResult(final QueryId queryId, final int fetchRowNum,
+                                                  final int fetchBlockSize) throws ServiceException;
+
   public boolean updateQuery(final String sql) throws ServiceException;
 
   public boolean updateQueryWithJson(final String json) throws ServiceException;
@@ -18,6 +18,7 @@
 
 package org.apache.tajo.client;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.protobuf.ServiceException;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -34,8 +35,11 @@ import org.apache.tajo.ipc.QueryMasterClientProtocol;
 import org.apache.tajo.ipc.TajoMasterClientProtocol;
 import org.apache.tajo.jdbc.TajoMemoryResultSet;
 import org.apache.tajo.jdbc.TajoResultSet;
+import org.apache.tajo.jdbc.TajoStreamingResultSet;
 import org.apache.tajo.rpc.NettyClientBase;
 import org.apache.tajo.rpc.ServerCallable;
+import org.apache.tajo.storage.ColumnarBlockUtil;
+import org.apache.tajo.storage.Tuple;
 import org.apache.tajo.util.NetUtils;
 
 import java.io.IOException;
@@ -43,6 +47,10 @@ import java.net.InetSocketAddress;
 import java.sql.ResultSet;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.apache.tajo.conf.TajoConf.ConfVars;
 import static org.apache.tajo.ipc.ClientProtos.*;
@@ -51,6 +59,10 @@ import static org.apache.tajo.ipc.TajoMasterClientProtocol.TajoMasterClientProto
 
 public class QueryClientImpl implements QueryClient {
   private static final Log LOG = LogFactory.getLog(QueryClientImpl.class);
+  private static final ExecutorService ASYNC_QUERY_EXECUTOR = Executors.newCachedThreadPool(
+      new ThreadFactoryBuilder().setDaemon(true).setNameFormat("Async query executor %d").build());
+  private static final int MIN_RESULT_WAIT_INTERVAL_MS = 20;
+  private static final int MAX_RESULT_WAIT_INTERVAL_MS = 500;
   private final SessionConnection connection;
 
   public QueryClientImpl(SessionConnection connection) {
@@ -205,8 +217,79 @@ public class QueryClientImpl implements QueryClient {
 
   @Override
   public ResultSet executeQueryAndGetResult(String sql) throws ServiceException, IOException {
+    return getResultSet(executeQuery(sql));
+  }
+
+  @Override
+  public PrepareStatementResponse prepareStatement(final String sql) throws ServiceException {
+
+    return new ServerCallable<PrepareStatementResponse>(connection.connPool, connection.getTajoMasterAddr(),
+        TajoMasterClientProtocol.class, false, true) {
+
+      public PrepareStatementResponse call(NettyClientBase client) throws ServiceException {
+
+        connection.checkSessionAndGet(client);
+
+        PrepareStatementRequest.Builder builder = PrepareStatementRequest.newBuilder();
+        builder.setSessionId(connection.sessionId);
+        builder.setQuery(sql);
+        TajoMasterClientProtocolService.BlockingInterface tajoMasterService = client.getStub();
+
+        return tajoMasterService.prepareStatement(null, builder.build());
+      }
+    }.withRetries();
+  }
 
-    ClientProtos.SubmitQueryResponse response = executeQuery(sql);
+  @Override
+  public ClientProtos.SubmitQueryResponse executePreparedStatement(final int statementId,
+                                                                  final List<PreparedParameter> parameters)
+      throws ServiceException {
+
+    return new ServerCallable<ClientProtos.SubmitQueryResponse>(connection.connPool, connection.getTajoMasterAddr(),
+        TajoMasterClientProtocol.class, false, true) {
+
+      public ClientProtos.SubmitQueryResponse call(NettyClientBase client) throws ServiceException {
+
+        connection.checkSessionAndGet(client);
+
+        ExecutePreparedStatementRequest.Builder builder = ExecutePreparedStatementRequest.newBuilder();
+        builder.setSessionId(connection.sessionId);
+        builder.setStatementId(statementId);
+        builder.addAllParameters(parameters);
+        TajoMasterClientProtocolService.BlockingInterface tajoMasterService = client.getStub();
+
+        return tajoMasterService.executePreparedStatement(null, builder.build());
+      }
+    }.withRetries();
+  }
+
+  @Override
+  public ResultSet executePreparedStatementAndGetResult(int statementId, List<PreparedParameter> parameters)
+      throws ServiceException, IOException {
+    return getResultSet(executePreparedStatement(statementId, parameters));
+  }
+
+  @Override
+  public boolean closePreparedStatement(final int statementId) throws ServiceException {
+
+    return new ServerCallable<Boolean>(connection.connPool, connection.getTajoMasterAddr(),
+        TajoMasterClientProtocol.class, false, true) {
+
+      public Boolean call(NettyClientBase client) throws ServiceException {
+
+        connection.checkSessionAndGet(client);
+
+        ClosePreparedStatementRequest.Builder builder = ClosePreparedStatementRequest.newBuilder();
+        builder.setSessionId(connection.sessionId);
+        builder.setStatementId(statementId);
+        TajoMasterClientProtocolService.BlockingInterface tajoMasterService = client.getStub();
+
+        return tajoMasterService.closePreparedStatement(null, builder.build()).getValue();
+      }
+    }.withRetries();
+  }
+
+  private ResultSet getResultSet(ClientProtos.SubmitQueryResponse response) throws ServiceException, IOException {
 
     if (response.getResultCode() == ClientProtos.ResultCode.ERROR) {
       throw new ServiceException(response.getErrorTrace());
@@ -265,6 +348,91 @@ public class QueryClientImpl implements QueryClient {
     }
   }
 
+  @Override
+  public Future<ResultSet> executeQueryAsync(final String sql) {
+    return ASYNC_QUERY_EXECUTOR.submit(new Callable<ResultSet>() {
+      @Override
+      public ResultSet call() throws Exception {
+        ClientProtos.SubmitQueryResponse response = executeQuery(sql);
+        if (response.getResultCode() == ClientProtos.ResultCode.ERROR) {
+          throw new ServiceException(response.getErrorTrace());
+        }
+
+        QueryId queryId = new QueryId(response.getQueryId());
+        if (response.getIsForwarded() && !queryId.equals(QueryIdFactory.NULL_QUERY_ID)) {
+          return getStreamingQueryResult(queryId);
+        } else {
+          return getResultSet(response);
+        }
+      }
+    });
+  }
+
+  @Override
+  public ResultSet getStreamingQueryResult(QueryId queryId) throws ServiceException, IOException {
+    if (queryId.equals(QueryIdFactory.NULL_QUERY_ID)) {
+      return createNullResultSet(queryId);
+    }
+
+    int interval = MIN_RESULT_WAIT_INTERVAL_MS;
+    while (true) {
+      // it also finds the query master of the query
+      QueryStatus status = getQueryStatus(queryId);
+
+      if (!TajoClientUtil.isQueryWaitingForSchedule(status.getState())) {
+        GetQueryResultFilesResponse response = getQueryResultFiles(queryId, 0);
+        if (response.getResultCode() == ClientProtos.ResultCode.ERROR) {
+          throw new ServiceException(response.getErrorMessage());
+        }
+
+        if (!response.getStreamable()) {
+          return getQueryResultAndWait(queryId);
+        } else if (response.hasTableDesc()) {
+          return new TajoStreamingResultSet(this, queryId, connection.getConf(), response);
+        } else if (response.getResultCompleted()) {
+          LOG.warn("Query (" + queryId + ") failed: " + response.getState());
+          return createNullResultSet(queryId);
+        }
+      }
+
+      try {
+        Thread.sleep(interval);
+      } catch (InterruptedException e) {
+        throw new ServiceException("Interrupted while waiting for the result of " + queryId, e);
+      }
+      interval = Math.min(interval * 2, MAX_RESULT_WAIT_INTERVAL_MS);
+    }
+  }
+
+  @Override
+  public GetQueryResultFilesResponse getQueryResultFiles(QueryId queryId, int offset) throws ServiceException {
+    InetSocketAddress queryMasterAddr = connection.queryMasterMap.get(queryId);
+    if (queryMasterAddr == null) {
+      getQueryStatus(queryId);
+      queryMasterAddr = connection.queryMasterMap.get(queryId);
+      if (queryMasterAddr == null) {
+        throw new ServiceException("No Connection to QueryMaster for " + queryId);
+      }
+    }
+
+    NettyClientBase client = null;
+    try {
+      client = connection.getConnection(queryMasterAddr, QueryMasterClientProtocol.class, false);
+      QueryMasterClientProtocolService.BlockingInterface queryMasterService = client.getStub();
+
+      GetQueryResultFilesRequest.Builder builder = GetQueryResultFilesRequest.newBuilder();
+      builder.setQueryId(queryId.getProto());
+      builder.setOffset(offset);
+      return queryMasterService.getQueryResultFiles(null, builder.build());
+    } catch (ServiceException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new ServiceException(e.getMessage(), e);
+    } finally {
+      connection.connPool.releaseConnection(client);
+    }
+  }
+
   private ResultSet getQueryResultAndWait(QueryId queryId) throws ServiceException, IOException {
 
     if (queryId.equals(QueryIdFactory.NULL_QUERY_ID)) {
@@ -376,7 +544,7 @@ public class QueryClientImpl implements QueryClient {
     TableDesc tableDesc = CatalogUtil.newTableDesc(response.getTableDesc());
     connection.getConf().setVar(ConfVars.USERNAME, response.getTajoUserName());
 
-    return new TajoResultSet(this, queryId, connection.getConf(), tableDesc);
+    return new TajoResultSet(this, queryId, connection.getConf(), tableDesc, response.getOrdered());
   }
 
   @Override
@@ -419,6 +587,12 @@ public class QueryClientImpl implements QueryClient {
   @Override
   public TajoMemoryResultSet fetchNextQueryResult(final QueryId queryId, final int fetchRowNum)
       throws ServiceException {
+    return fetchNextQueryResult(queryId, fetchRowNum, 0);
+  }
+
+  @Override
+  public TajoMemoryResultSet fetchNextQueryResult(final QueryId queryId, final int fetchRowNum,
+                                                  final int fetchBlockSize) throws ServiceException {
 
     try {
       ServerCallable<ClientProtos.SerializedResultSet> callable =
@@ -434,6 +608,9 @@ public class QueryClientImpl implements QueryClient {
               builder.setSessionId(connection.sessionId);
               builder.setQueryId(queryId.getProto());
               builder.setFetchRowNum(fetchRowNum);
+              if (fetchBlockSize > 0) {
+                builder.setFetchBlockSize(fetchBlockSize);
+              }
               try {
                 GetQueryResultDataResponse response = tajoMasterService.getQueryResultData(null, builder.build());
                 if (response.getResultCode() == ClientProtos.ResultCode.ERROR) {
@@ -452,8 +629,15 @@ public class QueryClientImpl implements QueryClient {
 
       ClientProtos.SerializedResultSet serializedResultSet = callable.withRetries();
 
+      Schema schema = new Schema(serializedResultSet.getSchema());
+      if (serializedResultSet.hasColumnarBlock()) {
+        Tuple [] tuples = ColumnarBlockUtil.createDecoder(schema)
+            .toTuples(serializedResultSet.getColumnarBlock().toByteArray());
+        return new TajoMemoryResultSet(schema, tuples);
+      }
+
       return new TajoMemoryResultSet(
-          new Schema(serializedResultSet.getSchema()),
+          schema,
           serializedResultSet.getSerializedTuplesList(),
           serializedResultSet.getSerializedTuplesCount());
     } catch (Exception e) {
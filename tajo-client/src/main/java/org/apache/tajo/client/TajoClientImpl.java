@@ -42,6 +42,7 @@ import java.net.InetSocketAddress;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.List;
+import java.util.concurrent.Future;
 
 @ThreadSafe
 public class TajoClientImpl extends SessionConnection implements TajoClient, QueryClient, CatalogAdminClient {
@@ -111,6 +112,37 @@ public class TajoClientImpl extends SessionConnection implements TajoClient, Que
     return queryClient.executeJsonQueryAndGetResult(json);
   }
 
+  public Future<ResultSet> executeQueryAsync(final String sql) {
+    return queryClient.executeQueryAsync(sql);
+  }
+
+  public ResultSet getStreamingQueryResult(QueryId queryId) throws ServiceException, IOException {
+    return queryClient.getStreamingQueryResult(queryId);
+  }
+
+  public GetQueryResultFilesResponse getQueryResultFiles(QueryId queryId, int offset) throws ServiceException {
+    return queryClient.getQueryResultFiles(queryId, offset);
+  }
+
+  public PrepareStatementResponse prepareStatement(final String sql) throws ServiceException {
+    return queryClient.prepareStatement(sql);
+  }
+
+  public SubmitQueryResponse executePreparedStatement(final int statementId, final List<PreparedParameter> parameters)
+      throws ServiceException {
+    return queryClient.executePreparedStatement(statementId, parameters);
+  }
+
+  public ResultSet executePreparedStatementAndGetResult(final int statementId,
+                                                        final List<PreparedParameter> parameters)
+      throws ServiceException, IOException {
+    return queryClient.executePreparedStatementAndGetResult(statementId, parameters);
+  }
+
+  public boolean closePreparedStatement(final int statementId) throws ServiceException {
+    return queryClient.closePreparedStatement(statementId);
+  }
+
   public QueryStatus getQueryStatus(QueryId queryId) throws ServiceException {
     return queryClient.getQueryStatus(queryId);
   }
@@ -131,6 +163,11 @@ public class TajoClientImpl extends SessionConnection implements TajoClient, Que
     return queryClient.fetchNextQueryResult(queryId, fetchRowNum);
   }
 
+  public TajoMemoryResultSet fetchNextQueryResult(final QueryId queryId, final int fetchRowNum,
+                                                  final int fetchBlockSize) throws ServiceException {
+    return queryClient.fetchNextQueryResult(queryId, fetchRowNum, fetchBlockSize);
+  }
+
   public boolean updateQuery(final String sql) throws ServiceException {
     return queryClient.updateQuery(sql);
   }
@@ -63,7 +63,7 @@ public class TajoClientUtil {
       throws IOException {
     TableDesc desc = CatalogUtil.newTableDesc(response.getTableDesc());
     conf.setVar(TajoConf.ConfVars.USERNAME, response.getTajoUserName());
-    return new TajoResultSet(client, queryId, conf, desc);
+    return new TajoResultSet(client, queryId, conf, desc, response.getOrdered());
   }
 
   public static ResultSet createResultSet(TajoConf conf, QueryClient client, ClientProtos.SubmitQueryResponse response)
@@ -72,15 +72,32 @@ public class TajoClientUtil {
       // non-forward query
       // select * from table1 [limit 10]
       int fetchRowNum = conf.getIntVar(TajoConf.ConfVars.$RESULT_SET_FETCH_ROWNUM);
+      boolean fetchRowNumSet = conf.get(TajoConf.ConfVars.$RESULT_SET_FETCH_ROWNUM.varname) != null;
+      boolean columnar = conf.getBoolVar(TajoConf.ConfVars.$RESULT_SET_FETCH_COLUMNAR);
+      int fetchBlockSize = conf.getIntVar(TajoConf.ConfVars.$RESULT_SET_FETCH_BLOCK_SIZE);
+      boolean prefetch = conf.getBoolVar(TajoConf.ConfVars.$RESULT_SET_FETCH_PREFETCH);
       if (response.hasSessionVariables()) {
         for (PrimitiveProtos.KeyValueProto eachKeyValue: response.getSessionVariables().getKeyvalList()) {
           if (eachKeyValue.getKey().equals(SessionVars.FETCH_ROWNUM.keyname())) {
             fetchRowNum = Integer.parseInt(eachKeyValue.getValue());
+            fetchRowNumSet = true;
+          } else if (eachKeyValue.getKey().equals(SessionVars.FETCH_COLUMNAR.keyname())) {
+            columnar = Boolean.parseBoolean(eachKeyValue.getValue());
+          } else if (eachKeyValue.getKey().equals(SessionVars.FETCH_BLOCK_SIZE.keyname())) {
+            fetchBlockSize = Integer.parseInt(eachKeyValue.getValue());
+          } else if (eachKeyValue.getKey().equals(SessionVars.FETCH_PREFETCH.keyname())) {
+            prefetch = Boolean.parseBoolean(eachKeyValue.getValue());
           }
         }
       }
       TableDesc tableDesc = new TableDesc(response.getTableDesc());
-      return new FetchResultSet(client, tableDesc.getLogicalSchema(), new QueryId(response.getQueryId()), fetchRowNum);
+      if (!columnar) {
+        return new FetchResultSet(client, tableDesc.getLogicalSchema(), new QueryId(response.getQueryId()),
+            fetchRowNum, 0, prefetch);
+      }
+      // columnar blocks are bounded by their size unless a row number is explicitly given.
+      return new FetchResultSet(client, tableDesc.getLogicalSchema(), new QueryId(response.getQueryId()),
+          fetchRowNumSet ? fetchRowNum : Integer.MAX_VALUE, fetchBlockSize, prefetch);
     } else {
       // simple eval query
       // select substr('abc', 1, 2)
@@ -18,6 +18,7 @@
 
 package org.apache.tajo.jdbc;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.apache.tajo.QueryId;
 import org.apache.tajo.catalog.Schema;
 import org.apache.tajo.client.QueryClient;
@@ -26,22 +27,70 @@ import org.apache.tajo.storage.Tuple;
 
 import java.io.IOException;
 import java.sql.SQLException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 public class FetchResultSet extends TajoResultSetBase {
+  private static final ExecutorService PREFETCH_EXECUTOR = Executors.newCachedThreadPool(
+      new ThreadFactoryBuilder().setDaemon(true).setNameFormat("ResultSet Prefetcher %d").build());
+
   private QueryClient tajoClient;
   private QueryId queryId;
   private int fetchRowNum;
+  private int fetchBlockSize;
+  private boolean prefetch;
   private TajoMemoryResultSet currentResultSet;
+  private Future<TajoMemoryResultSet> nextResultSet;
   private boolean finished = false;
 
   public FetchResultSet(QueryClient tajoClient, Schema schema, QueryId queryId, int fetchRowNum) {
+    this(tajoClient, schema, queryId, fetchRowNum, 0, false);
+  }
+
+  /**
+   * @param fetchBlockSize If positive, rows are fetched as columnar blocks of about this many bytes.
+   * @param prefetch If true, the next block is fetched in background while the current one is consumed.
+   */
+  public FetchResultSet(QueryClient tajoClient, Schema schema, QueryId queryId, int fetchRowNum,
+                        int fetchBlockSize, boolean prefetch) {
     this.tajoClient = tajoClient;
     this.queryId = queryId;
     this.fetchRowNum = fetchRowNum;
+    this.fetchBlockSize = fetchBlockSize;
+    this.prefetch = prefetch;
     this.totalRow = Integer.MAX_VALUE;
     this.schema = schema;
   }
 
+  private TajoMemoryResultSet fetch() throws Exception {
+    TajoMemoryResultSet resultSet;
+    if (nextResultSet != null) {
+      try {
+        resultSet = nextResultSet.get();
+      } catch (ExecutionException e) {
+        throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+      } finally {
+        nextResultSet = null;
+      }
+    } else {
+      resultSet = tajoClient.fetchNextQueryResult(queryId, fetchRowNum, fetchBlockSize);
+    }
+
+    // an empty result means the end of the result, so there is nothing to prefetch.
+    if (prefetch && resultSet != null && resultSet.hasResult()) {
+      nextResultSet = PREFETCH_EXECUTOR.submit(new Callable<TajoMemoryResultSet>() {
+        @Override
+        public TajoMemoryResultSet call() throws Exception {
+          return tajoClient.fetchNextQueryResult(queryId, fetchRowNum, fetchBlockSize);
+        }
+      });
+    }
+    return resultSet;
+  }
+
   @Override
   protected Tuple nextTuple() throws IOException {
     if (finished) {
@@ -59,7 +108,7 @@ public class FetchResultSet extends TajoResultSetBase {
           currentResultSet.close();
           currentResultSet = null;
         }
-        currentResultSet = tajoClient.fetchNextQueryResult(queryId, fetchRowNum);
+        currentResultSet = fetch();
         if (currentResultSet == null) {
           finished = true;
           return null;
@@ -83,6 +132,10 @@ public class FetchResultSet extends TajoResultSetBase {
 
   @Override
   public void close() throws SQLException {
+    if (nextResultSet != null) {
+      nextResultSet.cancel(false);
+      nextResultSet = null;
+    }
     if (currentResultSet != null) {
       currentResultSet.close();
       currentResultSet = null;
@@ -30,6 +30,7 @@ import java.util.concurrent.atomic.AtomicBoolean;
 
 public class TajoMemoryResultSet extends TajoResultSetBase {
   private List<ByteString> serializedTuples;
+  private Tuple [] tuples;
   private AtomicBoolean closed = new AtomicBoolean(false);
   private RowStoreUtil.RowStoreDecoder decoder;
 
@@ -41,6 +42,16 @@ public class TajoMemoryResultSet extends TajoResultSetBase {
     init();
   }
 
+  /**
+   * Creates a result set over tuples which are already decoded, for example, from a columnar block.
+   */
+  public TajoMemoryResultSet(Schema schema, Tuple [] tuples) {
+    this.schema = schema;
+    this.totalRow = tuples.length;
+    this.tuples = tuples;
+    init();
+  }
+
   @Override
   protected void init() {
     cur = null;
@@ -56,6 +67,7 @@ public class TajoMemoryResultSet extends TajoResultSetBase {
     cur = null;
     curRow = -1;
     serializedTuples = null;
+    tuples = null;
   }
 
   @Override
@@ -66,7 +78,11 @@ public class TajoMemoryResultSet extends TajoResultSetBase {
   @Override
   protected Tuple nextTuple() throws IOException {
     if (curRow < totalRow) {
-      cur = decoder.toTuple(serializedTuples.get(curRow).toByteArray());
+      if (tuples != null) {
+        cur = tuples[curRow];
+      } else {
+        cur = decoder.toTuple(serializedTuples.get(curRow).toByteArray());
+      }
       return cur;
     } else {
       return null;
@@ -74,6 +90,9 @@ public class TajoMemoryResultSet extends TajoResultSetBase {
   }
 
   public boolean hasResult() {
+    if (tuples != null) {
+      return tuples.length > 0;
+    }
     return serializedTuples.size() > 0;
   }
 }
@@ -32,11 +32,13 @@ import org.apache.tajo.client.TajoClient;
 import org.apache.tajo.conf.TajoConf;
 import org.apache.tajo.storage.FileScanner;
 import org.apache.tajo.storage.MergeScanner;
+import org.apache.tajo.storage.ParallelMergeScanner;
 import org.apache.tajo.storage.Scanner;
 import org.apache.tajo.storage.Tuple;
 import org.apache.tajo.storage.fragment.FileFragment;
 
 import java.io.IOException;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.Arrays;
 import java.util.Comparator;
@@ -53,6 +55,8 @@ public class TajoResultSet extends TajoResultSetBase {
   private TableDesc desc;
   private Long maxRowNum = null;
   private QueryId queryId;
+  private boolean ordered = true;
+  private List<FileFragment> fragments;
   private AtomicBoolean closed = new AtomicBoolean(false);
 
   public TajoResultSet(QueryClient tajoClient, QueryId queryId) {
@@ -70,6 +74,20 @@ public class TajoResultSet extends TajoResultSetBase {
     init();
   }
 
+  /**
+   * @param ordered if false, rows may be returned in any order, so result files can be read in parallel
+   */
+  public TajoResultSet(QueryClient tajoClient, QueryId queryId, TajoConf conf, TableDesc table, boolean ordered)
+      throws IOException {
+    this.tajoClient = tajoClient;
+    this.queryId = queryId;
+    this.conf = conf;
+    this.desc = table;
+    this.ordered = ordered;
+    initScanner();
+    init();
+  }
+
   public TajoResultSet(TajoClient tajoClient, QueryId queryId, TajoConf conf, TableDesc table, long maxRowNum)
       throws IOException {
     this(tajoClient, queryId, conf, table);
@@ -78,6 +96,17 @@ public class TajoResultSet extends TajoResultSetBase {
     init();
   }
 
+  /**
+   * It creates a result set reading only given fragments of a query result. It does not close the query.
+   */
+  private TajoResultSet(TajoConf conf, TableDesc table, List<FileFragment> fragments) throws IOException {
+    this.conf = conf;
+    this.desc = table;
+    this.fragments = fragments;
+    initScanner();
+    init();
+  }
+
   private void initScanner() throws IOException {
     if(desc != null) {
       schema = desc.getSchema();
@@ -92,8 +121,19 @@ public class TajoResultSet extends TajoResultSetBase {
         totalRow = INFINITE_ROW_NUM;
       }
 
-      List<FileFragment> frags = getFragments(desc.getPath());
-      scanner = new MergeScanner(conf, desc.getSchema(), desc.getMeta(), frags);
+      if (scanner != null) {
+        scanner.close();
+      }
+      if (fragments == null) {
+        fragments = getFragments(desc.getPath());
+      }
+      int parallelism = conf.getIntVar(TajoConf.ConfVars.CLIENT_RESULT_READ_PARALLELISM);
+      if (parallelism > 1 && fragments.size() > 1) {
+        scanner = new ParallelMergeScanner(conf, desc.getSchema(), desc.getMeta(), fragments, parallelism,
+            conf.getIntVar(TajoConf.ConfVars.CLIENT_RESULT_READ_AHEAD_ROWS), ordered);
+      } else {
+        scanner = new MergeScanner(conf, desc.getSchema(), desc.getMeta(), fragments);
+      }
     }
   }
 
@@ -198,6 +238,36 @@ public class TajoResultSet extends TajoResultSetBase {
     return tuple;
   }
 
+  /**
+   * Returns the fragments of the result files, which can be read concurrently by {@link #openSplit}.
+   * If the result is ordered, rows are ordered in the order of the returned fragments.
+   */
+  public List<FileFragment> getResultSplits() throws IOException {
+    if (desc == null) {
+      return ImmutableList.of();
+    }
+    if (fragments == null) {
+      fs = FileScanner.getFileSystem(conf, desc.getPath());
+      fragments = getFragments(desc.getPath());
+    }
+    return fragments;
+  }
+
+  /**
+   * Opens a result set reading only a given fragment of the result. Closing it does not close the query, so
+   * this result set must be closed after all splits are read.
+   */
+  public ResultSet openSplit(FileFragment fragment) throws IOException {
+    return new TajoResultSet(conf, desc, ImmutableList.of(fragment));
+  }
+
+  /**
+   * @return True if rows are ordered across result files.
+   */
+  public boolean isOrdered() {
+    return ordered;
+  }
+
   public boolean hasResult() {
     return scanner != null;
   }
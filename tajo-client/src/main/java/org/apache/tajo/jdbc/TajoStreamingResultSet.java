@@ -0,0 +1,206 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.jdbc;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.tajo.QueryId;
+import org.apache.tajo.catalog.TableDesc;
+import org.apache.tajo.client.QueryClient;
+import org.apache.tajo.conf.TajoConf;
+import org.apache.tajo.ipc.ClientProtos.GetQueryResultFilesResponse;
+import org.apache.tajo.ipc.ClientProtos.ResultCode;
+import org.apache.tajo.storage.FileScanner;
+import org.apache.tajo.storage.MergeScanner;
+import org.apache.tajo.storage.Scanner;
+import org.apache.tajo.storage.Tuple;
+import org.apache.tajo.storage.fragment.FileFragment;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * It reads the result of a running query. Each result file is read as soon as the task of the final execution block
+ * writing it finishes, so the first rows are available long before the query completes. If the query fails,
+ * {@link #next()} throws an exception.
+ */
+public class TajoStreamingResultSet extends TajoResultSetBase {
+  private static final Log LOG = LogFactory.getLog(TajoStreamingResultSet.class);
+  private static final int MIN_POLL_INTERVAL_MS = 50;
+  private static final int MAX_POLL_INTERVAL_MS = 1000;
+
+  private final QueryClient tajoClient;
+  private final QueryId queryId;
+  private final TajoConf conf;
+  private final TableDesc desc;
+
+  private final LinkedList<Path> pendingFiles = new LinkedList<Path>();
+  private int receivedFileNum = 0;
+  private boolean resultCompleted = false;
+  private String errorMessage;
+  private int pollInterval = MIN_POLL_INTERVAL_MS;
+  private Scanner scanner;
+  private AtomicBoolean closed = new AtomicBoolean(false);
+
+  /**
+   * @param response the first response of the query which must include the table description of result files
+   */
+  public TajoStreamingResultSet(QueryClient tajoClient, QueryId queryId, TajoConf conf,
+                                GetQueryResultFilesResponse response) {
+    this.tajoClient = tajoClient;
+    this.queryId = queryId;
+    this.conf = conf;
+    this.desc = new TableDesc(response.getTableDesc());
+    this.schema = desc.getSchema();
+    this.totalRow = Integer.MAX_VALUE;
+    addFiles(response);
+  }
+
+  private void addFiles(GetQueryResultFilesResponse response) {
+    for (String file : response.getFilesList()) {
+      pendingFiles.add(new Path(file));
+    }
+    receivedFileNum += response.getFilesCount();
+    resultCompleted = response.getResultCompleted();
+    if (response.hasErrorMessage()) {
+      errorMessage = response.getErrorMessage();
+    }
+  }
+
+  private void poll() throws IOException {
+    try {
+      Thread.sleep(pollInterval);
+    } catch (InterruptedException e) {
+      throw new IOException("Interrupted while waiting for the result of " + queryId, e);
+    }
+    pollInterval = Math.min(pollInterval * 2, MAX_POLL_INTERVAL_MS);
+
+    GetQueryResultFilesResponse response;
+    try {
+      response = tajoClient.getQueryResultFiles(queryId, receivedFileNum);
+    } catch (Exception e) {
+      throw new IOException(e.getMessage(), e);
+    }
+    if (response.getResultCode() == ResultCode.ERROR) {
+      throw new IOException(response.getErrorMessage());
+    }
+
+    if (response.getFilesCount() > 0) {
+      pollInterval = MIN_POLL_INTERVAL_MS;
+    }
+    addFiles(response);
+  }
+
+  /**
+   * It opens a result file and the files following it, which are written if the task output exceeds the maximum
+   * file size.
+   */
+  private Scanner openScanner(Path file) throws IOException {
+    FileSystem fs = FileScanner.getFileSystem(conf, file);
+    List<FileFragment> fragments = new ArrayList<FileFragment>();
+    Path eachFile = file;
+    for (int suffix = 1; fs.exists(eachFile); suffix++) {
+      FileStatus status = fs.getFileStatus(eachFile);
+      if (status.getLen() > 0) {
+        fragments.add(new FileFragment(desc.getName() + "_" + receivedFileNum + "_" + suffix, eachFile, 0l,
+            status.getLen()));
+      }
+      eachFile = new Path(file + "_" + suffix);
+    }
+
+    if (fragments.isEmpty()) {
+      return null;
+    }
+    return new MergeScanner(conf, desc.getSchema(), desc.getMeta(), fragments);
+  }
+
+  @Override
+  protected Tuple nextTuple() throws IOException {
+    while (!closed.get()) {
+      if (scanner != null) {
+        Tuple tuple = scanner.next();
+        if (tuple != null) {
+          return tuple;
+        }
+        scanner.close();
+        scanner = null;
+      }
+
+      if (!pendingFiles.isEmpty()) {
+        scanner = openScanner(pendingFiles.removeFirst());
+      } else if (resultCompleted) {
+        if (errorMessage != null) {
+          throw new IOException(errorMessage);
+        }
+        return null;
+      } else {
+        poll();
+      }
+    }
+    return null;
+  }
+
+  @Override
+  public synchronized void close() throws SQLException {
+    if (closed.getAndSet(true)) {
+      return;
+    }
+
+    try {
+      if (scanner != null) {
+        scanner.close();
+        scanner = null;
+      }
+    } catch (IOException e) {
+      LOG.warn(e.getMessage(), e);
+    }
+
+    try {
+      if (!resultCompleted) {
+        // nobody will read the rest of the result
+        tajoClient.killQuery(queryId);
+      }
+      tajoClient.closeQuery(queryId);
+    } catch (Exception e) {
+      LOG.warn(e.getMessage(), e);
+    }
+    cur = null;
+    curRow = -1;
+  }
+
+  @Override
+  public void beforeFirst() throws SQLException {
+    throw new SQLException("A streaming result set cannot be rewound");
+  }
+
+  public QueryId getQueryId() {
+    return queryId;
+  }
+
+  public TableDesc getTableDesc() {
+    return desc;
+  }
+}
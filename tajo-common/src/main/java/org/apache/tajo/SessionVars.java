@@ -103,6 +103,11 @@ public enum SessionVars implements ConfigKey {
       Integer.class, Validators.min("1")),
   TABLE_PARTITION_PER_SHUFFLE_SIZE(ConfVars.$DIST_QUERY_TABLE_PARTITION_VOLUME,
       "shuffle output size for partition table write (mb)", DEFAULT, Long.class, Validators.min("1")),
+  JOIN_RUNTIME_FILTER_ENABLED(ConfVars.$DIST_QUERY_JOIN_RUNTIME_FILTER_ENABLED,
+      "runtime join filters pushed from build side to probe side scans enabled", DEFAULT, Boolean.class,
+      Validators.bool()),
+  JOIN_RUNTIME_FILTER_BITS(ConfVars.$DIST_QUERY_JOIN_RUNTIME_FILTER_BITS,
+      "the maximum number of bits of a runtime join filter", DEFAULT, Integer.class, Validators.min("64")),
 
   GROUPBY_MULTI_LEVEL_ENABLED(ConfVars.$GROUPBY_MULTI_LEVEL_ENABLED, "Multiple level groupby enabled", DEFAULT,
       Boolean.class, Validators.bool()),
@@ -118,9 +123,13 @@ public enum SessionVars implements ConfigKey {
       DEFAULT, Long.class, Validators.min("0")),
   HASH_GROUPBY_SIZE_LIMIT(ConfVars.$EXECUTOR_GROUPBY_INMEMORY_HASH_THRESHOLD, "limited size for hash groupby (mb)",
       DEFAULT, Long.class, Validators.min("0")),
+  WINDOW_BUFFER_SIZE(ConfVars.$EXECUTOR_WINDOW_BUFFER_SIZE, "buffer size for window frames before spilling (mb)",
+      DEFAULT, Long.class, Validators.min("0")),
   MAX_OUTPUT_FILE_SIZE(ConfVars.$MAX_OUTPUT_FILE_SIZE, "Maximum per-output file size (mb). 0 means infinite.", DEFAULT,
       Long.class, Validators.min("0")),
   NULL_CHAR(ConfVars.$TEXT_NULL, "null char of text file output", DEFAULT),
+  RESULT_CACHE_ENABLED(ConfVars.$QUERY_RESULT_CACHE_ENABLED, "Query result cache enabled", DEFAULT,
+      Boolean.class, Validators.bool()),
   CODEGEN(ConfVars.$CODEGEN, "Runtime code generation enabled (experiment)", DEFAULT),
 
   COUNT_DISTINCT_ALGORITHM(ConfVars.$COUNT_DISTINCT_ALGORITHM, "count distinct algorithm", DEFAULT),
@@ -132,6 +141,12 @@ public enum SessionVars implements ConfigKey {
   // ResultSet ----------------------------------------------------------------
   FETCH_ROWNUM(ConfVars.$RESULT_SET_FETCH_ROWNUM, "Sets the number of rows at a time from Master", DEFAULT,
       Integer.class, Validators.min("0")),
+  FETCH_COLUMNAR(ConfVars.$RESULT_SET_FETCH_COLUMNAR, "Fetches results as compressed column-major blocks", DEFAULT,
+      Boolean.class, Validators.bool()),
+  FETCH_BLOCK_SIZE(ConfVars.$RESULT_SET_FETCH_BLOCK_SIZE, "Sets the maximum bytes of a result block at a time from Master",
+      DEFAULT, Integer.class, Validators.min("1024")),
+  FETCH_PREFETCH(ConfVars.$RESULT_SET_FETCH_PREFETCH, "Fetches the next result block while the current one is read",
+      DEFAULT, Boolean.class, Validators.bool()),
 
   //-------------------------------------------------------------------------------
   // Only for Unit Testing
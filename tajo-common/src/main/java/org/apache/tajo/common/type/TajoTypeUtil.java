@@ -83,6 +83,30 @@ public class TajoTypeUtil {
     }
   }
 
+  /**
+   * @return True if a value of a given type can be evaluated as a long without loss.
+   */
+  public static boolean isIntegral(Type type) {
+    switch (type) {
+      case INT1:
+      case INT2:
+      case INT4:
+      case INT8: return true;
+      default: return false;
+    }
+  }
+
+  /**
+   * @return True if a value of a given type can be evaluated as a double.
+   */
+  public static boolean isNumeric(Type type) {
+    switch (type) {
+      case FLOAT4:
+      case FLOAT8: return true;
+      default: return isIntegral(type);
+    }
+  }
+
   public static int getJavaSqlType(Type type) {
     switch (type) {
       case INT1: return Types.TINYINT;
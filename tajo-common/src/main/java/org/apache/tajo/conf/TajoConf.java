@@ -185,6 +185,16 @@ public class TajoConf extends Configuration {
     TAJO_QUERYMASTER_DISK_SLOT("tajo.qm.resource.disk.slots", 0.0f, Validators.min("0.0f")),
     TAJO_QUERYMASTER_MEMORY_MB("tajo.qm.resource.memory-mb", 512, Validators.min("64")),
 
+    // QueryMaster event dispatcher
+    QUERYMASTER_DISPATCHER_LANE_NUM("tajo.qm.dispatcher.lane-num", 4, Validators.min("1")),
+
+    // QueryMaster task scheduler; how long a leaf task request waits for a host-local task and then
+    // for a rack-local task before a less local task is assigned (zero disables the delay scheduling)
+    QUERYMASTER_TASK_SCHEDULER_NODE_LOCALITY_DELAY("tajo.qm.task-scheduler.node-locality-delay-ms", 0,
+        Validators.min("0")),
+    QUERYMASTER_TASK_SCHEDULER_RACK_LOCALITY_DELAY("tajo.qm.task-scheduler.rack-locality-delay-ms", 0,
+        Validators.min("0")),
+
     // Tajo Worker Service Addresses
     WORKER_INFO_ADDRESS("tajo.worker.info-http.address", "0.0.0.0:28080", Validators.networkAddr()),
     WORKER_QM_INFO_ADDRESS("tajo.worker.qm-info-http.address", "0.0.0.0:28081", Validators.networkAddr()),
@@ -213,6 +223,12 @@ public class TajoConf extends Configuration {
     WORKER_HISTORY_EXPIRE_PERIOD("tajo.worker.history.expire-interval-minutes", 12 * 60), // 12 hours
 
     WORKER_HEARTBEAT_TIMEOUT("tajo.worker.heartbeat.timeout", 120 * 1000),  // 120 sec
+    WORKER_HEARTBEAT_INTERVAL("tajo.worker.heartbeat.interval-ms", 10 * 1000),
+    // an idle worker gradually increases its heartbeat interval up to this value
+    WORKER_HEARTBEAT_MAX_INTERVAL("tajo.worker.heartbeat.max-interval-ms", 30 * 1000),
+
+    // the maximum number of compiled classes shared by all queries in a worker. 0 disables the sharing.
+    WORKER_CODEGEN_CACHE_SIZE("tajo.worker.codegen.cache.size", 4096, Validators.min("0")),
 
     // Resource Manager
     RESOURCE_MANAGER_CLASS("tajo.resource.manager", "org.apache.tajo.master.rm.TajoWorkerResourceManager",
@@ -220,6 +236,8 @@ public class TajoConf extends Configuration {
 
     // Catalog
     CATALOG_ADDRESS("tajo.catalog.client-rpc.address", "localhost:26005", Validators.networkAddr()),
+    CATALOG_CLIENT_CACHE_ENABLED("tajo.catalog.client.cache.enabled", true, Validators.bool()),
+    CATALOG_SERVER_CACHE_ENABLED("tajo.catalog.server.cache.enabled", true, Validators.bool()),
 
 
     // for Yarn Resource Manager ----------------------------------------------
@@ -232,6 +250,14 @@ public class TajoConf extends Configuration {
 
     // Query Configuration
     QUERY_SESSION_TIMEOUT("tajo.query.session.timeout-sec", 60, Validators.min("0")),
+    PREPARED_STATEMENT_PLAN_CACHE_SIZE("tajo.query.prepared-statement.plan-cache-size", 16, Validators.min("0")),
+    // the maximum number of logical plans of ad-hoc queries cached by TajoMaster. Zero disables the cache.
+    QUERY_PLAN_CACHE_SIZE("tajo.query.plan-cache.size", 256, Validators.min("0")),
+
+    // Query Result Cache
+    QUERY_RESULT_CACHE_MAX_SIZE("tajo.query.result-cache.max-size-mb", 1024, Validators.min("0")),
+    QUERY_RESULT_CACHE_MAX_ENTRY_SIZE("tajo.query.result-cache.max-entry-size-mb", 64, Validators.min("0")),
+    QUERY_RESULT_CACHE_MAX_ENTRY_NUM("tajo.query.result-cache.max-entry-num", 1000, Validators.min("0")),
 
     // Shuffle Configuration --------------------------------------------------
     PULLSERVER_PORT("tajo.pullserver.port", 0, Validators.range("0", "65535")),
@@ -256,6 +282,7 @@ public class TajoConf extends Configuration {
 
     // RPC --------------------------------------------------------------------
     RPC_POOL_MAX_IDLE("tajo.rpc.pool.idle.max", 10),
+    RPC_CLIENT_WRITE_COALESCING("tajo.rpc.client.write-coalescing.enabled", true, Validators.bool()),
 
     //  Internal RPC Client
     INTERNAL_RPC_CLIENT_WORKER_THREAD_NUM("tajo.internal.rpc.client.worker-thread-num",
@@ -275,6 +302,11 @@ public class TajoConf extends Configuration {
 
     // Client RPC
     RPC_CLIENT_WORKER_THREAD_NUM("tajo.rpc.client.worker-thread-num", 4),
+    // If true, clients read the result files of finished tasks while a query is still running.
+    CLIENT_RESULT_STREAMING_ENABLED("tajo.client.result.streaming.enabled", false, Validators.bool()),
+    // The number of result files read concurrently by a client. One disables parallel reads.
+    CLIENT_RESULT_READ_PARALLELISM("tajo.client.result.read.parallelism", 1, Validators.min("1")),
+    CLIENT_RESULT_READ_AHEAD_ROWS("tajo.client.result.read-ahead.rows", 16384, Validators.min("1")),
 
     SHUFFLE_RPC_CLIENT_WORKER_THREAD_NUM("tajo.shuffle.rpc.client.worker-thread-num",
         Runtime.getRuntime().availableProcessors()),
@@ -285,6 +317,7 @@ public class TajoConf extends Configuration {
     WORKER_SERVICE_RPC_SERVER_WORKER_THREAD_NUM("tajo.worker.service.rpc.server.worker-thread-num",
         Runtime.getRuntime().availableProcessors() * 1),
 
+    TASK_HEARTBEAT_MIN_INTERVAL("tajo.task.heartbeat.min-interval-ms", 1000),
     TASK_HEARTBEAT_INTERVAL("tajo.task.heartbeat.interval-ms", 3000),
 
     // Task Configuration -----------------------------------------------------
@@ -336,6 +369,10 @@ public class TajoConf extends Configuration {
     $DIST_QUERY_JOIN_PARTITION_VOLUME("tajo.dist-query.join.partition-volume-mb", 128, Validators.min("1")),
     $DIST_QUERY_GROUPBY_PARTITION_VOLUME("tajo.dist-query.groupby.partition-volume-mb", 256, Validators.min("1")),
     $DIST_QUERY_TABLE_PARTITION_VOLUME("tajo.dist-query.table-partition.task-volume-mb", 256, Validators.min("1")),
+    // a runtime join filter is sized for the estimated rows of its build side, up to the following number of bits
+    $DIST_QUERY_JOIN_RUNTIME_FILTER_ENABLED("tajo.dist-query.join.runtime-filter.enabled", true),
+    $DIST_QUERY_JOIN_RUNTIME_FILTER_BITS("tajo.dist-query.join.runtime-filter.bloom-bits", 1024 * 1024,
+        Validators.min("64")),
 
     $GROUPBY_MULTI_LEVEL_ENABLED("tajo.dist-query.groupby.multi-level-aggr", true),
 
@@ -349,7 +386,10 @@ public class TajoConf extends Configuration {
         (long)256 * 1048576),
     $EXECUTOR_GROUPBY_INMEMORY_HASH_THRESHOLD("tajo.executor.groupby.in-memory-hash-threshold-bytes",
         (long)256 * 1048576),
+    $EXECUTOR_WINDOW_BUFFER_SIZE("tajo.executor.window.buffer-mb", 64L),
     $MAX_OUTPUT_FILE_SIZE("tajo.query.max-outfile-size-mb", 0), // zero means infinite
+    // If enabled, results of repeated read-only queries are served from the query result cache of TajoMaster
+    $QUERY_RESULT_CACHE_ENABLED("tajo.query.result-cache.enabled", false, Validators.bool()),
     $CODEGEN("tajo.executor.codegen.enabled", false), // Runtime code generation
 
     // Client -----------------------------------------------------------------
@@ -383,11 +423,25 @@ public class TajoConf extends Configuration {
 
     // ResultSet ---------------------------------------------------------
     $RESULT_SET_FETCH_ROWNUM("tajo.resultset.fetch.rownum", 200),
+    // If enabled, each fetch transfers a compressed column-major block bounded by its size instead of row-encoded tuples
+    $RESULT_SET_FETCH_COLUMNAR("tajo.resultset.fetch.columnar", true, Validators.bool()),
+    $RESULT_SET_FETCH_BLOCK_SIZE("tajo.resultset.fetch.block-size-bytes", 4 * 1024 * 1024, Validators.min("1024")),
+    $RESULT_SET_FETCH_PREFETCH("tajo.resultset.fetch.prefetch", true, Validators.bool()),
     
     $COUNT_DISTINCT_ALGORITHM("tajo.groupby.distinct.algorithm", "multi"),
     
     //JOB_SCHEDULER
     JOB_SCHEDULER_CLASS("tajo.job.scheduler.class", "org.apache.tajo.scheduler.FairScheduler"),
+    // If enabled, a query waits in its queue until the cluster has enough memory for its estimated memory budget.
+    // It is disabled by default, because it can hold queries which existing deployments run immediately.
+    JOB_SCHEDULER_ADMISSION_CONTROL_ENABLED("tajo.job.scheduler.admission-control.enabled", false, Validators.bool()),
+    // The ratio of the total memory of workers which admitted queries can use
+    JOB_SCHEDULER_ADMISSION_MEMORY_RATIO("tajo.job.scheduler.admission-control.memory-ratio", 1.0f,
+        Validators.min("0.0f")),
+    // If enabled, the tasks of queries over their fair shares are killed for starved queries.
+    JOB_SCHEDULER_PREEMPTION_ENABLED("tajo.job.scheduler.preemption.enabled", false, Validators.bool()),
+    // How long a query waits below its fair share before the tasks of other queries are preempted
+    JOB_SCHEDULER_PREEMPTION_TIMEOUT("tajo.job.scheduler.preemption.timeout-ms", 15000, Validators.min("0")),
     JOB_QUEUE_NAMES("tajo.job.queue.names", "default")
     ;
 
@@ -274,6 +274,10 @@ public class DatumFactory {
     return new DateDatum(DateTimeUtil.toJulianDate(dateStr));
   }
 
+  public static DateDatum createDate(byte[] bytes, int offset, int length) {
+    return new DateDatum(DateTimeUtil.toJulianDate(bytes, offset, length));
+  }
+
   public static TimeDatum createTime(long instance) {
     return new TimeDatum(instance);
   }
@@ -294,6 +298,10 @@ public class DatumFactory {
     return new TimestampDatum(DateTimeUtil.toJulianTimestamp(datetimeStr));
   }
 
+  public static TimestampDatum createTimestamp(byte[] bytes, int offset, int length) {
+    return new TimestampDatum(DateTimeUtil.toJulianTimestamp(bytes, offset, length));
+  }
+
   public static IntervalDatum createInterval(String intervalStr) {
     return new IntervalDatum(intervalStr);
   }
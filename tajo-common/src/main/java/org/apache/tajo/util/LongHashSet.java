@@ -0,0 +1,122 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.util;
+
+import java.util.Arrays;
+
+/**
+ * A set of primitive long values based on open addressing with linear probing. It avoids boxing and the per-entry
+ * objects of {@link java.util.HashSet}, so a lookup does not allocate any object.
+ */
+public class LongHashSet {
+  private static final float LOAD_FACTOR = 0.5f;
+  /** it indicates an empty slot, and the value itself is kept in {@link #containsEmptyValue} */
+  private static final long EMPTY = 0;
+
+  private long [] slots;
+  private int mask;
+  private int size;
+  private boolean containsEmptyValue;
+
+  public LongHashSet() {
+    this(16);
+  }
+
+  public LongHashSet(int expectedSize) {
+    int capacity = Integer.highestOneBit(Math.max(2, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+    slots = new long[capacity];
+    mask = capacity - 1;
+  }
+
+  /**
+   * @return True if a given value is added, or false if it already exists.
+   */
+  public boolean add(long value) {
+    if (value == EMPTY) {
+      if (containsEmptyValue) {
+        return false;
+      }
+      containsEmptyValue = true;
+      size++;
+      return true;
+    }
+
+    int idx = indexOf(value);
+    if (slots[idx] == value) {
+      return false;
+    }
+    slots[idx] = value;
+    size++;
+    if (size > slots.length * LOAD_FACTOR) {
+      rehash(slots.length << 1);
+    }
+    return true;
+  }
+
+  public boolean contains(long value) {
+    if (value == EMPTY) {
+      return containsEmptyValue;
+    }
+    return slots[indexOf(value)] == value;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  public void clear() {
+    Arrays.fill(slots, EMPTY);
+    containsEmptyValue = false;
+    size = 0;
+  }
+
+  /**
+   * @return the index of the slot containing a given value, or the empty slot where it should be put
+   */
+  private int indexOf(long value) {
+    int idx = hash(value) & mask;
+    while (slots[idx] != EMPTY && slots[idx] != value) {
+      idx = (idx + 1) & mask;
+    }
+    return idx;
+  }
+
+  private void rehash(int capacity) {
+    long [] oldSlots = slots;
+    slots = new long[capacity];
+    mask = capacity - 1;
+    for (long value : oldSlots) {
+      if (value != EMPTY) {
+        slots[indexOf(value)] = value;
+      }
+    }
+  }
+
+  /**
+   * It mixes all bits of a value because sequential values are common, such as identifiers.
+   */
+  private static int hash(long value) {
+    long h = value * 0x9E3779B97F4A7C15L;
+    return (int) (h ^ (h >>> 32));
+  }
+}
@@ -0,0 +1,319 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.util.datetime;
+
+import org.apache.tajo.datum.TextDatum;
+import org.apache.tajo.util.datetime.DateTimeFormat.FormatNode;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A date/time format pattern which is parsed once, and then used to format and parse values repeatedly.
+ * Instances are immutable, so they are shared by all threads through {@link #compile(String)}.
+ *
+ * If a pattern consists of only YYYY, MM, DD, HH24, MI, SS, MS, US and literal characters, text in bytes is parsed
+ * without decoding it into a string. The result is the same as that of {@link DateTimeFormat#parseDateTime}, and any
+ * text which cannot be parsed in this way, such as text including non-ASCII characters or malformed fields, falls
+ * back to the general parser.
+ */
+public class CompiledDateTimeFormat {
+  /** the cache is cleared if it exceeds this size, because patterns may be built from data */
+  private static final int MAX_CACHED_FORMAT_NUM = 1024;
+  private static final ConcurrentMap<String, CompiledDateTimeFormat> cache =
+      new ConcurrentHashMap<String, CompiledDateTimeFormat>();
+
+  private static final int LITERAL = 0;
+  private static final int YEAR = 1;
+  private static final int MONTH = 2;
+  private static final int DAY = 3;
+  private static final int HOUR = 4;
+  private static final int MINUTE = 5;
+  private static final int SECOND = 6;
+  private static final int MILLISECOND = 7;
+  private static final int MICROSECOND = 8;
+
+  private final String formatText;
+  private final FormatNode[] formatNodes;
+
+  // the program of the byte parser, which is null if the pattern has other fields
+  private final int[] fieldTypes;
+  private final int[] fieldWidths;
+  /** if true, a field is followed by a separator, and it may have fewer or more digits than its width */
+  private final boolean[] variableWidths;
+  private final byte[] literals;
+
+  private CompiledDateTimeFormat(String formatText) {
+    this.formatText = formatText;
+    this.formatNodes = DateTimeFormat.parseFormat(formatText);
+
+    int nodeNum = 0;
+    while (formatNodes[nodeNum].type != DateTimeFormat.NODE_TYPE_END) {
+      nodeNum++;
+    }
+
+    int[] types = new int[nodeNum];
+    int[] widths = new int[nodeNum];
+    boolean[] variables = new boolean[nodeNum];
+    byte[] chars = new byte[nodeNum];
+    boolean[] used = new boolean[MICROSECOND + 1];
+    boolean supported = true;
+
+    for (int i = 0; i < nodeNum && supported; i++) {
+      FormatNode node = formatNodes[i];
+      if (node.type != DateTimeFormat.NODE_TYPE_ACTION) {
+        types[i] = LITERAL;
+        chars[i] = (byte) node.character;
+        supported = node.character < 0x80;
+        continue;
+      }
+
+      types[i] = getFieldType(node);
+      widths[i] = getFieldWidth(types[i]);
+      variables[i] = DateTimeFormat.is_next_separator(formatNodes, i);
+      // a field given twice must be checked if the values are the same
+      supported = types[i] != LITERAL && node.suffix == 0 && !used[types[i]];
+      used[types[i]] = true;
+    }
+
+    if (supported) {
+      fieldTypes = types;
+      fieldWidths = widths;
+      variableWidths = variables;
+      literals = chars;
+    } else {
+      fieldTypes = null;
+      fieldWidths = null;
+      variableWidths = null;
+      literals = null;
+    }
+  }
+
+  /**
+   * Returns the compiled format of a given pattern. Compiled formats are cached.
+   */
+  public static CompiledDateTimeFormat compile(String formatText) {
+    CompiledDateTimeFormat compiled = cache.get(formatText);
+    if (compiled == null) {
+      compiled = new CompiledDateTimeFormat(formatText);
+      if (cache.size() >= MAX_CACHED_FORMAT_NUM) {
+        cache.clear();
+      }
+      cache.putIfAbsent(formatText, compiled);
+    }
+    return compiled;
+  }
+
+  private static int getFieldType(FormatNode node) {
+    switch (node.key.idType) {
+      case DCH_YYYY:
+        return YEAR;
+      case DCH_MM:
+        return MONTH;
+      case DCH_DD:
+        return DAY;
+      case DCH_HH24:
+        return HOUR;
+      case DCH_MI:
+        return MINUTE;
+      case DCH_SS:
+        return SECOND;
+      case DCH_MS:
+        return MILLISECOND;
+      case DCH_US:
+        return MICROSECOND;
+      default:
+        return LITERAL;
+    }
+  }
+
+  private static int getFieldWidth(int fieldType) {
+    switch (fieldType) {
+      case YEAR:
+        return 4;
+      case MILLISECOND:
+        return 3;
+      case MICROSECOND:
+        return 6;
+      default:
+        return 2;
+    }
+  }
+
+  public String getFormatText() {
+    return formatText;
+  }
+
+  /**
+   * @return True if text in bytes is parsed without decoding it into a string.
+   */
+  public boolean isBytesParsable() {
+    return fieldTypes != null;
+  }
+
+  public String format(TimeMeta tm) {
+    StringBuilder out = new StringBuilder(formatText.length() + 8);
+    format(tm, out);
+    return out.toString();
+  }
+
+  public void format(TimeMeta tm, StringBuilder out) {
+    if (formatText.length() == 0) {
+      throw new IllegalArgumentException("No format text.");
+    }
+    DateTimeFormat.DCH_to_char(formatNodes, false, tm, out);
+  }
+
+  public TimeMeta parse(String text) {
+    return DateTimeFormat.parseDateTime(text, formatNodes);
+  }
+
+  /**
+   * Parses UTF-8 encoded text like {@link #parse(String)}.
+   */
+  public TimeMeta parse(byte[] bytes, int offset, int length) {
+    if (fieldTypes != null) {
+      TimeMeta tm = new TimeMeta();
+      if (parseFields(bytes, offset, length, tm, false) >= 0) {
+        // the same as DateTimeFormat.parseDateTime()
+        if (tm.dayOfMonth == 0) {
+          tm.dayOfMonth = 1;
+        }
+        return tm;
+      }
+    }
+    return parse(new String(bytes, offset, length, TextDatum.DEFAULT_CHARSET));
+  }
+
+  /**
+   * Parses the leading part of text in bytes which exactly matches this format. Unlike {@link #parse(byte[], int,
+   * int)}, every field except MS and US must have as many digits as its width, and literal characters must match.
+   * It stops at the end of the text or at the first literal character which does not match, and the fields not
+   * parsed are left zero. It does not check the ranges of values.
+   *
+   * @return The number of bytes parsed, or -1 if a field is malformed or this format cannot parse bytes.
+   */
+  public int parseStrictly(byte[] bytes, int offset, int length, TimeMeta tm) {
+    if (fieldTypes == null) {
+      return -1;
+    }
+    return parseFields(bytes, offset, length, tm, true);
+  }
+
+  /**
+   * In the non-strict mode, it follows DateTimeFormat.DCH_from_char(), and returns -1 for any text which it would
+   * treat in a different way or reject.
+   */
+  private int parseFields(byte[] bytes, int offset, int length, TimeMeta tm, boolean strict) {
+    int year = 0;
+    int month = 0;
+    int day = 0;
+    int hour = 0;
+    int minute = 0;
+    int second = 0;
+    int fraction = 0;
+
+    int end = offset + length;
+    int pos = offset;
+    for (int i = 0; i < fieldTypes.length && pos < end; i++) {
+      if (bytes[pos] < 0) {
+        // non-ASCII characters
+        return -1;
+      }
+
+      if (fieldTypes[i] == LITERAL) {
+        if (strict) {
+          if (bytes[pos] != literals[i]) {
+            break;
+          }
+          pos++;
+        } else {
+          // DCH_from_char() skips a character without checking it, and then skips spaces following a space.
+          pos++;
+          if (literals[i] == ' ') {
+            while (pos < end && bytes[pos] == ' ') {
+              pos++;
+            }
+          }
+        }
+        continue;
+      }
+
+      int width = fieldWidths[i];
+      boolean isFraction = fieldTypes[i] == MILLISECOND || fieldTypes[i] == MICROSECOND;
+      int limit = !strict && variableWidths[i] ? end : Math.min(pos + width, end);
+      int value = 0;
+      int digitsEnd = pos;
+      while (digitsEnd < limit && bytes[digitsEnd] >= '0' && bytes[digitsEnd] <= '9') {
+        value = value * 10 + (bytes[digitsEnd] - '0');
+        digitsEnd++;
+      }
+      int digits = digitsEnd - pos;
+
+      if (digits == 0 || digits > 9 || (digitsEnd < end && bytes[digitsEnd] < 0)) {
+        return -1;
+      }
+      if (strict) {
+        if (isFraction ? digitsEnd < end && bytes[digitsEnd] >= '0' && bytes[digitsEnd] <= '9' : digits < width) {
+          return -1;
+        }
+      } else if (!variableWidths[i] && (end - pos < width || digits < width)) {
+        return -1;
+      }
+      pos = digitsEnd;
+
+      switch (fieldTypes[i]) {
+        case YEAR:
+          year = value;
+          break;
+        case MONTH:
+          month = value;
+          break;
+        case DAY:
+          day = value;
+          break;
+        case HOUR:
+          hour = value;
+          break;
+        case MINUTE:
+          minute = value;
+          break;
+        case SECOND:
+          second = value;
+          break;
+        case MILLISECOND:
+          // 25 is 0.25 and 250 is 0.25 too; 025 is 0.025 and not 0.25
+          fraction += value * (digits == 1 ? 100 : digits == 2 ? 10 : 1) * 1000;
+          break;
+        case MICROSECOND:
+          fraction += value * (digits < 6 ? DateTimeFormat.POWERS_OF_TEN[6 - digits] : 1);
+          break;
+      }
+    }
+
+    tm.years = year;
+    tm.monthOfYear = month;
+    tm.dayOfMonth = day;
+    tm.hours = hour;
+    tm.minutes = minute;
+    tm.secs = second;
+    tm.fsecs = fraction;
+    return pos - offset;
+  }
+}
@@ -23,7 +23,6 @@ import org.apache.tajo.datum.TimestampDatum;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * This class originated from src/backend/utils/adt/formatting.c of PostgreSQL
@@ -548,7 +547,22 @@ public class DateTimeFormat {
     int yysz;			/* is it YY or YYYY ? */
     int clock;		/* 12 or 24 hour clock? */
   }
-  static Map<String, FormatNode[]> formatNodeCache = new HashMap<String, FormatNode[]>();
+
+  /**
+   * An int holder used to return values from the parsing functions. It replaces AtomicInteger, which is needlessly
+   * expensive because it is never shared between threads.
+   */
+  static class MutableInt {
+    int value;
+
+    int get() {
+      return value;
+    }
+
+    void set(int value) {
+      this.value = value;
+    }
+  }
 
  /**
   * ----------
@@ -592,10 +606,14 @@ public class DateTimeFormat {
   }
 
   public static TimeMeta parseDateTime(String dateText, String formatText) {
+    return CompiledDateTimeFormat.compile(formatText).parse(dateText);
+  }
+
+  static TimeMeta parseDateTime(String dateText, FormatNode[] formatNodes) {
     TimeMeta tm = new TimeMeta();
 
     //TODO consider TimeZone
-    doToTimestamp(dateText, formatText, tm);
+    doToTimestamp(dateText, formatNodes, tm);
 
     // when we parse some date without day like '2014-04', we should set day to 1.
     if (tm.dayOfMonth == 0) {
@@ -635,33 +653,12 @@ public class DateTimeFormat {
    * This function does very little error checking, e.g.
    * to_timestamp('20096040','YYYYMMDD') works
    * @param dateText
-   * @param formatText
+   * @param formatNodes
    * @param tm
    */
-  static void doToTimestamp(String dateText, String formatText, TimeMeta tm) {
+  static void doToTimestamp(String dateText, FormatNode[] formatNodes, TimeMeta tm) {
     TmFromChar tmfc = new TmFromChar();
-    int formatLength = formatText.length();
-
-    if (formatLength > 0) {
-      FormatNode[] formatNodes;
-      synchronized(formatNodeCache) {
-        formatNodes = formatNodeCache.get(formatText);
-      }
-
-      if (formatNodes == null) {
-        formatNodes = new FormatNode[formatLength + 1];
-        for (int i = 0; i < formatNodes.length; i++) {
-          formatNodes[i] = new FormatNode();
-        }
-        parseFormat(formatNodes, formatText, FORMAT_TYPE.DCH_TYPE);
-        formatNodes[formatLength].type = NODE_TYPE_END;	/* Paranoia? */
-
-        synchronized(formatNodeCache) {
-          formatNodeCache.put(formatText, formatNodes);
-        }
-      }
-      DCH_from_char(formatNodes, dateText, tmfc);
-    }
+    DCH_from_char(formatNodes, dateText, tmfc);
 
     /*
      * Convert values that user define for FROM_CHAR (to_date/to_timestamp) to
@@ -820,6 +817,24 @@ public class DateTimeFormat {
     }
   }
 
+  /**
+   * Parses a format text into format nodes terminated by a NODE_TYPE_END node.
+   * @param formatText
+   * @return
+   */
+  static FormatNode[] parseFormat(String formatText) {
+    int formatLength = formatText.length();
+    FormatNode[] formatNodes = new FormatNode[formatLength + 1];
+    for (int i = 0; i < formatNodes.length; i++) {
+      formatNodes[i] = new FormatNode();
+    }
+    if (formatLength > 0) {
+      parseFormat(formatNodes, formatText, FORMAT_TYPE.DCH_TYPE);
+    }
+    formatNodes[formatLength].type = NODE_TYPE_END;	/* Paranoia? */
+    return formatNodes;
+  }
+
   /**
    * Format parser, search small keywords and keyword's suffixes, and make
    * format-node tree.
@@ -935,22 +950,22 @@ public class DateTimeFormat {
    */
   static void DCH_from_char(FormatNode[] nodes, String dateText, TmFromChar out) {
     int	len;
-    AtomicInteger value = new AtomicInteger();
+    MutableInt value = new MutableInt();
     boolean	fx_mode = false;
 
-    char[] chars = dateText.toCharArray();
+    int textLength = dateText.length();
     int charIdx = 0;
     int nodeIdx = 0;
     for (; nodeIdx < nodes.length; nodeIdx++) {
       FormatNode node = nodes[nodeIdx];
-      if (node.type == NODE_TYPE_END || charIdx >= chars.length) {
+      if (node.type == NODE_TYPE_END || charIdx >= textLength) {
         break;
       }
       if (node.type != NODE_TYPE_ACTION) {
         charIdx++;
 			  /* Ignore spaces when not in FX (fixed width) mode */
         if (Character.isSpaceChar(node.character) && !fx_mode) {
-          while (charIdx < chars.length && Character.isSpaceChar(chars[charIdx])) {
+          while (charIdx < textLength && Character.isSpaceChar(dateText.charAt(charIdx))) {
             charIdx++;
           }
         }
@@ -1351,9 +1366,9 @@ public class DateTimeFormat {
    * @param node
    * @return
    */
-  static int from_char_seq_search(AtomicInteger dest, String src, int charIdx, String[] array, int type, int max,
+  static int from_char_seq_search(MutableInt dest, String src, int charIdx, String[] array, int type, int max,
                        FormatNode node) {
-    AtomicInteger len = new AtomicInteger(0);
+    MutableInt len = new MutableInt();
 
     dest.set(seq_search(src, charIdx, array, type, max, len));
     if (len.get() <= 0) {
@@ -1379,13 +1394,12 @@ public class DateTimeFormat {
    * @param len
    * @return
    */
-  static int seq_search(String name, int charIdx, String[] array, int type, int max, AtomicInteger len) {
+  static int seq_search(String name, int charIdx, String[] array, int type, int max, MutableInt len) {
     if (name == null || name.length() <= charIdx) {
       return -1;
     }
 
-    char[] nameChars = name.toCharArray();
-    char nameChar = nameChars[charIdx];
+    char nameChar = name.charAt(charIdx);
 
 	  /* set first char */
     if (type == ONE_UPPER || type == ALL_UPPER) {
@@ -1417,13 +1431,13 @@ public class DateTimeFormat {
           return arrayIndex;
         }
         // Not found in array 'a'
-        if (nameCharIdx == nameChars.length - 1) {
+        if (nameCharIdx == name.length() - 1) {
           break;
         }
         /*
          * Convert (but convert new chars only)
          */
-        nameChar = nameChars[nameCharIdx];
+        nameChar = name.charAt(nameCharIdx);
         if (idx > last) {
           if (type == ONE_UPPER || type == ALL_LOWER) {
             nameChar = Character.toLowerCase(nameChar);
@@ -1448,7 +1462,7 @@ public class DateTimeFormat {
    * In fixed-width mode (the node does not have the FM suffix), consume at most
    * 'len' characters.  However, any leading whitespace isn't counted in 'len'.
    *
-   * We use strtol() to recover the integer value from the source string, in
+   * We parse the digits in place rather than copying them into a new string, in
    * accordance with the given FormatNode.
    *
    * If the conversion completes successfully, src will have been advanced to
@@ -1468,29 +1482,23 @@ public class DateTimeFormat {
    * @param nodeIndex
    * @return
    */
-  static int from_char_parse_int_len(AtomicInteger dest, String src, int charIdx, int len, FormatNode[] nodes, int nodeIndex) {
-    long result;
+  static int from_char_parse_int_len(MutableInt dest, String src, int charIdx, int len, FormatNode[] nodes,
+                                     int nodeIndex) {
     int	 initCharIdx = charIdx;
-    StringBuilder tempSb = new StringBuilder();
 
     /*
      * Skip any whitespace before parsing the integer.
      */
     charIdx = strspace_len(src, charIdx);
-
-    int used = src.length() <= charIdx + len ? src.length() - (charIdx + len) : len;
-    if (used <= 0) {
-      used = src.length() - charIdx;
-    }
-    String copy = src.substring(charIdx, charIdx + used);
+    int used = Math.min(len, src.length() - charIdx);
+    int digitsEnd;
 
     if (S_FM(nodes[nodeIndex].suffix) != 0 || is_next_separator(nodes, nodeIndex)) {
 		/*
 		 * This node is in Fill Mode, or the next node is known to be a
 		 * non-digit value, so we just slurp as many characters as we can get.
 		 */
-      result = DateTimeUtil.strtol(src, charIdx, tempSb);
-      charIdx = src.length() - tempSb.length();
+      digitsEnd = strdigits_end(src, charIdx, src.length());
     } else {
 
       /*
@@ -1500,30 +1508,48 @@ public class DateTimeFormat {
       if (used < len) {
         throw new IllegalArgumentException("source string too short for \"" + nodes[nodeIndex].key.name + "\" + formatting field");
       }
-      result = DateTimeUtil.strtol(copy, 0, tempSb);
-      used = copy.length() - tempSb.length();
+      digitsEnd = strdigits_end(src, charIdx, charIdx + used);
+      int digits = digitsEnd - charIdx;
 
-      if (used > 0 && used < len) {
-        throw new IllegalArgumentException("invalid value \"" + copy + "\" for \"" + nodes[nodeIndex].key.name + "\"." +
-            "Field requires " + len + " characters, but only " + used);
+      if (digits > 0 && digits < len) {
+        throw new IllegalArgumentException("invalid value \"" + src.substring(charIdx, charIdx + used) + "\" for \"" +
+            nodes[nodeIndex].key.name + "\"." + "Field requires " + len + " characters, but only " + digits);
       }
-      charIdx += used;
     }
 
-    if (charIdx == initCharIdx) {
-      throw new IllegalArgumentException("invalid value \"" + copy + "\" for \"" + nodes[nodeIndex].key.name + "\"." +
-          "Value must be an integer.");
+    if (digitsEnd == initCharIdx) {
+      throw new IllegalArgumentException("invalid value \"" + src.substring(charIdx, charIdx + used) + "\" for \"" +
+          nodes[nodeIndex].key.name + "\"." + "Value must be an integer.");
     }
-    if (result < Integer.MIN_VALUE || result > Integer.MAX_VALUE) {
-      throw new IllegalArgumentException("value for \"" + nodes[nodeIndex].key.name + "\"" +
-          " in source string is out of range." +
-          "Value must be in the range " + Integer.MIN_VALUE + " to " + Integer.MAX_VALUE + ".");
+
+    long result = 0;
+    for (int i = charIdx; i < digitsEnd; i++) {
+      result = result * 10 + Character.digit(src.charAt(i), 10);
+      if (result > Integer.MAX_VALUE) {
+        throw new IllegalArgumentException("value for \"" + nodes[nodeIndex].key.name + "\"" +
+            " in source string is out of range." +
+            "Value must be in the range " + Integer.MIN_VALUE + " to " + Integer.MAX_VALUE + ".");
+      }
     }
     if (dest != null) {
       assertOutValue(dest.get(), (int)result, nodes[nodeIndex]);
       dest.set((int)result);
     }
-    return charIdx - initCharIdx;
+    return digitsEnd - initCharIdx;
+  }
+
+  /**
+   * Return the end index of the digits starting at 'charIdx', but not beyond 'endIdx'.
+   * @param str
+   * @param charIdx
+   * @param endIdx
+   * @return
+   */
+  static int strdigits_end(String str, int charIdx, int endIdx) {
+    while (charIdx < endIdx && Character.isDigit(str.charAt(charIdx))) {
+      charIdx++;
+    }
+    return charIdx;
   }
 
   /**
@@ -1541,7 +1567,7 @@ public class DateTimeFormat {
    * @param nodeIdx
    * @return
    */
-  static int from_char_parse_int(AtomicInteger dest, String src, int charIdx, FormatNode[] nodes, int nodeIdx) {
+  static int from_char_parse_int(MutableInt dest, String src, int charIdx, FormatNode[] nodes, int nodeIdx) {
     return from_char_parse_int_len(dest, src, charIdx, nodes[nodeIdx].key.len, nodes, nodeIdx);
   }
 
@@ -1640,33 +1666,7 @@ public class DateTimeFormat {
    * @return
    */
   public static String to_char(TimeMeta tm, String formatText) {
-    int fmt_len = formatText.length();
-
-    StringBuilder out = new StringBuilder();
-    if (fmt_len > 0) {
-      FormatNode[] formatNodes;
-
-      synchronized(formatNodeCache) {
-        formatNodes = formatNodeCache.get(formatText);
-      }
-
-      if (formatNodes == null) {
-        formatNodes = new FormatNode[fmt_len + 1];
-        for (int i = 0; i < formatNodes.length; i++) {
-          formatNodes[i] = new FormatNode();
-        }
-        parseFormat(formatNodes, formatText, FORMAT_TYPE.DCH_TYPE);
-        formatNodes[fmt_len].type = NODE_TYPE_END;	/* Paranoia? */
-
-        synchronized(formatNodeCache) {
-          formatNodeCache.put(formatText, formatNodes);
-        }
-      }
-      DCH_to_char(formatNodes, false, tm, out);
-      return out.toString();
-    } else {
-      throw new IllegalArgumentException("No format text.");
-    }
+    return CompiledDateTimeFormat.compile(formatText).format(tm);
   }
   
   private static final char[][] zeroStrings = {{}, {'0'}, {'0', '0'}, {'0', '0', '0'}, 
@@ -1697,6 +1697,49 @@ public class DateTimeFormat {
     
     return new String(targetArray);
   }
+
+  /**
+   * Append an integer value formatted like {@link #formatInteger(int, int)} without allocating a temporary string.
+   * @param out - the builder to append to
+   * @param value - the value to format
+   * @param size - minimal width of string
+   */
+  private static void appendInteger(StringBuilder out, int value, int size) {
+    if (value == Integer.MIN_VALUE) {
+      out.append(formatInteger(value, size));
+      return;
+    }
+    int absValue = Math.abs(value);
+    int digits = numDigits(absValue);
+
+    if (value < 0) {
+      out.append('-');
+      if (digits > size) {
+        // formatInteger() overwrites the leading digit with the sign
+        digits--;
+        if (digits == 0) {
+          return;
+        }
+        absValue %= POWERS_OF_TEN[digits];
+        size = digits;
+      }
+    }
+    for (int i = numDigits(absValue); i < size; i++) {
+      out.append('0');
+    }
+    out.append(absValue);
+  }
+
+  static final int[] POWERS_OF_TEN = {1, 10, 100, 1000, 10000, 100000, 1000000, 10000000, 100000000,
+      1000000000};
+
+  private static int numDigits(int value) {
+    int digits = 1;
+    while (digits < POWERS_OF_TEN.length && value >= POWERS_OF_TEN[digits]) {
+      digits++;
+    }
+    return digits;
+  }
   
   /**
    * Format string value
@@ -1732,7 +1775,7 @@ public class DateTimeFormat {
    * @param tm
    * @param out
    */
-  private static void DCH_to_char(FormatNode[] nodes, boolean isInterval, TimeMeta tm, StringBuilder out) {
+  static void DCH_to_char(FormatNode[] nodes, boolean isInterval, TimeMeta tm, StringBuilder out) {
     int i;
     for (FormatNode node: nodes) {
       if (node.type == NODE_TYPE_END) {
@@ -1766,50 +1809,50 @@ public class DateTimeFormat {
            * display time as shown on a 12-hour clock, even for
            * intervals
            */
-        out.append(formatInteger(tm.hours % (HOURS_PER_DAY / 2) == 0 ? HOURS_PER_DAY / 2 : tm.hours
+        appendInteger(out, tm.hours % (HOURS_PER_DAY / 2) == 0 ? HOURS_PER_DAY / 2 : tm.hours
             % (HOURS_PER_DAY / 2), 
-            S_FM(node.suffix)!=0?0:2));
+            S_FM(node.suffix)!=0?0:2);
           if (S_THth(node.suffix) != 0) {
             str_numth(out, out, S_TH_TYPE(node.suffix));
           }
           break;
         }
         case DCH_HH24: {
-          out.append(formatInteger(tm.hours, S_FM(node.suffix)!=0?0:2));
+          appendInteger(out, tm.hours, S_FM(node.suffix)!=0?0:2);
           if (S_THth(node.suffix) != 0) {
             str_numth(out, out, S_TH_TYPE(node.suffix));
           }
           break;
         }
         case DCH_MI: {
-          out.append(formatInteger(tm.minutes, S_FM(node.suffix)!=0?0:2));
+          appendInteger(out, tm.minutes, S_FM(node.suffix)!=0?0:2);
           if (S_THth(node.suffix) != 0) {
             str_numth(out, out, S_TH_TYPE(node.suffix));
           }
           break;
         }
         case DCH_SS: {
-          out.append(formatInteger(tm.secs, S_FM(node.suffix)!=0?0:2));
+          appendInteger(out, tm.secs, S_FM(node.suffix)!=0?0:2);
           if (S_THth(node.suffix) != 0) {
             str_numth(out, out, S_TH_TYPE(node.suffix));
           }
           break;
         }
         case DCH_MS:		/* millisecond */
-          out.append(formatInteger((int)(tm.fsecs/1000.0), 3));
+          appendInteger(out, (int)(tm.fsecs/1000.0), 3);
           if (S_THth(node.suffix) != 0) {
             str_numth(out, out, S_TH_TYPE(node.suffix));
           }
           break;
         case DCH_US:		/* microsecond */
-          out.append(formatInteger((int) tm.fsecs, 6));
+          appendInteger(out, (int) tm.fsecs, 6);
           if (S_THth(node.suffix) != 0) {
             str_numth(out, out, S_TH_TYPE(node.suffix));
           }
           break;
         case DCH_SSSS:
-          out.append(formatInteger((tm.hours * DateTimeConstants.SECS_PER_HOUR +
-              tm.minutes * DateTimeConstants.SECS_PER_MINUTE + tm.secs), 0));
+          appendInteger(out, (tm.hours * DateTimeConstants.SECS_PER_HOUR +
+              tm.minutes * DateTimeConstants.SECS_PER_MINUTE + tm.secs), 0);
           if (S_THth(node.suffix) != 0) {
             str_numth(out, out, S_TH_TYPE(node.suffix));
           }
@@ -1907,7 +1950,7 @@ public class DateTimeFormat {
           }
           break;
         case DCH_MM: {
-          out.append(formatInteger(tm.monthOfYear, S_FM(node.suffix)!=0?0:2));
+          appendInteger(out, tm.monthOfYear, S_FM(node.suffix)!=0?0:2);
           if (S_THth(node.suffix) != 0) {
             str_numth(out, out, S_TH_TYPE(node.suffix));
           }
@@ -1967,16 +2010,16 @@ public class DateTimeFormat {
           break;
         case DCH_DDD:
         case DCH_IDDD: {
-          out.append(formatInteger((node.key.idType == DCH_poz.DCH_DDD) ?
+          appendInteger(out, (node.key.idType == DCH_poz.DCH_DDD) ?
                   tm.getDayOfYear() : DateTimeUtil.date2isoyearday(tm.years, tm.monthOfYear, tm.dayOfMonth), 
-                  S_FM(node.suffix)!=0?0:3));
+                  S_FM(node.suffix)!=0?0:3);
           if (S_THth(node.suffix) != 0) {
             str_numth(out, out, S_TH_TYPE(node.suffix));
           }
           break;
         }
         case DCH_DD: {
-          out.append(formatInteger(tm.dayOfMonth, S_FM(node.suffix)!=0?0:2));
+          appendInteger(out, tm.dayOfMonth, S_FM(node.suffix)!=0?0:2);
           if (S_THth(node.suffix) != 0) {
             str_numth(out, out, S_TH_TYPE(node.suffix));
           }
@@ -1984,28 +2027,28 @@ public class DateTimeFormat {
         }
         case DCH_D:
           invalidForInterval(isInterval, node);
-          out.append(formatInteger(tm.getDayOfWeek()+1, 0));
+          appendInteger(out, tm.getDayOfWeek()+1, 0);
           if (S_THth(node.suffix) != 0) {
             str_numth(out, out, S_TH_TYPE(node.suffix));
           }
           break;
         case DCH_ID:
           invalidForInterval(isInterval, node);
-          out.append(formatInteger((tm.getDayOfWeek()==0)?7:tm.getDayOfWeek(), 0));
+          appendInteger(out, (tm.getDayOfWeek()==0)?7:tm.getDayOfWeek(), 0);
           if (S_THth(node.suffix) != 0) {
             str_numth(out, out, S_TH_TYPE(node.suffix));
           }
           break;
         case DCH_WW: {
-          out.append(formatInteger((tm.getDayOfYear()-1)/7+1, S_FM(node.suffix)!=0?0:2));
+          appendInteger(out, (tm.getDayOfYear()-1)/7+1, S_FM(node.suffix)!=0?0:2);
           if (S_THth(node.suffix) != 0) {
             str_numth(out, out, S_TH_TYPE(node.suffix));
           }
           break;
         }
         case DCH_IW: {
-          out.append(formatInteger(DateTimeUtil.date2isoweek(tm.years, tm.monthOfYear, tm.dayOfMonth), 
-              S_FM(node.suffix)!=0?0:2));
+          appendInteger(out, DateTimeUtil.date2isoweek(tm.years, tm.monthOfYear, tm.dayOfMonth), 
+              S_FM(node.suffix)!=0?0:2);
           if (S_THth(node.suffix) != 0) {
             str_numth(out, out, S_TH_TYPE(node.suffix));
           }
@@ -2015,7 +2058,7 @@ public class DateTimeFormat {
           if (tm.monthOfYear == 0) {
             break;
           }
-          out.append(formatInteger((tm.monthOfYear-1)/3+1, 0));
+          appendInteger(out, (tm.monthOfYear-1)/3+1, 0);
           if (S_THth(node.suffix) != 0) {
             str_numth(out, out, S_TH_TYPE(node.suffix));
           }
@@ -2033,9 +2076,9 @@ public class DateTimeFormat {
             }
           }
           if (i <= 99 && i >= -99) {
-            out.append(formatInteger(i, S_FM(node.suffix)!=0?0:2));
+            appendInteger(out, i, S_FM(node.suffix)!=0?0:2);
           } else {
-            out.append(formatInteger(i, 0));
+            appendInteger(out, i, 0);
           }
           if (S_THth(node.suffix) != 0) {
             str_numth(out, out, S_TH_TYPE(node.suffix));
@@ -2044,18 +2087,18 @@ public class DateTimeFormat {
         }
         case DCH_Y_YYY:
           i = ADJUST_YEAR(tm.years, isInterval) / 1000;
-          out.append(formatInteger(i, 0))
-          .append(',')
-          .append(formatInteger(ADJUST_YEAR(tm.years, isInterval) - (i * 1000), 3));
+          appendInteger(out, i, 0);
+          out.append(',');
+          appendInteger(out, ADJUST_YEAR(tm.years, isInterval) - (i * 1000), 3);
           if (S_THth(node.suffix) != 0) {
             str_numth(out, out, S_TH_TYPE(node.suffix));
           }
           break;
         case DCH_YYYY:
         case DCH_IYYY: {
-          out.append(formatInteger((node.key.idType == DCH_poz.DCH_YYYY ? ADJUST_YEAR(tm.years, isInterval) :
+          appendInteger(out, (node.key.idType == DCH_poz.DCH_YYYY ? ADJUST_YEAR(tm.years, isInterval) :
                   ADJUST_YEAR(DateTimeUtil.date2isoyear(tm.years, tm.monthOfYear, tm.dayOfMonth), isInterval)), 
-                  S_FM(node.suffix)!=0?0:4));
+                  S_FM(node.suffix)!=0?0:4);
           if (S_THth(node.suffix) != 0) {
             str_numth(out, out, S_TH_TYPE(node.suffix));
           }
@@ -2063,9 +2106,9 @@ public class DateTimeFormat {
         }
         case DCH_YYY:
         case DCH_IYY: {
-          out.append(formatInteger((node.key.idType == DCH_poz.DCH_YYY ? ADJUST_YEAR(tm.years, isInterval) :
+          appendInteger(out, (node.key.idType == DCH_poz.DCH_YYY ? ADJUST_YEAR(tm.years, isInterval) :
                   ADJUST_YEAR(DateTimeUtil.date2isoyear(tm.years, tm.monthOfYear, tm.dayOfMonth), isInterval)) % 1000, 
-                  S_FM(node.suffix)!=0?0:3));
+                  S_FM(node.suffix)!=0?0:3);
           if (S_THth(node.suffix) != 0) {
             str_numth(out, out, S_TH_TYPE(node.suffix));
           }
@@ -2073,19 +2116,19 @@ public class DateTimeFormat {
         }
         case DCH_YY:
         case DCH_IY: {
-          out.append(formatInteger((node.key.idType == DCH_poz.DCH_YY ? ADJUST_YEAR(tm.years, isInterval) :
+          appendInteger(out, (node.key.idType == DCH_poz.DCH_YY ? ADJUST_YEAR(tm.years, isInterval) :
                   ADJUST_YEAR(DateTimeUtil.date2isoyear(tm.years, tm.monthOfYear, tm.dayOfMonth), isInterval)) % 100, 
-                  S_FM(node.suffix)!=0?0:2));
+                  S_FM(node.suffix)!=0?0:2);
           if (S_THth(node.suffix) != 0)
             str_numth(out, out, S_TH_TYPE(node.suffix));
           break;
         }
         case DCH_Y:
         case DCH_I:
-          out.append(formatInteger((node.key.idType == DCH_poz.DCH_Y ?
+          appendInteger(out, (node.key.idType == DCH_poz.DCH_Y ?
                   ADJUST_YEAR(tm.years, isInterval) :
                   ADJUST_YEAR(DateTimeUtil.date2isoyear(tm.years, tm.monthOfYear, tm.dayOfMonth),
-                      isInterval)) % 10, 1));
+                      isInterval)) % 10, 1);
           if (S_THth(node.suffix) != 0) {
             str_numth(out, out, S_TH_TYPE(node.suffix));
           }
@@ -2107,13 +2150,13 @@ public class DateTimeFormat {
           break;
         }
         case DCH_W:
-          out.append(formatInteger((tm.dayOfMonth-1)/7+1, 0));
+          appendInteger(out, (tm.dayOfMonth-1)/7+1, 0);
           if (S_THth(node.suffix) != 0) {
             str_numth(out, out, S_TH_TYPE(node.suffix));
           }
           break;
         case DCH_J:
-          out.append(formatInteger(DateTimeUtil.date2j(tm.years, tm.monthOfYear, tm.dayOfMonth), 0));
+          appendInteger(out, DateTimeUtil.date2j(tm.years, tm.monthOfYear, tm.dayOfMonth), 0);
           if (S_THth(node.suffix) != 0) {
             str_numth(out, out, S_TH_TYPE(node.suffix));
           }
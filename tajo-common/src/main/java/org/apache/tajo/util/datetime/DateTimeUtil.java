@@ -20,6 +20,7 @@ package org.apache.tajo.util.datetime;
 
 import org.apache.tajo.conf.TajoConf;
 import org.apache.tajo.datum.Int8Datum;
+import org.apache.tajo.datum.TextDatum;
 import org.apache.tajo.exception.ValueOutOfRangeException;
 import org.apache.tajo.util.datetime.DateTimeConstants.DateStyle;
 import org.apache.tajo.util.datetime.DateTimeConstants.DateToken;
@@ -40,6 +41,14 @@ public class DateTimeUtil {
   /** maximum possible number of fields in a date * string */
   private static int MAXDATEFIELDS = 25;
 
+  /** the format of timestamps written by Tajo, where the time and the fraction of seconds are optional */
+  private static final CompiledDateTimeFormat ISO_DATETIME_FORMAT =
+      CompiledDateTimeFormat.compile("YYYY-MM-DD HH24:MI:SS.US");
+  /** the length of 'YYYY-MM-DD' */
+  private static final int ISO_DATE_LENGTH = 10;
+  /** the length of 'YYYY-MM-DD HH:MM:SS' */
+  private static final int ISO_DATETIME_LENGTH = 19;
+
   public static boolean isJulianCalendar(int year, int month, int day) {
     return year <= 1752 && month <= 9 && day < 14;
   }
@@ -686,6 +695,87 @@ public class DateTimeUtil {
     return DateTimeUtil.date2j(tm.years, tm.monthOfYear, tm.dayOfMonth);
   }
 
+  /**
+   * Parse datetime bytes to julian time like {@link #toJulianTimestamp(String)}.
+   * The ISO format 'YYYY-MM-DD HH:MM:SS[.FFFFFF][+HH[:MM]]' written by Tajo is parsed without decoding a string.
+   * @param bytes UTF-8 encoded text
+   * @param offset
+   * @param length
+   * @return
+   */
+  public static long toJulianTimestamp(byte[] bytes, int offset, int length) {
+    TimeMeta tm = new TimeMeta();
+    int parsed = ISO_DATETIME_FORMAT.parseStrictly(bytes, offset, length, tm);
+    // it must not end with a separator like '2014-01-01 10:00:00.'
+    if ((parsed == length && parsed == ISO_DATE_LENGTH || parsed >= ISO_DATETIME_LENGTH) &&
+        Character.isDigit(bytes[offset + parsed - 1]) &&
+        decodeTimezone(bytes, offset + parsed, length - parsed, tm) && isValidDateTime(tm)) {
+      return toJulianTimestamp(tm);
+    }
+    return toJulianTimestamp(new String(bytes, offset, length, TextDatum.DEFAULT_CHARSET));
+  }
+
+  /**
+   * Parse date bytes to julian date like {@link #toJulianDate(String)}.
+   * The ISO format 'YYYY-MM-DD' is parsed without decoding a string.
+   * @param bytes UTF-8 encoded text
+   * @param offset
+   * @param length
+   * @return
+   */
+  public static int toJulianDate(byte[] bytes, int offset, int length) {
+    TimeMeta tm = new TimeMeta();
+    if (length == ISO_DATE_LENGTH && ISO_DATETIME_FORMAT.parseStrictly(bytes, offset, length, tm) == length &&
+        isValidDateTime(tm)) {
+      return date2j(tm.years, tm.monthOfYear, tm.dayOfMonth);
+    }
+    return toJulianDate(new String(bytes, offset, length, TextDatum.DEFAULT_CHARSET));
+  }
+
+  /**
+   * Decode an optional numeric timezone like '+09' or '-03:30', which must be the whole of given bytes.
+   * @return False if it is not a numeric timezone
+   */
+  private static boolean decodeTimezone(byte[] bytes, int offset, int length, TimeMeta tm) {
+    if (length == 0) {
+      return true;
+    }
+    if ((length != 3 && length != 6) || (bytes[offset] != '+' && bytes[offset] != '-')) {
+      return false;
+    }
+    int hours = parseTwoDigits(bytes, offset + 1);
+    int minutes = 0;
+    if (length == 6) {
+      minutes = bytes[offset + 3] == ':' ? parseTwoDigits(bytes, offset + 4) : -1;
+    }
+    if (hours < 0 || hours > DateTimeConstants.MAX_TZDISP_HOUR ||
+        minutes < 0 || minutes >= DateTimeConstants.MINS_PER_HOUR) {
+      return false;
+    }
+
+    int timeZone = (hours * DateTimeConstants.MINS_PER_HOUR + minutes) * DateTimeConstants.SECS_PER_MINUTE;
+    tm.timeZone = bytes[offset] == '-' ? -timeZone : timeZone;
+    return true;
+  }
+
+  private static int parseTwoDigits(byte[] bytes, int offset) {
+    byte high = bytes[offset];
+    byte low = bytes[offset + 1];
+    if (high < '0' || high > '9' || low < '0' || low > '9') {
+      return -1;
+    }
+    return (high - '0') * 10 + (low - '0');
+  }
+
+  private static boolean isValidDateTime(TimeMeta tm) {
+    return tm.years > 0 &&
+        tm.monthOfYear >= 1 && tm.monthOfYear <= DateTimeConstants.MONTHS_PER_YEAR &&
+        tm.dayOfMonth >= 1 && tm.dayOfMonth <= getDaysInYearMonth(tm.years, tm.monthOfYear) &&
+        tm.hours < DateTimeConstants.HOURS_PER_DAY &&
+        tm.minutes < DateTimeConstants.MINS_PER_HOUR &&
+        tm.secs < DateTimeConstants.SECS_PER_MINUTE;
+  }
+
   /**
    * Parse datetime string to julian time.
    * @param timeStr
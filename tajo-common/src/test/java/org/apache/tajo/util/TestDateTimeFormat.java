@@ -18,13 +18,18 @@
 
 package org.apache.tajo.util;
 
+import org.apache.tajo.datum.TextDatum;
 import org.apache.tajo.datum.TimestampDatum;
+import org.apache.tajo.util.datetime.CompiledDateTimeFormat;
 import org.apache.tajo.util.datetime.DateTimeFormat;
 import org.apache.tajo.util.datetime.TimeMeta;
 import org.junit.Test;
 
-import static org.junit.Assert.assertEquals;
-import static org.junit.Assert.fail;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.*;
 
 public class TestDateTimeFormat {
   @Test
@@ -113,6 +118,103 @@ public class TestDateTimeFormat {
     evalToCharAndAssert("  20050302", "YYYYMMDD", "  YYYYMMDD", "  20050302");
   }
 
+  @Test
+  public void testParseBytes() {
+    String[][] textAndFormats = {
+        {"1997-12-30 11:40:50.345", "YYYY-MM-DD HH24:MI:SS.MS"},
+        {"1997-12-30 11:40:50.5", "YYYY-MM-DD HH24:MI:SS.MS"},
+        {"1997-12-30 11:40:50.034567", "YYYY-MM-DD HH24:MI:SS.US"},
+        {"1997-12-30  11:40", "YYYY-MM-DD HH24:MI:SS"},
+        {"19971230114050", "YYYYMMDDHH24MISS"},
+        {"30/12/1997", "DD/MM/YYYY"},
+        {"1997/12", "YYYY-MM"},
+        {"20000-1116", "YYYY-MMDD"},
+        // the followings are parsed as strings
+        {"97/Feb/16", "YY/Mon/DD"},
+        {" 2005 03 02", "YYYYMMDD"},
+        {"1997-12-30 11:40:50\u00a0345", "YYYY-MM-DD HH24:MI:SS MS"}
+    };
+
+    for (String[] textAndFormat : textAndFormats) {
+      TimeMeta expected = DateTimeFormat.parseDateTime(textAndFormat[0], textAndFormat[1]);
+      byte[] bytes = ("|" + textAndFormat[0] + "|").getBytes(TextDatum.DEFAULT_CHARSET);
+      TimeMeta tm = CompiledDateTimeFormat.compile(textAndFormat[1]).parse(bytes, 1, bytes.length - 2);
+      assertEquals(textAndFormat[0], expected, tm);
+      assertEquals(textAndFormat[0], expected.fsecs, tm.fsecs);
+    }
+
+    assertTrue(CompiledDateTimeFormat.compile("YYYY-MM-DD HH24:MI:SS.US").isBytesParsable());
+    assertFalse(CompiledDateTimeFormat.compile("YY/Mon/DD").isBytesParsable());
+    assertFalse(CompiledDateTimeFormat.compile("FMYYYY-MM-DD").isBytesParsable());
+
+    try {
+      byte[] bytes = "19971".getBytes();
+      CompiledDateTimeFormat.compile("YYYYMMDD").parse(bytes, 0, bytes.length);
+      fail("Should be throw exception");
+    } catch (Exception e) {
+      //If your source string is not fixed-width, try using the "FM" modifier.
+    }
+  }
+
+  @Test
+  public void testParseStrictly() {
+    CompiledDateTimeFormat format = CompiledDateTimeFormat.compile("YYYY-MM-DD HH24:MI:SS.US");
+    TimeMeta tm = new TimeMeta();
+    byte[] bytes = "1997-12-30 11:40:50.25+09".getBytes();
+    assertEquals(22, format.parseStrictly(bytes, 0, bytes.length, tm));
+    assertEquals(1997, tm.years);
+    assertEquals(12, tm.monthOfYear);
+    assertEquals(30, tm.dayOfMonth);
+    assertEquals(11, tm.hours);
+    assertEquals(40, tm.minutes);
+    assertEquals(50, tm.secs);
+    assertEquals(250000, tm.fsecs);
+
+    bytes = "1997-12-30".getBytes();
+    assertEquals(10, format.parseStrictly(bytes, 0, bytes.length, new TimeMeta()));
+    bytes = "1997/12/30".getBytes();
+    assertEquals(4, format.parseStrictly(bytes, 0, bytes.length, new TimeMeta()));
+    bytes = "1997-2-30".getBytes();
+    assertEquals(-1, format.parseStrictly(bytes, 0, bytes.length, new TimeMeta()));
+  }
+
+  @Test
+  public void testConcurrentFormat() throws Exception {
+    final String[] formats = {"YYYY-MM-DD HH24:MI:SS.MS", "YYYY/MM/DD HH:MI:SS AM", "DD.MM.YYYY", "YYYYMMDDHH24MISS"};
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<Boolean>> futures = new ArrayList<Future<Boolean>>();
+      for (int i = 0; i < 8; i++) {
+        futures.add(executor.submit(new Callable<Boolean>() {
+          @Override
+          public Boolean call() throws Exception {
+            for (int j = 0; j < 10000; j++) {
+              String format = formats[j % formats.length];
+              TimeMeta tm = new TimeMeta();
+              tm.years = 1990 + j % 30;
+              tm.monthOfYear = 1 + j % 12;
+              tm.dayOfMonth = 1 + j % 28;
+              tm.hours = j % 24;
+              tm.minutes = j % 60;
+              tm.secs = j % 59;
+              tm.fsecs = j % 1000 * 1000;
+              String text = DateTimeFormat.to_char(tm, format);
+              if (!text.equals(DateTimeFormat.to_char(DateTimeFormat.parseDateTime(text, format), format))) {
+                return false;
+              }
+            }
+            return true;
+          }
+        }));
+      }
+      for (Future<Boolean> future : futures) {
+        assertTrue(future.get());
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
   @Test
   public void testPerformance() {
     long startTime = System.currentTimeMillis();
@@ -178,6 +178,37 @@ public class TestDateTimeUtil {
     assertEquals(julian, DateTimeUtil.toJulianTimestamp("2013.4.25"));
   }
 
+  @Test
+  public void testToJulianTimestampWithBytes() {
+    String[] texts = {"2013-04-25", "2013-04-25 10:09:37", "2013-04-25 10:09:37.5", "2013-04-25 10:09:37.123456",
+        "2013-04-25 10:09:37+09", "2013-04-25 10:09:37.123-03", "2013-4-25", "2013.4.25", "2013-04-25 10:09"};
+    for (String text : texts) {
+      byte[] bytes = ("|" + text + "|").getBytes();
+      assertEquals(text, DateTimeUtil.toJulianTimestamp(text), DateTimeUtil.toJulianTimestamp(bytes, 1, text.length()));
+    }
+
+    byte[] bytes = "2013-04-25 10:09:37+05:30".getBytes();
+    assertEquals(DateTimeUtil.toJulianTimestamp("2013-04-25 04:39:37"),
+        DateTimeUtil.toJulianTimestamp(bytes, 0, bytes.length));
+
+    bytes = "2013-02-29 10:09:37".getBytes();
+    try {
+      DateTimeUtil.toJulianTimestamp(bytes, 0, bytes.length);
+      fail("Should be throw exception");
+    } catch (Exception e) {
+      // an invalid date falls back to the string parser, which rejects it
+    }
+  }
+
+  @Test
+  public void testToJulianDateWithBytes() {
+    String[] texts = {"2013-04-25", "2012-02-29", "2013-4-25", "2013.4.25"};
+    for (String text : texts) {
+      byte[] bytes = text.getBytes();
+      assertEquals(text, DateTimeUtil.toJulianDate(text), DateTimeUtil.toJulianDate(bytes, 0, bytes.length));
+    }
+  }
+
   @Test
   public void testTimestampToJavaOrUnix() {
     Calendar cal = Calendar.getInstance(TimeZone.getTimeZone("GMT"));
@@ -0,0 +1,73 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.util;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class TestLongHashSet {
+
+  @Test
+  public void testAddAndContains() {
+    LongHashSet set = new LongHashSet(4);
+    assertTrue(set.isEmpty());
+    assertTrue(set.add(1));
+    assertTrue(set.add(0));
+    assertTrue(set.add(-1));
+    assertTrue(set.add(Long.MAX_VALUE));
+    assertTrue(set.add(Long.MIN_VALUE));
+    assertFalse(set.add(1));
+    assertFalse(set.add(0));
+    assertEquals(5, set.size());
+
+    assertTrue(set.contains(0));
+    assertTrue(set.contains(-1));
+    assertTrue(set.contains(Long.MIN_VALUE));
+    assertFalse(set.contains(2));
+
+    set.clear();
+    assertEquals(0, set.size());
+    assertFalse(set.contains(0));
+    assertFalse(set.contains(1));
+  }
+
+  @Test
+  public void testRehash() {
+    Random random = new Random(1);
+    Set<Long> expected = new HashSet<Long>();
+    LongHashSet set = new LongHashSet();
+    for (int i = 0; i < 10000; i++) {
+      long value = i % 2 == 0 ? i : random.nextLong();
+      assertEquals(expected.add(value), set.add(value));
+    }
+    assertEquals(expected.size(), set.size());
+
+    for (long value : expected) {
+      assertTrue(set.contains(value));
+    }
+    for (int i = 1; i < 10000; i += 2) {
+      assertEquals(expected.contains((long) i), set.contains(i));
+    }
+  }
+}
@@ -614,6 +614,7 @@ window_function_type
   : rank_function_type LEFT_PAREN RIGHT_PAREN
   | ROW_NUMBER LEFT_PAREN RIGHT_PAREN
   | aggregate_function
+  | routine_invocation
   ;
 
 rank_function_type
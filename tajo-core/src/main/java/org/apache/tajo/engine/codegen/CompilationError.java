@@ -26,6 +26,10 @@ public class CompilationError extends RuntimeException {
   }
 
   public CompilationError(EvalNode evalNode, Throwable t, byte [] clazz) {
-    super("Compilation Error: " + evalNode.toString() + "\n\nBYTES CODE DUMP:\n" + CodeGenUtils.disassemble(clazz), t);
+    this(evalNode.toString(), t, clazz);
+  }
+
+  public CompilationError(String target, Throwable t, byte [] clazz) {
+    super("Compilation Error: " + target + "\n\nBYTES CODE DUMP:\n" + CodeGenUtils.disassemble(clazz), t);
   }
 }
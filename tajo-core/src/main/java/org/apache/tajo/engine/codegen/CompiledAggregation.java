@@ -0,0 +1,46 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.engine.codegen;
+
+import org.apache.tajo.catalog.Schema;
+import org.apache.tajo.plan.expr.AggregationFunctionCallEval;
+import org.apache.tajo.plan.function.FunctionContext;
+import org.apache.tajo.storage.Tuple;
+
+/**
+ * A base class of generated classes, each of which updates all aggregation functions of a group-by with an input
+ * tuple. In the first phase, the arguments of functions implementing
+ * {@link org.apache.tajo.plan.function.LongAccumulator} or {@link org.apache.tajo.plan.function.DoubleAccumulator}
+ * are evaluated inline, and they are passed as primitive values. The other functions and null arguments are
+ * handled by {@link AggregationFunctionCallEval#merge(FunctionContext, Schema, Tuple)}.
+ *
+ * A compiled aggregation does not hold any state for each row or group, so it can be shared by multiple tasks.
+ */
+public abstract class CompiledAggregation {
+  /**
+   * Updates the aggregation contexts of a group with an input tuple.
+   *
+   * @param inSchema The schema of the input tuple
+   * @param in The input tuple
+   * @param aggFunctions The aggregation functions of the group-by, which must be equivalent to ones compiled
+   * @param contexts The aggregation contexts of the group, each of which corresponds to an aggregation function
+   */
+  public abstract void merge(Schema inSchema, Tuple in, AggregationFunctionCallEval [] aggFunctions,
+                             FunctionContext [] contexts);
+}
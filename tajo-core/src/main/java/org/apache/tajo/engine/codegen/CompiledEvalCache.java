@@ -0,0 +1,180 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.engine.codegen;
+
+import com.google.common.annotations.VisibleForTesting;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.tajo.catalog.Schema;
+import org.apache.tajo.plan.expr.AggregationFunctionCallEval;
+import org.apache.tajo.plan.expr.EvalNode;
+import org.apache.tajo.util.Pair;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A worker-wide cache of compiled evals, pipelines, and aggregations, which are shared by all execution blocks of all
+ * queries. Recurring query shapes are compiled only once in a worker.
+ *
+ * Compiled classes are kept in generations, each of which has its own class loader. When the newest generation is
+ * full, a new generation is started. If there are too many generations, the oldest one is dropped, so that its
+ * classes can be unloaded once no running task refers to them. Entries dropped but still in use are compiled again
+ * into the newest generation when they are requested.
+ *
+ * A failure of compilation is not cached. A caller should remember it and fall back to interpreted evaluation.
+ */
+public class CompiledEvalCache {
+  private static final Log LOG = LogFactory.getLog(CompiledEvalCache.class);
+  @VisibleForTesting
+  static final int GENERATION_NUM = 4;
+
+  private final int generationSize;
+  /** the newest generation comes first */
+  private final LinkedList<Generation> generations = new LinkedList<Generation>();
+
+  private final AtomicLong hitNum = new AtomicLong();
+  private final AtomicLong missNum = new AtomicLong();
+  private final AtomicLong compileNanos = new AtomicLong();
+  private final AtomicLong droppedGenerationNum = new AtomicLong();
+
+  /**
+   * @param maxEntryNum the maximum number of cached entries
+   */
+  public CompiledEvalCache(int maxEntryNum) {
+    this.generationSize = Math.max(1, maxEntryNum / GENERATION_NUM);
+    generations.addFirst(new Generation());
+  }
+
+  public EvalNode getEval(final Schema schema, final EvalNode eval) throws CompilationError {
+    return get(new Pair<Schema, Object>(schema, eval), new Compilation<EvalNode>() {
+      @Override
+      public EvalNode compile(EvalCodeGenerator compiler) {
+        return compiler.compile(schema, eval);
+      }
+    });
+  }
+
+  public CompiledPipeline getPipeline(final Schema schema, final EvalNode qual, final EvalNode [] targets)
+      throws CompilationError {
+    List<Object> key = new ArrayList<Object>();
+    key.add(CompiledPipeline.class);
+    key.add(qual);
+    key.addAll(Arrays.asList(targets));
+    return get(new Pair<Schema, Object>(schema, key), new Compilation<CompiledPipeline>() {
+      @Override
+      public CompiledPipeline compile(EvalCodeGenerator compiler) {
+        return compiler.compilePipeline(schema, qual, targets);
+      }
+    });
+  }
+
+  public CompiledAggregation getAggregation(final Schema schema, final AggregationFunctionCallEval [] aggFunctions)
+      throws CompilationError {
+    List<Object> key = new ArrayList<Object>();
+    key.add(CompiledAggregation.class);
+    // the generated code depends on the phase of each function, which is not compared by equals()
+    for (AggregationFunctionCallEval aggFunction : aggFunctions) {
+      key.add(aggFunction);
+      key.add(aggFunction.isFirstPhase());
+    }
+    return get(new Pair<Schema, Object>(schema, key), new Compilation<CompiledAggregation>() {
+      @Override
+      public CompiledAggregation compile(EvalCodeGenerator compiler) {
+        return compiler.compileAggregation(schema, aggFunctions);
+      }
+    });
+  }
+
+  @SuppressWarnings("unchecked")
+  private <T> T get(Pair<Schema, Object> key, Compilation<T> compilation) {
+    Generation generation;
+    synchronized (this) {
+      for (Generation eachGeneration : generations) {
+        Object compiled = eachGeneration.entries.get(key);
+        if (compiled != null) {
+          hitNum.incrementAndGet();
+          return (T) compiled;
+        }
+      }
+      missNum.incrementAndGet();
+      generation = generations.getFirst();
+    }
+
+    // It compiles without holding the lock. The same key may be compiled concurrently, and the last one wins.
+    long start = System.nanoTime();
+    T compiled = compilation.compile(generation.compiler);
+    compileNanos.addAndGet(System.nanoTime() - start);
+
+    synchronized (this) {
+      generation.entries.put(key, compiled);
+      if (generation == generations.getFirst() && generation.entries.size() >= generationSize) {
+        generations.addFirst(new Generation());
+        if (generations.size() > GENERATION_NUM) {
+          Generation dropped = generations.removeLast();
+          droppedGenerationNum.incrementAndGet();
+          if (LOG.isDebugEnabled()) {
+            LOG.debug("Dropped a generation of " + dropped.entries.size() + " compiled classes");
+          }
+        }
+      }
+    }
+    return compiled;
+  }
+
+  public synchronized int size() {
+    int size = 0;
+    for (Generation generation : generations) {
+      size += generation.entries.size();
+    }
+    return size;
+  }
+
+  public synchronized int getGenerationNum() {
+    return generations.size();
+  }
+
+  public long getHitNum() {
+    return hitNum.get();
+  }
+
+  public long getMissNum() {
+    return missNum.get();
+  }
+
+  /**
+   * @return The total elapsed time of compilation in milliseconds
+   */
+  public long getCompileTime() {
+    return compileNanos.get() / 1000000;
+  }
+
+  public long getDroppedGenerationNum() {
+    return droppedGenerationNum.get();
+  }
+
+  private interface Compilation<T> {
+    T compile(EvalCodeGenerator compiler);
+  }
+
+  private static class Generation {
+    private final EvalCodeGenerator compiler = new EvalCodeGenerator(new TajoClassLoader());
+    private final Map<Object, Object> entries = new HashMap<Object, Object>();
+  }
+}
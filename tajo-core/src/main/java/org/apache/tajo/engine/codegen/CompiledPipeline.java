@@ -0,0 +1,42 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.engine.codegen;
+
+import org.apache.tajo.catalog.Schema;
+import org.apache.tajo.storage.Tuple;
+
+/**
+ * A base class of generated classes, each of which fuses a selection condition and projection targets into a single
+ * method. The condition and targets are evaluated inline without intermediate {@link org.apache.tajo.datum.Datum}
+ * objects except for the projected values.
+ *
+ * A compiled pipeline does not hold any state for each row, so it can be shared by multiple tasks.
+ */
+public abstract class CompiledPipeline {
+  /**
+   * It evaluates the condition against an input tuple, and it evaluates the targets into the output tuple only if
+   * the condition is true.
+   *
+   * @param inSchema The schema of the input tuple
+   * @param in The input tuple
+   * @param out The output tuple, whose values are overwritten if the input tuple passes the condition
+   * @return True if the input tuple passes the condition. If there is no condition, it is always true.
+   */
+  public abstract boolean process(Schema inSchema, Tuple in, Tuple out);
+}
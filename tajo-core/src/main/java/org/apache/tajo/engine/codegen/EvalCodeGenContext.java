@@ -38,32 +38,57 @@ public class EvalCodeGenContext extends TajoGeneratorAdapter {
   final Schema schema;
   final ClassWriter classWriter;
   final EvalNode evalNode;
+  final EvalNode [] evalNodes;
+  final Class superClass;
   final Map<EvalNode, String> symbols;
+  /** the local variables of a value and its null flag for each hidden column of a shared subexpression */
+  final Map<String, int []> sharedVariables;
   int seqId = 0;
 
   public EvalCodeGenContext(String className, Schema schema, ClassWriter classWriter, EvalNode evalNode) {
+    this(className, schema, classWriter, evalNode, new EvalNode[] {evalNode}, EvalNode.class, "eval", Datum.class,
+        new Class[]{Schema.class, Tuple.class});
+  }
+
+  /**
+   * It creates a context of a class which evaluates multiple eval trees in a single method. The first two parameters
+   * of the method must be a schema and an input tuple, which are accessed by the generated code. Null eval trees
+   * are ignored.
+   */
+  EvalCodeGenContext(String className, Schema schema, ClassWriter classWriter, EvalNode [] evalNodes,
+                     Class superClass, String methodName, Class returnType, Class [] paramTypes) {
+    this(className, schema, classWriter, null, evalNodes, superClass, methodName, returnType, paramTypes);
+  }
+
+  private EvalCodeGenContext(String className, Schema schema, ClassWriter classWriter, EvalNode evalNode,
+                             EvalNode [] evalNodes, Class superClass, String methodName, Class returnType,
+                             Class [] paramTypes) {
     this.owner = className;
     this.classWriter = classWriter;
     this.schema = schema;
     this.evalNode = evalNode;
+    this.evalNodes = evalNodes;
+    this.superClass = superClass;
     this.symbols = Maps.newHashMap();
+    this.sharedVariables = Maps.newHashMap();
 
     emitClassDefinition();
     emitMemberFields();
     classWriter.visitEnd();
     emitConstructor();
 
-    String methodName = "eval";
-    String methodDesc = TajoGeneratorAdapter.getMethodDescription(Datum.class, new Class[]{Schema.class, Tuple.class});
+    String methodDesc = TajoGeneratorAdapter.getMethodDescription(returnType, paramTypes);
     MethodVisitor evalMethod = classWriter.visitMethod(Opcodes.ACC_PUBLIC, methodName, methodDesc, null, null);
     evalMethod.visitCode();
     this.methodvisitor = evalMethod;
     generatorAdapter = new GeneratorAdapter(this.methodvisitor, access, methodDesc, methodDesc);
+    // local variables follow 'this' and the parameters
+    setFirstLocalVariableId(paramTypes.length + 1);
   }
 
   public void emitClassDefinition() {
     classWriter.visit(Opcodes.V1_5, Opcodes.ACC_PUBLIC, this.owner, null,
-        TajoGeneratorAdapter.getInternalName(EvalNode.class), null);
+        TajoGeneratorAdapter.getInternalName(superClass), null);
   }
 
   public void emitMemberFields() {
@@ -71,7 +96,11 @@ public class EvalCodeGenContext extends TajoGeneratorAdapter {
         "L" + TajoGeneratorAdapter.getInternalName(Schema.class) + ";", null, null);
 
     VariablesPreBuilder builder = new VariablesPreBuilder();
-    builder.visit(this, evalNode, new Stack<EvalNode>());
+    for (EvalNode eachEval : evalNodes) {
+      if (eachEval != null) {
+        builder.visit(this, eachEval, new Stack<EvalNode>());
+      }
+    }
   }
 
   public static void emitCreateSchema(TajoGeneratorAdapter adapter, MethodVisitor mv, Schema schema) {
@@ -100,7 +129,7 @@ public class EvalCodeGenContext extends TajoGeneratorAdapter {
     MethodVisitor initMethod = classWriter.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "()V", null, null);
     initMethod.visitCode();
     initMethod.visitVarInsn(Opcodes.ALOAD, 0);
-    initMethod.visitMethodInsn(Opcodes.INVOKESPECIAL, TajoGeneratorAdapter.getInternalName(EvalNode.class), "<init>",
+    initMethod.visitMethodInsn(Opcodes.INVOKESPECIAL, TajoGeneratorAdapter.getInternalName(superClass), "<init>",
         "()V");
 
     TajoGeneratorAdapter consAdapter = new TajoGeneratorAdapter(Opcodes.ACC_PUBLIC, initMethod, "<init>", "()V");
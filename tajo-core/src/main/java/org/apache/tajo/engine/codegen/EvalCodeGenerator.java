@@ -30,16 +30,32 @@ import org.apache.tajo.org.objectweb.asm.Label;
 import org.apache.tajo.org.objectweb.asm.Opcodes;
 import org.apache.tajo.org.objectweb.asm.Type;
 import org.apache.tajo.plan.expr.*;
+import org.apache.tajo.plan.function.AggFunction;
+import org.apache.tajo.plan.function.DoubleAccumulator;
+import org.apache.tajo.plan.function.FunctionContext;
+import org.apache.tajo.plan.function.LongAccumulator;
 import org.apache.tajo.storage.Tuple;
 
 import java.io.PrintStream;
 import java.lang.reflect.Constructor;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
 import java.util.Stack;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.apache.tajo.common.TajoDataTypes.DataType;
 import static org.apache.tajo.engine.codegen.TajoGeneratorAdapter.getDescription;
 import static org.apache.tajo.plan.expr.FunctionEval.ParamType;
 
+/**
+ * Generates a class which evaluates an eval tree.
+ *
+ * Compiled evals are shared by all tasks and queries which use an equal eval. Generated code must call only
+ * stateless methods, such as eval() or PatternMatchPredicateEval.evalThreeValued(), on the interpreted evals
+ * embedded in the class. It must never call an evalXxx() and wasNull() pair on them, because another thread can
+ * change the null state between the two calls.
+ */
 public class EvalCodeGenerator extends SimpleEvalNodeVisitor<EvalCodeGenContext> {
 
   public static final byte UNKNOWN = 0;
@@ -66,8 +82,12 @@ public class EvalCodeGenerator extends SimpleEvalNodeVisitor<EvalCodeGenContext>
       new byte [] {UNKNOWN, TRUE,    FALSE}    // false
   };
 
+  /** generated code evaluates these evals through their instances, which cannot read local variables */
+  private static final Set<EvalType> OPAQUE_TYPES = EnumSet.of(EvalType.IN, EvalType.LIKE, EvalType.SIMILAR_TO,
+      EvalType.REGEX);
+
   private final TajoClassLoader classLoader;
-  static int classSeq = 1;
+  private static final AtomicInteger classSeq = new AtomicInteger(1);
 
   public EvalCodeGenerator(TajoClassLoader classLoader) {
     this.classLoader = classLoader;
@@ -77,7 +97,8 @@ public class EvalCodeGenerator extends SimpleEvalNodeVisitor<EvalCodeGenContext>
 
     ClassWriter classWriter = new ClassWriter(ClassWriter.COMPUTE_MAXS);
 
-    String className = EvalCodeGenerator.class.getPackage().getName() + ".CompiledEval" + classSeq++;
+    String className = EvalCodeGenerator.class.getPackage().getName() + ".CompiledEval"
+        + classSeq.getAndIncrement();
     EvalCodeGenContext context = new EvalCodeGenContext(TajoGeneratorAdapter.getInternalName(className),
         schema, classWriter, expr);
     visit(context, expr, new Stack<EvalNode>());
@@ -97,6 +118,206 @@ public class EvalCodeGenerator extends SimpleEvalNodeVisitor<EvalCodeGenContext>
     return compiledEval;
   }
 
+  /**
+   * Compiles a selection condition and projection targets into a single {@link CompiledPipeline}.
+   *
+   * @param schema The schema of input tuples
+   * @param qual The selection condition. It can be null if there is no condition.
+   * @param targets The eval trees of projection targets
+   */
+  public CompiledPipeline compilePipeline(Schema schema, EvalNode qual, EvalNode [] targets) throws CompilationError {
+    ClassWriter classWriter = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+
+    String className = EvalCodeGenerator.class.getPackage().getName() + ".CompiledPipeline"
+        + classSeq.getAndIncrement();
+    // subexpressions shared by the qual and the targets are computed once into local variables
+    CommonSubexprElimination cse = CommonSubexprElimination.eliminate(schema, qual, targets, OPAQUE_TYPES);
+    EvalNode rewrittenQual = cse.getQual();
+    EvalNode [] rewrittenTargets = cse.getTargets();
+    EvalNode [] sharedExprs = cse.getSharedExprs();
+
+    EvalNode [] evals = new EvalNode[rewrittenTargets.length + sharedExprs.length + 1];
+    evals[0] = rewrittenQual;
+    System.arraycopy(rewrittenTargets, 0, evals, 1, rewrittenTargets.length);
+    System.arraycopy(sharedExprs, 0, evals, rewrittenTargets.length + 1, sharedExprs.length);
+    EvalCodeGenContext context = new EvalCodeGenContext(TajoGeneratorAdapter.getInternalName(className),
+        schema, classWriter, evals, CompiledPipeline.class, "process", boolean.class,
+        new Class[] {Schema.class, Tuple.class, Tuple.class});
+
+    emitSharedExprs(context, cse, 0, cse.getQualSharedNum());
+
+    Label filtered = new Label();
+    if (rewrittenQual != null) {
+      // == if (nullflag == false || qual != TRUE) return false;
+      visit(context, rewrittenQual, new Stack<EvalNode>());
+      final int QUAL_NULLFLAG = context.istore();
+      final int QUAL = context.istore();
+      context.emitNullityCheck(filtered, QUAL_NULLFLAG);
+      context.iload(QUAL);
+      context.push(TRUE);
+      context.methodvisitor.visitJumpInsn(Opcodes.IF_ICMPNE, filtered);
+    }
+
+    emitSharedExprs(context, cse, cse.getQualSharedNum(), sharedExprs.length);
+
+    for (int i = 0; i < rewrittenTargets.length; i++) {
+      // == out.put(i, eval of target);
+      context.aload(3);
+      context.push(i);
+      visit(context, rewrittenTargets[i], new Stack<EvalNode>());
+      context.convertToDatum(rewrittenTargets[i].getValueType(), true);
+      context.invokeInterface(Tuple.class, "put", void.class, new Class[] {int.class, Datum.class});
+    }
+    context.push(true);
+    context.methodvisitor.visitInsn(Opcodes.IRETURN);
+
+    emitLabel(context, filtered);
+    context.push(false);
+    context.methodvisitor.visitInsn(Opcodes.IRETURN);
+
+    context.methodvisitor.visitMaxs(0, 0);
+    context.methodvisitor.visitEnd();
+    classWriter.visitEnd();
+
+    Class aClass = classLoader.defineClass(className, classWriter.toByteArray());
+
+    try {
+      return (CompiledPipeline) aClass.getConstructor().newInstance();
+    } catch (Throwable t) {
+      throw new CompilationError("pipeline of " + qual + " and " + Arrays.toString(targets), t,
+          classWriter.toByteArray());
+    }
+  }
+
+  /**
+   * Evaluates shared subexpressions into local variables, which are read by the fields of their hidden columns.
+   */
+  private void emitSharedExprs(EvalCodeGenContext context, CommonSubexprElimination cse, int from, int to) {
+    int inputColumnNum = cse.getSchema().size() - cse.getSharedExprs().length;
+    for (int i = from; i < to; i++) {
+      EvalNode sharedExpr = cse.getSharedExprs()[i];
+      visit(context, sharedExpr, new Stack<EvalNode>());
+      final int NULLFLAG = context.istore();
+      final int VALUE = context.store(sharedExpr.getValueType());
+      String columnName = cse.getSchema().getColumn(inputColumnNum + i).getQualifiedName();
+      context.sharedVariables.put(columnName, new int[] {VALUE, NULLFLAG});
+    }
+  }
+
+  /**
+   * Compiles the update of aggregation functions into a single {@link CompiledAggregation}.
+   *
+   * @param schema The schema of input tuples
+   * @param aggFunctions The aggregation functions of a group-by
+   */
+  public CompiledAggregation compileAggregation(Schema schema, AggregationFunctionCallEval [] aggFunctions)
+      throws CompilationError {
+    ClassWriter classWriter = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+
+    String className = EvalCodeGenerator.class.getPackage().getName() + ".CompiledAggregation"
+        + classSeq.getAndIncrement();
+    EvalNode [] accumulatedArgs = new EvalNode[aggFunctions.length];
+    for (int i = 0; i < aggFunctions.length; i++) {
+      accumulatedArgs[i] = getAccumulatedArg(aggFunctions[i]);
+    }
+    EvalCodeGenContext context = new EvalCodeGenContext(TajoGeneratorAdapter.getInternalName(className),
+        schema, classWriter, accumulatedArgs, CompiledAggregation.class, "merge", void.class,
+        new Class[] {Schema.class, Tuple.class, AggregationFunctionCallEval[].class, FunctionContext[].class});
+
+    for (int i = 0; i < aggFunctions.length; i++) {
+      Label fallback = new Label();
+      Label afterAll = new Label();
+
+      EvalNode arg = accumulatedArgs[i];
+      if (arg != null) {
+        boolean longAccumulator = aggFunctions[i].getInstance() instanceof LongAccumulator;
+        Class accumulatorClass = longAccumulator ? LongAccumulator.class : DoubleAccumulator.class;
+        DataType argType = arg.getValueType();
+
+        visit(context, arg, new Stack<EvalNode>());
+        final int ARG_NULLFLAG = context.istore();
+        final int ARG = context.store(argType);
+        context.emitNullityCheck(fallback, ARG_NULLFLAG);
+
+        // == ((LongAccumulator) aggFunctions[i].getInstance()).accumulate(contexts[i], arg);
+        context.aload(3);
+        context.push(i);
+        context.methodvisitor.visitInsn(Opcodes.AALOAD);
+        context.invokeVirtual(AggregationFunctionCallEval.class, "getInstance", AggFunction.class, new Class[] {});
+        context.methodvisitor.visitTypeInsn(Opcodes.CHECKCAST, TajoGeneratorAdapter.getInternalName(accumulatorClass));
+        context.aload(4);
+        context.push(i);
+        context.methodvisitor.visitInsn(Opcodes.AALOAD);
+        context.load(argType, ARG);
+        if (longAccumulator) {
+          if (argType.getType() != TajoDataTypes.Type.INT8) {
+            context.methodvisitor.visitInsn(Opcodes.I2L);
+          }
+          context.invokeInterface(accumulatorClass, "accumulate", void.class,
+              new Class[] {FunctionContext.class, long.class});
+        } else {
+          if (argType.getType() == TajoDataTypes.Type.FLOAT4) {
+            context.methodvisitor.visitInsn(Opcodes.F2D);
+          }
+          context.invokeInterface(accumulatorClass, "accumulate", void.class,
+              new Class[] {FunctionContext.class, double.class});
+        }
+        emitGotoLabel(context, afterAll);
+      }
+
+      // == aggFunctions[i].merge(contexts[i], schema, tuple);
+      emitLabel(context, fallback);
+      context.aload(3);
+      context.push(i);
+      context.methodvisitor.visitInsn(Opcodes.AALOAD);
+      context.aload(4);
+      context.push(i);
+      context.methodvisitor.visitInsn(Opcodes.AALOAD);
+      context.aload(1);
+      context.aload(2);
+      context.invokeVirtual(AggregationFunctionCallEval.class, "merge", void.class,
+          new Class[] {FunctionContext.class, Schema.class, Tuple.class});
+
+      emitLabel(context, afterAll);
+    }
+    context.methodvisitor.visitInsn(Opcodes.RETURN);
+
+    context.methodvisitor.visitMaxs(0, 0);
+    context.methodvisitor.visitEnd();
+    classWriter.visitEnd();
+
+    Class aClass = classLoader.defineClass(className, classWriter.toByteArray());
+
+    try {
+      return (CompiledAggregation) aClass.getConstructor().newInstance();
+    } catch (Throwable t) {
+      throw new CompilationError("aggregation of " + Arrays.toString(aggFunctions), t, classWriter.toByteArray());
+    }
+  }
+
+  /**
+   * @return The argument of an aggregation function if it can be accumulated as a primitive value. Otherwise, null.
+   */
+  private static EvalNode getAccumulatedArg(AggregationFunctionCallEval aggFunction) {
+    if (!aggFunction.isFirstPhase() || aggFunction.getArgs() == null || aggFunction.getArgs().length != 1) {
+      return null;
+    }
+
+    EvalNode arg = aggFunction.getArgs()[0];
+    switch (arg.getValueType().getType()) {
+    case INT1:
+    case INT2:
+    case INT4:
+    case INT8:
+      return aggFunction.getInstance() instanceof LongAccumulator ? arg : null;
+    case FLOAT4:
+    case FLOAT8:
+      return aggFunction.getInstance() instanceof DoubleAccumulator ? arg : null;
+    default:
+      return null;
+    }
+  }
+
   private void printOut(EvalCodeGenContext context, String message) {
     context.methodvisitor.visitFieldInsn(Opcodes.GETSTATIC, "java/lang/System", "out", "Ljava/io/PrintStream;");
     context.push(message);
@@ -134,17 +355,17 @@ public class EvalCodeGenerator extends SimpleEvalNodeVisitor<EvalCodeGenContext>
     } else if (unary.getType() == EvalType.NOT) {
 
       visit(context, unary.getChild(), stack);
-      context.methodvisitor.visitVarInsn(Opcodes.ISTORE, 9);
-      context.methodvisitor.visitVarInsn(Opcodes.ISTORE, 10);
+      final int NULL_FLAG = context.istore();
+      final int CHILD = context.istore();
 
       Label ifNull = new Label();
       Label endIf = new Label();
 
-      context.emitNullityCheck(ifNull, 9);
+      context.emitNullityCheck(ifNull, NULL_FLAG);
 
       context.methodvisitor.visitFieldInsn(Opcodes.GETSTATIC, Type.getInternalName(EvalCodeGenerator.class),
           "NOT_LOGIC", "[B");
-      context.methodvisitor.visitVarInsn(Opcodes.ILOAD, 10);
+      context.iload(CHILD);
       context.methodvisitor.visitInsn(Opcodes.BALOAD);
       context.pushNullFlag(true);
       emitGotoLabel(context, endIf);
@@ -347,7 +568,12 @@ public class EvalCodeGenerator extends SimpleEvalNodeVisitor<EvalCodeGenContext>
 
   public EvalNode visitField(EvalCodeGenContext context, Stack<EvalNode> stack, FieldEval field) {
 
-    if (field.getValueType().getType() == TajoDataTypes.Type.NULL_TYPE) {
+    int [] sharedVariables = context.sharedVariables.get(field.getColumnRef().getQualifiedName());
+    if (sharedVariables != null) {
+      // the hidden column of a shared subexpression computed before
+      context.load(field.getValueType(), sharedVariables[0]);
+      context.iload(sharedVariables[1]);
+    } else if (field.getValueType().getType() == TajoDataTypes.Type.NULL_TYPE) {
       context.pushNullOfThreeValuedLogic();
       context.pushNullFlag(false);
     } else {
@@ -752,15 +978,32 @@ public class EvalCodeGenerator extends SimpleEvalNodeVisitor<EvalCodeGenContext>
     Class clazz = getStringPatternEvalClass(patternEval.getType());
     String fieldName = context.symbols.get(patternEval);
     emitGetField(context, context.owner, fieldName, clazz);
+
+    // the eval matches bytes of text values directly, and it does not create a datum for the result.
+    // evalThreeValued() keeps no state in the shared instance, and it returns the same three valued logic.
     if (context.schema != null) {
       emitGetField(context, context.owner, "schema", Schema.class);
     } else {
       context.methodvisitor.visitInsn(Opcodes.ACONST_NULL);
     }
     context.aload(2); // tuple
-    context.invokeVirtual(clazz, "eval", Datum.class, new Class[]{Schema.class, Tuple.class});
-    context.convertToPrimitive(patternEval.getValueType());
+    context.invokeVirtual(clazz, "evalThreeValued", byte.class, new Class[]{Schema.class, Tuple.class});
+    final int RESULT = context.istore();
+
+    Label ifNull = new Label();
+    Label afterAll = new Label();
+    context.iload(RESULT);
+    context.methodvisitor.visitJumpInsn(Opcodes.IFEQ, ifNull); // UNKNOWN
+
+    context.iload(RESULT);
+    context.pushNullFlag(true);
+    emitGotoLabel(context, afterAll);
+
+    emitLabel(context, ifNull);
+    context.pushDummyValue(patternEval.getValueType());
+    context.pushNullFlag(false);
 
+    emitLabel(context, afterAll);
     return patternEval;
   }
 
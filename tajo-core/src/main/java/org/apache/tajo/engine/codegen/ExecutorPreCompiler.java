@@ -26,6 +26,7 @@ import org.apache.tajo.plan.LogicalPlan;
 import org.apache.tajo.plan.util.PlannerUtil;
 import org.apache.tajo.plan.PlanningException;
 import org.apache.tajo.plan.Target;
+import org.apache.tajo.plan.expr.AggregationFunctionCallEval;
 import org.apache.tajo.plan.expr.EvalNode;
 import org.apache.tajo.plan.logical.*;
 import org.apache.tajo.plan.visitor.BasicLogicalPlanVisitor;
@@ -58,17 +59,46 @@ public class ExecutorPreCompiler extends BasicLogicalPlanVisitor<ExecutorPreComp
 
   public static class CompilationContext {
     private final EvalCodeGenerator compiler;
+    private final CompiledEvalCache cache;
     private Map<Pair<Schema,EvalNode>, EvalNode> compiledEval;
 
     public CompilationContext(TajoClassLoader classLoader) {
       this.compiler = new EvalCodeGenerator(classLoader);
+      this.cache = null;
       this.compiledEval = Maps.newHashMap();
     }
 
+    /**
+     * It creates a context which takes compiled classes from a worker-wide cache.
+     */
+    public CompilationContext(CompiledEvalCache cache) {
+      this.compiler = null;
+      this.cache = cache;
+      this.compiledEval = Maps.newHashMap();
+    }
+
+    /**
+     * @return The compiler of this context. It is null if this context uses a worker-wide cache.
+     */
     public EvalCodeGenerator getCompiler() {
       return compiler;
     }
 
+    public EvalNode compile(Schema schema, EvalNode eval) throws CompilationError {
+      return cache != null ? cache.getEval(schema, eval) : compiler.compile(schema, eval);
+    }
+
+    public CompiledPipeline compilePipeline(Schema schema, EvalNode qual, EvalNode [] targets)
+        throws CompilationError {
+      return cache != null ? cache.getPipeline(schema, qual, targets) : compiler.compilePipeline(schema, qual, targets);
+    }
+
+    public CompiledAggregation compileAggregation(Schema schema, AggregationFunctionCallEval [] aggFunctions)
+        throws CompilationError {
+      return cache != null ? cache.getAggregation(schema, aggFunctions) :
+          compiler.compileAggregation(schema, aggFunctions);
+    }
+
     public Map<Pair<Schema, EvalNode>, EvalNode> getPrecompiedEvals() {
       return compiledEval;
     }
@@ -78,7 +108,7 @@ public class ExecutorPreCompiler extends BasicLogicalPlanVisitor<ExecutorPreComp
     Pair<Schema, EvalNode> key = new Pair<Schema, EvalNode>(schema, eval);
     if (!context.compiledEval.containsKey(key)) {
       try {
-        EvalNode compiled = context.compiler.compile(schema, eval);
+        EvalNode compiled = context.compile(schema, eval);
         context.compiledEval.put(key, compiled);
 
       } catch (Throwable t) {
@@ -831,6 +831,13 @@ class TajoGeneratorAdapter {
     }
   }
 
+  /**
+   * Sets the id of the first local variable. It must be called before any local variable is allocated.
+   */
+  void setFirstLocalVariableId(int varId) {
+    nextVarId = varId;
+  }
+
   public int astore() {
     int varId = getCurVarIdAndIncrease();
     methodvisitor.visitVarInsn(Opcodes.ASTORE, varId);
@@ -0,0 +1,98 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.engine.function.builtin;
+
+import org.apache.tajo.catalog.CatalogUtil;
+import org.apache.tajo.catalog.Column;
+import org.apache.tajo.common.TajoDataTypes.DataType;
+import org.apache.tajo.common.TajoDataTypes.Type;
+import org.apache.tajo.datum.Datum;
+import org.apache.tajo.datum.DatumFactory;
+import org.apache.tajo.datum.Int8Datum;
+import org.apache.tajo.datum.ProtobufDatum;
+import org.apache.tajo.engine.function.annotation.Description;
+import org.apache.tajo.engine.function.annotation.ParamTypes;
+import org.apache.tajo.engine.utils.HyperLogLog;
+import org.apache.tajo.plan.function.AggFunction;
+import org.apache.tajo.plan.function.FunctionContext;
+import org.apache.tajo.storage.Tuple;
+
+import static org.apache.tajo.InternalTypes.HyperLogLogProto;
+
+/**
+ * An approximate count(distinct column). Unlike an exact distinct count, it is computed by a normal two-phase
+ * aggregation, and only a HyperLogLog sketch of a few kilobytes per group is shuffled.
+ */
+@Description(
+  functionName = "approx_count_distinct",
+  description = "The approximate number of distinct non-NULL values, whose standard error is about 1.6%",
+  example = "> SELECT approx_count_distinct(expr);",
+  returnType = Type.INT8,
+  paramTypes = {@ParamTypes(paramTypes = {Type.ANY})}
+)
+public class ApproxCountDistinct extends AggFunction<Int8Datum> {
+
+  public ApproxCountDistinct() {
+    super(new Column[] {
+        new Column("expr", Type.ANY)
+    });
+  }
+
+  @Override
+  public FunctionContext newContext() {
+    return new HyperLogLogContext();
+  }
+
+  @Override
+  public void eval(FunctionContext ctx, Tuple params) {
+    Datum value = params.get(0);
+    if (!value.isNull()) {
+      ((HyperLogLogContext) ctx).sketch.add(value);
+    }
+  }
+
+  @Override
+  public void merge(FunctionContext ctx, Tuple part) {
+    Datum datum = part.get(0);
+    if (datum.isNull()) {
+      return;
+    }
+    HyperLogLogProto proto = (HyperLogLogProto) ((ProtobufDatum) datum).get();
+    ((HyperLogLogContext) ctx).sketch.merge(new HyperLogLog(proto));
+  }
+
+  @Override
+  public Datum getPartialResult(FunctionContext ctx) {
+    return new ProtobufDatum(((HyperLogLogContext) ctx).sketch.getProto());
+  }
+
+  @Override
+  public DataType getPartialResultType() {
+    return CatalogUtil.newDataType(Type.PROTOBUF, HyperLogLogProto.class.getName());
+  }
+
+  @Override
+  public Int8Datum terminate(FunctionContext ctx) {
+    return DatumFactory.createInt8(((HyperLogLogContext) ctx).sketch.estimate());
+  }
+
+  private class HyperLogLogContext implements FunctionContext {
+    final HyperLogLog sketch = new HyperLogLog();
+  }
+}
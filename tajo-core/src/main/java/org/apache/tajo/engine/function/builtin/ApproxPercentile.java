@@ -0,0 +1,137 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.engine.function.builtin;
+
+import org.apache.tajo.catalog.CatalogUtil;
+import org.apache.tajo.catalog.Column;
+import org.apache.tajo.common.TajoDataTypes.DataType;
+import org.apache.tajo.common.TajoDataTypes.Type;
+import org.apache.tajo.datum.Datum;
+import org.apache.tajo.datum.DatumFactory;
+import org.apache.tajo.datum.NullDatum;
+import org.apache.tajo.datum.ProtobufDatum;
+import org.apache.tajo.engine.function.annotation.Description;
+import org.apache.tajo.engine.function.annotation.ParamTypes;
+import org.apache.tajo.engine.utils.TDigest;
+import org.apache.tajo.exception.InvalidOperationException;
+import org.apache.tajo.plan.function.AggFunction;
+import org.apache.tajo.plan.function.FunctionContext;
+import org.apache.tajo.storage.Tuple;
+
+import static org.apache.tajo.InternalTypes.ApproxPercentileProto;
+
+/**
+ * An approximate percentile of numbers, which is estimated by a t-digest. Only a digest of a few hundred centroids
+ * per group is shuffled.
+ */
+@Description(
+  functionName = "approx_percentile",
+  description = "The approximate value at a given percentage (between 0 and 1) of non-NULL numbers",
+  example = "> SELECT approx_percentile(expr, 0.95);",
+  returnType = Type.FLOAT8,
+  paramTypes = {@ParamTypes(paramTypes = {Type.FLOAT8, Type.FLOAT8})}
+)
+public class ApproxPercentile extends AggFunction<Datum> {
+
+  public ApproxPercentile() {
+    super(new Column[] {
+        new Column("expr", Type.FLOAT8),
+        new Column("percentage", Type.FLOAT8)
+    });
+  }
+
+  protected ApproxPercentile(Column[] definedArgs) {
+    super(definedArgs);
+  }
+
+  /**
+   * @return The percentage given by the parameters of a row
+   */
+  protected double getPercentage(Tuple params) {
+    Datum percentage = params.get(1);
+    if (percentage.isNull() || percentage.asFloat8() < 0 || percentage.asFloat8() > 1) {
+      throw new InvalidOperationException("The percentage of approx_percentile must be between 0 and 1, but "
+          + percentage);
+    }
+    return percentage.asFloat8();
+  }
+
+  @Override
+  public FunctionContext newContext() {
+    return new PercentileContext();
+  }
+
+  @Override
+  public void eval(FunctionContext ctx, Tuple params) {
+    Datum value = params.get(0);
+    if (value.isNull()) {
+      return;
+    }
+
+    PercentileContext percentileCtx = (PercentileContext) ctx;
+    if (percentileCtx.digest.size() == 0) {
+      percentileCtx.percentage = getPercentage(params);
+    }
+    percentileCtx.digest.add(value.asFloat8());
+  }
+
+  @Override
+  public void merge(FunctionContext ctx, Tuple part) {
+    Datum datum = part.get(0);
+    if (datum.isNull()) {
+      return;
+    }
+
+    PercentileContext percentileCtx = (PercentileContext) ctx;
+    ApproxPercentileProto proto = (ApproxPercentileProto) ((ProtobufDatum) datum).get();
+    percentileCtx.percentage = proto.getPercentage();
+    percentileCtx.digest.merge(new TDigest(proto.getDigest()));
+  }
+
+  @Override
+  public Datum getPartialResult(FunctionContext ctx) {
+    PercentileContext percentileCtx = (PercentileContext) ctx;
+    if (percentileCtx.digest.size() == 0) {
+      return NullDatum.get();
+    }
+    ApproxPercentileProto.Builder builder = ApproxPercentileProto.newBuilder();
+    builder.setPercentage(percentileCtx.percentage);
+    builder.setDigest(percentileCtx.digest.getProto());
+    return new ProtobufDatum(builder.build());
+  }
+
+  @Override
+  public DataType getPartialResultType() {
+    return CatalogUtil.newDataType(Type.PROTOBUF, ApproxPercentileProto.class.getName());
+  }
+
+  @Override
+  public Datum terminate(FunctionContext ctx) {
+    PercentileContext percentileCtx = (PercentileContext) ctx;
+    if (percentileCtx.digest.size() == 0) {
+      return NullDatum.get();
+    }
+    return DatumFactory.createFloat8(percentileCtx.digest.quantile(percentileCtx.percentage));
+  }
+
+  protected class PercentileContext implements FunctionContext {
+    final TDigest digest = new TDigest();
+    double percentage;
+  }
+}
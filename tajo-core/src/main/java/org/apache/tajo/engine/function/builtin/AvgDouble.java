@@ -28,6 +28,8 @@ import org.apache.tajo.datum.NullDatum;
 import org.apache.tajo.datum.ProtobufDatum;
 import org.apache.tajo.plan.function.AggFunction;
 import org.apache.tajo.plan.function.FunctionContext;
+import org.apache.tajo.plan.function.DoubleAccumulator;
+import org.apache.tajo.plan.function.RemovableAccumulator;
 import org.apache.tajo.engine.function.annotation.Description;
 import org.apache.tajo.engine.function.annotation.ParamTypes;
 import org.apache.tajo.storage.Tuple;
@@ -41,7 +43,7 @@ import static org.apache.tajo.InternalTypes.AvgDoubleProto;
   returnType = Type.FLOAT8,
   paramTypes = {@ParamTypes(paramTypes = {Type.FLOAT8})}
 )
-public class AvgDouble extends AggFunction {
+public class AvgDouble extends AggFunction implements DoubleAccumulator, RemovableAccumulator {
   public AvgDouble() {
     super(new Column[] {
         new Column("expr", Type.FLOAT8)
@@ -62,6 +64,20 @@ public class AvgDouble extends AggFunction {
     avgCtx.count++;
   }
 
+  @Override
+  public void remove(FunctionContext ctx, Tuple params) {
+    AvgContext avgCtx = (AvgContext) ctx;
+    avgCtx.sum -= params.get(0).asFloat8();
+    avgCtx.count--;
+  }
+
+  @Override
+  public void accumulate(FunctionContext ctx, double value) {
+    AvgContext avgCtx = (AvgContext) ctx;
+    avgCtx.sum += value;
+    avgCtx.count++;
+  }
+
   @Override
   public void merge(FunctionContext ctx, Tuple part) {
     AvgContext avgCtx = (AvgContext) ctx;
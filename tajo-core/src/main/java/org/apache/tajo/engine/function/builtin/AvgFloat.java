@@ -43,4 +43,18 @@ public class AvgFloat extends AvgDouble {
     avgCtx.count++;
   }
 
+  @Override
+  public void remove(FunctionContext ctx, Tuple params) {
+    AvgContext avgCtx = (AvgContext) ctx;
+    avgCtx.sum -= params.get(0).asFloat4();
+    avgCtx.count--;
+  }
+
+  @Override
+  public void accumulate(FunctionContext ctx, double value) {
+    AvgContext avgCtx = (AvgContext) ctx;
+    avgCtx.sum += (float) value;
+    avgCtx.count++;
+  }
+
 }
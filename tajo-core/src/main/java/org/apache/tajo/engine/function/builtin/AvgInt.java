@@ -43,4 +43,18 @@ public class AvgInt extends AvgLong {
     avgCtx.sum += params.get(0).asInt4();
     avgCtx.count++;
   }
+
+  @Override
+  public void remove(FunctionContext ctx, Tuple params) {
+    AvgContext avgCtx = (AvgContext) ctx;
+    avgCtx.sum -= params.get(0).asInt4();
+    avgCtx.count--;
+  }
+
+  @Override
+  public void accumulate(FunctionContext ctx, long value) {
+    AvgContext avgCtx = (AvgContext) ctx;
+    avgCtx.sum += (int) value;
+    avgCtx.count++;
+  }
 }
@@ -25,6 +25,8 @@ import org.apache.tajo.common.TajoDataTypes.Type;
 import org.apache.tajo.datum.*;
 import org.apache.tajo.plan.function.AggFunction;
 import org.apache.tajo.plan.function.FunctionContext;
+import org.apache.tajo.plan.function.LongAccumulator;
+import org.apache.tajo.plan.function.RemovableAccumulator;
 import org.apache.tajo.engine.function.annotation.Description;
 import org.apache.tajo.engine.function.annotation.ParamTypes;
 import org.apache.tajo.storage.Tuple;
@@ -38,7 +40,7 @@ import static org.apache.tajo.InternalTypes.AvgLongProto;
   returnType = Type.FLOAT8,
   paramTypes = {@ParamTypes(paramTypes = {Type.INT8})}
 )
-public class AvgLong extends AggFunction<Float8Datum> {
+public class AvgLong extends AggFunction<Float8Datum> implements LongAccumulator, RemovableAccumulator {
 
   public AvgLong() {
     super(new Column[] {
@@ -57,6 +59,20 @@ public class AvgLong extends AggFunction<Float8Datum> {
     avgCtx.count++;
   }
 
+  @Override
+  public void remove(FunctionContext ctx, Tuple params) {
+    AvgContext avgCtx = (AvgContext) ctx;
+    avgCtx.sum -= params.get(0).asInt8();
+    avgCtx.count--;
+  }
+
+  @Override
+  public void accumulate(FunctionContext ctx, long value) {
+    AvgContext avgCtx = (AvgContext) ctx;
+    avgCtx.sum += value;
+    avgCtx.count++;
+  }
+
   @Override
   public void merge(FunctionContext ctx, Tuple part) {
     AvgContext avgCtx = (AvgContext) ctx;
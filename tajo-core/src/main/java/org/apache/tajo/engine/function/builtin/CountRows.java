@@ -27,6 +27,7 @@ import org.apache.tajo.datum.DatumFactory;
 import org.apache.tajo.datum.Int8Datum;
 import org.apache.tajo.plan.function.AggFunction;
 import org.apache.tajo.plan.function.FunctionContext;
+import org.apache.tajo.plan.function.RemovableAccumulator;
 import org.apache.tajo.engine.function.annotation.Description;
 import org.apache.tajo.engine.function.annotation.ParamTypes;
 import org.apache.tajo.storage.Tuple;
@@ -38,7 +39,7 @@ import org.apache.tajo.storage.Tuple;
   returnType = Type.INT8,
   paramTypes = {@ParamTypes(paramTypes = {})}
 )
-public class CountRows extends AggFunction<Datum> {
+public class CountRows extends AggFunction<Datum> implements RemovableAccumulator {
 
   public CountRows() {
     super(NoArgs);
@@ -58,6 +59,11 @@ public class CountRows extends AggFunction<Datum> {
     ((CountRowContext) ctx).count++;
   }
 
+  @Override
+  public void remove(FunctionContext ctx, Tuple params) {
+    ((CountRowContext) ctx).count--;
+  }
+
   @Override
   public void merge(FunctionContext ctx, Tuple part) {
     ((CountRowContext) ctx).count += part.get(0).asInt8();
@@ -52,4 +52,10 @@ public final class CountValue extends CountRows {
     }
   }
 
+  @Override
+  public void remove(FunctionContext ctx, Tuple params) {
+    if (!(params.get(0) instanceof NullDatum)) {
+      ((CountRowContext) ctx).count--;
+    }
+  }
 }
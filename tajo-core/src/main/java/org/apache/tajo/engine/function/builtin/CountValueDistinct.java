@@ -18,19 +18,23 @@
 
 package org.apache.tajo.engine.function.builtin;
 
+import org.apache.tajo.catalog.CatalogUtil;
 import org.apache.tajo.catalog.Column;
 import org.apache.tajo.catalog.proto.CatalogProtos;
+import org.apache.tajo.common.TajoDataTypes.DataType;
 import org.apache.tajo.common.TajoDataTypes.Type;
 import org.apache.tajo.datum.Datum;
 import org.apache.tajo.datum.DatumFactory;
 import org.apache.tajo.datum.Int8Datum;
+import org.apache.tajo.plan.function.AggFunction;
 import org.apache.tajo.plan.function.FunctionContext;
 import org.apache.tajo.engine.function.annotation.Description;
 import org.apache.tajo.engine.function.annotation.ParamTypes;
 import org.apache.tajo.storage.Tuple;
 
 /**
- * Count(distinct column) function
+ * Count(distinct column) function. Unlike count(column), it cannot take back a value, so it does not extend
+ * {@link CountRows}, which is a {@link org.apache.tajo.plan.function.RemovableAccumulator}.
  */
 @Description(
   functionName = "count",
@@ -40,7 +44,7 @@ import org.apache.tajo.storage.Tuple;
   returnType = Type.INT8,
   paramTypes = {@ParamTypes(paramTypes = {Type.ANY})}
 )
-public final class CountValueDistinct extends CountRows {
+public final class CountValueDistinct extends AggFunction<Datum> {
 
   public CountValueDistinct() {
     super(new Column[] {
@@ -68,6 +72,11 @@ public final class CountValueDistinct extends CountRows {
     return DatumFactory.createInt8(((CountDistinctValueContext) ctx).count);
   }
 
+  @Override
+  public DataType getPartialResultType() {
+    return CatalogUtil.newSimpleDataType(Type.INT8);
+  }
+
   @Override
   public Int8Datum terminate(FunctionContext ctx) {
     return DatumFactory.createInt8(((CountDistinctValueContext) ctx).count);
@@ -27,6 +27,7 @@ import org.apache.tajo.datum.DatumFactory;
 import org.apache.tajo.datum.Float8Datum;
 import org.apache.tajo.plan.function.AggFunction;
 import org.apache.tajo.plan.function.FunctionContext;
+import org.apache.tajo.plan.function.DoubleAccumulator;
 import org.apache.tajo.engine.function.annotation.Description;
 import org.apache.tajo.engine.function.annotation.ParamTypes;
 import org.apache.tajo.storage.Tuple;
@@ -38,7 +39,7 @@ import org.apache.tajo.storage.Tuple;
   returnType = Type.FLOAT8,
   paramTypes = {@ParamTypes(paramTypes = {Type.FLOAT8})}
 )
-public class MaxDouble extends AggFunction<Float8Datum> {
+public class MaxDouble extends AggFunction<Float8Datum> implements DoubleAccumulator {
 
   public MaxDouble() {
     super(new Column[] {
@@ -57,6 +58,12 @@ public class MaxDouble extends AggFunction<Float8Datum> {
     maxCtx.max = Math.max(maxCtx.max, params.get(0).asFloat8());
   }
 
+  @Override
+  public void accumulate(FunctionContext ctx, double value) {
+    MaxContext maxCtx = (MaxContext) ctx;
+    maxCtx.max = Math.max(maxCtx.max, value);
+  }
+
   @Override
   public Datum getPartialResult(FunctionContext ctx) {
     return DatumFactory.createFloat8(((MaxContext) ctx).max);
@@ -27,6 +27,7 @@ import org.apache.tajo.datum.DatumFactory;
 import org.apache.tajo.datum.Int8Datum;
 import org.apache.tajo.plan.function.AggFunction;
 import org.apache.tajo.plan.function.FunctionContext;
+import org.apache.tajo.plan.function.LongAccumulator;
 import org.apache.tajo.engine.function.annotation.Description;
 import org.apache.tajo.engine.function.annotation.ParamTypes;
 import org.apache.tajo.storage.Tuple;
@@ -38,7 +39,7 @@ import org.apache.tajo.storage.Tuple;
   returnType = Type.INT8,
   paramTypes = {@ParamTypes(paramTypes = {Type.INT8})}
 )
-public class MaxLong extends AggFunction<Int8Datum> {
+public class MaxLong extends AggFunction<Int8Datum> implements LongAccumulator {
   public MaxLong() {
     super(new Column[] {
         new Column("expr", Type.INT8)
@@ -56,6 +57,12 @@ public class MaxLong extends AggFunction<Int8Datum> {
     maxCtx.max = Math.max(maxCtx.max, params.get(0).asInt8());
   }
 
+  @Override
+  public void accumulate(FunctionContext ctx, long value) {
+    MaxContext maxCtx = (MaxContext) ctx;
+    maxCtx.max = Math.max(maxCtx.max, value);
+  }
+
   @Override
   public Datum getPartialResult(FunctionContext ctx) {
     return DatumFactory.createInt8(((MaxContext) ctx).max);
@@ -26,6 +26,7 @@ import org.apache.tajo.datum.Datum;
 import org.apache.tajo.datum.DatumFactory;
 import org.apache.tajo.plan.function.AggFunction;
 import org.apache.tajo.plan.function.FunctionContext;
+import org.apache.tajo.plan.function.DoubleAccumulator;
 import org.apache.tajo.engine.function.annotation.Description;
 import org.apache.tajo.engine.function.annotation.ParamTypes;
 import org.apache.tajo.storage.Tuple;
@@ -37,7 +38,7 @@ import org.apache.tajo.storage.Tuple;
   returnType = Type.FLOAT8,
   paramTypes = {@ParamTypes(paramTypes = {Type.FLOAT8})}
 )
-public class MinDouble extends AggFunction<Datum> {
+public class MinDouble extends AggFunction<Datum> implements DoubleAccumulator {
 
   public MinDouble() {
     super(new Column[] {
@@ -56,6 +57,12 @@ public class MinDouble extends AggFunction<Datum> {
     minCtx.min = Math.min(minCtx.min, params.get(0).asFloat8());
   }
 
+  @Override
+  public void accumulate(FunctionContext ctx, double value) {
+    MinContext minCtx = (MinContext) ctx;
+    minCtx.min = Math.min(minCtx.min, value);
+  }
+
   @Override
   public Datum getPartialResult(FunctionContext ctx) {
     return DatumFactory.createFloat8(((MinContext) ctx).min);
@@ -27,6 +27,7 @@ import org.apache.tajo.datum.DatumFactory;
 import org.apache.tajo.datum.Int8Datum;
 import org.apache.tajo.plan.function.AggFunction;
 import org.apache.tajo.plan.function.FunctionContext;
+import org.apache.tajo.plan.function.LongAccumulator;
 import org.apache.tajo.engine.function.annotation.Description;
 import org.apache.tajo.engine.function.annotation.ParamTypes;
 import org.apache.tajo.storage.Tuple;
@@ -38,7 +39,7 @@ import org.apache.tajo.storage.Tuple;
   returnType = Type.INT8,
   paramTypes = {@ParamTypes(paramTypes = {Type.INT8})}
 )
-public class MinLong extends AggFunction<Datum> {
+public class MinLong extends AggFunction<Datum> implements LongAccumulator {
 
   public MinLong() {
     super(new Column[] {
@@ -57,6 +58,12 @@ public class MinLong extends AggFunction<Datum> {
     minCtx.min = Math.min(minCtx.min, params.get(0).asInt8());
   }
 
+  @Override
+  public void accumulate(FunctionContext ctx, long value) {
+    MinContext minCtx = (MinContext) ctx;
+    minCtx.min = Math.min(minCtx.min, value);
+  }
+
   @Override
   public Datum getPartialResult(FunctionContext ctx) {
     return DatumFactory.createInt8(((MinContext) ctx).min);
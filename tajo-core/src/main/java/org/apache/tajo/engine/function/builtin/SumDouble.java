@@ -27,6 +27,8 @@ import org.apache.tajo.datum.DatumFactory;
 import org.apache.tajo.datum.Float8Datum;
 import org.apache.tajo.plan.function.AggFunction;
 import org.apache.tajo.plan.function.FunctionContext;
+import org.apache.tajo.plan.function.DoubleAccumulator;
+import org.apache.tajo.plan.function.RemovableAccumulator;
 import org.apache.tajo.engine.function.annotation.Description;
 import org.apache.tajo.engine.function.annotation.ParamTypes;
 import org.apache.tajo.storage.Tuple;
@@ -43,7 +45,7 @@ import org.apache.tajo.storage.Tuple;
   returnType = Type.FLOAT8,
   paramTypes = {@ParamTypes(paramTypes = {Type.FLOAT8})}
 )
-public class SumDouble extends AggFunction<Datum> {
+public class SumDouble extends AggFunction<Datum> implements DoubleAccumulator, RemovableAccumulator {
 
   public SumDouble() {
     super(new Column[] {
@@ -61,6 +63,16 @@ public class SumDouble extends AggFunction<Datum> {
     ((SumContext)ctx).sum += params.get(0).asFloat8();
   }
 
+  @Override
+  public void remove(FunctionContext ctx, Tuple params) {
+    ((SumContext)ctx).sum -= params.get(0).asFloat8();
+  }
+
+  @Override
+  public void accumulate(FunctionContext ctx, double value) {
+    ((SumContext)ctx).sum += value;
+  }
+
   @Override
   public Datum getPartialResult(FunctionContext ctx) {
     return DatumFactory.createFloat8(((SumContext) ctx).sum);
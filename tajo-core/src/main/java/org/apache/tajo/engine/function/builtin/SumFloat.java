@@ -26,6 +26,8 @@ import org.apache.tajo.datum.Datum;
 import org.apache.tajo.datum.DatumFactory;
 import org.apache.tajo.plan.function.AggFunction;
 import org.apache.tajo.plan.function.FunctionContext;
+import org.apache.tajo.plan.function.DoubleAccumulator;
+import org.apache.tajo.plan.function.RemovableAccumulator;
 import org.apache.tajo.engine.function.annotation.Description;
 import org.apache.tajo.engine.function.annotation.ParamTypes;
 import org.apache.tajo.storage.Tuple;
@@ -42,7 +44,7 @@ import org.apache.tajo.storage.Tuple;
   returnType = Type.FLOAT8,
   paramTypes = {@ParamTypes(paramTypes = {Type.FLOAT4})}
 )
-public class SumFloat extends AggFunction<Datum> {
+public class SumFloat extends AggFunction<Datum> implements DoubleAccumulator, RemovableAccumulator {
   public SumFloat() {
     super(new Column[] {
         new Column("expr", Type.FLOAT4)
@@ -59,6 +61,16 @@ public class SumFloat extends AggFunction<Datum> {
     ((SumContext)ctx).sum += params.get(0).asFloat4();
   }
 
+  @Override
+  public void remove(FunctionContext ctx, Tuple params) {
+    ((SumContext)ctx).sum -= params.get(0).asFloat4();
+  }
+
+  @Override
+  public void accumulate(FunctionContext ctx, double value) {
+    ((SumContext)ctx).sum += (float) value;
+  }
+
   @Override
   public Datum getPartialResult(FunctionContext ctx) {
     return DatumFactory.createFloat8(((SumContext) ctx).sum);
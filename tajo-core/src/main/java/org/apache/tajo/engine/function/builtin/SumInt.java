@@ -26,6 +26,8 @@ import org.apache.tajo.datum.Datum;
 import org.apache.tajo.datum.DatumFactory;
 import org.apache.tajo.plan.function.AggFunction;
 import org.apache.tajo.plan.function.FunctionContext;
+import org.apache.tajo.plan.function.LongAccumulator;
+import org.apache.tajo.plan.function.RemovableAccumulator;
 import org.apache.tajo.engine.function.annotation.Description;
 import org.apache.tajo.engine.function.annotation.ParamTypes;
 import org.apache.tajo.storage.Tuple;
@@ -42,7 +44,7 @@ import org.apache.tajo.storage.Tuple;
   returnType = Type.INT8,
   paramTypes = {@ParamTypes(paramTypes = {Type.INT4})}
 )
-public class SumInt extends AggFunction<Datum> {
+public class SumInt extends AggFunction<Datum> implements LongAccumulator, RemovableAccumulator {
 
   public SumInt() {
     super(new Column[] {
@@ -61,6 +63,16 @@ public class SumInt extends AggFunction<Datum> {
     sumCtx.sum += params.get(0).asInt8();
   }
 
+  @Override
+  public void remove(FunctionContext ctx, Tuple params) {
+    ((SumIntContext)ctx).sum -= params.get(0).asInt8();
+  }
+
+  @Override
+  public void accumulate(FunctionContext ctx, long value) {
+    ((SumIntContext)ctx).sum += value;
+  }
+
   @Override
   public Datum getPartialResult(FunctionContext ctx) {
     return DatumFactory.createInt8(((SumIntContext) ctx).sum);
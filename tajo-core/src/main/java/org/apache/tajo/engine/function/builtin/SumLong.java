@@ -27,6 +27,8 @@ import org.apache.tajo.datum.DatumFactory;
 import org.apache.tajo.datum.Int8Datum;
 import org.apache.tajo.plan.function.AggFunction;
 import org.apache.tajo.plan.function.FunctionContext;
+import org.apache.tajo.plan.function.LongAccumulator;
+import org.apache.tajo.plan.function.RemovableAccumulator;
 import org.apache.tajo.engine.function.annotation.Description;
 import org.apache.tajo.engine.function.annotation.ParamTypes;
 import org.apache.tajo.storage.Tuple;
@@ -43,7 +45,7 @@ import org.apache.tajo.storage.Tuple;
   returnType = Type.INT8,
   paramTypes = {@ParamTypes(paramTypes = {Type.INT8})}
 )
-public class SumLong extends AggFunction<Datum> {
+public class SumLong extends AggFunction<Datum> implements LongAccumulator, RemovableAccumulator {
 
   public SumLong() {
     super(new Column[] {
@@ -61,6 +63,16 @@ public class SumLong extends AggFunction<Datum> {
     ((SumContext)ctx).sum += params.get(0).asInt8();
   }
 
+  @Override
+  public void remove(FunctionContext ctx, Tuple params) {
+    ((SumContext)ctx).sum -= params.get(0).asInt8();
+  }
+
+  @Override
+  public void accumulate(FunctionContext ctx, long value) {
+    ((SumContext)ctx).sum += value;
+  }
+
   @Override
   public Datum getPartialResult(FunctionContext ctx) {
     return DatumFactory.createInt8(((SumContext) ctx).sum);
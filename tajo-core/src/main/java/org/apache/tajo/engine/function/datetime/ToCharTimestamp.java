@@ -18,6 +18,7 @@
 
 package org.apache.tajo.engine.function.datetime;
 
+import com.google.gson.annotations.Expose;
 import org.apache.tajo.catalog.Column;
 import org.apache.tajo.common.TajoDataTypes;
 import org.apache.tajo.datum.Datum;
@@ -29,7 +30,7 @@ import org.apache.tajo.engine.function.annotation.ParamTypes;
 import org.apache.tajo.plan.expr.FunctionEval;
 import org.apache.tajo.plan.function.GeneralFunction;
 import org.apache.tajo.storage.Tuple;
-import org.apache.tajo.util.datetime.DateTimeFormat;
+import org.apache.tajo.util.datetime.CompiledDateTimeFormat;
 import org.apache.tajo.util.datetime.DateTimeUtil;
 import org.apache.tajo.util.datetime.TimeMeta;
 
@@ -45,6 +46,11 @@ import static org.apache.tajo.common.TajoDataTypes.Type.TIMESTAMP;
   paramTypes = {@ParamTypes(paramTypes = {TajoDataTypes.Type.TIMESTAMP, TajoDataTypes.Type.TEXT})}
 )
 public class ToCharTimestamp extends GeneralFunction {
+  @Expose protected boolean isPatternConstant;
+
+  // transient variables
+  private CompiledDateTimeFormat compiled;
+
   public ToCharTimestamp() {
     super(new Column[] {
         new Column("timestamp", TIMESTAMP),
@@ -54,6 +60,7 @@ public class ToCharTimestamp extends GeneralFunction {
 
   @Override
   public void init(FunctionEval.ParamType[] paramTypes) {
+    isPatternConstant = paramTypes[1] == FunctionEval.ParamType.CONSTANT;
   }
 
   @Override
@@ -66,8 +73,15 @@ public class ToCharTimestamp extends GeneralFunction {
     TimeMeta tm = valueDatum.toTimeMeta();
     DateTimeUtil.toUserTimezone(tm);
 
-    Datum pattern = params.get(1);
+    CompiledDateTimeFormat format = compiled;
+    if (format == null) {
+      format = CompiledDateTimeFormat.compile(params.get(1).asChars());
+      // if a pattern is a constant, it will be reused in every call
+      if (isPatternConstant) {
+        compiled = format;
+      }
+    }
 
-    return DatumFactory.createText(DateTimeFormat.to_char(tm, pattern.asChars()));
+    return DatumFactory.createText(format.format(tm));
   }
 }
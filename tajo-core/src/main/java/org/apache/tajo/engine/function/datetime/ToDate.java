@@ -18,6 +18,7 @@
 
 package org.apache.tajo.engine.function.datetime;
 
+import com.google.gson.annotations.Expose;
 import org.apache.tajo.catalog.Column;
 import org.apache.tajo.common.TajoDataTypes;
 import org.apache.tajo.datum.DateDatum;
@@ -26,8 +27,9 @@ import org.apache.tajo.datum.NullDatum;
 import org.apache.tajo.plan.function.GeneralFunction;
 import org.apache.tajo.engine.function.annotation.Description;
 import org.apache.tajo.engine.function.annotation.ParamTypes;
+import org.apache.tajo.plan.expr.FunctionEval.ParamType;
 import org.apache.tajo.storage.Tuple;
-import org.apache.tajo.util.datetime.DateTimeFormat;
+import org.apache.tajo.util.datetime.CompiledDateTimeFormat;
 import org.apache.tajo.util.datetime.DateTimeUtil;
 import org.apache.tajo.util.datetime.TimeMeta;
 
@@ -40,22 +42,39 @@ import org.apache.tajo.util.datetime.TimeMeta;
     paramTypes = {@ParamTypes(paramTypes = {TajoDataTypes.Type.TEXT, TajoDataTypes.Type.TEXT})}
 )
 public class ToDate extends GeneralFunction {
+  @Expose protected boolean isPatternConstant;
+
+  // transient variables
+  private CompiledDateTimeFormat compiled;
+
   public ToDate() {
     super(new Column[]{
         new Column("string", TajoDataTypes.Type.TEXT),
         new Column("format", TajoDataTypes.Type.TEXT)});
   }
 
+  @Override
+  public void init(ParamType[] paramTypes) {
+    isPatternConstant = paramTypes[1] == ParamType.CONSTANT;
+  }
+
   @Override
   public Datum eval(Tuple params) {
     if(params.isNull(0) || params.isNull(1)) {
       return NullDatum.get();
     }
 
-    String value = params.get(0).asChars();
-    String pattern = params.get(1).asChars();
+    CompiledDateTimeFormat format = compiled;
+    if (format == null) {
+      format = CompiledDateTimeFormat.compile(params.get(1).asChars());
+      // if a pattern is a constant, it will be reused in every call
+      if (isPatternConstant) {
+        compiled = format;
+      }
+    }
 
-    TimeMeta tm = DateTimeFormat.parseDateTime(value, pattern);
+    byte[] value = params.get(0).asTextBytes();
+    TimeMeta tm = format.parse(value, 0, value.length);
 
     return new DateDatum(DateTimeUtil.date2j(tm.years, tm.monthOfYear, tm.dayOfMonth));
   }
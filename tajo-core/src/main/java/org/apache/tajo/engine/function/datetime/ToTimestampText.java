@@ -18,14 +18,16 @@
 
 package org.apache.tajo.engine.function.datetime;
 
+import com.google.gson.annotations.Expose;
 import org.apache.tajo.catalog.Column;
 import org.apache.tajo.common.TajoDataTypes;
 import org.apache.tajo.datum.*;
 import org.apache.tajo.plan.function.GeneralFunction;
 import org.apache.tajo.engine.function.annotation.Description;
 import org.apache.tajo.engine.function.annotation.ParamTypes;
+import org.apache.tajo.plan.expr.FunctionEval.ParamType;
 import org.apache.tajo.storage.Tuple;
-import org.apache.tajo.util.datetime.DateTimeFormat;
+import org.apache.tajo.util.datetime.CompiledDateTimeFormat;
 import org.apache.tajo.util.datetime.DateTimeUtil;
 import org.apache.tajo.util.datetime.TimeMeta;
 
@@ -41,10 +43,20 @@ import static org.apache.tajo.common.TajoDataTypes.Type.TEXT;
     paramTypes = {@ParamTypes(paramTypes = {TajoDataTypes.Type.TEXT, TajoDataTypes.Type.TEXT})}
 )
 public class ToTimestampText extends GeneralFunction {
+  @Expose protected boolean isPatternConstant;
+
+  // transient variables
+  private CompiledDateTimeFormat compiled;
+
   public ToTimestampText() {
     super(new Column[]{new Column("DateTimeText", TEXT), new Column("Pattern", TEXT)});
   }
 
+  @Override
+  public void init(ParamType[] paramTypes) {
+    isPatternConstant = paramTypes[1] == ParamType.CONSTANT;
+  }
+
   @Override
   public Datum eval(Tuple params) {
     if(params.isNull(0) || params.isNull(1)) {
@@ -52,9 +64,17 @@ public class ToTimestampText extends GeneralFunction {
     }
 
     TextDatum dateTimeTextDatum = (TextDatum) params.get(0);
-    TextDatum patternDatum = (TextDatum) params.get(1);
+    CompiledDateTimeFormat format = compiled;
+    if (format == null) {
+      format = CompiledDateTimeFormat.compile(params.get(1).asChars());
+      // if a pattern is a constant, it will be reused in every call
+      if (isPatternConstant) {
+        compiled = format;
+      }
+    }
 
-    TimeMeta tm = DateTimeFormat.parseDateTime(dateTimeTextDatum.asChars(), patternDatum.asChars());
+    byte[] bytes = dateTimeTextDatum.asTextBytes();
+    TimeMeta tm = format.parse(bytes, 0, bytes.length);
     DateTimeUtil.toUTCTimezone(tm);
 
     return new TimestampDatum(DateTimeUtil.toJulianTimestamp(tm));
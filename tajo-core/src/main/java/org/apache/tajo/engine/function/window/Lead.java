@@ -0,0 +1,59 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.engine.function.window;
+
+import org.apache.tajo.catalog.Column;
+import org.apache.tajo.datum.Datum;
+import org.apache.tajo.datum.NullDatum;
+import org.apache.tajo.plan.function.FunctionContext;
+import org.apache.tajo.storage.Tuple;
+
+/**
+ * lead(value [, offset [, default]]) returns the value of the row which is offset rows (1 by default) after the
+ * current row in a partition, or the default value (null by default) if there is no such row.
+ *
+ * The planner gives it the frame from the current row to the offset following row, so the row is the last one of
+ * a frame including (offset + 1) rows.
+ */
+public abstract class Lead extends LastValue {
+
+  public Lead(Column[] definedArgs) {
+    super(definedArgs);
+  }
+
+  @Override
+  public void eval(FunctionContext ctx, Tuple params) {
+    FrameValueContext valueCtx = (FrameValueContext) ctx;
+    if (valueCtx.count == 0) {
+      valueCtx.offset = params.size() > 1 ? params.get(1).asInt8() : 1;
+      valueCtx.defaultValue = params.size() > 2 ? params.get(2) : NullDatum.get();
+    }
+    super.eval(ctx, params);
+  }
+
+  @Override
+  public Datum terminate(FunctionContext ctx) {
+    FrameValueContext valueCtx = (FrameValueContext) ctx;
+    if (valueCtx.count == valueCtx.offset + 1) {
+      return valueCtx.value;
+    } else {
+      return valueCtx.defaultValue != null ? valueCtx.defaultValue : NullDatum.get();
+    }
+  }
+}
@@ -338,6 +338,10 @@ public class SQLAnalyzer extends SQLParserBaseVisitor<Expr> {
       }
     } else if (checkIfExist(functionType.ROW_NUMBER())) {
       functionBody = new GeneralSetFunctionExpr("row_number", false, new Expr[] {});
+    } else if (checkIfExist(functionType.routine_invocation())) { // e.g., lag(), first_value()
+      FunctionExpr function = visitRoutine_invocation(functionType.routine_invocation());
+      Expr [] params = function.hasParams() ? function.getParams() : new Expr[] {};
+      functionBody = new GeneralSetFunctionExpr(function.getSignature(), false, params);
     } else {
       functionBody = visitAggregate_function(functionType.aggregate_function());
     }
@@ -404,10 +408,11 @@ public class SQLAnalyzer extends SQLParserBaseVisitor<Expr> {
           WindowSpec.WindowEndBound endBound = buildWindowEndBound(between.window_frame_end_bound());
 
           windowFrame = new WindowSpec.WindowFrame(unit, startBound, endBound);
-        } else { // if there is only start bound
+        } else { // if there is only start bound, the frame ends at the current row
           WindowSpec.WindowStartBound startBound =
               buildWindowStartBound(frameContext.window_frame_extent().window_frame_start_bound());
-          windowFrame = new WindowSpec.WindowFrame(unit, startBound);
+          windowFrame = new WindowSpec.WindowFrame(unit, startBound,
+              new WindowSpec.WindowEndBound(WindowFrameEndBoundType.CURRENT_ROW));
         }
 
         windowSpec.setWindowFrame(windowFrame);
@@ -45,6 +45,7 @@ import org.apache.tajo.ipc.TajoWorkerProtocol.DistinctGroupbyEnforcer.DistinctAg
 import org.apache.tajo.ipc.TajoWorkerProtocol.DistinctGroupbyEnforcer.MultipleAggregationStage;
 import org.apache.tajo.ipc.TajoWorkerProtocol.DistinctGroupbyEnforcer.SortSpecArray;
 import org.apache.tajo.plan.LogicalPlan;
+import org.apache.tajo.plan.expr.WindowFunctionEval;
 import org.apache.tajo.plan.logical.*;
 import org.apache.tajo.plan.util.PlannerUtil;
 import org.apache.tajo.storage.BaseTupleComparator;
@@ -60,6 +61,7 @@ import org.apache.tajo.worker.TaskAttemptContext;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Stack;
 
@@ -157,6 +159,18 @@ public class PhysicalPlannerImpl implements PhysicalPlanner {
 
       case PROJECTION:
         ProjectionNode prjNode = (ProjectionNode) logicalNode;
+        if (ctx.getQueryContext().getBool(SessionVars.CODEGEN) && prjNode.getChild().getType() == NodeType.SELECTION) {
+          // the selection and the projection are compiled into a single pipeline
+          SelectionNode childSelNode = prjNode.getChild();
+          stack.push(prjNode);
+          stack.push(childSelNode);
+          leftExec = createPlanRecursive(ctx, childSelNode.getChild(), stack);
+          stack.pop();
+          stack.pop();
+
+          return new SelectionProjectionExec(ctx, prjNode, childSelNode, leftExec);
+        }
+
         stack.push(prjNode);
         leftExec = createPlanRecursive(ctx, prjNode.getChild(), stack);
         stack.pop();
@@ -676,7 +690,7 @@ public class PhysicalPlannerImpl implements PhysicalPlanner {
         default:
           LOG.error("Invalid Left Semi Join Algorithm Enforcer: " + algorithm.name());
           LOG.error("Choose a fallback inner join algorithm: " + JoinAlgorithm.IN_MEMORY_HASH_JOIN.name());
-          return new HashLeftOuterJoinExec(context, plan, leftExec, rightExec);
+          return new HashLeftSemiJoinExec(context, plan, leftExec, rightExec);
       }
     } else {
       LOG.info("Left Semi Join (" + plan.getPID() +") chooses [In Memory Hash Join].");
@@ -720,16 +734,16 @@ public class PhysicalPlannerImpl implements PhysicalPlanner {
       JoinAlgorithm algorithm = property.getJoin().getAlgorithm();
       switch (algorithm) {
         case IN_MEMORY_HASH_JOIN:
-          LOG.info("Left Semi Join (" + plan.getPID() +") chooses [In Memory Hash Join].");
+          LOG.info("Left Anti Join (" + plan.getPID() +") chooses [In Memory Hash Join].");
           return new HashLeftAntiJoinExec(context, plan, leftExec, rightExec);
 
         default:
-          LOG.error("Invalid Left Semi Join Algorithm Enforcer: " + algorithm.name());
+          LOG.error("Invalid Left Anti Join Algorithm Enforcer: " + algorithm.name());
           LOG.error("Choose a fallback inner join algorithm: " + JoinAlgorithm.IN_MEMORY_HASH_JOIN.name());
           return new HashLeftAntiJoinExec(context, plan, leftExec, rightExec);
       }
     } else {
-      LOG.info("Left Semi Join (" + plan.getPID() +") chooses [In Memory Hash Join].");
+      LOG.info("Left Anti Join (" + plan.getPID() +") chooses [In Memory Hash Join].");
       return new HashLeftAntiJoinExec(context, plan, leftExec, rightExec);
     }
   }
@@ -1024,25 +1038,63 @@ public class PhysicalPlannerImpl implements PhysicalPlanner {
     }
   }
 
+  /**
+   * Window functions having the same order keys are evaluated by a {@link WindowAggExec}. If there are functions having
+   * different order keys, it chains a sort and a window operator for each group of functions.
+   */
   public PhysicalExec createWindowAgg(TaskAttemptContext context,WindowAggNode windowAggNode, PhysicalExec subOp)
       throws IOException {
+    Column[] grpColumns = windowAggNode.hasPartitionKeys() ? windowAggNode.getPartitionKeys() : new Column[0];
+    WindowFunctionEval[] functions =
+        windowAggNode.hasAggFunctions() ? windowAggNode.getWindowFunctions() : new WindowFunctionEval[0];
+
+    // group window functions by their order keys
+    List<SortSpec[]> orderKeyGroups = new ArrayList<SortSpec[]>();
+    List<List<Integer>> functionIdGroups = new ArrayList<List<Integer>>();
+    for (int i = 0; i < functions.length; i++) {
+      SortSpec[] orderKeys = functions[i].hasSortSpecs() ? functions[i].getSortSpecs() : new SortSpec[0];
+      int groupId = 0;
+      while (groupId < orderKeyGroups.size() && !Arrays.equals(orderKeyGroups.get(groupId), orderKeys)) {
+        groupId++;
+      }
+      if (groupId == orderKeyGroups.size()) {
+        orderKeyGroups.add(orderKeys);
+        functionIdGroups.add(new ArrayList<Integer>());
+      }
+      functionIdGroups.get(groupId).add(i);
+    }
+    if (orderKeyGroups.isEmpty()) {
+      orderKeyGroups.add(new SortSpec[0]);
+      functionIdGroups.add(new ArrayList<Integer>());
+    }
+
     PhysicalExec child = subOp;
-    if (windowAggNode.hasPartitionKeys()) {
-      Column[] grpColumns = windowAggNode.getPartitionKeys();
-      SortSpec[] sortSpecs = new SortSpec[grpColumns.length];
+    for (int groupId = 0; groupId < orderKeyGroups.size(); groupId++) {
+      SortSpec[] orderKeys = orderKeyGroups.get(groupId);
+      SortSpec[] sortSpecs = new SortSpec[grpColumns.length + orderKeys.length];
       for (int i = 0; i < grpColumns.length; i++) {
         sortSpecs[i] = new SortSpec(grpColumns[i], true, false);
       }
+      System.arraycopy(orderKeys, 0, sortSpecs, grpColumns.length, orderKeys.length);
+
+      if (sortSpecs.length > 0) {
+        SortNode sortNode = LogicalPlan.createNodeWithoutPID(SortNode.class);
+        sortNode.setSortSpecs(sortSpecs);
+        sortNode.setInSchema(child.getSchema());
+        sortNode.setOutSchema(child.getSchema());
+        child = new ExternalSortExec(context, sm, sortNode, child);
+        LOG.info("The planner chooses [Sort Aggregation] in (" + TUtil.arrayToString(sortSpecs) + ")");
+      }
 
-      SortNode sortNode = LogicalPlan.createNodeWithoutPID(SortNode.class);
-      sortNode.setSortSpecs(sortSpecs);
-      sortNode.setInSchema(subOp.getSchema());
-      sortNode.setOutSchema(subOp.getSchema());
-      child = new ExternalSortExec(context, sm, sortNode, subOp);
-      LOG.info("The planner chooses [Sort Aggregation] in (" + TUtil.arrayToString(sortSpecs) + ")");
+      List<Integer> functionIds = functionIdGroups.get(groupId);
+      int[] functionIdArray = new int[functionIds.size()];
+      for (int i = 0; i < functionIdArray.length; i++) {
+        functionIdArray[i] = functionIds.get(i);
+      }
+      child = new WindowAggExec(context, windowAggNode, child, functionIdArray, groupId == orderKeyGroups.size() - 1);
     }
 
-    return new WindowAggExec(context, windowAggNode, child);
+    return child;
   }
 
   public PhysicalExec createDistinctGroupByPlan(TaskAttemptContext context,
@@ -20,12 +20,25 @@ package org.apache.tajo.engine.planner;
 
 import org.apache.tajo.SessionVars;
 import org.apache.tajo.catalog.Schema;
+import org.apache.tajo.common.TajoDataTypes.Type;
+import org.apache.tajo.datum.Datum;
+import org.apache.tajo.datum.DatumFactory;
+import org.apache.tajo.datum.NullDatum;
 import org.apache.tajo.plan.util.PlannerUtil;
 import org.apache.tajo.plan.Target;
+import org.apache.tajo.plan.expr.CommonSubexprElimination;
 import org.apache.tajo.plan.expr.EvalNode;
+import org.apache.tajo.plan.expr.EvalType;
+import org.apache.tajo.storage.FrameTuple;
 import org.apache.tajo.storage.Tuple;
+import org.apache.tajo.storage.VTuple;
 import org.apache.tajo.worker.TaskAttemptContext;
 
+/**
+ * It evaluates projection targets, and optionally a selection condition before them. Without code generation,
+ * subexpressions shared by the condition and the targets are evaluated once per row into hidden columns (see
+ * {@link CommonSubexprElimination}).
+ */
 public class Projector {
   private final TaskAttemptContext context;
   private final Schema inSchema;
@@ -34,10 +47,32 @@ public class Projector {
   // for projection
   private final int targetNum;
   private final EvalNode[] evals;
+  // the result type of each eval which is evaluated through the typed evaluation, or null
+  private final Type[] typedResults;
+
+  // for selection
+  private EvalNode qual;
+
+  // for common subexpressions. The evals are evaluated against the input schema followed by hidden columns.
+  private Schema evalSchema;
+  private EvalNode[] sharedExprs;
+  private int qualSharedNum;
+  private Tuple sharedValues;
+  private FrameTuple frameTuple;
 
   public Projector(TaskAttemptContext context, Schema inSchema, Schema outSchema, Target [] targets) {
+    this(context, inSchema, outSchema, targets, null);
+  }
+
+  /**
+   * @param qual The selection condition evaluated by {@link #evalIfMatched(Tuple, Tuple)}. It can be null.
+   */
+  public Projector(TaskAttemptContext context, Schema inSchema, Schema outSchema, Target [] targets,
+                   EvalNode qual) {
     this.context = context;
     this.inSchema = inSchema;
+    this.evalSchema = inSchema;
+    this.qual = qual;
     if (targets == null) {
       this.targets = PlannerUtil.schemaToTargets(outSchema);
     } else {
@@ -47,22 +82,155 @@ public class Projector {
     this.targetNum = this.targets.length;
     evals = new EvalNode[targetNum];
 
-    if (context.getQueryContext().getBool(SessionVars.CODEGEN)) {
+    boolean codegen = context.getQueryContext().getBool(SessionVars.CODEGEN);
+    if (codegen) {
       EvalNode eval;
       for (int i = 0; i < targetNum; i++) {
         eval = this.targets[i].getEvalTree();
         evals[i] = context.getPrecompiledEval(inSchema, eval);
       }
+      if (qual != null) {
+        this.qual = context.getPrecompiledEval(inSchema, qual);
+      }
     } else {
       for (int i = 0; i < targetNum; i++) {
         evals[i] = this.targets[i].getEvalTree();
       }
+      eliminateCommonSubexprs();
+    }
+
+    typedResults = new Type[targetNum];
+    for (int i = 0; i < targetNum; i++) {
+      // compiled evals do not create intermediate datums
+      if (!codegen || evals[i] == this.targets[i].getEvalTree()) {
+        typedResults[i] = getTypedResult(evals[i]);
+      }
+    }
+  }
+
+  private void eliminateCommonSubexprs() {
+    CommonSubexprElimination cse = CommonSubexprElimination.eliminate(inSchema, qual, evals);
+    if (cse.hasSharedExprs()) {
+      evalSchema = cse.getSchema();
+      sharedExprs = cse.getSharedExprs();
+      qualSharedNum = cse.getQualSharedNum();
+      qual = cse.getQual();
+      System.arraycopy(cse.getTargets(), 0, evals, 0, targetNum);
+      sharedValues = new VTuple(sharedExprs.length);
+      frameTuple = new FrameTuple();
     }
   }
 
+  private static Type getTypedResult(EvalNode eval) {
+    // only these evals skip intermediate datums, and fields and constants return datums without creating them.
+    EvalType evalType = eval.getType();
+    if (!EvalType.isArithmeticOperator(evalType) && !EvalType.isComparisonOperator(evalType) &&
+        !EvalType.isLogicalOperator(evalType) && evalType != EvalType.CAST && evalType != EvalType.CASE) {
+      return null;
+    }
+
+    Type type = eval.getValueType().getType();
+    switch (type) {
+    case BOOLEAN:
+    case INT2:
+    case INT4:
+    case INT8:
+    case FLOAT4:
+    case FLOAT8:
+      return type;
+    default:
+      return null;
+    }
+  }
+
+  /**
+   * @return The targets, which are derived from the output schema if no target is given
+   */
+  public Target[] getTargets() {
+    return targets;
+  }
+
   public void eval(Tuple in, Tuple out) {
+    Tuple tuple = in;
+    if (sharedExprs != null) {
+      tuple = bindSharedValues(in);
+      evalSharedExprs(tuple, 0, sharedExprs.length);
+    }
+    evalTargets(tuple, out);
+  }
+
+  /**
+   * It evaluates the targets only if an input tuple satisfies the selection condition.
+   *
+   * @return True if the input tuple satisfies the condition
+   */
+  public boolean evalIfMatched(Tuple in, Tuple out) {
+    Tuple tuple = in;
+    if (sharedExprs != null) {
+      tuple = bindSharedValues(in);
+      evalSharedExprs(tuple, 0, qualSharedNum);
+    }
+    if (qual != null && !qual.evalBoolean(evalSchema, tuple)) {
+      return false;
+    }
+    if (sharedExprs != null) {
+      evalSharedExprs(tuple, qualSharedNum, sharedExprs.length);
+    }
+    evalTargets(tuple, out);
+    return true;
+  }
+
+  private Tuple bindSharedValues(Tuple in) {
+    frameTuple.set(in, sharedValues);
+    return frameTuple;
+  }
+
+  private void evalSharedExprs(Tuple tuple, int from, int to) {
+    for (int i = from; i < to; i++) {
+      sharedValues.put(i, sharedExprs[i].eval(evalSchema, tuple));
+    }
+  }
+
+  private void evalTargets(Tuple tuple, Tuple out) {
     for (int i = 0; i < evals.length; i++) {
-      out.put(i, evals[i].eval(inSchema, in));
+      if (typedResults[i] == null) {
+        out.put(i, evals[i].eval(evalSchema, tuple));
+      } else {
+        out.put(i, evalTyped(evals[i], typedResults[i], tuple));
+      }
+    }
+  }
+
+  /**
+   * It evaluates an expression without creating intermediate datums, and creates only the datum of the result.
+   */
+  private Datum evalTyped(EvalNode eval, Type type, Tuple in) {
+    switch (type) {
+    case BOOLEAN: {
+      boolean value = eval.evalBoolean(evalSchema, in);
+      return eval.wasNull() ? NullDatum.get() : DatumFactory.createBool(value);
+    }
+    case FLOAT4:
+    case FLOAT8: {
+      double value = eval.evalDouble(evalSchema, in);
+      if (eval.wasNull()) {
+        return NullDatum.get();
+      }
+      return type == Type.FLOAT4 ? DatumFactory.createFloat4((float) value) : DatumFactory.createFloat8(value);
+    }
+    default: {
+      long value = eval.evalLong(evalSchema, in);
+      if (eval.wasNull()) {
+        return NullDatum.get();
+      }
+      if (type == Type.INT2) {
+        return DatumFactory.createInt2((short) value);
+      } else if (type == Type.INT4) {
+        return DatumFactory.createInt4((int) value);
+      } else {
+        return DatumFactory.createInt8(value);
+      }
+    }
     }
   }
 }
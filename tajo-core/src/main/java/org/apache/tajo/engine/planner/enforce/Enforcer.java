@@ -20,6 +20,7 @@ package org.apache.tajo.engine.planner.enforce;
 
 
 import org.apache.tajo.annotation.Nullable;
+import org.apache.tajo.catalog.Column;
 import org.apache.tajo.catalog.SortSpec;
 import org.apache.tajo.catalog.proto.CatalogProtos;
 import org.apache.tajo.common.ProtoObject;
@@ -211,6 +212,31 @@ public class Enforcer implements ProtoObject<EnforcerProto> {
     TUtil.putToNestedList(properties, builder.getType(), builder.build());
   }
 
+  public void addJoinFilterBuild(int numBits, int numHashes) {
+    EnforceProperty.Builder builder = newProperty();
+    JoinFilterBuildEnforce.Builder enforce = JoinFilterBuildEnforce.newBuilder();
+    enforce.setNumBits(numBits);
+    enforce.setNumHashes(numHashes);
+
+    builder.setType(EnforceType.JOIN_FILTER_BUILD);
+    builder.setJoinFilterBuild(enforce);
+    TUtil.putToNestedList(properties, builder.getType(), builder.build());
+  }
+
+  public void addJoinFilter(String tableName, Column[] keys, JoinFilterProto filter) {
+    EnforceProperty.Builder builder = newProperty();
+    JoinFilterEnforce.Builder enforce = JoinFilterEnforce.newBuilder();
+    enforce.setTableName(tableName);
+    for (Column key : keys) {
+      enforce.addKeys(key.getProto());
+    }
+    enforce.setFilter(filter);
+
+    builder.setType(EnforceType.JOIN_FILTER);
+    builder.setJoinFilter(enforce);
+    TUtil.putToNestedList(properties, builder.getType(), builder.build());
+  }
+
   public Collection<EnforceProperty> getProperties() {
     if (proto != null) {
       return proto.getPropertiesList();
@@ -326,6 +352,22 @@ public class Enforcer implements ProtoObject<EnforcerProto> {
     case SORTED_INPUT:
       SortedInputEnforce sortedInput = property.getSortedInput();
       sb.append("sorted input=" + sortedInput.getTableName());
+      break;
+    case JOIN_FILTER_BUILD:
+      JoinFilterBuildEnforce filterBuild = property.getJoinFilterBuild();
+      sb.append("type=JoinFilterBuild,bits=").append(filterBuild.getNumBits())
+          .append(",hashes=").append(filterBuild.getNumHashes());
+      break;
+    case JOIN_FILTER:
+      JoinFilterEnforce joinFilter = property.getJoinFilter();
+      sb.append("type=JoinFilter,table=").append(joinFilter.getTableName()).append(",keys=");
+      String keyDelim = "";
+      for (CatalogProtos.ColumnProto key : joinFilter.getKeysList()) {
+        sb.append(keyDelim).append(key.getName());
+        keyDelim = ",";
+      }
+      sb.append(",numKeys=").append(joinFilter.getFilter().getNumKeys());
+      break;
     }
 
     return sb.toString();
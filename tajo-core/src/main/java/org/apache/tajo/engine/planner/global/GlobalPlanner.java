@@ -299,7 +299,9 @@ public class GlobalPlanner {
       // Checking Left Side of Join
       if (ScanNode.isScanNode(leftNode)) {
         ScanNode scanNode = (ScanNode)leftNode;
-        if (joinNode.getJoinType() == JoinType.LEFT_OUTER || getTableVolume(scanNode) >= broadcastTableSizeLimit) {
+        // the rows of a preserved or semi joined relation must not be duplicated to all tasks
+        if (joinNode.getJoinType() == JoinType.LEFT_OUTER || PlannerUtil.isLeftSemiOrAntiJoin(joinNode.getJoinType())
+            || getTableVolume(scanNode) >= broadcastTableSizeLimit) {
           numLargeTables++;
         } else {
           leftBroadcast = true;
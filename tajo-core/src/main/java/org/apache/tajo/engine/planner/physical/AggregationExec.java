@@ -20,8 +20,12 @@ package org.apache.tajo.engine.planner.physical;
 
 import org.apache.tajo.catalog.Column;
 import org.apache.tajo.catalog.Schema;
+import org.apache.tajo.engine.codegen.CompilationError;
+import org.apache.tajo.engine.codegen.CompiledAggregation;
 import org.apache.tajo.plan.expr.AggregationFunctionCallEval;
+import org.apache.tajo.plan.function.FunctionContext;
 import org.apache.tajo.plan.logical.GroupbyNode;
+import org.apache.tajo.storage.Tuple;
 import org.apache.tajo.worker.TaskAttemptContext;
 
 import java.io.IOException;
@@ -36,6 +40,8 @@ public abstract class AggregationExec extends UnaryPhysicalExec {
 
   protected Schema evalSchema;
 
+  private CompiledAggregation compiledAggregation;
+
   public AggregationExec(final TaskAttemptContext context, GroupbyNode plan,
                          PhysicalExec child) throws IOException {
     super(context, plan.getInSchema(), plan.getOutSchema(), child);
@@ -65,9 +71,30 @@ public abstract class AggregationExec extends UnaryPhysicalExec {
     }
   }
 
+  @Override
+  protected void compile() throws CompilationError {
+    if (aggFunctionsNum > 0) {
+      compiledAggregation = context.getCompiledAggregation(inSchema, aggFunctions);
+    }
+  }
+
+  /**
+   * Updates the aggregation contexts of a group with an input tuple.
+   */
+  protected void merge(FunctionContext [] contexts, Tuple tuple) {
+    if (compiledAggregation != null) {
+      compiledAggregation.merge(inSchema, tuple, aggFunctions, contexts);
+    } else {
+      for (int i = 0; i < aggFunctionsNum; i++) {
+        aggFunctions[i].merge(contexts[i], inSchema, tuple);
+      }
+    }
+  }
+
   @Override
   public void close() throws IOException {
     super.close();
     plan = null;
+    compiledAggregation = null;
   }
 }
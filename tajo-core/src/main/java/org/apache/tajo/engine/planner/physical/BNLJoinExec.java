@@ -200,7 +200,7 @@ public class BNLJoinExec extends BinaryPhysicalExec {
 
       frameTuple.set(leftTuple, rightIterator.next());
       if (hasJoinQual) {
-        if (joinQual.eval(inSchema, frameTuple).isTrue()) {
+        if (joinQual.evalBoolean(inSchema, frameTuple)) {
           projector.eval(frameTuple, outputTuple);
           return outputTuple;
         }
@@ -110,7 +110,7 @@ public class BSTIndexScanExec extends PhysicalExec {
       }
     } else {
        while(reader.isCurInMemory() && (tuple = fileScanner.next()) != null) {
-         if (qual.eval(inSchema, tuple).isTrue()) {
+         if (qual.evalBoolean(inSchema, tuple)) {
            projector.eval(tuple, outTuple);
            return outTuple;
          } else {
@@ -75,6 +75,8 @@ public class BasicPhysicalExecutorVisitor<CONTEXT, RESULT> implements PhysicalEx
       return visitRightOuterMergeJoin(context, (RightOuterMergeJoinExec) exec, stack);
     } else if (exec instanceof SelectionExec) {
       return visitSelection(context, (SelectionExec) exec, stack);
+    } else if (exec instanceof SelectionProjectionExec) {
+      return visitSelectionProjection(context, (SelectionProjectionExec) exec, stack);
     } else if (exec instanceof SeqScanExec) {
       return visitSeqScan(context, (SeqScanExec) exec, stack);
     } else if (exec instanceof SortAggregateExec) {
@@ -243,6 +245,12 @@ public class BasicPhysicalExecutorVisitor<CONTEXT, RESULT> implements PhysicalEx
     return visitUnaryExecutor(context, exec, stack);
   }
 
+  @Override
+  public RESULT visitSelectionProjection(CONTEXT context, SelectionProjectionExec exec, Stack<PhysicalExec> stack)
+      throws PhysicalPlanningException {
+    return visitUnaryExecutor(context, exec, stack);
+  }
+
   @Override
   public RESULT visitSeqScan(CONTEXT context, SeqScanExec exec, Stack<PhysicalExec> stack) {
     return null;
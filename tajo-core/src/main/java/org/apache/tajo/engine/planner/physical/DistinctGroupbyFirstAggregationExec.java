@@ -20,10 +20,12 @@ package org.apache.tajo.engine.planner.physical;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.apache.tajo.SessionVars;
 import org.apache.tajo.catalog.Column;
 import org.apache.tajo.catalog.statistics.TableStats;
 import org.apache.tajo.datum.Int2Datum;
 import org.apache.tajo.datum.NullDatum;
+import org.apache.tajo.engine.codegen.CompiledAggregation;
 import org.apache.tajo.plan.expr.AggregationFunctionCallEval;
 import org.apache.tajo.plan.function.FunctionContext;
 import org.apache.tajo.plan.logical.DistinctGroupbyNode;
@@ -236,6 +238,7 @@ public class DistinctGroupbyFirstAggregationExec extends PhysicalExec {
     private GroupbyNode groupbyNode;
     private int aggFunctionsNum;
     private final AggregationFunctionCallEval aggFunctions[];
+    private CompiledAggregation compiledAggregation;
 
     // GroupingKey -> FunctionContext[]
     private Map<Tuple, FunctionContext[]> nonDistinctAggrDatas;
@@ -263,20 +266,32 @@ public class DistinctGroupbyFirstAggregationExec extends PhysicalExec {
         dummyTuple.put(i, NullDatum.get());
       }
       tupleLength = aggFunctionsNum;
+
+      if (context.getQueryContext().getBool(SessionVars.CODEGEN)) {
+        compiledAggregation = context.getCompiledAggregation(inSchema, aggFunctions);
+      }
+    }
+
+    private void merge(FunctionContext[] contexts, Tuple tuple) {
+      if (compiledAggregation != null) {
+        compiledAggregation.merge(inSchema, tuple, aggFunctions, contexts);
+      } else {
+        for (int i = 0; i < aggFunctionsNum; i++) {
+          aggFunctions[i].merge(contexts[i], inSchema, tuple);
+        }
+      }
     }
 
     public void compute(Tuple groupingKeyTuple, Tuple tuple) {
       FunctionContext[] contexts = nonDistinctAggrDatas.get(groupingKeyTuple);
       if (contexts != null) {
-        for (int i = 0; i < aggFunctions.length; i++) {
-          aggFunctions[i].merge(contexts[i], inSchema, tuple);
-        }
+        merge(contexts, tuple);
       } else { // if the key occurs firstly
         contexts = new FunctionContext[aggFunctionsNum];
         for (int i = 0; i < aggFunctionsNum; i++) {
           contexts[i] = aggFunctions[i].newContext();
-          aggFunctions[i].merge(contexts[i], inSchema, tuple);
         }
+        merge(contexts, tuple);
         nonDistinctAggrDatas.put(groupingKeyTuple, contexts);
       }
     }
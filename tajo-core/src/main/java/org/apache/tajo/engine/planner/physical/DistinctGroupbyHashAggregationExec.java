@@ -18,11 +18,13 @@
 
 package org.apache.tajo.engine.planner.physical;
 
+import org.apache.tajo.SessionVars;
 import org.apache.tajo.catalog.Column;
 import org.apache.tajo.catalog.Schema;
 import org.apache.tajo.catalog.statistics.TableStats;
 import org.apache.tajo.datum.DatumFactory;
 import org.apache.tajo.datum.NullDatum;
+import org.apache.tajo.engine.codegen.CompiledAggregation;
 import org.apache.tajo.plan.expr.AggregationFunctionCallEval;
 import org.apache.tajo.plan.function.FunctionContext;
 import org.apache.tajo.plan.logical.DistinctGroupbyNode;
@@ -336,6 +338,7 @@ public class DistinctGroupbyHashAggregationExec extends PhysicalExec {
     private int groupingKeyIds[];
     private final int aggFunctionsNum;
     private final AggregationFunctionCallEval aggFunctions[];
+    private CompiledAggregation compiledAggregation;
 
     private Schema evalSchema;
 
@@ -384,6 +387,20 @@ public class DistinctGroupbyHashAggregationExec extends PhysicalExec {
       }
 
       tupleSize = groupingKeyIds.length + aggFunctionsNum;
+
+      if (context.getQueryContext().getBool(SessionVars.CODEGEN)) {
+        compiledAggregation = context.getCompiledAggregation(inSchema, aggFunctions);
+      }
+    }
+
+    private void merge(FunctionContext[] contexts, Tuple tuple) {
+      if (compiledAggregation != null) {
+        compiledAggregation.merge(inSchema, tuple, aggFunctions, contexts);
+      } else {
+        for (int i = 0; i < aggFunctionsNum; i++) {
+          aggFunctions[i].merge(contexts[i], inSchema, tuple);
+        }
+      }
     }
 
     public int getTupleSize() {
@@ -408,15 +425,13 @@ public class DistinctGroupbyHashAggregationExec extends PhysicalExec {
       }
       FunctionContext[] contexts = distinctEntry.get(keyTuple);
       if (contexts != null) {
-        for (int i = 0; i < aggFunctions.length; i++) {
-          aggFunctions[i].merge(contexts[i], inSchema, tuple);
-        }
+        merge(contexts, tuple);
       } else { // if the key occurs firstly
         contexts = new FunctionContext[aggFunctionsNum];
         for (int i = 0; i < aggFunctionsNum; i++) {
           contexts[i] = aggFunctions[i].newContext();
-          aggFunctions[i].merge(contexts[i], inSchema, tuple);
         }
+        merge(contexts, tuple);
         distinctEntry.put(keyTuple, contexts);
       }
     }
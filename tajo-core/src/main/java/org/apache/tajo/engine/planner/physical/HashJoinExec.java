@@ -54,6 +54,8 @@ public class HashJoinExec extends BinaryPhysicalExec {
 
   protected boolean finished = false;
   protected boolean shouldGetLeftTuple = true;
+  /** if true, only the first tuple of each join key is kept in the hash table */
+  protected boolean keepFirstTupleOnly = false;
 
   // projection
   protected final Projector projector;
@@ -135,7 +137,7 @@ public class HashJoinExec extends BinaryPhysicalExec {
       // getting a next right tuple on in-memory hash table.
       rightTuple = iterator.next();
       frameTuple.set(leftTuple, rightTuple); // evaluate a join condition on both tuples
-      if (joinQual.eval(inSchema, frameTuple).isTrue()) { // if both tuples are joinable
+      if (joinQual.evalBoolean(inSchema, frameTuple)) { // if both tuples are joinable
         projector.eval(frameTuple, outTuple);
         found = true;
       }
@@ -165,7 +167,9 @@ public class HashJoinExec extends BinaryPhysicalExec {
       List<Tuple> newValue = tupleSlots.get(keyTuple);
 
       if (newValue != null) {
-        newValue.add(tuple);
+        if (!keepFirstTupleOnly) {
+          newValue.add(tuple);
+        }
       } else {
         newValue = new ArrayList<Tuple>();
         newValue.add(tuple);
@@ -174,8 +174,8 @@ public class HashLeftOuterJoinExec extends BinaryPhysicalExec {
       frameTuple.set(leftTuple, rightTuple); // evaluate a join condition on both tuples
 
       // if there is no join filter, it is always true.
-      boolean satisfiedWithFilter = joinFilter == null ? true : joinFilter.eval(inSchema, frameTuple).isTrue();
-      boolean satisfiedWithJoinCondition = joinQual.eval(inSchema, frameTuple).isTrue();
+      boolean satisfiedWithFilter = joinFilter == null ? true : joinFilter.evalBoolean(inSchema, frameTuple);
+      boolean satisfiedWithJoinCondition = joinQual.evalBoolean(inSchema, frameTuple);
 
       // if a composited tuple satisfies with both join filter and join condition
       if (satisfiedWithFilter && satisfiedWithJoinCondition) {
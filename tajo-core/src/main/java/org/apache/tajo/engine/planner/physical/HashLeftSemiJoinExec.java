@@ -20,6 +20,7 @@ package org.apache.tajo.engine.planner.physical;
 
 import org.apache.tajo.worker.TaskAttemptContext;
 import org.apache.tajo.datum.NullDatum;
+import org.apache.tajo.plan.expr.AlgebraicUtil;
 import org.apache.tajo.plan.logical.JoinNode;
 import org.apache.tajo.storage.Tuple;
 import org.apache.tajo.storage.VTuple;
@@ -38,6 +39,10 @@ public class HashLeftSemiJoinExec extends HashJoinExec {
   public HashLeftSemiJoinExec(TaskAttemptContext context, JoinNode plan, PhysicalExec fromSideChild,
                               PhysicalExec inSideChild) {
     super(context, plan, fromSideChild, inSideChild);
+    // a left tuple is returned at most once, so only one right tuple per key is needed if all join conditions are
+    // equi-join conditions on the keys.
+    keepFirstTupleOnly = plan.hasJoinQual() &&
+        AlgebraicUtil.toConjunctiveNormalFormArray(plan.getJoinQual()).length == joinKeyPairs.size();
     // NUll Tuple
     rightNullTuple = new VTuple(leftChild.outColumnNum);
     for (int i = 0; i < leftChild.outColumnNum; i++) {
@@ -95,7 +100,7 @@ public class HashLeftSemiJoinExec extends HashJoinExec {
       while (notFound && iterator.hasNext()) {
         rightTuple = iterator.next();
         frameTuple.set(leftTuple, rightTuple);
-        if (joinQual.eval(inSchema, frameTuple).isTrue()) { // if the matched one is found
+        if (joinQual.evalBoolean(inSchema, frameTuple)) { // if the matched one is found
           notFound = false;
           projector.eval(frameTuple, outTuple);
         }
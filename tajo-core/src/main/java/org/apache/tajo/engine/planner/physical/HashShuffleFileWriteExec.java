@@ -26,6 +26,8 @@ import org.apache.tajo.catalog.Column;
 import org.apache.tajo.catalog.TableMeta;
 import org.apache.tajo.catalog.statistics.TableStats;
 import org.apache.tajo.conf.TajoConf.ConfVars;
+import org.apache.tajo.engine.planner.enforce.Enforcer;
+import org.apache.tajo.engine.utils.JoinFilter;
 import org.apache.tajo.plan.logical.ShuffleFileWriteNode;
 import org.apache.tajo.storage.StorageManager;
 import org.apache.tajo.storage.HashShuffleAppender;
@@ -39,6 +41,9 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import static org.apache.tajo.ipc.TajoWorkerProtocol.EnforceProperty.EnforceType;
+import static org.apache.tajo.ipc.TajoWorkerProtocol.JoinFilterBuildEnforce;
+
 /**
  * <code>HashShuffleFileWriteExec</code> is a physical executor to store intermediate data into a number of
  * file outputs associated with shuffle keys. The file outputs are stored on local disks.
@@ -54,6 +59,7 @@ public final class HashShuffleFileWriteExec extends UnaryPhysicalExec {
   private final int [] shuffleKeyIds;
   private HashShuffleAppenderManager hashShuffleAppenderManager;
   private int numHashShuffleBufferTuples;
+  private JoinFilter joinFilter;
 
   public HashShuffleFileWriteExec(TaskAttemptContext context, final StorageManager sm,
                                   final ShuffleFileWriteNode plan, final PhysicalExec child) throws IOException {
@@ -76,6 +82,15 @@ public final class HashShuffleFileWriteExec extends UnaryPhysicalExec {
     this.partitioner = new HashPartitioner(shuffleKeyIds, numShuffleOutputs);
     this.hashShuffleAppenderManager = context.getHashShuffleAppenderManager();
     this.numHashShuffleBufferTuples = context.getConf().getIntVar(ConfVars.SHUFFLE_HASH_APPENDER_BUFFER_SIZE);
+
+    // the global planner asks this task to summarize its shuffle keys for the other side of a join
+    Enforcer enforcer = context.getEnforcer();
+    if (enforcer != null && enforcer.hasEnforceProperty(EnforceType.JOIN_FILTER_BUILD)
+        && JoinFilter.isSupported(plan.getShuffleKeys())) {
+      JoinFilterBuildEnforce build = enforcer.getEnforceProperties(EnforceType.JOIN_FILTER_BUILD).get(0)
+          .getJoinFilterBuild();
+      this.joinFilter = new JoinFilter(plan.getShuffleKeys(), build.getNumBits(), build.getNumHashes());
+    }
   }
 
   @Override
@@ -108,6 +123,10 @@ public final class HashShuffleFileWriteExec extends UnaryPhysicalExec {
         tupleCount++;
         numRows++;
 
+        if (joinFilter != null) {
+          joinFilter.add(tuple, shuffleKeyIds);
+        }
+
         partId = partitioner.getPartition(tuple);
         List<Tuple> partitionTupleList = partitionTuples.get(partId);
         if (partitionTupleList == null) {
@@ -148,6 +167,10 @@ public final class HashShuffleFileWriteExec extends UnaryPhysicalExec {
         context.setResultStats(aggregated);
       }
 
+      if (joinFilter != null) {
+        context.setJoinFilter(joinFilter);
+      }
+
       partitionTuples.clear();
 
       return null;
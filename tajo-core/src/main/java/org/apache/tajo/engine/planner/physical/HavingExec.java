@@ -40,7 +40,7 @@ public class HavingExec extends UnaryPhysicalExec  {
   public Tuple next() throws IOException {
     Tuple tuple;
     while ((tuple = child.next()) != null) {
-      if (qual.eval(inSchema, tuple).isTrue()) {
+      if (qual.evalBoolean(inSchema, tuple)) {
         return tuple;
       }
     }
@@ -165,7 +165,7 @@ public class MergeJoinExec extends BinaryPhysicalExec {
 
       frameTuple.set(outerNext, innerIterator.next());
 
-      if (joinQual.eval(inSchema, frameTuple).isTrue()) {
+      if (joinQual.evalBoolean(inSchema, frameTuple)) {
         projector.eval(frameTuple, outTuple);
         return outTuple;
       }
@@ -85,7 +85,7 @@ public class NLJoinExec extends BinaryPhysicalExec {
 
       frameTuple.set(outerTuple, innerTuple);
       if (joinQual != null) {
-        if (joinQual.eval(inSchema, frameTuple).isTrue()) {
+        if (joinQual.evalBoolean(inSchema, frameTuple)) {
           projector.eval(frameTuple, outTuple);
           return outTuple;
         }
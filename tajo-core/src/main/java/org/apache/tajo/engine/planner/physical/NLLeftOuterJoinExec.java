@@ -106,7 +106,7 @@ public class NLLeftOuterJoinExec extends BinaryPhysicalExec {
 
       frameTuple.set(leftTuple, rightTuple);
       ;
-      if (joinQual.eval(inSchema, frameTuple).isTrue()) {
+      if (joinQual.evalBoolean(inSchema, frameTuple)) {
         projector.eval(frameTuple, outTuple);
         foundAtLeastOneMatch = true;
         return outTuple;
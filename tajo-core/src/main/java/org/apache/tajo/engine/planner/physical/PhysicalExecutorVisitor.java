@@ -94,6 +94,9 @@ public interface PhysicalExecutorVisitor<CONTEXT, RESULT> {
   RESULT visitSelection(CONTEXT context, SelectionExec exec, Stack<PhysicalExec> stack)
       throws PhysicalPlanningException;
 
+  RESULT visitSelectionProjection(CONTEXT context, SelectionProjectionExec exec, Stack<PhysicalExec> stack)
+      throws PhysicalPlanningException;
+
   RESULT visitSeqScan(CONTEXT context, SeqScanExec exec, Stack<PhysicalExec> stack)
       throws PhysicalPlanningException;
 
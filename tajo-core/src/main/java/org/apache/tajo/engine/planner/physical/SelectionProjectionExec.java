@@ -0,0 +1,97 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.engine.planner.physical;
+
+import org.apache.tajo.engine.codegen.CompilationError;
+import org.apache.tajo.engine.codegen.CompiledPipeline;
+import org.apache.tajo.engine.planner.Projector;
+import org.apache.tajo.plan.Target;
+import org.apache.tajo.plan.expr.EvalNode;
+import org.apache.tajo.plan.logical.ProjectionNode;
+import org.apache.tajo.plan.logical.SelectionNode;
+import org.apache.tajo.storage.Tuple;
+import org.apache.tajo.storage.VTuple;
+import org.apache.tajo.worker.TaskAttemptContext;
+
+import java.io.IOException;
+
+/**
+ * It fuses a selection and the projection over it. If code generation is enabled, both are evaluated by a single
+ * {@link CompiledPipeline}, and tuples filtered out are never passed to another operator.
+ */
+public class SelectionProjectionExec extends UnaryPhysicalExec {
+  private final EvalNode qual;
+  private final Target [] targets;
+
+  private Tuple outTuple;
+  private Projector projector;
+  private CompiledPipeline pipeline;
+
+  public SelectionProjectionExec(TaskAttemptContext context, ProjectionNode prjNode, SelectionNode selNode,
+                                 PhysicalExec child) {
+    super(context, selNode.getInSchema(), prjNode.getOutSchema(), child);
+    this.qual = selNode.getQual();
+    this.targets = prjNode.getTargets();
+  }
+
+  public void init() throws IOException {
+    this.outTuple = new VTuple(outSchema.size());
+    this.projector = new Projector(context, inSchema, outSchema, targets, qual);
+
+    super.init();
+  }
+
+  @Override
+  public void compile() throws CompilationError {
+    Target [] projected = projector.getTargets();
+    EvalNode [] evals = new EvalNode[projected.length];
+    for (int i = 0; i < projected.length; i++) {
+      evals[i] = projected[i].getEvalTree();
+    }
+    // if it cannot be compiled, the projector evaluates the qual and the targets.
+    pipeline = context.getCompiledPipeline(inSchema, qual, evals);
+  }
+
+  @Override
+  public Tuple next() throws IOException {
+    Tuple tuple;
+    if (pipeline != null) {
+      while ((tuple = child.next()) != null) {
+        if (pipeline.process(inSchema, tuple, outTuple)) {
+          return outTuple;
+        }
+      }
+    } else {
+      while ((tuple = child.next()) != null) {
+        if (projector.evalIfMatched(tuple, outTuple)) {
+          return outTuple;
+        }
+      }
+    }
+
+    return null;
+  }
+
+  @Override
+  public void close() throws IOException {
+    super.close();
+    pipeline = null;
+    projector = null;
+  }
+}
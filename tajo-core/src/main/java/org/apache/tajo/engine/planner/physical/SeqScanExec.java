@@ -27,7 +27,10 @@ import org.apache.tajo.catalog.proto.CatalogProtos.FragmentProto;
 import org.apache.tajo.catalog.statistics.TableStats;
 import org.apache.tajo.datum.Datum;
 import org.apache.tajo.engine.codegen.CompilationError;
+import org.apache.tajo.engine.codegen.CompiledPipeline;
 import org.apache.tajo.engine.planner.Projector;
+import org.apache.tajo.engine.planner.enforce.Enforcer;
+import org.apache.tajo.engine.utils.JoinFilter;
 import org.apache.tajo.engine.utils.TupleCache;
 import org.apache.tajo.engine.utils.TupleCacheKey;
 import org.apache.tajo.catalog.SchemaUtil;
@@ -49,6 +52,9 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
+import static org.apache.tajo.ipc.TajoWorkerProtocol.EnforceProperty;
+import static org.apache.tajo.ipc.TajoWorkerProtocol.EnforceProperty.EnforceType;
+import static org.apache.tajo.ipc.TajoWorkerProtocol.JoinFilterEnforce;
 
 public class SeqScanExec extends PhysicalExec {
   private ScanNode plan;
@@ -61,12 +67,18 @@ public class SeqScanExec extends PhysicalExec {
 
   private Projector projector;
 
+  private CompiledPipeline pipeline;
+
   private TableStats inputStats;
 
   private TupleCacheKey cacheKey;
 
   private boolean cacheRead = false;
 
+  private JoinFilter joinFilter;
+
+  private int [] joinFilterKeyIds;
+
   public SeqScanExec(TaskAttemptContext context, StorageManager sm, ScanNode plan,
                      CatalogProtos.FragmentProto [] fragments) throws IOException {
     super(context, plan.getInSchema(), plan.getOutSchema());
@@ -197,21 +209,58 @@ public class SeqScanExec extends PhysicalExec {
         }
       }
     } else {
+      initJoinFilter(projected);
       initScanner(projected);
     }
 
     super.init();
   }
 
+  /**
+   * If the other side of a join has finished, it may have pushed a join filter on the join keys of this table.
+   * Rows which cannot pass the filter never find any join partner, so they are dropped here.
+   */
+  private void initJoinFilter(Schema projected) {
+    Enforcer enforcer = context.getEnforcer();
+    if (enforcer == null || !enforcer.hasEnforceProperty(EnforceType.JOIN_FILTER)) {
+      return;
+    }
+
+    for (EnforceProperty property : enforcer.getEnforceProperties(EnforceType.JOIN_FILTER)) {
+      JoinFilterEnforce enforce = property.getJoinFilter();
+      if (!enforce.getTableName().equals(plan.getCanonicalName())) {
+        continue;
+      }
+
+      int [] keyIds = new int[enforce.getKeysCount()];
+      for (int i = 0; i < keyIds.length; i++) {
+        Column key = new Column(enforce.getKeys(i));
+        keyIds[i] = inSchema.getColumnId(key.getQualifiedName());
+        if (keyIds[i] < 0 || !projected.containsByQualifiedName(key.getQualifiedName())) {
+          return;
+        }
+      }
+      joinFilter = new JoinFilter(enforce.getFilter());
+      joinFilterKeyIds = keyIds;
+      return;
+    }
+  }
+
   @Override
   protected void compile() throws CompilationError {
-    if (plan.hasQual()) {
-      qual = context.getPrecompiledEval(inSchema, qual);
+    if (projector != null) {
+      Target [] targets = projector.getTargets();
+      EvalNode [] evals = new EvalNode[targets.length];
+      for (int i = 0; i < targets.length; i++) {
+        evals[i] = targets[i].getEvalTree();
+      }
+      // the qual and targets are evaluated at once without intermediate tuples
+      pipeline = context.getCompiledPipeline(inSchema, plan.hasQual() ? qual : null, evals);
     }
   }
 
   private void initScanner(Schema projected) throws IOException {
-    this.projector = new Projector(context, inSchema, outSchema, plan.getTargets());
+    this.projector = new Projector(context, inSchema, outSchema, plan.getTargets(), plan.hasQual() ? qual : null);
     if (fragments != null) {
       if (fragments.length > 1) {
         this.scanner = new MergeScanner(context.getConf(), plan.getPhysicalSchema(), plan.getTableDesc().getMeta(),
@@ -266,23 +315,35 @@ public class SeqScanExec extends PhysicalExec {
     Tuple outTuple = new VTuple(outColumnNum);
 
     if (!plan.hasQual()) {
-      if ((tuple = scanner.next()) != null) {
+      while ((tuple = scanner.next()) != null) {
         if (cacheRead) {
           return tuple;
         }
-        projector.eval(tuple, outTuple);
+        if (joinFilter != null && !joinFilter.mightContain(tuple, joinFilterKeyIds)) {
+          continue;
+        }
+        if (pipeline != null) {
+          pipeline.process(inSchema, tuple, outTuple);
+        } else {
+          projector.eval(tuple, outTuple);
+        }
         outTuple.setOffset(tuple.getOffset());
         return outTuple;
-      } else {
-        return null;
       }
+      return null;
     } else {
       while ((tuple = scanner.next()) != null) {
         if (cacheRead) {
           return tuple;
         }
-        if (qual.eval(inSchema, tuple).isTrue()) {
-          projector.eval(tuple, outTuple);
+        if (joinFilter != null && !joinFilter.mightContain(tuple, joinFilterKeyIds)) {
+          continue;
+        }
+        if (pipeline != null) {
+          if (pipeline.process(inSchema, tuple, outTuple)) {
+            return outTuple;
+          }
+        } else if (projector.evalIfMatched(tuple, outTuple)) {
           return outTuple;
         }
       }
@@ -312,6 +373,8 @@ public class SeqScanExec extends PhysicalExec {
     plan = null;
     qual = null;
     projector = null;
+    pipeline = null;
+    joinFilter = null;
   }
 
   public String getTableName() {
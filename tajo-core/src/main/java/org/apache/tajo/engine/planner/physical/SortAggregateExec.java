@@ -79,9 +79,7 @@ public class SortAggregateExec extends AggregationExec {
           lastKey = currentKey;
         } else {
           // aggregate
-          for (int i = 0; i < aggFunctionsNum; i++) {
-            aggFunctions[i].merge(contexts[i], inSchema, tuple);
-          }
+          merge(contexts, tuple);
         }
 
       } else { /** Finalization State */
@@ -98,8 +96,8 @@ public class SortAggregateExec extends AggregationExec {
 
         for(int evalIdx = 0; evalIdx < aggFunctionsNum; evalIdx++) {
           contexts[evalIdx] = aggFunctions[evalIdx].newContext();
-          aggFunctions[evalIdx].merge(contexts[evalIdx], inSchema, tuple);
         }
+        merge(contexts, tuple);
 
         lastKey = currentKey;
         return outputTuple;
@@ -0,0 +1,245 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.engine.planner.physical;
+
+import com.google.common.annotations.VisibleForTesting;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.hadoop.fs.LocalDirAllocator;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.fs.RawLocalFileSystem;
+import org.apache.tajo.catalog.CatalogUtil;
+import org.apache.tajo.catalog.Schema;
+import org.apache.tajo.catalog.TableMeta;
+import org.apache.tajo.catalog.proto.CatalogProtos.StoreType;
+import org.apache.tajo.conf.TajoConf;
+import org.apache.tajo.conf.TajoConf.ConfVars;
+import org.apache.tajo.storage.MemoryUtil;
+import org.apache.tajo.storage.Tuple;
+import org.apache.tajo.storage.VTuple;
+import org.apache.tajo.storage.fragment.FileFragment;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.apache.tajo.storage.RawFile.RawFileAppender;
+import static org.apache.tajo.storage.RawFile.RawFileScanner;
+
+/**
+ * A buffer of tuples which are identified by their sequence numbers. Tuples are appended at the end, and taken away
+ * from the front. Tuples are kept in blocks of a fixed number of rows, and full blocks are written into local files
+ * when the buffer exceeds a given memory size.
+ *
+ * The most recently filled blocks are spilled first, because callers usually read tuples near the front while
+ * appending tuples at the end. A spilled block is loaded again when one of its tuples is read, and a few loaded
+ * blocks are cached.
+ */
+public class SpillableTupleBuffer {
+  private static final Log LOG = LogFactory.getLog(SpillableTupleBuffer.class);
+  private static final int DEFAULT_BLOCK_ROW_NUM = 1024;
+  private static final int CACHED_BLOCK_NUM = 4;
+
+  private final TajoConf conf;
+  private final Schema schema;
+  private final TableMeta meta;
+  private final String tmpDir;
+  private final LocalDirAllocator localDirAllocator;
+  private final RawLocalFileSystem localFS;
+  private final long memoryLimit;
+  private final int blockRowNum;
+
+  private final List<Block> blocks = new ArrayList<Block>();
+  private final LoadedBlocks loadedBlocks = new LoadedBlocks();
+  /** the sequence number of the first row of the first block */
+  private long firstIndex = 0;
+  /** the number of rows ever added */
+  private long rowNum = 0;
+  private long memoryConsumption = 0;
+  private int spilledBlockNum = 0;
+
+  public SpillableTupleBuffer(TajoConf conf, Schema schema, String tmpDir, long memoryLimit) {
+    this(conf, schema, tmpDir, memoryLimit, DEFAULT_BLOCK_ROW_NUM);
+  }
+
+  @VisibleForTesting
+  SpillableTupleBuffer(TajoConf conf, Schema schema, String tmpDir, long memoryLimit, int blockRowNum) {
+    this.conf = conf;
+    this.schema = schema;
+    this.meta = CatalogUtil.newTableMeta(StoreType.RAW);
+    this.tmpDir = tmpDir;
+    this.localDirAllocator = new LocalDirAllocator(ConfVars.WORKER_TEMPORAL_DIR.varname);
+    this.localFS = new RawLocalFileSystem();
+    this.memoryLimit = memoryLimit;
+    this.blockRowNum = blockRowNum;
+  }
+
+  /**
+   * @return The sequence number of the next tuple to be added, which is equal to the number of added tuples.
+   */
+  public long size() {
+    return rowNum;
+  }
+
+  /**
+   * @return The sequence number of the first tuple which is not taken away yet.
+   */
+  public long getFirstIndex() {
+    return firstIndex;
+  }
+
+  public void add(Tuple tuple) throws IOException {
+    Block last = blocks.isEmpty() ? null : blocks.get(blocks.size() - 1);
+    if (last == null || last.rowNum == blockRowNum) {
+      if (last != null && memoryConsumption > memoryLimit) {
+        spill();
+      }
+      last = new Block();
+      blocks.add(last);
+    }
+
+    Tuple copied = new VTuple(tuple);
+    long size = MemoryUtil.calculateMemorySize(copied);
+    last.tuples.add(copied);
+    last.rowNum++;
+    last.memorySize += size;
+    memoryConsumption += size;
+    rowNum++;
+  }
+
+  public Tuple get(long index) throws IOException {
+    if (index < firstIndex || index >= rowNum) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Range: [" + firstIndex + ", " + rowNum + ")");
+    }
+
+    long offset = index - firstIndex;
+    Block block = blocks.get((int) (offset / blockRowNum));
+    List<Tuple> tuples = block.tuples != null ? block.tuples : load(block);
+    return tuples.get((int) (offset % blockRowNum));
+  }
+
+  /**
+   * Takes away the tuples before a given sequence number. Tuples are actually released block by block, and the last
+   * block is never released.
+   */
+  public void removeUntil(long index) throws IOException {
+    while (blocks.size() > 1 && firstIndex + blockRowNum <= index) {
+      release(blocks.remove(0));
+      firstIndex += blockRowNum;
+    }
+  }
+
+  /**
+   * Takes away all tuples, and deletes spilled files.
+   */
+  public void clear() throws IOException {
+    for (Block block : blocks) {
+      release(block);
+    }
+    blocks.clear();
+    firstIndex = rowNum;
+  }
+
+  @VisibleForTesting
+  int getSpilledBlockNum() {
+    return spilledBlockNum;
+  }
+
+  private void release(Block block) throws IOException {
+    if (block.tuples != null) {
+      memoryConsumption -= block.memorySize;
+    } else {
+      loadedBlocks.remove(block);
+      localFS.delete(block.path, false);
+    }
+  }
+
+  /**
+   * Writes full blocks into files from the most recent one until the memory consumption fits in the limit.
+   */
+  private void spill() throws IOException {
+    for (int i = blocks.size() - 1; i >= 0 && memoryConsumption > memoryLimit; i--) {
+      Block block = blocks.get(i);
+      if (block.tuples == null) {
+        continue;
+      }
+
+      block.path = localDirAllocator.getLocalPathForWrite(tmpDir + "/window_" + spilledBlockNum, conf);
+      RawFileAppender appender = new RawFileAppender(conf, schema, meta, block.path);
+      appender.init();
+      for (Tuple tuple : block.tuples) {
+        appender.addTuple(tuple);
+      }
+      appender.close();
+      block.fileLength = appender.getOffset();
+
+      block.tuples = null;
+      memoryConsumption -= block.memorySize;
+      spilledBlockNum++;
+    }
+
+    if (LOG.isDebugEnabled()) {
+      LOG.debug(spilledBlockNum + " blocks are spilled, memory consumption: " + memoryConsumption + " bytes");
+    }
+  }
+
+  private List<Tuple> load(Block block) throws IOException {
+    List<Tuple> tuples = loadedBlocks.get(block);
+    if (tuples != null) {
+      return tuples;
+    }
+
+    tuples = new ArrayList<Tuple>(block.rowNum);
+    FileFragment fragment = new FileFragment("window_buffer", block.path, 0, block.fileLength);
+    RawFileScanner scanner = new RawFileScanner(conf, schema, meta, fragment);
+    scanner.init();
+    try {
+      Tuple tuple;
+      while ((tuple = scanner.next()) != null) {
+        tuples.add(new VTuple(tuple));
+      }
+    } finally {
+      scanner.close();
+    }
+    loadedBlocks.put(block, tuples);
+    return tuples;
+  }
+
+  private static class Block {
+    /** null if spilled */
+    List<Tuple> tuples = new ArrayList<Tuple>();
+    int rowNum;
+    long memorySize;
+    Path path;
+    long fileLength;
+  }
+
+  private static class LoadedBlocks extends LinkedHashMap<Block, List<Tuple>> {
+    LoadedBlocks() {
+      super(CACHED_BLOCK_NUM * 2, 0.75f, true);
+    }
+
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<Block, List<Tuple>> eldest) {
+      return size() > CACHED_BLOCK_NUM;
+    }
+  }
+}
@@ -18,7 +18,10 @@
 
 package org.apache.tajo.engine.planner.physical;
 
-import com.google.common.collect.Lists;
+import org.apache.tajo.SessionVars;
+import org.apache.tajo.algebra.WindowSpec.WindowFrameEndBoundType;
+import org.apache.tajo.algebra.WindowSpec.WindowFrameStartBoundType;
+import org.apache.tajo.algebra.WindowSpec.WindowFrameUnit;
 import org.apache.tajo.catalog.Column;
 import org.apache.tajo.catalog.Schema;
 import org.apache.tajo.catalog.SortSpec;
@@ -31,311 +34,407 @@ import org.apache.tajo.storage.BaseTupleComparator;
 import org.apache.tajo.storage.Tuple;
 import org.apache.tajo.storage.TupleComparator;
 import org.apache.tajo.storage.VTuple;
+import org.apache.tajo.unit.StorageUnit;
 import org.apache.tajo.worker.TaskAttemptContext;
 
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Iterator;
-import java.util.List;
 
 /**
- * The sort-based window aggregation operator
+ * The sort-based window aggregation operator. Input tuples must be sorted by partition keys and the order keys of
+ * window functions. It reads input tuples once, and keeps only the rows of the current partition which are needed by
+ * the window frames of the current row in a {@link SpillableTupleBuffer}.
+ *
+ * Each window function has a context aggregating the rows of its frame. When the current row moves forward, rows
+ * entering the frame are merged into the context, and rows leaving the frame are removed from the context if the
+ * function is removable. Otherwise, the context is built again from the rows of the new frame. Frames starting at the
+ * first row of a partition are never built again, so ranking functions and running aggregates take constant time
+ * per row.
+ *
+ * If window functions have different order keys, the planner chains operators each of which evaluates the functions
+ * sharing the same order keys. Operators except for the last one append the results of their functions to input
+ * tuples, and the last one projects the output columns.
  */
 public class WindowAggExec extends UnaryPhysicalExec {
   // plan information
-  protected final int outputColumnNum;
-  protected final int nonFunctionColumnNum;
-  protected final int nonFunctionColumns[];
-
-  protected final int functionNum;
-  protected final WindowFunctionEval functions[];
-
-  protected Schema schemaForOrderBy;
-  protected int sortKeyColumns[];
-  protected final boolean hasPartitionKeys;
-  protected final int partitionKeyNum;
-  protected final int partitionKeyIds[];
+  private final int functionNum;
+  private final WindowFunctionEval functions[];
+  private final boolean [] rangeFlags;
+  private final WindowFrameStartBoundType [] startBoundTypes;
+  private final long [] startOffsets;
+  private final WindowFrameEndBoundType [] endBoundTypes;
+  private final long [] endOffsets;
+  private final boolean [] removableFlags;
+  private final boolean hasRangeFrame;
+
+  private final boolean hasPartitionKeys;
+  private final TupleComparator partitionKeyComparator;
+  private final TupleComparator orderKeyComparator;
+
+  /** for each output column, the input column id or -1 if it is the result of a function evaluated here */
+  private final int [] outColumnIds;
+  /** for each output column, the id of a function evaluated here or -1 */
+  private final int [] outFunctionIds;
 
   // for evaluation
-  protected FunctionContext contexts [];
-  protected Tuple lastKey = null;
-  protected boolean noMoreTuples = false;
-  private boolean [] orderedFuncFlags;
-  private boolean [] aggFuncFlags;
-  private boolean [] windowFuncFlags;
-  private boolean [] endUnboundedFollowingFlags;
-  private boolean [] endCurrentRowFlags;
-
-  private boolean endCurrentRow = false;
-
-  // operator state
-  enum WindowState {
-    NEW_WINDOW,
-    ACCUMULATING_WINDOW,
-    EVALUATION,
-    RETRIEVING_FROM_WINDOW,
-    END_OF_TUPLE
+  private SpillableTupleBuffer buffer;
+  private Tuple partitionKey;
+  private long partitionStart;
+  /** the index of the first row of the next partition, or -1 if it is not read yet */
+  private long partitionEnd;
+  private boolean noMoreTuples;
+  private long current;
+
+  /** the rows having the same order keys as the current row, which are used for RANGE frames */
+  private long peerStart;
+  private long peerEnd;
+  private long peerScanIndex;
+
+  private FunctionContext [] contexts;
+  /** the range of rows aggregated into the context of each function, which is [frameStarts, frameEnds) */
+  private long [] frameStarts;
+  private long [] frameEnds;
+  private Datum [] results;
+
+  public WindowAggExec(TaskAttemptContext context, WindowAggNode plan, PhysicalExec child) throws IOException {
+    this(context, plan, child, allFunctionIds(plan), true);
   }
 
-  // Transient state
-  boolean firstTime = true;
-  List<Tuple> evaluatedTuples = null;
-  List<Tuple> accumulatedInTuples = null;
-  List<Tuple> nextAccumulatedProjected = null;
-  List<Tuple> nextAccumulatedInTuples = null;
-  WindowState state = WindowState.NEW_WINDOW;
-  Iterator<Tuple> tupleInFrameIterator = null;
+  /**
+   * @param functionIds the indices of window functions to be evaluated by this operator, which have the same order keys
+   * @param last True if it is the last operator, which projects the output columns of the plan
+   */
+  public WindowAggExec(TaskAttemptContext context, WindowAggNode plan, PhysicalExec child, int [] functionIds,
+                       boolean last) throws IOException {
+    super(context, child.getSchema(), createOutSchema(plan, child.getSchema(), functionIds, last), child);
+
+    WindowFunctionEval [] allFunctions = plan.hasAggFunctions() ? plan.getWindowFunctions() : new WindowFunctionEval[0];
+    functionNum = functionIds.length;
+    functions = new WindowFunctionEval[functionNum];
+    rangeFlags = new boolean[functionNum];
+    startBoundTypes = new WindowFrameStartBoundType[functionNum];
+    startOffsets = new long[functionNum];
+    endBoundTypes = new WindowFrameEndBoundType[functionNum];
+    endOffsets = new long[functionNum];
+    removableFlags = new boolean[functionNum];
+
+    boolean rangeFrameFound = false;
+    for (int i = 0; i < functionNum; i++) {
+      functions[i] = allFunctions[functionIds[i]];
+      WindowSpec.WindowFrame frame = functions[i].getWindowFrame();
+
+      // a frame without a unit is a RANGE frame as default
+      rangeFlags[i] = frame.getFrameUnit() != WindowFrameUnit.ROW;
+      startBoundTypes[i] = frame.getStartBound().getBoundType();
+      if (startBoundTypes[i] == WindowFrameStartBoundType.PRECEDING) {
+        startOffsets[i] = frame.getStartBound().getNumber().eval(null, null).asInt8();
+      }
+      endBoundTypes[i] = frame.hasEndBound() ? frame.getEndBound().getBoundType() : WindowFrameEndBoundType.CURRENT_ROW;
+      if (endBoundTypes[i] == WindowFrameEndBoundType.FOLLOWING) {
+        endOffsets[i] = frame.getEndBound().getNumber().eval(null, null).asInt8();
+      }
+      removableFlags[i] = functions[i].isRemovable();
 
-  public WindowAggExec(TaskAttemptContext context, WindowAggNode plan, PhysicalExec child) throws IOException {
-    super(context, plan.getInSchema(), plan.getOutSchema(), child);
-
-    if (plan.hasPartitionKeys()) {
-      final Column[] keyColumns = plan.getPartitionKeys();
-      partitionKeyNum = keyColumns.length;
-      partitionKeyIds = new int[partitionKeyNum];
-      Column col;
-      for (int idx = 0; idx < plan.getPartitionKeys().length; idx++) {
-        col = keyColumns[idx];
-        partitionKeyIds[idx] = inSchema.getColumnId(col.getQualifiedName());
+      rangeFrameFound |= rangeFlags[i] && (startBoundTypes[i] == WindowFrameStartBoundType.CURRENT_ROW ||
+          endBoundTypes[i] == WindowFrameEndBoundType.CURRENT_ROW);
+    }
+    hasRangeFrame = rangeFrameFound;
+
+    hasPartitionKeys = plan.hasPartitionKeys();
+    if (hasPartitionKeys) {
+      Column [] keyColumns = plan.getPartitionKeys();
+      SortSpec [] keySpecs = new SortSpec[keyColumns.length];
+      for (int i = 0; i < keyColumns.length; i++) {
+        keySpecs[i] = new SortSpec(keyColumns[i]);
       }
-      hasPartitionKeys = true;
+      partitionKeyComparator = new BaseTupleComparator(inSchema, keySpecs);
     } else {
-      partitionKeyNum = 0;
-      partitionKeyIds = null;
-      hasPartitionKeys = false;
+      partitionKeyComparator = null;
     }
 
-    if (plan.hasAggFunctions()) {
-      functions = plan.getWindowFunctions();
-      functionNum = functions.length;
-
-      orderedFuncFlags = new boolean[functions.length];
-      windowFuncFlags = new boolean[functions.length];
-      aggFuncFlags = new boolean[functions.length];
-
-      endUnboundedFollowingFlags = new boolean[functions.length];
-      endCurrentRowFlags = new boolean[functions.length];
-
-      List<Column> additionalSortKeyColumns = Lists.newArrayList();
-      Schema rewrittenSchema = new Schema(outSchema);
-      for (int i = 0; i < functions.length; i++) {
-        WindowSpec.WindowEndBound endBound = functions[i].getWindowFrame().getEndBound();
-        switch (endBound.getBoundType()) {
-        case CURRENT_ROW:
-          endCurrentRowFlags[i] = true; break;
-        case UNBOUNDED_FOLLOWING:
-          endUnboundedFollowingFlags[i] = true; break;
-        default:
-        }
-
-        switch (functions[i].getFuncDesc().getFuncType()) {
-        case AGGREGATION:
-        case DISTINCT_AGGREGATION:
-          aggFuncFlags[i] = true; break;
-        case WINDOW:
-          windowFuncFlags[i] = true; break;
-        default:
-        }
-
-        if (functions[i].hasSortSpecs()) {
-          orderedFuncFlags[i] = true;
+    if (functionNum > 0 && functions[0].hasSortSpecs()) {
+      orderKeyComparator = new BaseTupleComparator(inSchema, functions[0].getSortSpecs());
+    } else {
+      orderKeyComparator = null;
+    }
 
-          for (SortSpec sortSpec : functions[i].getSortSpecs()) {
-            if (!rewrittenSchema.contains(sortSpec.getSortKey())) {
-              additionalSortKeyColumns.add(sortSpec.getSortKey());
-            }
+    outColumnIds = new int[outSchema.size()];
+    outFunctionIds = new int[outSchema.size()];
+    int nonFunctionColumnNum = plan.getTargets().length - allFunctions.length;
+    for (int i = 0; i < outSchema.size(); i++) {
+      outFunctionIds[i] = -1;
+      if (!last) {
+        outColumnIds[i] = i < inSchema.size() ? i : -1;
+        outFunctionIds[i] = i < inSchema.size() ? -1 : i - inSchema.size();
+      } else if (i < nonFunctionColumnNum) {
+        outColumnIds[i] = inSchema.getColumnId(plan.getTargets()[i].getCanonicalName());
+      } else {
+        int functionId = i - nonFunctionColumnNum;
+        for (int j = 0; j < functionNum; j++) {
+          if (functionIds[j] == functionId) {
+            outFunctionIds[i] = j;
           }
         }
+        // the result of a function evaluated by a previous operator
+        outColumnIds[i] = outFunctionIds[i] < 0 ? inSchema.getColumnId(getResultColumnName(functionId)) : -1;
       }
-
-      sortKeyColumns = new int[additionalSortKeyColumns.size()];
-      schemaForOrderBy = new Schema(outSchema);
-      for (int i = 0; i < additionalSortKeyColumns.size(); i++) {
-        sortKeyColumns[i] = i;
-        schemaForOrderBy.addColumn(additionalSortKeyColumns.get(i));
-      }
-    } else {
-      functions = new WindowFunctionEval[0];
-      functionNum = 0;
-      schemaForOrderBy = outSchema;
     }
+  }
 
+  private static int [] allFunctionIds(WindowAggNode plan) {
+    int [] functionIds = new int[plan.hasAggFunctions() ? plan.getWindowFunctions().length : 0];
+    for (int i = 0; i < functionIds.length; i++) {
+      functionIds[i] = i;
+    }
+    return functionIds;
+  }
 
-    nonFunctionColumnNum = plan.getTargets().length - functionNum;
-    nonFunctionColumns = new int[nonFunctionColumnNum];
-    for (int idx = 0; idx < plan.getTargets().length - functionNum; idx++) {
-      nonFunctionColumns[idx] = inSchema.getColumnId(plan.getTargets()[idx].getCanonicalName());
+  private static Schema createOutSchema(WindowAggNode plan, Schema inSchema, int [] functionIds, boolean last) {
+    if (last) {
+      return plan.getOutSchema();
     }
 
-    outputColumnNum = nonFunctionColumnNum + functionNum;
+    Schema schema = new Schema(inSchema);
+    for (int functionId : functionIds) {
+      schema.addColumn(getResultColumnName(functionId), plan.getWindowFunctions()[functionId].getValueType());
+    }
+    return schema;
   }
 
-  private void transition(WindowState state) {
-    this.state = state;
+  /**
+   * @return The name of a column holding the results of a function, which are passed to the following operators.
+   */
+  private static String getResultColumnName(int functionId) {
+    return "?window_result_" + functionId;
   }
 
   @Override
-  public Tuple next() throws IOException {
-    Tuple currentKey = null;
-    Tuple readTuple = null;
-
-    while(!context.isStopped() && state != WindowState.END_OF_TUPLE) {
-
-      if (state == WindowState.NEW_WINDOW) {
-        initWindow();
-        transition(WindowState.ACCUMULATING_WINDOW);
-      }
-
-      if (state != WindowState.RETRIEVING_FROM_WINDOW) { // read an input tuple and build a partition key
-        readTuple = child.next();
+  public void init() throws IOException {
+    super.init();
+    long memoryLimit = context.getQueryContext().getLong(SessionVars.WINDOW_BUFFER_SIZE) * StorageUnit.MB;
+    buffer = new SpillableTupleBuffer(context.getConf(), inSchema, getExecutorTmpDir().toString(), memoryLimit);
+
+    contexts = new FunctionContext[functionNum];
+    frameStarts = new long[functionNum];
+    frameEnds = new long[functionNum];
+    results = new Datum[functionNum];
+    initPartition(0);
+  }
 
-        if (readTuple == null) { // the end of tuple
-          noMoreTuples = true;
-          transition(WindowState.EVALUATION);
-        }
+  private void initPartition(long start) throws IOException {
+    partitionStart = start;
+    partitionEnd = -1;
+    partitionKey = start < buffer.size() ? buffer.get(start) : null;
+    current = start;
+
+    peerStart = start;
+    peerEnd = -1;
+    peerScanIndex = start + 1;
+
+    for (int i = 0; i < functionNum; i++) {
+      contexts[i] = functions[i].newContext();
+      frameStarts[i] = start;
+      frameEnds[i] = start;
+      results[i] = null;
+    }
+  }
 
-        if (readTuple != null && hasPartitionKeys) { // get a key tuple
-          currentKey = new VTuple(partitionKeyIds.length);
-          for (int i = 0; i < partitionKeyIds.length; i++) {
-            currentKey.put(i, readTuple.get(partitionKeyIds[i]));
-          }
+  @Override
+  public Tuple next() throws IOException {
+    while (!context.isStopped()) {
+      if (partitionEnd >= 0 && current >= partitionEnd) { // the end of a partition
+        if (noMoreTuples) {
+          return null;
         }
+        initPartition(partitionEnd);
       }
 
-      if (state == WindowState.ACCUMULATING_WINDOW) {
-        accumulatingWindow(currentKey, readTuple);
-      }
-
-      if (state == WindowState.EVALUATION) {
-        evaluationWindowFrame();
-
-        tupleInFrameIterator = evaluatedTuples.iterator();
-        transition(WindowState.RETRIEVING_FROM_WINDOW);
+      // read input tuples until the frames of the current row are determined
+      if (current >= buffer.size() || !evaluate()) {
+        readTuple();
+        continue;
       }
 
-      if (state == WindowState.RETRIEVING_FROM_WINDOW) {
-        if (tupleInFrameIterator.hasNext()) {
-          return tupleInFrameIterator.next();
+      Tuple outTuple = new VTuple(outSchema.size());
+      Tuple inTuple = buffer.get(current);
+      for (int i = 0; i < outColumnIds.length; i++) {
+        if (outColumnIds[i] >= 0) {
+          outTuple.put(i, inTuple.get(outColumnIds[i]));
         } else {
-          finalizeWindow();
+          outTuple.put(i, results[outFunctionIds[i]]);
         }
       }
+
+      current++;
+      buffer.removeUntil(getFirstRequiredIndex());
+      return outTuple;
     }
 
     return null;
   }
 
-  private void initWindow() {
-    if (firstTime) {
-      accumulatedInTuples = Lists.newArrayList();
+  private void readTuple() throws IOException {
+    Tuple tuple = child.next();
+    if (tuple == null) {
+      noMoreTuples = true;
+      partitionEnd = buffer.size();
+      return;
+    }
 
-      contexts = new FunctionContext[functionNum];
-      for(int evalIdx = 0; evalIdx < functionNum; evalIdx++) {
-        contexts[evalIdx] = functions[evalIdx].newContext();
-      }
-      firstTime = false;
+    long index = buffer.size();
+    buffer.add(tuple);
+    if (index == partitionStart) {
+      partitionKey = buffer.get(index);
+    } else if (hasPartitionKeys && partitionKeyComparator.compare(partitionKey, tuple) != 0) {
+      // this tuple belongs to the next partition
+      partitionEnd = index;
     }
   }
 
-  private void accumulatingWindow(Tuple currentKey, Tuple inTuple) {
-
-    if (lastKey == null || lastKey.equals(currentKey)) { // if the current key is same to the previous key
-      accumulatedInTuples.add(new VTuple(inTuple));
-
-    } else {
-      // if the current key is different from the previous key,
-      // the current key belongs to the next window frame. preaccumulatingNextWindow() will
-      // aggregate the current key for next window frame.
-      preAccumulatingNextWindow(inTuple);
-      transition(WindowState.EVALUATION);
+  /**
+   * Moves the frames of all functions to those of the current row, and computes the results.
+   *
+   * @return False if more input tuples are required to determine the frames.
+   */
+  private boolean evaluate() throws IOException {
+    if (hasRangeFrame && !findPeers()) {
+      return false;
     }
 
-    lastKey = currentKey;
-  }
+    for (int i = 0; i < functionNum; i++) {
+      long end = getFrameEnd(i);
+      if (end < 0) {
+        return false;
+      }
+      moveFrame(i, getFrameStart(i), end);
 
-  private void preAccumulatingNextWindow(Tuple inTuple) {
-    Tuple projectedTuple = new VTuple(outSchema.size());
-    for(int idx = 0; idx < nonFunctionColumnNum; idx++) {
-      projectedTuple.put(idx, inTuple.get(nonFunctionColumns[idx]));
+      if (results[i] == null) {
+        results[i] = functions[i].terminate(contexts[i]);
+      }
     }
-    nextAccumulatedProjected = Lists.newArrayList();
-    nextAccumulatedProjected.add(projectedTuple);
-    nextAccumulatedInTuples = Lists.newArrayList();
-    nextAccumulatedInTuples.add(new VTuple(inTuple));
+    return true;
   }
 
-  private void evaluationWindowFrame() {
-    TupleComparator comp;
-
-    evaluatedTuples = new ArrayList<Tuple>();
-
-    for (int i = 0; i <accumulatedInTuples.size(); i++) {
-      Tuple inTuple = accumulatedInTuples.get(i);
-
-      Tuple projectedTuple = new VTuple(schemaForOrderBy.size());
-      for (int c = 0; c < nonFunctionColumnNum; c++) {
-        projectedTuple.put(c, inTuple.get(nonFunctionColumns[c]));
+  /**
+   * Finds the rows having the same order keys as the current row.
+   *
+   * @return False if more input tuples are required.
+   */
+  private boolean findPeers() throws IOException {
+    if (peerEnd >= 0) {
+      if (current < peerEnd) {
+        return true;
       }
-      for (int c = 0; c < sortKeyColumns.length; c++) {
-        projectedTuple.put(outputColumnNum + c, inTuple.get(sortKeyColumns[c]));
-      }
-
-      evaluatedTuples.add(projectedTuple);
+      peerStart = current;
+      peerEnd = -1;
+      peerScanIndex = current + 1;
     }
 
-    for (int idx = 0; idx < functions.length; idx++) {
-      if (orderedFuncFlags[idx]) {
-        comp = new BaseTupleComparator(inSchema, functions[idx].getSortSpecs());
-        Collections.sort(accumulatedInTuples, comp);
-        comp = new BaseTupleComparator(schemaForOrderBy, functions[idx].getSortSpecs());
-        Collections.sort(evaluatedTuples, comp);
+    long limit = partitionEnd >= 0 ? partitionEnd : buffer.size();
+    if (orderKeyComparator != null) {
+      Tuple first = buffer.get(peerStart);
+      for (; peerScanIndex < limit; peerScanIndex++) {
+        if (orderKeyComparator.compare(first, buffer.get(peerScanIndex)) != 0) {
+          peerEnd = peerScanIndex;
+          return true;
+        }
       }
+    }
 
-      for (int i = 0; i < accumulatedInTuples.size(); i++) {
-        Tuple inTuple = accumulatedInTuples.get(i);
-        Tuple outTuple = evaluatedTuples.get(i);
-
-        functions[idx].merge(contexts[idx], inSchema, inTuple);
+    if (partitionEnd >= 0) { // all remaining rows of the partition are peers
+      peerEnd = partitionEnd;
+      return true;
+    }
+    return false;
+  }
 
-        if (windowFuncFlags[idx]) {
-          Datum result = functions[idx].terminate(contexts[idx]);
-          outTuple.put(nonFunctionColumnNum + idx, result);
-        }
-      }
+  private long getFrameStart(int i) {
+    switch (startBoundTypes[i]) {
+    case UNBOUNDED_PRECEDING:
+      return partitionStart;
+    case PRECEDING:
+      return Math.max(partitionStart, current - startOffsets[i]);
+    default:
+      return rangeFlags[i] ? peerStart : current;
+    }
+  }
 
-      if (aggFuncFlags[idx]) {
-        Datum result = functions[idx].terminate(contexts[idx]);
-        for (int i = 0; i < evaluatedTuples.size(); i++) {
-          Tuple outTuple = evaluatedTuples.get(i);
-          outTuple.put(nonFunctionColumnNum + idx, result);
-        }
+  /**
+   * @return The index following the last row of a frame, or -1 if it is not determined yet.
+   */
+  private long getFrameEnd(int i) {
+    switch (endBoundTypes[i]) {
+    case UNBOUNDED_FOLLOWING:
+      return partitionEnd;
+    case FOLLOWING:
+      long end = current + endOffsets[i] + 1;
+      if (partitionEnd >= 0) {
+        return Math.min(end, partitionEnd);
+      } else {
+        return end <= buffer.size() ? end : -1;
       }
+    default:
+      return rangeFlags[i] ? peerEnd : current + 1;
     }
   }
 
-  private void finalizeWindow() {
-    evaluatedTuples.clear();
-    accumulatedInTuples.clear();
+  private void moveFrame(int i, long start, long end) throws IOException {
+    if (start == frameStarts[i] && end == frameEnds[i]) {
+      return;
+    }
 
-    if (noMoreTuples) {
-      transition(WindowState.END_OF_TUPLE);
+    if (start == frameStarts[i] || (removableFlags[i] && start < frameEnds[i])) {
+      for (long index = frameEnds[i]; index < end; index++) {
+        functions[i].merge(contexts[i], inSchema, buffer.get(index));
+      }
+      for (long index = frameStarts[i]; index < start; index++) {
+        functions[i].remove(contexts[i], inSchema, buffer.get(index));
+      }
     } else {
-      accumulatedInTuples = nextAccumulatedInTuples;
+      contexts[i] = functions[i].newContext();
+      for (long index = start; index < end; index++) {
+        functions[i].merge(contexts[i], inSchema, buffer.get(index));
+      }
+    }
 
-      contexts = new FunctionContext[functionNum];
-      for(int evalIdx = 0; evalIdx < functionNum; evalIdx++) {
-        contexts[evalIdx] = functions[evalIdx].newContext();
+    frameStarts[i] = start;
+    frameEnds[i] = end;
+    results[i] = null;
+  }
+
+  /**
+   * @return The index of the first row which is still required by the current row or the following rows.
+   */
+  private long getFirstRequiredIndex() {
+    long index = current;
+    if (hasRangeFrame) {
+      index = Math.min(index, peerStart);
+    }
+    for (int i = 0; i < functionNum; i++) {
+      if (startBoundTypes[i] == WindowFrameStartBoundType.UNBOUNDED_PRECEDING) {
+        // this frame only grows, so rows merged already are never read again.
+        index = Math.min(index, frameEnds[i]);
+      } else {
+        index = Math.min(index, frameStarts[i]);
       }
-      transition(WindowState.NEW_WINDOW);
     }
+    return index;
   }
 
   @Override
   public void rescan() throws IOException {
     super.rescan();
 
-    lastKey = null;
+    buffer.clear();
     noMoreTuples = false;
+    initPartition(buffer.size());
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (buffer != null) {
+      buffer.clear();
+      buffer = null;
+    }
+    super.close();
   }
 }
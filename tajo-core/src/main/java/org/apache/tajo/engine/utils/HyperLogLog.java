@@ -0,0 +1,195 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.engine.utils;
+
+import com.google.protobuf.ByteString;
+import org.apache.tajo.InternalTypes.HyperLogLogProto;
+import org.apache.tajo.common.ProtoObject;
+import org.apache.tajo.datum.Datum;
+import org.apache.tajo.util.MurmurHash;
+
+/**
+ * A HyperLogLog sketch which estimates the number of distinct values with a fixed amount of memory. With a precision
+ * p, it has 2^p registers, and the standard error of an estimate is about 1.04 / sqrt(2^p). Sketches of the same
+ * precision can be merged, and a sketch having a few non-zero registers is serialized sparsely.
+ */
+public class HyperLogLog implements ProtoObject<HyperLogLogProto> {
+  public static final int DEFAULT_PRECISION = 12;
+  public static final int MIN_PRECISION = 4;
+  public static final int MAX_PRECISION = 16;
+
+  private final int precision;
+  private final byte[] registers;
+
+  public HyperLogLog() {
+    this(DEFAULT_PRECISION);
+  }
+
+  public HyperLogLog(int precision) {
+    if (precision < MIN_PRECISION || precision > MAX_PRECISION) {
+      throw new IllegalArgumentException("HyperLogLog precision must be between " + MIN_PRECISION + " and "
+          + MAX_PRECISION + ", but " + precision);
+    }
+    this.precision = precision;
+    this.registers = new byte[1 << precision];
+  }
+
+  public HyperLogLog(HyperLogLogProto proto) {
+    this(proto.getPrecision());
+    if (proto.hasRegisters()) {
+      proto.getRegisters().copyTo(registers, 0);
+    } else {
+      for (int i = 0; i < proto.getSparseRegistersCount(); i++) {
+        int entry = proto.getSparseRegisters(i);
+        registers[entry >>> 8] = (byte) (entry & 0xff);
+      }
+    }
+  }
+
+  public int getPrecision() {
+    return precision;
+  }
+
+  /**
+   * Adds a value. NULL must be filtered out by the caller.
+   */
+  public void add(Datum value) {
+    addHash(hash(value));
+  }
+
+  public void addHash(long hash) {
+    int index = (int) (hash >>> (64 - precision));
+    // the position of the leftmost 1 bit in the remaining bits, which is 64 - p + 1 if all of them are 0
+    int rank = Math.min(Long.numberOfLeadingZeros(hash << precision), 64 - precision) + 1;
+    if (rank > registers[index]) {
+      registers[index] = (byte) rank;
+    }
+  }
+
+  /**
+   * Merges another sketch of the same precision.
+   */
+  public void merge(HyperLogLog other) {
+    if (other.precision != precision) {
+      throw new IllegalArgumentException("Cannot merge HyperLogLog sketches of different precisions: "
+          + precision + ", " + other.precision);
+    }
+    for (int i = 0; i < registers.length; i++) {
+      if (other.registers[i] > registers[i]) {
+        registers[i] = other.registers[i];
+      }
+    }
+  }
+
+  /**
+   * @return The estimated number of distinct values
+   */
+  public long estimate() {
+    int m = registers.length;
+    double sum = 0;
+    int zeros = 0;
+    for (byte register : registers) {
+      sum += 1.0d / (1l << register);
+      if (register == 0) {
+        zeros++;
+      }
+    }
+
+    double estimate = alpha(m) * m * m / sum;
+    if (estimate <= 2.5 * m && zeros > 0) {
+      // linear counting is more accurate for small cardinalities
+      estimate = m * Math.log((double) m / zeros);
+    }
+    return Math.round(estimate);
+  }
+
+  private static double alpha(int m) {
+    switch (m) {
+    case 16:
+      return 0.673;
+    case 32:
+      return 0.697;
+    case 64:
+      return 0.709;
+    default:
+      return 0.7213 / (1 + 1.079 / m);
+    }
+  }
+
+  /**
+   * Equal values of the same type always have the same hash.
+   */
+  private static long hash(Datum value) {
+    switch (value.type()) {
+    case BOOLEAN:
+    case INT1:
+    case INT2:
+    case INT4:
+    case INT8:
+    case DATE:
+    case TIME:
+    case TIMESTAMP:
+      return mix(value.asInt8());
+    case FLOAT4:
+    case FLOAT8:
+      return mix(Double.doubleToLongBits(value.asFloat8()));
+    default:
+      byte[] bytes = value.asByteArray();
+      return MurmurHash.hash64(bytes, bytes.length);
+    }
+  }
+
+  /**
+   * The finalizer of MurmurHash3, which spreads all bits of a value over the whole hash.
+   */
+  private static long mix(long value) {
+    long h = value;
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    h *= 0xc4ceb9fe1a85ec53L;
+    h ^= h >>> 33;
+    return h;
+  }
+
+  @Override
+  public HyperLogLogProto getProto() {
+    HyperLogLogProto.Builder builder = HyperLogLogProto.newBuilder();
+    builder.setPrecision(precision);
+
+    int nonZeros = 0;
+    for (byte register : registers) {
+      if (register != 0) {
+        nonZeros++;
+      }
+    }
+
+    // a sparse entry takes up to 4 bytes
+    if (nonZeros * 4 < registers.length) {
+      for (int i = 0; i < registers.length; i++) {
+        if (registers[i] != 0) {
+          builder.addSparseRegisters(i << 8 | registers[i]);
+        }
+      }
+    } else {
+      builder.setRegisters(ByteString.copyFrom(registers));
+    }
+    return builder.build();
+  }
+}
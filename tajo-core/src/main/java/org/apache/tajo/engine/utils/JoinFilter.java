@@ -0,0 +1,309 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.engine.utils;
+
+import com.google.protobuf.ByteString;
+import org.apache.hadoop.util.bloom.BloomFilter;
+import org.apache.hadoop.util.bloom.Key;
+import org.apache.hadoop.util.hash.Hash;
+import org.apache.tajo.catalog.Column;
+import org.apache.tajo.common.ProtoObject;
+import org.apache.tajo.common.TajoDataTypes.Type;
+import org.apache.tajo.datum.Datum;
+import org.apache.tajo.ipc.TajoWorkerProtocol.JoinFilterProto;
+import org.apache.tajo.storage.Tuple;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * A runtime join filter. It summarizes the join keys of one join input by a bloom filter and,
+ * if all keys are integers, by their value ranges. The other join input uses it to drop rows
+ * which cannot find any join partner before they are shuffled.
+ *
+ * A row having a null key never matches, so this filter is only valid for inner joins.
+ */
+public class JoinFilter implements ProtoObject<JoinFilterProto> {
+  public static final int DEFAULT_NUM_HASHES = 3;
+
+  private final Column[] keys;
+  private final BloomFilter bloomFilter;
+  private long numKeys;
+  private final boolean integerKeys;
+  private final long[] mins;
+  private final long[] maxs;
+
+  public JoinFilter(Column[] keys, int numBits, int numHashes) {
+    this.keys = keys;
+    this.bloomFilter = new BloomFilter(numBits, numHashes, Hash.MURMUR_HASH);
+    this.integerKeys = isIntegerKeys(keys);
+    this.mins = new long[keys.length];
+    this.maxs = new long[keys.length];
+    for (int i = 0; i < keys.length; i++) {
+      mins[i] = Long.MAX_VALUE;
+      maxs[i] = Long.MIN_VALUE;
+    }
+  }
+
+  public JoinFilter(JoinFilterProto proto) {
+    this.keys = new Column[proto.getKeysCount()];
+    for (int i = 0; i < keys.length; i++) {
+      keys[i] = new Column(proto.getKeys(i));
+    }
+    this.bloomFilter = new BloomFilter();
+    try {
+      bloomFilter.readFields(new DataInputStream(new ByteArrayInputStream(proto.getBloomFilter().toByteArray())));
+    } catch (IOException e) {
+      throw new IllegalArgumentException("Invalid join filter: " + e.getMessage(), e);
+    }
+    this.numKeys = proto.getNumKeys();
+    this.integerKeys = proto.getRangesCount() == keys.length;
+    this.mins = new long[keys.length];
+    this.maxs = new long[keys.length];
+    if (integerKeys) {
+      for (int i = 0; i < keys.length; i++) {
+        mins[i] = proto.getRanges(i).getMin();
+        maxs[i] = proto.getRanges(i).getMax();
+      }
+    }
+  }
+
+  public Column[] getKeys() {
+    return keys;
+  }
+
+  public long getNumKeys() {
+    return numKeys;
+  }
+
+  /**
+   * Adds the join key of a given tuple.
+   *
+   * @param tuple a tuple of the build side
+   * @param keyIds the indexes of the join keys within the tuple
+   */
+  public void add(Tuple tuple, int[] keyIds) {
+    byte[] encoded = encode(tuple, keyIds);
+    if (encoded == null) {
+      return;
+    }
+    bloomFilter.add(new Key(encoded));
+    numKeys++;
+
+    if (integerKeys) {
+      for (int i = 0; i < keyIds.length; i++) {
+        long value = tuple.get(keyIds[i]).asInt8();
+        if (value < mins[i]) {
+          mins[i] = value;
+        }
+        if (value > maxs[i]) {
+          maxs[i] = value;
+        }
+      }
+    }
+  }
+
+  /**
+   * Tests if a given tuple may have a join partner.
+   *
+   * @param tuple a tuple of the probe side
+   * @param keyIds the indexes of the join keys within the tuple
+   * @return False if the tuple never has any join partner. Otherwise, true.
+   */
+  public boolean mightContain(Tuple tuple, int[] keyIds) {
+    if (numKeys == 0) {
+      return false;
+    }
+
+    byte[] encoded = encode(tuple, keyIds);
+    if (encoded == null) {
+      return false;
+    }
+
+    if (integerKeys) {
+      for (int i = 0; i < keyIds.length; i++) {
+        long value = tuple.get(keyIds[i]).asInt8();
+        if (value < mins[i] || value > maxs[i]) {
+          return false;
+        }
+      }
+    }
+
+    return bloomFilter.membershipTest(new Key(encoded));
+  }
+
+  /**
+   * Merges another join filter built with the same keys and the same bloom filter parameters.
+   */
+  public void merge(JoinFilter other) {
+    if (other.numKeys == 0) {
+      return;
+    }
+    bloomFilter.or(other.bloomFilter);
+    numKeys += other.numKeys;
+    if (integerKeys) {
+      for (int i = 0; i < keys.length; i++) {
+        mins[i] = Math.min(mins[i], other.mins[i]);
+        maxs[i] = Math.max(maxs[i], other.maxs[i]);
+      }
+    }
+  }
+
+  private byte[] encode(Tuple tuple, int[] keyIds) {
+    int length = 0;
+    for (int i = 0; i < keyIds.length; i++) {
+      Datum datum = tuple.get(keyIds[i]);
+      if (datum == null || datum.isNull()) {
+        return null;
+      }
+      if (keys[i].getDataType().getType() == Type.TEXT) {
+        length += 4 + datum.asByteArray().length;
+      } else {
+        length += 8;
+      }
+    }
+
+    byte[] encoded = new byte[length];
+    int pos = 0;
+    for (int i = 0; i < keyIds.length; i++) {
+      Datum datum = tuple.get(keyIds[i]);
+      switch (keys[i].getDataType().getType()) {
+      case TEXT:
+        byte[] bytes = datum.asByteArray();
+        pos = putInt(encoded, pos, bytes.length);
+        System.arraycopy(bytes, 0, encoded, pos, bytes.length);
+        pos += bytes.length;
+        break;
+      case FLOAT4:
+      case FLOAT8:
+        double value = datum.asFloat8();
+        // -0.0 and 0.0 are equal join keys
+        pos = putLong(encoded, pos, Double.doubleToLongBits(value == 0.0d ? 0.0d : value));
+        break;
+      default:
+        pos = putLong(encoded, pos, datum.asInt8());
+      }
+    }
+    return encoded;
+  }
+
+  private static int putInt(byte[] buf, int pos, int value) {
+    buf[pos] = (byte) (value >>> 24);
+    buf[pos + 1] = (byte) (value >>> 16);
+    buf[pos + 2] = (byte) (value >>> 8);
+    buf[pos + 3] = (byte) value;
+    return pos + 4;
+  }
+
+  private static int putLong(byte[] buf, int pos, long value) {
+    putInt(buf, pos, (int) (value >>> 32));
+    putInt(buf, pos + 4, (int) value);
+    return pos + 8;
+  }
+
+  private static boolean isIntegerType(Type type) {
+    return type == Type.INT1 || type == Type.INT2 || type == Type.INT4 || type == Type.INT8;
+  }
+
+  private static boolean isIntegerKeys(Column[] keys) {
+    for (Column key : keys) {
+      if (!isIntegerType(key.getDataType().getType())) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * @return True if a join filter can be built over the given keys.
+   */
+  public static boolean isSupported(Column[] keys) {
+    if (keys == null || keys.length == 0) {
+      return false;
+    }
+    for (Column key : keys) {
+      Type type = key.getDataType().getType();
+      if (!isIntegerType(type) && type != Type.FLOAT4 && type != Type.FLOAT8 && type != Type.TEXT) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Two key lists are compatible if each pair of keys is encoded into the same bytes for equal values.
+   * Integer keys of different widths are compatible with each other, but floating point keys must have
+   * exactly the same type.
+   */
+  public static boolean isCompatible(Column[] buildKeys, Column[] probeKeys) {
+    if (!isSupported(buildKeys) || !isSupported(probeKeys) || buildKeys.length != probeKeys.length) {
+      return false;
+    }
+    for (int i = 0; i < buildKeys.length; i++) {
+      Type buildType = buildKeys[i].getDataType().getType();
+      Type probeType = probeKeys[i].getDataType().getType();
+      if (buildType != probeType && !(isIntegerType(buildType) && isIntegerType(probeType))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public JoinFilterProto getProto() {
+    JoinFilterProto.Builder builder = JoinFilterProto.newBuilder();
+    for (Column key : keys) {
+      builder.addKeys(key.getProto());
+    }
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try {
+      bloomFilter.write(new DataOutputStream(bytes));
+    } catch (IOException e) {
+      throw new IllegalStateException(e);
+    }
+    builder.setBloomFilter(ByteString.copyFrom(bytes.toByteArray()));
+    builder.setNumKeys(numKeys);
+
+    if (integerKeys) {
+      for (int i = 0; i < keys.length; i++) {
+        builder.addRanges(JoinFilterProto.KeyRange.newBuilder().setMin(mins[i]).setMax(maxs[i]));
+      }
+    }
+    return builder.build();
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder("JoinFilter (keys=");
+    for (int i = 0; i < keys.length; i++) {
+      if (i > 0) {
+        sb.append(",");
+      }
+      sb.append(keys[i].getQualifiedName());
+      if (integerKeys && numKeys > 0) {
+        sb.append("[").append(mins[i]).append("..").append(maxs[i]).append("]");
+      }
+    }
+    return sb.append(", numKeys=").append(numKeys).append(")").toString();
+  }
+}
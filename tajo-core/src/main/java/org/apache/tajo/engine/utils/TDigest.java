@@ -0,0 +1,261 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.engine.utils;
+
+import org.apache.tajo.InternalTypes.TDigestProto;
+import org.apache.tajo.common.ProtoObject;
+
+import java.util.Arrays;
+
+/**
+ * A merging t-digest which estimates quantiles of a stream of values. Values are summarized by centroids, and
+ * centroids near both ends are kept smaller, so extreme quantiles are more accurate than the median. The number of
+ * centroids is proportional to the compression, regardless of the number of values.
+ *
+ * Added values are buffered and merged into centroids in batches.
+ */
+public class TDigest implements ProtoObject<TDigestProto> {
+  public static final double DEFAULT_COMPRESSION = 100;
+
+  private final double compression;
+  // centroids sorted by their means
+  private double[] means;
+  private long[] counts;
+  private int centroidNum;
+  private long totalCount;
+
+  // values and centroids not merged yet
+  private double[] bufferMeans;
+  private long[] bufferCounts;
+  private int bufferNum;
+
+  private double min = Double.POSITIVE_INFINITY;
+  private double max = Double.NEGATIVE_INFINITY;
+
+  public TDigest() {
+    this(DEFAULT_COMPRESSION);
+  }
+
+  public TDigest(double compression) {
+    this.compression = compression;
+    int capacity = (int) Math.ceil(compression) * 2 + 10;
+    this.means = new double[capacity];
+    this.counts = new long[capacity];
+    this.bufferMeans = new double[capacity * 4];
+    this.bufferCounts = new long[capacity * 4];
+  }
+
+  public TDigest(TDigestProto proto) {
+    this(proto.getCompression());
+    for (int i = 0; i < proto.getMeansCount(); i++) {
+      add(proto.getMeans(i), proto.getCounts(i));
+    }
+    if (proto.hasMin()) {
+      min = proto.getMin();
+      max = proto.getMax();
+    }
+  }
+
+  public void add(double value) {
+    add(value, 1);
+  }
+
+  private void add(double mean, long count) {
+    if (bufferNum == bufferMeans.length) {
+      compress();
+    }
+    bufferMeans[bufferNum] = mean;
+    bufferCounts[bufferNum] = count;
+    bufferNum++;
+    totalCount += count;
+    min = Math.min(min, mean);
+    max = Math.max(max, mean);
+  }
+
+  /**
+   * Merges all centroids of another digest.
+   */
+  public void merge(TDigest other) {
+    other.compress();
+    for (int i = 0; i < other.centroidNum; i++) {
+      add(other.means[i], other.counts[i]);
+    }
+    if (other.totalCount > 0) {
+      min = Math.min(min, other.min);
+      max = Math.max(max, other.max);
+    }
+  }
+
+  public long size() {
+    return totalCount;
+  }
+
+  /**
+   * @param q a quantile between 0 and 1
+   * @return The estimated value at a given quantile, or NaN if no value is added
+   */
+  public double quantile(double q) {
+    compress();
+    if (centroidNum == 0) {
+      return Double.NaN;
+    } else if (centroidNum == 1) {
+      return means[0];
+    }
+
+    // each centroid is assumed to be centered at its mean, and values between centroids are interpolated.
+    double index = q * totalCount;
+    if (index <= counts[0] / 2.0) {
+      return interpolate(min, means[0], index / (counts[0] / 2.0));
+    }
+
+    double cumulative = counts[0] / 2.0;
+    for (int i = 0; i < centroidNum - 1; i++) {
+      double gap = (counts[i] + counts[i + 1]) / 2.0;
+      if (index <= cumulative + gap) {
+        return interpolate(means[i], means[i + 1], (index - cumulative) / gap);
+      }
+      cumulative += gap;
+    }
+
+    long lastCount = counts[centroidNum - 1];
+    return interpolate(means[centroidNum - 1], max, Math.min(1, (index - cumulative) / (lastCount / 2.0)));
+  }
+
+  private static double interpolate(double from, double to, double ratio) {
+    return from + (to - from) * ratio;
+  }
+
+  /**
+   * Merges buffered values and centroids into the sorted centroids.
+   */
+  private void compress() {
+    if (bufferNum == 0) {
+      return;
+    }
+
+    // sort the buffer with the existing centroids
+    int num = centroidNum + bufferNum;
+    double[] sortedMeans = new double[num];
+    long[] sortedCounts = new long[num];
+    sort(bufferMeans, bufferCounts, 0, bufferNum - 1);
+    int i = 0, j = 0;
+    for (int k = 0; k < num; k++) {
+      if (j >= bufferNum || (i < centroidNum && means[i] <= bufferMeans[j])) {
+        sortedMeans[k] = means[i];
+        sortedCounts[k] = counts[i];
+        i++;
+      } else {
+        sortedMeans[k] = bufferMeans[j];
+        sortedCounts[k] = bufferCounts[j];
+        j++;
+      }
+    }
+
+    // merge adjacent centroids as long as the merged one is not larger than the limit of its quantile
+    centroidNum = 0;
+    long mergedCount = 0;
+    double mean = sortedMeans[0];
+    long count = sortedCounts[0];
+    for (int k = 1; k < num; k++) {
+      long proposed = count + sortedCounts[k];
+      double q0 = (double) mergedCount / totalCount;
+      double q2 = (double) (mergedCount + proposed) / totalCount;
+      double limit = totalCount * Math.min(maxSize(q0), maxSize(q2));
+      if (proposed <= limit) {
+        mean += (sortedMeans[k] - mean) * sortedCounts[k] / proposed;
+        count = proposed;
+      } else {
+        appendCentroid(mean, count);
+        mergedCount += count;
+        mean = sortedMeans[k];
+        count = sortedCounts[k];
+      }
+    }
+    appendCentroid(mean, count);
+    bufferNum = 0;
+  }
+
+  /**
+   * Sorts means and their counts together by means.
+   */
+  private static void sort(double[] means, long[] counts, int from, int to) {
+    while (from < to) {
+      double pivot = means[(from + to) >>> 1];
+      int i = from, j = to;
+      while (i <= j) {
+        while (means[i] < pivot) {
+          i++;
+        }
+        while (means[j] > pivot) {
+          j--;
+        }
+        if (i <= j) {
+          swap(means, counts, i++, j--);
+        }
+      }
+      // it recurses into the smaller part to bound the depth of recursion
+      if (j - from < to - i) {
+        sort(means, counts, from, j);
+        from = i;
+      } else {
+        sort(means, counts, i, to);
+        to = j;
+      }
+    }
+  }
+
+  private static void swap(double[] means, long[] counts, int i, int j) {
+    double mean = means[i];
+    means[i] = means[j];
+    means[j] = mean;
+    long count = counts[i];
+    counts[i] = counts[j];
+    counts[j] = count;
+  }
+
+  private double maxSize(double q) {
+    return 4 * q * (1 - q) / compression;
+  }
+
+  private void appendCentroid(double mean, long count) {
+    if (centroidNum == means.length) {
+      means = Arrays.copyOf(means, centroidNum * 2);
+      counts = Arrays.copyOf(counts, centroidNum * 2);
+    }
+    means[centroidNum] = mean;
+    counts[centroidNum] = count;
+    centroidNum++;
+  }
+
+  @Override
+  public TDigestProto getProto() {
+    compress();
+    TDigestProto.Builder builder = TDigestProto.newBuilder();
+    builder.setCompression(compression);
+    for (int i = 0; i < centroidNum; i++) {
+      builder.addMeans(means[i]);
+      builder.addCounts(counts[i]);
+    }
+    if (totalCount > 0) {
+      builder.setMin(min);
+      builder.setMax(max);
+    }
+    return builder.build();
+  }
+}
@@ -49,6 +49,7 @@ public abstract class AbstractTaskScheduler extends AbstractService implements E
 
   protected int hostLocalAssigned;
   protected int rackLocalAssigned;
+  protected int remoteAssigned;
   protected int totalAssigned;
   protected Set<String> hosts = Sets.newHashSet();
 
@@ -69,6 +70,18 @@ public abstract class AbstractTaskScheduler extends AbstractService implements E
     return rackLocalAssigned;
   }
 
+  public int getRemoteAssigned() {
+    return remoteAssigned;
+  }
+
+  /**
+   * @return the ratio of host-local assignments to all assignments of leaf tasks, or 0 if no task is assigned.
+   */
+  public float getHostLocalityRatio() {
+    int leafAssigned = hostLocalAssigned + rackLocalAssigned + remoteAssigned;
+    return leafAssigned == 0 ? 0.0f : (float) hostLocalAssigned / leafAssigned;
+  }
+
   public int getTotalAssigned() {
     return totalAssigned;
   }
@@ -77,6 +90,16 @@ public abstract class AbstractTaskScheduler extends AbstractService implements E
    return hosts;
   }
 
+  /**
+   * It stops task runners which wait for tasks, so that their containers are given back to other queries.
+   *
+   * @param num the maximum number of task runners to be stopped
+   * @return the number of stopped task runners
+   */
+  public int stopIdleTaskRunners(int num) {
+    return 0;
+  }
+
   public abstract void handleTaskRequestEvent(TaskRequestEvent event);
   public abstract int remainingScheduledObjectNum();
 }
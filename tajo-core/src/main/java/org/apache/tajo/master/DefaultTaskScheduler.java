@@ -27,6 +27,7 @@ import org.apache.hadoop.yarn.api.records.ContainerId;
 import org.apache.hadoop.yarn.event.EventHandler;
 import org.apache.hadoop.yarn.util.RackResolver;
 import org.apache.tajo.QueryUnitAttemptId;
+import org.apache.tajo.conf.TajoConf;
 import org.apache.tajo.engine.planner.global.ExecutionBlock;
 import org.apache.tajo.engine.planner.global.MasterPlan;
 import org.apache.tajo.engine.query.QueryUnitRequest;
@@ -66,6 +67,19 @@ public class DefaultTaskScheduler extends AbstractTaskScheduler {
   private int nextTaskId = 0;
   private int scheduledObjectNum = 0;
 
+  /**
+   * Locality levels which the delay scheduling allows for leaf tasks.
+   */
+  enum LocalityLevel {
+    NODE_LOCAL,
+    RACK_LOCAL,
+    ANY
+  }
+
+  private LocalityDelay localityDelay;
+  /** task requests which wait for local tasks by the delay scheduling */
+  private final List<DelayedTaskRequest> delayedTaskRequests = new LinkedList<DelayedTaskRequest>();
+
   public DefaultTaskScheduler(TaskSchedulerContext context, SubQuery subQuery) {
     super(DefaultTaskScheduler.class.getName());
     this.context = context;
@@ -78,6 +92,11 @@ public class DefaultTaskScheduler extends AbstractTaskScheduler {
     scheduledRequests = new ScheduledRequests();
     taskRequests  = new TaskRequests();
 
+    TajoConf tajoConf = context.getMasterContext().getConf();
+    localityDelay = new LocalityDelay(
+        tajoConf.getIntVar(TajoConf.ConfVars.QUERYMASTER_TASK_SCHEDULER_NODE_LOCALITY_DELAY),
+        tajoConf.getIntVar(TajoConf.ConfVars.QUERYMASTER_TASK_SCHEDULER_RACK_LOCALITY_DELAY));
+
     super.init(conf);
   }
 
@@ -127,6 +146,8 @@ public class DefaultTaskScheduler extends AbstractTaskScheduler {
       context.getMasterContext().getResourceAllocator()
           .releaseWorkerResource(req.getExecutionBlockId(), req.getWorkerId(), 1);
     }
+    // delayed requests are returned by the request queue, which does not accept requests any more.
+    retryDelayedTaskRequests(System.currentTimeMillis(), true);
 
     LOG.info("Task Scheduler stopped");
     super.stop();
@@ -142,6 +163,9 @@ public class DefaultTaskScheduler extends AbstractTaskScheduler {
 
   LinkedList<TaskRequestEvent> taskRequestEvents = new LinkedList<TaskRequestEvent>();
   public void schedule() {
+    boolean noMoreDelay = !localityDelay.isEnabled() || scheduledRequests.leafTaskNum() == 0 ||
+        !scheduledRequests.hasRemainingLocalTasks();
+    retryDelayedTaskRequests(System.currentTimeMillis(), noMoreDelay);
 
     if (taskRequests.size() > 0) {
       if (scheduledRequests.leafTaskNum() > 0) {
@@ -268,6 +292,165 @@ public class DefaultTaskScheduler extends AbstractTaskScheduler {
     return scheduledObjectNum;
   }
 
+  @Override
+  public int stopIdleTaskRunners(int num) {
+    List<TaskRequestEvent> idleRequests = new ArrayList<TaskRequestEvent>();
+    synchronized (delayedTaskRequests) {
+      Iterator<DelayedTaskRequest> iterator = delayedTaskRequests.iterator();
+      while (idleRequests.size() < num && iterator.hasNext()) {
+        idleRequests.add(iterator.next().request);
+        iterator.remove();
+      }
+    }
+    TaskRequestEvent req;
+    while (idleRequests.size() < num && (req = taskRequests.taskRequestQueue.poll()) != null) {
+      idleRequests.add(req);
+    }
+
+    for (TaskRequestEvent eachRequest : idleRequests) {
+      eachRequest.getCallback().run(stopTaskRunnerReq);
+      context.getMasterContext().getResourceAllocator()
+          .releaseWorkerResource(eachRequest.getExecutionBlockId(), eachRequest.getWorkerId(), 1);
+    }
+    return idleRequests.size();
+  }
+
+  /**
+   * @param host the host of a task request which cannot get a host-local task
+   * @param now the current time in milliseconds
+   * @return the least local level that is allowed to be assigned to the host now
+   */
+  private LocalityLevel getAllowedLocalityLevel(String host, long now) {
+    if (!localityDelay.isEnabled() || !scheduledRequests.hasRemainingLocalTasks()) {
+      localityDelay.clear();
+      return LocalityLevel.ANY;
+    }
+    return localityDelay.getAllowedLevel(host, now);
+  }
+
+  /**
+   * It keeps a task request aside until its retry time, so that it is not retried in every scheduling round.
+   */
+  private void delayTaskRequest(TaskRequestEvent request, String host, long now) {
+    synchronized (delayedTaskRequests) {
+      delayedTaskRequests.add(new DelayedTaskRequest(request, now + localityDelay.getRetryInterval(host, now)));
+    }
+  }
+
+  /**
+   * It puts delayed task requests back into the request queue if their retry times have come.
+   *
+   * @param now the current time in milliseconds
+   * @param all if true, all delayed task requests are put back regardless of their retry times
+   */
+  private void retryDelayedTaskRequests(long now, boolean all) {
+    List<TaskRequestEvent> retries = new ArrayList<TaskRequestEvent>();
+    synchronized (delayedTaskRequests) {
+      Iterator<DelayedTaskRequest> iterator = delayedTaskRequests.iterator();
+      while (iterator.hasNext()) {
+        DelayedTaskRequest delayed = iterator.next();
+        if (all || delayed.retryTime <= now) {
+          retries.add(delayed.request);
+          iterator.remove();
+        }
+      }
+    }
+    for (TaskRequestEvent eachRequest : retries) {
+      taskRequests.handle(eachRequest);
+    }
+  }
+
+  private static class DelayedTaskRequest {
+    private final TaskRequestEvent request;
+    private final long retryTime;
+
+    DelayedTaskRequest(TaskRequestEvent request, long retryTime) {
+      this.request = request;
+      this.retryTime = retryTime;
+    }
+  }
+
+  /**
+   * Delay scheduling. While some hosts still have local tasks, a task request which cannot get a host-local
+   * task waits up to <code>nodeLocalityDelay</code>, and then it waits up to <code>rackLocalityDelay</code>
+   * for a rack-local task. Each host has its own waiting time, which is reset whenever a host-local task is
+   * assigned to the host.
+   *
+   * A waiting request is retried after an interval which doubles with the waiting time, but it is retried
+   * no later than the time when a less local level is allowed.
+   */
+  static class LocalityDelay {
+    static final long MIN_RETRY_INTERVAL = 10;
+    static final long MAX_RETRY_INTERVAL = 1000;
+
+    /** how long a host waits for a host-local task before it can get a rack-local task */
+    private final long nodeLocalityDelay;
+    /** how long a host waits for a rack-local task before it can get any task */
+    private final long rackLocalityDelay;
+    /** the time when each host began to wait for local tasks */
+    private final Map<String, Long> waitStartTimes = new HashMap<String, Long>();
+
+    LocalityDelay(long nodeLocalityDelay, long rackLocalityDelay) {
+      this.nodeLocalityDelay = Math.max(0, nodeLocalityDelay);
+      this.rackLocalityDelay = Math.max(0, rackLocalityDelay);
+    }
+
+    boolean isEnabled() {
+      return nodeLocalityDelay > 0 || rackLocalityDelay > 0;
+    }
+
+    /**
+     * @return the least local level that is allowed to be assigned to a given host now. The host begins to wait
+     * if it does not wait yet.
+     */
+    synchronized LocalityLevel getAllowedLevel(String host, long now) {
+      if (!isEnabled()) {
+        return LocalityLevel.ANY;
+      }
+
+      Long startTime = waitStartTimes.get(host);
+      if (startTime == null) {
+        startTime = now;
+        waitStartTimes.put(host, startTime);
+      }
+
+      long waited = now - startTime;
+      if (waited < nodeLocalityDelay) {
+        return LocalityLevel.NODE_LOCAL;
+      } else if (waited < nodeLocalityDelay + rackLocalityDelay) {
+        return LocalityLevel.RACK_LOCAL;
+      } else {
+        return LocalityLevel.ANY;
+      }
+    }
+
+    /**
+     * @return how long a waiting task request of a given host is delayed until its next retry
+     */
+    synchronized long getRetryInterval(String host, long now) {
+      Long startTime = waitStartTimes.get(host);
+      if (startTime == null) {
+        return MIN_RETRY_INTERVAL;
+      }
+
+      long waited = now - startTime;
+      long backoff = Math.min(MAX_RETRY_INTERVAL, Math.max(MIN_RETRY_INTERVAL, waited));
+      long nextLevel = waited < nodeLocalityDelay ? nodeLocalityDelay : nodeLocalityDelay + rackLocalityDelay;
+      return Math.max(1, Math.min(backoff, nextLevel - waited));
+    }
+
+    /**
+     * It is called when a host-local task is assigned to a given host.
+     */
+    synchronized void reset(String host) {
+      waitStartTimes.remove(host);
+    }
+
+    synchronized void clear() {
+      waitStartTimes.clear();
+    }
+  }
+
   private class TaskRequests implements EventHandler<TaskRequestEvent> {
     private final LinkedBlockingQueue<TaskRequestEvent> taskRequestQueue =
         new LinkedBlockingQueue<TaskRequestEvent>();
@@ -390,6 +573,15 @@ public class DefaultTaskScheduler extends AbstractTaskScheduler {
         increaseConcurrency(containerId, volumeId);
       } else {
         volumeId = lastAssignedVolumeId.get(containerId);
+
+        // move this task runner to the least loaded volume if its volume is busier than that one
+        int lowestVolumeId = getLowestVolumeId();
+        if (lowestVolumeId != volumeId && lowestVolumeId > REMOTE &&
+            getVolumeConcurrency(volumeId) > getVolumeConcurrency(lowestVolumeId) + 1) {
+          decreaseConcurrency(containerId);
+          volumeId = lowestVolumeId;
+          increaseConcurrency(containerId, volumeId);
+        }
       }
 
       if (unassignedTaskForEachVolume.size() >  0) {
@@ -536,18 +728,30 @@ public class DefaultTaskScheduler extends AbstractTaskScheduler {
      *  volume of a host : 0 ~ n
      *  compressed task, amazon s3, unKnown volume : -1
      *  remote task : -2
+     *
+     *  Volumes which still have unassigned tasks are preferred to the others.
      */
     public int getLowestVolumeId(){
       Map.Entry<Integer, Integer> volumeEntry = null;
 
       for (Map.Entry<Integer, Integer> entry : diskVolumeLoads.entrySet()) {
-        if(volumeEntry == null) volumeEntry = entry;
+        if (!unassignedTaskForEachVolume.containsKey(entry.getKey())) continue;
 
-        if (volumeEntry.getValue() >= entry.getValue()) {
+        if (volumeEntry == null || volumeEntry.getValue() >= entry.getValue()) {
           volumeEntry = entry;
         }
       }
 
+      if (volumeEntry == null) {
+        for (Map.Entry<Integer, Integer> entry : diskVolumeLoads.entrySet()) {
+          if(volumeEntry == null) volumeEntry = entry;
+
+          if (volumeEntry.getValue() >= entry.getValue()) {
+            volumeEntry = entry;
+          }
+        }
+      }
+
       if(volumeEntry != null){
         return volumeEntry.getKey();
       } else {
@@ -648,6 +852,18 @@ public class DefaultTaskScheduler extends AbstractTaskScheduler {
       return nonLeafTasks.size();
     }
 
+    /**
+     * @return true if there is any host which still has unassigned local tasks
+     */
+    public boolean hasRemainingLocalTasks() {
+      for (HostVolumeMapping hostVolumeMapping : leafTaskHostMapping.values()) {
+        if (hostVolumeMapping.getRemainingLocalTaskSize() > 0) {
+          return true;
+        }
+      }
+      return false;
+    }
+
     public Set<QueryUnitAttemptId> assignedRequest = new HashSet<QueryUnitAttemptId>();
 
     private QueryUnitAttemptId allocateLocalTask(String host, ContainerId containerId){
@@ -664,6 +880,7 @@ public class DefaultTaskScheduler extends AbstractTaskScheduler {
             //LOG.info(attemptId + " Assigned based on host match " + hostName);
             hostLocalAssigned++;
             totalAssigned++;
+            localityDelay.reset(host);
             return attemptId;
           }
         }
@@ -782,6 +999,24 @@ public class DefaultTaskScheduler extends AbstractTaskScheduler {
         QueryUnitAttemptId attemptId = allocateLocalTask(host, containerId);
 
         if (attemptId == null) { // if a local task cannot be found
+          long now = System.currentTimeMillis();
+          LocalityLevel allowedLevel = getAllowedLocalityLevel(host, now);
+          if (allowedLevel == LocalityLevel.NODE_LOCAL) {
+            delayTaskRequest(taskRequest, host, now);
+            continue;
+          }
+
+          //////////////////////////////////////////////////////////////////////
+          // rack-local allocation
+          //////////////////////////////////////////////////////////////////////
+          attemptId = allocateRackTask(host);
+
+          if (attemptId == null && allowedLevel == LocalityLevel.RACK_LOCAL) {
+            // wait for a rack-local task before this task runner is moved to remote tasks
+            delayTaskRequest(taskRequest, host, now);
+            continue;
+          }
+
           HostVolumeMapping hostVolumeMapping = leafTaskHostMapping.get(host);
 
           if(hostVolumeMapping != null) {
@@ -793,7 +1028,7 @@ public class DefaultTaskScheduler extends AbstractTaskScheduler {
             // this part is remote concurrency management of a tail tasks
             int tailLimit = Math.max(remainingScheduledObjectNum() / (leafTaskHostMapping.size()), 2);
 
-            if(hostVolumeMapping.getRemoteConcurrency() > tailLimit){
+            if(attemptId == null && hostVolumeMapping.getRemoteConcurrency() > tailLimit){
               //release container
               hostVolumeMapping.decreaseConcurrency(containerId);
               taskRequest.getCallback().run(stopTaskRunnerReq);
@@ -803,11 +1038,6 @@ public class DefaultTaskScheduler extends AbstractTaskScheduler {
             }
           }
 
-          //////////////////////////////////////////////////////////////////////
-          // rack-local allocation
-          //////////////////////////////////////////////////////////////////////
-          attemptId = allocateRackTask(host);
-
           //////////////////////////////////////////////////////////////////////
           // random node allocation
           //////////////////////////////////////////////////////////////////////
@@ -815,10 +1045,10 @@ public class DefaultTaskScheduler extends AbstractTaskScheduler {
             synchronized (leafTasks){
               attemptId = leafTasks.iterator().next();
               leafTasks.remove(attemptId);
-              rackLocalAssigned++;
+              remoteAssigned++;
               totalAssigned++;
-              LOG.info(String.format("Assigned Local/Remote/Total: (%d/%d/%d), Locality: %.2f%%,",
-                  hostLocalAssigned, rackLocalAssigned, totalAssigned,
+              LOG.info(String.format("Assigned Local/Rack/Remote/Total: (%d/%d/%d/%d), Locality: %.2f%%,",
+                  hostLocalAssigned, rackLocalAssigned, remoteAssigned, totalAssigned,
                   ((double) hostLocalAssigned / (double) totalAssigned) * 100));
             }
           }
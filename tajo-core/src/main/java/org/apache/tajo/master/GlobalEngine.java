@@ -54,6 +54,7 @@ import org.apache.tajo.master.querymaster.Query;
 import org.apache.tajo.master.querymaster.QueryInfo;
 import org.apache.tajo.master.querymaster.QueryJobManager;
 import org.apache.tajo.master.querymaster.QueryMasterTask;
+import org.apache.tajo.master.session.PreparedQuery;
 import org.apache.tajo.master.session.Session;
 import org.apache.tajo.plan.*;
 import org.apache.tajo.plan.expr.EvalNode;
@@ -70,16 +71,23 @@ import org.apache.tajo.worker.TaskAttemptContext;
 import java.io.IOException;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.apache.tajo.TajoConstants.DEFAULT_TABLESPACE_NAME;
 import static org.apache.tajo.catalog.proto.CatalogProtos.AlterTablespaceProto;
+import static org.apache.tajo.ipc.ClientProtos.PrepareStatementResponse;
+import static org.apache.tajo.ipc.ClientProtos.PreparedParameter;
 import static org.apache.tajo.ipc.ClientProtos.SerializedResultSet;
 import static org.apache.tajo.ipc.ClientProtos.SubmitQueryResponse;
 
 public class GlobalEngine extends AbstractService {
   /** Class Logger */
   private final static Log LOG = LogFactory.getLog(GlobalEngine.class);
+  /** the id of a scan node which serves a cached query result */
+  private static final int CACHED_RESULT_SCAN_PID = 0;
 
   private final MasterContext context;
   private final StorageManager sm;
@@ -91,6 +99,10 @@ public class GlobalEngine extends AbstractService {
   private LogicalOptimizer optimizer;
   private LogicalPlanVerifier annotatedPlanVerifier;
   private DistributedQueryHookManager hookManager;
+  private QueryResultCache resultCache;
+  private QueryPlanCache planCache;
+  /** the number of executed DDL statements, which invalidates prepared plans built before them */
+  private final AtomicLong ddlVersion = new AtomicLong();
 
   public GlobalEngine(final MasterContext context) {
     super(GlobalEngine.class.getName());
@@ -110,6 +122,9 @@ public class GlobalEngine extends AbstractService {
       hookManager = new DistributedQueryHookManager();
       hookManager.addHook(new CreateTableHook());
       hookManager.addHook(new InsertHook());
+
+      resultCache = new QueryResultCache(context.getConf());
+      planCache = new QueryPlanCache(context.getConf().getIntVar(TajoConf.ConfVars.QUERY_PLAN_CACHE_SIZE));
     } catch (Throwable t) {
       LOG.error(t.getMessage(), t);
     }
@@ -117,6 +132,9 @@ public class GlobalEngine extends AbstractService {
   }
 
   public void stop() {
+    if (resultCache != null) {
+      resultCache.close();
+    }
     super.stop();
   }
 
@@ -140,6 +158,14 @@ public class GlobalEngine extends AbstractService {
     return optimizer;
   }
 
+  public QueryResultCache getResultCache() {
+    return resultCache;
+  }
+
+  public QueryPlanCache getPlanCache() {
+    return planCache;
+  }
+
   public LogicalPlanVerifier getLogicalPlanVerifier() {
     return annotatedPlanVerifier;
   }
@@ -161,34 +187,171 @@ public class GlobalEngine extends AbstractService {
     Expr planningContext;
 
     try {
-      if (isJson) {
-        planningContext = buildExpressionFromJson(query);
+      // a repeated query reuses the plan built for the same query text and session variables.
+      String planCacheKey = null;
+      QueryPlanCache.CachedPlan cachedPlan = null;
+      if (!isJson && planCache != null) {
+        planCacheKey = planCache.createKey(query, queryContext);
+        cachedPlan = planCache.get(planCacheKey);
+        if (cachedPlan != null && !isValidCachedPlan(cachedPlan.getPlan())) {
+          planCache.remove(planCacheKey, cachedPlan);
+          cachedPlan = null;
+        }
+      }
+
+      LogicalPlan plan;
+      String jsonExpr;
+      if (cachedPlan != null) {
+        context.getSystemMetrics().counter("Query", "totalQuery").inc();
+        context.getSystemMetrics().counter("Query", "planCacheHit").inc();
+        plan = cachedPlan.getPlan();
+        jsonExpr = cachedPlan.getJsonExpr();
       } else {
-        planningContext = buildExpressionFromSql(queryContext, query);
+        if (isJson) {
+          planningContext = buildExpressionFromJson(query);
+        } else {
+          planningContext = buildExpressionFromSql(queryContext, query);
+        }
+
+        jsonExpr = planningContext.toJson();
+        plan = createLogicalPlan(queryContext, planningContext);
+        if (planCacheKey != null) {
+          context.getSystemMetrics().counter("Query", "planCacheMiss").inc();
+          if (isCacheablePlan(plan) && QueryPlanCache.isCacheable(plan, planningContext)) {
+            planCache.put(planCacheKey, plan, jsonExpr);
+          }
+        }
       }
 
-      String jsonExpr = planningContext.toJson();
-      LogicalPlan plan = createLogicalPlan(queryContext, planningContext);
       SubmitQueryResponse response = executeQueryInternal(queryContext, session, plan, query, jsonExpr);
       return response;
     } catch (Throwable t) {
-      context.getSystemMetrics().counter("Query", "errorQuery").inc();
+      return buildErrorResponse(queryContext, t);
+    }
+  }
+
+  private SubmitQueryResponse buildErrorResponse(QueryContext queryContext, Throwable t) {
+    context.getSystemMetrics().counter("Query", "errorQuery").inc();
+    LOG.error("\nStack Trace:\n" + StringUtils.stringifyException(t));
+    SubmitQueryResponse.Builder responseBuilder = SubmitQueryResponse.newBuilder();
+    responseBuilder.setUserName(queryContext.get(SessionVars.USERNAME));
+    responseBuilder.setQueryId(QueryIdFactory.NULL_QUERY_ID.getProto());
+    responseBuilder.setIsForwarded(true);
+    responseBuilder.setResultCode(ClientProtos.ResultCode.ERROR);
+    String errorMessage = t.getMessage();
+    if (t.getMessage() == null) {
+      errorMessage = t.getClass().getName();
+    }
+    responseBuilder.setErrorMessage(errorMessage);
+    responseBuilder.setErrorTrace(StringUtils.stringifyException(t));
+    return responseBuilder.build();
+  }
+
+  /**
+   * Prepares a query having '?' parameter markers. The query is parsed and pre-verified only once here.
+   */
+  public PrepareStatementResponse prepareQuery(Session session, String sql) {
+    LOG.info("Prepare: " + sql);
+    QueryContext queryContext = createQueryContext(session);
+    PrepareStatementResponse.Builder responseBuilder = PrepareStatementResponse.newBuilder();
+
+    try {
+      String [] placeholders = PreparedQuery.createPlaceholders(PreparedQuery.countParameters(sql));
+      Expr template = analyzer.parse(PreparedQuery.rewriteParameters(sql, placeholders));
+      preVerify(queryContext, template);
+
+      PreparedQuery preparedQuery = new PreparedQuery(session.nextPreparedQueryId(), sql, template, placeholders,
+          context.getConf().getIntVar(TajoConf.ConfVars.PREPARED_STATEMENT_PLAN_CACHE_SIZE));
+      session.addPreparedQuery(preparedQuery);
+
+      responseBuilder.setResultCode(ClientProtos.ResultCode.OK);
+      responseBuilder.setStatementId(preparedQuery.getId());
+      responseBuilder.setParameterNum(preparedQuery.getParameterNum());
+    } catch (Throwable t) {
       LOG.error("\nStack Trace:\n" + StringUtils.stringifyException(t));
-      SubmitQueryResponse.Builder responseBuilder = SubmitQueryResponse.newBuilder();
-      responseBuilder.setUserName(queryContext.get(SessionVars.USERNAME));
-      responseBuilder.setQueryId(QueryIdFactory.NULL_QUERY_ID.getProto());
-      responseBuilder.setIsForwarded(true);
       responseBuilder.setResultCode(ClientProtos.ResultCode.ERROR);
-      String errorMessage = t.getMessage();
-      if (t.getMessage() == null) {
-        errorMessage = t.getClass().getName();
-      }
-      responseBuilder.setErrorMessage(errorMessage);
+      responseBuilder.setErrorMessage(t.getMessage() == null ? t.getClass().getName() : t.getMessage());
       responseBuilder.setErrorTrace(StringUtils.stringifyException(t));
-      return responseBuilder.build();
+    }
+    return responseBuilder.build();
+  }
+
+  /**
+   * Executes a prepared query with given parameter values. A logical plan is reused if the same parameter values
+   * were planned before with the same session variables, and neither the scanned tables nor the rest of the catalog
+   * have changed since then. Plans including non-deterministic functions are never reused.
+   */
+  public SubmitQueryResponse executePreparedQuery(Session session, int statementId,
+                                                  List<PreparedParameter> parameters) {
+    QueryContext queryContext = createQueryContext(session);
+
+    try {
+      PreparedQuery preparedQuery = session.getPreparedQuery(statementId);
+      if (preparedQuery == null) {
+        throw new PlanningException("No such prepared statement: " + statementId);
+      }
+      LOG.info("Execute prepared query: " + preparedQuery.getSql());
+      context.getSystemMetrics().counter("Query", "totalQuery").inc();
+
+      Map<String, String> variables = PreparedQuery.getPlanningVariables(session);
+      long version = ddlVersion.get();
+      PreparedQuery.CachedPlan cachedPlan = preparedQuery.getCachedPlan(parameters, variables, version);
+
+      LogicalPlan plan;
+      String jsonExpr;
+      if (cachedPlan != null && isValidCachedPlan(cachedPlan.getPlan())) {
+        context.getSystemMetrics().counter("Query", "preparedPlanHit").inc();
+        plan = cachedPlan.getPlan();
+        jsonExpr = cachedPlan.getJsonExpr();
+      } else {
+        context.getSystemMetrics().counter("Query", "preparedPlanMiss").inc();
+        Expr expr = preparedQuery.bind(parameters);
+        jsonExpr = expr.toJson();
+        plan = createLogicalPlan(queryContext, expr);
+        if (isCacheablePlan(plan) && QueryPlanCache.isCacheable(plan, expr)) {
+          preparedQuery.putCachedPlan(parameters, variables, version, plan, jsonExpr);
+        } else {
+          preparedQuery.removeCachedPlan(parameters);
+        }
+      }
+
+      return executeQueryInternal(queryContext, session, plan, preparedQuery.getSql(), jsonExpr);
+    } catch (Throwable t) {
+      return buildErrorResponse(queryContext, t);
     }
   }
 
+  /**
+   * Only read-only queries are cached because DDL and insert plans are modified while they are executed.
+   */
+  private static boolean isCacheablePlan(LogicalPlan plan) {
+    LogicalRootNode rootNode = plan.getRootBlock().getRoot();
+    if (PlannerUtil.checkIfDDLPlan(rootNode)) {
+      return false;
+    }
+    NodeType type = rootNode.getChild().getType();
+    return type != NodeType.INSERT && type != NodeType.CREATE_TABLE;
+  }
+
+  /**
+   * A cached plan is valid only if every scanned table has the same description, including its statistics,
+   * as the catalog has now.
+   */
+  private boolean isValidCachedPlan(LogicalPlan plan) {
+    for (LogicalNode node : PlannerUtil.findAllNodes(plan.getRootBlock().getRoot(),
+        NodeType.SCAN, NodeType.PARTITIONS_SCAN)) {
+      TableDesc desc = ((ScanNode) node).getTableDesc();
+      if (!catalog.existsTable(desc.getName()) || !desc.equals(catalog.getTableDesc(desc.getName()))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  public boolean closePreparedQuery(Session session, int statementId) {
+    return session.removePreparedQuery(statementId);
+  }
+
   public Expr buildExpressionFromJson(String json) {
     return JsonHelper.fromJson(json, Expr.class);
   }
@@ -214,6 +377,11 @@ public class GlobalEngine extends AbstractService {
     if (PlannerUtil.checkIfDDLPlan(rootNode)) {
       context.getSystemMetrics().counter("Query", "numDDLQuery").inc();
       updateQuery(queryContext, rootNode.getChild());
+      // cached plans are validated only against scanned tables, so other catalog changes discard all of them.
+      if (planCache != null) {
+        planCache.clear();
+      }
+      ddlVersion.incrementAndGet();
       responseBuilder.setQueryId(QueryIdFactory.NULL_QUERY_ID.getProto());
       responseBuilder.setResultCode(ClientProtos.ResultCode.OK);
 
@@ -255,22 +423,11 @@ public class GlobalEngine extends AbstractService {
         maxRow = (int) limitNode.getFetchFirstNum();
       }
       if (desc.getStats().getNumRows() == 0) {
+        // the plan can be cached, and a cached plan is valid only while its table descriptions equal the catalog's.
+        desc = (TableDesc) desc.clone();
         desc.getStats().setNumRows(TajoConstants.UNKNOWN_ROW_NUMBER);
       }
-
-      QueryId queryId = QueryIdFactory.newQueryId(context.getResourceManager().getSeedQueryId());
-
-      NonForwardQueryResultScanner queryResultScanner =
-          new NonForwardQueryResultScanner(context.getConf(), session.getSessionId(), queryId, scanNode, desc, maxRow);
-
-      queryResultScanner.init();
-      session.addNonForwardQueryResultScanner(queryResultScanner);
-
-      responseBuilder.setQueryId(queryId.getProto());
-      responseBuilder.setMaxRowNum(maxRow);
-      responseBuilder.setTableDesc(desc.getProto());
-      responseBuilder.setSessionVariables(session.getProto().getVariables());
-      responseBuilder.setResultCode(ClientProtos.ResultCode.OK);
+      serveNonForwardQuery(session, scanNode, desc, maxRow, responseBuilder);
 
       // NonFromQuery indicates a form of 'select a, x+y;'
     } else if (PlannerUtil.checkIfNonFromQuery(plan)) {
@@ -303,12 +460,32 @@ public class GlobalEngine extends AbstractService {
       }
     } else { // it requires distributed execution. So, the query is forwarded to a query master.
       context.getSystemMetrics().counter("Query", "numDMLQuery").inc();
+
+      QueryResultCache.CacheKey cacheKey = null;
+      if (resultCache != null && queryContext.getBool(SessionVars.RESULT_CACHE_ENABLED)) {
+        cacheKey = resultCache.createKey(queryContext, plan, jsonExpr);
+        TableDesc cachedDesc = cacheKey != null ? resultCache.get(cacheKey) : null;
+        if (cachedDesc != null) {
+          // the cached result is served without launching any task.
+          context.getSystemMetrics().counter("Query", "resultCacheHit").inc();
+          // the plan can be cached, so the scan node does not take an id from it. It belongs to no plan.
+          ScanNode scanNode = new ScanNode(CACHED_RESULT_SCAN_PID);
+          scanNode.init(cachedDesc);
+          serveNonForwardQuery(session, scanNode, cachedDesc, Integer.MAX_VALUE, responseBuilder);
+          return responseBuilder.build();
+        }
+        context.getSystemMetrics().counter("Query", "resultCacheMiss").inc();
+      }
+
       hookManager.doHooks(queryContext, plan);
 
       QueryJobManager queryJobManager = this.context.getQueryJobManager();
       QueryInfo queryInfo;
 
       queryInfo = queryJobManager.createNewQueryJob(session, queryContext, sql, jsonExpr, rootNode);
+      if (queryInfo != null && cacheKey != null) {
+        resultCache.addPending(queryInfo.getQueryId(), cacheKey);
+      }
 
       if(queryInfo == null) {
         responseBuilder.setQueryId(QueryIdFactory.NULL_QUERY_ID.getProto());
@@ -329,6 +506,26 @@ public class GlobalEngine extends AbstractService {
     return response;
   }
 
+  /**
+   * Serves the result of a query by scanning a given table on TajoMaster.
+   */
+  private void serveNonForwardQuery(Session session, ScanNode scanNode, TableDesc desc, int maxRow,
+                                    SubmitQueryResponse.Builder responseBuilder) throws IOException {
+    QueryId queryId = QueryIdFactory.newQueryId(context.getResourceManager().getSeedQueryId());
+
+    NonForwardQueryResultScanner queryResultScanner =
+        new NonForwardQueryResultScanner(context.getConf(), session.getSessionId(), queryId, scanNode, desc, maxRow);
+
+    queryResultScanner.init();
+    session.addNonForwardQueryResultScanner(queryResultScanner);
+
+    responseBuilder.setQueryId(queryId.getProto());
+    responseBuilder.setMaxRowNum(maxRow);
+    responseBuilder.setTableDesc(desc.getProto());
+    responseBuilder.setSessionVariables(session.getProto().getVariables());
+    responseBuilder.setResultCode(ClientProtos.ResultCode.OK);
+  }
+
   private void insertNonFromQuery(QueryContext queryContext, InsertNode insertNode, SubmitQueryResponse.Builder responseBuilder)
       throws Exception {
     String nodeUniqName = insertNode.getTableName() == null ? insertNode.getPath().getName() : insertNode.getTableName();
@@ -396,13 +593,14 @@ public class GlobalEngine extends AbstractService {
     }
 
     if (insertNode.hasTargetTable()) {
+      invalidateResultCache(insertNode.getTableName());
+
       TableStats stats = tableDesc.getStats();
       long volume = Query.getTableVolume(context.getConf(), finalOutputDir);
       stats.setNumBytes(volume);
       stats.setNumRows(1);
 
-      catalog.dropTable(insertNode.getTableName());
-      catalog.createTable(tableDesc);
+      catalog.updateTableStats(Collections.singletonMap(insertNode.getTableName(), stats));
 
       responseBuilder.setTableDesc(tableDesc.getProto());
     } else {
@@ -493,8 +691,7 @@ public class GlobalEngine extends AbstractService {
     }
   }
 
-  private LogicalPlan createLogicalPlan(QueryContext queryContext, Expr expression) throws PlanningException {
-
+  private VerificationState preVerify(QueryContext queryContext, Expr expression) throws PlanningException {
     VerificationState state = new VerificationState();
     preVerifier.verify(queryContext, state, expression);
     if (!state.verified()) {
@@ -504,6 +701,12 @@ public class GlobalEngine extends AbstractService {
       }
       throw new VerifyException(sb.toString());
     }
+    return state;
+  }
+
+  private LogicalPlan createLogicalPlan(QueryContext queryContext, Expr expression) throws PlanningException {
+
+    VerificationState state = preVerify(queryContext, expression);
 
     LogicalPlan plan = planner.createPlan(queryContext, expression);
     if (LOG.isDebugEnabled()) {
@@ -624,6 +827,7 @@ public class GlobalEngine extends AbstractService {
       default:
         //TODO
     }
+    invalidateResultCache(qualifiedName);
   }
 
   /**
@@ -665,6 +869,8 @@ public class GlobalEngine extends AbstractService {
     }
 
     for (TableDesc eachTable: tableDescList) {
+      invalidateResultCache(eachTable.getName());
+
       Path path = eachTable.getPath();
       LOG.info("Truncate table: " + eachTable.getName() + ", delete all data files in " + path);
       FileSystem fs = path.getFileSystem(context.getConf());
@@ -678,6 +884,12 @@ public class GlobalEngine extends AbstractService {
     }
   }
 
+  private void invalidateResultCache(String qualifiedTableName) {
+    if (resultCache != null) {
+      resultCache.invalidate(qualifiedTableName);
+    }
+  }
+
   private boolean existColumnName(String tableName, String columnName) {
     final TableDesc tableDesc = catalog.getTableDesc(tableName);
     return tableDesc.getSchema().containsByName(columnName) ? true : false;
@@ -832,6 +1044,9 @@ public class GlobalEngine extends AbstractService {
     }
 
     boolean result = catalog.dropDatabase(databaseName);
+    if (resultCache != null) {
+      resultCache.invalidateAll();
+    }
     LOG.info("database " + databaseName + " is dropped.");
     return result;
   }
@@ -869,6 +1084,7 @@ public class GlobalEngine extends AbstractService {
 
     Path path = catalog.getTableDesc(qualifiedName).getPath();
     catalog.dropTable(qualifiedName);
+    invalidateResultCache(qualifiedName);
 
     if (purge) {
       try {
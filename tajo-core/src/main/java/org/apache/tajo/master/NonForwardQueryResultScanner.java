@@ -30,6 +30,8 @@ import org.apache.tajo.engine.planner.physical.PhysicalPlanUtil;
 import org.apache.tajo.plan.logical.ScanNode;
 import org.apache.tajo.engine.planner.physical.SeqScanExec;
 import org.apache.tajo.engine.query.QueryContext;
+import org.apache.tajo.storage.ColumnarBlockUtil;
+import org.apache.tajo.storage.ColumnarBlockUtil.ColumnarBlockEncoder;
 import org.apache.tajo.storage.RowStoreUtil;
 import org.apache.tajo.storage.RowStoreUtil.RowStoreEncoder;
 import org.apache.tajo.storage.StorageManager;
@@ -40,6 +42,8 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
+import static org.apache.tajo.ipc.ClientProtos.SerializedResultSet;
+
 public class NonForwardQueryResultScanner {
   private static final int MAX_FILE_NUM_PER_SCAN = 100;
 
@@ -48,6 +52,7 @@ public class NonForwardQueryResultScanner {
   private SeqScanExec scanExec;
   private TableDesc tableDesc;
   private RowStoreEncoder rowEncoder;
+  private ColumnarBlockEncoder blockEncoder;
   private int maxRow;
   private int currentNumRows;
   private TaskAttemptContext taskContext;
@@ -112,53 +117,77 @@ public class NonForwardQueryResultScanner {
     return tableDesc;
   }
 
-  public void close() throws Exception {
+  public synchronized void close() throws Exception {
     if (scanExec != null) {
       scanExec.close();
       scanExec = null;
     }
   }
 
-  public List<ByteString> getNextRows(int fetchRowNum) throws IOException {
+  public synchronized List<ByteString> getNextRows(int fetchRowNum) throws IOException {
     List<ByteString> rows = new ArrayList<ByteString>();
+    int rowCount = 0;
+
+    Tuple tuple;
+    while (rowCount < fetchRowNum && (tuple = nextTuple()) != null) {
+      rows.add(ByteString.copyFrom((rowEncoder.toBytes(tuple))));
+      rowCount++;
+    }
+
+    return rows;
+  }
+
+  /**
+   * Encodes the next rows into a single compressed column-major block. A block ends when it has
+   * <code>fetchRowNum</code> rows or its encoded size reaches <code>fetchBlockSize</code> bytes.
+   */
+  public synchronized SerializedResultSet getNextRowBlock(int fetchRowNum, int fetchBlockSize) throws IOException {
+    if (blockEncoder == null) {
+      blockEncoder = ColumnarBlockUtil.createEncoder(tableDesc.getLogicalSchema());
+    }
+
+    Tuple tuple;
+    while (blockEncoder.getRowNum() < fetchRowNum && blockEncoder.getEncodedSize() < fetchBlockSize
+        && (tuple = nextTuple()) != null) {
+      blockEncoder.addTuple(tuple);
+    }
+
+    SerializedResultSet.Builder builder = SerializedResultSet.newBuilder();
+    builder.setSchema(tableDesc.getLogicalSchema().getProto());
+    builder.setRowNum(blockEncoder.getRowNum());
+    builder.setColumnarBlock(ByteString.copyFrom(blockEncoder.build()));
+    return builder.build();
+  }
+
+  private Tuple nextTuple() throws IOException {
     if (scanExec == null) {
-      return rows;
+      return null;
+    }
+    if (currentNumRows >= maxRow) {
+      scanExec.close();
+      scanExec = null;
+      return null;
     }
-    int rowCount = 0;
 
-    while (true) {
-      Tuple tuple = scanExec.next();
-      if (tuple == null) {
-        scanExec.close();
-        scanExec = null;
+    Tuple tuple = scanExec.next();
+    if (tuple == null) {
+      scanExec.close();
+      scanExec = null;
 
-        initSeqScanExec();
+      initSeqScanExec();
+      if (scanExec != null) {
+        tuple = scanExec.next();
+      }
+      if (tuple == null) {
         if (scanExec != null) {
-          tuple = scanExec.next();
+          scanExec.close();
+          scanExec = null;
         }
-        if (tuple == null) {
-          if (scanExec != null ) {
-            scanExec.close();
-            scanExec = null;
-          }
-
-          break;
-        }
-      }
-      rows.add(ByteString.copyFrom((rowEncoder.toBytes(tuple))));
-      rowCount++;
-      currentNumRows++;
-      if (rowCount >= fetchRowNum) {
-        break;
-      }
-
-      if (currentNumRows >= maxRow) {
-        scanExec.close();
-        scanExec = null;
-        break;
+        return null;
       }
     }
 
-    return rows;
+    currentNumRows++;
+    return tuple;
   }
 }
@@ -0,0 +1,217 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.master;
+
+import com.google.common.annotations.VisibleForTesting;
+import org.apache.tajo.SessionVars;
+import org.apache.tajo.algebra.Expr;
+import org.apache.tajo.engine.query.QueryContext;
+import org.apache.tajo.plan.LogicalPlan;
+import org.apache.tajo.plan.logical.NodeType;
+import org.apache.tajo.plan.util.PlannerUtil;
+
+import java.util.*;
+
+/**
+ * A master-side cache of optimized logical plans of ad-hoc queries, which avoids parsing, verifying, planning, and
+ * optimizing repeatedly submitted queries.
+ *
+ * A plan is identified by the normalized query text and the session variables affecting planning. The caller must
+ * check if the tables scanned by a cached plan are unchanged before reusing it. Plans which depend on the time of
+ * planning are not cached, such as plans including non-deterministic functions folded into constants or pruned
+ * partitions. Entries are evicted in LRU order.
+ */
+public class QueryPlanCache {
+  /** session variables which do not affect planning */
+  private static final Set<String> IGNORED_VARIABLES = new HashSet<String>(Arrays.asList(
+      SessionVars.SESSION_ID.keyname(), SessionVars.SESSION_LAST_ACCESS_TIME.keyname(),
+      SessionVars.USERNAME.keyname()));
+
+  private final int maxEntryNum;
+  private final LinkedHashMap<String, CachedPlan> entries = new LinkedHashMap<String, CachedPlan>(16, 0.75f, true);
+  private long hitNum;
+  private long missNum;
+
+  public QueryPlanCache(int maxEntryNum) {
+    this.maxEntryNum = maxEntryNum;
+  }
+
+  /**
+   * Builds a cache key from a query and the session variables of a given query context.
+   */
+  public String createKey(String sql, QueryContext queryContext) {
+    Map<String, String> variables = new TreeMap<String, String>(queryContext.getAllKeyValus());
+    for (String ignored : IGNORED_VARIABLES) {
+      variables.remove(ignored);
+    }
+
+    StringBuilder sb = new StringBuilder(normalize(sql));
+    for (Map.Entry<String, String> entry : variables.entrySet()) {
+      sb.append('\n').append(entry.getKey()).append('=').append(entry.getValue());
+    }
+    return sb.toString();
+  }
+
+  /**
+   * @return True if a plan built from a given expression can be reused by later queries.
+   */
+  public static boolean isCacheable(LogicalPlan plan, Expr expr) {
+    if (QueryResultCache.hasNonDeterministicFunction(expr)) {
+      return false;
+    }
+    // the input paths of a partitioned table are pruned when it is planned.
+    return PlannerUtil.findTopNode(plan.getRootBlock().getRoot(), NodeType.PARTITIONS_SCAN) == null;
+  }
+
+  public synchronized CachedPlan get(String key) {
+    CachedPlan cached = entries.get(key);
+    if (cached != null) {
+      hitNum++;
+    } else {
+      missNum++;
+    }
+    return cached;
+  }
+
+  public synchronized void put(String key, LogicalPlan plan, String jsonExpr) {
+    if (maxEntryNum <= 0) {
+      return;
+    }
+    entries.put(key, new CachedPlan(plan, jsonExpr));
+    Iterator<CachedPlan> it = entries.values().iterator();
+    while (entries.size() > maxEntryNum && it.hasNext()) {
+      it.next();
+      it.remove();
+    }
+  }
+
+  /**
+   * Removes a cached plan which turns out to be stale. It does nothing if the plan is already replaced.
+   */
+  public synchronized void remove(String key, CachedPlan cached) {
+    if (entries.get(key) == cached) {
+      entries.remove(key);
+      // it was counted as a hit, but the query is planned again.
+      hitNum--;
+      missNum++;
+    }
+  }
+
+  public synchronized void clear() {
+    entries.clear();
+  }
+
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  public synchronized long getHitNum() {
+    return hitNum;
+  }
+
+  public synchronized long getMissNum() {
+    return missNum;
+  }
+
+  /**
+   * Removes comments and a trailing semicolon, and collapses whitespaces except for those in string literals and
+   * quoted identifiers.
+   */
+  @VisibleForTesting
+  static String normalize(String sql) {
+    StringBuilder sb = new StringBuilder(sql.length());
+    boolean pendingSpace = false;
+    int i = 0;
+    while (i < sql.length()) {
+      char c = sql.charAt(i);
+      int end;
+      if (c == '-' && sql.startsWith("--", i)) {
+        end = sql.indexOf('\n', i);
+        i = end < 0 ? sql.length() : end + 1;
+        pendingSpace = true;
+        continue;
+      } else if (c == '/' && sql.startsWith("/*", i)) {
+        end = sql.indexOf("*/", i + 2);
+        i = end < 0 ? sql.length() : end + 2;
+        pendingSpace = true;
+        continue;
+      } else if (Character.isWhitespace(c)) {
+        i++;
+        pendingSpace = true;
+        continue;
+      } else if (c == '\'' || c == '"') {
+        end = findQuoteEnd(sql, i);
+      } else {
+        end = i + 1;
+      }
+
+      if (pendingSpace && sb.length() > 0) {
+        sb.append(' ');
+      }
+      pendingSpace = false;
+      sb.append(sql, i, end);
+      i = end;
+    }
+
+    int length = sb.length();
+    while (length > 0 && (sb.charAt(length - 1) == ';' || sb.charAt(length - 1) == ' ')) {
+      length--;
+    }
+    sb.setLength(length);
+    return sb.toString();
+  }
+
+  /**
+   * @return The index next to the closing quote of a string literal or a quoted identifier starting at a given
+   * index. A backslash escapes the following character, as in the lexer.
+   */
+  private static int findQuoteEnd(String sql, int start) {
+    char quote = sql.charAt(start);
+    int i = start + 1;
+    while (i < sql.length()) {
+      char c = sql.charAt(i);
+      if (c == '\\') {
+        i += 2;
+      } else if (c == quote) {
+        return i + 1;
+      } else {
+        i++;
+      }
+    }
+    return sql.length();
+  }
+
+  public static class CachedPlan {
+    private final LogicalPlan plan;
+    private final String jsonExpr;
+
+    CachedPlan(LogicalPlan plan, String jsonExpr) {
+      this.plan = plan;
+      this.jsonExpr = jsonExpr;
+    }
+
+    public LogicalPlan getPlan() {
+      return plan;
+    }
+
+    public String getJsonExpr() {
+      return jsonExpr;
+    }
+  }
+}
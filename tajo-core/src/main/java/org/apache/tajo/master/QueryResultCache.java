@@ -0,0 +1,516 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.master;
+
+import com.google.common.annotations.VisibleForTesting;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.FileUtil;
+import org.apache.hadoop.fs.Path;
+import org.apache.tajo.QueryId;
+import org.apache.tajo.SessionVars;
+import org.apache.tajo.algebra.Expr;
+import org.apache.tajo.algebra.FunctionExpr;
+import org.apache.tajo.algebra.JsonHelper;
+import org.apache.tajo.algebra.OpType;
+import org.apache.tajo.catalog.TableDesc;
+import org.apache.tajo.conf.TajoConf;
+import org.apache.tajo.conf.TajoConf.ConfVars;
+import org.apache.tajo.engine.query.QueryContext;
+import org.apache.tajo.plan.LogicalPlan;
+import org.apache.tajo.plan.logical.*;
+import org.apache.tajo.plan.util.ExprFinder;
+import org.apache.tajo.plan.util.PlannerUtil;
+
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A master-side cache of the results of read-only queries.
+ *
+ * A result is identified by the fingerprint of a logical plan and the session variables affecting it. Each entry
+ * also records the versions of its input tables and the modification times of their data paths, and it is valid
+ * only while they are unchanged. Table versions are counters maintained by this cache, and they are increased
+ * whenever a table is modified through TajoMaster (e.g., INSERT, TRUNCATE, ALTER, and DROP).
+ *
+ * When a cacheable query succeeds, its result is copied into the cache directory under the staging directory,
+ * so that it can be served by {@link NonForwardQueryResultScanner} without launching any task. Entries are evicted
+ * in LRU order when the total size or the number of entries exceeds the limits. Evicted files are deleted after
+ * a grace period because they may still be read by scanners.
+ */
+public class QueryResultCache {
+  private static final Log LOG = LogFactory.getLog(QueryResultCache.class);
+
+  public static final String CACHE_DIR_NAME = "result-cache";
+  private static final long DELETE_DELAY_MS = 600 * 1000;
+  private static final long MB = 1024 * 1024;
+
+  private static final Runnable NOOP = new Runnable() {
+    @Override
+    public void run() {
+    }
+  };
+
+  /** functions whose results vary between executions */
+  private static final Set<String> NON_DETERMINISTIC_FUNCTIONS =
+      new HashSet<String>(Arrays.asList("now", "current_date", "current_time", "random"));
+
+  /** session variables which do not affect query results */
+  private static final Set<String> IGNORED_VARIABLES = new HashSet<String>(Arrays.asList(
+      SessionVars.SESSION_ID.keyname(), SessionVars.SESSION_LAST_ACCESS_TIME.keyname(),
+      SessionVars.USERNAME.keyname()));
+
+  private final TajoConf conf;
+  private final Path cacheDir;
+  private final long maxSize;
+  private final long maxEntrySize;
+  private final int maxEntryNum;
+  private final long deleteDelayMs;
+
+  private final LinkedHashMap<String, CachedResult> entries =
+      new LinkedHashMap<String, CachedResult>(16, 0.75f, true);
+  private final Map<String, Long> tableVersions = new HashMap<String, Long>();
+  private final Map<QueryId, CacheKey> pendingKeys = new HashMap<QueryId, CacheKey>();
+  private long totalSize;
+
+  private ExecutorService copyExecutor;
+  private ScheduledExecutorService deleteExecutor;
+
+  public QueryResultCache(TajoConf conf) throws IOException {
+    this(conf, DELETE_DELAY_MS);
+  }
+
+  @VisibleForTesting
+  QueryResultCache(TajoConf conf, long deleteDelayMs) throws IOException {
+    this.conf = conf;
+    this.deleteDelayMs = deleteDelayMs;
+    this.cacheDir = new Path(TajoConf.getStagingDir(conf), CACHE_DIR_NAME);
+    this.maxSize = conf.getIntVar(ConfVars.QUERY_RESULT_CACHE_MAX_SIZE) * MB;
+    this.maxEntrySize = conf.getIntVar(ConfVars.QUERY_RESULT_CACHE_MAX_ENTRY_SIZE) * MB;
+    this.maxEntryNum = conf.getIntVar(ConfVars.QUERY_RESULT_CACHE_MAX_ENTRY_NUM);
+
+    // cached results of the previous run cannot be validated.
+    FileSystem fs = cacheDir.getFileSystem(conf);
+    if (fs.exists(cacheDir)) {
+      fs.delete(cacheDir, true);
+    }
+
+    ThreadFactory threadFactory = new ThreadFactory() {
+      @Override
+      public Thread newThread(Runnable r) {
+        Thread thread = new Thread(r, "QueryResultCache");
+        thread.setDaemon(true);
+        return thread;
+      }
+    };
+    copyExecutor = Executors.newSingleThreadExecutor(threadFactory);
+    deleteExecutor = Executors.newSingleThreadScheduledExecutor(threadFactory);
+  }
+
+  public void close() {
+    copyExecutor.shutdownNow();
+    deleteExecutor.shutdownNow();
+  }
+
+  /**
+   * Waits until all the results submitted before are copied.
+   */
+  @VisibleForTesting
+  void waitForCopies() throws Exception {
+    copyExecutor.submit(NOOP).get();
+  }
+
+  /**
+   * Waits until all the files scheduled to be deleted before are deleted.
+   */
+  @VisibleForTesting
+  void waitForDeletes() throws Exception {
+    // tasks having the same delay run in the order of submission.
+    deleteExecutor.schedule(NOOP, deleteDelayMs, TimeUnit.MILLISECONDS).get();
+  }
+
+  /**
+   * Builds a cache key of a given plan.
+   *
+   * @return a cache key, or null if the query result is not cacheable.
+   */
+  public CacheKey createKey(QueryContext queryContext, LogicalPlan plan, String jsonExpr) throws IOException {
+    LogicalRootNode rootNode = plan.getRootBlock().getRoot();
+    if (rootNode.getChild() != null && (rootNode.getChild().getType() == NodeType.INSERT ||
+        rootNode.getChild().getType() == NodeType.CREATE_TABLE)) {
+      return null;
+    }
+
+    if (hasNonDeterministicFunction(JsonHelper.fromJson(jsonExpr, Expr.class))) {
+      return null;
+    }
+
+    Map<String, Long> versions = new TreeMap<String, Long>();
+    Map<Path, Long> modificationTimes = new HashMap<Path, Long>();
+    for (LogicalNode node : PlannerUtil.findAllNodes(rootNode, NodeType.SCAN, NodeType.PARTITIONS_SCAN)) {
+      ScanNode scanNode = (ScanNode) node;
+      versions.put(scanNode.getTableName(), getTableVersion(scanNode.getTableName()));
+      modificationTimes.put(scanNode.getTableDesc().getPath(), null);
+      if (node.getType() == NodeType.PARTITIONS_SCAN) {
+        Path [] inputPaths = ((PartitionedTableScanNode) node).getInputPaths();
+        if (inputPaths != null) {
+          for (Path path : inputPaths) {
+            modificationTimes.put(path, null);
+          }
+        }
+      }
+    }
+    for (Map.Entry<Path, Long> entry : modificationTimes.entrySet()) {
+      entry.setValue(getModificationTime(entry.getKey()));
+    }
+
+    return new CacheKey(fingerprint(rootNode, queryContext), versions, modificationTimes);
+  }
+
+  /**
+   * @return True if a given expression calls a function whose result varies between executions.
+   */
+  static boolean hasNonDeterministicFunction(Expr expr) {
+    Set<FunctionExpr> functions = ExprFinder.finds(expr, OpType.Function);
+    for (FunctionExpr function : functions) {
+      if (NON_DETERMINISTIC_FUNCTIONS.contains(function.getSignature().toLowerCase())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @VisibleForTesting
+  static String fingerprint(LogicalRootNode rootNode, QueryContext queryContext) {
+    Map<String, String> variables = new TreeMap<String, String>(queryContext.getAllKeyValus());
+    for (String ignored : IGNORED_VARIABLES) {
+      variables.remove(ignored);
+    }
+
+    MessageDigest digest;
+    try {
+      digest = MessageDigest.getInstance("SHA-1");
+    } catch (NoSuchAlgorithmException e) {
+      throw new RuntimeException(e);
+    }
+    try {
+      digest.update(rootNode.toJson().getBytes("UTF-8"));
+      for (Map.Entry<String, String> entry : variables.entrySet()) {
+        digest.update((entry.getKey() + "=" + entry.getValue() + "\n").getBytes("UTF-8"));
+      }
+    } catch (UnsupportedEncodingException e) {
+      throw new RuntimeException(e);
+    }
+
+    StringBuilder sb = new StringBuilder();
+    for (byte b : digest.digest()) {
+      sb.append(String.format("%02x", b & 0xff));
+    }
+    return sb.toString();
+  }
+
+  private long getModificationTime(Path path) throws IOException {
+    FileSystem fs = path.getFileSystem(conf);
+    if (!fs.exists(path)) {
+      return -1;
+    }
+    return fs.getFileStatus(path).getModificationTime();
+  }
+
+  private synchronized long getTableVersion(String tableName) {
+    Long version = tableVersions.get(tableName);
+    return version == null ? 0 : version;
+  }
+
+  private synchronized boolean isUpToDateVersion(CacheKey key) {
+    for (Map.Entry<String, Long> entry : key.tableVersions.entrySet()) {
+      if (getTableVersion(entry.getKey()) != entry.getValue()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private boolean isUpToDate(CacheKey key) throws IOException {
+    if (!isUpToDateVersion(key)) {
+      return false;
+    }
+    for (Map.Entry<Path, Long> entry : key.modificationTimes.entrySet()) {
+      if (getModificationTime(entry.getKey()) != entry.getValue()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * @return the description of a cached result, or null if there is no valid cached result.
+   */
+  public TableDesc get(CacheKey key) throws IOException {
+    CachedResult cached;
+    synchronized (this) {
+      cached = entries.get(key.fingerprint);
+    }
+    if (cached == null) {
+      return null;
+    }
+
+    // a cached result is valid only if it was produced from the same versions of input tables.
+    if (!cached.key.equals(key) || !isUpToDate(key) ||
+        !cached.desc.getPath().getFileSystem(conf).exists(cached.desc.getPath())) {
+      synchronized (this) {
+        if (entries.get(key.fingerprint) == cached) {
+          removeEntry(key.fingerprint);
+        }
+      }
+      return null;
+    }
+
+    try {
+      return (TableDesc) cached.desc.clone();
+    } catch (CloneNotSupportedException e) {
+      throw new IOException(e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Registers a running query whose result will be cached when it succeeds.
+   */
+  public synchronized void addPending(QueryId queryId, CacheKey key) {
+    pendingKeys.put(queryId, key);
+  }
+
+  public synchronized void cancel(QueryId queryId) {
+    pendingKeys.remove(queryId);
+  }
+
+  /**
+   * Caches the result of a succeeded query if the query was registered by {@link #addPending}.
+   * The result is copied asynchronously.
+   */
+  public void complete(final QueryId queryId, final TableDesc resultDesc) {
+    final CacheKey key;
+    synchronized (this) {
+      key = pendingKeys.remove(queryId);
+    }
+    if (key == null || resultDesc.getPath() == null) {
+      return;
+    }
+    if (resultDesc.getStats() != null && resultDesc.getStats().getNumBytes() > maxEntrySize) {
+      return;
+    }
+
+    try {
+      copyExecutor.submit(new Runnable() {
+        @Override
+        public void run() {
+          try {
+            copyResult(queryId, key, resultDesc);
+          } catch (Throwable t) {
+            LOG.warn("Failed to cache the result of " + queryId + ": " + t.getMessage(), t);
+          }
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      // the cache is closed
+    }
+  }
+
+  private void copyResult(QueryId queryId, CacheKey key, TableDesc resultDesc) throws Exception {
+    Path resultPath = resultDesc.getPath();
+    FileSystem srcFs = resultPath.getFileSystem(conf);
+    if (!srcFs.exists(resultPath)) {
+      return;
+    }
+    long size = srcFs.getContentSummary(resultPath).getLength();
+    if (size > maxEntrySize || size > maxSize) {
+      return;
+    }
+
+    Path cachedPath = new Path(cacheDir, key.fingerprint + "_" + queryId.toString());
+    FileSystem dstFs = cachedPath.getFileSystem(conf);
+    if (!FileUtil.copy(srcFs, resultPath, dstFs, cachedPath, false, conf)) {
+      return;
+    }
+
+    TableDesc cachedDesc = (TableDesc) resultDesc.clone();
+    cachedDesc.setPath(cachedPath);
+    CachedResult cached = new CachedResult(key, cachedDesc, size);
+
+    synchronized (this) {
+      // input tables may be modified while the query is running or its result is being copied.
+      if (!isUpToDateVersion(key)) {
+        scheduleDelete(cachedPath);
+        return;
+      }
+      if (entries.containsKey(key.fingerprint)) {
+        removeEntry(key.fingerprint);
+      }
+      entries.put(key.fingerprint, cached);
+      totalSize += size;
+      evict();
+    }
+    LOG.info("The result of " + queryId + " is cached (" + size + " bytes)");
+  }
+
+  private synchronized void evict() {
+    Iterator<Map.Entry<String, CachedResult>> it = entries.entrySet().iterator();
+    while ((totalSize > maxSize || entries.size() > maxEntryNum) && it.hasNext()) {
+      CachedResult evicted = it.next().getValue();
+      it.remove();
+      totalSize -= evicted.size;
+      scheduleDelete(evicted.desc.getPath());
+    }
+  }
+
+  private synchronized void removeEntry(String fingerprint) {
+    CachedResult removed = entries.remove(fingerprint);
+    if (removed != null) {
+      totalSize -= removed.size;
+      scheduleDelete(removed.desc.getPath());
+    }
+  }
+
+  private void scheduleDelete(final Path path) {
+    try {
+      deleteExecutor.schedule(new Runnable() {
+        @Override
+        public void run() {
+          try {
+            path.getFileSystem(conf).delete(path, true);
+          } catch (IOException e) {
+            LOG.warn("Failed to delete the cached result " + path + ": " + e.getMessage());
+          }
+        }
+      }, deleteDelayMs, TimeUnit.MILLISECONDS);
+    } catch (RejectedExecutionException e) {
+      // the cache is closed
+    }
+  }
+
+  /**
+   * Invalidates all cached results which read a given table.
+   *
+   * @param tableName a qualified table name
+   */
+  public synchronized void invalidate(String tableName) {
+    tableVersions.put(tableName, getTableVersion(tableName) + 1);
+
+    List<String> invalidated = new ArrayList<String>();
+    for (Map.Entry<String, CachedResult> entry : entries.entrySet()) {
+      if (entry.getValue().key.tableVersions.containsKey(tableName)) {
+        invalidated.add(entry.getKey());
+      }
+    }
+    for (String fingerprint : invalidated) {
+      removeEntry(fingerprint);
+    }
+  }
+
+  /**
+   * Invalidates the results which read the output table of a given plan if it writes a table.
+   */
+  public void invalidateOutput(LogicalRootNode rootNode) {
+    if (rootNode == null || rootNode.getChild() == null) {
+      return;
+    }
+    LogicalNode child = rootNode.getChild();
+    if (child.getType() == NodeType.INSERT || child.getType() == NodeType.CREATE_TABLE) {
+      StoreTableNode storeNode = (StoreTableNode) child;
+      if (storeNode.hasTargetTable()) {
+        invalidate(storeNode.getTableName());
+      }
+    }
+  }
+
+  public synchronized void invalidateAll() {
+    for (String tableName : new ArrayList<String>(tableVersions.keySet())) {
+      tableVersions.put(tableName, tableVersions.get(tableName) + 1);
+    }
+    for (CachedResult cached : entries.values()) {
+      for (String tableName : cached.key.tableVersions.keySet()) {
+        tableVersions.put(tableName, getTableVersion(tableName) + 1);
+      }
+    }
+    for (String fingerprint : new ArrayList<String>(entries.keySet())) {
+      removeEntry(fingerprint);
+    }
+  }
+
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  public synchronized long getTotalSize() {
+    return totalSize;
+  }
+
+  public static class CacheKey {
+    private final String fingerprint;
+    private final Map<String, Long> tableVersions;
+    private final Map<Path, Long> modificationTimes;
+
+    CacheKey(String fingerprint, Map<String, Long> tableVersions, Map<Path, Long> modificationTimes) {
+      this.fingerprint = fingerprint;
+      this.tableVersions = tableVersions;
+      this.modificationTimes = modificationTimes;
+    }
+
+    public String getFingerprint() {
+      return fingerprint;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (obj instanceof CacheKey) {
+        CacheKey other = (CacheKey) obj;
+        return fingerprint.equals(other.fingerprint) && tableVersions.equals(other.tableVersions)
+            && modificationTimes.equals(other.modificationTimes);
+      }
+      return false;
+    }
+
+    @Override
+    public int hashCode() {
+      return fingerprint.hashCode();
+    }
+  }
+
+  private static class CachedResult {
+    private final CacheKey key;
+    private final TableDesc desc;
+    private final long size;
+
+    CachedResult(CacheKey key, TableDesc desc, long size) {
+      this.key = key;
+      this.desc = desc;
+      this.size = size;
+    }
+  }
+}
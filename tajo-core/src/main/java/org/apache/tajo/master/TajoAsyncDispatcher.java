@@ -15,9 +15,12 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-
 package org.apache.tajo.master;
 
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Metric;
+import com.codahale.metrics.MetricSet;
+import com.codahale.metrics.Timer;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.hadoop.conf.Configuration;
@@ -27,59 +30,66 @@ import org.apache.hadoop.yarn.event.Dispatcher;
 import org.apache.hadoop.yarn.event.Event;
 import org.apache.hadoop.yarn.event.EventHandler;
 import org.apache.hadoop.yarn.exceptions.YarnRuntimeException;
+import org.apache.tajo.master.event.*;
 
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * An asynchronous event dispatcher which can run with multiple ordered lanes.
+ *
+ * Each lane has its own queue and its own event handling thread. An event is assigned to a lane
+ * by the id of the entity it targets (see {@link #getOrderingKey(org.apache.hadoop.yarn.event.Event)}),
+ * so all events for the same query, execution block or task are handled in the order they were
+ * added, while events for different tasks can be handled in parallel.
+ *
+ * With a single lane, it behaves the same as a plain asynchronous dispatcher.
+ */
 public class TajoAsyncDispatcher extends AbstractService  implements Dispatcher {
 
   private static final Log LOG = LogFactory.getLog(TajoAsyncDispatcher.class);
 
-  private final BlockingQueue<Event> eventQueue;
+  private final EventLane[] lanes;
   private volatile boolean stopped = false;
 
-  private Thread eventHandlingThread;
   protected final Map<Class<? extends Enum>, EventHandler> eventDispatchers;
   private boolean exitOnDispatchException;
 
+  /** the time which an event waits in a lane queue */
+  private final Timer queueWaitTimer = new Timer();
+  /** the time which an event handler takes */
+  private final Timer dispatchTimer = new Timer();
+
   private String id;
 
   public TajoAsyncDispatcher(String id) {
-    this(id, new LinkedBlockingQueue<Event>());
+    this(id, new LinkedBlockingQueue<QueuedEvent>());
   }
 
-  public TajoAsyncDispatcher(String id, BlockingQueue<Event> eventQueue) {
+  public TajoAsyncDispatcher(String id, BlockingQueue<QueuedEvent> eventQueue) {
     super(TajoAsyncDispatcher.class.getName());
     this.id = id;
-    this.eventQueue = eventQueue;
-    this.eventDispatchers = new HashMap<Class<? extends Enum>, EventHandler>();
+    this.lanes = new EventLane[] {new EventLane(0, eventQueue)};
+    this.eventDispatchers = new ConcurrentHashMap<Class<? extends Enum>, EventHandler>();
   }
 
-  Runnable createThread() {
-    return new Runnable() {
-      @Override
-      public void run() {
-        while (!stopped && !Thread.currentThread().isInterrupted()) {
-          Event event;
-          try {
-            event = eventQueue.take();
-            if(LOG.isDebugEnabled()) {
-              LOG.debug(id + ",event take:" + event.getType() + "," + event);
-            }
-          } catch(InterruptedException ie) {
-            if (!stopped) {
-              LOG.warn("AsyncDispatcher thread interrupted");
-            }
-            return;
-          }
-          dispatch(event);
-        }
-      }
-    };
+  public TajoAsyncDispatcher(String id, int numLanes) {
+    super(TajoAsyncDispatcher.class.getName());
+    if (numLanes < 1) {
+      throw new IllegalArgumentException("The number of dispatcher lanes must be at least 1: " + numLanes);
+    }
+    this.id = id;
+    this.lanes = new EventLane[numLanes];
+    for (int i = 0; i < numLanes; i++) {
+      lanes[i] = new EventLane(i, new LinkedBlockingQueue<QueuedEvent>());
+    }
+    this.eventDispatchers = new ConcurrentHashMap<Class<? extends Enum>, EventHandler>();
   }
 
   @Override
@@ -94,11 +104,11 @@ public class TajoAsyncDispatcher extends AbstractService  implements Dispatcher
   public void start() {
     //start all the components
     super.start();
-    eventHandlingThread = new Thread(createThread());
-    eventHandlingThread.setName("AsyncDispatcher event handler");
-    eventHandlingThread.start();
+    for (EventLane lane : lanes) {
+      lane.start();
+    }
 
-    LOG.info("AsyncDispatcher started:" + id);
+    LOG.info("AsyncDispatcher started:" + id + " (lanes: " + lanes.length + ")");
   }
 
   @Override
@@ -107,10 +117,12 @@ public class TajoAsyncDispatcher extends AbstractService  implements Dispatcher
       return;
     }
     stopped = true;
-    if (eventHandlingThread != null) {
-      eventHandlingThread.interrupt();
+    for (EventLane lane : lanes) {
+      lane.interrupt();
+    }
+    for (EventLane lane : lanes) {
       try {
-        eventHandlingThread.join();
+        lane.join();
       } catch (InterruptedException ie) {
         LOG.warn("Interrupted Exception while stopping");
       }
@@ -122,6 +134,59 @@ public class TajoAsyncDispatcher extends AbstractService  implements Dispatcher
     LOG.info("AsyncDispatcher stopped:" + id);
   }
 
+  public int getNumLanes() {
+    return lanes.length;
+  }
+
+  /**
+   * @return the total number of events waiting in all lanes
+   */
+  public int getQueueSize() {
+    int size = 0;
+    for (EventLane lane : lanes) {
+      size += lane.eventQueue.size();
+    }
+    return size;
+  }
+
+  /**
+   * Returns the object which decides the lane of a given event. Events having the equal keys are
+   * always handled in the same lane, and therefore handled in order.
+   *
+   * Task attempt events are keyed by their parent task, and task scheduler events are keyed by their
+   * execution block, so that they are ordered with task events and subquery events respectively.
+   */
+  protected Object getOrderingKey(Event event) {
+    if (event instanceof TaskAttemptEvent) {
+      return ((TaskAttemptEvent) event).getTaskAttemptId().getQueryUnitId();
+    } else if (event instanceof TaskEvent) {
+      return ((TaskEvent) event).getTaskId();
+    } else if (event instanceof LocalTaskEvent) {
+      return ((LocalTaskEvent) event).getTaskAttemptId().getQueryUnitId();
+    } else if (event instanceof SubQueryEvent) {
+      return ((SubQueryEvent) event).getSubQueryId();
+    } else if (event instanceof TaskSchedulerEvent) {
+      return ((TaskSchedulerEvent) event).getExecutionBlockId();
+    } else if (event instanceof QueryEvent) {
+      return ((QueryEvent) event).getQueryId();
+    } else if (event instanceof QueryMasterQueryCompletedEvent) {
+      return ((QueryMasterQueryCompletedEvent) event).getQueryId();
+    } else {
+      return event.getType().getDeclaringClass();
+    }
+  }
+
+  private EventLane selectLane(Event event) {
+    if (lanes.length == 1) {
+      return lanes[0];
+    }
+    Object key = getOrderingKey(event);
+    int hash = key == null ? 0 : key.hashCode();
+    // spread the hash bits because ids are usually sequential numbers
+    hash ^= (hash >>> 16);
+    return lanes[(hash & Integer.MAX_VALUE) % lanes.length];
+  }
+
   @SuppressWarnings("unchecked")
   protected void dispatch(Event event) {
     //all events go thru this loop
@@ -151,7 +216,7 @@ public class TajoAsyncDispatcher extends AbstractService  implements Dispatcher
 
   @SuppressWarnings("unchecked")
   @Override
-  public void register(Class<? extends Enum> eventType,
+  public synchronized void register(Class<? extends Enum> eventType,
                        EventHandler handler) {
     /* check to see if we have a listener registered */
     EventHandler<Event> registeredHandler = (EventHandler<Event>)
@@ -178,25 +243,107 @@ public class TajoAsyncDispatcher extends AbstractService  implements Dispatcher
     return new GenericEventHandler();
   }
 
-  class GenericEventHandler implements EventHandler<Event> {
-    public void handle(Event event) {
+  /**
+   * @return the metrics of this dispatcher; the queue size of each lane, the time which events wait
+   * in queues, and the time which event handlers take.
+   */
+  public MetricSet getMetricSet() {
+    return new MetricSet() {
+      @Override
+      public Map<String, Metric> getMetrics() {
+        Map<String, Metric> metricsMap = new HashMap<String, Metric>();
+        metricsMap.put("queueSize", new Gauge<Integer>() {
+          @Override
+          public Integer getValue() {
+            return getQueueSize();
+          }
+        });
+        for (final EventLane lane : lanes) {
+          metricsMap.put("lane" + lane.laneId + ".queueSize", new Gauge<Integer>() {
+            @Override
+            public Integer getValue() {
+              return lane.eventQueue.size();
+            }
+          });
+        }
+        metricsMap.put("queueWaitTime", queueWaitTimer);
+        metricsMap.put("dispatchTime", dispatchTimer);
+        return metricsMap;
+      }
+    };
+  }
+
+  /**
+   * An event with the time when it was added to a lane.
+   */
+  public static class QueuedEvent {
+    final Event event;
+    final long enqueuedNanos;
+
+    QueuedEvent(Event event) {
+      this.event = event;
+      this.enqueuedNanos = System.nanoTime();
+    }
+  }
+
+  /**
+   * A lane which handles its events in order by a dedicated thread.
+   */
+  class EventLane extends Thread {
+    private final int laneId;
+    private final BlockingQueue<QueuedEvent> eventQueue;
+
+    EventLane(int laneId, BlockingQueue<QueuedEvent> eventQueue) {
+      this.laneId = laneId;
+      this.eventQueue = eventQueue;
+      setName("AsyncDispatcher event handler" + (laneId == 0 ? "" : "-" + laneId));
+    }
+
+    @Override
+    public void run() {
+      while (!stopped && !Thread.currentThread().isInterrupted()) {
+        QueuedEvent queued;
+        try {
+          queued = eventQueue.take();
+          if(LOG.isDebugEnabled()) {
+            LOG.debug(id + ",event take(lane " + laneId + "):" + queued.event.getType() + "," + queued.event);
+          }
+        } catch(InterruptedException ie) {
+          if (!stopped) {
+            LOG.warn("AsyncDispatcher thread interrupted");
+          }
+          return;
+        }
+        long startNanos = System.nanoTime();
+        queueWaitTimer.update(startNanos - queued.enqueuedNanos, TimeUnit.NANOSECONDS);
+        dispatch(queued.event);
+        dispatchTimer.update(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+      }
+    }
+
+    void put(Event event) throws InterruptedException {
       /* all this method does is enqueue all the events onto the queue */
       int qSize = eventQueue.size();
       if (qSize !=0 && qSize %1000 == 0) {
-        LOG.info("Size of event-queue is " + qSize);
+        LOG.info("Size of event-queue(lane " + laneId + ") is " + qSize);
       }
       int remCapacity = eventQueue.remainingCapacity();
       if (remCapacity < 1000) {
-        LOG.warn("Very low remaining capacity in the event-queue: "
+        LOG.warn("Very low remaining capacity in the event-queue(lane " + laneId + "): "
             + remCapacity);
       }
+      if(LOG.isDebugEnabled()) {
+        LOG.debug(id + ",add event(lane " + laneId + "):" +
+            event.getType() + "," + event + "," + isAlive());
+      }
+      eventQueue.put(new QueuedEvent(event));
+    }
+  }
+
+  class GenericEventHandler implements EventHandler<Event> {
+    public void handle(Event event) {
       try {
-        if(LOG.isDebugEnabled()) {
-          LOG.debug(id + ",add event:" +
-              event.getType() + "," + event + "," +
-              (eventHandlingThread == null ? "null" : eventHandlingThread.isAlive()));
-        }
-        eventQueue.put(event);
+        selectLane(event).put(event);
       } catch (InterruptedException e) {
         if (!stopped) {
           LOG.warn("AsyncDispatcher thread interrupted", e);
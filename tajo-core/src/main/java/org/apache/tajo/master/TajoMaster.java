@@ -444,6 +444,10 @@ public class TajoMaster extends CompositeService {
       return catalog;
     }
 
+    public CatalogServer getCatalogServer() {
+      return catalogServer;
+    }
+
     public SessionManager getSessionManager() {
       return sessionManager;
     }
@@ -285,6 +285,54 @@ public class TajoMasterClientService extends AbstractService {
       }
     }
 
+    @Override
+    public PrepareStatementResponse prepareStatement(RpcController controller, PrepareStatementRequest request)
+        throws ServiceException {
+      try {
+        Session session = context.getSessionManager().getSession(request.getSessionId().getId());
+        return context.getGlobalEngine().prepareQuery(session, request.getQuery());
+      } catch (Throwable t) {
+        throw new ServiceException(t);
+      }
+    }
+
+    @Override
+    public SubmitQueryResponse executePreparedStatement(RpcController controller,
+                                                        ExecutePreparedStatementRequest request)
+        throws ServiceException {
+      try {
+        Session session = context.getSessionManager().getSession(request.getSessionId().getId());
+        return context.getGlobalEngine().executePreparedQuery(session, request.getStatementId(),
+            request.getParametersList());
+      } catch (Exception e) {
+        LOG.error(e.getMessage(), e);
+        SubmitQueryResponse.Builder responseBuilder = ClientProtos.SubmitQueryResponse.newBuilder();
+        responseBuilder.setQueryId(QueryIdFactory.NULL_QUERY_ID.getProto());
+        responseBuilder.setIsForwarded(true);
+        responseBuilder.setUserName(context.getConf().getVar(ConfVars.USERNAME));
+        responseBuilder.setResultCode(ResultCode.ERROR);
+        if (e.getMessage() != null) {
+          responseBuilder.setErrorMessage(ExceptionUtils.getStackTrace(e));
+        } else {
+          responseBuilder.setErrorMessage("Internal Error");
+        }
+        return responseBuilder.build();
+      }
+    }
+
+    @Override
+    public BoolProto closePreparedStatement(RpcController controller, ClosePreparedStatementRequest request)
+        throws ServiceException {
+      try {
+        context.getSessionManager().touch(request.getSessionId().getId());
+        Session session = context.getSessionManager().getSession(request.getSessionId().getId());
+        return context.getGlobalEngine().closePreparedQuery(session, request.getStatementId()) ?
+            BOOL_TRUE : BOOL_FALSE;
+      } catch (Throwable t) {
+        throw new ServiceException(t);
+      }
+    }
+
     @Override
     public UpdateQueryResponse updateQuery(RpcController controller, QueryRequest request) throws ServiceException {
 
@@ -510,16 +558,24 @@ public class TajoMasterClientService extends AbstractService {
           throw new ServiceException("No NonForwardQueryResultScanner for " + queryId);
         }
 
-        List<ByteString> rows = queryResultScanner.getNextRows(request.getFetchRowNum());
-        SerializedResultSet.Builder resultSetBuilder = SerializedResultSet.newBuilder();
-        resultSetBuilder.setSchema(queryResultScanner.getTableDesc().getLogicalSchema().getProto());
-        resultSetBuilder.addAllSerializedTuples(rows);
-
-        builder.setResultSet(resultSetBuilder.build());
+        int rowNum;
+        if (request.hasFetchBlockSize()) {
+          SerializedResultSet resultSet =
+              queryResultScanner.getNextRowBlock(request.getFetchRowNum(), request.getFetchBlockSize());
+          rowNum = resultSet.getRowNum();
+          builder.setResultSet(resultSet);
+        } else {
+          List<ByteString> rows = queryResultScanner.getNextRows(request.getFetchRowNum());
+          SerializedResultSet.Builder resultSetBuilder = SerializedResultSet.newBuilder();
+          resultSetBuilder.setSchema(queryResultScanner.getTableDesc().getLogicalSchema().getProto());
+          resultSetBuilder.addAllSerializedTuples(rows);
+          rowNum = rows.size();
+          builder.setResultSet(resultSetBuilder.build());
+        }
         builder.setResultCode(ResultCode.OK);
 
         LOG.info("Send result to client for " +
-            request.getSessionId().getId() + "," + queryId + ", " + rows.size() + " rows");
+            request.getSessionId().getId() + "," + queryId + ", " + rowNum + " rows");
 
       } catch (Throwable t) {
         LOG.error(t.getMessage(), t);
@@ -111,6 +111,7 @@ public class TajoMasterService extends AbstractService {
       }
 
       builder.setClusterResourceSummary(context.getResourceManager().getClusterResourceSummary());
+      builder.setCatalogVersion(context.getCatalogServer().getCatalogVersion());
       done.run(builder.build());
     }
 
@@ -128,7 +129,7 @@ public class TajoMasterService extends AbstractService {
                                            RpcCallback<PrimitiveProtos.BoolProto> done) {
 
       for(TajoMasterProtocol.AllocatedWorkerResourceProto resource: request.getResourcesList()) {
-        context.getResourceManager().releaseWorkerResource(resource);
+        context.getResourceManager().releaseWorkerResource(new QueryId(request.getQueryId()), resource);
       }
       done.run(BOOL_TRUE);
     }
@@ -0,0 +1,266 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.master.querymaster;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.tajo.SessionVars;
+import org.apache.tajo.algebra.JoinType;
+import org.apache.tajo.catalog.Column;
+import org.apache.tajo.catalog.statistics.TableStats;
+import org.apache.tajo.engine.planner.global.DataChannel;
+import org.apache.tajo.engine.planner.global.ExecutionBlock;
+import org.apache.tajo.engine.planner.global.MasterPlan;
+import org.apache.tajo.engine.query.QueryContext;
+import org.apache.tajo.engine.utils.JoinFilter;
+import org.apache.tajo.plan.logical.*;
+import org.apache.tajo.plan.util.PlannerUtil;
+
+import java.util.List;
+
+import static org.apache.tajo.ipc.TajoWorkerProtocol.EnforceProperty;
+import static org.apache.tajo.ipc.TajoWorkerProtocol.EnforceProperty.EnforceType;
+import static org.apache.tajo.plan.serder.PlanProto.ShuffleType;
+
+/**
+ * It plans runtime join filters between the two child execution blocks of a repartition join.
+ *
+ * Execution blocks run one by one. When the first child of a join block runs, it is asked to build a bloom filter
+ * over its shuffle keys. When the second child starts, the merged filter is pushed into the scan which produces
+ * its shuffle keys, so that rows without any join partner are dropped before they are shuffled.
+ *
+ * A filter is sized for the number of rows which the first child is estimated to read. It is not built if the
+ * estimate is unknown or needs more bits than JOIN_RUNTIME_FILTER_BITS, and it is not pushed if the first child
+ * turns out to have many more keys than the filter was sized for, because most rows would pass it anyway.
+ */
+public class JoinFilterPlanner {
+  private static final Log LOG = LogFactory.getLog(JoinFilterPlanner.class);
+  /** about 2% of absent keys pass a filter having this number of bits for each key with three hash functions */
+  static final int BITS_PER_KEY = 10;
+  /** a filter having more keys than this times the keys it was sized for lets most absent keys pass */
+  static final int MAX_OVERFLOW_RATIO = 4;
+
+  /**
+   * Adds join filter properties to the enforcer of a given execution block before it is initialized.
+   */
+  public static void plan(Query query, ExecutionBlock block) {
+    MasterPlan masterPlan = query.getPlan();
+    QueryContext queryContext = masterPlan.getContext();
+    if (!queryContext.getBool(SessionVars.JOIN_RUNTIME_FILTER_ENABLED)) {
+      return;
+    }
+
+    ExecutionBlock parent = masterPlan.getParent(block);
+    if (parent == null || masterPlan.isTerminal(parent)) {
+      return;
+    }
+
+    List<ExecutionBlock> children = masterPlan.getChilds(parent);
+    if (children.size() != 2) {
+      return;
+    }
+    ExecutionBlock sibling = children.get(0).getId().equals(block.getId()) ? children.get(1) : children.get(0);
+
+    DataChannel channel = masterPlan.getChannel(block, parent);
+    DataChannel siblingChannel = masterPlan.getChannel(sibling, parent);
+    if (!isHashShuffle(channel) || !isHashShuffle(siblingChannel)
+        || !JoinFilter.isCompatible(siblingChannel.getShuffleKeys(), channel.getShuffleKeys())
+        || !hasInnerJoin(parent, block, sibling)) {
+      return;
+    }
+
+    SubQuery siblingSubQuery = query.getSubQuery(sibling.getId());
+    if (siblingSubQuery == null) {
+      // this block runs first, so it builds the filter for its sibling.
+      long numKeys = estimateNumRows(query, block);
+      int numBits = getNumBits(numKeys, queryContext.getInt(SessionVars.JOIN_RUNTIME_FILTER_BITS));
+      if (numBits > 0) {
+        block.getEnforcer().addJoinFilterBuild(numBits, JoinFilter.DEFAULT_NUM_HASHES);
+      } else {
+        LOG.info("No join filter is built by " + block.getId() + " for " + (numKeys < 0 ? "unknown" : numKeys)
+            + " estimated rows");
+      }
+      return;
+    }
+
+    JoinFilter filter = siblingSubQuery.getJoinFilter();
+    if (filter == null) {
+      return;
+    }
+    List<EnforceProperty> builds = sibling.getEnforcer().getEnforceProperties(EnforceType.JOIN_FILTER_BUILD);
+    if (builds.isEmpty()) {
+      return;
+    }
+    int builtBits = builds.get(0).getJoinFilterBuild().getNumBits();
+    if (filter.getNumKeys() > (long) builtBits / BITS_PER_KEY * MAX_OVERFLOW_RATIO) {
+      LOG.info("Skip " + filter + " from " + sibling.getId() + ", which is too small for its keys");
+      return;
+    }
+
+    ScanNode scan = findProbeScan(block.getPlan(), channel.getShuffleKeys());
+    if (scan != null) {
+      block.getEnforcer().addJoinFilter(scan.getCanonicalName(), channel.getShuffleKeys(), filter.getProto());
+      LOG.info("Push " + filter + " from " + sibling.getId() + " into " + scan.getCanonicalName()
+          + " of " + block.getId());
+    }
+  }
+
+  /**
+   * @param numKeys the estimated number of keys, or a negative number if it is unknown
+   * @param maxBits the maximum number of bits
+   * @return The number of bits of a bloom filter for the given number of keys, or 0 if no filter should be built
+   */
+  static int getNumBits(long numKeys, int maxBits) {
+    if (numKeys < 0 || numKeys > maxBits / BITS_PER_KEY) {
+      return 0;
+    }
+    // a multiple of 64 bits, which is the word size of the bit vector
+    long numBits = Math.max(64, (numKeys * BITS_PER_KEY + 63) / 64 * 64);
+    return numBits > maxBits ? 0 : (int) numBits;
+  }
+
+  /**
+   * It estimates the number of rows which a given block reads. It bounds the number of distinct shuffle keys of
+   * the block unless the block joins its inputs, which can multiply rows.
+   *
+   * @return The estimated number of rows, or -1 if it is unknown
+   */
+  static long estimateNumRows(Query query, ExecutionBlock block) {
+    LogicalNode root = block.getPlan();
+    if (PlannerUtil.findTopNode(root, NodeType.JOIN) != null) {
+      return -1;
+    }
+
+    long total = 0;
+    for (LogicalNode node : PlannerUtil.findAllNodes(root, NodeType.SCAN, NodeType.PARTITIONS_SCAN)) {
+      ScanNode scan = (ScanNode) node;
+      TableStats stats = scan.getTableDesc() != null ? scan.getTableDesc().getStats() : null;
+      // the input of a child block is known exactly, because the child has finished already.
+      for (ExecutionBlock child : query.getPlan().getChilds(block)) {
+        if (child.getId().toString().equals(scan.getTableName())) {
+          SubQuery childSubQuery = query.getSubQuery(child.getId());
+          stats = childSubQuery != null ? childSubQuery.getResultStats() : null;
+        }
+      }
+
+      long numRows = estimateNumRows(stats, scan.getInSchema().size());
+      if (numRows < 0) {
+        return -1;
+      }
+      total += numRows;
+      if (total < 0) {
+        return -1;
+      }
+    }
+    return total;
+  }
+
+  private static long estimateNumRows(TableStats stats, int numColumns) {
+    if (stats == null) {
+      return -1;
+    }
+    if (stats.getNumRows() != null && stats.getNumRows() > 0) {
+      return stats.getNumRows();
+    }
+    if (stats.getNumBytes() == null || stats.getNumBytes() < 0) {
+      return -1;
+    }
+    // the row numbers of tables are often unknown. Each field takes at least one byte in text files.
+    return stats.getNumBytes() / Math.max(1, numColumns);
+  }
+
+  private static boolean isHashShuffle(DataChannel channel) {
+    return channel != null && channel.getShuffleType() == ShuffleType.HASH_SHUFFLE && channel.hasShuffleKeys();
+  }
+
+  /**
+   * @return True if the parent block has an inner join whose inputs are exactly the outputs of the two blocks.
+   */
+  private static boolean hasInnerJoin(ExecutionBlock parent, ExecutionBlock block, ExecutionBlock sibling) {
+    String name = block.getId().toString();
+    String siblingName = sibling.getId().toString();
+
+    for (LogicalNode node : PlannerUtil.findAllNodes(parent.getPlan(), NodeType.JOIN)) {
+      JoinNode join = (JoinNode) node;
+      if (join.getJoinType() != JoinType.INNER) {
+        continue;
+      }
+      if (!(join.getLeftChild() instanceof ScanNode) || !(join.getRightChild() instanceof ScanNode)) {
+        continue;
+      }
+      String left = ((ScanNode) join.getLeftChild()).getTableName();
+      String right = ((ScanNode) join.getRightChild()).getTableName();
+      if ((left.equals(name) && right.equals(siblingName)) || (left.equals(siblingName) && right.equals(name))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Finds the scan which directly produces all shuffle keys. A filter is pushed only through operators which
+   * never bring back dropped rows, that is, selections, projections, subqueries and inner joins.
+   */
+  private static ScanNode findProbeScan(LogicalNode root, Column[] keys) {
+    final boolean[] pushable = new boolean[] {true};
+    root.postOrder(new LogicalNodeVisitor() {
+      @Override
+      public void visit(LogicalNode node) {
+        switch (node.getType()) {
+        case SCAN:
+        case SELECTION:
+        case PROJECTION:
+        case TABLE_SUBQUERY:
+          break;
+        case JOIN:
+          JoinType joinType = ((JoinNode) node).getJoinType();
+          if (joinType != JoinType.INNER && joinType != JoinType.CROSS) {
+            pushable[0] = false;
+          }
+          break;
+        default:
+          pushable[0] = false;
+        }
+      }
+    });
+    if (!pushable[0]) {
+      return null;
+    }
+
+    for (LogicalNode node : PlannerUtil.findAllNodes(root, NodeType.SCAN)) {
+      ScanNode scan = (ScanNode) node;
+      boolean found = true;
+      for (Column key : keys) {
+        if (!scan.getOutSchema().containsByQualifiedName(key.getQualifiedName())) {
+          found = false;
+          break;
+        }
+        Column scanned = scan.getOutSchema().getColumn(key.getQualifiedName());
+        if (!scanned.getDataType().equals(key.getDataType())) {
+          found = false;
+          break;
+        }
+      }
+      if (found) {
+        return scan;
+      }
+    }
+    return null;
+  }
+}
@@ -31,6 +31,7 @@ import org.apache.hadoop.yarn.state.*;
 import org.apache.hadoop.yarn.util.Clock;
 import org.apache.tajo.ExecutionBlockId;
 import org.apache.tajo.QueryId;
+import org.apache.tajo.QueryUnitId;
 import org.apache.tajo.SessionVars;
 import org.apache.tajo.TajoConstants;
 import org.apache.tajo.TajoProtos.QueryState;
@@ -46,6 +47,7 @@ import org.apache.tajo.engine.planner.global.MasterPlan;
 import org.apache.tajo.plan.logical.CreateTableNode;
 import org.apache.tajo.plan.logical.InsertNode;
 import org.apache.tajo.plan.logical.NodeType;
+import org.apache.tajo.plan.util.PlannerUtil;
 import org.apache.tajo.engine.query.QueryContext;
 import org.apache.tajo.master.event.*;
 import org.apache.tajo.storage.StorageManager;
@@ -54,6 +56,7 @@ import org.apache.tajo.storage.StorageUtil;
 import org.apache.tajo.util.TUtil;
 import org.apache.tajo.util.history.QueryHistory;
 import org.apache.tajo.util.history.SubQueryHistory;
+import org.apache.tajo.worker.Task;
 
 import java.io.IOException;
 import java.text.NumberFormat;
@@ -88,6 +91,9 @@ public class Query implements EventHandler<QueryEvent> {
   private int failedSubQueryCount = 0;
   private int erroredSubQueryCount = 0;
   private final List<String> diagnostics = new ArrayList<String>();
+  /** names of result files which have been reported to a client, in the order in which it should read them */
+  private final List<String> streamedResultFiles = new ArrayList<String>();
+  private final Set<String> streamedResultFileSet = new HashSet<String>();
 
   // Internal Variables
   private final Lock readLock;
@@ -350,6 +356,128 @@ public class Query implements EventHandler<QueryEvent> {
     return plan;
   }
 
+  /**
+   * @return True if rows of the result are ordered across result files. It is false only if no final execution
+   * block sorts its rows.
+   */
+  public boolean isResultOrdered() {
+    for (ExecutionBlock finalBlock : plan.getChilds(plan.getTerminalBlock())) {
+      if (PlannerUtil.findTopNode(finalBlock.getPlan(), NodeType.SORT) != null) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Returns the result files which have been completely written so far. The returned list only grows. Each file may
+   * be followed by files having the same name with a suffix '_n' if the task output exceeded the maximum file size.
+   * In a sorted result, a file is returned only after all preceding files are written.
+   *
+   * @param completed if true, all files in the result directory are returned
+   * @return paths of result files, or null if the result of this query is not streamable
+   */
+  public List<Path> getCompletedResultFiles(boolean completed) throws IOException {
+    QueryContext queryContext = context.getQueryContext();
+    if (queryContext.hasOutputPath() || queryContext.isCreateTable() || queryContext.isInsert()) {
+      return null;
+    }
+
+    Path resultDir = new Path(queryContext.getStagingDir(), TajoConstants.RESULT_DIR_NAME);
+    synchronized (streamedResultFiles) {
+      for (ExecutionBlock finalBlock : plan.getChilds(plan.getTerminalBlock())) {
+        SubQuery finalStage = getSubQuery(finalBlock.getId());
+        if (finalStage == null) {
+          continue;
+        }
+
+        List<QueryUnitId> succeeded = finalStage.getSucceededTaskIds();
+        if (PlannerUtil.findTopNode(finalBlock.getPlan(), NodeType.SORT) != null) {
+          // result files of a distributed sort are ordered by task ids
+          Set<QueryUnitId> succeededSet = new HashSet<QueryUnitId>(succeeded);
+          QueryUnit[] tasks = finalStage.getQueryUnits();
+          Arrays.sort(tasks, new Comparator<QueryUnit>() {
+            @Override
+            public int compare(QueryUnit o1, QueryUnit o2) {
+              return o1.getId().compareTo(o2.getId());
+            }
+          });
+
+          succeeded = new ArrayList<QueryUnitId>();
+          for (QueryUnit task : tasks) {
+            if (!succeededSet.contains(task.getId())) {
+              break;
+            }
+            succeeded.add(task.getId());
+          }
+        }
+
+        for (QueryUnitId taskId : succeeded) {
+          addStreamedResultFile(Task.getResultFileName(taskId));
+        }
+      }
+
+      if (completed) {
+        FileSystem fs = resultDir.getFileSystem(systemConf);
+        if (fs.exists(resultDir)) {
+          FileStatus[] files = fs.listStatus(resultDir);
+          Arrays.sort(files, new Comparator<FileStatus>() {
+            @Override
+            public int compare(FileStatus f1, FileStatus f2) {
+              return f1.getPath().getName().compareTo(f2.getPath().getName());
+            }
+          });
+          for (FileStatus file : files) {
+            String name = file.getPath().getName();
+            if (name.charAt(0) != '.' && name.charAt(0) != '_') {
+              // a file exceeding the maximum file size is followed by files having suffixes
+              addStreamedResultFile(name.replaceFirst("_[0-9]+$", ""));
+            }
+          }
+        }
+      }
+
+      List<Path> paths = new ArrayList<Path>(streamedResultFiles.size());
+      for (String name : streamedResultFiles) {
+        paths.add(new Path(resultDir, name));
+      }
+      return paths;
+    }
+  }
+
+  private void addStreamedResultFile(String name) {
+    if (streamedResultFileSet.add(name)) {
+      streamedResultFiles.add(name);
+    }
+  }
+
+  /**
+   * @return the description of result files while this query is running, or null if the final stage is not ready.
+   */
+  public TableDesc getStreamingResultDesc() {
+    if (resultDesc != null) {
+      return resultDesc;
+    }
+
+    for (ExecutionBlock finalBlock : plan.getChilds(plan.getTerminalBlock())) {
+      SubQuery finalStage = getSubQuery(finalBlock.getId());
+      if (finalStage != null && finalStage.getSchema() != null && finalStage.getTableMeta() != null) {
+        TableMeta meta;
+        try {
+          meta = (TableMeta) finalStage.getTableMeta().clone();
+        } catch (CloneNotSupportedException e) {
+          throw new RuntimeException(e);
+        }
+        meta.putOption(StorageConstants.TEXT_NULL, context.getQueryContext().get(SessionVars.NULL_CHAR));
+        TableDesc desc = new TableDesc(id.toString(), finalStage.getSchema(), meta,
+            new Path(context.getQueryContext().getStagingDir(), TajoConstants.RESULT_DIR_NAME));
+        desc.setExternal(true);
+        return desc;
+      }
+    }
+    return null;
+  }
+
   public StateMachine<QueryState, QueryEventType, QueryEvent> getStateMachine() {
     return stateMachine;
   }
@@ -395,8 +523,9 @@ public class Query implements EventHandler<QueryEvent> {
     public void transition(Query query, QueryEvent queryEvent) {
 
       query.setStartTime();
-      SubQuery subQuery = new SubQuery(query.context, query.getPlan(),
-          query.getExecutionBlockCursor().nextBlock(), query.sm);
+      ExecutionBlock firstBlock = query.getExecutionBlockCursor().nextBlock();
+      JoinFilterPlanner.plan(query, firstBlock);
+      SubQuery subQuery = new SubQuery(query.context, query.getPlan(), firstBlock, query.sm);
       subQuery.setPriority(query.priority--);
       query.addSubQuery(subQuery);
 
@@ -877,8 +1006,7 @@ public class Query implements EventHandler<QueryEvent> {
         finalTable.setStats(stats);
 
         if (insertNode.hasTargetTable()) {
-          catalog.dropTable(insertNode.getTableName());
-          catalog.createTable(finalTable);
+          catalog.updateTableStats(Collections.singletonMap(insertNode.getTableName(), stats));
         }
 
         query.setResultDesc(finalTable);
@@ -903,6 +1031,7 @@ public class Query implements EventHandler<QueryEvent> {
     private void executeNextBlock(Query query) {
       ExecutionBlockCursor cursor = query.getExecutionBlockCursor();
       ExecutionBlock nextBlock = cursor.nextBlock();
+      JoinFilterPlanner.plan(query, nextBlock);
       SubQuery nextSubQuery = new SubQuery(query.context, query.getPlan(), nextBlock, query.sm);
       nextSubQuery.setPriority(query.priority--);
       query.addSubQuery(nextSubQuery);
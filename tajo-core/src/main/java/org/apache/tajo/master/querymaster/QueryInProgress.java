@@ -243,7 +243,8 @@ public class QueryInProgress extends CompositeService {
           .setSession(session.getProto())
           .setQueryContext(queryContext.getProto())
           .setExprInJson(PrimitiveProtos.StringProto.newBuilder().setValue(queryInfo.getJsonExpr()))
-          .setLogicalPlanJson(PrimitiveProtos.StringProto.newBuilder().setValue(plan.toJson()).build());
+          .setLogicalPlanJson(PrimitiveProtos.StringProto.newBuilder().setValue(plan.toJson()).build())
+          .setCatalogVersion(masterContext.getCatalogServer().getCatalogVersion());
 
       queryMasterRpcClient.executeQuery(null, builder.build(), NullCallback.get());
       querySubmitted.set(true);
@@ -266,6 +267,10 @@ public class QueryInProgress extends CompositeService {
     return this.queryInfo;
   }
 
+  public LogicalRootNode getPlan() {
+    return plan;
+  }
+
   public QueryContext getQueryContext() {
     return this.queryContext;
   }
@@ -28,9 +28,11 @@ import org.apache.hadoop.yarn.event.EventHandler;
 import org.apache.tajo.QueryId;
 import org.apache.tajo.QueryIdFactory;
 import org.apache.tajo.TajoProtos;
+import org.apache.tajo.catalog.TableDesc;
 import org.apache.tajo.conf.TajoConf;
 import org.apache.tajo.engine.query.QueryContext;
 import org.apache.tajo.ipc.TajoMasterProtocol;
+import org.apache.tajo.master.QueryResultCache;
 import org.apache.tajo.master.TajoMaster;
 import org.apache.tajo.master.cluster.WorkerConnectionInfo;
 import org.apache.tajo.master.session.Session;
@@ -222,6 +224,13 @@ public class QueryJobManager extends CompositeService {
     QueryInProgress queryInProgress = getQueryInProgress(queryId);
     if(queryInProgress != null) {
       queryInProgress.stop();
+
+      QueryResultCache resultCache = masterContext.getGlobalEngine().getResultCache();
+      if (resultCache != null) {
+        resultCache.cancel(queryId);
+        // results reading the table written by this query are no longer valid.
+        resultCache.invalidateOutput(queryInProgress.getPlan());
+      }
       synchronized(submittedQueries) {
         submittedQueries.remove(queryId);
       }
@@ -286,8 +295,20 @@ public class QueryJobManager extends CompositeService {
     }
 
     QueryInfo queryInfo = makeQueryInfoFromHeartbeat(queryHeartbeat);
+    QueryResultCache resultCache = masterContext.getGlobalEngine().getResultCache();
+    if (resultCache != null && queryHeartbeat.getState() == TajoProtos.QueryState.QUERY_SUCCEEDED
+        && queryHeartbeat.hasResultDesc()) {
+      resultCache.complete(queryInfo.getQueryId(), new TableDesc(queryHeartbeat.getResultDesc()));
+    }
     getEventHandler().handle(new QueryJobEvent(QueryJobEvent.Type.QUERY_JOB_HEARTBEAT, queryInfo));
 
+    int numPreemptedContainers = scheduler.getContainersToPreempt(queryInProgress.getQueryId());
+    if (numPreemptedContainers > 0) {
+      return TajoMasterProtocol.TajoHeartbeatResponse.ResponseCommand.newBuilder()
+          .setCommand(Scheduler.PREEMPT_TASKS_COMMAND)
+          .addParams(String.valueOf(numPreemptedContainers))
+          .build();
+    }
     return null;
   }
 
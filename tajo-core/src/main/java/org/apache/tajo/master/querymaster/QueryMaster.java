@@ -20,6 +20,7 @@ package org.apache.tajo.master.querymaster;
 
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.google.protobuf.RpcCallback;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.hadoop.conf.Configuration;
@@ -41,6 +42,7 @@ import org.apache.tajo.rpc.NettyClientBase;
 import org.apache.tajo.rpc.NullCallback;
 import org.apache.tajo.rpc.RpcConnectionPool;
 import org.apache.tajo.rpc.protocolrecords.PrimitiveProtos;
+import org.apache.tajo.scheduler.Scheduler;
 import org.apache.tajo.storage.StorageManager;
 import org.apache.tajo.util.HAServiceUtil;
 import org.apache.tajo.util.NetUtils;
@@ -469,6 +471,10 @@ public class QueryMaster extends CompositeService implements EventHandler {
     if (queryMasterTask.getQuery() != null) {
       builder.setQueryProgress(queryMasterTask.getQuery().getProgress());
       builder.setQueryFinishTime(queryMasterTask.getQuery().getFinishTime());
+      if (queryMasterTask.getState() == TajoProtos.QueryState.QUERY_SUCCEEDED
+          && queryMasterTask.getQuery().getResultDesc() != null) {
+        builder.setResultDesc(queryMasterTask.getQuery().getResultDesc().getProto());
+      }
     }
     return builder.build();
   }
@@ -498,6 +504,35 @@ public class QueryMaster extends CompositeService implements EventHandler {
     }
   }
 
+  /**
+   * It handles the command which TajoMaster returns in response to a query heartbeat.
+   */
+  private static class HeartbeatResponseHandler implements RpcCallback<TajoHeartbeatResponse> {
+    private final QueryMasterTask queryMasterTask;
+
+    HeartbeatResponseHandler(QueryMasterTask queryMasterTask) {
+      this.queryMasterTask = queryMasterTask;
+    }
+
+    @Override
+    public void run(TajoHeartbeatResponse response) {
+      if (response != null && response.hasCatalogVersion()) {
+        queryMasterTask.getQueryTaskContext().getQueryMasterContext().getWorkerContext()
+            .syncCatalogVersion(response.getCatalogVersion());
+      }
+      if (response == null || !response.hasResponseCommand()) {
+        return;
+      }
+
+      TajoHeartbeatResponse.ResponseCommand command = response.getResponseCommand();
+      if (Scheduler.PREEMPT_TASKS_COMMAND.equals(command.getCommand()) && command.getParamsCount() > 0) {
+        queryMasterTask.preemptTasks(Integer.parseInt(command.getParams(0)));
+      } else {
+        LOG.warn("Unknown heartbeat response command: " + command.getCommand());
+      }
+    }
+  }
+
   class QueryHeartbeatThread extends Thread {
     public QueryHeartbeatThread() {
       super("QueryHeartbeatThread");
@@ -538,11 +573,8 @@ public class QueryMaster extends CompositeService implements EventHandler {
 
               TajoMasterProtocol.TajoMasterProtocolService masterClientService = tmClient.getStub();
 
-              CallFuture<TajoHeartbeatResponse> callBack =
-                  new CallFuture<TajoHeartbeatResponse>();
-
               TajoHeartbeat queryHeartbeat = buildTajoHeartBeat(eachTask);
-              masterClientService.heartbeat(callBack.getController(), queryHeartbeat, callBack);
+              masterClientService.heartbeat(null, queryHeartbeat, new HeartbeatResponseHandler(eachTask));
             } catch (Throwable t) {
               t.printStackTrace();
             }
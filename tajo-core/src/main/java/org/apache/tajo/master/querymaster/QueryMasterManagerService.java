@@ -144,28 +144,7 @@ public class QueryMasterManagerService extends CompositeService
   public void statusUpdate(RpcController controller, TajoWorkerProtocol.TaskStatusProto request,
                            RpcCallback<PrimitiveProtos.BoolProto> done) {
     try {
-      QueryId queryId = new QueryId(request.getId().getQueryUnitId().getExecutionBlockId().getQueryId());
-      QueryUnitAttemptId attemptId = new QueryUnitAttemptId(request.getId());
-      QueryMasterTask queryMasterTask = queryMaster.getQueryMasterTask(queryId);
-      if (queryMasterTask == null) {
-        queryMasterTask = queryMaster.getQueryMasterTask(queryId, true);
-      }
-      SubQuery sq = queryMasterTask.getQuery().getSubQuery(attemptId.getQueryUnitId().getExecutionBlockId());
-      QueryUnit task = sq.getQueryUnit(attemptId.getQueryUnitId());
-      QueryUnitAttempt attempt = task.getAttempt(attemptId.getId());
-
-      if(LOG.isDebugEnabled()){
-        LOG.debug(String.format("Task State: %s, Attempt State: %s", task.getState().name(), attempt.getState().name()));
-      }
-
-      if (request.getState() == TajoProtos.TaskAttemptState.TA_KILLED) {
-        LOG.warn(attemptId + " Killed");
-        attempt.handle(
-            new TaskAttemptEvent(new QueryUnitAttemptId(request.getId()), TaskAttemptEventType.TA_LOCAL_KILLED));
-      } else {
-        queryMasterTask.getEventHandler().handle(
-            new TaskAttemptStatusUpdateEvent(new QueryUnitAttemptId(request.getId()), request));
-      }
+      handleTaskStatus(request);
       done.run(TajoWorker.TRUE_PROTO);
     } catch (Exception e) {
       LOG.error(e.getMessage(), e);
@@ -173,6 +152,46 @@ public class QueryMasterManagerService extends CompositeService
     }
   }
 
+  @Override
+  public void statusUpdates(RpcController controller, TajoWorkerProtocol.TaskStatusesProto request,
+                            RpcCallback<PrimitiveProtos.BoolProto> done) {
+    boolean succeeded = true;
+    for (TajoWorkerProtocol.TaskStatusProto eachStatus : request.getStatusList()) {
+      try {
+        handleTaskStatus(eachStatus);
+      } catch (Exception e) {
+        LOG.error(e.getMessage(), e);
+        succeeded = false;
+      }
+    }
+    done.run(succeeded ? TajoWorker.TRUE_PROTO : TajoWorker.FALSE_PROTO);
+  }
+
+  private void handleTaskStatus(TajoWorkerProtocol.TaskStatusProto request) {
+    QueryId queryId = new QueryId(request.getId().getQueryUnitId().getExecutionBlockId().getQueryId());
+    QueryUnitAttemptId attemptId = new QueryUnitAttemptId(request.getId());
+    QueryMasterTask queryMasterTask = queryMaster.getQueryMasterTask(queryId);
+    if (queryMasterTask == null) {
+      queryMasterTask = queryMaster.getQueryMasterTask(queryId, true);
+    }
+    SubQuery sq = queryMasterTask.getQuery().getSubQuery(attemptId.getQueryUnitId().getExecutionBlockId());
+    QueryUnit task = sq.getQueryUnit(attemptId.getQueryUnitId());
+    QueryUnitAttempt attempt = task.getAttempt(attemptId.getId());
+
+    if(LOG.isDebugEnabled()){
+      LOG.debug(String.format("Task State: %s, Attempt State: %s", task.getState().name(), attempt.getState().name()));
+    }
+
+    if (request.getState() == TajoProtos.TaskAttemptState.TA_KILLED) {
+      LOG.warn(attemptId + " Killed");
+      attempt.handle(
+          new TaskAttemptEvent(new QueryUnitAttemptId(request.getId()), TaskAttemptEventType.TA_LOCAL_KILLED));
+    } else {
+      queryMasterTask.getEventHandler().handle(
+          new TaskAttemptStatusUpdateEvent(new QueryUnitAttemptId(request.getId()), request));
+    }
+  }
+
   @Override
   public void ping(RpcController controller,
                    TajoIdProtos.ExecutionBlockIdProto requestProto,
@@ -248,6 +267,10 @@ public class QueryMasterManagerService extends CompositeService
 
       QueryId queryId = new QueryId(request.getQueryId());
       LOG.info("Receive executeQuery request:" + queryId);
+      if (request.hasCatalogVersion()) {
+        // the query must not see catalog metadata older than those which the query was planned with.
+        workerContext.syncCatalogVersion(request.getCatalogVersion());
+      }
       queryMaster.handle(new QueryStartEvent(queryId,
           new Session(request.getSession()),
           new QueryContext(workerContext.getQueryMaster().getContext().getConf(),
@@ -31,6 +31,7 @@ import org.apache.hadoop.util.StringUtils;
 import org.apache.hadoop.yarn.event.EventHandler;
 import org.apache.hadoop.yarn.util.Clock;
 import org.apache.tajo.*;
+import org.apache.tajo.TajoProtos.TaskAttemptState;
 import org.apache.tajo.algebra.Expr;
 import org.apache.tajo.algebra.JsonHelper;
 import org.apache.tajo.catalog.CatalogService;
@@ -50,6 +51,7 @@ import org.apache.tajo.ipc.TajoMasterProtocol;
 import org.apache.tajo.ipc.TajoWorkerProtocol;
 import org.apache.tajo.master.GlobalEngine;
 import org.apache.tajo.master.TajoAsyncDispatcher;
+import org.apache.tajo.master.TaskState;
 import org.apache.tajo.master.event.*;
 import org.apache.tajo.master.rm.TajoWorkerResourceManager;
 import org.apache.tajo.master.session.Session;
@@ -146,7 +148,8 @@ public class QueryMasterTask extends CompositeService {
       }
       addService(resourceAllocator);
 
-      dispatcher = new TajoAsyncDispatcher(queryId.toString());
+      dispatcher = new TajoAsyncDispatcher(queryId.toString(),
+          systemConf.getIntVar(TajoConf.ConfVars.QUERYMASTER_DISPATCHER_LANE_NUM));
       addService(dispatcher);
 
       dispatcher.register(SubQueryEventType.class, new SubQueryEventDispatcher());
@@ -159,6 +162,7 @@ public class QueryMasterTask extends CompositeService {
       initStagingDir();
 
       queryMetrics = new TajoMetrics(queryId.toString());
+      queryMetrics.register("dispatcher", dispatcher.getMetricSet());
 
       super.init(systemConf);
     } catch (Throwable t) {
@@ -481,6 +485,68 @@ public class QueryMasterTask extends CompositeService {
     return queryTaskContext.getEventHandler();
   }
 
+  /**
+   * It gives back the given number of containers of this query to other queries. Task runners which wait for
+   * tasks are stopped first, because they lose no work. If it is not enough, the newest running tasks are killed,
+   * and their task runners are stopped. The killed tasks are rescheduled later. It is safe because the output of
+   * finished tasks is kept in pull servers.
+   *
+   * Every stopped task runner releases its container, so the resource usage of this query in TajoMaster drops.
+   *
+   * @param numTasks the number of containers to be given back
+   */
+  public void preemptTasks(int numTasks) {
+    Query query = getQuery();
+    if (query == null || numTasks <= 0) {
+      return;
+    }
+
+    List<SubQuery> runningSubQueries = new ArrayList<SubQuery>();
+    for (SubQuery eachSubQuery : query.getSubQueries()) {
+      if (SubQuery.isRunningState(eachSubQuery.getSynchronizedState())) {
+        runningSubQueries.add(eachSubQuery);
+      }
+    }
+
+    int numStopped = 0;
+    for (SubQuery eachSubQuery : runningSubQueries) {
+      if (numStopped >= numTasks) {
+        break;
+      }
+      if (eachSubQuery.getTaskScheduler() != null) {
+        numStopped += eachSubQuery.getTaskScheduler().stopIdleTaskRunners(numTasks - numStopped);
+      }
+    }
+
+    List<QueryUnit> runningTasks = new ArrayList<QueryUnit>();
+    for (SubQuery eachSubQuery : runningSubQueries) {
+      for (QueryUnit eachTask : eachSubQuery.getQueryUnits()) {
+        if (eachTask.getState() == TaskState.RUNNING &&
+            eachTask.getLastAttemptStatus() == TaskAttemptState.TA_RUNNING) {
+          runningTasks.add(eachTask);
+        }
+      }
+    }
+
+    // the newest tasks lose the least work
+    Collections.sort(runningTasks, new Comparator<QueryUnit>() {
+      @Override
+      public int compare(QueryUnit task1, QueryUnit task2) {
+        long diff = task2.getLaunchTime() - task1.getLaunchTime();
+        return diff > 0 ? 1 : (diff < 0 ? -1 : 0);
+      }
+    });
+
+    // a killed task runner exits and releases its container in the kill transition of the attempt.
+    int numKilled = Math.min(numTasks - numStopped, runningTasks.size());
+    for (int i = 0; i < numKilled; i++) {
+      getEventHandler().handle(new TaskAttemptEvent(runningTasks.get(i).getLastAttempt().getId(),
+          TaskAttemptEventType.TA_KILL));
+    }
+    LOG.info("Preempted " + (numStopped + numKilled) + " containers of " + queryId + " (idle: " + numStopped +
+        ", killed: " + numKilled + ", requested: " + numTasks + ")");
+  }
+
   public void touchSessionTime() {
     this.lastClientHeartbeat.set(System.currentTimeMillis());
   }
@@ -137,6 +137,9 @@ public class QueryUnit implements EventHandler<TaskEvent> {
               EnumSet.of(TaskState.RUNNING, TaskState.FAILED),
               TaskEventType.T_ATTEMPT_FAILED,
               new AttemptFailedOrRetryTransition())
+          .addTransition(TaskState.RUNNING, TaskState.RUNNING,
+              TaskEventType.T_ATTEMPT_KILLED,
+              new AttemptPreemptedTransition())
 
           // Transitions from KILL_WAIT state
           .addTransition(TaskState.KILL_WAIT, TaskState.KILLED,
@@ -648,6 +651,21 @@ public class QueryUnit implements EventHandler<TaskEvent> {
     }
   }
 
+  /**
+   * An attempt of a running task is killed alone only if it is preempted for other queries.
+   * It is not counted as a failure, and a new attempt is scheduled.
+   */
+  private static class AttemptPreemptedTransition implements SingleArcTransition<QueryUnit, TaskEvent> {
+
+    @Override
+    public void transition(QueryUnit task, TaskEvent event) {
+      LOG.info(task.getId() + " is preempted. A new attempt will be scheduled.");
+      if (task.successfulAttempt == null) {
+        task.addAndScheduleAttempt();
+      }
+    }
+  }
+
   private static class AttemptFailedOrRetryTransition implements
     MultipleArcTransition<QueryUnit, TaskEvent, TaskState> {
 
@@ -378,6 +378,11 @@ public class QueryUnitAttempt implements EventHandler<TaskAttemptEvent> {
 
       try {
         taskAttempt.fillTaskStatistics(report);
+        if (report.hasJoinFilter()) {
+          taskAttempt.getQueryUnit().getQueryMasterTaskContext()
+              .getSubQuery(taskAttempt.getId().getQueryUnitId().getExecutionBlockId())
+              .mergeJoinFilter(report.getJoinFilter());
+        }
         taskAttempt.eventHandler.handle(new TaskTAttemptEvent(taskAttempt.getId(), TaskEventType.T_ATTEMPT_SUCCEEDED));
         taskAttempt.getQueryUnit().getQueryMasterTaskContext().getResourceAllocator().releaseWorkerResource(
             taskAttempt.getQueryUnit().getId().getExecutionBlockId(),
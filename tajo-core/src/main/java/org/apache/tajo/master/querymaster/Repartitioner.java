@@ -126,16 +126,16 @@ public class Repartitioner {
       }
     }
 
-    // If one of inner join tables has no input data, it means that this execution block has no result row.
+    // If one of inner or semi join tables has no input data, it means that this execution block has no result row.
     JoinNode joinNode = PlannerUtil.findMostBottomNode(execBlock.getPlan(), NodeType.JOIN);
     if (joinNode != null) {
-      if ( (joinNode.getJoinType() == JoinType.INNER)) {
+      if (joinNode.getJoinType() == JoinType.INNER || joinNode.getJoinType() == JoinType.LEFT_SEMI) {
         LogicalNode leftNode = joinNode.getLeftChild();
         LogicalNode rightNode = joinNode.getRightChild();
         for (int i = 0; i < stats.length; i++) {
           if (scans[i].getPID() == leftNode.getPID() || scans[i].getPID() == rightNode.getPID()) {
             if (stats[i] == 0) {
-              LOG.info(scans[i] + " 's input data is zero. Inner join's result is empty.");
+              LOG.info(scans[i] + " 's input data is zero. " + joinNode.getJoinType() + " join's result is empty.");
               return;
             }
           }
@@ -173,7 +173,7 @@ public class Repartitioner {
             rightStats = stats[i];
           }
         }
-        if (joinNode.getJoinType() == JoinType.LEFT_OUTER) {
+        if (joinNode.getJoinType() == JoinType.LEFT_OUTER || joinNode.getJoinType() == JoinType.LEFT_ANTI) {
           if (leftStats == 0) {
             return;
           }
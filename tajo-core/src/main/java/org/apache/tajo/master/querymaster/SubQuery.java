@@ -48,6 +48,7 @@ import org.apache.tajo.engine.planner.enforce.Enforcer;
 import org.apache.tajo.engine.planner.global.DataChannel;
 import org.apache.tajo.engine.planner.global.ExecutionBlock;
 import org.apache.tajo.engine.planner.global.MasterPlan;
+import org.apache.tajo.engine.utils.JoinFilter;
 import org.apache.tajo.ipc.TajoMasterProtocol;
 import org.apache.tajo.ipc.TajoWorkerProtocol;
 import org.apache.tajo.ipc.TajoWorkerProtocol.DistinctGroupbyEnforcer.MultipleAggregationStage;
@@ -279,10 +280,14 @@ public class SubQuery implements EventHandler<SubQueryEvent> {
   private int succeededTaskCount = 0;
   private int killedObjectCount = 0;
   private int failedObjectCount = 0;
+  /** ids of succeeded tasks in the order of their completion */
+  private final List<QueryUnitId> succeededTaskIds = Collections.synchronizedList(new ArrayList<QueryUnitId>());
   private TaskSchedulerContext schedulerContext;
   private List<IntermediateEntry> hashShuffleIntermediateEntries = new ArrayList<IntermediateEntry>();
   private AtomicInteger completeReportReceived = new AtomicInteger(0);
   private SubQueryHistory finalSubQueryHistory;
+  private JoinFilter joinFilter;
+  private int joinFilterReportCount = 0;
 
   public SubQuery(QueryMasterTask.QueryMasterTaskContext context, MasterPlan masterPlan,
                   ExecutionBlock block, StorageManager sm) {
@@ -389,6 +394,30 @@ public class SubQuery implements EventHandler<SubQueryEvent> {
     return totalScheduledObjectsCount;
   }
 
+  /**
+   * Merges a join filter reported by a succeeded task.
+   */
+  public synchronized void mergeJoinFilter(TajoWorkerProtocol.JoinFilterProto proto) {
+    JoinFilter reported = new JoinFilter(proto);
+    if (joinFilter == null) {
+      joinFilter = reported;
+    } else {
+      joinFilter.merge(reported);
+    }
+    joinFilterReportCount++;
+  }
+
+  /**
+   * @return A join filter over the shuffle keys of all tasks. If some succeeded task did not report its filter,
+   * the merged filter would drop matching rows, so it returns null.
+   */
+  public synchronized JoinFilter getJoinFilter() {
+    if (joinFilter == null || joinFilterReportCount != succeededObjectCount) {
+      return null;
+    }
+    return joinFilter;
+  }
+
   public ExecutionBlock getBlock() {
     return block;
   }
@@ -433,6 +462,7 @@ public class SubQuery implements EventHandler<SubQueryEvent> {
     subQueryHistory.setTotalScheduledObjectsCount(totalScheduledObjectsCount);
     subQueryHistory.setHostLocalAssigned(getTaskScheduler().getHostLocalAssigned());
     subQueryHistory.setRackLocalAssigned(getTaskScheduler().getRackLocalAssigned());
+    subQueryHistory.setRemoteAssigned(getTaskScheduler().getRemoteAssigned());
 
     long totalInputBytes = 0;
     long totalReadBytes = 0;
@@ -523,6 +553,15 @@ public class SubQuery implements EventHandler<SubQueryEvent> {
     return tasks.get(qid);
   }
 
+  /**
+   * @return ids of succeeded tasks in the order of their completion
+   */
+  public List<QueryUnitId> getSucceededTaskIds() {
+    synchronized (succeededTaskIds) {
+      return new ArrayList<QueryUnitId>(succeededTaskIds);
+    }
+  }
+
   public Schema getSchema() {
     return schema;
   }
@@ -1179,6 +1218,7 @@ public class SubQuery implements EventHandler<SubQueryEvent> {
 
         if (taskEvent.getState() == TaskState.SUCCEEDED) {
           subQuery.succeededObjectCount++;
+          subQuery.succeededTaskIds.add(task.getId());
         } else if (task.getState() == TaskState.KILLED) {
           subQuery.killedObjectCount++;
         } else if (task.getState() == TaskState.FAILED) {
@@ -1297,6 +1337,12 @@ public class SubQuery implements EventHandler<SubQueryEvent> {
             subQuery.getTotalScheduledObjectsCount(),
             subQuery.getSucceededObjectCount(),
             subQuery.killedObjectCount));
+        AbstractTaskScheduler scheduler = subQuery.getTaskScheduler();
+        if (scheduler != null && scheduler.getTotalAssigned() > 0) {
+          LOG.info(String.format("%s locality - host local: %d, rack local: %d, remote: %d, host locality: %.2f%%",
+              subQuery.getId().toString(), scheduler.getHostLocalAssigned(), scheduler.getRackLocalAssigned(),
+              scheduler.getRemoteAssigned(), scheduler.getHostLocalityRatio() * 100));
+        }
 
         if (subQuery.killedObjectCount > 0 || subQuery.failedObjectCount > 0) {
           if (subQuery.failedObjectCount > 0) {
@@ -0,0 +1,104 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.master.rm;
+
+import org.apache.tajo.QueryId;
+
+/**
+ * Describe the task containers which a query holds and requests.
+ *
+ * A query master repeatedly requests the remaining containers while its execution block is running.
+ * Thus, a pending request which is not renewed for a while is regarded as satisfied.
+ */
+public class QueryResourceUsage {
+  /** a pending request is expired after this interval */
+  public static final long REQUEST_EXPIRY_MS = 3000;
+
+  private final QueryId queryId;
+
+  private int allocatedContainers;
+  private int allocatedMemoryMB;
+
+  private int pendingContainers;
+  private int containerMemoryMB;
+  private long lastRequestTime;
+
+  public QueryResourceUsage(QueryId queryId) {
+    this.queryId = queryId;
+  }
+
+  public QueryId getQueryId() {
+    return queryId;
+  }
+
+  public synchronized void allocate(int memoryMB) {
+    allocatedContainers++;
+    allocatedMemoryMB += memoryMB;
+  }
+
+  public synchronized void release(int memoryMB) {
+    allocatedContainers = Math.max(0, allocatedContainers - 1);
+    allocatedMemoryMB = Math.max(0, allocatedMemoryMB - memoryMB);
+  }
+
+  /**
+   * @param pendingContainers the number of containers which are not allocated yet
+   * @param containerMemoryMB the memory of each requested container
+   */
+  public synchronized void setRequest(int pendingContainers, int containerMemoryMB) {
+    this.pendingContainers = pendingContainers;
+    this.containerMemoryMB = containerMemoryMB;
+    this.lastRequestTime = System.currentTimeMillis();
+  }
+
+  public synchronized int getAllocatedContainers() {
+    return allocatedContainers;
+  }
+
+  public synchronized int getAllocatedMemoryMB() {
+    return allocatedMemoryMB;
+  }
+
+  public synchronized int getContainerMemoryMB() {
+    return containerMemoryMB;
+  }
+
+  /**
+   * @return the number of containers which are requested, but not allocated yet
+   */
+  public synchronized int getPendingContainers() {
+    if (System.currentTimeMillis() - lastRequestTime > REQUEST_EXPIRY_MS) {
+      return 0;
+    }
+    return pendingContainers;
+  }
+
+  /**
+   * @return the memory (MB) which this query wants to hold, including already allocated containers
+   */
+  public synchronized long getDemandMemoryMB() {
+    return allocatedMemoryMB + (long) getPendingContainers() * containerMemoryMB;
+  }
+
+  @Override
+  public synchronized String toString() {
+    return queryId + " (allocated=" + allocatedContainers + ", allocatedMemoryMB=" + allocatedMemoryMB +
+        ", pending=" + getPendingContainers() + ")";
+  }
+}
@@ -47,6 +47,9 @@ public class TajoRMContext {
   /** map between queryIds and query master ContainerId */
   private final ConcurrentMap<QueryId, TajoMasterProtocol.AllocatedWorkerResourceProto> qmContainerMap = Maps.newConcurrentMap();
 
+  /** map between queryIds and the task containers which they hold */
+  private final ConcurrentMap<QueryId, QueryResourceUsage> queryResourceUsages = Maps.newConcurrentMap();
+
   private final Set<Integer> liveQueryMasterWorkerResources =
       Collections.newSetFromMap(new ConcurrentHashMap<Integer, Boolean>());
 
@@ -85,6 +88,14 @@ public class TajoRMContext {
     return qmContainerMap;
   }
 
+  /**
+   *
+   * @return The Map for the task containers of queries
+   */
+  public ConcurrentMap<QueryId, QueryResourceUsage> getQueryResourceUsages() {
+    return queryResourceUsages;
+  }
+
   public Set<Integer> getQueryMasterWorker() {
     return liveQueryMasterWorkerResources;
   }
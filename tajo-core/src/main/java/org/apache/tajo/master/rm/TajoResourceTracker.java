@@ -109,16 +109,26 @@ public class TajoResourceTracker extends AbstractService implements TajoResource
     super.stop();
   }
 
-  /** The response builder */
-  private static final Builder builder = TajoHeartbeatResponse.newBuilder().setHeartbeatResult(ProtoUtil.TRUE);
-
-  private static WorkerStatusEvent createStatusEvent(int workerId, NodeHeartbeat heartbeat) {
-    return new WorkerStatusEvent(
-        workerId,
-        heartbeat.getServerStatus().getRunningTaskNum(),
-        heartbeat.getServerStatus().getJvmHeap().getMaxHeap(),
-        heartbeat.getServerStatus().getJvmHeap().getFreeHeap(),
-        heartbeat.getServerStatus().getJvmHeap().getTotalHeap());
+  private static WorkerStatusEvent createStatusEvent(Worker worker, NodeHeartbeat heartbeat) {
+    if (heartbeat.hasServerStatus()) {
+      return new WorkerStatusEvent(
+          worker.getWorkerId(),
+          heartbeat.getServerStatus().getRunningTaskNum(),
+          heartbeat.getServerStatus().getJvmHeap().getMaxHeap(),
+          heartbeat.getServerStatus().getJvmHeap().getFreeHeap(),
+          heartbeat.getServerStatus().getJvmHeap().getTotalHeap());
+    }
+
+    // a delta heartbeat only includes the changed values
+    WorkerResource resource = worker.getResource();
+    int runningTaskNum = heartbeat.hasRunningTaskNum() ? heartbeat.getRunningTaskNum() : resource.getNumRunningTasks();
+    if (heartbeat.hasJvmHeap()) {
+      return new WorkerStatusEvent(worker.getWorkerId(), runningTaskNum, heartbeat.getJvmHeap().getMaxHeap(),
+          heartbeat.getJvmHeap().getFreeHeap(), heartbeat.getJvmHeap().getTotalHeap());
+    } else {
+      return new WorkerStatusEvent(worker.getWorkerId(), runningTaskNum, resource.getMaxHeap(),
+          resource.getFreeHeap(), resource.getTotalHeap());
+    }
   }
 
   @Override
@@ -127,17 +137,24 @@ public class TajoResourceTracker extends AbstractService implements TajoResource
       NodeHeartbeat heartbeat,
       RpcCallback<TajoHeartbeatResponse> done) {
 
+    Builder builder = TajoHeartbeatResponse.newBuilder().setHeartbeatResult(ProtoUtil.TRUE);
     try {
       // get a workerId from the heartbeat
       int workerId = heartbeat.getConnectionInfo().getId();
+      Worker runningWorker = rmContext.getWorkers().get(workerId);
 
-      if(rmContext.getWorkers().containsKey(workerId)) { // if worker is running
+      if(runningWorker != null) { // if worker is running
 
         // status update
-        rmContext.getDispatcher().getEventHandler().handle(createStatusEvent(workerId, heartbeat));
+        rmContext.getDispatcher().getEventHandler().handle(createStatusEvent(runningWorker, heartbeat));
         // refresh ping
         workerLivelinessMonitor.receivedPing(workerId);
 
+      } else if (!heartbeat.hasServerStatus()) {
+        // A worker sends only changed values once it has been registered. If this master does not know the worker
+        // (e.g., after a master failover), the worker should send its full status in order to be registered.
+        builder.setRequestFullStatus(true);
+
       } else if (rmContext.getInactiveWorkers().containsKey(workerId)) { // worker was inactive
 
         // remove the inactive worker from the list of inactive workers.
@@ -175,6 +192,9 @@ public class TajoResourceTracker extends AbstractService implements TajoResource
 
     } finally {
       builder.setClusterResourceSummary(getClusterResourceSummary());
+      if (rmContext.getMasterContext() != null) {
+        builder.setCatalogVersion(rmContext.getMasterContext().getCatalogServer().getCatalogVersion());
+      }
       done.run(builder.build());
     }
   }
@@ -37,6 +37,7 @@ import org.apache.tajo.master.TajoMaster;
 import org.apache.tajo.master.cluster.WorkerConnectionInfo;
 import org.apache.tajo.master.querymaster.QueryInProgress;
 import org.apache.tajo.rpc.CallFuture;
+import org.apache.tajo.scheduler.Scheduler;
 
 import java.io.IOException;
 import java.util.*;
@@ -250,6 +251,8 @@ public class TajoWorkerResourceManager extends CompositeService implements Worke
   static class WorkerResourceRequest {
     boolean queryMasterRequest;
     WorkerResourcesRequestProto request;
+    /** the number of containers originally requested */
+    int requestedContainers;
     RpcCallback<WorkerResourceAllocationResponse> callBack;
 
     WorkerResourceRequest(
@@ -257,10 +260,46 @@ public class TajoWorkerResourceManager extends CompositeService implements Worke
         RpcCallback<WorkerResourceAllocationResponse> callBack) {
       this.queryMasterRequest = queryMasterRequest;
       this.request = request;
+      this.requestedContainers = request.getNumContainers();
       this.callBack = callBack;
     }
   }
 
+  private QueryResourceUsage getOrCreateQueryResourceUsage(QueryId queryId) {
+    QueryResourceUsage usage = rmContext.getQueryResourceUsages().get(queryId);
+    if (usage == null) {
+      QueryResourceUsage newUsage = new QueryResourceUsage(queryId);
+      usage = rmContext.getQueryResourceUsages().putIfAbsent(queryId, newUsage);
+      if (usage == null) {
+        usage = newUsage;
+      }
+    }
+    return usage;
+  }
+
+  /**
+   * It limits the number of containers of a request to what the query scheduler allows,
+   * so that a query does not take over the share of other queries.
+   */
+  private void limitByScheduler(WorkerResourceRequest resourceRequest, QueryResourceUsage usage) {
+    if (masterContext == null || masterContext.getQueryJobManager() == null) {
+      return;
+    }
+
+    Scheduler scheduler = masterContext.getQueryJobManager().getScheduler();
+    // the pending request is updated first, so that the scheduler can see the latest demand of this query
+    usage.setRequest(resourceRequest.requestedContainers, resourceRequest.request.getMaxMemoryMBPerContainer());
+    int allowed = scheduler.getAllocatableContainers(usage.getQueryId(), resourceRequest.requestedContainers);
+
+    if (allowed < resourceRequest.request.getNumContainers()) {
+      if (LOG.isDebugEnabled()) {
+        LOG.debug("Limit containers of " + usage.getQueryId() + " from " + resourceRequest.requestedContainers +
+            " to " + allowed);
+      }
+      resourceRequest.request = resourceRequest.request.toBuilder().setNumContainers(Math.max(0, allowed)).build();
+    }
+  }
+
   class WorkerResourceAllocationThread extends Thread {
     @Override
     public void run() {
@@ -280,8 +319,22 @@ public class TajoWorkerResourceManager extends CompositeService implements Worke
                 ", liveWorkers=" + rmContext.getWorkers().size());
           }
 
+          QueryResourceUsage usage = null;
+          if (!resourceRequest.queryMasterRequest) {
+            usage = getOrCreateQueryResourceUsage(new QueryId(resourceRequest.request.getQueryId()));
+            limitByScheduler(resourceRequest, usage);
+          }
+
           List<AllocatedWorkerResourceProto> allocatedWorkerResources = chooseWorkers(resourceRequest);
 
+          if (usage != null) {
+            for (AllocatedWorkerResourceProto eachResource : allocatedWorkerResources) {
+              usage.allocate(eachResource.getAllocatedMemoryMB());
+            }
+            usage.setRequest(resourceRequest.requestedContainers - allocatedWorkerResources.size(),
+                resourceRequest.request.getMaxMemoryMBPerContainer());
+          }
+
           if (allocatedWorkerResources.size() > 0) {
             resourceRequest.callBack.run(WorkerResourceAllocationResponse.newBuilder()
                     .addAllAllocatedWorkerResource(allocatedWorkerResources)
@@ -486,6 +539,20 @@ public class TajoWorkerResourceManager extends CompositeService implements Worke
     releaseResource(resource, false);
   }
 
+  @Override
+  public void releaseWorkerResource(QueryId queryId, AllocatedWorkerResourceProto resource) {
+    QueryResourceUsage usage = rmContext.getQueryResourceUsages().get(queryId);
+    if (usage != null) {
+      usage.release(resource.getAllocatedMemoryMB());
+    }
+    releaseResource(resource, false);
+  }
+
+  @Override
+  public QueryResourceUsage getQueryResourceUsage(QueryId queryId) {
+    return rmContext.getQueryResourceUsages().get(queryId);
+  }
+
   private void releaseResource(AllocatedWorkerResourceProto resource, boolean queryMaster) {
     WorkerResourceProto workerResource = resource.getWorker();
     WorkerConnectionInfo connectionInfo = new WorkerConnectionInfo(workerResource.getConnectionInfo());
@@ -507,6 +574,7 @@ public class TajoWorkerResourceManager extends CompositeService implements Worke
 
   @Override
   public void stopQueryMaster(QueryId queryId) {
+    rmContext.getQueryResourceUsages().remove(queryId);
     if (!rmContext.getQueryMasterResource().containsKey(queryId)) {
       LOG.warn("No QueryMaster resource info for " + queryId);
       return;
@@ -63,6 +63,20 @@ public interface WorkerResourceManager extends Service {
    */
   public void releaseWorkerResource(TajoMasterProtocol.AllocatedWorkerResourceProto resource);
 
+  /**
+   * Release a container allocated to a query
+   *
+   * @param queryId QueryId which holds the container
+   * @param resource AllocatedWorkerResourceProto to be released
+   */
+  public void releaseWorkerResource(QueryId queryId, TajoMasterProtocol.AllocatedWorkerResourceProto resource);
+
+  /**
+   * @param queryId QueryId
+   * @return the task containers which a query holds and requests, or null if the query has never requested
+   */
+  public QueryResourceUsage getQueryResourceUsage(QueryId queryId);
+
   public String getSeedQueryId() throws IOException;
 
   /**
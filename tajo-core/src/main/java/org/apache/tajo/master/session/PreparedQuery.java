@@ -0,0 +1,350 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.master.session;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.apache.tajo.SessionVars;
+import org.apache.tajo.algebra.*;
+import org.apache.tajo.plan.LogicalPlan;
+import org.apache.tajo.plan.PlanningException;
+
+import java.util.*;
+import java.util.Map.Entry;
+
+import static org.apache.tajo.ipc.ClientProtos.PreparedParameter;
+
+/**
+ * A query prepared within a session. A query has '?' parameter markers, and it is parsed and pre-verified only once
+ * when it is prepared. Each parameter marker is replaced by a unique placeholder string literal before parsing,
+ * and the placeholders in the parsed expression are replaced by bound values whenever the query is executed.
+ *
+ * Since the planner types literals by their values and the optimizer folds constants, a logical plan is not
+ * independent of parameter values. So, logical plans are cached for each distinct set of parameter values.
+ */
+public class PreparedQuery {
+  private static final String PLACEHOLDER_PREFIX = "__tajo_param_";
+  private static final String OP_TYPE = "OpType";
+  private static final String VALUE = "Value";
+
+  private final int id;
+  private final String sql;
+  private final String templateJson;
+  private final Map<String, Integer> placeholders;
+  private final int planCacheSize;
+  private final LinkedHashMap<String, CachedPlan> planCache;
+
+  /**
+   * @param id the statement id within a session
+   * @param sql the original query including parameter markers
+   * @param template the expression parsed from the query which is rewritten by {@link #rewriteParameters}
+   * @param placeholders the placeholders used to rewrite the query
+   * @param planCacheSize the maximum number of cached logical plans
+   */
+  public PreparedQuery(int id, String sql, Expr template, String[] placeholders, int planCacheSize)
+      throws PlanningException {
+    this.id = id;
+    this.sql = sql;
+    this.templateJson = template.toJson();
+    this.placeholders = new HashMap<String, Integer>();
+    for (int i = 0; i < placeholders.length; i++) {
+      this.placeholders.put(placeholders[i], i);
+    }
+
+    int [] occurrences = new int[placeholders.length];
+    countPlaceholders(new JsonParser().parse(templateJson), occurrences);
+    for (int i = 0; i < occurrences.length; i++) {
+      if (occurrences[i] == 0) {
+        throw new PlanningException("parameter " + (i + 1) + " cannot be used in such a position");
+      }
+    }
+
+    this.planCacheSize = planCacheSize;
+    this.planCache = new LinkedHashMap<String, CachedPlan>(16, 0.75f, true);
+  }
+
+  public int getId() {
+    return id;
+  }
+
+  public String getSql() {
+    return sql;
+  }
+
+  public int getParameterNum() {
+    return placeholders.size();
+  }
+
+  /**
+   * Builds an expression by binding given parameter values.
+   */
+  public Expr bind(List<PreparedParameter> parameters) throws PlanningException {
+    if (parameters.size() != placeholders.size()) {
+      throw new PlanningException("the query requires " + placeholders.size() + " parameters, but "
+          + parameters.size() + " parameters are given");
+    }
+
+    Expr [] values = new Expr[parameters.size()];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = toExpr(parameters.get(i));
+    }
+    JsonElement bound = bindPlaceholders(new JsonParser().parse(templateJson), values);
+    return JsonHelper.getInstance().fromJson(bound, Expr.class);
+  }
+
+  private static Expr toExpr(PreparedParameter parameter) throws PlanningException {
+    if (parameter.getType() == PreparedParameter.ParameterType.NULL_VALUE) {
+      return new NullLiteral();
+    }
+    if (!parameter.hasValue()) {
+      throw new PlanningException("no value is given for a " + parameter.getType() + " parameter");
+    }
+
+    String value = parameter.getValue();
+    try {
+      switch (parameter.getType()) {
+      case BOOLEAN:
+        return new BooleanLiteral(Boolean.parseBoolean(value));
+      case INTEGER:
+        long longValue = Long.parseLong(value);
+        if (longValue >= Integer.MIN_VALUE && longValue <= Integer.MAX_VALUE) {
+          return new LiteralValue(value, LiteralValue.LiteralType.Unsigned_Integer);
+        } else {
+          return new LiteralValue(value, LiteralValue.LiteralType.Unsigned_Large_Integer);
+        }
+      case FLOAT:
+        Double.parseDouble(value);
+        return new LiteralValue(value, LiteralValue.LiteralType.Unsigned_Float);
+      default:
+        return new LiteralValue(value, LiteralValue.LiteralType.String);
+      }
+    } catch (NumberFormatException e) {
+      throw new PlanningException("invalid " + parameter.getType() + " parameter: " + value);
+    }
+  }
+
+  private boolean isPlaceholder(JsonObject object) {
+    JsonElement opType = object.get(OP_TYPE);
+    JsonElement value = object.get(VALUE);
+    return opType != null && opType.isJsonPrimitive() && OpType.Literal.name().equals(opType.getAsString())
+        && value != null && value.isJsonPrimitive() && placeholders.containsKey(value.getAsString());
+  }
+
+  private void countPlaceholders(JsonElement element, int [] occurrences) {
+    if (element.isJsonObject()) {
+      JsonObject object = element.getAsJsonObject();
+      if (isPlaceholder(object)) {
+        occurrences[placeholders.get(object.get(VALUE).getAsString())]++;
+        return;
+      }
+      for (Entry<String, JsonElement> entry : object.entrySet()) {
+        countPlaceholders(entry.getValue(), occurrences);
+      }
+    } else if (element.isJsonArray()) {
+      for (JsonElement child : element.getAsJsonArray()) {
+        countPlaceholders(child, occurrences);
+      }
+    }
+  }
+
+  private JsonElement bindPlaceholders(JsonElement element, Expr [] values) {
+    if (element.isJsonObject()) {
+      JsonObject object = element.getAsJsonObject();
+      if (isPlaceholder(object)) {
+        return JsonHelper.getInstance().toJsonTree(values[placeholders.get(object.get(VALUE).getAsString())],
+            Expr.class);
+      }
+      JsonObject rewritten = new JsonObject();
+      for (Entry<String, JsonElement> entry : object.entrySet()) {
+        rewritten.add(entry.getKey(), bindPlaceholders(entry.getValue(), values));
+      }
+      return rewritten;
+    } else if (element.isJsonArray()) {
+      JsonArray rewritten = new JsonArray();
+      for (JsonElement child : element.getAsJsonArray()) {
+        rewritten.add(bindPlaceholders(child, values));
+      }
+      return rewritten;
+    } else {
+      return element;
+    }
+  }
+
+  /**
+   * @param ddlVersion the number of DDL statements executed so far, which may have changed what the plan refers to
+   * @return a cached plan for given parameter values if it was planned with the same session variables and no DDL
+   * statement was executed since then
+   */
+  public synchronized CachedPlan getCachedPlan(List<PreparedParameter> parameters, Map<String, String> variables,
+                                               long ddlVersion) {
+    String key = getCacheKey(parameters);
+    CachedPlan cached = planCache.get(key);
+    if (cached != null && cached.ddlVersion != ddlVersion) {
+      planCache.remove(key);
+      return null;
+    }
+    if (cached != null && cached.variables.equals(variables)) {
+      return cached;
+    }
+    return null;
+  }
+
+  public synchronized void putCachedPlan(List<PreparedParameter> parameters, Map<String, String> variables,
+                                         long ddlVersion, LogicalPlan plan, String jsonExpr) {
+    if (planCacheSize <= 0) {
+      return;
+    }
+    planCache.put(getCacheKey(parameters), new CachedPlan(variables, ddlVersion, plan, jsonExpr));
+    Iterator<CachedPlan> it = planCache.values().iterator();
+    while (planCache.size() > planCacheSize && it.hasNext()) {
+      it.next();
+      it.remove();
+    }
+  }
+
+  public synchronized void removeCachedPlan(List<PreparedParameter> parameters) {
+    planCache.remove(getCacheKey(parameters));
+  }
+
+  private static String getCacheKey(List<PreparedParameter> parameters) {
+    StringBuilder sb = new StringBuilder();
+    for (PreparedParameter parameter : parameters) {
+      sb.append(parameter.getType().getNumber());
+      if (parameter.hasValue()) {
+        sb.append(':').append(parameter.getValue().length()).append(':').append(parameter.getValue());
+      }
+      sb.append(',');
+    }
+    return sb.toString();
+  }
+
+  /**
+   * @return session variables which affect planning. The last access time is excluded because it changes
+   * every time.
+   */
+  public static Map<String, String> getPlanningVariables(Session session) {
+    Map<String, String> variables = new HashMap<String, String>(session.getAllVariables());
+    variables.remove(SessionVars.SESSION_LAST_ACCESS_TIME.keyname());
+    return variables;
+  }
+
+  public static class CachedPlan {
+    private final Map<String, String> variables;
+    private final long ddlVersion;
+    private final LogicalPlan plan;
+    private final String jsonExpr;
+
+    CachedPlan(Map<String, String> variables, long ddlVersion, LogicalPlan plan, String jsonExpr) {
+      this.variables = variables;
+      this.ddlVersion = ddlVersion;
+      this.plan = plan;
+      this.jsonExpr = jsonExpr;
+    }
+
+    public LogicalPlan getPlan() {
+      return plan;
+    }
+
+    public String getJsonExpr() {
+      return jsonExpr;
+    }
+  }
+
+  /**
+   * Creates unique placeholders for parameter markers.
+   */
+  public static String[] createPlaceholders(int num) {
+    String nonce = UUID.randomUUID().toString().replace("-", "");
+    String[] placeholders = new String[num];
+    for (int i = 0; i < num; i++) {
+      placeholders[i] = PLACEHOLDER_PREFIX + nonce + "_" + i;
+    }
+    return placeholders;
+  }
+
+  /**
+   * Counts '?' parameter markers except for those in string literals, quoted identifiers, and comments.
+   */
+  public static int countParameters(String sql) {
+    return rewriteParameters(sql, null, null);
+  }
+
+  /**
+   * Replaces '?' parameter markers by string literals of given placeholders.
+   */
+  public static String rewriteParameters(String sql, String[] placeholders) {
+    StringBuilder sb = new StringBuilder(sql.length());
+    rewriteParameters(sql, placeholders, sb);
+    return sb.toString();
+  }
+
+  private static int rewriteParameters(String sql, String[] placeholders, StringBuilder sb) {
+    int num = 0;
+    int i = 0;
+    while (i < sql.length()) {
+      char c = sql.charAt(i);
+      int end;
+      if (c == '\'' || c == '"') {
+        end = findQuoteEnd(sql, i);
+      } else if (c == '-' && sql.startsWith("--", i)) {
+        end = sql.indexOf('\n', i);
+        end = end < 0 ? sql.length() : end + 1;
+      } else if (c == '/' && sql.startsWith("/*", i)) {
+        end = sql.indexOf("*/", i + 2);
+        end = end < 0 ? sql.length() : end + 2;
+      } else if (c == '?') {
+        if (sb != null) {
+          sb.append('\'').append(placeholders[num]).append('\'');
+        }
+        num++;
+        i++;
+        continue;
+      } else {
+        end = i + 1;
+      }
+      if (sb != null) {
+        sb.append(sql, i, end);
+      }
+      i = end;
+    }
+    return num;
+  }
+
+  /**
+   * @return The index next to the closing quote of a string literal or a quoted identifier starting at a given
+   * index. A backslash escapes the following character, as in the lexer.
+   */
+  private static int findQuoteEnd(String sql, int start) {
+    char quote = sql.charAt(start);
+    int i = start + 1;
+    while (i < sql.length()) {
+      char c = sql.charAt(i);
+      if (c == '\\') {
+        i += 2;
+      } else if (c == quote) {
+        return i + 1;
+      } else {
+        i++;
+      }
+    }
+    return sql.length();
+  }
+}
@@ -40,6 +40,8 @@ public class Session implements SessionConstants, ProtoObject<SessionProto>, Clo
   private String currentDatabase;
   private final Map<String, String> sessionVariables;
   private final Map<QueryId, NonForwardQueryResultScanner> nonForwardQueryMap = new HashMap<QueryId, NonForwardQueryResultScanner>();
+  private final Map<Integer, PreparedQuery> preparedQueryMap = new HashMap<Integer, PreparedQuery>();
+  private int lastPreparedQueryId = 0;
 
   // transient status
   private volatile long lastAccessTime;
@@ -174,7 +176,35 @@ public class Session implements SessionConstants, ProtoObject<SessionProto>, Clo
     }
   }
 
+  public int nextPreparedQueryId() {
+    synchronized (preparedQueryMap) {
+      return ++lastPreparedQueryId;
+    }
+  }
+
+  public PreparedQuery getPreparedQuery(int id) {
+    synchronized (preparedQueryMap) {
+      return preparedQueryMap.get(id);
+    }
+  }
+
+  public void addPreparedQuery(PreparedQuery preparedQuery) {
+    synchronized (preparedQueryMap) {
+      preparedQueryMap.put(preparedQuery.getId(), preparedQuery);
+    }
+  }
+
+  public boolean removePreparedQuery(int id) {
+    synchronized (preparedQueryMap) {
+      return preparedQueryMap.remove(id) != null;
+    }
+  }
+
   public void close() {
+    synchronized (preparedQueryMap) {
+      preparedQueryMap.clear();
+    }
+
     try {
       synchronized (nonForwardQueryMap) {
         for (NonForwardQueryResultScanner eachQueryScanner: nonForwardQueryMap.values()) {
@@ -18,11 +18,19 @@
 
 package org.apache.tajo.scheduler;
 
+import com.google.common.collect.Maps;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.apache.tajo.QueryId;
+import org.apache.tajo.conf.TajoConf;
+import org.apache.tajo.conf.TajoConf.ConfVars;
 import org.apache.tajo.master.querymaster.QueryInProgress;
 import org.apache.tajo.master.querymaster.QueryJobManager;
+import org.apache.tajo.master.rm.Worker;
+import org.apache.tajo.scheduler.QueryMemoryEstimator.MemoryEstimate;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 public abstract class AbstractScheduler implements Scheduler {
@@ -32,6 +40,11 @@ public abstract class AbstractScheduler implements Scheduler {
   protected AtomicBoolean stopped = new AtomicBoolean();
   protected QueryJobManager queryJobManager;
 
+  protected boolean admissionControlEnabled;
+  protected float admissionMemoryRatio;
+  /** the memory budgets (MB) of admitted queries */
+  protected final Map<QueryId, Integer> admittedMemory = Maps.newConcurrentMap();
+
   protected abstract QuerySchedulingInfo[] getScheduledQueries();
   protected abstract void addQueryToQueue(QuerySchedulingInfo querySchedulingInfo) throws Exception;
 
@@ -39,11 +52,26 @@ public abstract class AbstractScheduler implements Scheduler {
     private String queueName;
     private int minCapacity;
     private int maxCapacity;
+    private int maxRunningQueries;
+    private int maxMemoryMB;
+    private float weight = 1.0f;
+    private int minShareMB = 0;
 
     public QueueProperty(String queueName, int minCapacity, int maxCapacity){
+      this(queueName, minCapacity, maxCapacity, -1, -1);
+    }
+
+    /**
+     * @param maxRunningQueries the maximum number of running queries in this queue (-1 means unlimited)
+     * @param maxMemoryMB the maximum sum of the memory budgets of running queries in this queue
+     *                    (-1 means unlimited)
+     */
+    public QueueProperty(String queueName, int minCapacity, int maxCapacity, int maxRunningQueries, int maxMemoryMB){
       this.queueName = queueName;
       this.minCapacity = minCapacity;
       this.maxCapacity = maxCapacity;
+      this.maxRunningQueries = maxRunningQueries;
+      this.maxMemoryMB = maxMemoryMB;
     }
 
     public String getQueueName() {
@@ -58,6 +86,36 @@ public abstract class AbstractScheduler implements Scheduler {
       return maxCapacity;
     }
 
+    public int getMaxRunningQueries() {
+      return maxRunningQueries;
+    }
+
+    public int getMaxMemoryMB() {
+      return maxMemoryMB;
+    }
+
+    /**
+     * @return the relative weight of this queue when task containers are shared with other queues
+     */
+    public float getWeight() {
+      return weight;
+    }
+
+    public void setWeight(float weight) {
+      this.weight = weight;
+    }
+
+    /**
+     * @return the memory (MB) of task containers which this queue is guaranteed
+     */
+    public int getMinShareMB() {
+      return minShareMB;
+    }
+
+    public void setMinShareMB(int minShareMB) {
+      this.minShareMB = minShareMB;
+    }
+
     @Override
     public String toString() {
       return queueName + "(" + minCapacity + "," + maxCapacity + ")";
@@ -83,6 +141,10 @@ public abstract class AbstractScheduler implements Scheduler {
     this.queryJobManager = queryJobManager;
     this.queryProcessor = new Thread(new QueryProcessor());
     this.queryProcessor.setName("Query Processor");
+
+    TajoConf conf = queryJobManager.getMasterContext().getConf();
+    this.admissionControlEnabled = conf.getBoolVar(ConfVars.JOB_SCHEDULER_ADMISSION_CONTROL_ENABLED);
+    this.admissionMemoryRatio = conf.getFloatVar(ConfVars.JOB_SCHEDULER_ADMISSION_MEMORY_RATIO);
   }
 
   @Override
@@ -107,10 +169,88 @@ public abstract class AbstractScheduler implements Scheduler {
   public void addQuery(QueryInProgress queryInProgress) throws Exception {
     QuerySchedulingInfo querySchedulingInfo =
         new QuerySchedulingInfo(queryInProgress.getQueryId(), 1, queryInProgress.getStartTime(), queryInProgress.getQueryContext());
+    estimateMemory(queryInProgress, querySchedulingInfo);
     addQueryToQueue(querySchedulingInfo);
     wakeupProcessor();
   }
 
+  /**
+   * Estimates the memory of a query from its plan. The query budget is used for the admission control,
+   * and the task memory is delivered to the query master through the query context.
+   */
+  protected void estimateMemory(QueryInProgress queryInProgress, QuerySchedulingInfo querySchedulingInfo) {
+    TajoConf conf = queryJobManager.getMasterContext().getConf();
+    int numWorkers = queryJobManager.getMasterContext().getResourceManager().getWorkers().size();
+
+    MemoryEstimate estimate = QueryMemoryEstimator.estimate(queryInProgress.getPlan(),
+        queryInProgress.getQueryContext(), conf, numWorkers);
+    querySchedulingInfo.setMemoryBudgetMB(estimate.getQueryMemoryMB());
+    queryInProgress.getQueryContext().setInt(TASK_MEMORY_KEY, estimate.getTaskMemoryMB());
+
+    LOG.info(queryInProgress.getQueryId() + " estimated memory: " + estimate);
+  }
+
+  /**
+   * @return the total memory (MB) of all live workers
+   */
+  protected long getClusterMemoryMB() {
+    long totalMemoryMB = 0;
+    Collection<Worker> workers = queryJobManager.getMasterContext().getResourceManager().getWorkers().values();
+    for (Worker eachWorker : workers) {
+      totalMemoryMB += eachWorker.getResource().getMemoryMB();
+    }
+    return totalMemoryMB;
+  }
+
+  /**
+   * @return the sum of the memory budgets (MB) of admitted queries
+   */
+  protected long getAdmittedMemoryMB() {
+    long admitted = 0;
+    for (int eachBudget : admittedMemory.values()) {
+      admitted += eachBudget;
+    }
+    return admitted;
+  }
+
+  /**
+   * A query can be admitted if the cluster can honor its memory budget together with the budgets of
+   * already admitted queries. A query is always admitted if there is no admitted query, so that a query
+   * larger than the cluster is not starved.
+   */
+  protected boolean canAdmit(QuerySchedulingInfo querySchedulingInfo) {
+    if (!admissionControlEnabled || admittedMemory.isEmpty()) {
+      return true;
+    }
+
+    long capacityMB = (long) (getClusterMemoryMB() * admissionMemoryRatio);
+    boolean admissible = getAdmittedMemoryMB() + querySchedulingInfo.getMemoryBudgetMB() <= capacityMB;
+    if (!admissible && LOG.isDebugEnabled()) {
+      LOG.debug(querySchedulingInfo.getQueryId() + " waits for memory (budget: " +
+          querySchedulingInfo.getMemoryBudgetMB() + "MB, admitted: " + getAdmittedMemoryMB() +
+          "MB, capacity: " + capacityMB + "MB)");
+    }
+    return admissible;
+  }
+
+  protected void admit(QuerySchedulingInfo querySchedulingInfo) {
+    admittedMemory.put(querySchedulingInfo.getQueryId(), querySchedulingInfo.getMemoryBudgetMB());
+  }
+
+  protected void releaseAdmission(QueryId queryId) {
+    admittedMemory.remove(queryId);
+  }
+
+  @Override
+  public int getAllocatableContainers(QueryId queryId, int requested) {
+    return requested;
+  }
+
+  @Override
+  public int getContainersToPreempt(QueryId queryId) {
+    return 0;
+  }
+
   protected void wakeupProcessor() {
     synchronized (queryProcessor) {
       queryProcessor.notifyAll();
@@ -27,6 +27,8 @@ import org.apache.tajo.QueryId;
 import org.apache.tajo.conf.TajoConf;
 import org.apache.tajo.conf.TajoConf.ConfVars;
 import org.apache.tajo.master.querymaster.QueryJobManager;
+import org.apache.tajo.master.rm.QueryResourceUsage;
+import org.apache.tajo.master.rm.WorkerResourceManager;
 
 import java.util.*;
 
@@ -45,10 +47,21 @@ public class FairScheduler extends AbstractScheduler {
   private Map<QueryId, QuerySchedulingInfo> runningQueries = Maps.newConcurrentMap();
   private Map<QueryId, String> queryAssignedMap = Maps.newConcurrentMap();
 
+  private boolean preemptionEnabled;
+  private long preemptionTimeout;
+  /** the times when starved queries began to be below their fair shares */
+  private Map<QueryId, Long> starvedSince = Maps.newConcurrentMap();
+  /** the last times when queries were asked to give back containers */
+  private Map<QueryId, Long> lastPreemptionTime = Maps.newConcurrentMap();
+
   @Override
   public void init(QueryJobManager queryJobManager) {
     super.init(queryJobManager);
     initQueue();
+
+    TajoConf conf = queryJobManager.getMasterContext().getConf();
+    this.preemptionEnabled = conf.getBoolVar(ConfVars.JOB_SCHEDULER_PREEMPTION_ENABLED);
+    this.preemptionTimeout = conf.getIntVar(ConfVars.JOB_SCHEDULER_PREEMPTION_TIMEOUT);
   }
 
   private void reorganizeQueue(List<QueueProperty> newQueryList) {
@@ -117,6 +130,10 @@ public class FairScheduler extends AbstractScheduler {
     for (String eachQueue: queueNames) {
       String maxPropertyKey = QUEUE_KEY_REPFIX + "." + eachQueue + ".max";
       String minPropertyKey = QUEUE_KEY_REPFIX + "." + eachQueue + ".min";
+      String maxRunningPropertyKey = QUEUE_KEY_REPFIX + "." + eachQueue + ".max-running";
+      String maxMemoryPropertyKey = QUEUE_KEY_REPFIX + "." + eachQueue + ".max-memory-mb";
+      String weightPropertyKey = QUEUE_KEY_REPFIX + "." + eachQueue + ".weight";
+      String minSharePropertyKey = QUEUE_KEY_REPFIX + "." + eachQueue + ".min-share-mb";
 
       if (StringUtils.isEmpty(queueConf.get(maxPropertyKey)) || StringUtils.isEmpty(queueConf.get(minPropertyKey))) {
         LOG.error("Can't find " + maxPropertyKey + " or "+ minPropertyKey + " in tajo-fair-queue.xml");
@@ -125,7 +142,11 @@ public class FairScheduler extends AbstractScheduler {
 
       QueueProperty queueProperty = new QueueProperty(eachQueue,
           queueConf.getInt(minPropertyKey, 1),
-          queueConf.getInt(maxPropertyKey, 1));
+          queueConf.getInt(maxPropertyKey, 1),
+          queueConf.getInt(maxRunningPropertyKey, -1),
+          queueConf.getInt(maxMemoryPropertyKey, -1));
+      queueProperty.setWeight(queueConf.getFloat(weightPropertyKey, 1.0f));
+      queueProperty.setMinShareMB(queueConf.getInt(minSharePropertyKey, 0));
       queueList.add(queueProperty);
     }
 
@@ -166,6 +187,9 @@ public class FairScheduler extends AbstractScheduler {
 
   @Override
   public void notifyQueryStop(QueryId queryId) {
+    releaseAdmission(queryId);
+    starvedSince.remove(queryId);
+    lastPreemptionTime.remove(queryId);
     synchronized (queues) {
       QuerySchedulingInfo runningQuery = runningQueries.remove(queryId);
       String queueName = queryAssignedMap.remove(queryId);
@@ -206,31 +230,188 @@ public class FairScheduler extends AbstractScheduler {
         int runningSize = getRunningQueries(eachQueueName);
         QueueProperty property = queueProperties.get(eachQueueName);
 
-        if(property.getMaxCapacity() == -1){
-          LinkedList<QuerySchedulingInfo> queue = queues.get(eachQueueName);
-          if (queue != null && queue.size() > 0) {
-            QuerySchedulingInfo querySchedulingInfo = queue.pollFirst();
-            queries.add(querySchedulingInfo);
-            runningQueries.put(querySchedulingInfo.getQueryId(), querySchedulingInfo);
-          }
-        } else {
-          if (property.getMinCapacity() * (runningSize + 1) < property.getMaxCapacity()) {
-            LinkedList<QuerySchedulingInfo> queue = queues.get(eachQueueName);
-            if (queue != null && queue.size() > 0) {
-              QuerySchedulingInfo querySchedulingInfo = queue.pollFirst();
-              queries.add(querySchedulingInfo);
-              runningQueries.put(querySchedulingInfo.getQueryId(), querySchedulingInfo);
-            } else {
-              continue;
-            }
-          }
+        if (property.getMaxCapacity() != -1 &&
+            property.getMinCapacity() * (runningSize + 1) >= property.getMaxCapacity()) {
+          continue;
+        }
+
+        LinkedList<QuerySchedulingInfo> queue = queues.get(eachQueueName);
+        if (queue == null || queue.isEmpty()) {
+          continue;
+        }
+
+        // the head query keeps waiting until both of its queue and the cluster can honor its memory budget
+        QuerySchedulingInfo querySchedulingInfo = queue.peekFirst();
+        if (!canAdmitToQueue(property, runningSize, querySchedulingInfo) || !canAdmit(querySchedulingInfo)) {
+          continue;
         }
+
+        queue.pollFirst();
+        queries.add(querySchedulingInfo);
+        runningQueries.put(querySchedulingInfo.getQueryId(), querySchedulingInfo);
+        admit(querySchedulingInfo);
       }
 
       return queries.toArray(new QuerySchedulingInfo[]{});
     }
   }
 
+  private boolean canAdmitToQueue(QueueProperty property, int runningSize, QuerySchedulingInfo querySchedulingInfo) {
+    if (property.getMaxRunningQueries() > 0 && runningSize >= property.getMaxRunningQueries()) {
+      return false;
+    }
+
+    if (admissionControlEnabled && property.getMaxMemoryMB() > 0 && runningSize > 0) {
+      return getQueueMemoryMB(property.getQueueName()) + querySchedulingInfo.getMemoryBudgetMB()
+          <= property.getMaxMemoryMB();
+    }
+    return true;
+  }
+
+  /**
+   * @return the sum of the memory budgets (MB) of running queries in a given queue
+   */
+  private long getQueueMemoryMB(String queueName) {
+    long memoryMB = 0;
+    for (QuerySchedulingInfo eachQuery : runningQueries.values()) {
+      if (queueName.equals(eachQuery.getAssignedQueueName())) {
+        memoryMB += eachQuery.getMemoryBudgetMB();
+      }
+    }
+    return memoryMB;
+  }
+
+  /**
+   * @return the fair shares (MB) of running queries, computed from their current demands
+   */
+  private Map<QueryId, Long> computeFairShares() {
+    WorkerResourceManager resourceManager = queryJobManager.getMasterContext().getResourceManager();
+
+    Map<String, Map<QueryId, Long>> demands = Maps.newHashMap();
+    for (QuerySchedulingInfo eachQuery : runningQueries.values()) {
+      QueryResourceUsage usage = resourceManager.getQueryResourceUsage(eachQuery.getQueryId());
+      Map<QueryId, Long> queueDemands = demands.get(eachQuery.getAssignedQueueName());
+      if (queueDemands == null) {
+        queueDemands = Maps.newHashMap();
+        demands.put(eachQuery.getAssignedQueueName(), queueDemands);
+      }
+      queueDemands.put(eachQuery.getQueryId(), usage == null ? 0 : usage.getDemandMemoryMB());
+    }
+
+    Map<String, QueueProperty> properties;
+    synchronized (queues) {
+      properties = new HashMap<String, QueueProperty>(queueProperties);
+    }
+
+    // query masters are excluded from the memory which task containers share
+    int queryMasterMemoryMB = queryJobManager.getMasterContext().getConf().getIntVar(
+        ConfVars.TAJO_QUERYMASTER_MEMORY_MB);
+    long totalMemoryMB = Math.max(0, getClusterMemoryMB() - (long) runningQueries.size() * queryMasterMemoryMB);
+
+    return FairShareCalculator.computeShares(totalMemoryMB, properties, demands);
+  }
+
+  /**
+   * A query is starved if it can use one more container within both of its fair share and its demand.
+   */
+  private static boolean isStarved(QueryResourceUsage usage, long fairShareMB) {
+    long targetMB = Math.min(fairShareMB, usage.getDemandMemoryMB());
+    return usage.getContainerMemoryMB() > 0 && usage.getAllocatedMemoryMB() + usage.getContainerMemoryMB() <= targetMB;
+  }
+
+  /**
+   * A query can take containers beyond its fair share as long as no other query is starved.
+   */
+  @Override
+  public int getAllocatableContainers(QueryId queryId, int requested) {
+    WorkerResourceManager resourceManager = queryJobManager.getMasterContext().getResourceManager();
+    QueryResourceUsage usage = resourceManager.getQueryResourceUsage(queryId);
+    if (usage == null || usage.getContainerMemoryMB() <= 0 || !runningQueries.containsKey(queryId)) {
+      return requested;
+    }
+
+    Map<QueryId, Long> shares = computeFairShares();
+    boolean othersStarved = false;
+    for (Map.Entry<QueryId, Long> eachShare : shares.entrySet()) {
+      if (eachShare.getKey().equals(queryId)) {
+        continue;
+      }
+      QueryResourceUsage otherUsage = resourceManager.getQueryResourceUsage(eachShare.getKey());
+      if (otherUsage != null && isStarved(otherUsage, eachShare.getValue())) {
+        othersStarved = true;
+        break;
+      }
+    }
+
+    Long fairShareMB = shares.get(queryId);
+    if (!othersStarved || fairShareMB == null) {
+      return requested;
+    }
+
+    long roomMB = fairShareMB - usage.getAllocatedMemoryMB();
+    if (roomMB <= 0) {
+      return 0;
+    }
+    int containerMemoryMB = usage.getContainerMemoryMB();
+    return (int) Math.min(requested, (roomMB + containerMemoryMB - 1) / containerMemoryMB);
+  }
+
+  /**
+   * If some queries have been starved longer than the preemption timeout, a query over its fair share
+   * gives back its containers in excess of the share, up to the shortage of the starved queries.
+   * The query master kills its newest tasks, which are rescheduled later.
+   */
+  @Override
+  public int getContainersToPreempt(QueryId queryId) {
+    if (!preemptionEnabled || !runningQueries.containsKey(queryId)) {
+      return 0;
+    }
+
+    WorkerResourceManager resourceManager = queryJobManager.getMasterContext().getResourceManager();
+    Map<QueryId, Long> shares = computeFairShares();
+    long now = System.currentTimeMillis();
+
+    long shortageMB = 0;
+    for (Map.Entry<QueryId, Long> eachShare : shares.entrySet()) {
+      QueryResourceUsage eachUsage = resourceManager.getQueryResourceUsage(eachShare.getKey());
+      if (eachUsage != null && isStarved(eachUsage, eachShare.getValue())) {
+        Long since = starvedSince.get(eachShare.getKey());
+        if (since == null) {
+          starvedSince.put(eachShare.getKey(), now);
+        } else if (now - since >= preemptionTimeout) {
+          shortageMB += Math.min(eachShare.getValue(), eachUsage.getDemandMemoryMB()) -
+              eachUsage.getAllocatedMemoryMB();
+        }
+      } else {
+        starvedSince.remove(eachShare.getKey());
+      }
+    }
+
+    QueryResourceUsage usage = resourceManager.getQueryResourceUsage(queryId);
+    Long fairShareMB = shares.get(queryId);
+    if (shortageMB <= 0 || usage == null || fairShareMB == null || usage.getContainerMemoryMB() <= 0) {
+      return 0;
+    }
+
+    // a query master needs time to kill tasks, so a query is not asked again within the timeout
+    Long lastTime = lastPreemptionTime.get(queryId);
+    if (lastTime != null && now - lastTime < preemptionTimeout) {
+      return 0;
+    }
+
+    int containerMemoryMB = usage.getContainerMemoryMB();
+    long overMB = usage.getAllocatedMemoryMB() - fairShareMB;
+    int numContainers = (int) Math.min(overMB / containerMemoryMB,
+        (shortageMB + containerMemoryMB - 1) / containerMemoryMB);
+
+    if (numContainers > 0) {
+      lastPreemptionTime.put(queryId, now);
+      LOG.info("Preempt " + numContainers + " containers of " + queryId + " (fair share: " + fairShareMB +
+          "MB, allocated: " + usage.getAllocatedMemoryMB() + "MB, shortage of starved queries: " + shortageMB + "MB)");
+    }
+    return Math.max(0, numContainers);
+  }
+
   @Override
   protected void addQueryToQueue(QuerySchedulingInfo querySchedulingInfo) throws Exception {
     String submitQueueNameProperty = querySchedulingInfo.getQueryContext().get(ConfVars.JOB_QUEUE_NAMES.varname,
@@ -265,7 +446,7 @@ public class FairScheduler extends AbstractScheduler {
     String prefix = "";
 
     sb.append("<table border=\"1\" width=\"100%\" class=\"border_table\">");
-    sb.append("<tr><th width='200'>Queue</th><th width='100'>Min Slot</th><th width='100'>Max Slot</th><th>Running Query</th><th>Waiting Queries</th></tr>");
+    sb.append("<tr><th width='200'>Queue</th><th width='100'>Min Slot</th><th width='100'>Max Slot</th><th width='150'>Memory (MB)</th><th width='100'>Weight</th><th width='100'>Min Share (MB)</th><th>Running Query</th><th>Waiting Queries</th></tr>");
 
     synchronized (queues) {
       SortedSet<String> queueNames = new TreeSet<String>(queues.keySet());
@@ -279,6 +460,11 @@ public class FairScheduler extends AbstractScheduler {
 
         sb.append("<td align='right'>").append(queryProperty.getMinCapacity()).append("</td>");
         sb.append("<td align='right'>").append(queryProperty.getMaxCapacity()).append("</td>");
+        sb.append("<td align='right'>").append(getQueueMemoryMB(eachQueueName)).append(" / ")
+            .append(queryProperty.getMaxMemoryMB() > 0 ? String.valueOf(queryProperty.getMaxMemoryMB()) : "-")
+            .append("</td>");
+        sb.append("<td align='right'>").append(queryProperty.getWeight()).append("</td>");
+        sb.append("<td align='right'>").append(queryProperty.getMinShareMB()).append("</td>");
 
         for (QuerySchedulingInfo eachQuery : runningQueries.values()) {
           if (eachQueueName.equals(eachQuery.getAssignedQueueName())) {
@@ -0,0 +1,135 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.scheduler;
+
+import com.google.common.collect.Maps;
+import org.apache.tajo.QueryId;
+import org.apache.tajo.scheduler.AbstractScheduler.QueueProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * It computes the fair shares of running queries by weighted max-min fairness.
+ *
+ * The resource of a cluster is divided into queues first. Each queue gets its minimum share as long as it
+ * has the demand, and the rest is distributed in proportion to queue weights. Then, the share of each queue
+ * is divided equally into its running queries. No queue or query gets more than its demand, and what is
+ * left over is redistributed to the others.
+ */
+public class FairShareCalculator {
+
+  /**
+   * @param totalMemoryMB the memory (MB) of the cluster which task containers can use
+   * @param queueProperties queue properties by queue names
+   * @param demands the memory demands (MB) of running queries by queue names
+   * @return the fair shares (MB) of running queries
+   */
+  public static Map<QueryId, Long> computeShares(long totalMemoryMB,
+                                                 Map<String, QueueProperty> queueProperties,
+                                                 Map<String, Map<QueryId, Long>> demands) {
+    List<String> queueNames = new ArrayList<String>(demands.keySet());
+    int numQueues = queueNames.size();
+
+    float[] queueWeights = new float[numQueues];
+    long[] queueDemands = new long[numQueues];
+    long[] queueShares = new long[numQueues];
+    long minShareSum = 0;
+
+    for (int i = 0; i < numQueues; i++) {
+      QueueProperty property = queueProperties.get(queueNames.get(i));
+      queueWeights[i] = property == null ? 1.0f : property.getWeight();
+      for (long eachDemand : demands.get(queueNames.get(i)).values()) {
+        queueDemands[i] += eachDemand;
+      }
+      int minShareMB = property == null ? 0 : property.getMinShareMB();
+      queueShares[i] = Math.min(minShareMB, queueDemands[i]);
+      minShareSum += queueShares[i];
+    }
+
+    // minimum shares are reduced proportionally if the cluster cannot honor all of them
+    if (minShareSum > totalMemoryMB) {
+      for (int i = 0; i < numQueues; i++) {
+        queueShares[i] = queueShares[i] * totalMemoryMB / minShareSum;
+      }
+    }
+    distribute(totalMemoryMB, queueWeights, queueDemands, queueShares);
+
+    Map<QueryId, Long> shares = Maps.newHashMap();
+    for (int i = 0; i < numQueues; i++) {
+      List<QueryId> queryIds = new ArrayList<QueryId>(demands.get(queueNames.get(i)).keySet());
+      int numQueries = queryIds.size();
+
+      float[] queryWeights = new float[numQueries];
+      long[] queryDemands = new long[numQueries];
+      long[] queryShares = new long[numQueries];
+      for (int j = 0; j < numQueries; j++) {
+        queryWeights[j] = 1.0f;
+        queryDemands[j] = demands.get(queueNames.get(i)).get(queryIds.get(j));
+      }
+      distribute(queueShares[i], queryWeights, queryDemands, queryShares);
+
+      for (int j = 0; j < numQueries; j++) {
+        shares.put(queryIds.get(j), queryShares[j]);
+      }
+    }
+    return shares;
+  }
+
+  /**
+   * It distributes the rest of a total amount to entries in proportion to their weights,
+   * without exceeding their demands.
+   *
+   * @param total the total amount
+   * @param weights the weights of entries
+   * @param demands the demands of entries
+   * @param shares the initial shares of entries, which are updated in place
+   */
+  static void distribute(long total, float[] weights, long[] demands, long[] shares) {
+    long remain = total;
+    for (long eachShare : shares) {
+      remain -= eachShare;
+    }
+
+    while (remain > 0) {
+      double weightSum = 0;
+      for (int i = 0; i < shares.length; i++) {
+        if (shares[i] < demands[i]) {
+          weightSum += Math.max(weights[i], Float.MIN_NORMAL);
+        }
+      }
+      if (weightSum == 0) {
+        break;
+      }
+
+      // every unsatisfied entry gets at least one at each round, so that the loop always progresses
+      long given = 0;
+      for (int i = 0; i < shares.length && given < remain; i++) {
+        if (shares[i] < demands[i]) {
+          long quota = Math.max(1, (long) (remain * (double) Math.max(weights[i], Float.MIN_NORMAL) / weightSum));
+          long amount = Math.min(Math.min(quota, demands[i] - shares[i]), remain - given);
+          shares[i] += amount;
+          given += amount;
+        }
+      }
+      remain -= given;
+    }
+  }
+}
@@ -0,0 +1,164 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.tajo.scheduler;
+
+import org.apache.tajo.SessionVars;
+import org.apache.tajo.catalog.statistics.TableStats;
+import org.apache.tajo.conf.TajoConf;
+import org.apache.tajo.conf.TajoConf.ConfVars;
+import org.apache.tajo.engine.query.QueryContext;
+import org.apache.tajo.plan.logical.*;
+import org.apache.tajo.plan.util.PlannerUtil;
+import org.apache.tajo.unit.StorageUnit;
+
+/**
+ * It estimates how much memory a query needs from its logical plan.
+ *
+ * Hash joins, hash aggregations and sorts keep their inputs in memory up to the thresholds given by
+ * session variables (e.g., {@link SessionVars#HASH_JOIN_SIZE_LIMIT}). The memory of each operator is
+ * estimated as the volume of its input limited by the threshold for each task, and the threshold times
+ * the number of workers for the whole cluster. If the input volume is unknown, the threshold is used.
+ */
+public class QueryMemoryEstimator {
+
+  private static final long MB = StorageUnit.MB;
+
+  public static class MemoryEstimate {
+    private final int taskMemoryMB;
+    private final int queryMemoryMB;
+
+    public MemoryEstimate(int taskMemoryMB, int queryMemoryMB) {
+      this.taskMemoryMB = taskMemoryMB;
+      this.queryMemoryMB = queryMemoryMB;
+    }
+
+    /**
+     * @return the memory (MB) which each task container of the query needs
+     */
+    public int getTaskMemoryMB() {
+      return taskMemoryMB;
+    }
+
+    /**
+     * @return the memory (MB) which the query needs in the whole cluster, including its query master
+     */
+    public int getQueryMemoryMB() {
+      return queryMemoryMB;
+    }
+
+    @Override
+    public String toString() {
+      return "task memory=" + taskMemoryMB + "MB, query memory=" + queryMemoryMB + "MB";
+    }
+  }
+
+  /**
+   * @param root the root node of a logical plan
+   * @param queryContext the query context holding session variables
+   * @param conf the system configuration
+   * @param numWorkers the number of live workers
+   * @return the estimated memory
+   */
+  public static MemoryEstimate estimate(LogicalNode root, QueryContext queryContext, TajoConf conf,
+                                        int numWorkers) {
+    int defaultTaskMemoryMB = conf.getIntVar(ConfVars.TASK_DEFAULT_MEMORY);
+    int queryMasterMemoryMB = conf.getIntVar(ConfVars.TAJO_QUERYMASTER_MEMORY_MB);
+    numWorkers = Math.max(1, numWorkers);
+
+    long maxTaskBytes = 0;
+    long maxQueryBytes = 0;
+
+    if (root != null) {
+      LogicalNode[] nodes = PlannerUtil.findAllNodes(root,
+          NodeType.JOIN, NodeType.GROUP_BY, NodeType.DISTINCT_GROUP_BY, NodeType.SORT, NodeType.WINDOW_AGG);
+
+      for (LogicalNode node : nodes) {
+        long inputBytes;
+        long thresholdBytes;
+
+        switch (node.getType()) {
+        case JOIN:
+          JoinNode joinNode = (JoinNode) node;
+          // a hash join keeps the smaller relation in memory
+          inputBytes = Math.min(computeVolume(joinNode.getLeftChild()), computeVolume(joinNode.getRightChild()));
+          thresholdBytes = queryContext.getLong(SessionVars.HASH_JOIN_SIZE_LIMIT);
+          break;
+        case GROUP_BY:
+        case DISTINCT_GROUP_BY:
+          inputBytes = computeVolume(((UnaryNode) node).getChild());
+          thresholdBytes = queryContext.getLong(SessionVars.HASH_GROUPBY_SIZE_LIMIT);
+          break;
+        default: // SORT, WINDOW_AGG
+          inputBytes = computeVolume(((UnaryNode) node).getChild());
+          thresholdBytes = queryContext.getLong(SessionVars.EXTSORT_BUFFER_SIZE) * MB;
+          break;
+        }
+
+        maxTaskBytes = Math.max(maxTaskBytes, Math.min(inputBytes, thresholdBytes));
+        maxQueryBytes = Math.max(maxQueryBytes, Math.min(inputBytes, saturatedMultiply(thresholdBytes, numWorkers)));
+      }
+    }
+
+    int taskMemoryMB = Math.max(defaultTaskMemoryMB, toMB(maxTaskBytes));
+    int queryMemoryMB = (int) Math.min(Integer.MAX_VALUE,
+        (long) queryMasterMemoryMB + Math.max(taskMemoryMB, toMB(maxQueryBytes)));
+    return new MemoryEstimate(taskMemoryMB, queryMemoryMB);
+  }
+
+  /**
+   * It calculates the total volume of all descendent relations. Unknown volumes are regarded as infinite.
+   */
+  static long computeVolume(LogicalNode node) {
+    if (node instanceof ScanNode) {
+      ScanNode scanNode = (ScanNode) node;
+      TableStats stats = scanNode.getTableDesc().getStats();
+      if (stats == null || stats.getNumBytes() <= 0) {
+        return Long.MAX_VALUE;
+      }
+      if (node.getType() == NodeType.PARTITIONS_SCAN) {
+        PartitionedTableScanNode pScanNode = (PartitionedTableScanNode) node;
+        if (pScanNode.getInputPaths() == null || pScanNode.getInputPaths().length == 0) {
+          return 0;
+        }
+      }
+      return stats.getNumBytes();
+    } else if (node instanceof TableSubQueryNode) {
+      return computeVolume(((TableSubQueryNode) node).getSubQuery());
+    } else if (node instanceof UnaryNode) {
+      return computeVolume(((UnaryNode) node).getChild());
+    } else if (node instanceof BinaryNode) {
+      BinaryNode binaryNode = (BinaryNode) node;
+      return saturatedAdd(computeVolume(binaryNode.getLeftChild()), computeVolume(binaryNode.getRightChild()));
+    } else {
+      return Long.MAX_VALUE;
+    }
+  }
+
+  private static int toMB(long bytes) {
+    return (int) Math.min(Integer.MAX_VALUE, saturatedAdd(bytes, MB - 1) / MB);
+  }
+
+  private static long saturatedAdd(long a, long b) {
+    long sum = a + b;
+    return sum < 0 ? Long.MAX_VALUE : sum;
+  }
+
+  private static long saturatedMultiply(long a, int b) {
+    return a > Long.MAX_VALUE / b ? Long.MAX_VALUE : a * b;
+  }
+}
@@ -31,6 +31,7 @@ public class QuerySchedulingInfo {
   private String assignedQueueName;
   private Set<String> candidateQueueNames;
   private QueryContext queryContext;
+  private int memoryBudgetMB;
 
   public QuerySchedulingInfo(QueryId queryId, int priority, long startTime, QueryContext queryContext) {
     this.queryId = queryId;
@@ -76,6 +77,17 @@ public class QuerySchedulingInfo {
     return queryContext;
   }
 
+  /**
+   * @return the estimated memory (MB) which this query needs in the whole cluster
+   */
+  public int getMemoryBudgetMB() {
+    return memoryBudgetMB;
+  }
+
+  public void setMemoryBudgetMB(int memoryBudgetMB) {
+    this.memoryBudgetMB = memoryBudgetMB;
+  }
+
   @Override
   public int hashCode() {
     return Objects.hashCode(startTime, getName(), priority);
@@ -25,6 +25,10 @@ import org.apache.tajo.master.querymaster.QueryJobManager;
 public interface Scheduler {
   public static final String QUERY_QUEUE_KEY = "tajo.job.assigned.queue";
   public static final String DEFAULT_QUEUE_NAME = "default";
+  /** the memory (MB) of each task container, estimated from a query plan */
+  public static final String TASK_MEMORY_KEY = "tajo.job.task.memory-mb";
+  /** the heartbeat response command which asks a query master to kill some of its running tasks */
+  public static final String PREEMPT_TASKS_COMMAND = "PREEMPT_TASKS";
 
   public void init(QueryJobManager queryJobManager);
 
@@ -44,6 +48,19 @@ public interface Scheduler {
 
   public String getStatusHtml();
 
+  /**
+   * @param queryId QueryId which requests task containers
+   * @param requested the number of requested containers
+   * @return the number of containers which can be allocated to the query
+   */
+  public int getAllocatableContainers(QueryId queryId, int requested);
+
+  /**
+   * @param queryId QueryId
+   * @return the number of task containers which the query should give back for other queries
+   */
+  public int getContainersToPreempt(QueryId queryId);
+
   public enum Mode {
     FIFO, FAIR
   }
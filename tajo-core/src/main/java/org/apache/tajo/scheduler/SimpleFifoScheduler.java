@@ -53,6 +53,7 @@ public class SimpleFifoScheduler extends AbstractScheduler {
 
   @Override
   public void notifyQueryStop(QueryId queryId) {
+    releaseAdmission(queryId);
     synchronized (pool) {
       pool.remove(getQueryByQueryId(queryId));
     }
@@ -103,6 +104,7 @@ public class SimpleFifoScheduler extends AbstractScheduler {
         QuerySchedulingInfo querySchedulingInfo = pool.poll();
 
         if (querySchedulingInfo != null) {
+          admit(querySchedulingInfo);
           return new QuerySchedulingInfo[]{querySchedulingInfo};
         } else {
           return null;
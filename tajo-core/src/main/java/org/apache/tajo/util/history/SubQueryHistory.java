@@ -66,6 +66,8 @@ public class SubQueryHistory implements GsonObject {
   private int hostLocalAssigned;
   @Expose
   private int rackLocalAssigned;
+  @Expose
+  private int remoteAssigned;
 
   private List<QueryUnitHistory> queryUnits;
 
@@ -197,6 +199,14 @@ public class SubQueryHistory implements GsonObject {
     this.rackLocalAssigned = rackLocalAssigned;
   }
 
+  public int getRemoteAssigned() {
+    return remoteAssigned;
+  }
+
+  public void setRemoteAssigned(int remoteAssigned) {
+    this.remoteAssigned = remoteAssigned;
+  }
+
   public int getFailedObjectCount() {
     return failedObjectCount;
   }
@@ -263,7 +273,8 @@ public class SubQueryHistory implements GsonObject {
 
       .setPlan(plan)
       .setHostLocalAssigned(hostLocalAssigned)
-      .setRackLocalAssigned(rackLocalAssigned);
+      .setRackLocalAssigned(rackLocalAssigned)
+      .setRemoteAssigned(remoteAssigned);
 
     return builder.build();
   }
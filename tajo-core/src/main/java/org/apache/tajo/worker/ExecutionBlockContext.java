@@ -27,7 +27,6 @@ import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.LocalDirAllocator;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.security.UserGroupInformation;
-import org.apache.hadoop.util.ReflectionUtils;
 import org.apache.hadoop.yarn.api.records.ApplicationAttemptId;
 import org.apache.tajo.ExecutionBlockId;
 import org.apache.tajo.QueryUnitAttemptId;
@@ -52,7 +51,6 @@ import org.jboss.netty.util.Timer;
 
 import java.io.IOException;
 import java.net.InetSocketAddress;
-import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -93,8 +91,6 @@ public class ExecutionBlockContext {
   // for the doAs block
   private UserGroupInformation taskOwner;
 
-  private Reporter reporter;
-
   //key is a local absolute path of temporal directories
   private Map<String, ThreadPoolExecutor> fetcherExecutorMap = Maps.newHashMap();
   private AtomicBoolean stop = new AtomicBoolean();
@@ -112,7 +108,6 @@ public class ExecutionBlockContext {
     this.connPool = RpcConnectionPool.getPool(manager.getTajoConf());
     this.queryMaster = queryMaster;
     this.systemConf = manager.getTajoConf();
-    this.reporter = new Reporter();
     this.defaultFS = TajoConf.getTajoRootDir(systemConf).getFileSystem(systemConf);
     this.localFS = FileSystem.getLocal(systemConf);
 
@@ -121,7 +116,7 @@ public class ExecutionBlockContext {
     this.queryEngine = new TajoQueryEngine(systemConf);
     this.queryContext = event.getQueryContext();
     this.plan = event.getPlan();
-    this.resource = new ExecutionBlockSharedResource();
+    this.resource = new ExecutionBlockSharedResource(manager.getWorkerContext().getCompiledEvalCache());
 
     init();
   }
@@ -157,8 +152,6 @@ public class ExecutionBlockContext {
       }
 
     }
-    this.reporter.startReporter();
-
     // resource intiailization
     try {
       this.resource.initialize(queryContext, plan);
@@ -183,6 +176,14 @@ public class ExecutionBlockContext {
     }
   }
 
+  public InetSocketAddress getQueryMasterAddress() {
+    return qmMasterAddr;
+  }
+
+  public boolean isStopped() {
+    return stop.get();
+  }
+
   public void stop(){
     if(stop.getAndSet(true)){
       return;
@@ -190,12 +191,6 @@ public class ExecutionBlockContext {
 
     taskRunnerIdPool.clear();
 
-    try {
-      reporter.stop();
-    } catch (InterruptedException e) {
-      LOG.error(e);
-    }
-
     // If ExecutionBlock is stopped, all running or pending tasks will be marked as failed.
     for (Task task : tasks.values()) {
       if (task.getStatus() == TajoProtos.TaskAttemptState.TA_PENDING ||
@@ -443,83 +438,4 @@ public class ExecutionBlockContext {
       throw new RuntimeException(e);
     }
   }
-
-  protected class Reporter {
-    private Thread reporterThread;
-    private AtomicBoolean reporterStop = new AtomicBoolean();
-    private static final int PROGRESS_INTERVAL = 1000;
-    private static final int MAX_RETRIES = 10;
-
-    public Reporter() {
-      this.reporterThread = new Thread(createReporterThread());
-      this.reporterThread.setName("Task reporter");
-    }
-
-    public void startReporter(){
-      this.reporterThread.start();
-    }
-
-    Runnable createReporterThread() {
-
-      return new Runnable() {
-        int remainingRetries = MAX_RETRIES;
-        QueryMasterProtocol.QueryMasterProtocolService.Interface masterStub;
-        @Override
-        public void run() {
-          while (!reporterStop.get() && !Thread.interrupted()) {
-            try {
-              masterStub = getQueryMasterStub();
-
-              if(tasks.size() == 0){
-                masterStub.ping(null, getExecutionBlockId().getProto(), NullCallback.get());
-              } else {
-                for (Task task : new ArrayList<Task>(tasks.values())){
-
-                  if (task.isRunning() && task.isProgressChanged()) {
-                    task.updateProgress();
-                    masterStub.statusUpdate(null, task.getReport(), NullCallback.get());
-                    task.getContext().setProgressChanged(false);
-                  } else {
-                    task.updateProgress();
-                  }
-                }
-              }
-            } catch (Throwable t) {
-              LOG.error(t.getMessage(), t);
-              remainingRetries -=1;
-              if (remainingRetries == 0) {
-                ReflectionUtils.logThreadInfo(LOG, "Communication exception", 0);
-                LOG.warn("Last retry, exiting ");
-                throw new RuntimeException(t);
-              }
-            } finally {
-              if (remainingRetries > 0 && !reporterStop.get()) {
-                synchronized (reporterThread) {
-                  try {
-                    reporterThread.wait(PROGRESS_INTERVAL);
-                  } catch (InterruptedException e) {
-                  }
-                }
-              }
-            }
-          }
-        }
-      };
-    }
-
-    public void stop() throws InterruptedException {
-      if (reporterStop.getAndSet(true)) {
-        return;
-      }
-
-      if (reporterThread != null) {
-        // Intent of the lock is to not send an interupt in the middle of an
-        // umbilical.ping or umbilical.statusUpdate
-        synchronized (reporterThread) {
-          //Interrupt if sleeping. Otherwise wait for the RPC call to return.
-          reporterThread.notifyAll();
-        }
-      }
-    }
-  }
 }
@@ -23,15 +23,24 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.tajo.SessionVars;
 import org.apache.tajo.catalog.Schema;
+import org.apache.tajo.engine.codegen.CompiledAggregation;
+import org.apache.tajo.engine.codegen.CompiledEvalCache;
+import org.apache.tajo.engine.codegen.CompiledPipeline;
 import org.apache.tajo.engine.codegen.ExecutorPreCompiler;
 import org.apache.tajo.engine.codegen.TajoClassLoader;
 import org.apache.tajo.engine.json.CoreGsonHelper;
 import org.apache.tajo.engine.query.QueryContext;
 import org.apache.tajo.plan.PlanningException;
+import org.apache.tajo.plan.expr.AggregationFunctionCallEval;
 import org.apache.tajo.plan.expr.EvalNode;
 import org.apache.tajo.plan.logical.LogicalNode;
 import org.apache.tajo.util.Pair;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 public class ExecutionBlockSharedResource {
@@ -47,6 +56,22 @@ public class ExecutionBlockSharedResource {
   private ExecutorPreCompiler.CompilationContext compilationContext;
   private LogicalNode plan;
   private boolean codeGenEnabled = false;
+  /** a worker-wide cache of compiled classes. If null, classes are compiled for each execution block. */
+  private final CompiledEvalCache evalCache;
+  /** compiled pipelines shared by tasks. A null value means that the compilation failed. */
+  private final Map<Pair<Schema, List<EvalNode>>, CompiledPipeline> compiledPipelines =
+      new HashMap<Pair<Schema, List<EvalNode>>, CompiledPipeline>();
+  /** compiled aggregations shared by tasks. A null value means that the compilation failed. */
+  private final Map<Pair<Schema, List<Object>>, CompiledAggregation> compiledAggregations =
+      new HashMap<Pair<Schema, List<Object>>, CompiledAggregation>();
+
+  public ExecutionBlockSharedResource() {
+    this(null);
+  }
+
+  public ExecutionBlockSharedResource(CompiledEvalCache evalCache) {
+    this.evalCache = evalCache;
+  }
 
   public void initialize(final QueryContext context, final String planJson) {
 
@@ -74,8 +99,12 @@ public class ExecutionBlockSharedResource {
   private void initCodeGeneration() throws PlanningException {
     if (context.getBool(SessionVars.CODEGEN)) {
       codeGenEnabled = true;
-      classLoader = new TajoClassLoader();
-      compilationContext = new ExecutorPreCompiler.CompilationContext(classLoader);
+      if (evalCache != null) {
+        compilationContext = new ExecutorPreCompiler.CompilationContext(evalCache);
+      } else {
+        classLoader = new TajoClassLoader();
+        compilationContext = new ExecutorPreCompiler.CompilationContext(classLoader);
+      }
       ExecutorPreCompiler.compile(compilationContext, plan);
     }
   }
@@ -85,7 +114,7 @@ public class ExecutionBlockSharedResource {
   }
 
   public EvalNode compileEval(Schema schema, EvalNode eval) {
-    return compilationContext.getCompiler().compile(schema, eval);
+    return compilationContext.compile(schema, eval);
   }
 
   public EvalNode getPreCompiledEval(Schema schema, EvalNode eval) {
@@ -108,8 +137,84 @@ public class ExecutionBlockSharedResource {
     }
   }
 
+  /**
+   * Returns a pipeline compiled from a selection condition and projection targets. It is compiled once for each
+   * execution block, and it is shared by all tasks.
+   *
+   * @param qual The selection condition. It can be null.
+   * @return A compiled pipeline, or null if it cannot be compiled.
+   */
+  public CompiledPipeline getCompiledPipeline(Schema schema, EvalNode qual, EvalNode [] targets) {
+    if (!codeGenEnabled) {
+      throw new IllegalStateException("CodeGen is disabled");
+    }
+
+    EvalNode [] evals = new EvalNode[targets.length + 1];
+    evals[0] = qual;
+    System.arraycopy(targets, 0, evals, 1, targets.length);
+    Pair<Schema, List<EvalNode>> key = new Pair<Schema, List<EvalNode>>(schema, Arrays.asList(evals));
+
+    synchronized (compiledPipelines) {
+      if (compiledPipelines.containsKey(key)) {
+        return compiledPipelines.get(key);
+      }
+
+      CompiledPipeline pipeline = null;
+      try {
+        pipeline = compilationContext.compilePipeline(schema, qual, targets);
+      } catch (Throwable t) {
+        // it falls back to evaluating compiled evals one by one
+        LOG.warn(t);
+      }
+      compiledPipelines.put(key, pipeline);
+      return pipeline;
+    }
+  }
+
+  /**
+   * Returns the compiled update of aggregation functions. It is compiled once for each execution block, and it is
+   * shared by all tasks.
+   *
+   * @return A compiled aggregation, or null if it cannot be compiled.
+   */
+  public CompiledAggregation getCompiledAggregation(Schema schema, AggregationFunctionCallEval [] aggFunctions) {
+    if (!codeGenEnabled) {
+      throw new IllegalStateException("CodeGen is disabled");
+    }
+
+    // the generated code depends on the phase of each function, which is not compared by equals()
+    List<Object> functionKeys = new ArrayList<Object>();
+    for (AggregationFunctionCallEval aggFunction : aggFunctions) {
+      functionKeys.add(aggFunction);
+      functionKeys.add(aggFunction.isFirstPhase());
+    }
+    Pair<Schema, List<Object>> key = new Pair<Schema, List<Object>>(schema, functionKeys);
+
+    synchronized (compiledAggregations) {
+      if (compiledAggregations.containsKey(key)) {
+        return compiledAggregations.get(key);
+      }
+
+      CompiledAggregation aggregation = null;
+      try {
+        aggregation = compilationContext.compileAggregation(schema, aggFunctions);
+      } catch (Throwable t) {
+        // it falls back to updating each aggregation function with a tuple of arguments
+        LOG.warn(t);
+      }
+      compiledAggregations.put(key, aggregation);
+      return aggregation;
+    }
+  }
+
   public void release() {
     compilationContext = null;
+    synchronized (compiledPipelines) {
+      compiledPipelines.clear();
+    }
+    synchronized (compiledAggregations) {
+      compiledAggregations.clear();
+    }
 
     if (classLoader != null) {
       try {
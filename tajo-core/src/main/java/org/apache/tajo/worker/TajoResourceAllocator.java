@@ -406,8 +406,9 @@ public class TajoResourceAllocator extends AbstractResourceAllocator {
                                                                                       int wokerResource,
                                                                                       TajoMasterProtocol.ResourceRequestPriority requestPriority,
                                                                                       List<Integer> workerIds) {
-    //TODO consider task's resource usage pattern
-    int requiredMemoryMB = tajoConf.getIntVar(TajoConf.ConfVars.TASK_DEFAULT_MEMORY);
+    // the task memory is estimated from the query plan when the query is submitted
+    int requiredMemoryMB = queryTaskContext.getQueryContext().getInt(Scheduler.TASK_MEMORY_KEY,
+        tajoConf.getIntVar(TajoConf.ConfVars.TASK_DEFAULT_MEMORY));
     float requiredDiskSlots = tajoConf.getFloatVar(TajoConf.ConfVars.TASK_DEFAULT_DISK);
 
     return TajoMasterProtocol.WorkerResourcesRequestProto.newBuilder()
@@ -34,6 +34,7 @@ import org.apache.tajo.TajoConstants;
 import org.apache.tajo.catalog.CatalogClient;
 import org.apache.tajo.catalog.CatalogService;
 import org.apache.tajo.conf.TajoConf;
+import org.apache.tajo.engine.codegen.CompiledEvalCache;
 import org.apache.tajo.ipc.TajoMasterProtocol;
 import org.apache.tajo.master.cluster.WorkerConnectionInfo;
 import org.apache.tajo.master.ha.TajoMasterInfo;
@@ -92,6 +93,8 @@ public class TajoWorker extends CompositeService {
 
   private TaskRunnerManager taskRunnerManager;
 
+  private CompiledEvalCache compiledEvalCache;
+
   private TajoPullServerService pullService;
 
   @Deprecated
@@ -214,6 +217,11 @@ public class TajoWorker extends CompositeService {
     addIfService(queryMasterManagerService);
 
     // taskrunner worker
+    int codegenCacheSize = systemConf.getIntVar(ConfVars.WORKER_CODEGEN_CACHE_SIZE);
+    if (codegenCacheSize > 0) {
+      compiledEvalCache = new CompiledEvalCache(codegenCacheSize);
+    }
+
     taskRunnerManager = new TaskRunnerManager(workerContext, dispatcher);
     addService(taskRunnerManager);
 
@@ -289,6 +297,43 @@ public class TajoWorker extends CompositeService {
         }
       }
     });
+
+    if (compiledEvalCache != null) {
+      workerSystemMetrics.register("codegen", "cacheHits", new Gauge<Long>() {
+        @Override
+        public Long getValue() {
+          return compiledEvalCache.getHitNum();
+        }
+      });
+
+      workerSystemMetrics.register("codegen", "cacheMisses", new Gauge<Long>() {
+        @Override
+        public Long getValue() {
+          return compiledEvalCache.getMissNum();
+        }
+      });
+
+      workerSystemMetrics.register("codegen", "compileTimeMillis", new Gauge<Long>() {
+        @Override
+        public Long getValue() {
+          return compiledEvalCache.getCompileTime();
+        }
+      });
+
+      workerSystemMetrics.register("codegen", "cachedClasses", new Gauge<Integer>() {
+        @Override
+        public Integer getValue() {
+          return compiledEvalCache.size();
+        }
+      });
+
+      workerSystemMetrics.register("codegen", "droppedGenerations", new Gauge<Long>() {
+        @Override
+        public Long getValue() {
+          return compiledEvalCache.getDroppedGenerationNum();
+        }
+      });
+    }
   }
 
   private int initWebServer() {
@@ -418,6 +463,15 @@ public class TajoWorker extends CompositeService {
       return catalogClient;
     }
 
+    /**
+     * Invalidates catalog metadata cached by this worker if the catalog has been changed.
+     */
+    public void syncCatalogVersion(long catalogVersion) {
+      if (catalogClient != null) {
+        catalogClient.syncCatalogVersion(catalogVersion);
+      }
+    }
+
     public TajoPullServerService getPullService() {
       return pullService;
     }
@@ -546,6 +600,13 @@ public class TajoWorker extends CompositeService {
       return hashShuffleAppenderManager;
     }
 
+    /**
+     * @return The worker-wide cache of compiled classes. It is null if the cache is disabled.
+     */
+    public CompiledEvalCache getCompiledEvalCache() {
+      return compiledEvalCache;
+    }
+
     public HistoryWriter getTaskHistoryWriter() {
       return taskHistoryWriter;
     }
@@ -24,6 +24,7 @@ import com.google.protobuf.ServiceException;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.security.UserGroupInformation;
 import org.apache.hadoop.service.AbstractService;
 import org.apache.hadoop.util.StringUtils;
@@ -31,6 +32,7 @@ import org.apache.tajo.QueryId;
 import org.apache.tajo.QueryIdFactory;
 import org.apache.tajo.TajoIdProtos;
 import org.apache.tajo.TajoProtos;
+import org.apache.tajo.catalog.TableDesc;
 import org.apache.tajo.conf.TajoConf;
 import org.apache.tajo.ipc.ClientProtos;
 import org.apache.tajo.ipc.ClientProtos.GetQueryHistoryResponse;
@@ -50,6 +52,7 @@ import org.apache.tajo.util.history.QueryHistory;
 import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.util.Collection;
+import java.util.List;
 
 public class TajoWorkerClientService extends AbstractService {
   private static final Log LOG = LogFactory.getLog(TajoWorkerClientService.class);
@@ -152,6 +155,7 @@ public class TajoWorkerClientService extends AbstractService {
         switch (queryMasterTask.getState()) {
           case QUERY_SUCCEEDED:
             builder.setTableDesc(queryMasterTask.getQuery().getResultDesc().getProto());
+            builder.setOrdered(queryMasterTask.getQuery().isResultOrdered());
             break;
           case QUERY_FAILED:
           case QUERY_ERROR:
@@ -163,6 +167,56 @@ public class TajoWorkerClientService extends AbstractService {
       return builder.build();
     }
 
+    @Override
+    public ClientProtos.GetQueryResultFilesResponse getQueryResultFiles(
+            RpcController controller,
+            ClientProtos.GetQueryResultFilesRequest request) throws ServiceException {
+      QueryId queryId = new QueryId(request.getQueryId());
+      QueryMasterTask queryMasterTask = workerContext.getQueryMaster().getQueryMasterTask(queryId, true);
+
+      ClientProtos.GetQueryResultFilesResponse.Builder builder = ClientProtos.GetQueryResultFilesResponse.newBuilder();
+      if (queryMasterTask == null || queryMasterTask.getQuery() == null) {
+        builder.setResultCode(ResultCode.ERROR);
+        builder.setErrorMessage("No Query for " + queryId);
+        return builder.build();
+      }
+
+      try {
+        // the state must be taken before the files in order not to miss files written at the end of the query
+        TajoProtos.QueryState state = queryMasterTask.getState();
+        Query query = queryMasterTask.getQuery();
+        List<Path> files = query.getCompletedResultFiles(state == TajoProtos.QueryState.QUERY_SUCCEEDED);
+
+        builder.setResultCode(ResultCode.OK);
+        builder.setState(state);
+        if (files == null) {
+          builder.setStreamable(false);
+          return builder.build();
+        }
+
+        builder.setStreamable(true);
+        TableDesc desc = query.getStreamingResultDesc();
+        if (desc != null) {
+          builder.setTableDesc(desc.getProto());
+        }
+        for (int i = request.getOffset(); i < files.size(); i++) {
+          builder.addFiles(files.get(i).toString());
+        }
+        builder.setResultCompleted(state == TajoProtos.QueryState.QUERY_SUCCEEDED
+            || state == TajoProtos.QueryState.QUERY_FAILED
+            || state == TajoProtos.QueryState.QUERY_ERROR
+            || state == TajoProtos.QueryState.QUERY_KILLED);
+        if (state != TajoProtos.QueryState.QUERY_SUCCEEDED && builder.getResultCompleted()) {
+          builder.setErrorMessage("Query " + queryId + " is " + state.name());
+        }
+      } catch (Throwable t) {
+        LOG.error(t.getMessage(), t);
+        builder.setResultCode(ResultCode.ERROR);
+        builder.setErrorMessage(StringUtils.stringifyException(t));
+      }
+      return builder.build();
+    }
+
     @Override
     public ClientProtos.GetQueryStatusResponse getQueryStatus(
             RpcController controller,
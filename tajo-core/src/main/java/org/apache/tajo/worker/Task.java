@@ -31,6 +31,7 @@ import org.apache.hadoop.fs.FileStatus;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 import org.apache.tajo.QueryUnitAttemptId;
+import org.apache.tajo.QueryUnitId;
 import org.apache.tajo.TajoConstants;
 import org.apache.tajo.TajoProtos;
 import org.apache.tajo.TajoProtos.TaskAttemptState;
@@ -141,6 +142,16 @@ public class Task {
         }
       };
 
+  /**
+   * @return the name of the file into which a task of the final execution block writes its result
+   */
+  public static String getResultFileName(QueryUnitId taskId) {
+    return OUTPUT_FILE_PREFIX +
+        OUTPUT_FILE_FORMAT_SUBQUERY.get().format(taskId.getExecutionBlockId().getId()) + "-" +
+        OUTPUT_FILE_FORMAT_TASK.get().format(taskId.getId()) + "-" +
+        OUTPUT_FILE_FORMAT_SEQ.get().format(0);
+  }
+
   public Task(final TaskRunnerId taskRunnerId,
               final ExecutionBlockContext ebContext,
               final QueryUnitRequest request) throws IOException {
@@ -193,10 +204,7 @@ public class Task {
       // The final result of a task will be written in a file named part-ss-nnnnnnn,
       // where ss is the subquery id associated with this task, and nnnnnn is the task id.
       Path outFilePath = StorageUtil.concatPath(queryContext.getStagingDir(), TajoConstants.RESULT_DIR_NAME,
-          OUTPUT_FILE_PREFIX +
-          OUTPUT_FILE_FORMAT_SUBQUERY.get().format(taskId.getQueryUnitId().getExecutionBlockId().getId()) + "-" +
-          OUTPUT_FILE_FORMAT_TASK.get().format(taskId.getQueryUnitId().getId()) + "-" +
-          OUTPUT_FILE_FORMAT_SEQ.get().format(0));
+          getResultFileName(taskId.getQueryUnitId()));
       LOG.info("Output File Path: " + outFilePath);
       context.setOutputPath(outFilePath);
     }
@@ -400,6 +408,10 @@ public class Task {
       } while (it.hasNext());
     }
 
+    if (context.hasJoinFilter()) {
+      builder.setJoinFilter(context.getJoinFilter().getProto());
+    }
+
     return builder.build();
   }
 
@@ -29,9 +29,13 @@ import org.apache.tajo.TajoProtos.TaskAttemptState;
 import org.apache.tajo.catalog.Schema;
 import org.apache.tajo.catalog.statistics.TableStats;
 import org.apache.tajo.conf.TajoConf;
+import org.apache.tajo.engine.codegen.CompiledAggregation;
+import org.apache.tajo.engine.codegen.CompiledPipeline;
 import org.apache.tajo.engine.planner.enforce.Enforcer;
 import org.apache.tajo.engine.planner.global.DataChannel;
 import org.apache.tajo.engine.query.QueryContext;
+import org.apache.tajo.engine.utils.JoinFilter;
+import org.apache.tajo.plan.expr.AggregationFunctionCallEval;
 import org.apache.tajo.plan.expr.EvalNode;
 import org.apache.tajo.storage.HashShuffleAppenderManager;
 import org.apache.tajo.storage.fragment.FileFragment;
@@ -59,6 +63,7 @@ public class TaskAttemptContext {
 
   private TaskAttemptState state;
   private TableStats resultStats;
+  private JoinFilter joinFilter;
   private QueryUnitAttemptId queryId;
   private final Path workDir;
   private boolean needFetch = false;
@@ -169,6 +174,30 @@ public class TaskAttemptContext {
     return sharedResource.compileEval(schema, eval);
   }
 
+  /**
+   * @return A compiled pipeline, or null if it is not available.
+   */
+  public CompiledPipeline getCompiledPipeline(Schema schema, EvalNode qual, EvalNode [] targets) {
+    if (sharedResource != null) {
+      return sharedResource.getCompiledPipeline(schema, qual, targets);
+    } else {
+      LOG.debug("Shared resource is not initialized. It is NORMAL in unit tests");
+      return null;
+    }
+  }
+
+  /**
+   * @return A compiled aggregation, or null if it is not available.
+   */
+  public CompiledAggregation getCompiledAggregation(Schema schema, AggregationFunctionCallEval [] aggFunctions) {
+    if (sharedResource != null) {
+      return sharedResource.getCompiledAggregation(schema, aggFunctions);
+    } else {
+      LOG.debug("Shared resource is not initialized. It is NORMAL in unit tests");
+      return null;
+    }
+  }
+
   public EvalNode getPrecompiledEval(Schema schema, EvalNode eval) {
     if (sharedResource != null) {
       return sharedResource.getPreCompiledEval(schema, eval);
@@ -190,6 +219,18 @@ public class TaskAttemptContext {
     return this.resultStats;
   }
 
+  public boolean hasJoinFilter() {
+    return joinFilter != null;
+  }
+
+  public void setJoinFilter(JoinFilter joinFilter) {
+    this.joinFilter = joinFilter;
+  }
+
+  public JoinFilter getJoinFilter() {
+    return this.joinFilter;
+  }
+
   public boolean isStopped() {
     return this.stopped;
   }
@@ -31,6 +31,7 @@ import org.apache.tajo.ExecutionBlockId;
 import org.apache.tajo.QueryUnitAttemptId;
 import org.apache.tajo.conf.TajoConf;
 import org.apache.tajo.engine.utils.TupleCache;
+import org.apache.tajo.rpc.NullCallback;
 import org.apache.tajo.worker.event.TaskRunnerEvent;
 import org.apache.tajo.worker.event.TaskRunnerStartEvent;
 import org.apache.tajo.worker.event.TaskRunnerStopEvent;
@@ -38,6 +39,7 @@ import org.jboss.netty.util.HashedWheelTimer;
 import org.jboss.netty.util.Timer;
 
 import java.io.IOException;
+import java.net.InetSocketAddress;
 import java.util.*;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutorService;
@@ -45,6 +47,8 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicBoolean;
 
+import static org.apache.tajo.ipc.TajoWorkerProtocol.TaskStatusesProto;
+
 public class TaskRunnerManager extends CompositeService implements EventHandler<TaskRunnerEvent> {
   private static final Log LOG = LogFactory.getLog(TaskRunnerManager.class);
 
@@ -55,6 +59,7 @@ public class TaskRunnerManager extends CompositeService implements EventHandler<
   private TajoConf tajoConf;
   private AtomicBoolean stop = new AtomicBoolean(false);
   private FinishedTaskCleanThread finishedTaskCleanThread;
+  private TaskStatusReporter taskStatusReporter;
   private Dispatcher dispatcher;
   private HashedWheelTimer rpcTimer;
   // for task
@@ -87,6 +92,8 @@ public class TaskRunnerManager extends CompositeService implements EventHandler<
   public void start() {
     finishedTaskCleanThread = new FinishedTaskCleanThread();
     finishedTaskCleanThread.start();
+    taskStatusReporter = new TaskStatusReporter();
+    taskStatusReporter.start();
     rpcTimer = new HashedWheelTimer();
     super.start();
   }
@@ -111,6 +118,12 @@ public class TaskRunnerManager extends CompositeService implements EventHandler<
       finishedTaskCleanThread.interrupted();
     }
 
+    if(taskStatusReporter != null) {
+      synchronized (taskStatusReporter) {
+        taskStatusReporter.notifyAll();
+      }
+    }
+
     if(rpcTimer != null){
       rpcTimer.stop();
     }
@@ -266,4 +279,96 @@ public class TaskRunnerManager extends CompositeService implements EventHandler<
       }
     }
   }
+
+  /**
+   * It periodically reports the statuses of all tasks running in this worker. The statuses of tasks
+   * belonging to the same query master are sent in a single message, and only tasks whose progress have changed
+   * are included. While no task makes progress, the report interval is doubled up to
+   * {@link TajoConf.ConfVars#TASK_HEARTBEAT_INTERVAL}.
+   */
+  class TaskStatusReporter extends Thread {
+    private final int minInterval;
+    private final int maxInterval;
+
+    public TaskStatusReporter() {
+      setName("Task status reporter");
+      setDaemon(true);
+      minInterval = tajoConf.getIntVar(TajoConf.ConfVars.TASK_HEARTBEAT_MIN_INTERVAL);
+      maxInterval = Math.max(minInterval, tajoConf.getIntVar(TajoConf.ConfVars.TASK_HEARTBEAT_INTERVAL));
+    }
+
+    public void run() {
+      int interval = minInterval;
+      while(!stop.get()) {
+        boolean changed = false;
+        try {
+          changed = report();
+        } catch (Throwable t) {
+          LOG.error(t.getMessage(), t);
+        }
+
+        interval = changed ? minInterval : Math.min(interval * 2, maxInterval);
+        synchronized (this) {
+          try {
+            if (!stop.get()) {
+              wait(interval);
+            }
+          } catch (InterruptedException e) {
+            break;
+          }
+        }
+      }
+    }
+
+    /**
+     * @return true if any task status is reported
+     */
+    private boolean report() {
+      Map<InetSocketAddress, ExecutionBlockContext> contextOfQueryMasters =
+          new HashMap<InetSocketAddress, ExecutionBlockContext>();
+      Map<InetSocketAddress, TaskStatusesProto.Builder> statuses =
+          new HashMap<InetSocketAddress, TaskStatusesProto.Builder>();
+
+      for (ExecutionBlockContext context : executionBlockContextMap.values()) {
+        if (context.isStopped()) {
+          continue;
+        }
+
+        InetSocketAddress queryMasterAddr = context.getQueryMasterAddress();
+        TaskStatusesProto.Builder builder = statuses.get(queryMasterAddr);
+        if (builder == null) {
+          builder = TaskStatusesProto.newBuilder();
+          statuses.put(queryMasterAddr, builder);
+          contextOfQueryMasters.put(queryMasterAddr, context);
+        }
+
+        if (context.getTasks().isEmpty()) {
+          builder.addIdleExecutionBlock(context.getExecutionBlockId().getProto());
+          continue;
+        }
+
+        for (Task task : context.getTasks().values()) {
+          if (task.isRunning() && task.isProgressChanged()) {
+            task.updateProgress();
+            builder.addStatus(task.getReport());
+            task.getContext().setProgressChanged(false);
+          } else {
+            task.updateProgress();
+          }
+        }
+      }
+
+      boolean reported = false;
+      for (Map.Entry<InetSocketAddress, TaskStatusesProto.Builder> entry : statuses.entrySet()) {
+        try {
+          contextOfQueryMasters.get(entry.getKey()).getQueryMasterStub()
+              .statusUpdates(null, entry.getValue().build(), NullCallback.get());
+          reported |= entry.getValue().getStatusCount() > 0;
+        } catch (Throwable t) {
+          LOG.error("Cannot report task statuses to " + entry.getKey() + ": " + t.getMessage(), t);
+        }
+      }
+      return reported;
+    }
+  }
 }
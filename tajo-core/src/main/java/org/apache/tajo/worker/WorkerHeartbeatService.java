@@ -47,6 +47,10 @@ import static org.apache.tajo.ipc.TajoResourceTrackerProtocol.NodeHeartbeat;
 
 /**
  * It periodically sends heartbeat to {@link org.apache.tajo.master.rm.TajoResourceTracker} via asynchronous rpc.
+ *
+ * The full server status is sent only when the worker resources change or the master asks for it. Otherwise,
+ * a heartbeat carries only the running task number and the jvm heap if they changed. While nothing changes,
+ * the heartbeat interval is doubled up to {@link TajoConf.ConfVars#WORKER_HEARTBEAT_MAX_INTERVAL}.
  */
 public class WorkerHeartbeatService extends AbstractService {
   /** class logger */
@@ -57,6 +61,8 @@ public class WorkerHeartbeatService extends AbstractService {
   private RpcConnectionPool connectionPool;
   private WorkerHeartbeatThread thread;
   private static final float HDFS_DATANODE_STORAGE_SIZE;
+  /** free heap changes smaller than this are not reported */
+  private static final long MIN_REPORTED_HEAP_CHANGE = 16 * 1024 * 1024;
 
   static {
     HDFS_DATANODE_STORAGE_SIZE = DiskUtil.getDataNodeStorageSize();
@@ -104,6 +110,10 @@ public class WorkerHeartbeatService extends AbstractService {
     int workerMemoryMB;
     List<DiskDeviceInfo> diskDeviceInfos;
 
+    /** the server status which the master has lastly received */
+    TajoMasterProtocol.ServerStatusProto lastStatus;
+    boolean fullStatusRequested = true;
+
     public WorkerHeartbeatThread() {
       int workerCpuCoreNum;
 
@@ -148,6 +158,9 @@ public class WorkerHeartbeatService extends AbstractService {
     public void run() {
       LOG.info("Worker Resource Heartbeat Thread start.");
       int sendDiskInfoCount = 0;
+      int minInterval = systemConf.getIntVar(TajoConf.ConfVars.WORKER_HEARTBEAT_INTERVAL);
+      int maxInterval = Math.max(minInterval, systemConf.getIntVar(TajoConf.ConfVars.WORKER_HEARTBEAT_MAX_INTERVAL));
+      int interval = minInterval;
 
       while(!stopped.get()) {
         if(sendDiskInfoCount == 0 && diskDeviceInfos != null) {
@@ -172,10 +185,9 @@ public class WorkerHeartbeatService extends AbstractService {
             .setTaskRunnerMode(PrimitiveProtos.BoolProto.newBuilder().setValue(context.isTaskRunnerMode()))
             .build();
 
-        NodeHeartbeat heartbeatProto = NodeHeartbeat.newBuilder()
-            .setConnectionInfo(context.getConnectionInfo().getProto())
-            .setServerStatus(serverStatus)
-            .build();
+        NodeHeartbeat heartbeatProto = buildHeartbeat(serverStatus);
+        boolean changed = heartbeatProto.hasServerStatus() || heartbeatProto.hasRunningTaskNum()
+            || heartbeatProto.hasJvmHeap();
 
         NettyClientBase rmClient = null;
         try {
@@ -203,11 +215,16 @@ public class WorkerHeartbeatService extends AbstractService {
 
           TajoMasterProtocol.TajoHeartbeatResponse response = callBack.get(2, TimeUnit.SECONDS);
           if(response != null) {
+            lastStatus = getReportedStatus(heartbeatProto);
+            fullStatusRequested = response.hasRequestFullStatus() && response.getRequestFullStatus();
             TajoMasterProtocol.ClusterResourceSummary clusterResourceSummary = response.getClusterResourceSummary();
             if(clusterResourceSummary.getNumWorkers() > 0) {
               context.setNumClusterNodes(clusterResourceSummary.getNumWorkers());
             }
             context.setClusterResource(clusterResourceSummary);
+            if (response.hasCatalogVersion()) {
+              context.syncCatalogVersion(response.getCatalogVersion());
+            }
           } else {
             if(callBack.getController().failed()) {
               throw new ServiceException(callBack.getController().errorText());
@@ -224,9 +241,15 @@ public class WorkerHeartbeatService extends AbstractService {
         }
 
         try {
+          if (changed || fullStatusRequested) {
+            interval = minInterval;
+          } else {
+            interval = Math.min(interval * 2, maxInterval);
+          }
+
           if(!stopped.get()){
             synchronized (thread){
-              thread.wait(10 * 1000);
+              thread.wait(interval);
             }
           }
         } catch (InterruptedException e) {
@@ -242,6 +265,58 @@ public class WorkerHeartbeatService extends AbstractService {
       LOG.info("Worker Resource Heartbeat Thread stopped.");
     }
 
+    private NodeHeartbeat buildHeartbeat(TajoMasterProtocol.ServerStatusProto serverStatus) {
+      NodeHeartbeat.Builder builder = NodeHeartbeat.newBuilder()
+          .setConnectionInfo(context.getConnectionInfo().getProto());
+
+      if (fullStatusRequested || isResourceChanged(serverStatus)) {
+        builder.setServerStatus(serverStatus);
+      } else {
+        if (serverStatus.getRunningTaskNum() != lastStatus.getRunningTaskNum()) {
+          builder.setRunningTaskNum(serverStatus.getRunningTaskNum());
+        }
+        if (isHeapChanged(serverStatus.getJvmHeap())) {
+          builder.setJvmHeap(serverStatus.getJvmHeap());
+        }
+      }
+      return builder.build();
+    }
+
+    /**
+     * @return the server status which the master knows after it receives the given heartbeat
+     */
+    private TajoMasterProtocol.ServerStatusProto getReportedStatus(NodeHeartbeat heartbeat) {
+      if (heartbeat.hasServerStatus()) {
+        return heartbeat.getServerStatus();
+      }
+
+      TajoMasterProtocol.ServerStatusProto.Builder builder = lastStatus.toBuilder();
+      if (heartbeat.hasRunningTaskNum()) {
+        builder.setRunningTaskNum(heartbeat.getRunningTaskNum());
+      }
+      if (heartbeat.hasJvmHeap()) {
+        builder.setJvmHeap(heartbeat.getJvmHeap());
+      }
+      return builder.build();
+    }
+
+    private boolean isResourceChanged(TajoMasterProtocol.ServerStatusProto status) {
+      return lastStatus == null
+          || !status.getSystem().equals(lastStatus.getSystem())
+          || status.getDiskSlots() != lastStatus.getDiskSlots()
+          || status.getMemoryResourceMB() != lastStatus.getMemoryResourceMB()
+          || !status.getDiskList().equals(lastStatus.getDiskList())
+          || !status.getQueryMasterMode().equals(lastStatus.getQueryMasterMode())
+          || !status.getTaskRunnerMode().equals(lastStatus.getTaskRunnerMode());
+    }
+
+    private boolean isHeapChanged(TajoMasterProtocol.ServerStatusProto.JvmHeap heap) {
+      TajoMasterProtocol.ServerStatusProto.JvmHeap last = lastStatus.getJvmHeap();
+      return heap.getMaxHeap() != last.getMaxHeap()
+          || heap.getTotalHeap() != last.getTotalHeap()
+          || Math.abs(heap.getFreeHeap() - last.getFreeHeap()) >= MIN_REPORTED_HEAP_CHANGE;
+    }
+
     private void getDiskUsageInfos() {
       diskInfos.clear();
       for(DiskDeviceInfo eachDevice: diskDeviceInfos) {
@@ -53,6 +53,8 @@ import java.io.InputStream;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 import static org.junit.Assert.*;
 
@@ -625,6 +627,73 @@ public class TestTajoClient {
     resultSet.close();
   }
 
+  @Test(timeout = 30 * 1000)
+  public final void testExecuteQueryAsync() throws Exception {
+    Future<ResultSet> future = client.executeQueryAsync("select l_orderkey from lineitem order by l_orderkey");
+    ResultSet resultSet = future.get();
+    assertNotNull(resultSet);
+
+    try {
+      int count = 0;
+      int lastKey = Integer.MIN_VALUE;
+      while (resultSet.next()) {
+        assertTrue(lastKey <= resultSet.getInt(1));
+        lastKey = resultSet.getInt(1);
+        count++;
+      }
+      assertEquals(5, count);
+    } finally {
+      resultSet.close();
+    }
+  }
+
+  @Test(timeout = 30 * 1000)
+  public final void testExecuteQueryAsyncWithGroupBy() throws Exception {
+    // the final stage reads shuffled partitions, and each task writes its own result file
+    Future<ResultSet> future = client.executeQueryAsync(
+        "select l_orderkey, count(*) from lineitem group by l_orderkey");
+    ResultSet resultSet = future.get();
+    assertNotNull(resultSet);
+
+    try {
+      Map<Integer, Long> counts = new HashMap<Integer, Long>();
+      while (resultSet.next()) {
+        assertNull(counts.put(resultSet.getInt(1), resultSet.getLong(2)));
+      }
+      assertEquals(3, counts.size());
+      assertEquals(2L, counts.get(1).longValue());
+      assertEquals(1L, counts.get(2).longValue());
+      assertEquals(2L, counts.get(3).longValue());
+    } finally {
+      resultSet.close();
+    }
+  }
+
+  @Test(timeout = 30 * 1000)
+  public final void testExecuteQueryAsyncWithEmptyResult() throws Exception {
+    Future<ResultSet> future = client.executeQueryAsync(
+        "select l_orderkey from lineitem where l_orderkey < 0 order by l_orderkey");
+    ResultSet resultSet = future.get();
+    assertNotNull(resultSet);
+
+    try {
+      assertFalse(resultSet.next());
+    } finally {
+      resultSet.close();
+    }
+  }
+
+  @Test(timeout = 30 * 1000)
+  public final void testExecuteQueryAsyncWithError() throws Exception {
+    Future<ResultSet> future = client.executeQueryAsync("select l_orderkey from no_such_table");
+    try {
+      future.get();
+      fail("the query must fail");
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause() instanceof ServiceException);
+    }
+  }
+
   /**
    * The main objective of this test is to get the status of a query which is actually finished.
    * Statuses of queries regardless of its status should be available for a specified time duration.
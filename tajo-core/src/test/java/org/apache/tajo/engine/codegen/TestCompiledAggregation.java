@@ -0,0 +1,117 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.engine.codegen;
+
+import org.apache.tajo.catalog.CatalogUtil;
+import org.apache.tajo.catalog.FunctionDesc;
+import org.apache.tajo.catalog.Schema;
+import org.apache.tajo.common.TajoDataTypes.Type;
+import org.apache.tajo.datum.DatumFactory;
+import org.apache.tajo.datum.NullDatum;
+import org.apache.tajo.engine.function.builtin.AvgInt;
+import org.apache.tajo.engine.function.builtin.CountValue;
+import org.apache.tajo.engine.function.builtin.MaxDouble;
+import org.apache.tajo.engine.function.builtin.SumLong;
+import org.apache.tajo.function.Function;
+import org.apache.tajo.plan.expr.AggregationFunctionCallEval;
+import org.apache.tajo.plan.expr.EvalNode;
+import org.apache.tajo.plan.expr.FieldEval;
+import org.apache.tajo.plan.function.AggFunction;
+import org.apache.tajo.plan.function.FunctionContext;
+import org.apache.tajo.storage.Tuple;
+import org.apache.tajo.storage.VTuple;
+import org.junit.Test;
+
+import static org.apache.tajo.catalog.proto.CatalogProtos.FunctionType;
+import static org.junit.Assert.assertEquals;
+
+public class TestCompiledAggregation {
+  private static Schema schema;
+  static {
+    schema = new Schema();
+    schema.addColumn("id", Type.INT4);
+    schema.addColumn("value", Type.INT8);
+    schema.addColumn("score", Type.FLOAT8);
+  }
+
+  private static AggregationFunctionCallEval createAggFunction(String name, Class<? extends Function> clazz,
+                                                               AggFunction instance, Type returnType,
+                                                               String column, Type argType) {
+    FunctionDesc desc = new FunctionDesc(name, clazz, FunctionType.AGGREGATION,
+        CatalogUtil.newSimpleDataType(returnType), CatalogUtil.newSimpleDataTypeArray(argType));
+    AggregationFunctionCallEval aggFunction = new AggregationFunctionCallEval(desc, instance,
+        new EvalNode[] {new FieldEval(column, CatalogUtil.newSimpleDataType(argType))});
+    aggFunction.setFirstPhase();
+    return aggFunction;
+  }
+
+  private static Tuple createTuple(Integer id, Long value, Double score) {
+    Tuple tuple = new VTuple(3);
+    tuple.put(0, id == null ? NullDatum.get() : DatumFactory.createInt4(id));
+    tuple.put(1, value == null ? NullDatum.get() : DatumFactory.createInt8(value));
+    tuple.put(2, score == null ? NullDatum.get() : DatumFactory.createFloat8(score));
+    return tuple;
+  }
+
+  private static FunctionContext [] newContexts(AggregationFunctionCallEval [] aggFunctions) {
+    FunctionContext [] contexts = new FunctionContext[aggFunctions.length];
+    for (int i = 0; i < aggFunctions.length; i++) {
+      contexts[i] = aggFunctions[i].newContext();
+    }
+    return contexts;
+  }
+
+  @Test
+  public void testMerge() {
+    AggregationFunctionCallEval [] aggFunctions = new AggregationFunctionCallEval[] {
+        createAggFunction("sum", SumLong.class, new SumLong(), Type.INT8, "value", Type.INT8),
+        createAggFunction("avg", AvgInt.class, new AvgInt(), Type.FLOAT8, "id", Type.INT4),
+        createAggFunction("max", MaxDouble.class, new MaxDouble(), Type.FLOAT8, "score", Type.FLOAT8),
+        // it is not an accumulator, so it is updated by AggregationFunctionCallEval.merge()
+        createAggFunction("count", CountValue.class, new CountValue(), Type.INT8, "value", Type.INT8)
+    };
+
+    EvalCodeGenerator generator = new EvalCodeGenerator(new TajoClassLoader());
+    CompiledAggregation compiled = generator.compileAggregation(schema, aggFunctions);
+
+    Tuple [] tuples = new Tuple[] {
+        createTuple(1, 10l, 1.5),
+        createTuple(2, null, 7.5),
+        createTuple(6, 30l, null),
+        createTuple(null, -5l, 2.5)
+    };
+
+    FunctionContext [] compiledContexts = newContexts(aggFunctions);
+    FunctionContext [] expectedContexts = newContexts(aggFunctions);
+    for (Tuple tuple : tuples) {
+      compiled.merge(schema, tuple, aggFunctions, compiledContexts);
+      for (int i = 0; i < aggFunctions.length; i++) {
+        aggFunctions[i].merge(expectedContexts[i], schema, tuple);
+      }
+    }
+
+    for (int i = 0; i < aggFunctions.length; i++) {
+      assertEquals(aggFunctions[i].getInstance().terminate(expectedContexts[i]),
+          aggFunctions[i].getInstance().terminate(compiledContexts[i]));
+    }
+    assertEquals(35l, aggFunctions[0].getInstance().terminate(compiledContexts[0]).asInt8());
+    assertEquals(7.5, aggFunctions[2].getInstance().terminate(compiledContexts[2]).asFloat8(), 0.0);
+    assertEquals(3l, aggFunctions[3].getInstance().terminate(compiledContexts[3]).asInt8());
+  }
+}
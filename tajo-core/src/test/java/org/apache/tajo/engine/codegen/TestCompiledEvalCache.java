@@ -0,0 +1,167 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.engine.codegen;
+
+import org.apache.tajo.catalog.CatalogUtil;
+import org.apache.tajo.catalog.Schema;
+import org.apache.tajo.common.TajoDataTypes.Type;
+import org.apache.tajo.datum.Datum;
+import org.apache.tajo.datum.DatumFactory;
+import org.apache.tajo.datum.NullDatum;
+import org.apache.tajo.plan.expr.*;
+import org.apache.tajo.storage.Tuple;
+import org.apache.tajo.storage.VTuple;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.*;
+
+public class TestCompiledEvalCache {
+  private static Schema schema;
+  private static final FieldEval id = new FieldEval("id", CatalogUtil.newSimpleDataType(Type.INT4));
+  static {
+    schema = new Schema();
+    schema.addColumn("id", Type.INT4);
+  }
+
+  private static EvalNode createEval(int value) {
+    return new BinaryEval(EvalType.PLUS, id, new ConstEval(DatumFactory.createInt4(value)));
+  }
+
+  @Test
+  public void testHitAndMiss() {
+    CompiledEvalCache cache = new CompiledEvalCache(100);
+    EvalNode compiled = cache.getEval(schema, createEval(1));
+    assertEquals(0, cache.getHitNum());
+    assertEquals(1, cache.getMissNum());
+
+    // an equal eval of another query shares the compiled class
+    assertSame(compiled, cache.getEval(schema, createEval(1)));
+    assertEquals(1, cache.getHitNum());
+    assertNotSame(compiled, cache.getEval(schema, createEval(2)));
+    assertEquals(2, cache.getMissNum());
+    assertEquals(2, cache.size());
+
+    Tuple tuple = new VTuple(1);
+    tuple.put(0, DatumFactory.createInt4(10));
+    assertEquals(11, compiled.eval(schema, tuple).asInt4());
+  }
+
+  @Test
+  public void testGenerations() {
+    CompiledEvalCache cache = new CompiledEvalCache(CompiledEvalCache.GENERATION_NUM);
+    for (int i = 0; i < 10; i++) {
+      cache.getEval(schema, createEval(i));
+    }
+    assertEquals(CompiledEvalCache.GENERATION_NUM, cache.getGenerationNum());
+    assertTrue(cache.size() < CompiledEvalCache.GENERATION_NUM);
+    assertTrue(cache.getDroppedGenerationNum() > 0);
+
+    // dropped entries are compiled again
+    long missNum = cache.getMissNum();
+    cache.getEval(schema, createEval(0));
+    assertEquals(missNum + 1, cache.getMissNum());
+  }
+
+  @Test
+  public void testPatternMatchFlags() {
+    Schema textSchema = new Schema();
+    textSchema.addColumn("name", Type.TEXT);
+    FieldEval name = new FieldEval("name", CatalogUtil.newSimpleDataType(Type.TEXT));
+    ConstEval pattern = new ConstEval(DatumFactory.createText("a%"));
+
+    // the same operands must not share a compiled class, because the flags are compiled into it
+    CompiledEvalCache cache = new CompiledEvalCache(100);
+    EvalNode like = cache.getEval(textSchema, new LikePredicateEval(false, name, pattern, false));
+    EvalNode notLike = cache.getEval(textSchema, new LikePredicateEval(true, name, pattern, false));
+    EvalNode iLike = cache.getEval(textSchema, new LikePredicateEval(false, name, pattern, true));
+    assertEquals(3, cache.getMissNum());
+    assertEquals(0, cache.getHitNum());
+
+    Tuple tuple = new VTuple(1);
+    tuple.put(0, DatumFactory.createText("Abc"));
+    assertFalse(like.eval(textSchema, tuple).asBool());
+    assertTrue(notLike.eval(textSchema, tuple).asBool());
+    assertTrue(iLike.eval(textSchema, tuple).asBool());
+
+    assertSame(notLike, cache.getEval(textSchema, new LikePredicateEval(true, name, pattern, false)));
+  }
+
+  @Test
+  public void testConcurrentEvaluation() throws Exception {
+    final Schema textSchema = new Schema();
+    textSchema.addColumn("name", Type.TEXT);
+    FieldEval name = new FieldEval("name", CatalogUtil.newSimpleDataType(Type.TEXT));
+
+    // compiled evals are shared by all tasks running on a worker
+    CompiledEvalCache cache = new CompiledEvalCache(100);
+    final EvalNode [] evals = new EvalNode[] {
+        cache.getEval(textSchema, new LikePredicateEval(false, name, new ConstEval(DatumFactory.createText("ab%")))),
+        cache.getEval(textSchema, new LikePredicateEval(true, name, new ConstEval(DatumFactory.createText("%c")))),
+        cache.getEval(textSchema, new InEval(name, new RowConstantEval(new Datum[] {
+            DatumFactory.createText("abc"), DatumFactory.createText("x")}), false))
+    };
+
+    final Datum [] values = new Datum[] {DatumFactory.createText("abc"), DatumFactory.createText("xyz"),
+        NullDatum.get()};
+    // results of each eval for each value, where null means NULL
+    final Boolean [][] expected = new Boolean[][] {
+        {true, false, null},
+        {false, true, null},
+        {true, false, null}
+    };
+
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<Boolean>> futures = new ArrayList<Future<Boolean>>();
+      for (int i = 0; i < 8; i++) {
+        final int offset = i;
+        futures.add(executor.submit(new Callable<Boolean>() {
+          @Override
+          public Boolean call() throws Exception {
+            Tuple tuple = new VTuple(1);
+            for (int j = 0; j < 100000; j++) {
+              int valueIdx = (j + offset) % values.length;
+              tuple.put(0, values[valueIdx]);
+              for (int k = 0; k < evals.length; k++) {
+                Datum result = evals[k].eval(textSchema, tuple);
+                Boolean expectedResult = expected[k][valueIdx];
+                if (expectedResult == null ? !result.isNull() : result.isNull() || result.asBool() != expectedResult) {
+                  return false;
+                }
+              }
+            }
+            return true;
+          }
+        }));
+      }
+      for (Future<Boolean> future : futures) {
+        assertTrue(future.get());
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+}
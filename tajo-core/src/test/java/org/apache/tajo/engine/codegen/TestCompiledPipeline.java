@@ -0,0 +1,126 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.engine.codegen;
+
+import org.apache.tajo.catalog.CatalogUtil;
+import org.apache.tajo.catalog.FunctionDesc;
+import org.apache.tajo.catalog.Schema;
+import org.apache.tajo.common.TajoDataTypes.Type;
+import org.apache.tajo.datum.DatumFactory;
+import org.apache.tajo.datum.NullDatum;
+import org.apache.tajo.engine.function.string.Upper;
+import org.apache.tajo.plan.expr.*;
+import org.apache.tajo.storage.Tuple;
+import org.apache.tajo.storage.VTuple;
+import org.junit.Test;
+
+import static org.apache.tajo.catalog.proto.CatalogProtos.FunctionType;
+import static org.junit.Assert.*;
+
+public class TestCompiledPipeline {
+  private static Schema schema;
+  private static final FieldEval id = new FieldEval("id", CatalogUtil.newSimpleDataType(Type.INT4));
+  private static final FieldEval score = new FieldEval("score", CatalogUtil.newSimpleDataType(Type.FLOAT8));
+  private static final FieldEval name = new FieldEval("name", CatalogUtil.newSimpleDataType(Type.TEXT));
+  static {
+    schema = new Schema();
+    schema.addColumn("id", Type.INT4);
+    schema.addColumn("score", Type.FLOAT8);
+    schema.addColumn("name", Type.TEXT);
+  }
+
+  private static Tuple createTuple(int idValue, Double scoreValue, String nameValue) {
+    Tuple tuple = new VTuple(3);
+    tuple.put(0, DatumFactory.createInt4(idValue));
+    tuple.put(1, scoreValue == null ? NullDatum.get() : DatumFactory.createFloat8(scoreValue));
+    tuple.put(2, DatumFactory.createText(nameValue));
+    return tuple;
+  }
+
+  @Test
+  public void testSelectionAndProjection() {
+    // id > 10 and not (score < 0.5)
+    EvalNode qual = new BinaryEval(EvalType.AND,
+        new BinaryEval(EvalType.GTH, id, new ConstEval(DatumFactory.createInt4(10))),
+        new NotEval(new BinaryEval(EvalType.LTH, score, new ConstEval(DatumFactory.createFloat8(0.5)))));
+    // id + 1, name, score * 2
+    EvalNode [] targets = new EvalNode[] {
+        new BinaryEval(EvalType.PLUS, id, new ConstEval(DatumFactory.createInt4(1))),
+        name,
+        new BinaryEval(EvalType.MULTIPLY, score, new ConstEval(DatumFactory.createFloat8(2)))
+    };
+
+    EvalCodeGenerator generator = new EvalCodeGenerator(new TajoClassLoader());
+    CompiledPipeline pipeline = generator.compilePipeline(schema, qual, targets);
+
+    Tuple out = new VTuple(targets.length);
+    assertFalse(pipeline.process(schema, createTuple(5, 1.0, "a"), out));
+    assertFalse(pipeline.process(schema, createTuple(20, 0.1, "c"), out));
+    // unknown is not true
+    assertFalse(pipeline.process(schema, createTuple(30, null, "d"), out));
+
+    assertTrue(pipeline.process(schema, createTuple(11, 1.5, "b"), out));
+    assertEquals(12, out.get(0).asInt4());
+    assertEquals("b", out.get(1).asChars());
+    assertEquals(3.0, out.get(2).asFloat8(), 0.0);
+  }
+
+  @Test
+  public void testProjectionOnly() {
+    EvalNode [] targets = new EvalNode[] {name, score};
+
+    EvalCodeGenerator generator = new EvalCodeGenerator(new TajoClassLoader());
+    CompiledPipeline pipeline = generator.compilePipeline(schema, null, targets);
+
+    Tuple out = new VTuple(targets.length);
+    assertTrue(pipeline.process(schema, createTuple(1, null, "a"), out));
+    assertEquals("a", out.get(0).asChars());
+    assertTrue(out.get(1).isNull());
+  }
+
+  @Test
+  public void testSharedSubexprs() {
+    FunctionDesc desc = new FunctionDesc("upper", Upper.class, FunctionType.GENERAL,
+        CatalogUtil.newSimpleDataType(Type.TEXT), CatalogUtil.newSimpleDataTypeArray(Type.TEXT));
+    EvalNode upper = new GeneralFunctionEval(desc, new Upper(), new EvalNode[] {name});
+
+    // upper(name) = 'B' and id > 10
+    EvalNode qual = new BinaryEval(EvalType.AND,
+        new BinaryEval(EvalType.EQUAL, upper, new ConstEval(DatumFactory.createText("B"))),
+        new BinaryEval(EvalType.GTH, id, new ConstEval(DatumFactory.createInt4(10))));
+    // upper(name), upper(name) like 'B%', id
+    EvalNode [] targets = new EvalNode[] {
+        upper,
+        new LikePredicateEval(false, upper, new ConstEval(DatumFactory.createText("B%"))),
+        id
+    };
+
+    EvalCodeGenerator generator = new EvalCodeGenerator(new TajoClassLoader());
+    CompiledPipeline pipeline = generator.compilePipeline(schema, qual, targets);
+
+    Tuple out = new VTuple(targets.length);
+    assertFalse(pipeline.process(schema, createTuple(5, 1.0, "b"), out));
+    assertFalse(pipeline.process(schema, createTuple(20, 1.0, "a"), out));
+
+    assertTrue(pipeline.process(schema, createTuple(20, 1.0, "b"), out));
+    assertEquals("B", out.get(0).asChars());
+    assertTrue(out.get(1).asBool());
+    assertEquals(20, out.get(2).asInt4());
+  }
+}
@@ -338,6 +338,30 @@ public class TestPredicates extends ExprTestBase {
         new String[]{"t","t"});
   }
 
+  @Test
+  public void testInPredicateWithLargeIntegerList() throws IOException {
+    Schema schema2 = new Schema();
+    schema2.addColumn("col1", INT4);
+    schema2.addColumn("col2", INT8);
+    schema2.addColumn("col3", INT4);
+
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < 5000; i++) {
+      if (i > 0) {
+        sb.append(", ");
+      }
+      sb.append(i * 3);
+    }
+    String values = sb.toString();
+
+    testEval(schema2, "table1", "2997,2998,0",
+        "select col1 in (" + values + "), col2 in (" + values + "), col3 not in (" + values + ") from table1",
+        new String[]{"t","f","f"});
+    testEval(schema2, "table1", ",-3,",
+        "select (col1 in (" + values + ")) is null, col2 not in (" + values + ") from table1",
+        new String[]{"t","t"});
+  }
+
   //////////////////////////////////////////////////////////////////
   // Null Predicate
   //////////////////////////////////////////////////////////////////
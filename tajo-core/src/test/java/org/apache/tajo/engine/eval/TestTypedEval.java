@@ -0,0 +1,154 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.engine.eval;
+
+import org.apache.tajo.catalog.CatalogUtil;
+import org.apache.tajo.catalog.Schema;
+import org.apache.tajo.datum.DatumFactory;
+import org.apache.tajo.datum.NullDatum;
+import org.apache.tajo.plan.expr.*;
+import org.apache.tajo.storage.Tuple;
+import org.apache.tajo.storage.VTuple;
+import org.junit.Test;
+
+import static org.apache.tajo.common.TajoDataTypes.Type.*;
+import static org.junit.Assert.*;
+
+public class TestTypedEval {
+  private static Schema schema;
+  private static final FieldEval a = new FieldEval("a", CatalogUtil.newSimpleDataType(INT8));
+  private static final FieldEval b = new FieldEval("b", CatalogUtil.newSimpleDataType(INT4));
+  private static final FieldEval c = new FieldEval("c", CatalogUtil.newSimpleDataType(FLOAT8));
+  private static final FieldEval d = new FieldEval("d", CatalogUtil.newSimpleDataType(BOOLEAN));
+  static {
+    schema = new Schema();
+    schema.addColumn("a", INT8);
+    schema.addColumn("b", INT4);
+    schema.addColumn("c", FLOAT8);
+    schema.addColumn("d", BOOLEAN);
+  }
+
+  private static Tuple createTuple(Long aValue, Integer bValue, Double cValue, Boolean dValue) {
+    Tuple tuple = new VTuple(4);
+    tuple.put(0, aValue == null ? NullDatum.get() : DatumFactory.createInt8(aValue));
+    tuple.put(1, bValue == null ? NullDatum.get() : DatumFactory.createInt4(bValue));
+    tuple.put(2, cValue == null ? NullDatum.get() : DatumFactory.createFloat8(cValue));
+    tuple.put(3, dValue == null ? NullDatum.get() : DatumFactory.createBool(dValue));
+    return tuple;
+  }
+
+  private static ConstEval int4(int value) {
+    return new ConstEval(DatumFactory.createInt4(value));
+  }
+
+  @Test
+  public void testArithmetic() {
+    Tuple tuple = createTuple(7l, 3, 1.5, true);
+
+    BinaryEval plus = new BinaryEval(EvalType.PLUS, a, b);
+    assertEquals(10, plus.evalLong(schema, tuple));
+    assertFalse(plus.wasNull());
+    assertEquals(plus.eval(schema, tuple).asInt8(), plus.evalLong(schema, tuple));
+
+    BinaryEval multiply = new BinaryEval(EvalType.MULTIPLY, new BinaryEval(EvalType.MINUS, a, b), c);
+    assertEquals(6.0, multiply.evalDouble(schema, tuple), 0.0);
+    assertEquals(multiply.eval(schema, tuple).asFloat8(), multiply.evalDouble(schema, tuple), 0.0);
+
+    // an int4 result overflows like an int4 datum
+    BinaryEval overflow = new BinaryEval(EvalType.MULTIPLY, b, int4(Integer.MAX_VALUE));
+    assertEquals(overflow.eval(schema, tuple).asInt8(), overflow.evalLong(schema, tuple));
+
+    // division by zero results in NULL
+    BinaryEval divide = new BinaryEval(EvalType.DIVIDE, a, int4(0));
+    divide.evalLong(schema, tuple);
+    assertTrue(divide.wasNull());
+    assertTrue(divide.eval(schema, tuple).isNull());
+
+    Tuple nullTuple = createTuple(null, 3, 1.5, true);
+    plus.evalLong(schema, nullTuple);
+    assertTrue(plus.wasNull());
+    multiply.evalDouble(schema, nullTuple);
+    assertTrue(multiply.wasNull());
+  }
+
+  @Test
+  public void testComparison() {
+    Tuple tuple = createTuple(7l, 3, 1.5, true);
+    EvalType [] comparisons = new EvalType[] {
+        EvalType.EQUAL, EvalType.NOT_EQUAL, EvalType.LTH, EvalType.LEQ, EvalType.GTH, EvalType.GEQ};
+
+    for (EvalType type : comparisons) {
+      BinaryEval longs = new BinaryEval(type, a, b);
+      assertEquals(longs.eval(schema, tuple).isTrue(), longs.evalBoolean(schema, tuple));
+      assertFalse(longs.wasNull());
+
+      BinaryEval doubles = new BinaryEval(type, c, b);
+      assertEquals(doubles.eval(schema, tuple).isTrue(), doubles.evalBoolean(schema, tuple));
+
+      BinaryEval nulls = new BinaryEval(type, a, b);
+      assertFalse(nulls.evalBoolean(schema, createTuple(7l, null, 1.5, true)));
+      assertTrue(nulls.wasNull());
+    }
+  }
+
+  @Test
+  public void testThreeValuedLogic() {
+    EvalNode isTrue = new BinaryEval(EvalType.EQUAL, d, new ConstEval(DatumFactory.createBool(true)));
+    EvalNode positive = new BinaryEval(EvalType.GTH, a, int4(0));
+    Boolean [] values = new Boolean[] {true, false, null};
+
+    for (Boolean aValue : new Boolean[] {true, false, null}) {
+      for (Boolean dValue : values) {
+        Tuple tuple = createTuple(aValue == null ? null : (aValue ? 1l : -1l), 1, 1.0, dValue);
+        for (EvalType type : new EvalType[] {EvalType.AND, EvalType.OR}) {
+          BinaryEval logical = new BinaryEval(type, positive, isTrue);
+          boolean result = logical.evalBoolean(schema, tuple);
+          assertEquals(logical.eval(schema, tuple).isNull(), logical.wasNull());
+          assertEquals(logical.eval(schema, tuple).isTrue(), result);
+        }
+
+        NotEval not = new NotEval(d);
+        boolean result = not.evalBoolean(schema, tuple);
+        assertEquals(not.eval(schema, tuple).isNull(), not.wasNull());
+        assertEquals(not.eval(schema, tuple).isTrue(), result);
+      }
+    }
+  }
+
+  @Test
+  public void testCastAndCaseWhen() {
+    Tuple tuple = createTuple(7l, 3, 2.7, true);
+
+    CastEval toInt = new CastEval(c, CatalogUtil.newSimpleDataType(INT4));
+    assertEquals(2, toInt.evalLong(schema, tuple));
+    assertEquals(toInt.eval(schema, tuple).asInt8(), toInt.evalLong(schema, tuple));
+    CastEval toFloat = new CastEval(a, CatalogUtil.newSimpleDataType(FLOAT8));
+    assertEquals(7.0, toFloat.evalDouble(schema, tuple), 0.0);
+
+    // CASE WHEN a > 5 THEN a + b ELSE b END
+    CaseWhenEval caseWhen = new CaseWhenEval();
+    caseWhen.addIfCond(new CaseWhenEval.IfThenEval(new BinaryEval(EvalType.GTH, a, int4(5)),
+        new BinaryEval(EvalType.PLUS, a, b)));
+    caseWhen.setElseResult(new CastEval(b, CatalogUtil.newSimpleDataType(INT8)));
+    assertEquals(10, caseWhen.evalLong(schema, tuple));
+    assertEquals(3, caseWhen.evalLong(schema, createTuple(1l, 3, 2.7, true)));
+    assertEquals(3, caseWhen.evalLong(schema, createTuple(null, 3, 2.7, true)));
+    assertFalse(caseWhen.wasNull());
+  }
+}
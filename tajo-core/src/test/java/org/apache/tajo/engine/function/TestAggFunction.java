@@ -22,10 +22,15 @@ import org.apache.tajo.plan.function.FunctionContext;
 import org.junit.Test;
 import org.apache.tajo.datum.Datum;
 import org.apache.tajo.datum.DatumFactory;
+import org.apache.tajo.datum.NullDatum;
+import org.apache.tajo.engine.function.builtin.ApproxCountDistinct;
+import org.apache.tajo.engine.function.builtin.ApproxMedian;
+import org.apache.tajo.engine.function.builtin.ApproxPercentile;
 import org.apache.tajo.engine.function.builtin.AvgLong;
 import org.apache.tajo.storage.Tuple;
 import org.apache.tajo.storage.VTuple;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 public class TestAggFunction {
@@ -62,4 +67,56 @@ public class TestAggFunction {
     avg.merge(ctx, new VTuple(new Datum[] {avg.getPartialResult(ctx2)}));
     assertTrue((double)(15 + 55) / (5 + 10) == avg.terminate(ctx).asFloat8());
   }
+
+  @Test
+  public void testApproxCountDistinct() {
+    ApproxCountDistinct count = new ApproxCountDistinct();
+    FunctionContext ctx = count.newContext();
+    FunctionContext ctx2 = count.newContext();
+    for (int i = 0; i < 100000; i++) {
+      count.eval(i % 2 == 0 ? ctx : ctx2, new VTuple(new Datum[] {DatumFactory.createInt8(i % 50000)}));
+    }
+    count.eval(ctx, new VTuple(new Datum[] {NullDatum.get()}));
+
+    // the same values are counted once across partial results
+    FunctionContext merged = count.newContext();
+    count.merge(merged, new VTuple(new Datum[] {count.getPartialResult(ctx)}));
+    count.merge(merged, new VTuple(new Datum[] {count.getPartialResult(ctx2)}));
+    long estimate = count.terminate(merged).asInt8();
+    assertTrue("estimate: " + estimate, Math.abs(estimate - 50000) < 50000 * 0.05);
+
+    // small cardinalities are almost exact
+    FunctionContext small = count.newContext();
+    for (int i = 0; i < 100; i++) {
+      count.eval(small, new VTuple(new Datum[] {DatumFactory.createText("value_" + (i % 10))}));
+    }
+    FunctionContext smallMerged = count.newContext();
+    count.merge(smallMerged, new VTuple(new Datum[] {count.getPartialResult(small)}));
+    assertEquals(10, count.terminate(smallMerged).asInt8());
+  }
+
+  @Test
+  public void testApproxPercentile() {
+    ApproxPercentile percentile = new ApproxPercentile();
+    FunctionContext merged = percentile.newContext();
+    for (int part = 0; part < 4; part++) {
+      FunctionContext ctx = percentile.newContext();
+      for (int i = part; i < 10000; i += 4) {
+        percentile.eval(ctx, new VTuple(new Datum[] {DatumFactory.createInt4(i), DatumFactory.createFloat8(0.9)}));
+      }
+      percentile.merge(merged, new VTuple(new Datum[] {percentile.getPartialResult(ctx)}));
+    }
+    double estimate = percentile.terminate(merged).asFloat8();
+    assertTrue("estimate: " + estimate, Math.abs(estimate - 9000) < 10000 * 0.01);
+
+    ApproxMedian median = new ApproxMedian();
+    FunctionContext ctx = median.newContext();
+    for (int i = 1; i <= 5; i++) {
+      median.eval(ctx, new VTuple(new Datum[] {DatumFactory.createFloat8(i * 10)}));
+    }
+    assertEquals(30.0, median.terminate(ctx).asFloat8(), 0.0);
+
+    // no value results in NULL
+    assertTrue(median.terminate(median.newContext()).isNull());
+  }
 }
@@ -57,6 +57,27 @@ public class TestPatternMatchingPredicates extends ExprTestBase {
     testEval(schema, "table1", "abc", "select col1 not like '_C_' from table1", new String[]{"t"});
   }
 
+  @Test
+  public void testLikeWithoutRegex() throws IOException {
+    Schema schema = new Schema();
+    schema.addColumn("col1", TEXT);
+
+    testEval(schema, "table1", "abcdef", "select col1 like 'abcdef' from table1", new String[]{"t"});
+    testEval(schema, "table1", "abcdef", "select col1 like 'abcde' from table1", new String[]{"f"});
+    testEval(schema, "table1", "abcdef", "select col1 like 'a%c%f' from table1", new String[]{"t"});
+    testEval(schema, "table1", "abcdef", "select col1 like 'a%d%c%' from table1", new String[]{"f"});
+    testEval(schema, "table1", "abcdef", "select col1 like 'abc%def' from table1", new String[]{"t"});
+    testEval(schema, "table1", "abc", "select col1 like 'abc%abc' from table1", new String[]{"f"});
+    testEval(schema, "table1", "abc", "select col1 like '%' from table1", new String[]{"t"});
+    testEval(schema, "table1", "a+b(c)", "select col1 like 'a+b(%' from table1", new String[]{"t"});
+
+    // multi-byte characters
+    testEval(schema, "table1", "한글abc", "select col1 like '한%' from table1", new String[]{"t"});
+    testEval(schema, "table1", "한글abc", "select col1 like '%글a%' from table1", new String[]{"t"});
+    testEval(schema, "table1", "한글abc", "select col1 ilike '%ABC' from table1", new String[]{"t"});
+    testEval(schema, "table1", "한글abc", "select col1 like '_글%' from table1", new String[]{"t"});
+  }
+
   @Test
   public void testILike() throws IOException {
     testSimpleEval("select 'abc' ilike '%c'", new String[]{"t"});
@@ -22,6 +22,7 @@ import org.apache.tajo.LocalTajoTestingUtility;
 import org.apache.tajo.TajoConstants;
 import org.apache.tajo.TajoTestingCluster;
 import org.apache.tajo.algebra.Expr;
+import org.apache.tajo.algebra.JoinType;
 import org.apache.tajo.catalog.*;
 import org.apache.tajo.catalog.proto.CatalogProtos.FunctionType;
 import org.apache.tajo.catalog.proto.CatalogProtos.StoreType;
@@ -35,6 +36,7 @@ import org.apache.tajo.plan.LogicalPlan;
 import org.apache.tajo.plan.LogicalPlanner;
 import org.apache.tajo.plan.PlanningException;
 import org.apache.tajo.plan.logical.*;
+import org.apache.tajo.plan.util.PlannerUtil;
 import org.apache.tajo.util.CommonTestingUtil;
 import org.apache.tajo.util.KeyValueSet;
 import org.junit.AfterClass;
@@ -121,6 +123,9 @@ public class TestLogicalOptimizer {
     "select name, max(empId) as final from employee where empId > 50 group by name", // 3
     "select name, score from employee natural join score", // 4
     "select name, score from employee join score on employee.deptName = score.deptName", // 5
+    "select name from employee where deptName in (select deptName from dept where manager = 'Bob') " +
+        "and empId > 10", // 6
+    "select e.name from employee as e where not exists (select * from dept as dp where dp.deptName = e.deptName)", // 7
   };
   
   @Test
@@ -261,6 +266,40 @@ public class TestLogicalOptimizer {
     assertTrue(LogicalPlanner.checkIfBeEvaluatedAtRelation(newPlan.getRootBlock(), selNode.getQual(), scanNode));
   }
 
+  @Test
+  public final void testInSubQueryToSemiJoin() throws PlanningException {
+    Expr expr = sqlAnalyzer.parse(QUERIES[6]);
+    LogicalPlan newPlan = planner.createPlan(defaultContext, expr);
+    LogicalNode optimized = optimizer.optimize(newPlan);
+    assertEquals(1, optimized.getOutSchema().size());
+
+    JoinNode joinNode = PlannerUtil.findTopNode(optimized, NodeType.JOIN);
+    assertNotNull(joinNode);
+    assertEquals(JoinType.LEFT_SEMI, joinNode.getJoinType());
+    assertTrue(joinNode.hasJoinQual());
+    assertEquals(NodeType.TABLE_SUBQUERY, joinNode.getRightChild().getType());
+
+    // the other search condition is pushed down to the left side
+    assertEquals(NodeType.SCAN, joinNode.getLeftChild().getType());
+    ScanNode scanNode = joinNode.getLeftChild();
+    assertTrue(scanNode.hasQual());
+  }
+
+  @Test
+  public final void testNotExistsToAntiJoin() throws PlanningException {
+    Expr expr = sqlAnalyzer.parse(QUERIES[7]);
+    LogicalPlan newPlan = planner.createPlan(defaultContext, expr);
+    LogicalNode optimized = optimizer.optimize(newPlan);
+    assertEquals(1, optimized.getOutSchema().size());
+
+    JoinNode joinNode = PlannerUtil.findTopNode(optimized, NodeType.JOIN);
+    assertNotNull(joinNode);
+    assertEquals(JoinType.LEFT_ANTI, joinNode.getJoinType());
+    assertTrue(joinNode.hasJoinQual());
+    assertEquals(NodeType.SCAN, joinNode.getLeftChild().getType());
+    assertEquals(NodeType.TABLE_SUBQUERY, joinNode.getRightChild().getType());
+  }
+
   @Test
   public final void testInsertInto() throws CloneNotSupportedException, PlanningException {
     Expr expr = sqlAnalyzer.parse(TestLogicalPlanner.insertStatements[0]);
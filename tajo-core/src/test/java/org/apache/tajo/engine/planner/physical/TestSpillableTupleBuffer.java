@@ -0,0 +1,118 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.engine.planner.physical;
+
+import org.apache.hadoop.fs.Path;
+import org.apache.tajo.catalog.Schema;
+import org.apache.tajo.common.TajoDataTypes.Type;
+import org.apache.tajo.conf.TajoConf;
+import org.apache.tajo.datum.DatumFactory;
+import org.apache.tajo.storage.Tuple;
+import org.apache.tajo.storage.VTuple;
+import org.apache.tajo.util.CommonTestingUtil;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static org.junit.Assert.*;
+
+public class TestSpillableTupleBuffer {
+  private static final String TEST_PATH = "target/test-data/TestSpillableTupleBuffer";
+  private static final int BLOCK_ROW_NUM = 10;
+  private static final int TUPLE_NUM = 1000;
+
+  private TajoConf conf;
+  private Schema schema;
+
+  @Before
+  public void setUp() throws Exception {
+    conf = new TajoConf();
+    Path testDir = CommonTestingUtil.getTestDir(TEST_PATH);
+    conf.setVar(TajoConf.ConfVars.WORKER_TEMPORAL_DIR, testDir.toString());
+
+    schema = new Schema();
+    schema.addColumn("id", Type.INT4);
+    schema.addColumn("name", Type.TEXT);
+  }
+
+  private static Tuple createTuple(int id) {
+    Tuple tuple = new VTuple(2);
+    tuple.put(0, DatumFactory.createInt4(id));
+    tuple.put(1, DatumFactory.createText("name_" + id));
+    return tuple;
+  }
+
+  @Test
+  public final void testInMemory() throws IOException {
+    SpillableTupleBuffer buffer = new SpillableTupleBuffer(conf, schema, "window_test", Long.MAX_VALUE, BLOCK_ROW_NUM);
+    for (int i = 0; i < TUPLE_NUM; i++) {
+      buffer.add(createTuple(i));
+    }
+    assertEquals(TUPLE_NUM, buffer.size());
+    assertEquals(0, buffer.getSpilledBlockNum());
+
+    for (int i = TUPLE_NUM - 1; i >= 0; i--) {
+      assertEquals(i, buffer.get(i).get(0).asInt4());
+    }
+    buffer.clear();
+  }
+
+  @Test
+  public final void testSpill() throws IOException {
+    SpillableTupleBuffer buffer = new SpillableTupleBuffer(conf, schema, "window_test", 1024, BLOCK_ROW_NUM);
+    for (int i = 0; i < TUPLE_NUM; i++) {
+      buffer.add(createTuple(i));
+    }
+    assertTrue(buffer.getSpilledBlockNum() > 0);
+
+    // random accesses to spilled blocks
+    for (int i = 0; i < TUPLE_NUM; i += 7) {
+      Tuple tuple = buffer.get(i);
+      assertEquals(i, tuple.get(0).asInt4());
+      assertEquals("name_" + i, tuple.get(1).asChars());
+    }
+    buffer.clear();
+  }
+
+  @Test
+  public final void testRemoveUntil() throws IOException {
+    SpillableTupleBuffer buffer = new SpillableTupleBuffer(conf, schema, "window_test", 1024, BLOCK_ROW_NUM);
+    for (int i = 0; i < TUPLE_NUM; i++) {
+      buffer.add(createTuple(i));
+      // keeps the last 16 tuples like a sliding window frame
+      int first = Math.max(0, i - 15);
+      buffer.removeUntil(first);
+      assertTrue(buffer.getFirstIndex() <= first);
+      assertEquals(first, buffer.get(first).get(0).asInt4());
+    }
+    assertTrue(buffer.getFirstIndex() > 0);
+
+    try {
+      buffer.get(0);
+      fail("removed tuples must not be accessible");
+    } catch (IndexOutOfBoundsException e) {
+    }
+
+    buffer.clear();
+    assertEquals(TUPLE_NUM, buffer.getFirstIndex());
+    buffer.add(createTuple(TUPLE_NUM));
+    assertEquals(TUPLE_NUM, buffer.get(TUPLE_NUM).get(0).asInt4());
+  }
+}
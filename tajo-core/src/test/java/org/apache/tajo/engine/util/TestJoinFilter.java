@@ -0,0 +1,105 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.engine.util;
+
+import org.apache.tajo.catalog.Column;
+import org.apache.tajo.common.TajoDataTypes.Type;
+import org.apache.tajo.datum.DatumFactory;
+import org.apache.tajo.datum.NullDatum;
+import org.apache.tajo.engine.utils.JoinFilter;
+import org.apache.tajo.storage.Tuple;
+import org.apache.tajo.storage.VTuple;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class TestJoinFilter {
+  private static final int [] KEY_IDS = new int[] {0, 1};
+
+  private static Tuple tuple(long id, String name) {
+    Tuple tuple = new VTuple(2);
+    tuple.put(0, DatumFactory.createInt8(id));
+    tuple.put(1, name == null ? NullDatum.get() : DatumFactory.createText(name));
+    return tuple;
+  }
+
+  private static Column[] keys() {
+    return new Column[] {new Column("t.id", Type.INT8), new Column("t.name", Type.TEXT)};
+  }
+
+  @Test
+  public final void testMightContain() {
+    JoinFilter filter = new JoinFilter(keys(), 1024, JoinFilter.DEFAULT_NUM_HASHES);
+    for (int i = 0; i < 100; i++) {
+      filter.add(tuple(i * 2, "name_" + i), KEY_IDS);
+    }
+    assertEquals(100, filter.getNumKeys());
+
+    for (int i = 0; i < 100; i++) {
+      assertTrue(filter.mightContain(tuple(i * 2, "name_" + i), KEY_IDS));
+    }
+    // out of the integer range
+    assertFalse(filter.mightContain(tuple(-1, "name_0"), KEY_IDS));
+    assertFalse(filter.mightContain(tuple(200, "name_0"), KEY_IDS));
+    // null keys never match
+    assertFalse(filter.mightContain(tuple(0, null), KEY_IDS));
+  }
+
+  @Test
+  public final void testNullKeysAreNotAdded() {
+    JoinFilter filter = new JoinFilter(keys(), 1024, JoinFilter.DEFAULT_NUM_HASHES);
+    filter.add(tuple(1, null), KEY_IDS);
+    assertEquals(0, filter.getNumKeys());
+    assertFalse(filter.mightContain(tuple(1, null), KEY_IDS));
+  }
+
+  @Test
+  public final void testMergeAndSerialize() {
+    JoinFilter first = new JoinFilter(keys(), 1024, JoinFilter.DEFAULT_NUM_HASHES);
+    JoinFilter second = new JoinFilter(keys(), 1024, JoinFilter.DEFAULT_NUM_HASHES);
+    for (int i = 0; i < 50; i++) {
+      first.add(tuple(i, "name_" + i), KEY_IDS);
+      second.add(tuple(i + 50, "name_" + (i + 50)), KEY_IDS);
+    }
+
+    JoinFilter merged = new JoinFilter(first.getProto());
+    merged.merge(new JoinFilter(second.getProto()));
+    assertEquals(100, merged.getNumKeys());
+    for (int i = 0; i < 100; i++) {
+      assertTrue(merged.mightContain(tuple(i, "name_" + i), KEY_IDS));
+    }
+    assertFalse(merged.mightContain(tuple(100, "name_100"), KEY_IDS));
+  }
+
+  @Test
+  public final void testCompatibility() {
+    Column [] int4Key = new Column[] {new Column("a.id", Type.INT4)};
+    Column [] int8Key = new Column[] {new Column("b.id", Type.INT8)};
+    Column [] float4Key = new Column[] {new Column("c.id", Type.FLOAT4)};
+    Column [] float8Key = new Column[] {new Column("d.id", Type.FLOAT8)};
+    Column [] dateKey = new Column[] {new Column("e.id", Type.DATE)};
+
+    assertTrue(JoinFilter.isCompatible(int4Key, int8Key));
+    assertTrue(JoinFilter.isCompatible(float8Key, float8Key));
+    assertFalse(JoinFilter.isCompatible(float4Key, float8Key));
+    assertFalse(JoinFilter.isCompatible(int4Key, float8Key));
+    assertFalse(JoinFilter.isCompatible(dateKey, dateKey));
+    assertFalse(JoinFilter.isCompatible(int4Key, keys()));
+  }
+}
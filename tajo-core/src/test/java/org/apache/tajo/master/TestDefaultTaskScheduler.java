@@ -0,0 +1,173 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.master;
+
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.yarn.api.records.ContainerId;
+import org.apache.tajo.ExecutionBlockId;
+import org.apache.tajo.QueryIdFactory;
+import org.apache.tajo.QueryUnitAttemptId;
+import org.apache.tajo.conf.TajoConf;
+import org.apache.tajo.master.DefaultTaskScheduler.LocalityDelay;
+import org.apache.tajo.master.DefaultTaskScheduler.LocalityLevel;
+import org.apache.tajo.master.querymaster.QueryUnit;
+import org.apache.tajo.master.querymaster.QueryUnitAttempt;
+import org.apache.tajo.storage.fragment.FileFragment;
+import org.apache.tajo.util.ApplicationIdUtils;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class TestDefaultTaskScheduler {
+  private final TajoConf conf = new TajoConf();
+  private final ExecutionBlockId ebId = QueryIdFactory.newExecutionBlockId(QueryIdFactory.newQueryId(1000, 1), 1);
+  private int nextTaskId = 0;
+
+  @Test
+  public void testLocalityDelayPerHost() {
+    LocalityDelay delay = new LocalityDelay(100, 200);
+    assertTrue(delay.isEnabled());
+
+    assertEquals(LocalityLevel.NODE_LOCAL, delay.getAllowedLevel("host1", 1000));
+    assertEquals(LocalityLevel.NODE_LOCAL, delay.getAllowedLevel("host1", 1099));
+    assertEquals(LocalityLevel.RACK_LOCAL, delay.getAllowedLevel("host1", 1100));
+
+    // another host waits on its own
+    assertEquals(LocalityLevel.NODE_LOCAL, delay.getAllowedLevel("host2", 1250));
+    assertEquals(LocalityLevel.RACK_LOCAL, delay.getAllowedLevel("host1", 1299));
+    assertEquals(LocalityLevel.ANY, delay.getAllowedLevel("host1", 1300));
+    assertEquals(LocalityLevel.NODE_LOCAL, delay.getAllowedLevel("host2", 1349));
+    assertEquals(LocalityLevel.RACK_LOCAL, delay.getAllowedLevel("host2", 1350));
+
+    // a host-local assignment resets the wait of the host only
+    delay.reset("host1");
+    assertEquals(LocalityLevel.NODE_LOCAL, delay.getAllowedLevel("host1", 1400));
+    assertEquals(LocalityLevel.RACK_LOCAL, delay.getAllowedLevel("host2", 1400));
+
+    delay.clear();
+    assertEquals(LocalityLevel.NODE_LOCAL, delay.getAllowedLevel("host2", 2000));
+  }
+
+  @Test
+  public void testLocalityDelayLevels() {
+    LocalityDelay disabled = new LocalityDelay(0, 0);
+    assertFalse(disabled.isEnabled());
+    assertEquals(LocalityLevel.ANY, disabled.getAllowedLevel("host1", 1000));
+
+    // without the node delay, a host waits only for rack-local tasks
+    LocalityDelay rackOnly = new LocalityDelay(0, 100);
+    assertEquals(LocalityLevel.RACK_LOCAL, rackOnly.getAllowedLevel("host1", 1000));
+    assertEquals(LocalityLevel.ANY, rackOnly.getAllowedLevel("host1", 1100));
+
+    // without the rack delay, a host goes to any task right after the node delay
+    LocalityDelay nodeOnly = new LocalityDelay(100, 0);
+    assertEquals(LocalityLevel.NODE_LOCAL, nodeOnly.getAllowedLevel("host1", 1000));
+    assertEquals(LocalityLevel.ANY, nodeOnly.getAllowedLevel("host1", 1100));
+  }
+
+  @Test
+  public void testRetryBackoff() {
+    LocalityDelay delay = new LocalityDelay(100, 5000);
+    assertEquals(LocalityDelay.MIN_RETRY_INTERVAL, delay.getRetryInterval("host1", 0));
+
+    delay.getAllowedLevel("host1", 0);
+    assertEquals(LocalityDelay.MIN_RETRY_INTERVAL, delay.getRetryInterval("host1", 0));
+    // the interval grows with the waiting time
+    assertEquals(40, delay.getRetryInterval("host1", 40));
+    // but a request is retried when the rack-local level is allowed
+    assertEquals(20, delay.getRetryInterval("host1", 80));
+    assertEquals(100, delay.getRetryInterval("host1", 100));
+    assertEquals(LocalityDelay.MAX_RETRY_INTERVAL, delay.getRetryInterval("host1", 3000));
+    assertEquals(100, delay.getRetryInterval("host1", 5000));
+    assertEquals(1, delay.getRetryInterval("host1", 6000));
+  }
+
+  @Test
+  public void testVolumeSpread() throws Exception {
+    DefaultTaskScheduler.HostVolumeMapping mapping = newHostVolumeMapping("host1");
+    Map<QueryUnitAttemptId, Integer> volumes = new HashMap<QueryUnitAttemptId, Integer>();
+    addTasks(mapping, 0, 4, volumes);
+    addTasks(mapping, 1, 4, volumes);
+
+    // new task runners are spread over the volumes
+    QueryUnitAttemptId task1 = mapping.getLocalTask(newContainerId(1));
+    QueryUnitAttemptId task2 = mapping.getLocalTask(newContainerId(2));
+    assertNotNull(task1);
+    assertNotNull(task2);
+    assertNotEquals(volumes.get(task1), volumes.get(task2));
+    assertEquals(1, mapping.getVolumeConcurrency(0));
+    assertEquals(1, mapping.getVolumeConcurrency(1));
+
+    // a task runner keeps its volume while the volumes are balanced
+    assertEquals(volumes.get(task1), volumes.get(mapping.getLocalTask(newContainerId(1))));
+    assertEquals(5, mapping.getRemainingLocalTaskSize());
+  }
+
+  @Test
+  public void testVolumeRebalance() throws Exception {
+    DefaultTaskScheduler.HostVolumeMapping mapping = newHostVolumeMapping("host1");
+    Map<QueryUnitAttemptId, Integer> volumes = new HashMap<QueryUnitAttemptId, Integer>();
+    addTasks(mapping, 0, 6, volumes);
+
+    for (int i = 1; i <= 3; i++) {
+      assertEquals(0, volumes.get(mapping.getLocalTask(newContainerId(i))).intValue());
+    }
+    assertEquals(3, mapping.getVolumeConcurrency(0));
+
+    // tasks of an idle volume appear, for example by rescheduled attempts
+    addTasks(mapping, 1, 2, volumes);
+    assertEquals(1, mapping.getLowestVolumeId());
+
+    // the busy volume has more than one task more than the idle volume, so the task runner moves
+    assertEquals(1, volumes.get(mapping.getLocalTask(newContainerId(1))).intValue());
+    assertEquals(2, mapping.getVolumeConcurrency(0));
+    assertEquals(1, mapping.getVolumeConcurrency(1));
+
+    // now the difference is one, so the other task runners stay
+    assertEquals(0, volumes.get(mapping.getLocalTask(newContainerId(2))).intValue());
+    assertEquals(2, mapping.getVolumeConcurrency(0));
+    assertEquals(1, mapping.getVolumeConcurrency(1));
+  }
+
+  private DefaultTaskScheduler.HostVolumeMapping newHostVolumeMapping(String host) {
+    DefaultTaskScheduler scheduler = new DefaultTaskScheduler(null, null);
+    return scheduler.new HostVolumeMapping(host, "/default-rack");
+  }
+
+  private void addTasks(DefaultTaskScheduler.HostVolumeMapping mapping, int volumeId, int num,
+                        Map<QueryUnitAttemptId, Integer> volumes) {
+    for (int i = 0; i < num; i++) {
+      QueryUnit task = new QueryUnit(conf, null, null, QueryIdFactory.newQueryUnitId(ebId, nextTaskId++), true,
+          null);
+      task.addFragment(new FileFragment("t1", new Path("/t1"), 0, 1, new String[]{mapping.getHost()},
+          new int[]{volumeId}), true);
+      QueryUnitAttempt attempt = new QueryUnitAttempt(null, QueryIdFactory.newQueryUnitAttemptId(task.getId(), 0),
+          task, null);
+      mapping.addQueryUnitAttempt(volumeId, attempt);
+      volumes.put(attempt.getId(), volumeId);
+    }
+  }
+
+  private ContainerId newContainerId(int id) {
+    return ContainerId.newInstance(ApplicationIdUtils.createApplicationAttemptId(ebId), id);
+  }
+}
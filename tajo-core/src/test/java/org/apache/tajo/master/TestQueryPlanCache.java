@@ -0,0 +1,91 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.master;
+
+import org.apache.tajo.SessionVars;
+import org.apache.tajo.conf.TajoConf;
+import org.apache.tajo.engine.query.QueryContext;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class TestQueryPlanCache {
+
+  private static QueryContext createQueryContext(String sessionId) {
+    QueryContext queryContext = new QueryContext(new TajoConf());
+    queryContext.put(SessionVars.SESSION_ID, sessionId);
+    queryContext.put(SessionVars.USERNAME, "user_" + sessionId);
+    return queryContext;
+  }
+
+  @Test
+  public final void testNormalize() {
+    assertEquals("select * from lineitem",
+        QueryPlanCache.normalize("  select *\n\tfrom   lineitem ;"));
+    assertEquals("select * from lineitem",
+        QueryPlanCache.normalize("select * -- comment\nfrom /* comment */ lineitem"));
+    assertEquals("select 'a  b', \"c  d\" from t where x = 'it\\'s  ;'",
+        QueryPlanCache.normalize("select 'a  b',  \"c  d\"\nfrom t where x = 'it\\'s  ;';"));
+    // whitespaces after an escaped quote are still in the literal
+    assertFalse(QueryPlanCache.normalize("select 'a\\' b'").equals(QueryPlanCache.normalize("select 'a\\'  b'")));
+    assertEquals("select 'a\\\\' from t", QueryPlanCache.normalize("select 'a\\\\'  from t"));
+    assertFalse(QueryPlanCache.normalize("select 'a b'").equals(QueryPlanCache.normalize("select 'a  b'")));
+  }
+
+  @Test
+  public final void testCreateKey() {
+    QueryPlanCache cache = new QueryPlanCache(10);
+    String key = cache.createKey("select * from lineitem", createQueryContext("s1"));
+    assertEquals(key, cache.createKey("select *  from lineitem;", createQueryContext("s2")));
+
+    QueryContext queryContext = createQueryContext("s1");
+    queryContext.put(SessionVars.TZ, "GMT+9");
+    assertFalse(key.equals(cache.createKey("select * from lineitem", queryContext)));
+    assertFalse(key.equals(cache.createKey("select * from orders", createQueryContext("s1"))));
+  }
+
+  @Test
+  public final void testLRUEviction() {
+    QueryPlanCache cache = new QueryPlanCache(2);
+    cache.put("q1", null, "{}");
+    cache.put("q2", null, "{}");
+    assertNotNull(cache.get("q1"));
+    cache.put("q3", null, "{}");
+
+    assertEquals(2, cache.size());
+    assertNotNull(cache.get("q1"));
+    assertNull(cache.get("q2"));
+    assertNotNull(cache.get("q3"));
+    assertEquals(3, cache.getHitNum());
+    assertEquals(1, cache.getMissNum());
+
+    QueryPlanCache.CachedPlan cached = cache.get("q1");
+    cache.remove("q1", cached);
+    assertNull(cache.get("q1"));
+    assertEquals(1, cache.size());
+  }
+
+  @Test
+  public final void testDisabled() {
+    QueryPlanCache cache = new QueryPlanCache(0);
+    cache.put("q1", null, "{}");
+    assertNull(cache.get("q1"));
+    assertEquals(0, cache.size());
+  }
+}
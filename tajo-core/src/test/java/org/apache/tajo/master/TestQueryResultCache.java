@@ -0,0 +1,304 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.tajo.master;
+
+import org.apache.hadoop.fs.FSDataOutputStream;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.tajo.QueryId;
+import org.apache.tajo.QueryIdFactory;
+import org.apache.tajo.SessionVars;
+import org.apache.tajo.catalog.CatalogUtil;
+import org.apache.tajo.catalog.Schema;
+import org.apache.tajo.catalog.TableDesc;
+import org.apache.tajo.catalog.proto.CatalogProtos.StoreType;
+import org.apache.tajo.catalog.statistics.TableStats;
+import org.apache.tajo.conf.TajoConf;
+import org.apache.tajo.conf.TajoConf.ConfVars;
+import org.apache.tajo.engine.query.QueryContext;
+import org.apache.tajo.master.QueryResultCache.CacheKey;
+import org.apache.tajo.plan.logical.LogicalRootNode;
+import org.apache.tajo.util.CommonTestingUtil;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.Assert.*;
+
+public class TestQueryResultCache {
+  private static final String TABLE_NAME = "default.t1";
+  private static final int KB = 1024;
+
+  private TajoConf conf;
+  private FileSystem fs;
+  private Path testDir;
+  private Path tablePath;
+  private QueryResultCache cache;
+  private long queryIdTime = System.currentTimeMillis();
+  private int querySeq = 0;
+
+  @Before
+  public void setUp() throws Exception {
+    testDir = CommonTestingUtil.getTestDir();
+    conf = new TajoConf();
+    conf.setVar(ConfVars.STAGING_ROOT_DIR, new Path(testDir, "staging").toString());
+    fs = testDir.getFileSystem(conf);
+
+    tablePath = new Path(testDir, "t1");
+    writeFile(new Path(tablePath, "data"), KB);
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    if (cache != null) {
+      cache.close();
+    }
+    fs.delete(testDir, true);
+  }
+
+  private static QueryContext createQueryContext(String sessionId) {
+    QueryContext queryContext = new QueryContext(new TajoConf());
+    queryContext.put(SessionVars.SESSION_ID, sessionId);
+    queryContext.put(SessionVars.USERNAME, "user_" + sessionId);
+    return queryContext;
+  }
+
+  private void writeFile(Path path, int size) throws IOException {
+    FSDataOutputStream out = fs.create(path, true);
+    try {
+      out.write(new byte[size]);
+    } finally {
+      out.close();
+    }
+  }
+
+  private CacheKey createKey(String fingerprint, long tableVersion) throws IOException {
+    Map<String, Long> versions = new TreeMap<String, Long>();
+    versions.put(TABLE_NAME, tableVersion);
+    Map<Path, Long> modificationTimes = new HashMap<Path, Long>();
+    modificationTimes.put(tablePath, fs.getFileStatus(tablePath).getModificationTime());
+    return new CacheKey(fingerprint, versions, modificationTimes);
+  }
+
+  /**
+   * Writes a query result of a given size, and caches it through the same path as a succeeded query.
+   */
+  private TableDesc cacheResult(CacheKey key, int size) throws Exception {
+    QueryId queryId = QueryIdFactory.newQueryId(queryIdTime, ++querySeq);
+    Path resultPath = new Path(testDir, "result_" + querySeq);
+    writeFile(new Path(resultPath, "part-0"), size);
+
+    TableDesc resultDesc = new TableDesc(queryId.toString(), new Schema(),
+        CatalogUtil.newTableMeta(StoreType.CSV), resultPath);
+    TableStats stats = new TableStats();
+    stats.setNumBytes((long) size);
+    resultDesc.setStats(stats);
+
+    cache.addPending(queryId, key);
+    cache.complete(queryId, resultDesc);
+    cache.waitForCopies();
+    return resultDesc;
+  }
+
+  @Test
+  public final void testFingerprintIgnoresSessionIdentity() {
+    LogicalRootNode rootNode = new LogicalRootNode(1);
+    String fingerprint = QueryResultCache.fingerprint(rootNode, createQueryContext("s1"));
+    assertEquals(fingerprint, QueryResultCache.fingerprint(rootNode, createQueryContext("s2")));
+  }
+
+  @Test
+  public final void testFingerprintDependsOnPlanAndVariables() {
+    LogicalRootNode rootNode = new LogicalRootNode(1);
+    String fingerprint = QueryResultCache.fingerprint(rootNode, createQueryContext("s1"));
+
+    assertFalse(fingerprint.equals(QueryResultCache.fingerprint(new LogicalRootNode(2), createQueryContext("s1"))));
+
+    QueryContext queryContext = createQueryContext("s1");
+    queryContext.put(SessionVars.TZ, "GMT+9");
+    assertFalse(fingerprint.equals(QueryResultCache.fingerprint(rootNode, queryContext)));
+  }
+
+  @Test
+  public final void testCacheHit() throws Exception {
+    cache = new QueryResultCache(conf);
+    CacheKey key = createKey("q1", 0);
+    assertNull(cache.get(key));
+
+    TableDesc resultDesc = cacheResult(key, KB);
+    assertEquals(1, cache.size());
+    assertTrue(cache.getTotalSize() >= KB);
+
+    // the result is served from a copy, so it survives the cleanup of the query's own output.
+    fs.delete(resultDesc.getPath(), true);
+    TableDesc cached = cache.get(createKey("q1", 0));
+    assertNotNull(cached);
+    assertFalse(resultDesc.getPath().equals(cached.getPath()));
+    assertTrue(cached.getPath().toString().contains(QueryResultCache.CACHE_DIR_NAME));
+    assertEquals(KB, fs.getFileStatus(new Path(cached.getPath(), "part-0")).getLen());
+
+    assertNull(cache.get(createKey("q2", 0)));
+  }
+
+  @Test
+  public final void testCopyOnlyOnSuccess() throws Exception {
+    cache = new QueryResultCache(conf);
+    CacheKey key = createKey("q1", 0);
+    QueryId queryId = QueryIdFactory.newQueryId(queryIdTime, ++querySeq);
+    Path resultPath = new Path(testDir, "result");
+    writeFile(new Path(resultPath, "part-0"), KB);
+    TableDesc resultDesc = new TableDesc(queryId.toString(), new Schema(),
+        CatalogUtil.newTableMeta(StoreType.CSV), resultPath);
+
+    // a query which is not registered
+    cache.complete(queryId, resultDesc);
+    cache.waitForCopies();
+    assertEquals(0, cache.size());
+
+    // a failed or killed query
+    cache.addPending(queryId, key);
+    cache.cancel(queryId);
+    cache.complete(queryId, resultDesc);
+    cache.waitForCopies();
+    assertEquals(0, cache.size());
+
+    // an input table modified while the query is running
+    cache.addPending(queryId, key);
+    cache.invalidate(TABLE_NAME);
+    cache.complete(queryId, resultDesc);
+    cache.waitForCopies();
+    assertEquals(0, cache.size());
+    assertNull(cache.get(key));
+
+    cache.addPending(queryId, createKey("q1", 1));
+    cache.complete(queryId, resultDesc);
+    cache.waitForCopies();
+    assertEquals(1, cache.size());
+    assertNotNull(cache.get(createKey("q1", 1)));
+  }
+
+  @Test
+  public final void testInvalidateByTableVersion() throws Exception {
+    cache = new QueryResultCache(conf);
+    cacheResult(createKey("q1", 0), KB);
+    assertNotNull(cache.get(createKey("q1", 0)));
+
+    cache.invalidate("default.t2");
+    assertNotNull(cache.get(createKey("q1", 0)));
+
+    cache.invalidate(TABLE_NAME);
+    assertEquals(0, cache.size());
+    assertEquals(0, cache.getTotalSize());
+    assertNull(cache.get(createKey("q1", 0)));
+    assertNull(cache.get(createKey("q1", 1)));
+
+    cacheResult(createKey("q1", 1), KB);
+    assertNotNull(cache.get(createKey("q1", 1)));
+    cache.invalidateAll();
+    assertEquals(0, cache.size());
+    assertNull(cache.get(createKey("q1", 1)));
+  }
+
+  @Test
+  public final void testInvalidateByModificationTime() throws Exception {
+    cache = new QueryResultCache(conf);
+    CacheKey key = createKey("q1", 0);
+    cacheResult(key, KB);
+    assertNotNull(cache.get(key));
+
+    // data files are replaced bypassing TajoMaster
+    long modificationTime = fs.getFileStatus(tablePath).getModificationTime();
+    fs.setTimes(tablePath, modificationTime + 10000, -1);
+
+    assertNull(cache.get(key));
+    assertEquals(0, cache.size());
+    assertNull(cache.get(createKey("q1", 0)));
+  }
+
+  @Test
+  public final void testEvictByEntryNum() throws Exception {
+    conf.setIntVar(ConfVars.QUERY_RESULT_CACHE_MAX_ENTRY_NUM, 2);
+    cache = new QueryResultCache(conf);
+
+    cacheResult(createKey("q1", 0), KB);
+    cacheResult(createKey("q2", 0), KB);
+    TableDesc q2 = cache.get(createKey("q2", 0));
+    assertNotNull(q2);
+    assertNotNull(cache.get(createKey("q1", 0)));
+
+    // q2 is the least recently used one.
+    cacheResult(createKey("q3", 0), KB);
+    assertEquals(2, cache.size());
+    assertNotNull(cache.get(createKey("q1", 0)));
+    assertNull(cache.get(createKey("q2", 0)));
+    assertNotNull(cache.get(createKey("q3", 0)));
+
+    // an evicted file is kept for a while since it may still be read.
+    assertTrue(fs.exists(q2.getPath()));
+  }
+
+  @Test
+  public final void testEvictBySize() throws Exception {
+    conf.setIntVar(ConfVars.QUERY_RESULT_CACHE_MAX_SIZE, 1);
+    conf.setIntVar(ConfVars.QUERY_RESULT_CACHE_MAX_ENTRY_SIZE, 1);
+    cache = new QueryResultCache(conf);
+
+    cacheResult(createKey("q1", 0), 400 * KB);
+    cacheResult(createKey("q2", 0), 400 * KB);
+    assertNotNull(cache.get(createKey("q1", 0)));
+
+    cacheResult(createKey("q3", 0), 400 * KB);
+    assertEquals(2, cache.size());
+    assertTrue(cache.getTotalSize() <= 1024 * KB);
+    assertNotNull(cache.get(createKey("q1", 0)));
+    assertNull(cache.get(createKey("q2", 0)));
+    assertNotNull(cache.get(createKey("q3", 0)));
+
+    // a result larger than the entry size limit is not cached at all.
+    cacheResult(createKey("q4", 0), 1024 * KB + 1);
+    assertEquals(2, cache.size());
+    assertNull(cache.get(createKey("q4", 0)));
+  }
+
+  @Test
+  public final void testDeleteAfterGracePeriod() throws Exception {
+    cache = new QueryResultCache(conf, 0);
+    cacheResult(createKey("q1", 0), KB);
+    TableDesc cached = cache.get(createKey("q1", 0));
+    assertNotNull(cached);
+    assertTrue(fs.exists(cached.getPath()));
+
+    cache.invalidate(TABLE_NAME);
+    cache.waitForDeletes();
+    assertFalse(fs.exists(cached.getPath()));
+
+    // the cache directory of a previous run is removed when the cache starts.
+    cacheResult(createKey("q2", 1), KB);
+    cached = cache.get(createKey("q2", 1));
+    assertNotNull(cached);
+    cache.close();
+    cache = new QueryResultCache(conf, 0);
+    assertFalse(fs.exists(cached.getPath()));
+    assertEquals(0, cache.size());
+  }
+}
@@ -0,0 +1,106 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.tajo.master;
+
+import org.apache.hadoop.yarn.event.EventHandler;
+import org.apache.tajo.ExecutionBlockId;
+import org.apache.tajo.QueryIdFactory;
+import org.apache.tajo.QueryUnitId;
+import org.apache.tajo.TestTajoIds;
+import org.apache.tajo.conf.TajoConf;
+import org.apache.tajo.master.event.TaskAttemptEvent;
+import org.apache.tajo.master.event.TaskAttemptEventType;
+import org.apache.tajo.master.event.TaskEvent;
+import org.apache.tajo.master.event.TaskEventType;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TestTajoAsyncDispatcher {
+  private static final int NUM_TASKS = 16;
+  private static final int NUM_EVENTS_PER_TASK = 100;
+
+  @Test
+  public void testPerTaskOrdering() throws Exception {
+    ExecutionBlockId ebId = QueryIdFactory.newExecutionBlockId(TestTajoIds.createQueryId(1315890136000l, 1), 1);
+
+    final Map<QueryUnitId, List<String>> handled = new ConcurrentHashMap<QueryUnitId, List<String>>();
+    final CountDownLatch latch = new CountDownLatch(NUM_TASKS * NUM_EVENTS_PER_TASK * 2);
+
+    TajoAsyncDispatcher dispatcher = new TajoAsyncDispatcher("test", 4);
+    dispatcher.register(TaskEventType.class, new EventHandler<TaskEvent>() {
+      @Override
+      public void handle(TaskEvent event) {
+        record(handled, event.getTaskId(), "t");
+        latch.countDown();
+      }
+    });
+    dispatcher.register(TaskAttemptEventType.class, new EventHandler<TaskAttemptEvent>() {
+      @Override
+      public void handle(TaskAttemptEvent event) {
+        record(handled, event.getTaskAttemptId().getQueryUnitId(), "a");
+        latch.countDown();
+      }
+    });
+    dispatcher.init(new TajoConf());
+    dispatcher.start();
+
+    try {
+      EventHandler eventHandler = dispatcher.getEventHandler();
+      for (int i = 0; i < NUM_EVENTS_PER_TASK; i++) {
+        for (int j = 0; j < NUM_TASKS; j++) {
+          QueryUnitId taskId = QueryIdFactory.newQueryUnitId(ebId, j);
+          eventHandler.handle(new TaskEvent(taskId, TaskEventType.T_ATTEMPT_LAUNCHED));
+          eventHandler.handle(new TaskAttemptEvent(QueryIdFactory.newQueryUnitAttemptId(taskId, 0),
+              TaskAttemptEventType.TA_DONE));
+        }
+      }
+
+      assertTrue(latch.await(30, TimeUnit.SECONDS));
+      assertEquals(0, dispatcher.getQueueSize());
+      assertEquals(NUM_TASKS, handled.size());
+
+      // the events of the same task must be handled in the order they were added
+      for (List<String> events : handled.values()) {
+        assertEquals(NUM_EVENTS_PER_TASK * 2, events.size());
+        for (int i = 0; i < events.size(); i++) {
+          assertEquals(i % 2 == 0 ? "t" : "a", events.get(i));
+        }
+      }
+    } finally {
+      dispatcher.stop();
+    }
+  }
+
+  private static void record(Map<QueryUnitId, List<String>> handled, QueryUnitId taskId, String tag) {
+    List<String> events = handled.get(taskId);
+    if (events == null) {
+      events = new ArrayList<String>();
+      handled.put(taskId, events);
+    }
+    events.add(tag);
+  }
+}
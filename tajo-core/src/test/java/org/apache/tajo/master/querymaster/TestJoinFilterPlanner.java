@@ -0,0 +1,127 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.master.querymaster;
+
+import org.apache.tajo.IntegrationTest;
+import org.apache.tajo.QueryTestCaseBase;
+import org.apache.tajo.TajoConstants;
+import org.apache.tajo.conf.TajoConf;
+import org.apache.tajo.engine.planner.enforce.Enforcer;
+import org.apache.tajo.worker.TajoWorker;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.apache.tajo.ipc.TajoWorkerProtocol.EnforceProperty.EnforceType;
+import static org.junit.Assert.*;
+
+@Category(IntegrationTest.class)
+public class TestJoinFilterPlanner extends QueryTestCaseBase {
+
+  public TestJoinFilterPlanner() {
+    super(TajoConstants.DEFAULT_DATABASE_NAME);
+  }
+
+  @BeforeClass
+  public static void setUp() throws Exception {
+    conf.set(TajoConf.ConfVars.$TEST_BROADCAST_JOIN_ENABLED.varname, "false");
+  }
+
+  @Test
+  public final void testGetNumBits() {
+    int maxBits = 1024 * 1024;
+
+    // unknown build sides
+    assertEquals(0, JoinFilterPlanner.getNumBits(-1, maxBits));
+    // small build sides get at least one word
+    assertEquals(64, JoinFilterPlanner.getNumBits(0, maxBits));
+    assertEquals(64, JoinFilterPlanner.getNumBits(1, maxBits));
+    // sized for the estimated keys, rounded up to words
+    assertEquals(128, JoinFilterPlanner.getNumBits(7, maxBits));
+    assertEquals(10048, JoinFilterPlanner.getNumBits(1000, maxBits));
+    // large build sides are not filtered
+    long maxKeys = maxBits / JoinFilterPlanner.BITS_PER_KEY;
+    assertTrue(JoinFilterPlanner.getNumBits(maxKeys, maxBits) <= maxBits);
+    assertEquals(0, JoinFilterPlanner.getNumBits(maxKeys + 1, maxBits));
+    assertEquals(0, JoinFilterPlanner.getNumBits(Long.MAX_VALUE, maxBits));
+  }
+
+  @Test
+  public final void testProbeRowsPruned() throws Exception {
+    // the keys of 'F' orders are {3}, and the keys of 'N' line items are {1, 2}.
+    ResultSet res = executeQuery();
+    try {
+      assertFalse(res.next());
+    } finally {
+      cleanupQuery(res);
+    }
+
+    SubQuery build = null;
+    SubQuery probe = null;
+    for (SubQuery subQuery : getLastSubQueries()) {
+      Enforcer enforcer = subQuery.getBlock().getEnforcer();
+      if (enforcer.hasEnforceProperty(EnforceType.JOIN_FILTER_BUILD)) {
+        build = subQuery;
+      }
+      if (enforcer.hasEnforceProperty(EnforceType.JOIN_FILTER)) {
+        probe = subQuery;
+      }
+    }
+
+    assertNotNull(build);
+    assertNotNull(probe);
+    assertNotSame(build, probe);
+    // the build side is sized for its estimated rows, not for the maximum bits
+    int numBits = build.getBlock().getEnforcer().getEnforceProperties(EnforceType.JOIN_FILTER_BUILD).get(0)
+        .getJoinFilterBuild().getNumBits();
+    assertTrue(numBits < 1024 * 1024);
+    assertTrue(build.getResultStats().getNumRows() > 0);
+    // no probe row has a join partner, so all of them are dropped before the shuffle
+    assertTrue(probe.getInputStats().getNumRows() > 0);
+    assertEquals(0, probe.getResultStats().getNumRows().longValue());
+  }
+
+  private List<SubQuery> getLastSubQueries() {
+    Collection<QueryMasterTask> finishedTasks = null;
+    for (TajoWorker eachWorker : testingCluster.getTajoWorkers()) {
+      finishedTasks = eachWorker.getWorkerContext().getQueryMaster().getFinishedQueryMasterTasks();
+      if (finishedTasks != null && !finishedTasks.isEmpty()) {
+        break;
+      }
+    }
+    assertNotNull(finishedTasks);
+    assertFalse(finishedTasks.isEmpty());
+
+    List<QueryMasterTask> finishedTaskList = new ArrayList<QueryMasterTask>(finishedTasks);
+    Collections.sort(finishedTaskList, new Comparator<QueryMasterTask>() {
+      @Override
+      public int compare(QueryMasterTask o1, QueryMasterTask o2) {
+        return o2.getQueryId().compareTo(o1.getQueryId());
+      }
+    });
+    return new ArrayList<SubQuery>(finishedTaskList.get(0).getQuery().getSubQueries());
+  }
+}
@@ -24,6 +24,7 @@ import org.apache.tajo.QueryIdFactory;
 import org.apache.tajo.conf.TajoConf;
 import org.apache.tajo.ipc.TajoMasterProtocol.*;
 import org.apache.tajo.master.cluster.WorkerConnectionInfo;
+import org.apache.tajo.rpc.CallFuture;
 import org.apache.tajo.rpc.NullCallback;
 import org.apache.tajo.rpc.protocolrecords.PrimitiveProtos;
 import org.junit.Test;
@@ -35,6 +36,7 @@ import java.util.concurrent.TimeUnit;
 
 import static org.apache.tajo.ipc.TajoResourceTrackerProtocol.NodeHeartbeat;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 public class TestTajoResourceManager {
@@ -127,6 +129,39 @@ public class TestTajoResourceManager {
     }
   }
 
+  @Test
+  public void testDeltaHeartbeat() throws Exception {
+    TajoWorkerResourceManager tajoWorkerResourceManager = null;
+    try {
+      tajoWorkerResourceManager = initResourceManager(false);
+
+      // a registered worker may send only changed values
+      WorkerConnectionInfo knownWorker = new WorkerConnectionInfo("host1", 28091, 28092, 21000, 28093, 28080);
+      NodeHeartbeat delta = NodeHeartbeat.newBuilder()
+          .setConnectionInfo(knownWorker.getProto())
+          .setRunningTaskNum(3)
+          .build();
+      CallFuture<TajoHeartbeatResponse> callback = new CallFuture<TajoHeartbeatResponse>();
+      tajoWorkerResourceManager.getResourceTracker().heartbeat(null, delta, callback);
+      assertFalse(callback.get(3, TimeUnit.SECONDS).getRequestFullStatus());
+
+      // an unknown worker is asked to send its full status
+      WorkerConnectionInfo unknownWorker = new WorkerConnectionInfo("host100", 28091, 28092, 21100, 28093, 28080);
+      delta = NodeHeartbeat.newBuilder()
+          .setConnectionInfo(unknownWorker.getProto())
+          .setRunningTaskNum(1)
+          .build();
+      callback = new CallFuture<TajoHeartbeatResponse>();
+      tajoWorkerResourceManager.getResourceTracker().heartbeat(null, delta, callback);
+      assertTrue(callback.get(3, TimeUnit.SECONDS).getRequestFullStatus());
+      assertEquals(numWorkers, tajoWorkerResourceManager.getWorkers().size());
+    } finally {
+      if (tajoWorkerResourceManager != null) {
+        tajoWorkerResourceManager.stop();
+      }
+    }
+  }
+
   @Test
   public void testMemoryResource() throws Exception {
     TajoWorkerResourceManager tajoWorkerResourceManager = null;
@@ -367,4 +402,74 @@ public class TestTajoResourceManager {
       }
     }
   }
+
+  @Test
+  public void testPreemptedContainersReleased() throws Exception {
+    TajoWorkerResourceManager tajoWorkerResourceManager = null;
+    try {
+      tajoWorkerResourceManager = initResourceManager(false);
+
+      final int memoryMB = 512;
+      QueryId overShareQuery = QueryIdFactory.newQueryId(queryIdTime, 4);
+      QueryId starvedQuery = QueryIdFactory.newQueryId(queryIdTime, 5);
+
+      WorkerResourceAllocationResponse overShareResponse =
+          allocate(tajoWorkerResourceManager, overShareQuery, 60, memoryMB);
+      int numAllocated = overShareResponse.getAllocatedWorkerResourceCount();
+      assertEquals(numWorkers * workerMemoryMB / memoryMB, numAllocated);
+
+      QueryResourceUsage usage = tajoWorkerResourceManager.getQueryResourceUsage(overShareQuery);
+      assertEquals(numAllocated, usage.getAllocatedContainers());
+      assertEquals(numAllocated * memoryMB, usage.getAllocatedMemoryMB());
+
+      // the query master of the over-share query stops task runners, and each of them releases its container
+      int numPreempted = 10;
+      for (int i = 0; i < numPreempted; i++) {
+        tajoWorkerResourceManager.releaseWorkerResource(overShareQuery,
+            overShareResponse.getAllocatedWorkerResource(i));
+      }
+      assertEquals(numAllocated - numPreempted, usage.getAllocatedContainers());
+      assertEquals((numAllocated - numPreempted) * memoryMB, usage.getAllocatedMemoryMB());
+
+      // the released containers can be given to the starved query
+      WorkerResourceAllocationResponse starvedResponse =
+          allocate(tajoWorkerResourceManager, starvedQuery, numPreempted, memoryMB);
+      assertEquals(numPreempted, starvedResponse.getAllocatedWorkerResourceCount());
+      assertEquals(numPreempted, tajoWorkerResourceManager.getQueryResourceUsage(starvedQuery)
+          .getAllocatedContainers());
+      assertEquals(numAllocated - numPreempted, usage.getAllocatedContainers());
+    } finally {
+      if (tajoWorkerResourceManager != null) {
+        tajoWorkerResourceManager.stop();
+      }
+    }
+  }
+
+  private WorkerResourceAllocationResponse allocate(TajoWorkerResourceManager tajoWorkerResourceManager,
+                                                    QueryId queryId, int numContainers, int memoryMB)
+      throws Exception {
+    WorkerResourcesRequestProto request = WorkerResourcesRequestProto.newBuilder()
+        .setQueryId(queryId.getProto())
+        .setResourceRequestPriority(ResourceRequestPriority.MEMORY)
+        .setNumContainers(numContainers)
+        .setMaxDiskSlotPerContainer(0.0f)
+        .setMinDiskSlotPerContainer(0.0f)
+        .setMinMemoryMBPerContainer(memoryMB)
+        .setMaxMemoryMBPerContainer(memoryMB)
+        .build();
+
+    final CountDownLatch barrier = new CountDownLatch(1);
+    RpcCallback<WorkerResourceAllocationResponse> callBack = new RpcCallback<WorkerResourceAllocationResponse>() {
+
+      @Override
+      public void run(WorkerResourceAllocationResponse response) {
+        TestTajoResourceManager.this.response = response;
+        barrier.countDown();
+      }
+    };
+
+    tajoWorkerResourceManager.allocateWorkerResources(request, callBack);
+    assertTrue(barrier.await(3, TimeUnit.SECONDS));
+    return response;
+  }
 }
@@ -0,0 +1,116 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.master.session;
+
+import com.google.common.collect.Lists;
+import org.apache.tajo.algebra.Expr;
+import org.apache.tajo.engine.parser.SQLAnalyzer;
+import org.apache.tajo.ipc.ClientProtos.PreparedParameter;
+import org.apache.tajo.ipc.ClientProtos.PreparedParameter.ParameterType;
+import org.apache.tajo.plan.PlanningException;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class TestPreparedQuery {
+  private static final SQLAnalyzer analyzer = new SQLAnalyzer();
+
+  private static PreparedParameter param(ParameterType type, String value) {
+    PreparedParameter.Builder builder = PreparedParameter.newBuilder().setType(type);
+    if (value != null) {
+      builder.setValue(value);
+    }
+    return builder.build();
+  }
+
+  private static PreparedQuery prepare(String sql) throws PlanningException {
+    String [] placeholders = PreparedQuery.createPlaceholders(PreparedQuery.countParameters(sql));
+    Expr template = analyzer.parse(PreparedQuery.rewriteParameters(sql, placeholders));
+    return new PreparedQuery(1, sql, template, placeholders, 4);
+  }
+
+  @Test
+  public final void testCountParameters() {
+    assertEquals(0, PreparedQuery.countParameters("select * from t"));
+    assertEquals(2, PreparedQuery.countParameters("select * from t where a > ? and b = ?"));
+    assertEquals(1, PreparedQuery.countParameters("select '?', \"?\" from t where a = ? -- ?\n"));
+    assertEquals(1, PreparedQuery.countParameters("select 'it\\'s ?' from t /* ? */ where a = ?"));
+    assertEquals(0, PreparedQuery.countParameters("select 'a\\'?b' from t"));
+    assertEquals(1, PreparedQuery.countParameters("select 'a\\\\', ? from t"));
+  }
+
+  @Test
+  public final void testRewriteParameters() {
+    String [] placeholders = new String[] {"p0", "p1"};
+    assertEquals("select * from t where a > 'p0' and b = '?' and c = 'p1'",
+        PreparedQuery.rewriteParameters("select * from t where a > ? and b = '?' and c = ?", placeholders));
+    assertEquals("select 'a\\'?b' from t where a = 'p0'",
+        PreparedQuery.rewriteParameters("select 'a\\'?b' from t where a = ?", placeholders));
+  }
+
+  @Test
+  public final void testBind() throws Exception {
+    PreparedQuery prepared = prepare("select l_orderkey from lineitem where l_quantity > ? and l_returnflag = ?");
+    assertEquals(2, prepared.getParameterNum());
+
+    List<PreparedParameter> params = Lists.newArrayList(
+        param(ParameterType.INTEGER, "20"), param(ParameterType.STRING, "N"));
+    Expr expected = analyzer.parse("select l_orderkey from lineitem where l_quantity > 20 and l_returnflag = 'N'");
+    assertEquals(expected, prepared.bind(params));
+
+    // the template is reused for different values
+    params = Lists.newArrayList(param(ParameterType.INTEGER, "30"), param(ParameterType.STRING, "R"));
+    expected = analyzer.parse("select l_orderkey from lineitem where l_quantity > 30 and l_returnflag = 'R'");
+    assertEquals(expected, prepared.bind(params));
+  }
+
+  @Test
+  public final void testBindBooleanAndNull() throws Exception {
+    PreparedQuery prepared = prepare("select ?, ?, ?");
+    List<PreparedParameter> params = Lists.newArrayList(param(ParameterType.BOOLEAN, "true"),
+        param(ParameterType.NULL_VALUE, null), param(ParameterType.FLOAT, "1.5"));
+    assertEquals(analyzer.parse("select true, null, 1.5"), prepared.bind(params));
+  }
+
+  @Test(expected = PlanningException.class)
+  public final void testWrongParameterNum() throws Exception {
+    PreparedQuery prepared = prepare("select * from lineitem where l_orderkey = ?");
+    prepared.bind(Lists.<PreparedParameter>newArrayList());
+  }
+
+  @Test
+  public final void testCachedPlanAfterDDL() throws Exception {
+    PreparedQuery prepared = prepare("select l_orderkey from lineitem where l_quantity > ?");
+    List<PreparedParameter> params = Lists.newArrayList(param(ParameterType.INTEGER, "20"));
+    Map<String, String> variables = new HashMap<String, String>();
+
+    prepared.putCachedPlan(params, variables, 1, null, "{}");
+    assertNotNull(prepared.getCachedPlan(params, variables, 1));
+
+    // a DDL statement discards the plan
+    assertNull(prepared.getCachedPlan(params, variables, 2));
+    assertNull(prepared.getCachedPlan(params, variables, 1));
+  }
+}
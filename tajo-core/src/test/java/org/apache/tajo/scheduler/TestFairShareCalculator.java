@@ -0,0 +1,114 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.scheduler;
+
+import com.google.common.collect.Maps;
+import org.apache.tajo.QueryId;
+import org.apache.tajo.scheduler.AbstractScheduler.QueueProperty;
+import org.junit.Test;
+
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+
+public class TestFairShareCalculator {
+
+  private static QueueProperty createQueue(String name, float weight, int minShareMB) {
+    QueueProperty property = new QueueProperty(name, 1, -1);
+    property.setWeight(weight);
+    property.setMinShareMB(minShareMB);
+    return property;
+  }
+
+  @Test
+  public void testWeightedShares() {
+    QueryId etl = new QueryId("0", 1);
+    QueryId dashboard1 = new QueryId("0", 2);
+    QueryId dashboard2 = new QueryId("0", 3);
+
+    Map<String, QueueProperty> queues = Maps.newHashMap();
+    queues.put("etl", createQueue("etl", 1.0f, 0));
+    queues.put("dashboard", createQueue("dashboard", 3.0f, 0));
+
+    Map<String, Map<QueryId, Long>> demands = Maps.newHashMap();
+    demands.put("etl", Maps.<QueryId, Long>newHashMap());
+    demands.get("etl").put(etl, 10000L);
+    demands.put("dashboard", Maps.<QueryId, Long>newHashMap());
+    demands.get("dashboard").put(dashboard1, 10000L);
+    demands.get("dashboard").put(dashboard2, 10000L);
+
+    Map<QueryId, Long> shares = FairShareCalculator.computeShares(8000, queues, demands);
+    assertEquals(2000L, (long) shares.get(etl));
+    assertEquals(3000L, (long) shares.get(dashboard1));
+    assertEquals(3000L, (long) shares.get(dashboard2));
+  }
+
+  @Test
+  public void testLeftoverIsRedistributed() {
+    QueryId etl = new QueryId("0", 1);
+    QueryId dashboard = new QueryId("0", 2);
+
+    Map<String, QueueProperty> queues = Maps.newHashMap();
+    queues.put("etl", createQueue("etl", 1.0f, 0));
+    queues.put("dashboard", createQueue("dashboard", 1.0f, 0));
+
+    Map<String, Map<QueryId, Long>> demands = Maps.newHashMap();
+    demands.put("etl", Maps.<QueryId, Long>newHashMap());
+    demands.get("etl").put(etl, 10000L);
+    demands.put("dashboard", Maps.<QueryId, Long>newHashMap());
+    demands.get("dashboard").put(dashboard, 1000L);
+
+    Map<QueryId, Long> shares = FairShareCalculator.computeShares(8000, queues, demands);
+    assertEquals(7000L, (long) shares.get(etl));
+    assertEquals(1000L, (long) shares.get(dashboard));
+  }
+
+  @Test
+  public void testMinShare() {
+    QueryId etl = new QueryId("0", 1);
+    QueryId dashboard = new QueryId("0", 2);
+
+    Map<String, QueueProperty> queues = Maps.newHashMap();
+    queues.put("etl", createQueue("etl", 10.0f, 0));
+    queues.put("dashboard", createQueue("dashboard", 1.0f, 4000));
+
+    Map<String, Map<QueryId, Long>> demands = Maps.newHashMap();
+    demands.put("etl", Maps.<QueryId, Long>newHashMap());
+    demands.get("etl").put(etl, 10000L);
+    demands.put("dashboard", Maps.<QueryId, Long>newHashMap());
+    demands.get("dashboard").put(dashboard, 10000L);
+
+    // dashboard gets its minimum share first, and the rest is divided by 10:1
+    Map<QueryId, Long> shares = FairShareCalculator.computeShares(4000 + 1100, queues, demands);
+    assertEquals(1000L, (long) shares.get(etl));
+    assertEquals(4100L, (long) shares.get(dashboard));
+  }
+
+  @Test
+  public void testDistribute() {
+    float[] weights = new float[] {1.0f, 1.0f, 1.0f};
+    long[] demands = new long[] {1, 5, 100};
+    long[] shares = new long[3];
+
+    FairShareCalculator.distribute(10, weights, demands, shares);
+    assertEquals(1, shares[0]);
+    assertEquals(5 + 4, shares[1] + shares[2]);
+    assertEquals(10, shares[0] + shares[1] + shares[2]);
+  }
+}
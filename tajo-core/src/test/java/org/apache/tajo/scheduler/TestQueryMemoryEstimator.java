@@ -0,0 +1,99 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.scheduler;
+
+import org.apache.tajo.SessionVars;
+import org.apache.tajo.catalog.Schema;
+import org.apache.tajo.catalog.TableDesc;
+import org.apache.tajo.catalog.TableMeta;
+import org.apache.tajo.catalog.proto.CatalogProtos.StoreType;
+import org.apache.tajo.catalog.statistics.TableStats;
+import org.apache.tajo.common.TajoDataTypes.Type;
+import org.apache.tajo.conf.TajoConf;
+import org.apache.tajo.conf.TajoConf.ConfVars;
+import org.apache.tajo.engine.query.QueryContext;
+import org.apache.tajo.plan.logical.ScanNode;
+import org.apache.tajo.plan.logical.SortNode;
+import org.apache.tajo.scheduler.QueryMemoryEstimator.MemoryEstimate;
+import org.apache.tajo.unit.StorageUnit;
+import org.apache.tajo.util.KeyValueSet;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class TestQueryMemoryEstimator {
+
+  private static ScanNode createScanNode(int pid, long numBytes) {
+    Schema schema = new Schema();
+    schema.addColumn("id", Type.INT4);
+    TableDesc desc = new TableDesc("default.t" + pid, schema, new TableMeta(StoreType.CSV, new KeyValueSet()),
+        null);
+    TableStats stats = new TableStats();
+    stats.setNumBytes(numBytes);
+    desc.setStats(stats);
+
+    ScanNode scanNode = new ScanNode(pid);
+    scanNode.init(desc);
+    return scanNode;
+  }
+
+  @Test
+  public void testEmptyPlan() {
+    TajoConf conf = new TajoConf();
+    MemoryEstimate estimate = QueryMemoryEstimator.estimate(null, new QueryContext(conf), conf, 4);
+
+    int taskMemoryMB = conf.getIntVar(ConfVars.TASK_DEFAULT_MEMORY);
+    assertEquals(taskMemoryMB, estimate.getTaskMemoryMB());
+    assertEquals(conf.getIntVar(ConfVars.TAJO_QUERYMASTER_MEMORY_MB) + taskMemoryMB, estimate.getQueryMemoryMB());
+  }
+
+  @Test
+  public void testSortLimitedByBuffer() {
+    TajoConf conf = new TajoConf();
+    QueryContext queryContext = new QueryContext(conf);
+    queryContext.setLong(SessionVars.EXTSORT_BUFFER_SIZE, 2048);
+
+    SortNode sortNode = new SortNode(1);
+    sortNode.setChild(createScanNode(2, 10000 * StorageUnit.MB));
+
+    // a task sorts up to its buffer, and the cluster holds the buffers of all workers
+    MemoryEstimate estimate = QueryMemoryEstimator.estimate(sortNode, queryContext, conf, 3);
+    assertEquals(2048, estimate.getTaskMemoryMB());
+    assertEquals(conf.getIntVar(ConfVars.TAJO_QUERYMASTER_MEMORY_MB) + 2048 * 3, estimate.getQueryMemoryMB());
+
+    // a small input does not need the whole buffer
+    sortNode.setChild(createScanNode(3, 100 * StorageUnit.MB));
+    estimate = QueryMemoryEstimator.estimate(sortNode, queryContext, conf, 3);
+    int taskMemoryMB = Math.max(100, conf.getIntVar(ConfVars.TASK_DEFAULT_MEMORY));
+    assertEquals(taskMemoryMB, estimate.getTaskMemoryMB());
+  }
+
+  @Test
+  public void testUnknownVolume() {
+    TajoConf conf = new TajoConf();
+    QueryContext queryContext = new QueryContext(conf);
+    queryContext.setLong(SessionVars.EXTSORT_BUFFER_SIZE, 1024);
+
+    SortNode sortNode = new SortNode(1);
+    sortNode.setChild(createScanNode(2, 0));
+
+    MemoryEstimate estimate = QueryMemoryEstimator.estimate(sortNode, queryContext, conf, 2);
+    assertEquals(Math.max(1024, conf.getIntVar(ConfVars.TASK_DEFAULT_MEMORY)), estimate.getTaskMemoryMB());
+  }
+}
@@ -0,0 +1 @@
+select l_orderkey from lineitem, orders where l_orderkey = o_orderkey and o_orderstatus = 'F' and l_returnflag = 'N';
\ No newline at end of file
@@ -0,0 +1,8 @@
+SELECT
+  l_orderkey,
+  l_linenumber,
+  first_value(l_quantity) OVER (PARTITION BY l_orderkey ORDER BY l_linenumber) as first_qty,
+  last_value(l_quantity) OVER (PARTITION BY l_orderkey ORDER BY l_linenumber
+    ROWS BETWEEN UNBOUNDED PRECEDING AND UNBOUNDED FOLLOWING) as last_qty
+FROM
+  LINEITEM;
\ No newline at end of file
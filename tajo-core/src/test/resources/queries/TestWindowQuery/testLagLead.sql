@@ -0,0 +1,7 @@
+SELECT
+  l_orderkey,
+  l_linenumber,
+  lag(l_suppkey) OVER (PARTITION BY l_orderkey ORDER BY l_linenumber) as prev_supp,
+  lead(l_suppkey, 1, 0) OVER (PARTITION BY l_orderkey ORDER BY l_linenumber) as next_supp
+FROM
+  LINEITEM;
\ No newline at end of file
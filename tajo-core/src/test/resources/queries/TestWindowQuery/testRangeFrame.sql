@@ -0,0 +1,6 @@
+SELECT
+  l_orderkey,
+  l_quantity,
+  sum(l_quantity) OVER (ORDER BY l_orderkey) as running_sum
+FROM
+  LINEITEM;
\ No newline at end of file
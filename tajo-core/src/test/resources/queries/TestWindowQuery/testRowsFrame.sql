@@ -0,0 +1,7 @@
+SELECT
+  l_orderkey,
+  l_linenumber,
+  sum(l_quantity) OVER (ORDER BY l_orderkey, l_linenumber ROWS BETWEEN 1 PRECEDING AND 1 FOLLOWING) as moving_sum,
+  count(l_quantity) OVER (ORDER BY l_orderkey, l_linenumber ROWS 1 PRECEDING) as moving_count
+FROM
+  LINEITEM;
\ No newline at end of file
@@ -50,6 +50,7 @@ public class JdbcConnection implements Connection {
   private final String hostName;
   private final int port;
   private final String databaseName;
+  private final boolean resultStreaming;
   @SuppressWarnings("unused")
   /** it will be used soon. */
   private final Map<String, List<String>> params;
@@ -107,6 +108,8 @@ public class JdbcConnection implements Connection {
       }
     }
 
+    resultStreaming = tajoConf.getBoolVar(TajoConf.ConfVars.CLIENT_RESULT_STREAMING_ENABLED);
+
     try {
       tajoClient = new TajoClientImpl(hostName, port, databaseName);
     } catch (Exception e) {
@@ -119,6 +122,13 @@ public class JdbcConnection implements Connection {
     return this.rawURI;
   }
 
+  /**
+   * @return True if query results are read while queries are still running.
+   */
+  public boolean isResultStreamingEnabled() {
+    return resultStreaming;
+  }
+
   public QueryClient getQueryClient() {
     return tajoClient;
   }
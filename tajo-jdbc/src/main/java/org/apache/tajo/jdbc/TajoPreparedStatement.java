@@ -16,19 +16,27 @@ package org.apache.tajo.jdbc; /**
  * limitations under the License.
  */
 
+import com.google.protobuf.ServiceException;
 import org.apache.tajo.client.TajoClient;
+import org.apache.tajo.ipc.ClientProtos;
+import org.apache.tajo.ipc.ClientProtos.PreparedParameter;
+import org.apache.tajo.ipc.ClientProtos.PreparedParameter.ParameterType;
 
 import java.io.InputStream;
 import java.io.Reader;
 import java.math.BigDecimal;
 import java.net.URL;
 import java.sql.*;
+import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.HashMap;
+import java.util.List;
 
 /**
  * TajoPreparedStatement.
  *
+ * A statement is prepared in the server when it is executed first. Then, it is parsed only once, and
+ * parameter values are bound in the server for each execution.
  */
 public class TajoPreparedStatement implements PreparedStatement {
   private JdbcConnection conn;
@@ -37,7 +45,13 @@ public class TajoPreparedStatement implements PreparedStatement {
   /**
    * save the SQL parameters {paramLoc:paramValue}
    */
-  private final HashMap<Integer, String> parameters=new HashMap<Integer, String>();
+  private final HashMap<Integer, PreparedParameter> parameters = new HashMap<Integer, PreparedParameter>();
+
+  /**
+   * the id of the statement prepared in the server. It is -1 if the statement is not prepared yet.
+   */
+  private int statementId = -1;
+  private int parameterNum = 0;
 
   /**
    * We need to keep a reference to the result set to support the following:
@@ -107,74 +121,53 @@ public class TajoPreparedStatement implements PreparedStatement {
     }
 
     try {
-      if (sql.contains("?")) {
-        sql = updateSql(sql, parameters);
-      }
       if (TajoStatement.isSetVariableQuery(sql)) {
         return TajoStatement.setSessionVariable(tajoClient, sql);
       } else if (TajoStatement.isUnSetVariableQuery(sql)) {
         return TajoStatement.unSetSessionVariable(tajoClient, sql);
       } else {
-        return tajoClient.executeQueryAndGetResult(sql);
+        if (statementId < 0) {
+          prepare(sql);
+        }
+        return tajoClient.executePreparedStatementAndGetResult(statementId, getParameterList());
       }
+    } catch (SQLException e) {
+      throw e;
     } catch (Exception e) {
       throw new SQLException(e.getMessage(), e);
     }
   }
 
-  /**
-   * update the SQL string with parameters set by setXXX methods of {@link java.sql.PreparedStatement}
-   *
-   * @param sql
-   * @param parameters
-   * @return updated SQL string
-   */
-  private String updateSql(final String sql, HashMap<Integer, String> parameters) {
-
-    StringBuffer newSql = new StringBuffer(sql);
-
-    int paramLoc = 1;
-    while (getCharIndexFromSqlByParamLocation(sql, '?', paramLoc) > 0) {
-      // check the user has set the needs parameters
-      if (parameters.containsKey(paramLoc)) {
-        int tt = getCharIndexFromSqlByParamLocation(newSql.toString(), '?', 1);
-        newSql.deleteCharAt(tt);
-        newSql.insert(tt, parameters.get(paramLoc));
-      }
-      paramLoc++;
+  private void prepare(String sql) throws ServiceException, SQLException {
+    ClientProtos.PrepareStatementResponse response = tajoClient.prepareStatement(sql);
+    if (response.getResultCode() == ClientProtos.ResultCode.ERROR) {
+      throw new SQLException(response.getErrorMessage());
     }
-
-    return newSql.toString();
-
+    statementId = response.getStatementId();
+    parameterNum = response.getParameterNum();
   }
 
   /**
-   * Get the index of given char from the SQL string by parameter location
-   * </br> The -1 will be return, if nothing found
-   *
-   * @param sql
-   * @param cchar
-   * @param paramLoc
-   * @return
+   * @return the parameters set by setXXX methods of {@link java.sql.PreparedStatement} in order
    */
-  private int getCharIndexFromSqlByParamLocation(final String sql, final char cchar, final int paramLoc) {
-    int signalCount = 0;
-    int charIndex = -1;
-    int num = 0;
-    for (int i = 0; i < sql.length(); i++) {
-      char c = sql.charAt(i);
-      if (c == '\'' || c == '\\')// record the count of char "'" and char "\"
-      {
-        signalCount++;
-      } else if (c == cchar && signalCount % 2 == 0) {// check if the ? is really the parameter
-        num++;
-        if (num == paramLoc) {
-          charIndex = i;
-          break;
-        }
+  private List<PreparedParameter> getParameterList() throws SQLException {
+    List<PreparedParameter> parameterList = new ArrayList<PreparedParameter>(parameterNum);
+    for (int paramLoc = 1; paramLoc <= parameterNum; paramLoc++) {
+      if (!parameters.containsKey(paramLoc)) {
+        throw new SQLException("No value specified for parameter " + paramLoc);
       }
+      parameterList.add(parameters.get(paramLoc));
     }
-    return charIndex;
+    return parameterList;
+  }
+
+  private void setParameter(int parameterIndex, ParameterType type, String value) {
+    PreparedParameter.Builder builder = PreparedParameter.newBuilder();
+    builder.setType(type);
+    if (value != null) {
+      builder.setValue(value);
+    }
+    this.parameters.put(parameterIndex, builder.build());
   }
 
   @Override
@@ -249,7 +242,7 @@ public class TajoPreparedStatement implements PreparedStatement {
 
   @Override
   public void setBoolean(int parameterIndex, boolean x) throws SQLException {
-    this.parameters.put(parameterIndex, "" + x);
+    setParameter(parameterIndex, ParameterType.BOOLEAN, "" + x);
   }
 
   @Override
@@ -306,22 +299,22 @@ public class TajoPreparedStatement implements PreparedStatement {
 
   @Override
   public void setDouble(int parameterIndex, double x) throws SQLException {
-    this.parameters.put(parameterIndex,"" + x);
+    setParameter(parameterIndex, ParameterType.FLOAT, "" + x);
   }
 
   @Override
   public void setFloat(int parameterIndex, float x) throws SQLException {
-    this.parameters.put(parameterIndex,"" + x);
+    setParameter(parameterIndex, ParameterType.FLOAT, "" + x);
   }
 
   @Override
   public void setInt(int parameterIndex, int x) throws SQLException {
-    this.parameters.put(parameterIndex,"" + x);
+    setParameter(parameterIndex, ParameterType.INTEGER, "" + x);
   }
 
   @Override
   public void setLong(int parameterIndex, long x) throws SQLException {
-    this.parameters.put(parameterIndex,"" + x);
+    setParameter(parameterIndex, ParameterType.INTEGER, "" + x);
   }
 
   @Override
@@ -357,12 +350,12 @@ public class TajoPreparedStatement implements PreparedStatement {
 
   @Override
   public void setNull(int parameterIndex, int sqlType) throws SQLException {
-    throw new SQLFeatureNotSupportedException("setNull not supported");
+    setParameter(parameterIndex, ParameterType.NULL_VALUE, null);
   }
 
   @Override
   public void setNull(int paramIndex, int sqlType, String typeName) throws SQLException {
-    throw new SQLFeatureNotSupportedException("setNull not supported");
+    setParameter(paramIndex, ParameterType.NULL_VALUE, null);
   }
 
   @Override
@@ -399,13 +392,12 @@ public class TajoPreparedStatement implements PreparedStatement {
 
   @Override
   public void setShort(int parameterIndex, short x) throws SQLException {
-    this.parameters.put(parameterIndex,"" + x);
+    setParameter(parameterIndex, ParameterType.INTEGER, "" + x);
   }
 
   @Override
   public void setString(int parameterIndex, String x) throws SQLException {
-     x=x.replace("'", "\\'");
-     this.parameters.put(parameterIndex,"'" + x +"'");
+    setParameter(parameterIndex, x == null ? ParameterType.NULL_VALUE : ParameterType.STRING, x);
   }
 
   @Override
@@ -470,6 +462,15 @@ public class TajoPreparedStatement implements PreparedStatement {
       resultSet.close();
       resultSet = null;
     }
+    if (statementId >= 0 && !isClosed) {
+      try {
+        tajoClient.closePreparedStatement(statementId);
+      } catch (ServiceException e) {
+        throw new SQLException(e.getMessage(), e);
+      } finally {
+        statementId = -1;
+      }
+    }
     isClosed = true;
   }
 
@@ -24,6 +24,7 @@ import org.apache.tajo.client.TajoClient;
 import java.sql.*;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
 
 public class TajoStatement implements Statement {
   private JdbcConnection conn;
@@ -126,9 +127,14 @@ public class TajoStatement implements Statement {
         return setSessionVariable(tajoClient, sql);
       } else if (isUnSetVariableQuery(sql)) {
         return unSetSessionVariable(tajoClient, sql);
+      } else if (conn.isResultStreamingEnabled()) {
+        return tajoClient.executeQueryAsync(sql).get();
       } else {
         return tajoClient.executeQueryAndGetResult(sql);
       }
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause() != null ? e.getCause() : e;
+      throw new SQLFeatureNotSupportedException(cause.getMessage(), cause);
     } catch (Exception e) {
       throw new SQLFeatureNotSupportedException(e.getMessage(), e);
     }
@@ -26,6 +26,7 @@ import org.apache.tajo.catalog.Column;
 import org.apache.tajo.catalog.FunctionDesc;
 import org.apache.tajo.catalog.exception.NoSuchFunctionException;
 import org.apache.tajo.common.TajoDataTypes;
+import org.apache.tajo.common.type.TajoTypeUtil;
 import org.apache.tajo.datum.*;
 import org.apache.tajo.exception.InternalException;
 import org.apache.tajo.exception.InvalidOperationException;
@@ -358,6 +359,10 @@ public class ExprAnnotator extends BaseAlgebraVisitor<ExprAnnotator.Context, Eva
 
   @Override
   public EvalNode visitInPredicate(Context ctx, Stack<Expr> stack, InPredicate expr) throws PlanningException {
+    if (expr.getInValue().getType() != OpType.ValueList) {
+      throw new PlanningException("Cannot support NOT IN subquery or IN subquery except in a conjunct of WHERE clause");
+    }
+
     stack.push(expr);
     EvalNode lhs = visit(ctx, stack, expr.getLeft());
     RowConstantEval rowConstantEval = (RowConstantEval) visit(ctx, stack, expr.getInValue());
@@ -384,7 +389,8 @@ public class ExprAnnotator extends BaseAlgebraVisitor<ExprAnnotator.Context, Eva
 
   @Override
   public EvalNode visitExistsPredicate(Context ctx, Stack<Expr> stack, ExistsPredicate expr) throws PlanningException {
-    throw new PlanningException("Cannot support EXISTS clause yet");
+    throw new PlanningException("Cannot support EXISTS clause except a correlated subquery in a conjunct of WHERE " +
+        "clause, whose outer references only appear in conjuncts of its WHERE clause");
   }
 
   ///////////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -672,6 +678,11 @@ public class ExprAnnotator extends BaseAlgebraVisitor<ExprAnnotator.Context, Eva
   }
 
   public static final Set<String> WINDOW_FUNCTIONS =
+      Sets.newHashSet("row_number", "rank", "dense_rank", "percent_rank", "cume_dist", "lag", "lead", "first_value",
+          "last_value");
+
+  /** window functions which are computed from the first row of a partition to the current row */
+  private static final Set<String> RANKING_FUNCTIONS =
       Sets.newHashSet("row_number", "rank", "dense_rank", "percent_rank", "cume_dist");
 
   public EvalNode visitWindowFunction(Context ctx, Stack<Expr> stack, WindowFunctionExpr windowFunc)
@@ -714,19 +725,33 @@ public class ExprAnnotator extends BaseAlgebraVisitor<ExprAnnotator.Context, Eva
       } else {
         paramTypes[0] = givenArgs[0].getValueType();
       }
+
+      for (int i = 1; i < params.length; i++) {
+        givenArgs[i] = visit(ctx, stack, params[i]);
+        paramTypes[i] = givenArgs[i].getValueType();
+      }
     } else {
       if (windowFunc.getSignature().equalsIgnoreCase("rank")) {
         givenArgs = sortKeys != null ? sortKeys : new EvalNode[0];
       }
     }
 
+    String lowerCaseName = funcName.toLowerCase();
+    if (lowerCaseName.equals("lag") || lowerCaseName.equals("lead")) {
+      frame = createOffsetFrame(lowerCaseName, givenArgs);
+    } else if (RANKING_FUNCTIONS.contains(lowerCaseName)) {
+      frame = new WindowFrame(new WindowStartBound(WindowFrameStartBoundType.UNBOUNDED_PRECEDING),
+          new WindowEndBound(WindowFrameEndBoundType.CURRENT_ROW));
+      frame.setFrameUnit(WindowSpec.WindowFrameUnit.ROW);
+    } else if (windowSpec.hasWindowFrame()) {
+      frame = createWindowFrame(ctx, stack, windowSpec.getWindowFrame());
+    }
+
     if (frame == null) {
       if (windowSpec.hasOrderBy()) {
         frame = new WindowFrame(new WindowStartBound(WindowFrameStartBoundType.UNBOUNDED_PRECEDING),
             new WindowEndBound(WindowFrameEndBoundType.CURRENT_ROW));
-      } else if (windowFunc.getSignature().equalsIgnoreCase("row_number")) {
-        frame = new WindowFrame(new WindowStartBound(WindowFrameStartBoundType.UNBOUNDED_PRECEDING),
-            new WindowEndBound(WindowFrameEndBoundType.UNBOUNDED_FOLLOWING));
+        frame.setFrameUnit(WindowSpec.WindowFrameUnit.RANGE);
       } else {
         frame = new WindowFrame();
       }
@@ -756,6 +781,65 @@ public class ExprAnnotator extends BaseAlgebraVisitor<ExprAnnotator.Context, Eva
     }
   }
 
+  private WindowFrame createWindowFrame(Context ctx, Stack<Expr> stack, WindowSpec.WindowFrame rawFrame)
+      throws PlanningException {
+    WindowStartBound startBound = new WindowStartBound(rawFrame.getStartBound().getBoundType());
+    if (rawFrame.getStartBound().hasNumber()) {
+      startBound.setNumber(visitFrameOffset(ctx, stack, rawFrame.getStartBound().getNumber()));
+    }
+    WindowEndBound endBound = new WindowEndBound(rawFrame.getEndBound().getBoundType());
+    if (rawFrame.getEndBound().hasNumber()) {
+      endBound.setNumber(visitFrameOffset(ctx, stack, rawFrame.getEndBound().getNumber()));
+    }
+
+    if (rawFrame.getUnit() == WindowSpec.WindowFrameUnit.RANGE &&
+        (startBound.getNumber() != null || endBound.getNumber() != null)) {
+      throw new PlanningException("RANGE frame with an offset is not supported");
+    }
+
+    WindowFrame frame = new WindowFrame(startBound, endBound);
+    frame.setFrameUnit(rawFrame.getUnit());
+    return frame;
+  }
+
+  private EvalNode visitFrameOffset(Context ctx, Stack<Expr> stack, Expr expr) throws PlanningException {
+    EvalNode offset = visit(ctx, stack, expr);
+    if (offset.getType() != EvalType.CONST || !TajoTypeUtil.isIntegral(offset.getValueType().getType()) ||
+        offset.eval(null, null).asInt8() < 0) {
+      throw new PlanningException("The offset of a window frame must be a non-negative integer: " + expr);
+    }
+    return offset;
+  }
+
+  /**
+   * lag(value, offset) and lead(value, offset) take the first and the last row of a frame including (offset + 1)
+   * rows respectively.
+   */
+  private static WindowFrame createOffsetFrame(String funcName, EvalNode [] givenArgs) throws PlanningException {
+    EvalNode offset;
+    if (givenArgs.length > 1) {
+      offset = givenArgs[1];
+      if (offset.getType() != EvalType.CONST || offset.eval(null, null).asInt8() < 0) {
+        throw new PlanningException("The offset of " + funcName + "() must be a non-negative constant: " + offset);
+      }
+    } else {
+      offset = new ConstEval(DatumFactory.createInt4(1));
+    }
+
+    WindowFrame frame;
+    if (funcName.equals("lag")) {
+      WindowStartBound startBound = new WindowStartBound(WindowFrameStartBoundType.PRECEDING);
+      startBound.setNumber(offset);
+      frame = new WindowFrame(startBound, new WindowEndBound(WindowFrameEndBoundType.CURRENT_ROW));
+    } else {
+      WindowEndBound endBound = new WindowEndBound(WindowFrameEndBoundType.FOLLOWING);
+      endBound.setNumber(offset);
+      frame = new WindowFrame(new WindowStartBound(WindowFrameStartBoundType.CURRENT_ROW), endBound);
+    }
+    frame.setFrameUnit(WindowSpec.WindowFrameUnit.ROW);
+    return frame;
+  }
+
   ///////////////////////////////////////////////////////////////////////////////////////////////////////////
   // Literal Section
   ///////////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -129,6 +129,8 @@ public class LogicalPlanner extends BaseAlgebraVisitor<LogicalPlanner.PlanContex
 
     QueryBlock rootBlock = plan.newAndGetBlock(LogicalPlan.ROOT_BLOCK);
     PlanContext context = new PlanContext(queryContext, plan, rootBlock, evalOptimizer, debug);
+    // subqueries in WHERE clauses are planned as semi joins
+    new SemiJoinRewriter().rewrite(expr);
     preprocessor.visit(context, new Stack<Expr>(), expr);
     plan.resetGeneratedId();
     LogicalNode topMostNode = this.visit(context, new Stack<Expr>(), expr);
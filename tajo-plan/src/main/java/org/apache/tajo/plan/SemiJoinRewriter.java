@@ -0,0 +1,393 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.plan;
+
+import org.apache.tajo.algebra.*;
+import org.apache.tajo.plan.algebra.BaseAlgebraVisitor;
+import org.apache.tajo.plan.util.ExprFinder;
+import org.apache.tajo.util.TUtil;
+
+import java.util.*;
+
+/**
+ * It rewrites IN and EXISTS predicates of subqueries into semi joins, and NOT EXISTS predicates into anti joins.
+ * A subquery is evaluated only once and looked up by a hash join, instead of being evaluated for each row.
+ *
+ * <ul>
+ *   <li><code>WHERE x IN (SELECT y FROM t)</code> becomes
+ *   <code>LEFT SEMI JOIN (SELECT y AS k FROM t) s ON x = s.k</code>.</li>
+ *   <li><code>WHERE [NOT] EXISTS (SELECT * FROM t WHERE t.y = x AND t.z > 0)</code> becomes
+ *   <code>LEFT [SEMI|ANTI] JOIN (SELECT t.y AS k FROM t WHERE t.z > 0) s ON s.k = x</code>.</li>
+ * </ul>
+ *
+ * Only predicates which are conjuncts of a WHERE clause are rewritten. A correlated subquery can refer to outer
+ * relations only in conjuncts of its WHERE clause, which become the join condition. NOT IN is not rewritten because
+ * it results in NULL rather than FALSE if the subquery returns NULL, which an anti join cannot tell.
+ */
+public class SemiJoinRewriter extends BaseAlgebraVisitor<Object, Object> {
+  /** the prefix of the names of relations generated from subqueries */
+  public static final String SUBQUERY_NAME_PREFIX = "__subquery_";
+
+  private int subQueryId = 0;
+
+  public void rewrite(Expr expr) throws PlanningException {
+    visit(null, new Stack<Expr>(), expr);
+  }
+
+  @Override
+  public Object visit(Object ctx, Stack<Expr> stack, Expr expr) throws PlanningException {
+    // a cross join does not have a join condition
+    if (expr == null) {
+      return null;
+    }
+    return super.visit(ctx, stack, expr);
+  }
+
+  @Override
+  public Object visitProjection(Object ctx, Stack<Expr> stack, Projection expr) throws PlanningException {
+    // subqueries are rewritten before the outer query
+    super.visitProjection(ctx, stack, expr);
+    rewriteSelection(expr);
+    return null;
+  }
+
+  private void rewriteSelection(Projection projection) throws PlanningException {
+    UnaryOperator parent = projection;
+    while (parent.hasChild() && isBypassed(parent.getChild().getType())) {
+      parent = (UnaryOperator) parent.getChild();
+    }
+    if (!parent.hasChild() || parent.getChild().getType() != OpType.Filter) {
+      return;
+    }
+
+    Selection selection = (Selection) parent.getChild();
+    Expr from = selection.getChild();
+    List<Expr> remains = TUtil.newList();
+    for (Expr conjunct : toConjuncts(selection.getQual())) {
+      Join join = createSemiJoin(from, conjunct);
+      if (join != null) {
+        from = join;
+      } else {
+        remains.add(conjunct);
+      }
+    }
+    if (from == selection.getChild()) {
+      return;
+    }
+
+    // the columns of subqueries are not visible to the outer query.
+    expandAsterisk(projection, selection.getChild());
+    if (remains.isEmpty()) {
+      parent.setChild(from);
+    } else {
+      selection.setQual(toConjunction(remains));
+      selection.setChild(from);
+    }
+  }
+
+  private static boolean isBypassed(OpType type) {
+    return type == OpType.Limit || type == OpType.Sort || type == OpType.Having || type == OpType.Aggregation ||
+        type == OpType.Window;
+  }
+
+  private Join createSemiJoin(Expr from, Expr conjunct) throws PlanningException {
+    if (conjunct.getType() == OpType.InPredicate) {
+      InPredicate in = (InPredicate) conjunct;
+      if (in.isNot() || in.getInValue().getType() != OpType.SimpleTableSubQuery) {
+        return null;
+      }
+      Expr subQuery = ((SimpleTableSubQuery) in.getInValue()).getSubQuery();
+      if (subQuery.getType() != OpType.Projection) {
+        return null;
+      }
+      Projection projection = (Projection) subQuery;
+      if (projection.size() != 1 || projection.getNamedExprs()[0].getExpr().getType() == OpType.Asterisk) {
+        return null;
+      }
+
+      if (countOuterReferences(projection, collectRelationNames(projection)) == 0) {
+        String name = SUBQUERY_NAME_PREFIX + subQueryId++;
+        String key = getKeyName(name, 0);
+        projection.getNamedExprs()[0].setAlias(key);
+        return createJoin(JoinType.LEFT_SEMI, from, name, projection,
+            new BinaryOperator(OpType.Equals, in.getPredicand(), new ColumnReferenceExpr(name, key)));
+      } else {
+        return createCorrelatedJoin(JoinType.LEFT_SEMI, from, projection, in.getPredicand());
+      }
+
+    } else if (conjunct.getType() == OpType.ExistsPredicate) {
+      ExistsPredicate exists = (ExistsPredicate) conjunct;
+      Expr subQuery = exists.getSubQuery().getSubQuery();
+      if (subQuery.getType() != OpType.Projection) {
+        return null;
+      }
+      return createCorrelatedJoin(exists.isNot() ? JoinType.LEFT_ANTI : JoinType.LEFT_SEMI, from,
+          (Projection) subQuery, null);
+    }
+
+    return null;
+  }
+
+  /**
+   * Moves the conjuncts referring to outer relations from the WHERE clause of a subquery to a join condition, and
+   * the subquery returns the columns used in the join condition instead.
+   *
+   * @param predicand the left side of an IN predicate, or null for an EXISTS predicate
+   * @return a join, or null if the subquery cannot be rewritten
+   */
+  private Join createCorrelatedJoin(JoinType joinType, Expr from, Projection projection, Expr predicand)
+      throws PlanningException {
+    if (!projection.hasChild() || projection.getChild().getType() != OpType.Filter) {
+      return null;
+    }
+    Selection selection = (Selection) projection.getChild();
+    if (!isRelationExpr(selection.getChild()) || hasAggregation(projection)) {
+      return null;
+    }
+
+    Set<String> innerNames = collectRelationNames(projection);
+    List<Expr> locals = TUtil.newList();
+    List<Expr> correlated = TUtil.newList();
+    int outerReferenceNum = 0;
+    int innerReferenceNum = 0;
+    for (Expr conjunct : toConjuncts(selection.getQual())) {
+      int outerReferences = countOuterReferences(conjunct, innerNames);
+      if (outerReferences == 0) {
+        locals.add(conjunct);
+        continue;
+      }
+      if (!ExprFinder.finds(conjunct, OpType.SimpleTableSubQuery).isEmpty() ||
+          !ExprFinder.finds(conjunct, OpType.ScalarSubQuery).isEmpty()) {
+        return null;
+      }
+      correlated.add(conjunct);
+      outerReferenceNum += outerReferences;
+      innerReferenceNum += collectColumnReferences(conjunct).size() - outerReferences;
+    }
+
+    // outer relations must be referred only in the conjuncts of the WHERE clause.
+    if (correlated.isEmpty() || outerReferenceNum != countOuterReferences(projection, innerNames)) {
+      return null;
+    }
+    if (predicand == null && innerReferenceNum == 0) {
+      return null;
+    }
+
+    String name = SUBQUERY_NAME_PREFIX + subQueryId++;
+    List<NamedExpr> keys = TUtil.newList();
+    List<Expr> joinQuals = TUtil.newList();
+    if (predicand != null) {
+      String key = getKeyName(name, keys.size());
+      keys.add(new NamedExpr(projection.getNamedExprs()[0].getExpr(), key));
+      joinQuals.add(new BinaryOperator(OpType.Equals, predicand, new ColumnReferenceExpr(name, key)));
+    }
+
+    // each inner column in the correlated conjuncts is replaced by a column of the subquery.
+    Map<String, String> keyNames = TUtil.newHashMap();
+    for (Expr conjunct : correlated) {
+      for (ColumnReferenceExpr column : collectColumnReferences(conjunct)) {
+        if (!isInnerReference(column, innerNames)) {
+          continue;
+        }
+        String key = keyNames.get(column.getCanonicalName());
+        if (key == null) {
+          key = getKeyName(name, keys.size());
+          keyNames.put(column.getCanonicalName(), key);
+          keys.add(new NamedExpr(new ColumnReferenceExpr(column.getQualifier(), column.getName()), key));
+        }
+        column.setQualifier(name);
+        column.setName(key);
+      }
+      joinQuals.add(conjunct);
+    }
+
+    projection.setNamedExprs(keys.toArray(new NamedExpr[keys.size()]));
+    if (locals.isEmpty()) {
+      projection.setChild(selection.getChild());
+    } else {
+      selection.setQual(toConjunction(locals));
+    }
+    return createJoin(joinType, from, name, projection, toConjunction(joinQuals));
+  }
+
+  private static Join createJoin(JoinType joinType, Expr from, String name, Expr subQuery, Expr joinQual) {
+    Join join = new Join(joinType);
+    join.setLeft(from);
+    join.setRight(new TablePrimarySubQuery(name, subQuery));
+    join.setQual(joinQual);
+    return join;
+  }
+
+  private static String getKeyName(String subQueryName, int idx) {
+    return subQueryName + "_key_" + idx;
+  }
+
+  private static boolean isRelationExpr(Expr expr) {
+    OpType type = expr.getType();
+    return type == OpType.Relation || type == OpType.RelationList || type == OpType.Join ||
+        type == OpType.TablePrimaryTableSubQuery;
+  }
+
+  private static boolean hasAggregation(Projection projection) {
+    for (NamedExpr namedExpr : projection.getNamedExprs()) {
+      if (!ExprFinder.finds(namedExpr, OpType.GeneralSetFunction).isEmpty() ||
+          !ExprFinder.finds(namedExpr, OpType.CountRowsFunction).isEmpty() ||
+          !ExprFinder.finds(namedExpr, OpType.WindowFunction).isEmpty()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Replaces an unqualified asterisk by the asterisks of the relations in a given FROM clause.
+   */
+  private static void expandAsterisk(Projection projection, Expr from) {
+    List<NamedExpr> namedExprs = TUtil.newList();
+    for (NamedExpr namedExpr : projection.getNamedExprs()) {
+      Expr expr = namedExpr.getExpr();
+      if (expr.getType() == OpType.Asterisk && !((QualifiedAsteriskExpr) expr).hasQualifier()) {
+        List<String> names = TUtil.newList();
+        collectFromNames(from, names);
+        for (String name : names) {
+          namedExprs.add(new NamedExpr(new QualifiedAsteriskExpr(name)));
+        }
+      } else {
+        namedExprs.add(namedExpr);
+      }
+    }
+    projection.setNamedExprs(namedExprs.toArray(new NamedExpr[namedExprs.size()]));
+  }
+
+  private static void collectFromNames(Expr from, List<String> names) {
+    switch (from.getType()) {
+    case Relation:
+      Relation relation = (Relation) from;
+      names.add(relation.hasAlias() ? relation.getAlias() : relation.getName());
+      break;
+    case TablePrimaryTableSubQuery:
+      names.add(((TablePrimarySubQuery) from).getName());
+      break;
+    case RelationList:
+      for (Expr eachRelation : ((RelationList) from).getRelations()) {
+        collectFromNames(eachRelation, names);
+      }
+      break;
+    case Join:
+      Join join = (Join) from;
+      collectFromNames(join.getLeft(), names);
+      if (join.getJoinType() != JoinType.LEFT_SEMI && join.getJoinType() != JoinType.LEFT_ANTI) {
+        collectFromNames(join.getRight(), names);
+      }
+      break;
+    default:
+    }
+  }
+
+  private static List<Expr> toConjuncts(Expr expr) {
+    List<Expr> conjuncts = TUtil.newList();
+    if (expr.getType() == OpType.And) {
+      BinaryOperator and = (BinaryOperator) expr;
+      conjuncts.addAll(toConjuncts(and.getLeft()));
+      conjuncts.addAll(toConjuncts(and.getRight()));
+    } else {
+      conjuncts.add(expr);
+    }
+    return conjuncts;
+  }
+
+  private static Expr toConjunction(List<Expr> conjuncts) {
+    Expr conjunction = conjuncts.get(0);
+    for (int i = 1; i < conjuncts.size(); i++) {
+      conjunction = new BinaryOperator(OpType.And, conjunction, conjuncts.get(i));
+    }
+    return conjunction;
+  }
+
+  private static boolean isInnerReference(ColumnReferenceExpr column, Set<String> innerNames) {
+    // an unqualified column is resolved in the subquery first.
+    return !column.hasQualifier() || innerNames.contains(column.getQualifier());
+  }
+
+  private static int countOuterReferences(Expr expr, Set<String> innerNames) throws PlanningException {
+    int count = 0;
+    for (ColumnReferenceExpr column : collectColumnReferences(expr)) {
+      if (!isInnerReference(column, innerNames)) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  private static List<ColumnReferenceExpr> collectColumnReferences(Expr expr) throws PlanningException {
+    ReferenceCollector collector = new ReferenceCollector();
+    collector.collect(expr);
+    return collector.columns;
+  }
+
+  /**
+   * @return the names of all relations in a subquery, which include the simple names of qualified table names
+   */
+  private static Set<String> collectRelationNames(Expr expr) throws PlanningException {
+    ReferenceCollector collector = new ReferenceCollector();
+    collector.collect(expr);
+    return collector.relationNames;
+  }
+
+  private static class ReferenceCollector extends BaseAlgebraVisitor<Object, Object> {
+    private final List<ColumnReferenceExpr> columns = TUtil.newList();
+    private final Set<String> relationNames = TUtil.newHashSet();
+
+    void collect(Expr expr) throws PlanningException {
+      visit(null, new Stack<Expr>(), expr);
+    }
+
+    @Override
+    public Object visit(Object ctx, Stack<Expr> stack, Expr expr) throws PlanningException {
+      if (expr == null) {
+        return null;
+      }
+      return super.visit(ctx, stack, expr);
+    }
+
+    @Override
+    public Object visitColumnReference(Object ctx, Stack<Expr> stack, ColumnReferenceExpr expr) {
+      columns.add(expr);
+      return null;
+    }
+
+    @Override
+    public Object visitRelation(Object ctx, Stack<Expr> stack, Relation expr) {
+      if (expr.hasAlias()) {
+        relationNames.add(expr.getAlias());
+      } else {
+        relationNames.add(expr.getName());
+        relationNames.add(expr.getName().substring(expr.getName().lastIndexOf('.') + 1));
+      }
+      return null;
+    }
+
+    @Override
+    public Object visitTableSubQuery(Object ctx, Stack<Expr> stack, TablePrimarySubQuery expr)
+        throws PlanningException {
+      relationNames.add(expr.getName());
+      return super.visitTableSubQuery(ctx, stack, expr);
+    }
+  }
+}
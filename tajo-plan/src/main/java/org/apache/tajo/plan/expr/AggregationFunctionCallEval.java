@@ -46,6 +46,17 @@ public class AggregationFunctionCallEval extends FunctionEval implements Cloneab
     this.instance = instance;
   }
 
+  public AggFunction getInstance() {
+    return instance;
+  }
+
+  /**
+   * @return True if it aggregates raw input values rather than partial results
+   */
+  public boolean isFirstPhase() {
+    return !intermediatePhase && !finalPhase;
+  }
+
   public FunctionContext newContext() {
     return instance.newContext();
   }
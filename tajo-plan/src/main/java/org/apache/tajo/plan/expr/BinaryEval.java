@@ -23,6 +23,7 @@ import com.google.gson.annotations.Expose;
 import org.apache.tajo.catalog.CatalogUtil;
 import org.apache.tajo.catalog.Schema;
 import org.apache.tajo.common.TajoDataTypes.DataType;
+import org.apache.tajo.common.type.TajoTypeUtil;
 import org.apache.tajo.datum.Datum;
 import org.apache.tajo.datum.DatumFactory;
 import org.apache.tajo.datum.NullDatum;
@@ -36,6 +37,10 @@ public class BinaryEval extends EvalNode implements Cloneable {
   @Expose protected EvalNode leftExpr;
   @Expose protected EvalNode rightExpr;
   @Expose protected DataType returnType;
+  /** types used by typed evaluation, which are reset when an operand is replaced */
+  private transient Type resultType;
+  private transient Type lhsType;
+  private transient Type rhsType;
 
   protected BinaryEval(EvalType type) {
     super(type);
@@ -75,6 +80,7 @@ public class BinaryEval extends EvalNode implements Cloneable {
 
   public void setLeftExpr(EvalNode expr) {
     this.leftExpr = expr;
+    this.lhsType = null;
   }
 
   public <T extends EvalNode> T getLeftExpr() {
@@ -83,6 +89,7 @@ public class BinaryEval extends EvalNode implements Cloneable {
 
   public void setRightExpr(EvalNode expr) {
     this.rightExpr = expr;
+    this.lhsType = null;
   }
 
   public <T extends EvalNode> T getRightExpr() {
@@ -106,6 +113,7 @@ public class BinaryEval extends EvalNode implements Cloneable {
   }
 
   public void setChild(int id, EvalNode child) {
+    this.lhsType = null;
     if (id == 0) {
       this.leftExpr = child;
     } else if (id == 1) {
@@ -160,6 +168,226 @@ public class BinaryEval extends EvalNode implements Cloneable {
     }
   }
 
+  @Override
+  public long evalLong(Schema schema, Tuple tuple) {
+    if (!EvalType.isArithmeticOperator(type)) {
+      return super.evalLong(schema, tuple);
+    }
+    resolveTypes();
+    if (!TajoTypeUtil.isIntegral(resultType) || !TajoTypeUtil.isIntegral(lhsType) ||
+        !TajoTypeUtil.isIntegral(rhsType)) {
+      return super.evalLong(schema, tuple);
+    }
+
+    long lhs = leftExpr.evalLong(schema, tuple);
+    if (leftExpr.wasNull()) {
+      nullResult = true;
+      return 0;
+    }
+    long rhs = rightExpr.evalLong(schema, tuple);
+    if (rightExpr.wasNull()) {
+      nullResult = true;
+      return 0;
+    }
+
+    long result;
+    switch (type) {
+    case PLUS:
+      result = lhs + rhs;
+      break;
+    case MINUS:
+      result = lhs - rhs;
+      break;
+    case MULTIPLY:
+      result = lhs * rhs;
+      break;
+    case DIVIDE:
+      if (rhs == 0) {
+        nullResult = true;
+        return 0;
+      }
+      result = lhs / rhs;
+      break;
+    case MODULAR:
+      if (rhs == 0) {
+        nullResult = true;
+        return 0;
+      }
+      result = lhs % rhs;
+      break;
+    default:
+      throw new InvalidOperationException("Unknown binary operation: " + type);
+    }
+
+    nullResult = false;
+    // it overflows like an integer of the result type
+    return resultType == Type.INT8 ? result : (int) result;
+  }
+
+  @Override
+  public double evalDouble(Schema schema, Tuple tuple) {
+    if (!EvalType.isArithmeticOperator(type)) {
+      return super.evalDouble(schema, tuple);
+    }
+    resolveTypes();
+    if (!TajoTypeUtil.isNumeric(resultType) || !TajoTypeUtil.isNumeric(lhsType) || !TajoTypeUtil.isNumeric(rhsType)) {
+      return super.evalDouble(schema, tuple);
+    }
+    if (TajoTypeUtil.isIntegral(resultType)) {
+      return evalLong(schema, tuple);
+    }
+
+    double lhs = leftExpr.evalDouble(schema, tuple);
+    if (leftExpr.wasNull()) {
+      nullResult = true;
+      return 0;
+    }
+    double rhs = rightExpr.evalDouble(schema, tuple);
+    if (rightExpr.wasNull()) {
+      nullResult = true;
+      return 0;
+    }
+    if ((type == EvalType.DIVIDE || type == EvalType.MODULAR) && rhs == 0) {
+      nullResult = true;
+      return 0;
+    }
+
+    nullResult = false;
+    if (resultType == Type.FLOAT4) {
+      // operands are rounded like float datums
+      float flhs = (float) lhs;
+      float frhs = (float) rhs;
+      switch (type) {
+      case PLUS:
+        return flhs + frhs;
+      case MINUS:
+        return flhs - frhs;
+      case MULTIPLY:
+        return flhs * frhs;
+      case DIVIDE:
+        return flhs / frhs;
+      default:
+        return flhs % frhs;
+      }
+    } else {
+      switch (type) {
+      case PLUS:
+        return lhs + rhs;
+      case MINUS:
+        return lhs - rhs;
+      case MULTIPLY:
+        return lhs * rhs;
+      case DIVIDE:
+        return lhs / rhs;
+      default:
+        return lhs % rhs;
+      }
+    }
+  }
+
+  @Override
+  public boolean evalBoolean(Schema schema, Tuple tuple) {
+    if (type == EvalType.AND || type == EvalType.OR) {
+      return evalLogical(schema, tuple);
+    }
+
+    if (!EvalType.isComparisonOperator(type)) {
+      return super.evalBoolean(schema, tuple);
+    }
+    resolveTypes();
+    if (!TajoTypeUtil.isNumeric(lhsType) || !TajoTypeUtil.isNumeric(rhsType)) {
+      return super.evalBoolean(schema, tuple);
+    }
+
+    int cmp;
+    if (TajoTypeUtil.isIntegral(lhsType) && TajoTypeUtil.isIntegral(rhsType)) {
+      long lhs = leftExpr.evalLong(schema, tuple);
+      if (leftExpr.wasNull()) {
+        return setUnknown();
+      }
+      long rhs = rightExpr.evalLong(schema, tuple);
+      if (rightExpr.wasNull()) {
+        return setUnknown();
+      }
+      cmp = lhs < rhs ? -1 : (lhs == rhs ? 0 : 1);
+    } else {
+      double lhs = leftExpr.evalDouble(schema, tuple);
+      if (leftExpr.wasNull()) {
+        return setUnknown();
+      }
+      double rhs = rightExpr.evalDouble(schema, tuple);
+      if (rightExpr.wasNull()) {
+        return setUnknown();
+      }
+      if (lhsType != Type.FLOAT8 && rhsType != Type.FLOAT8) {
+        // float datums are compared as floats
+        lhs = (float) lhs;
+        rhs = (float) rhs;
+      }
+      cmp = lhs < rhs ? -1 : (lhs > rhs ? 1 : 0);
+    }
+
+    nullResult = false;
+    switch (type) {
+    case EQUAL:
+      return cmp == 0;
+    case NOT_EQUAL:
+      return cmp != 0;
+    case LTH:
+      return cmp < 0;
+    case LEQ:
+      return cmp <= 0;
+    case GTH:
+      return cmp > 0;
+    default:
+      return cmp >= 0;
+    }
+  }
+
+  /**
+   * It follows the three-valued logic, and skips the right operand if the left one decides the result.
+   */
+  private boolean evalLogical(Schema schema, Tuple tuple) {
+    // AND is decided by FALSE, and OR is decided by TRUE.
+    boolean decisive = type == EvalType.OR;
+
+    boolean lhs = leftExpr.evalBoolean(schema, tuple);
+    boolean lhsNull = leftExpr.wasNull();
+    if (!lhsNull && lhs == decisive) {
+      nullResult = false;
+      return decisive;
+    }
+
+    boolean rhs = rightExpr.evalBoolean(schema, tuple);
+    boolean rhsNull = rightExpr.wasNull();
+    if (!rhsNull && rhs == decisive) {
+      nullResult = false;
+      return decisive;
+    }
+
+    if (lhsNull || rhsNull) {
+      return setUnknown();
+    }
+    nullResult = false;
+    return !decisive;
+  }
+
+  /**
+   * Types are resolved once, because some evals create a data type whenever it is requested.
+   */
+  private void resolveTypes() {
+    if (lhsType == null) {
+      resultType = returnType.getType();
+      lhsType = leftExpr.getValueType().getType();
+      rhsType = rightExpr.getValueType().getType();
+    }
+  }
+
+  private boolean setUnknown() {
+    nullResult = true;
+    return false;
+  }
+
   @Override
 	public String getName() {
 		return type.name();
@@ -0,0 +1,234 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.plan.expr;
+
+import org.apache.tajo.datum.TextDatum;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * It matches UTF-8 bytes against a LIKE pattern without decoding them into a string. A pattern is classified into
+ * an exact, prefix, suffix, or contains form, and the other patterns consisting of literals and '%' wildcards are
+ * matched by searching the literals in order.
+ *
+ * Patterns including '_' or a backslash are not supported, and they are left to regular expressions. Since '%' matches
+ * any byte sequence and literals are compared byte by byte, the result is the same as that of the regular expression
+ * for valid UTF-8 strings. Case-insensitive matching only folds US-ASCII letters like
+ * {@link java.util.regex.Pattern#CASE_INSENSITIVE}.
+ */
+public abstract class BytePatternMatcher {
+
+  public abstract boolean matches(byte [] bytes);
+
+  /**
+   * @return A matcher for a given LIKE pattern, or null if the pattern is not supported.
+   */
+  public static BytePatternMatcher compileLike(String pattern, boolean caseInsensitive) {
+    if (pattern.indexOf('_') >= 0 || pattern.indexOf('\\') >= 0) {
+      return null;
+    }
+
+    String [] parts = pattern.split("%", -1);
+    byte [][] literals = new byte[parts.length][];
+    for (int i = 0; i < parts.length; i++) {
+      literals[i] = parts[i].getBytes(TextDatum.DEFAULT_CHARSET);
+      if (caseInsensitive) {
+        for (int j = 0; j < literals[i].length; j++) {
+          literals[i][j] = toLowerCase(literals[i][j]);
+        }
+      }
+    }
+
+    byte [] first = literals[0];
+    byte [] last = literals[literals.length - 1];
+    List<byte []> middles = new ArrayList<byte[]>();
+    for (int i = 1; i < literals.length - 1; i++) {
+      if (literals[i].length > 0) {
+        middles.add(literals[i]);
+      }
+    }
+
+    if (literals.length == 1) {
+      return new ExactMatcher(first, caseInsensitive);
+    } else if (middles.isEmpty() && first.length > 0 && last.length == 0) {
+      return new PrefixMatcher(first, caseInsensitive);
+    } else if (middles.isEmpty() && first.length == 0 && last.length > 0) {
+      return new SuffixMatcher(last, caseInsensitive);
+    } else if (middles.size() == 1 && first.length == 0 && last.length == 0) {
+      return new ContainsMatcher(middles.get(0), caseInsensitive);
+    } else {
+      return new SegmentMatcher(first, middles.toArray(new byte[middles.size()][]), last, caseInsensitive);
+    }
+  }
+
+  private static byte toLowerCase(byte b) {
+    return b >= 'A' && b <= 'Z' ? (byte) (b + ('a' - 'A')) : b;
+  }
+
+  /**
+   * @return True if bytes from a given offset are equal to a given literal
+   */
+  static boolean regionMatches(byte [] bytes, int offset, byte [] literal, boolean caseInsensitive) {
+    if (caseInsensitive) {
+      for (int i = 0; i < literal.length; i++) {
+        if (toLowerCase(bytes[offset + i]) != literal[i]) {
+          return false;
+        }
+      }
+    } else {
+      for (int i = 0; i < literal.length; i++) {
+        if (bytes[offset + i] != literal[i]) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Finds the first occurrence of a literal between from and to. It scans for the first byte of the literal, and
+   * compares the rest only if the first byte matches.
+   *
+   * @return The offset of the occurrence or -1
+   */
+  static int indexOf(byte [] bytes, int from, int to, byte [] literal, boolean caseInsensitive) {
+    if (literal.length == 0) {
+      return from;
+    }
+
+    byte head = literal[0];
+    int max = to - literal.length;
+    for (int i = from; i <= max; i++) {
+      byte b = caseInsensitive ? toLowerCase(bytes[i]) : bytes[i];
+      if (b == head && regionMatches(bytes, i, literal, caseInsensitive)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  static class ExactMatcher extends BytePatternMatcher {
+    private final byte [] literal;
+    private final boolean caseInsensitive;
+
+    ExactMatcher(byte [] literal, boolean caseInsensitive) {
+      this.literal = literal;
+      this.caseInsensitive = caseInsensitive;
+    }
+
+    @Override
+    public boolean matches(byte [] bytes) {
+      return bytes.length == literal.length && regionMatches(bytes, 0, literal, caseInsensitive);
+    }
+  }
+
+  static class PrefixMatcher extends BytePatternMatcher {
+    private final byte [] prefix;
+    private final boolean caseInsensitive;
+
+    PrefixMatcher(byte [] prefix, boolean caseInsensitive) {
+      this.prefix = prefix;
+      this.caseInsensitive = caseInsensitive;
+    }
+
+    @Override
+    public boolean matches(byte [] bytes) {
+      return bytes.length >= prefix.length && regionMatches(bytes, 0, prefix, caseInsensitive);
+    }
+  }
+
+  static class SuffixMatcher extends BytePatternMatcher {
+    private final byte [] suffix;
+    private final boolean caseInsensitive;
+
+    SuffixMatcher(byte [] suffix, boolean caseInsensitive) {
+      this.suffix = suffix;
+      this.caseInsensitive = caseInsensitive;
+    }
+
+    @Override
+    public boolean matches(byte [] bytes) {
+      return bytes.length >= suffix.length && regionMatches(bytes, bytes.length - suffix.length, suffix,
+          caseInsensitive);
+    }
+  }
+
+  static class ContainsMatcher extends BytePatternMatcher {
+    private final byte [] literal;
+    private final boolean caseInsensitive;
+
+    ContainsMatcher(byte [] literal, boolean caseInsensitive) {
+      this.literal = literal;
+      this.caseInsensitive = caseInsensitive;
+    }
+
+    @Override
+    public boolean matches(byte [] bytes) {
+      return indexOf(bytes, 0, bytes.length, literal, caseInsensitive) >= 0;
+    }
+  }
+
+  /**
+   * It matches a pattern like 'first%middle1%middle2%last'. Since '%' matches anything, taking the first occurrence
+   * of each middle literal never misses a match.
+   */
+  static class SegmentMatcher extends BytePatternMatcher {
+    private final byte [] first;
+    private final byte [][] middles;
+    private final byte [] last;
+    private final int minLength;
+    private final boolean caseInsensitive;
+
+    SegmentMatcher(byte [] first, byte [][] middles, byte [] last, boolean caseInsensitive) {
+      this.first = first;
+      this.middles = middles;
+      this.last = last;
+      this.caseInsensitive = caseInsensitive;
+
+      int length = first.length + last.length;
+      for (byte [] middle : middles) {
+        length += middle.length;
+      }
+      this.minLength = length;
+    }
+
+    @Override
+    public boolean matches(byte [] bytes) {
+      if (bytes.length < minLength) {
+        return false;
+      }
+
+      int end = bytes.length - last.length;
+      if (!regionMatches(bytes, 0, first, caseInsensitive) || !regionMatches(bytes, end, last, caseInsensitive)) {
+        return false;
+      }
+
+      int offset = first.length;
+      for (byte [] middle : middles) {
+        int found = indexOf(bytes, offset, end, middle, caseInsensitive);
+        if (found < 0) {
+          return false;
+        }
+        offset = found + middle.length;
+      }
+      return true;
+    }
+  }
+}
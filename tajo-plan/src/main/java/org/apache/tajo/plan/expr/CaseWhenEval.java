@@ -105,8 +105,9 @@ public class CaseWhenEval extends EvalNode implements GsonObject {
   }
 
   public Datum eval(Schema schema, Tuple tuple) {
+    // conditions are evaluated as datums, because typed evaluation is not thread-safe.
     for (int i = 0; i < whens.size(); i++) {
-      if (whens.get(i).checkIfCondition(schema, tuple)) {
+      if (whens.get(i).getCondition().eval(schema, tuple).isTrue()) {
         return whens.get(i).eval(schema, tuple);
       }
     }
@@ -118,6 +119,66 @@ public class CaseWhenEval extends EvalNode implements GsonObject {
     return NullDatum.get();
   }
 
+  @Override
+  public long evalLong(Schema schema, Tuple tuple) {
+    EvalNode result = findResult(schema, tuple);
+    if (result == null) {
+      nullResult = true;
+      return 0;
+    }
+    long value = result.evalLong(schema, tuple);
+    nullResult = result.wasNull();
+    return value;
+  }
+
+  @Override
+  public double evalDouble(Schema schema, Tuple tuple) {
+    EvalNode result = findResult(schema, tuple);
+    if (result == null) {
+      nullResult = true;
+      return 0;
+    }
+    double value = result.evalDouble(schema, tuple);
+    nullResult = result.wasNull();
+    return value;
+  }
+
+  @Override
+  public boolean evalBoolean(Schema schema, Tuple tuple) {
+    EvalNode result = findResult(schema, tuple);
+    if (result == null) {
+      nullResult = true;
+      return false;
+    }
+    boolean value = result.evalBoolean(schema, tuple);
+    nullResult = result.wasNull();
+    return value;
+  }
+
+  @Override
+  public byte [] evalBytes(Schema schema, Tuple tuple) {
+    EvalNode result = findResult(schema, tuple);
+    if (result == null) {
+      nullResult = true;
+      return null;
+    }
+    byte [] value = result.evalBytes(schema, tuple);
+    nullResult = result.wasNull();
+    return value;
+  }
+
+  /**
+   * @return The result of the first matched condition, the else result, or null without else clause
+   */
+  private EvalNode findResult(Schema schema, Tuple tuple) {
+    for (int i = 0; i < whens.size(); i++) {
+      if (whens.get(i).checkIfCondition(schema, tuple)) {
+        return whens.get(i).getResult();
+      }
+    }
+    return elseResult;
+  }
+
   @Override
   public String toString() {
     StringBuilder sb = new StringBuilder("CASE ");
@@ -216,7 +277,7 @@ public class CaseWhenEval extends EvalNode implements GsonObject {
     }
 
     public boolean checkIfCondition(Schema schema, Tuple tuple) {
-      return condition.eval(schema, tuple).isTrue();
+      return condition.evalBoolean(schema, tuple);
     }
 
     public Datum eval(Schema schema, Tuple tuple) {
@@ -20,6 +20,8 @@ package org.apache.tajo.plan.expr;
 
 import com.google.gson.annotations.Expose;
 import org.apache.tajo.catalog.Schema;
+import org.apache.tajo.common.TajoDataTypes.Type;
+import org.apache.tajo.common.type.TajoTypeUtil;
 import org.apache.tajo.datum.Datum;
 import org.apache.tajo.datum.DatumFactory;
 import org.apache.tajo.storage.Tuple;
@@ -28,6 +30,8 @@ import static org.apache.tajo.common.TajoDataTypes.DataType;
 
 public class CastEval extends UnaryEval {
   @Expose private DataType target;
+  /** the type of the operand used by typed evaluation */
+  private transient Type operandType;
 
   public CastEval(EvalNode operand, DataType target) {
     super(EvalType.CAST, operand);
@@ -38,6 +42,12 @@ public class CastEval extends UnaryEval {
     return child;
   }
 
+  @Override
+  public void setChild(EvalNode child) {
+    super.setChild(child);
+    this.operandType = null;
+  }
+
   @Override
   public DataType getValueType() {
     return target;
@@ -57,6 +67,53 @@ public class CastEval extends UnaryEval {
     return DatumFactory.cast(operandDatum, target);
   }
 
+  @Override
+  public long evalLong(Schema schema, Tuple tuple) {
+    Type targetType = target.getType();
+    if ((targetType != Type.INT2 && targetType != Type.INT4 && targetType != Type.INT8) || !isNumericOperand()) {
+      return super.evalLong(schema, tuple);
+    }
+
+    // it narrows a value like the corresponding datum does
+    if (TajoTypeUtil.isIntegral(operandType)) {
+      long value = child.evalLong(schema, tuple);
+      nullResult = child.wasNull();
+      return targetType == Type.INT2 ? (short) value : (targetType == Type.INT4 ? (int) value : value);
+    } else {
+      double value = child.evalDouble(schema, tuple);
+      nullResult = child.wasNull();
+      return targetType == Type.INT2 ? (short) value : (targetType == Type.INT4 ? (int) value : (long) value);
+    }
+  }
+
+  @Override
+  public double evalDouble(Schema schema, Tuple tuple) {
+    Type targetType = target.getType();
+    if (!TajoTypeUtil.isNumeric(targetType) || !isNumericOperand()) {
+      return super.evalDouble(schema, tuple);
+    }
+    if (TajoTypeUtil.isIntegral(targetType)) {
+      return evalLong(schema, tuple);
+    }
+
+    if (TajoTypeUtil.isIntegral(operandType)) {
+      long value = child.evalLong(schema, tuple);
+      nullResult = child.wasNull();
+      return targetType == Type.FLOAT4 ? (float) value : (double) value;
+    } else {
+      double value = child.evalDouble(schema, tuple);
+      nullResult = child.wasNull();
+      return targetType == Type.FLOAT4 ? (float) value : value;
+    }
+  }
+
+  private boolean isNumericOperand() {
+    if (operandType == null) {
+      operandType = child.getValueType().getType();
+    }
+    return TajoTypeUtil.isNumeric(operandType);
+  }
+
   public String toString() {
     return "CAST (" + child + " AS " + target.getType() + ")";
   }
@@ -0,0 +1,445 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.plan.expr;
+
+import org.apache.tajo.catalog.Column;
+import org.apache.tajo.catalog.Schema;
+import org.apache.tajo.common.TajoDataTypes.Type;
+
+import java.util.*;
+
+/**
+ * It eliminates common subexpressions of a selection condition and projection targets, which are evaluated for
+ * each row. A subexpression occurring more than once is evaluated once into a hidden column, and its occurrences are
+ * replaced by references to the column. The hidden columns follow the input columns in {@link #getSchema()}, and
+ * {@link #getSharedExprs()} returns the expressions computing them in the order of evaluation.
+ *
+ * The hidden columns referred to by the selection condition are computed before the condition, and the others are
+ * computed only for rows satisfying the condition. A subexpression is shared only if one of its occurrences is
+ * always evaluated by the condition or the targets computed together with its column. Thus, no expression is
+ * evaluated for a row which would not evaluate it otherwise. Only deterministic subexpressions including a function
+ * call or a pattern match are shared, because the others are as cheap as reading a hidden column.
+ */
+public class CommonSubexprElimination {
+  public static final String HIDDEN_COLUMN_PREFIX = "?cse_";
+
+  private static final int QUAL_PHASE = 0;
+  private static final int TARGET_PHASE = 1;
+  private static final int NO_PHASE = Integer.MAX_VALUE;
+
+  private static final Set<String> NON_DETERMINISTIC_FUNCTIONS = new HashSet<String>(Arrays.asList("random"));
+  /** the types of values which are read from and written to hidden columns without conversion */
+  private static final Set<Type> SHARABLE_TYPES = EnumSet.of(Type.BOOLEAN, Type.INT2, Type.INT4, Type.INT8,
+      Type.FLOAT4, Type.FLOAT8, Type.TEXT);
+
+  private final Schema schema;
+  private final EvalNode qual;
+  private final EvalNode [] targets;
+  private final EvalNode [] sharedExprs;
+  private final int qualSharedNum;
+
+  private CommonSubexprElimination(Schema schema, EvalNode qual, EvalNode [] targets, EvalNode [] sharedExprs,
+                                   int qualSharedNum) {
+    this.schema = schema;
+    this.qual = qual;
+    this.targets = targets;
+    this.sharedExprs = sharedExprs;
+    this.qualSharedNum = qualSharedNum;
+  }
+
+  public static CommonSubexprElimination eliminate(Schema inSchema, EvalNode qual, EvalNode [] targets) {
+    return eliminate(inSchema, qual, targets, Collections.<EvalType>emptySet());
+  }
+
+  /**
+   * @param inSchema The schema of input tuples
+   * @param qual The selection condition. It can be null if there is no condition.
+   * @param targets The eval trees of projection targets
+   * @param opaqueTypes The types of evals whose children must not be replaced by hidden columns, though the evals
+   *                    themselves can be.
+   */
+  public static CommonSubexprElimination eliminate(Schema inSchema, EvalNode qual, EvalNode [] targets,
+                                                   Set<EvalType> opaqueTypes) {
+    List<Tree> trees = new ArrayList<Tree>();
+    Tree qualTree = null;
+    if (qual != null) {
+      qualTree = new Tree(cloneEval(qual), QUAL_PHASE, null);
+      trees.add(qualTree);
+    }
+    Tree [] targetTrees = new Tree[targets.length];
+    for (int i = 0; i < targets.length; i++) {
+      targetTrees[i] = new Tree(cloneEval(targets[i]), TARGET_PHASE, null);
+      trees.add(targetTrees[i]);
+    }
+
+    List<Tree> definitions = new ArrayList<Tree>();
+    Group shared;
+    while ((shared = findSharedExpr(trees, opaqueTypes)) != null) {
+      FieldEval column = new FieldEval(HIDDEN_COLUMN_PREFIX + definitions.size(), shared.expr.getValueType());
+      Tree definition = new Tree(cloneEval(shared.expr), shared.phase, column);
+      for (Tree tree : trees) {
+        if (tree.phase >= shared.phase) {
+          tree.root = replace(tree.root, shared.expr, column, !tree.isDefinition(), opaqueTypes);
+        }
+      }
+      definitions.add(definition);
+      trees.add(definition);
+    }
+
+    if (definitions.isEmpty()) {
+      return new CommonSubexprElimination(inSchema, qual, targets, new EvalNode[0], 0);
+    }
+
+    List<Tree> ordered = orderDefinitions(definitions);
+    Schema schema = new Schema(inSchema);
+    EvalNode [] sharedExprs = new EvalNode[ordered.size()];
+    int qualSharedNum = 0;
+    for (int i = 0; i < sharedExprs.length; i++) {
+      Tree definition = ordered.get(i);
+      schema.addColumn(definition.column.getColumnRef());
+      sharedExprs[i] = definition.root;
+      if (definition.phase == QUAL_PHASE) {
+        qualSharedNum++;
+      }
+    }
+    EvalNode [] rewrittenTargets = new EvalNode[targets.length];
+    for (int i = 0; i < targets.length; i++) {
+      rewrittenTargets[i] = targetTrees[i].root;
+    }
+    return new CommonSubexprElimination(schema, qualTree == null ? null : qualTree.root, rewrittenTargets,
+        sharedExprs, qualSharedNum);
+  }
+
+  public boolean hasSharedExprs() {
+    return sharedExprs.length > 0;
+  }
+
+  /**
+   * @return The input schema followed by hidden columns, against which all rewritten evals are evaluated
+   */
+  public Schema getSchema() {
+    return schema;
+  }
+
+  /**
+   * @return The evals of hidden columns in the order of the columns. Each eval refers to only input columns and
+   * preceding hidden columns.
+   */
+  public EvalNode [] getSharedExprs() {
+    return sharedExprs;
+  }
+
+  /**
+   * @return The number of leading hidden columns which must be computed before evaluating the selection condition
+   */
+  public int getQualSharedNum() {
+    return qualSharedNum;
+  }
+
+  public EvalNode getQual() {
+    return qual;
+  }
+
+  public EvalNode [] getTargets() {
+    return targets;
+  }
+
+  private static class Tree {
+    EvalNode root;
+    final int phase;
+    /** the hidden column computed by this tree, or null if it is the selection condition or a target */
+    final FieldEval column;
+
+    Tree(EvalNode root, int phase, FieldEval column) {
+      this.root = root;
+      this.phase = phase;
+      this.column = column;
+    }
+
+    boolean isDefinition() {
+      return column != null;
+    }
+  }
+
+  /**
+   * A group of equal subexpressions
+   */
+  private static class Group {
+    final EvalNode representative;
+    final int size;
+    /** the earliest phase where one of the subexpressions is always evaluated */
+    int phase = NO_PHASE;
+    /** the subexpression which is always evaluated in the phase */
+    EvalNode expr;
+    final List<Integer> occurrencePhases = new ArrayList<Integer>();
+
+    Group(EvalNode representative) {
+      this.representative = representative;
+      this.size = countNodes(representative);
+    }
+
+    void add(EvalNode node, int treePhase, boolean conditional) {
+      occurrencePhases.add(treePhase);
+      if (!conditional && treePhase < phase) {
+        phase = treePhase;
+        expr = node;
+      }
+    }
+
+    boolean isShared() {
+      if (phase == NO_PHASE) {
+        return false;
+      }
+      int replaceable = 0;
+      for (int occurrencePhase : occurrencePhases) {
+        if (occurrencePhase >= phase) {
+          replaceable++;
+        }
+      }
+      return replaceable > 1;
+    }
+  }
+
+  /**
+   * @return The largest group of subexpressions which can be shared, or null if there is no such group
+   */
+  private static Group findSharedExpr(List<Tree> trees, Set<EvalType> opaqueTypes) {
+    // some evals do not implement hashCode() consistently with equals(), so groups are found by a linear search.
+    List<Group> groups = new ArrayList<Group>();
+    for (Tree tree : trees) {
+      collect(tree.root, tree, false, !tree.isDefinition(), groups, opaqueTypes);
+    }
+
+    Group largest = null;
+    for (Group group : groups) {
+      if (group.isShared() && (largest == null || group.size > largest.size)) {
+        largest = group;
+      }
+    }
+    return largest;
+  }
+
+  private static void collect(EvalNode node, Tree tree, boolean conditional, boolean includeSelf, List<Group> groups,
+                              Set<EvalType> opaqueTypes) {
+    if (includeSelf && isCandidate(node)) {
+      Group found = null;
+      for (Group group : groups) {
+        if (group.representative.equals(node)) {
+          found = group;
+          break;
+        }
+      }
+      if (found == null) {
+        found = new Group(node);
+        groups.add(found);
+      }
+      found.add(node, tree.phase, conditional);
+    }
+
+    if (isTraversable(node, opaqueTypes)) {
+      for (int i = 0; i < node.childNum(); i++) {
+        collect(node.getChild(i), tree, conditional || isConditionalChild(node, i), true, groups, opaqueTypes);
+      }
+    }
+  }
+
+  /**
+   * @return True if the child of a given index may not be evaluated whenever its parent is evaluated
+   */
+  private static boolean isConditionalChild(EvalNode parent, int idx) {
+    switch (parent.getType()) {
+    case AND:
+    case OR:
+    case IF_THEN:
+      return idx > 0;
+    case CASE:
+      // the condition of the first when clause is always evaluated
+      return idx > 0;
+    default:
+      return false;
+    }
+  }
+
+  private static boolean isCandidate(EvalNode node) {
+    EvalType type = node.getType();
+    if (type == EvalType.FIELD || type == EvalType.CONST || type == EvalType.ROW_CONSTANT ||
+        type == EvalType.IF_THEN) {
+      return false;
+    }
+    return SHARABLE_TYPES.contains(node.getValueType().getType()) && isDeterministic(node) && hasCostlyEval(node);
+  }
+
+  /**
+   * @return True if an eval tree consists of known evals, and it returns the same result for the same row.
+   */
+  private static boolean isDeterministic(EvalNode node) {
+    EvalType type = node.getType();
+    if (type == EvalType.FIELD || type == EvalType.CONST || type == EvalType.ROW_CONSTANT) {
+      return true;
+    }
+    if (!isInnerNode(node)) {
+      // aggregation and window functions
+      return false;
+    }
+    if (type == EvalType.FUNCTION &&
+        NON_DETERMINISTIC_FUNCTIONS.contains(((FunctionEval) node).getFuncDesc().getFunctionName())) {
+      return false;
+    }
+    for (int i = 0; i < node.childNum(); i++) {
+      if (!isDeterministic(node.getChild(i))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean hasCostlyEval(EvalNode node) {
+    if (node.getType() == EvalType.FUNCTION || EvalType.isStringPatternMatchOperator(node.getType())) {
+      return true;
+    }
+    if (isInnerNode(node)) {
+      for (int i = 0; i < node.childNum(); i++) {
+        if (hasCostlyEval(node.getChild(i))) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * @return True if the children of an eval can be replaced by {@link #setChild(EvalNode, int, EvalNode)}
+   */
+  private static boolean isInnerNode(EvalNode node) {
+    return node instanceof BinaryEval || node instanceof UnaryEval || node.getType() == EvalType.FUNCTION ||
+        node instanceof BetweenPredicateEval || node instanceof CaseWhenEval ||
+        node instanceof CaseWhenEval.IfThenEval;
+  }
+
+  private static boolean isTraversable(EvalNode node, Set<EvalType> opaqueTypes) {
+    return isInnerNode(node) && !opaqueTypes.contains(node.getType());
+  }
+
+  private static int countNodes(EvalNode node) {
+    int count = 1;
+    for (int i = 0; i < node.childNum(); i++) {
+      count += countNodes(node.getChild(i));
+    }
+    return count;
+  }
+
+  private static EvalNode replace(EvalNode node, EvalNode target, FieldEval column, boolean includeSelf,
+                                  Set<EvalType> opaqueTypes) {
+    if (includeSelf && node.equals(target)) {
+      return new FieldEval(column.getColumnRef());
+    }
+    if (isTraversable(node, opaqueTypes)) {
+      for (int i = 0; i < node.childNum(); i++) {
+        EvalNode child = node.getChild(i);
+        EvalNode replaced = replace(child, target, column, true, opaqueTypes);
+        if (replaced != child) {
+          setChild(node, i, replaced);
+        }
+      }
+    }
+    return node;
+  }
+
+  private static void setChild(EvalNode parent, int idx, EvalNode child) {
+    if (parent instanceof BinaryEval) {
+      ((BinaryEval) parent).setChild(idx, child);
+    } else if (parent instanceof UnaryEval) {
+      ((UnaryEval) parent).setChild(child);
+    } else if (parent instanceof FunctionEval) {
+      FunctionEval function = (FunctionEval) parent;
+      EvalNode [] args = function.getArgs();
+      args[idx] = child;
+      function.setArgs(args);
+    } else if (parent instanceof BetweenPredicateEval) {
+      BetweenPredicateEval between = (BetweenPredicateEval) parent;
+      if (idx == 0) {
+        between.setPredicand(child);
+      } else if (idx == 1) {
+        between.setBegin(child);
+      } else {
+        between.setEnd(child);
+      }
+    } else if (parent instanceof CaseWhenEval) {
+      // when clauses are never replaced, so it must be the else clause.
+      ((CaseWhenEval) parent).setElseResult(child);
+    } else if (parent instanceof CaseWhenEval.IfThenEval) {
+      CaseWhenEval.IfThenEval ifThen = (CaseWhenEval.IfThenEval) parent;
+      if (idx == 0) {
+        ifThen.setCondition(child);
+      } else {
+        ifThen.setResult(child);
+      }
+    } else {
+      throw new IllegalStateException("Cannot replace the child of " + parent.getType());
+    }
+  }
+
+  /**
+   * Orders the definitions of hidden columns so that the columns of the selection condition come first, and each
+   * column is computed after the columns it refers to.
+   */
+  private static List<Tree> orderDefinitions(List<Tree> definitions) {
+    List<Tree> ordered = new ArrayList<Tree>();
+    Set<String> computed = new HashSet<String>();
+    for (int phase : new int[] {QUAL_PHASE, TARGET_PHASE}) {
+      List<Tree> remaining = new ArrayList<Tree>();
+      for (Tree definition : definitions) {
+        if (definition.phase == phase) {
+          remaining.add(definition);
+        }
+      }
+
+      while (!remaining.isEmpty()) {
+        Iterator<Tree> it = remaining.iterator();
+        while (it.hasNext()) {
+          Tree definition = it.next();
+          if (computed.containsAll(findHiddenColumns(definition.root))) {
+            ordered.add(definition);
+            computed.add(definition.column.getColumnRef().getSimpleName());
+            it.remove();
+          }
+        }
+      }
+    }
+    return ordered;
+  }
+
+  private static Set<String> findHiddenColumns(EvalNode node) {
+    Set<String> names = new HashSet<String>();
+    for (Column column : EvalTreeUtil.findUniqueColumns(node)) {
+      if (column.getSimpleName().startsWith(HIDDEN_COLUMN_PREFIX)) {
+        names.add(column.getSimpleName());
+      }
+    }
+    return names;
+  }
+
+  private static EvalNode cloneEval(EvalNode eval) {
+    try {
+      return (EvalNode) eval.clone();
+    } catch (CloneNotSupportedException e) {
+      throw new RuntimeException(e);
+    }
+  }
+}
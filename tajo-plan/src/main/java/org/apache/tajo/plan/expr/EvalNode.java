@@ -29,9 +29,15 @@ import org.apache.tajo.storage.Tuple;
 /**
  * An annotated expression which includes actual data domains.
  * It is also used for evaluation.
+ *
+ * Typed evaluation, such as {@link #evalLong(Schema, Tuple)} followed by {@link #wasNull()}, keeps the null state
+ * of the last row in this instance. It is not thread-safe, and an instance shared by many threads must be evaluated
+ * through {@link #eval(Schema, Tuple)}.
  */
 public abstract class EvalNode implements Cloneable, GsonObject {
 	@Expose protected EvalType type;
+  /** whether the last typed evaluation resulted in NULL */
+  protected transient boolean nullResult;
 
   public EvalNode() {
   }
@@ -59,6 +65,59 @@ public abstract class EvalNode implements Cloneable, GsonObject {
 	
 	public abstract <T extends Datum> T eval(Schema schema, Tuple tuple);
 
+  /**
+   * Evaluates this expression as a long. It is only valid for integral types. Like {@link java.sql.ResultSet},
+   * {@link #wasNull()} tells if the result is NULL, and then the returned value is meaningless.
+   *
+   * The default implementation unwraps the result of {@link #eval(Schema, Tuple)}. Subclasses override it so that
+   * arithmetic and comparisons do not create a datum for each row.
+   */
+  public long evalLong(Schema schema, Tuple tuple) {
+    Datum result = eval(schema, tuple);
+    nullResult = result.isNull();
+    return nullResult ? 0 : result.asInt8();
+  }
+
+  /**
+   * Evaluates this expression as a double. It is valid for all numeric types.
+   *
+   * @see #evalLong(Schema, Tuple)
+   */
+  public double evalDouble(Schema schema, Tuple tuple) {
+    Datum result = eval(schema, tuple);
+    nullResult = result.isNull();
+    return nullResult ? 0 : result.asFloat8();
+  }
+
+  /**
+   * Evaluates this expression as a boolean. UNKNOWN results in false, and {@link #wasNull()} tells it from FALSE.
+   *
+   * @see #evalLong(Schema, Tuple)
+   */
+  public boolean evalBoolean(Schema schema, Tuple tuple) {
+    Datum result = eval(schema, tuple);
+    nullResult = result.isNull();
+    return !nullResult && result.isTrue();
+  }
+
+  /**
+   * Evaluates this expression as bytes, which are null if the result is NULL.
+   *
+   * @see #evalLong(Schema, Tuple)
+   */
+  public byte [] evalBytes(Schema schema, Tuple tuple) {
+    Datum result = eval(schema, tuple);
+    nullResult = result.isNull();
+    return nullResult ? null : result.asByteArray();
+  }
+
+  /**
+   * @return True if the last typed evaluation resulted in NULL
+   */
+  public boolean wasNull() {
+    return nullResult;
+  }
+
   @Deprecated
   public abstract  void preOrder(EvalNodeVisitor visitor);
 
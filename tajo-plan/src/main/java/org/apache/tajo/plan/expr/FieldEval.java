@@ -22,6 +22,7 @@ import com.google.gson.annotations.Expose;
 import org.apache.tajo.catalog.Column;
 import org.apache.tajo.catalog.Schema;
 import org.apache.tajo.common.TajoDataTypes.DataType;
+import org.apache.tajo.common.TajoDataTypes.Type;
 import org.apache.tajo.datum.Datum;
 import org.apache.tajo.storage.Tuple;
 
@@ -41,6 +42,69 @@ public class FieldEval extends EvalNode implements Cloneable {
 
 	@Override
 	public Datum eval(Schema schema, Tuple tuple) {
+	  return tuple.get(getFieldId(schema));
+  }
+
+  @Override
+  public long evalLong(Schema schema, Tuple tuple) {
+    int id = getFieldId(schema);
+    nullResult = tuple.isNull(id);
+    if (nullResult) {
+      return 0;
+    }
+
+    // each tuple implementation can read only values of the field type
+    switch (column.getDataType().getType()) {
+    case INT2:
+      return tuple.getInt2(id);
+    case INT4:
+      return tuple.getInt4(id);
+    case INT8:
+      return tuple.getInt8(id);
+    default:
+      return tuple.get(id).asInt8();
+    }
+  }
+
+  @Override
+  public double evalDouble(Schema schema, Tuple tuple) {
+    int id = getFieldId(schema);
+    nullResult = tuple.isNull(id);
+    if (nullResult) {
+      return 0;
+    }
+
+    switch (column.getDataType().getType()) {
+    case INT2:
+      return tuple.getInt2(id);
+    case INT4:
+      return tuple.getInt4(id);
+    case INT8:
+      return tuple.getInt8(id);
+    case FLOAT4:
+      return tuple.getFloat4(id);
+    case FLOAT8:
+      return tuple.getFloat8(id);
+    default:
+      return tuple.get(id).asFloat8();
+    }
+  }
+
+  @Override
+  public boolean evalBoolean(Schema schema, Tuple tuple) {
+    int id = getFieldId(schema);
+    nullResult = tuple.isNull(id);
+    if (nullResult) {
+      return false;
+    }
+    if (column.getDataType().getType() == Type.BOOLEAN) {
+      return tuple.getBool(id);
+    } else {
+      return tuple.get(id).isTrue();
+    }
+  }
+
+  private int getFieldId(Schema schema) {
 	  if (fieldId == -1) {
       // TODO - column namespace should be improved to simplify name handling and resolving.
       if (column.hasQualifier()) {
@@ -52,7 +116,7 @@ public class FieldEval extends EvalNode implements Cloneable {
         throw new IllegalStateException("No Such Column Reference: " + column + ", schema: " + schema);
       }
 	  }
-	  return tuple.get(fieldId);
+    return fieldId;
   }
 
   @Override
@@ -24,10 +24,12 @@ import com.google.gson.annotations.Expose;
 import org.apache.tajo.catalog.CatalogUtil;
 import org.apache.tajo.catalog.Schema;
 import org.apache.tajo.common.TajoDataTypes;
+import org.apache.tajo.common.type.TajoTypeUtil;
 import org.apache.tajo.datum.Datum;
 import org.apache.tajo.datum.DatumFactory;
 import org.apache.tajo.datum.NullDatum;
 import org.apache.tajo.storage.Tuple;
+import org.apache.tajo.util.LongHashSet;
 
 import java.util.Set;
 
@@ -35,7 +37,9 @@ public class InEval extends BinaryEval {
   private static final TajoDataTypes.DataType RES_TYPE = CatalogUtil.newSimpleDataType(TajoDataTypes.Type.BOOLEAN);
 
   @Expose private boolean not;
-  Set<Datum> values;
+  /** the values of the list if the predicand and all values are integral */
+  private transient LongHashSet longValues;
+  private transient Set<Datum> values;
 
   public InEval(EvalNode lhs, RowConstantEval valueList, boolean not) {
     super(EvalType.IN, lhs, valueList);
@@ -56,19 +60,71 @@ public class InEval extends BinaryEval {
     return "?";
   }
 
+  /**
+   * It keeps no state in this instance, because generated code calls it on an instance shared by many threads.
+   */
   @Override
   public Datum eval(Schema schema, Tuple tuple) {
-    if (values == null) {
-      values = Sets.newHashSet(((RowConstantEval)rightExpr).getValues());
+    if (longValues == null && values == null) {
+      buildValueSet();
     }
+    LongHashSet longValues = this.longValues;
 
     Datum leftValue = leftExpr.eval(schema, tuple);
-
     if (leftValue.isNull()) {
       return NullDatum.get();
     }
 
-    return DatumFactory.createBool(not ^ values.contains(leftValue));
+    boolean contained;
+    if (longValues != null) {
+      contained = longValues.contains(leftValue.asInt8());
+    } else {
+      contained = values.contains(leftValue);
+    }
+    return DatumFactory.createBool(not ^ contained);
+  }
+
+  @Override
+  public boolean evalBoolean(Schema schema, Tuple tuple) {
+    if (longValues == null && values == null) {
+      buildValueSet();
+    }
+
+    boolean contained;
+    if (longValues != null) {
+      long leftValue = leftExpr.evalLong(schema, tuple);
+      nullResult = leftExpr.wasNull();
+      contained = !nullResult && longValues.contains(leftValue);
+    } else {
+      Datum leftValue = leftExpr.eval(schema, tuple);
+      nullResult = leftValue.isNull();
+      contained = !nullResult && values.contains(leftValue);
+    }
+    return !nullResult && (not ^ contained);
+  }
+
+  /**
+   * A long list of integral values, such as identifiers, is looked up without creating a datum for each row.
+   */
+  private void buildValueSet() {
+    Datum [] valueArray = ((RowConstantEval)rightExpr).getValues();
+
+    boolean integral = TajoTypeUtil.isIntegral(leftExpr.getValueType().getType());
+    for (int i = 0; integral && i < valueArray.length; i++) {
+      integral = valueArray[i].isNull() || TajoTypeUtil.isIntegral(valueArray[i].type());
+    }
+
+    if (integral) {
+      LongHashSet set = new LongHashSet(valueArray.length);
+      for (Datum value : valueArray) {
+        if (!value.isNull()) {
+          set.add(value.asInt8());
+        }
+      }
+      longValues = set;
+    } else {
+      values = Sets.newHashSet(valueArray);
+    }
   }
 
   @Override
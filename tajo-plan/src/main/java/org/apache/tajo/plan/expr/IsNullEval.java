@@ -61,6 +61,12 @@ public class IsNullEval extends UnaryEval {
     return DatumFactory.createBool(isNot ^ isNull);
   }
 
+  @Override
+  public boolean evalBoolean(Schema schema, Tuple tuple) {
+    nullResult = false;
+    return isNot ^ child.eval(schema, tuple).isNull();
+  }
+
   public boolean isNot() {
     return isNot;
   }
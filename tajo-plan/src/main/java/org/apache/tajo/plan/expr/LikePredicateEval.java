@@ -34,13 +34,18 @@ public class LikePredicateEval extends PatternMatchPredicateEval {
   }
 
   protected void compile(String pattern) throws PatternSyntaxException {
+    this.byteMatcher = BytePatternMatcher.compileLike(pattern, caseInsensitive);
+    if (byteMatcher != null) {
+      return;
+    }
+
     String escaped = StringUtils.escapeRegexp(pattern);
     String regex = escaped.replace("_", ".").replace("%", ".*");
     int flags = Pattern.DOTALL;
     if (caseInsensitive) {
       flags |= Pattern.CASE_INSENSITIVE;
     }
-    this.compiled = Pattern.compile(regex, flags);
+    this.compiled = compileRegex(regex, flags);
   }
 
   public boolean isLeadingWildCard() {
@@ -49,6 +49,13 @@ public class NotEval extends UnaryEval implements Cloneable {
     return !datum.isNull() ? DatumFactory.createBool(!datum.asBool()) : datum;
   }
 
+  @Override
+  public boolean evalBoolean(Schema schema, Tuple tuple) {
+    boolean value = child.evalBoolean(schema, tuple);
+    nullResult = child.wasNull();
+    return !nullResult && !value;
+  }
+
   @Override
   public String toString() {
     return "NOT " + child.toString();
@@ -18,6 +18,7 @@
 
 package org.apache.tajo.plan.expr;
 
+import com.google.common.base.Objects;
 import com.google.gson.annotations.Expose;
 import org.apache.tajo.catalog.CatalogUtil;
 import org.apache.tajo.catalog.Schema;
@@ -26,13 +27,30 @@ import org.apache.tajo.common.TajoDataTypes.DataType;
 import org.apache.tajo.datum.Datum;
 import org.apache.tajo.datum.DatumFactory;
 import org.apache.tajo.datum.NullDatum;
+import org.apache.tajo.datum.TextDatum;
 import org.apache.tajo.storage.Tuple;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 
 public abstract class PatternMatchPredicateEval extends BinaryEval {
   private static final DataType RES_TYPE = CatalogUtil.newSimpleDataType(TajoDataTypes.Type.BOOLEAN);
+  private static final int MAX_CACHED_PATTERN_NUM = 256;
+
+  /** results of {@link #evalThreeValued(Schema, Tuple)} */
+  public static final byte UNKNOWN = 0;
+  public static final byte TRUE = 1;
+  public static final byte FALSE = 2;
+
+  /** compiled regular expressions shared by all queries, because compiling them is expensive */
+  private static final Map<String, Pattern> PATTERN_CACHE = new LinkedHashMap<String, Pattern>(16, 0.75f, true) {
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<String, Pattern> eldest) {
+      return size() > MAX_CACHED_PATTERN_NUM;
+    }
+  };
 
   @Expose protected boolean not;
   @Expose protected String pattern;
@@ -40,6 +58,8 @@ public abstract class PatternMatchPredicateEval extends BinaryEval {
 
   // transient variables
   protected Pattern compiled;
+  /** if it is set by {@link #compile(String)}, it is used instead of the regular expression */
+  protected BytePatternMatcher byteMatcher;
 
   public PatternMatchPredicateEval(EvalType evalType, boolean not, EvalNode predicand, ConstEval pattern,
                                    boolean caseInsensitive) {
@@ -55,6 +75,21 @@ public abstract class PatternMatchPredicateEval extends BinaryEval {
 
   abstract void compile(String pattern) throws PatternSyntaxException;
 
+  /**
+   * Compiles a regular expression, or returns the one compiled already.
+   */
+  protected static Pattern compileRegex(String regex, int flags) throws PatternSyntaxException {
+    String key = flags + ":" + regex;
+    synchronized (PATTERN_CACHE) {
+      Pattern pattern = PATTERN_CACHE.get(key);
+      if (pattern == null) {
+        pattern = Pattern.compile(regex, flags);
+        PATTERN_CACHE.put(key, pattern);
+      }
+      return pattern;
+    }
+  }
+
   public boolean isNot() {
     return not;
   }
@@ -73,18 +108,62 @@ public abstract class PatternMatchPredicateEval extends BinaryEval {
     return "?";
   }
 
+  @Override
+  public boolean equals(Object obj) {
+    if (obj instanceof PatternMatchPredicateEval) {
+      PatternMatchPredicateEval other = (PatternMatchPredicateEval) obj;
+      return super.equals(obj) && not == other.not && caseInsensitive == other.caseInsensitive &&
+          pattern.equals(other.pattern);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hashCode(super.hashCode(), not, caseInsensitive, pattern);
+  }
+
   @Override
   public Datum eval(Schema schema, Tuple tuple) {
-    if (this.compiled == null) {
+    byte result = evalThreeValued(schema, tuple);
+    return result == UNKNOWN ? NullDatum.get() : DatumFactory.createBool(result == TRUE);
+  }
+
+  @Override
+  public boolean evalBoolean(Schema schema, Tuple tuple) {
+    byte result = evalThreeValued(schema, tuple);
+    nullResult = result == UNKNOWN;
+    return result == TRUE;
+  }
+
+  /**
+   * Evaluates this predicate without keeping any state in this instance, so it can be called concurrently.
+   *
+   * @return {@link #UNKNOWN} if the predicand is NULL, and otherwise {@link #TRUE} or {@link #FALSE}.
+   * They are the same as the three valued logic of the generated code.
+   */
+  public byte evalThreeValued(Schema schema, Tuple tuple) {
+    BytePatternMatcher byteMatcher = this.byteMatcher;
+    Pattern compiled = this.compiled;
+    if (compiled == null && byteMatcher == null) {
       compile(this.pattern);
+      byteMatcher = this.byteMatcher;
+      compiled = this.compiled;
     }
 
     Datum predicand = leftExpr.eval(schema, tuple);
     if (predicand.isNull()) {
-      return NullDatum.get();
+      return UNKNOWN;
     }
 
-    boolean matched = compiled.matcher(predicand.asChars()).matches();
-    return DatumFactory.createBool(matched ^ not);
+    boolean matched;
+    if (byteMatcher != null) {
+      byte [] bytes = predicand.type() == TajoDataTypes.Type.TEXT ?
+          predicand.asTextBytes() : predicand.asChars().getBytes(TextDatum.DEFAULT_CHARSET);
+      matched = byteMatcher.matches(bytes);
+    } else {
+      matched = compiled.matcher(predicand.asChars()).matches();
+    }
+    return matched ^ not ? TRUE : FALSE;
   }
-}
\ No newline at end of file
+}
@@ -44,7 +44,7 @@ public class RegexPredicateEval extends PatternMatchPredicateEval {
     if (caseInsensitive) {
       flags |= Pattern.CASE_INSENSITIVE;
     }
-    this.compiled = Pattern.compile(StringEscapeUtils.unescapeJava(regex), flags);
+    this.compiled = compileRegex(StringEscapeUtils.unescapeJava(regex), flags);
   }
 
   @Override
@@ -23,6 +23,8 @@ import java.util.regex.PatternSyntaxException;
 
 public class SimilarToPredicateEval extends PatternMatchPredicateEval {
   private static final String SIMILARTO_ESCAPE_SPATIAL_CHARACTERS = "([.])";
+  /** a pattern without these characters is equivalent to a LIKE pattern */
+  private static final String REGEX_CHARACTERS = "\\^$.|?*+()[]{}";
 
   public SimilarToPredicateEval(boolean not, EvalNode field, ConstEval pattern,
                                 @SuppressWarnings("unused") boolean isCaseSensitive) {
@@ -35,12 +37,28 @@ public class SimilarToPredicateEval extends PatternMatchPredicateEval {
 
   @Override
   protected void compile(String pattern) throws PatternSyntaxException {
+    if (!containsAny(pattern, REGEX_CHARACTERS)) {
+      this.byteMatcher = BytePatternMatcher.compileLike(pattern, false);
+      if (byteMatcher != null) {
+        return;
+      }
+    }
+
     String regex = pattern.replaceAll(SIMILARTO_ESCAPE_SPATIAL_CHARACTERS, "\\\\$1");
     regex = regex.replace("_", ".").replace("%", ".*"); // transform some special characters to be 'like'.
 
-    this.compiled = Pattern.compile(regex, Pattern.DOTALL);
+    this.compiled = compileRegex(regex, Pattern.DOTALL);
+  }
+
+  private static boolean containsAny(String str, String characters) {
+    for (int i = 0; i < characters.length(); i++) {
+      if (str.indexOf(characters.charAt(i)) >= 0) {
+        return true;
+      }
+    }
+    return false;
   }
-  
+
   @Override
   public String toString() {
     return leftExpr.toString() + " SIMILAR TO '" + pattern + "'";
@@ -26,6 +26,7 @@ import org.apache.tajo.common.TajoDataTypes.DataType;
 import org.apache.tajo.datum.Datum;
 import org.apache.tajo.plan.function.AggFunction;
 import org.apache.tajo.plan.function.FunctionContext;
+import org.apache.tajo.plan.function.RemovableAccumulator;
 import org.apache.tajo.plan.logical.WindowSpec;
 import org.apache.tajo.storage.Tuple;
 import org.apache.tajo.storage.VTuple;
@@ -64,6 +65,21 @@ public class WindowFunctionEval extends AggregationFunctionCallEval implements C
   }
 
   public void merge(FunctionContext context, Schema schema, Tuple tuple) {
+    instance.eval(context, evalParams(schema, tuple));
+  }
+
+  /**
+   * @return True if rows leaving a window frame can be taken back by {@link #remove(FunctionContext, Schema, Tuple)}
+   */
+  public boolean isRemovable() {
+    return instance instanceof RemovableAccumulator;
+  }
+
+  public void remove(FunctionContext context, Schema schema, Tuple tuple) {
+    ((RemovableAccumulator) instance).remove(context, evalParams(schema, tuple));
+  }
+
+  private Tuple evalParams(Schema schema, Tuple tuple) {
     if (params == null) {
       this.params = new VTuple(argEvals.length);
     }
@@ -73,8 +89,7 @@ public class WindowFunctionEval extends AggregationFunctionCallEval implements C
         params.put(i, argEvals[i].eval(schema, tuple));
       }
     }
-
-    instance.eval(context, params);
+    return params;
   }
 
   public Datum terminate(FunctionContext context) {
@@ -0,0 +1,30 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.plan.function;
+
+/**
+ * An aggregation function which can be updated with a primitive long value. Generated aggregation code calls it
+ * in the first phase instead of {@link AggFunction#eval(FunctionContext, org.apache.tajo.storage.Tuple)}, so that
+ * an argument is neither boxed into a Datum nor put into a tuple. It is never called with null values.
+ *
+ * An implementation must give the same result as its <code>eval()</code> for an integer argument.
+ */
+public interface LongAccumulator {
+  void accumulate(FunctionContext ctx, long value);
+}
@@ -0,0 +1,33 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.plan.function;
+
+import org.apache.tajo.storage.Tuple;
+
+/**
+ * An aggregation function which can take back values given to
+ * {@link AggFunction#eval(FunctionContext, org.apache.tajo.storage.Tuple)}. A window operator calls it when a row
+ * leaves a moving window frame, so that it does not aggregate all rows in the frame again for each row.
+ *
+ * After <code>remove()</code>, a context must give the same result as if the removed values were never evaluated,
+ * except for rounding errors of floating point values.
+ */
+public interface RemovableAccumulator {
+  void remove(FunctionContext ctx, Tuple params);
+}
@@ -226,12 +226,26 @@ public class GreedyHeuristicJoinOrderAlgorithm implements JoinOrderAlgorithm {
     }
 
     if (foundJoinEdge == null) {
+      // the right side of a semi or anti join can be joined only with its left side.
+      if (hasSemiJoinInnerRelation(plan, graph, outer) || hasSemiJoinInnerRelation(plan, graph, inner)) {
+        return null;
+      }
       foundJoinEdge = new JoinEdge(JoinType.CROSS, outer, inner);
     }
 
     return foundJoinEdge;
   }
 
+  private static boolean hasSemiJoinInnerRelation(LogicalPlan plan, JoinGraph graph, LogicalNode node)
+      throws PlanningException {
+    for (String relationName : PlannerUtil.getRelationLineageWithinQueryBlock(plan, node)) {
+      if (graph.isSemiJoinInnerRelation(relationName)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   /**
    * Getting a cost of one join
    * @param joinEdge
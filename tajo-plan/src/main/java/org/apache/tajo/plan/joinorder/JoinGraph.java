@@ -38,6 +38,8 @@ import org.apache.tajo.util.TUtil;
 import java.util.*;
 
 public class JoinGraph extends SimpleUndirectedGraph<String, JoinEdge> {
+  /** the relations in the right sides of semi and anti joins, which must not be joined with others */
+  private final Set<String> semiJoinInnerRelations = TUtil.newHashSet();
 
   private String [] guessRelationsFromJoinQual(LogicalPlan.QueryBlock block, BinaryEval joinCondition)
       throws PlanningException {
@@ -101,7 +103,8 @@ public class JoinGraph extends SimpleUndirectedGraph<String, JoinEdge> {
 
   public Collection<EvalNode> addJoin(LogicalPlan plan, LogicalPlan.QueryBlock block,
                                       JoinNode joinNode) throws PlanningException {
-    if (joinNode.getJoinType() == JoinType.LEFT_OUTER || joinNode.getJoinType() == JoinType.RIGHT_OUTER) {
+    if (joinNode.getJoinType() == JoinType.LEFT_OUTER || joinNode.getJoinType() == JoinType.RIGHT_OUTER ||
+        PlannerUtil.isLeftSemiOrAntiJoin(joinNode.getJoinType())) {
       JoinEdge edge = new JoinEdge(joinNode.getJoinType(),
             joinNode.getLeftChild(), joinNode.getRightChild(), joinNode.getJoinQual());
 
@@ -114,6 +117,9 @@ public class JoinGraph extends SimpleUndirectedGraph<String, JoinEdge> {
           TUtil.collectionToString(leftNodeRelationName, ", "),
           TUtil.collectionToString(rightNodeRelationName, ", "),
           edge);
+      if (PlannerUtil.isLeftSemiOrAntiJoin(joinNode.getJoinType())) {
+        semiJoinInnerRelations.addAll(rightNodeRelationName);
+      }
 
       Set<EvalNode> allInOneCnf = new HashSet<EvalNode>();
       allInOneCnf.add(joinNode.getJoinQual());
@@ -154,4 +160,11 @@ public class JoinGraph extends SimpleUndirectedGraph<String, JoinEdge> {
       return cnf;
     }
   }
+
+  /**
+   * @return True if a given relation is in the right side of a semi or anti join
+   */
+  public boolean isSemiJoinInnerRelation(String relationName) {
+    return semiJoinInnerRelations.contains(relationName);
+  }
 }
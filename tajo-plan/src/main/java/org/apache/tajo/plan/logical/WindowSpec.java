@@ -76,7 +76,7 @@ public class WindowSpec {
   public static class WindowFrame {
     @Expose private WindowStartBound startBound;
     @Expose private WindowEndBound endBound;
-    @Expose org.apache.tajo.algebra.WindowSpec.WindowFrameUnit unit; // TODO - to be supported
+    @Expose org.apache.tajo.algebra.WindowSpec.WindowFrameUnit unit;
 
     public WindowFrame() {
       this.startBound = new WindowStartBound(WindowFrameStartBoundType.UNBOUNDED_PRECEDING);
@@ -158,7 +158,7 @@ public class WindowSpec {
     public boolean equals(Object obj) {
       if (obj instanceof WindowStartBound) {
         WindowStartBound other = (WindowStartBound) obj;
-        return boundType == other.boundType && number.equals(other.number);
+        return boundType == other.boundType && TUtil.checkEquals(number, other.number);
       } else {
         return false;
       }
@@ -182,8 +182,8 @@ public class WindowSpec {
       return boundType;
     }
 
-    public EvalNode setNumber(EvalNode number) {
-      return number;
+    public void setNumber(EvalNode number) {
+      this.number = number;
     }
 
     public EvalNode getNumber() {
@@ -192,9 +192,9 @@ public class WindowSpec {
 
     @Override
     public boolean equals(Object obj) {
-      if (obj instanceof WindowStartBound) {
+      if (obj instanceof WindowEndBound) {
         WindowEndBound other = (WindowEndBound) obj;
-        return boundType == other.boundType && number.equals(other.number);
+        return boundType == other.boundType && TUtil.checkEquals(number, other.number);
       } else {
         return false;
       }
@@ -157,6 +157,10 @@ public class FilterPushDownRule extends BasicLogicalPlanVisitor<FilterPushDownCo
   public LogicalNode visitJoin(FilterPushDownContext context, LogicalPlan plan, LogicalPlan.QueryBlock block,
                                JoinNode joinNode,
                                Stack<LogicalNode> stack) throws PlanningException {
+    if (PlannerUtil.isLeftSemiOrAntiJoin(joinNode.getJoinType())) {
+      return visitSemiOrAntiJoin(context, plan, block, joinNode, stack);
+    }
+
     // here we should stop selection pushdown on the null supplying side(s) of an outer join
     // get the two operands of the join operation as well as the join type
     JoinType joinType = joinNode.getJoinType();
@@ -350,6 +354,36 @@ public class FilterPushDownRule extends BasicLogicalPlanVisitor<FilterPushDownCo
     return joinNode;
   }
 
+  /**
+   * The condition of a semi or anti join is kept in the join because pushing it down to the right side changes the
+   * result of an anti join. Search conditions from upper nodes are pushed down only to the left side, and the
+   * others remain for upper nodes.
+   */
+  private LogicalNode visitSemiOrAntiJoin(FilterPushDownContext context, LogicalPlan plan,
+                                          LogicalPlan.QueryBlock block, JoinNode joinNode,
+                                          Stack<LogicalNode> stack) throws PlanningException {
+    LogicalNode left = joinNode.getLeftChild();
+    List<EvalNode> notMatched = new ArrayList<EvalNode>();
+    Map<EvalNode, EvalNode> transformedMap = findCanPushdownAndTransform(context, block, joinNode, left, notMatched,
+        null, true, 0);
+    context.setFiltersTobePushed(transformedMap.keySet());
+    stack.push(joinNode);
+    visit(context, plan, block, left, stack);
+    stack.pop();
+
+    context.setToOrigin(transformedMap);
+    context.addFiltersTobePushed(notMatched);
+
+    Set<EvalNode> remains = new HashSet<EvalNode>(context.pushingDownFilters);
+    context.clear();
+    stack.push(joinNode);
+    visit(context, plan, block, joinNode.getRightChild(), stack);
+    stack.pop();
+
+    context.setFiltersTobePushed(remains);
+    return joinNode;
+  }
+
   private Map<EvalNode, EvalNode> transformEvalsWidthByPassNode(
       Collection<EvalNode> originEvals, LogicalPlan plan,
       LogicalPlan.QueryBlock block,
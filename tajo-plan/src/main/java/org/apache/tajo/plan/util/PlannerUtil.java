@@ -696,6 +696,13 @@ public class PlannerUtil {
     return joinType == JoinType.INNER;
   }
 
+  /**
+   * @return True if a join returns only the rows of the left relation which have or do not have matched rows.
+   */
+  public static boolean isLeftSemiOrAntiJoin(JoinType joinType) {
+    return joinType == JoinType.LEFT_SEMI || joinType == JoinType.LEFT_ANTI;
+  }
+
   public static boolean existsAggregationFunction(Expr expr) throws PlanningException {
     AggregationFunctionFinder finder = new AggregationFunctionFinder();
     AggFunctionFoundResult result = new AggFunctionFoundResult();
@@ -0,0 +1,86 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.plan.expr;
+
+import org.apache.tajo.datum.TextDatum;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class TestBytePatternMatcher {
+
+  private static boolean like(String str, String pattern, boolean caseInsensitive) {
+    BytePatternMatcher matcher = BytePatternMatcher.compileLike(pattern, caseInsensitive);
+    assertNotNull(matcher);
+    return matcher.matches(str.getBytes(TextDatum.DEFAULT_CHARSET));
+  }
+
+  @Test
+  public void testClassification() {
+    assertTrue(BytePatternMatcher.compileLike("abc", false) instanceof BytePatternMatcher.ExactMatcher);
+    assertTrue(BytePatternMatcher.compileLike("abc%", false) instanceof BytePatternMatcher.PrefixMatcher);
+    assertTrue(BytePatternMatcher.compileLike("%abc", false) instanceof BytePatternMatcher.SuffixMatcher);
+    assertTrue(BytePatternMatcher.compileLike("%abc%", false) instanceof BytePatternMatcher.ContainsMatcher);
+    assertTrue(BytePatternMatcher.compileLike("%%abc%%", false) instanceof BytePatternMatcher.ContainsMatcher);
+    assertTrue(BytePatternMatcher.compileLike("a%b%c", false) instanceof BytePatternMatcher.SegmentMatcher);
+
+    // they are left to regular expressions
+    assertNull(BytePatternMatcher.compileLike("a_c", false));
+    assertNull(BytePatternMatcher.compileLike("a\\%", false));
+  }
+
+  @Test
+  public void testMatches() {
+    assertTrue(like("", "", false));
+    assertTrue(like("", "%", false));
+    assertTrue(like("abc", "abc", false));
+    assertFalse(like("abcd", "abc", false));
+    assertTrue(like("abc", "ab%", false));
+    assertFalse(like("xbc", "ab%", false));
+    assertTrue(like("abc", "%bc", false));
+    assertFalse(like("c", "%bc", false));
+    assertTrue(like("abcabd", "%abd%", false));
+    assertFalse(like("abcab", "%abd%", false));
+    assertTrue(like("abxcyd", "a%c%d", false));
+    assertFalse(like("abxdyc", "a%c%d%c", false));
+    assertFalse(like("aba", "ab%ba", false));
+    assertTrue(like("abba", "ab%ba", false));
+    assertTrue(like("line1\nline2", "line1%2", false));
+  }
+
+  @Test
+  public void testCaseInsensitive() {
+    assertTrue(like("ABC", "abc", true));
+    assertTrue(like("aBc", "%B%", true));
+    assertTrue(like("xyzABC", "%abc", true));
+    assertFalse(like("ABC", "abc", false));
+
+    // only US-ASCII letters are folded like java.util.regex.Pattern.CASE_INSENSITIVE
+    assertTrue(like("Ä", "Ä", true));
+    assertFalse(like("ä", "Ä", true));
+  }
+
+  @Test
+  public void testMultiByteCharacters() {
+    assertTrue(like("한글abc", "한%", false));
+    assertTrue(like("한글abc", "%글%", false));
+    assertTrue(like("한글abc", "%bc", false));
+    assertFalse(like("한글abc", "%한", false));
+  }
+}
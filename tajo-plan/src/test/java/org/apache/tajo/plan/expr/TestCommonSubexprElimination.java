@@ -0,0 +1,235 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.plan.expr;
+
+import org.apache.tajo.catalog.CatalogUtil;
+import org.apache.tajo.catalog.Column;
+import org.apache.tajo.catalog.FunctionDesc;
+import org.apache.tajo.catalog.Schema;
+import org.apache.tajo.common.TajoDataTypes.Type;
+import org.apache.tajo.datum.Datum;
+import org.apache.tajo.datum.DatumFactory;
+import org.apache.tajo.datum.NullDatum;
+import org.apache.tajo.plan.function.GeneralFunction;
+import org.apache.tajo.storage.Tuple;
+import org.apache.tajo.storage.VTuple;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.EnumSet;
+
+import static org.apache.tajo.catalog.proto.CatalogProtos.FunctionType;
+import static org.junit.Assert.*;
+
+public class TestCommonSubexprElimination {
+  private static Schema schema;
+  private static final FieldEval name = new FieldEval("name", CatalogUtil.newSimpleDataType(Type.TEXT));
+  private static final FieldEval id = new FieldEval("id", CatalogUtil.newSimpleDataType(Type.INT4));
+  static {
+    schema = new Schema();
+    schema.addColumn("name", Type.TEXT);
+    schema.addColumn("id", Type.INT4);
+  }
+
+  public static class CountedUpper extends GeneralFunction {
+    static int calls = 0;
+
+    public CountedUpper() {
+      super(new Column[] {new Column("text", Type.TEXT)});
+    }
+
+    @Override
+    public Datum eval(Tuple params) {
+      calls++;
+      if (params.isNull(0)) {
+        return NullDatum.get();
+      }
+      return DatumFactory.createText(params.get(0).asChars().toUpperCase());
+    }
+  }
+
+  @Before
+  public void setUp() {
+    CountedUpper.calls = 0;
+  }
+
+  private static EvalNode upper(String functionName, EvalNode arg) {
+    FunctionDesc desc = new FunctionDesc(functionName, CountedUpper.class, FunctionType.GENERAL,
+        CatalogUtil.newSimpleDataType(Type.TEXT), CatalogUtil.newSimpleDataTypeArray(Type.TEXT));
+    return new GeneralFunctionEval(desc, new CountedUpper(), new EvalNode[] {arg});
+  }
+
+  private static EvalNode upper(EvalNode arg) {
+    return upper("counted_upper", arg);
+  }
+
+  private static EvalNode equalsText(EvalNode eval, String value) {
+    return new BinaryEval(EvalType.EQUAL, eval, new ConstEval(DatumFactory.createText(value)));
+  }
+
+  private static Tuple createTuple(String nameValue, int idValue) {
+    Tuple tuple = new VTuple(2);
+    tuple.put(0, DatumFactory.createText(nameValue));
+    tuple.put(1, DatumFactory.createInt4(idValue));
+    return tuple;
+  }
+
+  /**
+   * @return A tuple of input values followed by the values of hidden columns
+   */
+  private static Tuple computeSharedExprs(CommonSubexprElimination cse, Tuple in) {
+    Tuple tuple = new VTuple(cse.getSchema().size());
+    for (int i = 0; i < in.size(); i++) {
+      tuple.put(i, in.get(i));
+    }
+    EvalNode [] sharedExprs = cse.getSharedExprs();
+    for (int i = 0; i < sharedExprs.length; i++) {
+      tuple.put(in.size() + i, sharedExprs[i].eval(cse.getSchema(), tuple));
+    }
+    return tuple;
+  }
+
+  @Test
+  public void testSharedByQualAndTargets() {
+    EvalNode qual = equalsText(upper(name), "ABC");
+    EvalNode [] targets = new EvalNode[] {upper(name), id, equalsText(upper(name), "XYZ")};
+
+    CommonSubexprElimination cse = CommonSubexprElimination.eliminate(schema, qual, targets);
+    assertTrue(cse.hasSharedExprs());
+    assertEquals(1, cse.getSharedExprs().length);
+    assertEquals(1, cse.getQualSharedNum());
+    assertEquals(upper(name), cse.getSharedExprs()[0]);
+    assertEquals(schema.size() + 1, cse.getSchema().size());
+
+    String hiddenColumn = cse.getSchema().getColumn(schema.size()).getSimpleName();
+    assertTrue(hiddenColumn.startsWith(CommonSubexprElimination.HIDDEN_COLUMN_PREFIX));
+    assertEquals(EvalType.FIELD, cse.getTargets()[0].getType());
+    assertEquals(hiddenColumn, ((FieldEval) cse.getTargets()[0]).getColumnName());
+    assertEquals(id, cse.getTargets()[1]);
+
+    // the given evals are not changed
+    assertEquals(upper(name), targets[0]);
+
+    Tuple tuple = computeSharedExprs(cse, createTuple("abc", 1));
+    assertTrue(cse.getQual().eval(cse.getSchema(), tuple).asBool());
+    assertEquals("ABC", cse.getTargets()[0].eval(cse.getSchema(), tuple).asChars());
+    assertFalse(cse.getTargets()[2].eval(cse.getSchema(), tuple).asBool());
+    assertEquals(1, CountedUpper.calls);
+  }
+
+  @Test
+  public void testConditionalOccurrences() {
+    // it is evaluated only if id > 10.
+    EvalNode qual = new BinaryEval(EvalType.AND,
+        new BinaryEval(EvalType.GTH, id, new ConstEval(DatumFactory.createInt4(10))),
+        equalsText(upper(name), "ABC"));
+
+    CommonSubexprElimination cse = CommonSubexprElimination.eliminate(schema, qual, new EvalNode[] {upper(name)});
+    assertFalse(cse.hasSharedExprs());
+    assertSame(qual, cse.getQual());
+
+    // the targets share it, but it is not computed before the qual
+    cse = CommonSubexprElimination.eliminate(schema, qual, new EvalNode[] {upper(name), upper(name)});
+    assertEquals(1, cse.getSharedExprs().length);
+    assertEquals(0, cse.getQualSharedNum());
+    assertEquals(qual, cse.getQual());
+    assertEquals(EvalType.FIELD, cse.getTargets()[0].getType());
+    assertEquals(EvalType.FIELD, cse.getTargets()[1].getType());
+  }
+
+  @Test
+  public void testNestedSubexprs() {
+    EvalNode [] targets = new EvalNode[] {upper(upper(name)), upper(upper(name)), upper(name)};
+
+    CommonSubexprElimination cse = CommonSubexprElimination.eliminate(schema, null, targets);
+    EvalNode [] sharedExprs = cse.getSharedExprs();
+    assertEquals(2, sharedExprs.length);
+    assertNull(cse.getQual());
+
+    // the inner one is computed first
+    assertEquals(upper(name), sharedExprs[0]);
+    String innerColumn = cse.getSchema().getColumn(schema.size()).getSimpleName();
+    assertEquals(upper(new FieldEval(innerColumn, CatalogUtil.newSimpleDataType(Type.TEXT))), sharedExprs[1]);
+
+    Tuple tuple = computeSharedExprs(cse, createTuple("abc", 1));
+    for (EvalNode target : cse.getTargets()) {
+      assertEquals("ABC", target.eval(cse.getSchema(), tuple).asChars());
+    }
+    assertEquals(2, CountedUpper.calls);
+  }
+
+  @Test
+  public void testNotShared() {
+    EvalNode plus = new BinaryEval(EvalType.PLUS, id, new ConstEval(DatumFactory.createInt4(1)));
+    EvalNode [] targets = new EvalNode[] {plus, plus, name, name};
+    CommonSubexprElimination cse = CommonSubexprElimination.eliminate(schema, null, targets);
+    assertFalse(cse.hasSharedExprs());
+    assertSame(schema, cse.getSchema());
+    assertSame(targets, cse.getTargets());
+
+    // non-deterministic
+    targets = new EvalNode[] {upper("random", name), upper("random", name)};
+    assertFalse(CommonSubexprElimination.eliminate(schema, null, targets).hasSharedExprs());
+  }
+
+  @Test
+  public void testOpaqueTypes() {
+    EvalNode like = new LikePredicateEval(false, upper(name), new ConstEval(DatumFactory.createText("A%")), false);
+    EvalNode [] targets = new EvalNode[] {like, upper(name)};
+
+    assertTrue(CommonSubexprElimination.eliminate(schema, null, targets).hasSharedExprs());
+    CommonSubexprElimination cse = CommonSubexprElimination.eliminate(schema, null, targets,
+        EnumSet.of(EvalType.LIKE));
+    assertFalse(cse.hasSharedExprs());
+
+    // the eval itself is still shared
+    cse = CommonSubexprElimination.eliminate(schema, null, new EvalNode[] {like, like}, EnumSet.of(EvalType.LIKE));
+    assertEquals(1, cse.getSharedExprs().length);
+    assertEquals(like, cse.getSharedExprs()[0]);
+  }
+
+  @Test
+  public void testPatternMatchFlags() {
+    ConstEval pattern = new ConstEval(DatumFactory.createText("a%"));
+    EvalNode like = new LikePredicateEval(false, name, pattern, false);
+    EvalNode notLike = new LikePredicateEval(true, name, pattern, false);
+    EvalNode iLike = new LikePredicateEval(false, name, pattern, true);
+    assertFalse(like.equals(notLike));
+    assertFalse(like.equals(iLike));
+
+    // only the same predicates are shared
+    EvalNode [] targets = new EvalNode[] {like, notLike, iLike, like};
+    CommonSubexprElimination cse = CommonSubexprElimination.eliminate(schema, null, targets);
+    assertEquals(1, cse.getSharedExprs().length);
+    assertEquals(like, cse.getSharedExprs()[0]);
+
+    Tuple tuple = computeSharedExprs(cse, createTuple("Abc", 1));
+    EvalNode [] eliminated = cse.getTargets();
+    assertFalse(eliminated[0].eval(cse.getSchema(), tuple).asBool());
+    assertTrue(eliminated[1].eval(cse.getSchema(), tuple).asBool());
+    assertTrue(eliminated[2].eval(cse.getSchema(), tuple).asBool());
+    assertFalse(eliminated[3].eval(cse.getSchema(), tuple).asBool());
+
+    // a qual which is always true
+    EvalNode qual = new BinaryEval(EvalType.OR, like, notLike);
+    cse = CommonSubexprElimination.eliminate(schema, qual, new EvalNode[] {id});
+    assertFalse(cse.hasSharedExprs());
+    assertTrue(cse.getQual().eval(schema, createTuple("Abc", 1)).asBool());
+  }
+}
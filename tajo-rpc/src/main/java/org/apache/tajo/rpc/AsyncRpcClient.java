@@ -59,6 +59,16 @@ public class AsyncRpcClient extends NettyClientBase {
   AsyncRpcClient(final Class<?> protocol,
                         final InetSocketAddress addr, ClientSocketChannelFactory factory, int retries)
       throws ClassNotFoundException, NoSuchMethodException, ConnectTimeoutException {
+    this(protocol, addr, factory, retries, false);
+  }
+
+  /**
+   * @param coalesceWrites If true, concurrent calls are coalesced into a single write.
+   */
+  AsyncRpcClient(final Class<?> protocol,
+                 final InetSocketAddress addr, ClientSocketChannelFactory factory, int retries,
+                 boolean coalesceWrites)
+      throws ClassNotFoundException, NoSuchMethodException, ConnectTimeoutException {
 
     this.protocol = protocol;
     String serviceClassName = protocol.getName() + "$"
@@ -68,7 +78,7 @@ public class AsyncRpcClient extends NettyClientBase {
 
     this.handler = new ClientChannelUpstreamHandler();
     pipeFactory = new ProtoPipelineFactory(handler,
-        RpcResponse.getDefaultInstance());
+        RpcResponse.getDefaultInstance(), coalesceWrites);
     super.init(addr, pipeFactory, factory, retries);
     rpcChannel = new ProxyRpcChannel();
     this.key = new RpcConnectionKey(addr, protocol, true);
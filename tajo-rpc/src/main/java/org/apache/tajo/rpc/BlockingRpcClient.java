@@ -62,6 +62,16 @@ public class BlockingRpcClient extends NettyClientBase {
   BlockingRpcClient(final Class<?> protocol,
                            final InetSocketAddress addr, ClientSocketChannelFactory factory, int retries)
       throws ClassNotFoundException, NoSuchMethodException, ConnectTimeoutException {
+    this(protocol, addr, factory, retries, false);
+  }
+
+  /**
+   * @param coalesceWrites If true, concurrent calls are coalesced into a single write.
+   */
+  BlockingRpcClient(final Class<?> protocol,
+                    final InetSocketAddress addr, ClientSocketChannelFactory factory, int retries,
+                    boolean coalesceWrites)
+      throws ClassNotFoundException, NoSuchMethodException, ConnectTimeoutException {
 
     this.protocol = protocol;
     String serviceClassName = protocol.getName() + "$"
@@ -72,7 +82,7 @@ public class BlockingRpcClient extends NettyClientBase {
 
     this.handler = new ClientChannelUpstreamHandler();
     pipeFactory = new ProtoPipelineFactory(handler,
-        RpcResponse.getDefaultInstance());
+        RpcResponse.getDefaultInstance(), coalesceWrites);
     super.init(addr, pipeFactory, factory, retries);
     rpcChannel = new ProxyRpcChannel();
 
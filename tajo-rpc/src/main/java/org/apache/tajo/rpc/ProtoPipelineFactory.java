@@ -24,26 +24,38 @@ import org.jboss.netty.channel.ChannelPipelineFactory;
 import org.jboss.netty.channel.ChannelUpstreamHandler;
 import org.jboss.netty.channel.Channels;
 import org.jboss.netty.handler.codec.protobuf.ProtobufDecoder;
-import org.jboss.netty.handler.codec.protobuf.ProtobufEncoder;
 import org.jboss.netty.handler.codec.protobuf.ProtobufVarint32FrameDecoder;
-import org.jboss.netty.handler.codec.protobuf.ProtobufVarint32LengthFieldPrepender;
 
 public class ProtoPipelineFactory implements ChannelPipelineFactory {
+  private static final RpcFrameEncoder FRAME_ENCODER = new RpcFrameEncoder();
+
   private final ChannelUpstreamHandler handler;
   private final MessageLite defaultInstance;
+  private final boolean coalesceWrites;
 
   public ProtoPipelineFactory(ChannelUpstreamHandler handlerFactory,
       MessageLite defaultInstance) {
+    this(handlerFactory, defaultInstance, false);
+  }
+
+  /**
+   * @param coalesceWrites If true, frames written concurrently to a channel are coalesced into a single write.
+   */
+  public ProtoPipelineFactory(ChannelUpstreamHandler handlerFactory,
+      MessageLite defaultInstance, boolean coalesceWrites) {
     this.handler = handlerFactory;
     this.defaultInstance = defaultInstance;
+    this.coalesceWrites = coalesceWrites;
   }
 
   public ChannelPipeline getPipeline() throws Exception {
     ChannelPipeline p = Channels.pipeline();
+    if (coalesceWrites) {
+      p.addLast("writeCoalescer", new RpcWriteCoalescer());
+    }
     p.addLast("frameDecoder", new ProtobufVarint32FrameDecoder());
     p.addLast("protobufDecoder", new ProtobufDecoder(defaultInstance));
-    p.addLast("frameEncoder", new ProtobufVarint32LengthFieldPrepender());
-    p.addLast("protobufEncoder", new ProtobufEncoder());
+    p.addLast("frameEncoder", FRAME_ENCODER);
     p.addLast("handler", handler);
     return p;
   }
@@ -67,10 +67,13 @@ public class RpcConnectionPool {
   private NettyClientBase makeConnection(RpcConnectionKey rpcConnectionKey)
       throws NoSuchMethodException, ClassNotFoundException, ConnectTimeoutException {
     NettyClientBase client;
+    boolean coalesceWrites = conf.getBoolVar(TajoConf.ConfVars.RPC_CLIENT_WRITE_COALESCING);
     if(rpcConnectionKey.asyncMode) {
-      client = new AsyncRpcClient(rpcConnectionKey.protocolClass, rpcConnectionKey.addr, channelFactory, RPC_RETRIES);
+      client = new AsyncRpcClient(rpcConnectionKey.protocolClass, rpcConnectionKey.addr, channelFactory, RPC_RETRIES,
+          coalesceWrites);
     } else {
-      client = new BlockingRpcClient(rpcConnectionKey.protocolClass, rpcConnectionKey.addr, channelFactory, RPC_RETRIES);
+      client = new BlockingRpcClient(rpcConnectionKey.protocolClass, rpcConnectionKey.addr, channelFactory, RPC_RETRIES,
+          coalesceWrites);
     }
     accepted.add(client.getChannel());
     return client;
@@ -83,16 +86,14 @@ public class RpcConnectionPool {
     NettyClientBase client = connections.get(key);
 
     if (client == null) {
-      boolean added;
-      synchronized (connections){
-        client = makeConnection(key);
-        connections.put(key, client);
-        added = true;
-      }
-
-      if (!added) {
-        client.close();
-        client = connections.get(key);
+      // connecting is done out of any lock; if another thread won the race, its connection is shared instead.
+      NettyClientBase newClient = makeConnection(key);
+      client = connections.putIfAbsent(key, newClient);
+      if (client == null) {
+        client = newClient;
+      } else {
+        accepted.remove(newClient.getChannel());
+        newClient.close();
       }
     }
 
@@ -191,12 +192,14 @@ public class RpcConnectionPool {
         return false;
       }
 
-      return toString().equals(obj.toString());
+      RpcConnectionKey other = (RpcConnectionKey) obj;
+      return asyncMode == other.asyncMode && Objects.equal(addr, other.addr)
+          && Objects.equal(protocolClass, other.protocolClass);
     }
 
     @Override
     public int hashCode() {
-      return Objects.hashCode(addr, asyncMode);
+      return Objects.hashCode(addr, protocolClass, asyncMode);
     }
   }
 }
@@ -0,0 +1,74 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.rpc;
+
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.MessageLite;
+import org.jboss.netty.buffer.ChannelBuffer;
+import org.jboss.netty.buffer.ChannelBufferFactory;
+import org.jboss.netty.buffer.ChannelBufferOutputStream;
+import org.jboss.netty.buffer.ChannelBuffers;
+import org.jboss.netty.buffer.DirectChannelBufferFactory;
+import org.jboss.netty.channel.Channel;
+import org.jboss.netty.channel.ChannelHandler.Sharable;
+import org.jboss.netty.channel.ChannelHandlerContext;
+import org.jboss.netty.handler.codec.oneone.OneToOneEncoder;
+
+/**
+ * Encodes a protobuf message into a frame prefixed by its varint32 length. It writes the same frames as
+ * ProtobufEncoder followed by ProtobufVarint32LengthFieldPrepender, but it serializes a message only once into a
+ * single buffer instead of allocating a byte array for the message and another buffer for the length field.
+ *
+ * Small frames are allocated from pooled direct buffers, so that the NIO transport writes them to a socket
+ * without copying them into its own direct buffer.
+ */
+@Sharable
+public class RpcFrameEncoder extends OneToOneEncoder {
+  /** the maximum size of a frame which is allocated from pooled direct buffers */
+  static final int MAX_DIRECT_FRAME_SIZE = 64 * 1024;
+  private static final ChannelBufferFactory DIRECT_BUFFER_FACTORY = DirectChannelBufferFactory.getInstance();
+  private static final int MAX_STREAM_BUFFER_SIZE = 4096;
+
+  @Override
+  protected Object encode(ChannelHandlerContext ctx, Channel channel, Object msg) throws Exception {
+    if (!(msg instanceof MessageLite)) {
+      return msg;
+    }
+
+    MessageLite message = (MessageLite) msg;
+    int bodyLength = message.getSerializedSize();
+    int frameLength = CodedOutputStream.computeRawVarint32Size(bodyLength) + bodyLength;
+
+    ChannelBuffer frame = allocate(frameLength);
+    CodedOutputStream out = CodedOutputStream.newInstance(new ChannelBufferOutputStream(frame),
+        Math.min(frameLength, MAX_STREAM_BUFFER_SIZE));
+    out.writeRawVarint32(bodyLength);
+    message.writeTo(out);
+    out.flush();
+    return frame;
+  }
+
+  static ChannelBuffer allocate(int length) {
+    if (length <= MAX_DIRECT_FRAME_SIZE) {
+      return DIRECT_BUFFER_FACTORY.getBuffer(length);
+    } else {
+      return ChannelBuffers.buffer(length);
+    }
+  }
+}
@@ -0,0 +1,110 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.rpc;
+
+import org.jboss.netty.buffer.ChannelBuffer;
+import org.jboss.netty.channel.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Coalesces frames which are written concurrently to a channel into a single write.
+ *
+ * Every write from a non-I/O thread is handed over to an I/O thread, which costs a wakeup of the I/O thread and
+ * a system call. When many threads call a remote service through a shared connection, a thread which writes
+ * frames collects the frames written by other threads meanwhile, and it sends them as one buffer. It never delays
+ * a frame to wait for others, so a single caller sees the same latency as before.
+ *
+ * It must be the first handler of a pipeline, so that it receives encoded frames.
+ */
+public class RpcWriteCoalescer extends SimpleChannelDownstreamHandler {
+  /** the maximum number of bytes which are coalesced into a single write */
+  static final int MAX_BATCH_BYTES = 64 * 1024;
+
+  private final Queue<MessageEvent> pending = new ConcurrentLinkedQueue<MessageEvent>();
+  private final AtomicBoolean flushing = new AtomicBoolean(false);
+
+  @Override
+  public void writeRequested(ChannelHandlerContext ctx, MessageEvent e) throws Exception {
+    if (!(e.getMessage() instanceof ChannelBuffer)) {
+      ctx.sendDownstream(e);
+      return;
+    }
+
+    pending.add(e);
+    // Only one thread writes at a time. A thread which fails to become the writer leaves its frame to the writer,
+    // and the writer checks the queue again after it gives up the role.
+    while (!pending.isEmpty() && flushing.compareAndSet(false, true)) {
+      try {
+        flush(ctx);
+      } finally {
+        flushing.set(false);
+      }
+    }
+  }
+
+  private void flush(ChannelHandlerContext ctx) {
+    MessageEvent event;
+    while ((event = pending.poll()) != null) {
+      ChannelBuffer first = (ChannelBuffer) event.getMessage();
+      MessageEvent next = pending.peek();
+      if (next == null || first.readableBytes() + readableBytes(next) > MAX_BATCH_BYTES) {
+        ctx.sendDownstream(event);
+        continue;
+      }
+
+      final List<MessageEvent> batch = new ArrayList<MessageEvent>();
+      batch.add(event);
+      int bytes = first.readableBytes();
+      while ((next = pending.peek()) != null && bytes + readableBytes(next) <= MAX_BATCH_BYTES) {
+        batch.add(pending.poll());
+        bytes += readableBytes(next);
+      }
+
+      ChannelBuffer merged = RpcFrameEncoder.allocate(bytes);
+      for (MessageEvent each : batch) {
+        ChannelBuffer frame = (ChannelBuffer) each.getMessage();
+        merged.writeBytes(frame, frame.readerIndex(), frame.readableBytes());
+      }
+
+      ChannelFuture future = Channels.future(ctx.getChannel());
+      future.addListener(new ChannelFutureListener() {
+        @Override
+        public void operationComplete(ChannelFuture future) throws Exception {
+          for (MessageEvent each : batch) {
+            if (future.isSuccess()) {
+              each.getFuture().setSuccess();
+            } else {
+              each.getFuture().setFailure(future.getCause());
+            }
+          }
+        }
+      });
+      Channels.write(ctx, future, merged, event.getRemoteAddress());
+    }
+  }
+
+  private static int readableBytes(MessageEvent event) {
+    return ((ChannelBuffer) event.getMessage()).readableBytes();
+  }
+}
@@ -270,4 +270,41 @@ public class TestBlockingRpc {
     EchoMessage response2 = stub.echo(null, message);
     assertEquals(MESSAGE, response2.getMessage());
   }
-}
\ No newline at end of file
+
+  @Test
+  public void testConcurrentCallsWithWriteCoalescing() throws Exception {
+    client.close();
+    client = new BlockingRpcClient(DummyProtocol.class,
+        NetUtils.getConnectAddress(server.getListenAddress()), clientChannelFactory, retries, true);
+    final BlockingInterface stub = client.getStub();
+
+    int threadNum = 8;
+    final int callsPerThread = 100;
+    final CountDownLatch latch = new CountDownLatch(threadNum);
+    final StringBuffer error = new StringBuffer();
+    for (int i = 0; i < threadNum; i++) {
+      final int threadId = i;
+      new Thread(new Runnable() {
+        @Override
+        public void run() {
+          try {
+            for (int j = 0; j < callsPerThread; j++) {
+              String text = MESSAGE + "-" + threadId + "-" + j;
+              EchoMessage response = stub.echo(null, EchoMessage.newBuilder().setMessage(text).build());
+              if (!text.equals(response.getMessage())) {
+                error.append("expected ").append(text).append(" but ").append(response.getMessage()).append("\n");
+              }
+            }
+          } catch (Throwable t) {
+            error.append(t.getMessage()).append("\n");
+          } finally {
+            latch.countDown();
+          }
+        }
+      }).start();
+    }
+
+    assertTrue(latch.await(60, TimeUnit.SECONDS));
+    assertEquals("", error.toString());
+  }
+}
@@ -0,0 +1,315 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.storage;
+
+import org.apache.tajo.catalog.Column;
+import org.apache.tajo.catalog.Schema;
+import org.apache.tajo.common.TajoDataTypes;
+import org.apache.tajo.datum.Datum;
+import org.apache.tajo.datum.DatumFactory;
+import org.apache.tajo.datum.IntervalDatum;
+import org.apache.tajo.exception.UnsupportedException;
+import org.apache.tajo.storage.exception.UnknownDataTypeException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * It encodes a batch of tuples into a single compressed block in column-major order, and decodes it back.
+ * Values of the same column are stored together, so a block compresses much better than rows encoded by
+ * {@link RowStoreUtil} one by one.
+ *
+ * A block consists of the length of the raw block followed by the deflated raw block. A raw block consists of
+ * the number of rows, the number of columns, and, for each column, one null flag byte per row and the values of
+ * non-null rows.
+ */
+public class ColumnarBlockUtil {
+
+  public static ColumnarBlockEncoder createEncoder(Schema schema) {
+    return new ColumnarBlockEncoder(schema);
+  }
+
+  public static ColumnarBlockDecoder createDecoder(Schema schema) {
+    return new ColumnarBlockDecoder(schema);
+  }
+
+  public static class ColumnarBlockEncoder {
+    private final Schema schema;
+    private final ByteArrayOutputStream [] nullBuffers;
+    private final ByteArrayOutputStream [] valueBuffers;
+    private final DataOutputStream [] valueOuts;
+    private int rowNum;
+
+    private ColumnarBlockEncoder(Schema schema) {
+      this.schema = schema;
+      nullBuffers = new ByteArrayOutputStream[schema.size()];
+      valueBuffers = new ByteArrayOutputStream[schema.size()];
+      valueOuts = new DataOutputStream[schema.size()];
+      for (int i = 0; i < schema.size(); i++) {
+        nullBuffers[i] = new ByteArrayOutputStream();
+        valueBuffers[i] = new ByteArrayOutputStream();
+        valueOuts[i] = new DataOutputStream(valueBuffers[i]);
+      }
+    }
+
+    public void addTuple(Tuple tuple) throws IOException {
+      for (int i = 0; i < schema.size(); i++) {
+        Column col = schema.getColumn(i);
+        if (tuple.isNull(i) || col.getDataType().getType() == TajoDataTypes.Type.NULL_TYPE) {
+          nullBuffers[i].write(1);
+          continue;
+        }
+        nullBuffers[i].write(0);
+        writeValue(valueOuts[i], col, tuple.get(i));
+      }
+      rowNum++;
+    }
+
+    private static void writeValue(DataOutputStream out, Column col, Datum datum) throws IOException {
+      switch (col.getDataType().getType()) {
+      case BOOLEAN:
+      case BIT:
+      case CHAR:
+        out.writeByte(datum.asByte());
+        break;
+      case INT2:
+        out.writeShort(datum.asInt2());
+        break;
+      case INT4:
+      case DATE:
+        out.writeInt(datum.asInt4());
+        break;
+      case INT8:
+      case TIME:
+      case TIMESTAMP:
+        out.writeLong(datum.asInt8());
+        break;
+      case FLOAT4:
+        out.writeFloat(datum.asFloat4());
+        break;
+      case FLOAT8:
+        out.writeDouble(datum.asFloat8());
+        break;
+      case INTERVAL:
+        IntervalDatum interval = (IntervalDatum) datum;
+        out.writeInt(interval.getMonths());
+        out.writeLong(interval.getMilliSeconds());
+        break;
+      case TEXT:
+      case BLOB:
+        byte [] bytes = datum.asByteArray();
+        out.writeInt(bytes.length);
+        out.write(bytes);
+        break;
+      case INET4:
+        out.write(datum.asByteArray());
+        break;
+      case INET6:
+        // TODO - to be implemented
+        throw new UnsupportedException(col.getDataType().getType().name());
+      default:
+        throw new RuntimeException(new UnknownDataTypeException(col.getDataType().getType().name()));
+      }
+    }
+
+    public int getRowNum() {
+      return rowNum;
+    }
+
+    /**
+     * @return the number of bytes of the encoded values before compression
+     */
+    public int getEncodedSize() {
+      int size = 0;
+      for (int i = 0; i < schema.size(); i++) {
+        size += nullBuffers[i].size() + valueBuffers[i].size();
+      }
+      return size;
+    }
+
+    /**
+     * Builds a compressed block from all added tuples, and resets this encoder.
+     */
+    public byte [] build() throws IOException {
+      ByteArrayOutputStream raw = new ByteArrayOutputStream(getEncodedSize() + 8 + schema.size() * 8);
+      DataOutputStream out = new DataOutputStream(raw);
+      out.writeInt(rowNum);
+      out.writeInt(schema.size());
+      for (int i = 0; i < schema.size(); i++) {
+        valueOuts[i].flush();
+        nullBuffers[i].writeTo(out);
+        out.writeInt(valueBuffers[i].size());
+        valueBuffers[i].writeTo(out);
+      }
+      out.flush();
+      byte [] rawBytes = raw.toByteArray();
+
+      ByteArrayOutputStream compressed = new ByteArrayOutputStream(rawBytes.length / 2 + 16);
+      DataOutputStream compressedOut = new DataOutputStream(compressed);
+      compressedOut.writeInt(rawBytes.length);
+      Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+      try {
+        deflater.setInput(rawBytes);
+        deflater.finish();
+        byte [] buf = new byte[64 * 1024];
+        while (!deflater.finished()) {
+          int len = deflater.deflate(buf);
+          compressedOut.write(buf, 0, len);
+        }
+      } finally {
+        deflater.end();
+      }
+      compressedOut.flush();
+
+      reset();
+      return compressed.toByteArray();
+    }
+
+    public void reset() {
+      for (int i = 0; i < schema.size(); i++) {
+        nullBuffers[i].reset();
+        valueBuffers[i].reset();
+      }
+      rowNum = 0;
+    }
+
+    public Schema getSchema() {
+      return schema;
+    }
+  }
+
+  public static class ColumnarBlockDecoder {
+    private final Schema schema;
+
+    private ColumnarBlockDecoder(Schema schema) {
+      this.schema = schema;
+    }
+
+    public Tuple [] toTuples(byte [] block) throws IOException {
+      ByteBuffer bb = ByteBuffer.wrap(inflate(block));
+      int rowNum = bb.getInt();
+      int columnNum = bb.getInt();
+      if (columnNum != schema.size()) {
+        throw new IOException("Mismatched column number: expected " + schema.size() + ", but " + columnNum);
+      }
+
+      Tuple [] tuples = new Tuple[rowNum];
+      for (int row = 0; row < rowNum; row++) {
+        tuples[row] = new VTuple(columnNum);
+      }
+
+      for (int i = 0; i < columnNum; i++) {
+        int nullOffset = bb.position();
+        bb.position(nullOffset + rowNum);
+        int valueLength = bb.getInt();
+        int valueEnd = bb.position() + valueLength;
+
+        Column col = schema.getColumn(i);
+        for (int row = 0; row < rowNum; row++) {
+          if (bb.get(nullOffset + row) != 0) {
+            tuples[row].put(i, DatumFactory.createNullDatum());
+          } else {
+            tuples[row].put(i, readValue(bb, col.getDataType()));
+          }
+        }
+
+        if (bb.position() != valueEnd) {
+          throw new IOException("Corrupted block at column " + col.getQualifiedName());
+        }
+      }
+      return tuples;
+    }
+
+    private static Datum readValue(ByteBuffer bb, TajoDataTypes.DataType type) {
+      switch (type.getType()) {
+      case BOOLEAN:
+        return DatumFactory.createBool(bb.get());
+      case BIT:
+        return DatumFactory.createBit(bb.get());
+      case CHAR:
+        return DatumFactory.createChar(bb.get());
+      case INT2:
+        return DatumFactory.createInt2(bb.getShort());
+      case INT4:
+      case DATE:
+        return DatumFactory.createFromInt4(type, bb.getInt());
+      case INT8:
+      case TIME:
+      case TIMESTAMP:
+        return DatumFactory.createFromInt8(type, bb.getLong());
+      case INTERVAL:
+        int month = bb.getInt();
+        long milliseconds = bb.getLong();
+        return new IntervalDatum(month, milliseconds);
+      case FLOAT4:
+        return DatumFactory.createFloat4(bb.getFloat());
+      case FLOAT8:
+        return DatumFactory.createFloat8(bb.getDouble());
+      case TEXT:
+        byte [] _string = new byte[bb.getInt()];
+        bb.get(_string);
+        return DatumFactory.createText(_string);
+      case BLOB:
+        byte [] _bytes = new byte[bb.getInt()];
+        bb.get(_bytes);
+        return DatumFactory.createBlob(_bytes);
+      case INET4:
+        byte [] _ipv4 = new byte[4];
+        bb.get(_ipv4);
+        return DatumFactory.createInet4(_ipv4);
+      case INET6:
+        // TODO - to be implemented
+        throw new UnsupportedException(type.getType().name());
+      default:
+        throw new RuntimeException(new UnknownDataTypeException(type.getType().name()));
+      }
+    }
+
+    private static byte [] inflate(byte [] block) throws IOException {
+      int rawLength = ByteBuffer.wrap(block, 0, 4).getInt();
+      byte [] raw = new byte[rawLength];
+      Inflater inflater = new Inflater();
+      try {
+        inflater.setInput(block, 4, block.length - 4);
+        int offset = 0;
+        while (offset < rawLength) {
+          int len = inflater.inflate(raw, offset, rawLength - offset);
+          if (len == 0 && (inflater.finished() || inflater.needsInput())) {
+            throw new IOException("Truncated block: " + offset + " of " + rawLength + " bytes");
+          }
+          offset += len;
+        }
+      } catch (DataFormatException e) {
+        throw new IOException(e.getMessage(), e);
+      } finally {
+        inflater.end();
+      }
+      return raw;
+    }
+
+    public Schema getSchema() {
+      return schema;
+    }
+  }
+}
@@ -0,0 +1,325 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.storage;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.tajo.catalog.Column;
+import org.apache.tajo.catalog.Schema;
+import org.apache.tajo.catalog.TableMeta;
+import org.apache.tajo.catalog.statistics.ColumnStats;
+import org.apache.tajo.catalog.statistics.TableStats;
+import org.apache.tajo.conf.TajoConf;
+import org.apache.tajo.storage.fragment.FileFragment;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * It reads multiple fragments concurrently, and each fragment is read by a separate thread. Tuples read ahead are
+ * buffered up to a given number of rows.
+ *
+ * If ordered, it returns tuples in the order of fragments like {@link MergeScanner}, and fragments following the
+ * current one are read ahead. Otherwise, it returns tuples in the order they are read.
+ */
+public class ParallelMergeScanner implements Scanner {
+  private static final Log LOG = LogFactory.getLog(ParallelMergeScanner.class);
+  private static final ExecutorService READER_EXECUTOR = Executors.newCachedThreadPool(
+      new ThreadFactoryBuilder().setDaemon(true).setNameFormat("Parallel merge scanner %d").build());
+  private static final int BATCH_SIZE = 256;
+  private static final long OFFER_TIMEOUT_MS = 100;
+
+  private final Configuration conf;
+  private final TableMeta meta;
+  private final Schema schema;
+  private final List<FileFragment> fragments;
+  private final int parallelism;
+  private final int queueCapacity;
+  private final boolean ordered;
+  private Schema target;
+
+  private Iterator<FileFragment> iterator;
+  private LinkedList<FragmentReader> activeReaders;
+  private BlockingQueue<Batch> sharedQueue;
+  private List<Tuple> currentBatch;
+  private int batchIndex;
+  private int finishedFragmentNum;
+  /** it is replaced whenever readers are restarted, so that readers of the previous run stop */
+  private AtomicBoolean stopped = new AtomicBoolean(true);
+  protected TableStats tableStats;
+
+  /**
+   * @param parallelism the maximum number of fragments read concurrently
+   * @param readAheadRows the maximum number of rows buffered by all readers
+   * @param ordered if true, tuples are returned in the order of fragments
+   */
+  public ParallelMergeScanner(Configuration conf, Schema schema, TableMeta meta, List<FileFragment> rawFragmentList,
+                              int parallelism, int readAheadRows, boolean ordered) throws IOException {
+    this.conf = conf;
+    this.schema = schema;
+    this.meta = meta;
+    this.target = schema;
+    this.parallelism = Math.max(1, parallelism);
+    this.ordered = ordered;
+
+    this.fragments = new ArrayList<FileFragment>();
+    long numBytes = 0;
+    for (FileFragment eachFileFragment : rawFragmentList) {
+      numBytes += eachFileFragment.getEndKey();
+      if (eachFileFragment.getEndKey() > 0) {
+        fragments.add(eachFileFragment);
+      }
+    }
+
+    int batches = Math.max(1, readAheadRows / BATCH_SIZE);
+    // in the ordered mode, each reader has its own queue.
+    this.queueCapacity = ordered ? Math.max(1, batches / this.parallelism) : batches;
+
+    tableStats = new TableStats();
+    tableStats.setNumBytes(numBytes);
+    tableStats.setNumBlocks(fragments.size());
+    for (Column eachColumn : schema.getColumns()) {
+      tableStats.addColumnStat(new ColumnStats(eachColumn));
+    }
+
+    this.reset();
+  }
+
+  @Override
+  public void init() throws IOException {
+  }
+
+  @Override
+  public Tuple next() throws IOException {
+    while (true) {
+      if (currentBatch != null && batchIndex < currentBatch.size()) {
+        return currentBatch.get(batchIndex++);
+      }
+      currentBatch = null;
+
+      Batch batch = takeBatch();
+      if (batch == null) {
+        return null;
+      }
+
+      if (batch.isEnd()) {
+        finishReader(batch.reader);
+      } else {
+        currentBatch = batch.tuples;
+        batchIndex = 0;
+      }
+    }
+  }
+
+  private Batch takeBatch() throws IOException {
+    if (stopped.get() || activeReaders.isEmpty()) {
+      return null;
+    }
+
+    BlockingQueue<Batch> queue = ordered ? activeReaders.getFirst().queue : sharedQueue;
+    try {
+      return queue.take();
+    } catch (InterruptedException e) {
+      throw new IOException("Interrupted while reading fragments", e);
+    }
+  }
+
+  private void finishReader(FragmentReader reader) throws IOException {
+    activeReaders.remove(reader);
+    finishedFragmentNum++;
+
+    if (reader.error != null) {
+      throw new IOException("Failed to read " + reader.fragment.getPath() + ": " + reader.error.getMessage(),
+          reader.error);
+    }
+    if (reader.stats != null) {
+      tableStats.setReadBytes(tableStats.getReadBytes() + reader.stats.getReadBytes());
+      tableStats.setNumRows(tableStats.getNumRows() + reader.stats.getNumRows());
+    }
+    startReaders();
+  }
+
+  private void startReaders() {
+    while (activeReaders.size() < parallelism && iterator.hasNext()) {
+      BlockingQueue<Batch> queue = ordered ? new ArrayBlockingQueue<Batch>(queueCapacity) : sharedQueue;
+      FragmentReader reader = new FragmentReader(iterator.next(), queue, stopped);
+      activeReaders.add(reader);
+      READER_EXECUTOR.submit(reader);
+    }
+  }
+
+  @Override
+  public void reset() throws IOException {
+    stopReaders();
+    stopped = new AtomicBoolean(false);
+    iterator = fragments.iterator();
+    activeReaders = new LinkedList<FragmentReader>();
+    sharedQueue = ordered ? null : new ArrayBlockingQueue<Batch>(queueCapacity);
+    currentBatch = null;
+    finishedFragmentNum = 0;
+    tableStats.setReadBytes(0);
+    tableStats.setNumRows(0);
+    startReaders();
+  }
+
+  private void stopReaders() {
+    stopped.set(true);
+    if (activeReaders != null) {
+      activeReaders.clear();
+    }
+    // blocked readers give up putting tuples after timeout.
+    sharedQueue = null;
+  }
+
+  @Override
+  public void close() throws IOException {
+    stopReaders();
+    currentBatch = null;
+    iterator = null;
+  }
+
+  @Override
+  public boolean isProjectable() {
+    return false;
+  }
+
+  @Override
+  public void setTarget(Column[] targets) {
+    this.target = new Schema(targets);
+  }
+
+  @Override
+  public boolean isSelectable() {
+    return false;
+  }
+
+  @Override
+  public void setSearchCondition(Object expr) {
+  }
+
+  @Override
+  public Schema getSchema() {
+    return schema;
+  }
+
+  @Override
+  public boolean isSplittable() {
+    return false;
+  }
+
+  @Override
+  public float getProgress() {
+    if (fragments.isEmpty()) {
+      return 1.0f;
+    }
+    return (float) finishedFragmentNum / (float) fragments.size();
+  }
+
+  @Override
+  public TableStats getInputStats() {
+    return tableStats;
+  }
+
+  private static class Batch {
+    private final FragmentReader reader;
+    /** null indicates the end of a fragment */
+    private final List<Tuple> tuples;
+
+    Batch(FragmentReader reader, List<Tuple> tuples) {
+      this.reader = reader;
+      this.tuples = tuples;
+    }
+
+    boolean isEnd() {
+      return tuples == null;
+    }
+  }
+
+  private class FragmentReader implements Runnable {
+    private final FileFragment fragment;
+    private final BlockingQueue<Batch> queue;
+    private final AtomicBoolean stopped;
+    private volatile Throwable error;
+    private volatile TableStats stats;
+
+    FragmentReader(FileFragment fragment, BlockingQueue<Batch> queue, AtomicBoolean stopped) {
+      this.fragment = fragment;
+      this.queue = queue;
+      this.stopped = stopped;
+    }
+
+    @Override
+    public void run() {
+      Scanner scanner = null;
+      try {
+        scanner = StorageManager.getStorageManager((TajoConf) conf).getScanner(meta, schema, fragment, target);
+        scanner.init();
+
+        List<Tuple> tuples = new ArrayList<Tuple>(BATCH_SIZE);
+        Tuple tuple;
+        while (!stopped.get() && (tuple = scanner.next()) != null) {
+          // scanners may reuse a tuple instance
+          tuples.add(new VTuple(tuple));
+          if (tuples.size() >= BATCH_SIZE) {
+            put(new Batch(this, tuples));
+            tuples = new ArrayList<Tuple>(BATCH_SIZE);
+          }
+        }
+        if (!tuples.isEmpty()) {
+          put(new Batch(this, tuples));
+        }
+        stats = scanner.getInputStats();
+      } catch (Throwable t) {
+        error = t;
+      } finally {
+        if (scanner != null) {
+          try {
+            scanner.close();
+          } catch (IOException e) {
+            LOG.warn(e.getMessage(), e);
+          }
+        }
+        put(new Batch(this, null));
+      }
+    }
+
+    private void put(Batch batch) {
+      try {
+        while (!stopped.get()) {
+          if (queue.offer(batch, OFFER_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+            return;
+          }
+        }
+      } catch (InterruptedException e) {
+        error = e;
+      }
+    }
+  }
+}
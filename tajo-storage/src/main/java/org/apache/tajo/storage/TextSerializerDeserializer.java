@@ -161,7 +161,7 @@ public class TextSerializerDeserializer implements SerializerDeserializer {
       }
       case DATE:
         datum = isNull(bytes, offset, length, nullCharacters) ? NullDatum.get()
-            : DatumFactory.createDate(new String(bytes, offset, length));
+            : DatumFactory.createDate(bytes, offset, length);
         break;
       case TIME:
         datum = isNull(bytes, offset, length, nullCharacters) ? NullDatum.get()
@@ -169,7 +169,7 @@ public class TextSerializerDeserializer implements SerializerDeserializer {
         break;
       case TIMESTAMP:
         datum = isNull(bytes, offset, length, nullCharacters) ? NullDatum.get()
-            : DatumFactory.createTimestamp(new String(bytes, offset, length));
+            : DatumFactory.createTimestamp(bytes, offset, length);
         break;
       case INTERVAL:
         datum = isNull(bytes, offset, length, nullCharacters) ? NullDatum.get()
@@ -40,6 +40,8 @@ public class TextFieldSerializerDeserializer implements FieldSerializerDeseriali
   public static final byte[] falseBytes = "false".getBytes();
   private ProtobufJsonFormat protobufJsonFormat = ProtobufJsonFormat.getInstance();
   private final CharsetDecoder decoder = CharsetUtil.getDecoder(CharsetUtil.UTF_8);
+  /** a buffer reused to parse date and timestamp fields without decoding them into strings */
+  private byte[] dateTimeBytes = new byte[32];
 
   private static boolean isNull(ByteBuf val, ByteBuf nullBytes) {
     return !val.isReadable() || nullBytes.equals(val);
@@ -123,6 +125,15 @@ public class TextFieldSerializerDeserializer implements FieldSerializerDeseriali
     return length;
   }
 
+  private byte[] copyDateTimeBytes(ByteBuf buf) {
+    int length = buf.readableBytes();
+    if (dateTimeBytes.length < length) {
+      dateTimeBytes = new byte[length];
+    }
+    buf.getBytes(buf.readerIndex(), dateTimeBytes, 0, length);
+    return dateTimeBytes;
+  }
+
   @Override
   public Datum deserialize(ByteBuf buf, Column col, int columnIndex, ByteBuf nullChars) throws IOException {
     Datum datum;
@@ -174,16 +185,14 @@ public class TextFieldSerializerDeserializer implements FieldSerializerDeseriali
           break;
         }
         case DATE:
-          datum = DatumFactory.createDate(
-              decoder.decode(buf.nioBuffer(buf.readerIndex(), buf.readableBytes())).toString());
+          datum = DatumFactory.createDate(copyDateTimeBytes(buf), 0, buf.readableBytes());
           break;
         case TIME:
           datum = DatumFactory.createTime(
               decoder.decode(buf.nioBuffer(buf.readerIndex(), buf.readableBytes())).toString());
           break;
         case TIMESTAMP:
-          datum = DatumFactory.createTimestamp(
-              decoder.decode(buf.nioBuffer(buf.readerIndex(), buf.readableBytes())).toString());
+          datum = DatumFactory.createTimestamp(copyDateTimeBytes(buf), 0, buf.readableBytes());
           break;
         case INTERVAL:
           datum = DatumFactory.createInterval(
@@ -0,0 +1,93 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.storage;
+
+import org.apache.tajo.catalog.Schema;
+import org.apache.tajo.common.TajoDataTypes.Type;
+import org.apache.tajo.datum.DatumFactory;
+import org.apache.tajo.datum.NullDatum;
+import org.apache.tajo.storage.ColumnarBlockUtil.ColumnarBlockDecoder;
+import org.apache.tajo.storage.ColumnarBlockUtil.ColumnarBlockEncoder;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class TestColumnarBlockUtil {
+
+  private static Schema createSchema() {
+    Schema schema = new Schema();
+    schema.addColumn("col1", Type.BOOLEAN);
+    schema.addColumn("col2", Type.INT2);
+    schema.addColumn("col3", Type.INT4);
+    schema.addColumn("col4", Type.INT8);
+    schema.addColumn("col5", Type.FLOAT4);
+    schema.addColumn("col6", Type.FLOAT8);
+    schema.addColumn("col7", Type.TEXT);
+    schema.addColumn("col8", Type.BLOB);
+    schema.addColumn("col9", Type.DATE);
+    schema.addColumn("col10", Type.TIMESTAMP);
+    return schema;
+  }
+
+  private static Tuple createTuple(int i) {
+    Tuple tuple = new VTuple(10);
+    tuple.put(0, DatumFactory.createBool(i % 2 == 0));
+    tuple.put(1, DatumFactory.createInt2((short) i));
+    tuple.put(2, i % 3 == 0 ? NullDatum.get() : DatumFactory.createInt4(i));
+    tuple.put(3, DatumFactory.createInt8(i * 1000L));
+    tuple.put(4, DatumFactory.createFloat4(i + 0.5f));
+    tuple.put(5, DatumFactory.createFloat8(i + 0.25d));
+    tuple.put(6, i % 5 == 0 ? NullDatum.get() : DatumFactory.createText("text_" + i));
+    tuple.put(7, DatumFactory.createBlob(("blob_" + i).getBytes()));
+    tuple.put(8, DatumFactory.createDate(2014, 1 + i % 12, 1 + i % 28));
+    tuple.put(9, DatumFactory.createTimestmpDatumWithJavaMillis(1400000000000L + i));
+    return tuple;
+  }
+
+  @Test
+  public final void testEncodeAndDecode() throws Exception {
+    Schema schema = createSchema();
+    ColumnarBlockEncoder encoder = ColumnarBlockUtil.createEncoder(schema);
+    int rowNum = 1000;
+    for (int i = 0; i < rowNum; i++) {
+      encoder.addTuple(createTuple(i));
+    }
+    assertEquals(rowNum, encoder.getRowNum());
+    int encodedSize = encoder.getEncodedSize();
+    assertTrue(encodedSize > 0);
+
+    byte [] block = encoder.build();
+    assertEquals(0, encoder.getRowNum());
+    assertTrue(block.length < encodedSize);
+
+    ColumnarBlockDecoder decoder = ColumnarBlockUtil.createDecoder(schema);
+    Tuple [] tuples = decoder.toTuples(block);
+    assertEquals(rowNum, tuples.length);
+    for (int i = 0; i < rowNum; i++) {
+      assertEquals(createTuple(i), tuples[i]);
+    }
+  }
+
+  @Test
+  public final void testEmptyBlock() throws Exception {
+    Schema schema = createSchema();
+    byte [] block = ColumnarBlockUtil.createEncoder(schema).build();
+    assertEquals(0, ColumnarBlockUtil.createDecoder(schema).toTuples(block).length);
+  }
+}
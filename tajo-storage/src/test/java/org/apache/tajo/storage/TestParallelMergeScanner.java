@@ -0,0 +1,129 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.storage;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.tajo.catalog.CatalogUtil;
+import org.apache.tajo.catalog.Schema;
+import org.apache.tajo.catalog.TableMeta;
+import org.apache.tajo.catalog.proto.CatalogProtos.StoreType;
+import org.apache.tajo.common.TajoDataTypes.Type;
+import org.apache.tajo.conf.TajoConf;
+import org.apache.tajo.conf.TajoConf.ConfVars;
+import org.apache.tajo.datum.DatumFactory;
+import org.apache.tajo.storage.fragment.FileFragment;
+import org.apache.tajo.util.CommonTestingUtil;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class TestParallelMergeScanner {
+  private static final String TEST_PATH = "target/test-data/TestParallelMergeScanner";
+  private static final int FILE_NUM = 5;
+  private static final int TUPLE_NUM = 3000;
+
+  private TajoConf conf;
+  private Schema schema;
+  private TableMeta meta;
+  private List<FileFragment> fragments;
+
+  @Before
+  public void setup() throws Exception {
+    conf = new TajoConf();
+    conf.setVar(ConfVars.ROOT_DIR, TEST_PATH);
+    Path testDir = CommonTestingUtil.getTestDir(TEST_PATH);
+    FileSystem fs = testDir.getFileSystem(conf);
+
+    schema = new Schema();
+    schema.addColumn("id", Type.INT4);
+    schema.addColumn("name", Type.TEXT);
+    meta = CatalogUtil.newTableMeta(StoreType.CSV);
+
+    fragments = new ArrayList<FileFragment>();
+    for (int i = 0; i < FILE_NUM; i++) {
+      Path path = new Path(testDir, "part-" + i);
+      Appender appender = StorageManager.getStorageManager(conf).getAppender(meta, schema, path);
+      appender.init();
+      for (int j = 0; j < TUPLE_NUM; j++) {
+        VTuple tuple = new VTuple(2);
+        tuple.put(0, DatumFactory.createInt4(i * TUPLE_NUM + j));
+        tuple.put(1, DatumFactory.createText("name_" + j));
+        appender.addTuple(tuple);
+      }
+      appender.close();
+      fragments.add(new FileFragment("table", path, 0, fs.getFileStatus(path).getLen()));
+    }
+  }
+
+  @Test
+  public void testOrdered() throws IOException {
+    Scanner scanner = new ParallelMergeScanner(conf, schema, meta, fragments, 3, 1000, true);
+    scanner.init();
+
+    int expected = 0;
+    Tuple tuple;
+    while ((tuple = scanner.next()) != null) {
+      assertEquals(expected++, tuple.get(0).asInt4());
+    }
+    assertEquals(FILE_NUM * TUPLE_NUM, expected);
+    assertEquals(FILE_NUM * TUPLE_NUM, scanner.getInputStats().getNumRows().longValue());
+
+    // it reads all fragments again
+    scanner.reset();
+    expected = 0;
+    while ((tuple = scanner.next()) != null) {
+      assertEquals(expected++, tuple.get(0).asInt4());
+    }
+    assertEquals(FILE_NUM * TUPLE_NUM, expected);
+    scanner.close();
+  }
+
+  @Test
+  public void testUnordered() throws IOException {
+    Scanner scanner = new ParallelMergeScanner(conf, schema, meta, fragments, 3, 1000, false);
+    scanner.init();
+
+    Set<Integer> ids = new HashSet<Integer>();
+    Tuple tuple;
+    while ((tuple = scanner.next()) != null) {
+      assertTrue(ids.add(tuple.get(0).asInt4()));
+    }
+    scanner.close();
+
+    assertEquals(FILE_NUM * TUPLE_NUM, ids.size());
+    assertEquals(1.0f, scanner.getProgress(), 0.0f);
+  }
+
+  @Test
+  public void testCloseBeforeEnd() throws IOException {
+    Scanner scanner = new ParallelMergeScanner(conf, schema, meta, fragments, 2, 256, true);
+    scanner.init();
+    assertNotNull(scanner.next());
+    scanner.close();
+    assertNull(scanner.next());
+  }
+}